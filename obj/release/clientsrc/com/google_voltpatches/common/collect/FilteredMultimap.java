@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2012 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.collect;
+
+import com.google_voltpatches.common.annotations.GwtCompatible;
+import com.google_voltpatches.common.base.Predicate;
+import java.util.Map.Entry;
+
+/**
+ * An interface for all filtered multimap types.
+ * 
+ * @author Louis Wasserman
+ */
+@GwtCompatible
+interface FilteredMultimap<K, V> extends Multimap<K, V> {  
+  Multimap<K, V> unfiltered();
+
+  Predicate<? super Entry<K, V>> entryPredicate();
+}
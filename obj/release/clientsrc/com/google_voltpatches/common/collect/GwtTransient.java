@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2011 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.collect;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.google_voltpatches.common.annotations.GwtCompatible;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Private replacement for {@link com.google_voltpatches.gwt.user.client.rpc.GwtTransient}
+ * to work around build-system quirks. This annotation should be used
+ * <b>only</b> in {@code com.google_voltpatches.common.collect}.
+ */
+@Documented
+@GwtCompatible
+@Retention(RUNTIME)
+@Target(FIELD)
+@interface GwtTransient {}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2008 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.collect;
+
+import com.google_voltpatches.common.annotations.GwtCompatible;
+import com.google_voltpatches.common.annotations.GwtIncompatible;
+import com.google_voltpatches.j2objc.annotations.Weak;
+import java.io.Serializable;
+import java.util.Map.Entry;
+import javax.annotation_voltpatches.Nullable;
+
+/**
+ * {@code entrySet()} implementation for {@link ImmutableMap}.
+ *
+ * @author Jesse Wilson
+ * @author Kevin Bourrillion
+ */
+@GwtCompatible(emulated = true)
+abstract class ImmutableMapEntrySet<K, V> extends ImmutableSet<Entry<K, V>> {
+  static final class RegularEntrySet<K, V> extends ImmutableMapEntrySet<K, V> {
+    @Weak private final transient ImmutableMap<K, V> map;
+    private final transient Entry<K, V>[] entries;
+
+    RegularEntrySet(ImmutableMap<K, V> map, Entry<K, V>[] entries) {
+      this.map = map;
+      this.entries = entries;
+    }
+
+    @Override
+    ImmutableMap<K, V> map() {
+      return map;
+    }
+
+    @Override
+    public UnmodifiableIterator<Entry<K, V>> iterator() {
+      return Iterators.forArray(entries);
+    }
+
+    @Override
+    ImmutableList<Entry<K, V>> createAsList() {
+      return new RegularImmutableAsList<Entry<K, V>>(this, entries);
+    }
+  }
+
+  ImmutableMapEntrySet() {}
+
+  abstract ImmutableMap<K, V> map();
+
+  @Override
+  public int size() {
+    return map().size();
+  }
+
+  @Override
+  public boolean contains(@Nullable Object object) {
+    if (object instanceof Entry) {
+      Entry<?, ?> entry = (Entry<?, ?>) object;
+      V value = map().get(entry.getKey());
+      return value != null && value.equals(entry.getValue());
+    }
+    return false;
+  }
+
+  @Override
+  boolean isPartialView() {
+    return map().isPartialView();
+  }
+
+  @Override
+  @GwtIncompatible // not used in GWT
+  boolean isHashCodeFast() {
+    return map().isHashCodeFast();
+  }
+
+  @Override
+  public int hashCode() {
+    return map().hashCode();
+  }
+
+  @GwtIncompatible // serialization
+  @Override
+  Object writeReplace() {
+    return new EntrySetSerializedForm<K, V>(map());
+  }
+
+  @GwtIncompatible // serialization
+  private static class EntrySetSerializedForm<K, V> implements Serializable {
+    final ImmutableMap<K, V> map;
+
+    EntrySetSerializedForm(ImmutableMap<K, V> map) {
+      this.map = map;
+    }
+
+    Object readResolve() {
+      return map.entrySet();
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+}
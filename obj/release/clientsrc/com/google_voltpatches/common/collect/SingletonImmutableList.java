@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2009 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.collect;
+
+import static com.google_voltpatches.common.base.Preconditions.checkNotNull;
+
+import com.google_voltpatches.common.annotations.GwtCompatible;
+import com.google_voltpatches.common.base.Preconditions;
+
+/**
+ * Implementation of {@link ImmutableList} with exactly one element.
+ *
+ * @author Hayward Chan
+ */
+@GwtCompatible(serializable = true, emulated = true)
+@SuppressWarnings("serial") // uses writeReplace(), not default serialization
+final class SingletonImmutableList<E> extends ImmutableList<E> {
+
+  final transient E element;
+
+  SingletonImmutableList(E element) {
+    this.element = checkNotNull(element);
+  }
+
+  @Override
+  public E get(int index) {
+    Preconditions.checkElementIndex(index, 1);
+    return element;
+  }
+
+  @Override
+  public UnmodifiableIterator<E> iterator() {
+    return Iterators.singletonIterator(element);
+  }
+
+  @Override
+  public int size() {
+    return 1;
+  }
+
+  @Override
+  public ImmutableList<E> subList(int fromIndex, int toIndex) {
+    Preconditions.checkPositionIndexes(fromIndex, toIndex, 1);
+    return (fromIndex == toIndex) ? ImmutableList.<E>of() : this;
+  }
+
+  @Override
+  public String toString() {
+    return '[' + element.toString() + ']';
+  }
+
+  @Override
+  boolean isPartialView() {
+    return false;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.collect;
+
+import static com.google_voltpatches.common.base.Preconditions.checkNotNull;
+
+import com.google_voltpatches.common.annotations.GwtCompatible;
+import java.util.Iterator;
+
+/**
+ * An iterator that transforms a backing iterator; for internal use. This avoids
+ * the object overhead of constructing a {@link Function} for internal methods.
+ *
+ * @author Louis Wasserman
+ */
+@GwtCompatible
+abstract class TransformedIterator<F, T> implements Iterator<T> {
+  final Iterator<? extends F> backingIterator;
+
+  TransformedIterator(Iterator<? extends F> backingIterator) {
+    this.backingIterator = checkNotNull(backingIterator);
+  }
+
+  abstract T transform(F from);
+
+  @Override
+  public final boolean hasNext() {
+    return backingIterator.hasNext();
+  }
+
+  @Override
+  public final T next() {
+    return transform(backingIterator.next());
+  }
+
+  @Override
+  public final void remove() {
+    backingIterator.remove();
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2013 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google_voltpatches.common.eventbus;
+
+/**
+ * Handler for exceptions thrown by event subscribers.
+ *
+ * @since 16.0
+ */
+public interface SubscriberExceptionHandler {
+  /**
+   * Handles exceptions thrown by subscribers.
+   */
+  void handleException(Throwable exception, SubscriberExceptionContext context);
+}
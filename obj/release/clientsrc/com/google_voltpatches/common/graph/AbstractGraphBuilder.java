@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google_voltpatches.common.graph;
+
+import com.google_voltpatches.common.base.Optional;
+
+/**
+ * A base class for builders that construct graphs with user-defined properties.
+ *
+ * @author James Sexton
+ */
+abstract class AbstractGraphBuilder<N> {
+  final boolean directed;
+  boolean allowsSelfLoops = false;
+  ElementOrder<N> nodeOrder = ElementOrder.insertion();
+  Optional<Integer> expectedNodeCount = Optional.absent();
+
+  /**
+   * Creates a new instance with the specified edge directionality.
+   *
+   * @param directed if true, creates an instance for graphs whose edges are each directed; if
+   *     false, creates an instance for graphs whose edges are each undirected.
+   */
+  AbstractGraphBuilder(boolean directed) {
+    this.directed = directed;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty_voltpatches.buffer;
+
+import io.netty_voltpatches.util.ReferenceCounted;
+
+/**
+ * A packet which is send or receive.
+ */
+public interface ByteBufHolder extends ReferenceCounted {
+
+    /**
+     * Return the data which is held by this {@link ByteBufHolder}.
+     */
+    ByteBuf content();
+
+    /**
+     * Create a deep copy of this {@link ByteBufHolder}.
+     */
+    ByteBufHolder copy();
+
+    /**
+     * Duplicate the {@link ByteBufHolder}. Be aware that this will not automatically call {@link #retain()}.
+     */
+    ByteBufHolder duplicate();
+
+    @Override
+    ByteBufHolder retain();
+
+    @Override
+    ByteBufHolder retain(int increment);
+}
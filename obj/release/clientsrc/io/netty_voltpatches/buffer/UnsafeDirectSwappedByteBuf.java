@@ -0,0 +1,67 @@
+/*
+* Copyright 2014 The Netty Project
+*
+* The Netty Project licenses this file to you under the Apache License,
+* version 2.0 (the "License"); you may not use this file except in compliance
+* with the License. You may obtain a copy of the License at:
+*
+*   http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.netty_voltpatches.buffer;
+
+import io.netty_voltpatches.util.internal.PlatformDependent;
+
+/**
+ * Special {@link SwappedByteBuf} for {@link ByteBuf}s that are backed by a {@code memoryAddress}.
+ */
+final class UnsafeDirectSwappedByteBuf extends AbstractUnsafeSwappedByteBuf {
+
+    UnsafeDirectSwappedByteBuf(AbstractByteBuf buf) {
+        super(buf);
+    }
+
+    private static long addr(AbstractByteBuf wrapped, int index) {
+        // We need to call wrapped.memoryAddress() everytime and NOT cache it as it may change if the buffer expand.
+        // See:
+        // - https://github.com/netty/netty/issues/2587
+        // - https://github.com/netty/netty/issues/2580
+        return wrapped.memoryAddress() + index;
+    }
+
+    @Override
+    protected long _getLong(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getLong(addr(wrapped, index));
+    }
+
+    @Override
+    protected int _getInt(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getInt(addr(wrapped, index));
+    }
+
+    @Override
+    protected short _getShort(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getShort(addr(wrapped, index));
+    }
+
+    @Override
+    protected void _setShort(AbstractByteBuf wrapped, int index, short value) {
+        PlatformDependent.putShort(addr(wrapped, index), value);
+    }
+
+    @Override
+    protected void _setInt(AbstractByteBuf wrapped, int index, int value) {
+        PlatformDependent.putInt(addr(wrapped, index), value);
+    }
+
+    @Override
+    protected void _setLong(AbstractByteBuf wrapped, int index, long value) {
+        PlatformDependent.putLong(addr(wrapped, index), value);
+    }
+}
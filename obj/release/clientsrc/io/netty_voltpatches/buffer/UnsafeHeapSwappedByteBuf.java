@@ -0,0 +1,63 @@
+/*
+* Copyright 2014 The Netty Project
+*
+* The Netty Project licenses this file to you under the Apache License,
+* version 2.0 (the "License"); you may not use this file except in compliance
+* with the License. You may obtain a copy of the License at:
+*
+*   http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.netty_voltpatches.buffer;
+
+import io.netty_voltpatches.util.internal.PlatformDependent;
+
+/**
+ * Special {@link SwappedByteBuf} for {@link ByteBuf}s that use unsafe to access the byte array.
+ */
+final class UnsafeHeapSwappedByteBuf extends AbstractUnsafeSwappedByteBuf {
+
+    UnsafeHeapSwappedByteBuf(AbstractByteBuf buf) {
+        super(buf);
+    }
+
+    private static int idx(ByteBuf wrapped, int index) {
+        return wrapped.arrayOffset() + index;
+    }
+
+    @Override
+    protected long _getLong(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getLong(wrapped.array(), idx(wrapped, index));
+    }
+
+    @Override
+    protected int _getInt(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getInt(wrapped.array(), idx(wrapped, index));
+    }
+
+    @Override
+    protected short _getShort(AbstractByteBuf wrapped, int index) {
+        return PlatformDependent.getShort(wrapped.array(), idx(wrapped, index));
+    }
+
+    @Override
+    protected void _setShort(AbstractByteBuf wrapped, int index, short value) {
+        PlatformDependent.putShort(wrapped.array(), idx(wrapped, index), value);
+    }
+
+    @Override
+    protected void _setInt(AbstractByteBuf wrapped, int index, int value) {
+        PlatformDependent.putInt(wrapped.array(), idx(wrapped, index), value);
+    }
+
+    @Override
+    protected void _setLong(AbstractByteBuf wrapped, int index, long value) {
+        PlatformDependent.putLong(wrapped.array(), idx(wrapped, index), value);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty_voltpatches.util.concurrent;
+
+public class DefaultProgressivePromise<V> extends DefaultPromise<V> implements ProgressivePromise<V> {
+
+    /**
+     * Creates a new instance.
+     *
+     * It is preferable to use {@link EventExecutor#newProgressivePromise()} to create a new progressive promise
+     *
+     * @param executor
+     *        the {@link EventExecutor} which is used to notify the promise when it progresses or it is complete
+     */
+    public DefaultProgressivePromise(EventExecutor executor) {
+        super(executor);
+    }
+
+    protected DefaultProgressivePromise() { /* only for subclasses */ }
+
+    @Override
+    public ProgressivePromise<V> setProgress(long progress, long total) {
+        if (total < 0) {
+            // total unknown
+            total = -1; // normalize
+            if (progress < 0) {
+                throw new IllegalArgumentException("progress: " + progress + " (expected: >= 0)");
+            }
+        } else if (progress < 0 || progress > total) {
+            throw new IllegalArgumentException(
+                    "progress: " + progress + " (expected: 0 <= progress <= total (" + total + "))");
+        }
+
+        if (isDone()) {
+            throw new IllegalStateException("complete already");
+        }
+
+        notifyProgressiveListeners(progress, total);
+        return this;
+    }
+
+    @Override
+    public boolean tryProgress(long progress, long total) {
+        if (total < 0) {
+            total = -1;
+            if (progress < 0 || isDone()) {
+                return false;
+            }
+        } else if (progress < 0 || progress > total || isDone()) {
+            return false;
+        }
+
+        notifyProgressiveListeners(progress, total);
+        return true;
+    }
+
+    @Override
+    public ProgressivePromise<V> addListener(GenericFutureListener<? extends Future<? super V>> listener) {
+        super.addListener(listener);
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> addListeners(GenericFutureListener<? extends Future<? super V>>... listeners) {
+        super.addListeners(listeners);
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> removeListener(GenericFutureListener<? extends Future<? super V>> listener) {
+        super.removeListener(listener);
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> removeListeners(GenericFutureListener<? extends Future<? super V>>... listeners) {
+        super.removeListeners(listeners);
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> sync() throws InterruptedException {
+        super.sync();
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> syncUninterruptibly() {
+        super.syncUninterruptibly();
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> await() throws InterruptedException {
+        super.await();
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> awaitUninterruptibly() {
+        super.awaitUninterruptibly();
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> setSuccess(V result) {
+        super.setSuccess(result);
+        return this;
+    }
+
+    @Override
+    public ProgressivePromise<V> setFailure(Throwable cause) {
+        super.setFailure(cause);
+        return this;
+    }
+}
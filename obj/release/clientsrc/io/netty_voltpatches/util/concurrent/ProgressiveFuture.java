@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty_voltpatches.util.concurrent;
+
+/**
+ * A {@link Future} which is used to indicate the progress of an operation.
+ */
+public interface ProgressiveFuture<V> extends Future<V> {
+
+    @Override
+    ProgressiveFuture<V> addListener(GenericFutureListener<? extends Future<? super V>> listener);
+
+    @Override
+    ProgressiveFuture<V> addListeners(GenericFutureListener<? extends Future<? super V>>... listeners);
+
+    @Override
+    ProgressiveFuture<V> removeListener(GenericFutureListener<? extends Future<? super V>> listener);
+
+    @Override
+    ProgressiveFuture<V> removeListeners(GenericFutureListener<? extends Future<? super V>>... listeners);
+
+    @Override
+    ProgressiveFuture<V> sync() throws InterruptedException;
+
+    @Override
+    ProgressiveFuture<V> syncUninterruptibly();
+
+    @Override
+    ProgressiveFuture<V> await() throws InterruptedException;
+
+    @Override
+    ProgressiveFuture<V> awaitUninterruptibly();
+}
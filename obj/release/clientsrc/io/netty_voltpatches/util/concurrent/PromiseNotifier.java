@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty_voltpatches.util.concurrent;
+
+import static io.netty_voltpatches.util.internal.ObjectUtil.checkNotNull;
+
+import io.netty_voltpatches.util.internal.PromiseNotificationUtil;
+import io.netty_voltpatches.util.internal.logging.InternalLogger;
+import io.netty_voltpatches.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * {@link GenericFutureListener} implementation which takes other {@link Promise}s
+ * and notifies them on completion.
+ *
+ * @param <V> the type of value returned by the future
+ * @param <F> the type of future
+ */
+public class PromiseNotifier<V, F extends Future<V>> implements GenericFutureListener<F> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PromiseNotifier.class);
+    private final Promise<? super V>[] promises;
+    private final boolean logNotifyFailure;
+
+    /**
+     * Create a new instance.
+     *
+     * @param promises  the {@link Promise}s to notify once this {@link GenericFutureListener} is notified.
+     */
+    @SafeVarargs
+    public PromiseNotifier(Promise<? super V>... promises) {
+        this(true, promises);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param logNotifyFailure {@code true} if logging should be done in case notification fails.
+     * @param promises  the {@link Promise}s to notify once this {@link GenericFutureListener} is notified.
+     */
+    @SafeVarargs
+    public PromiseNotifier(boolean logNotifyFailure, Promise<? super V>... promises) {
+        checkNotNull(promises, "promises");
+        for (Promise<? super V> promise: promises) {
+            if (promise == null) {
+                throw new IllegalArgumentException("promises contains null Promise");
+            }
+        }
+        this.promises = promises.clone();
+        this.logNotifyFailure = logNotifyFailure;
+    }
+
+    @Override
+    public void operationComplete(F future) throws Exception {
+        InternalLogger internalLogger = logNotifyFailure ? logger : null;
+        if (future.isSuccess()) {
+            V result = future.get();
+            for (Promise<? super V> p: promises) {
+                PromiseNotificationUtil.trySuccess(p, result, internalLogger);
+            }
+        } else if (future.isCancelled()) {
+            for (Promise<? super V> p: promises) {
+                PromiseNotificationUtil.tryCancel(p, internalLogger);
+            }
+        } else {
+            Throwable cause = future.cause();
+            for (Promise<? super V> p: promises) {
+                PromiseNotificationUtil.tryFailure(p, cause, internalLogger);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty_voltpatches.util.internal;
+
+import java.nio.ByteBuffer;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+
+public final class EmptyArrays {
+
+    public static final byte[] EMPTY_BYTES = {};
+    public static final char[] EMPTY_CHARS = {};
+    public static final Object[] EMPTY_OBJECTS = {};
+    public static final Class<?>[] EMPTY_CLASSES = {};
+    public static final String[] EMPTY_STRINGS = {};
+    public static final StackTraceElement[] EMPTY_STACK_TRACE = {};
+    public static final ByteBuffer[] EMPTY_BYTE_BUFFERS = {};
+    public static final Certificate[] EMPTY_CERTIFICATES = {};
+    public static final X509Certificate[] EMPTY_X509_CERTIFICATES = {};
+    public static final javax.security.cert.X509Certificate[] EMPTY_JAVAX_X509_CERTIFICATES = {};
+
+    private EmptyArrays() { }
+}
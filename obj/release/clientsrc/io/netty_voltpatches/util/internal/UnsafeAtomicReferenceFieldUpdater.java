@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty_voltpatches.util.internal;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+final class UnsafeAtomicReferenceFieldUpdater<U, M> extends AtomicReferenceFieldUpdater<U, M> {
+    private final long offset;
+    private final Unsafe unsafe;
+
+    UnsafeAtomicReferenceFieldUpdater(Unsafe unsafe, Class<? super U> tClass, String fieldName)
+            throws NoSuchFieldException {
+        Field field = tClass.getDeclaredField(fieldName);
+        if (!Modifier.isVolatile(field.getModifiers())) {
+            throw new IllegalArgumentException("Must be volatile");
+        }
+        this.unsafe = unsafe;
+        offset = unsafe.objectFieldOffset(field);
+    }
+
+    @Override
+    public boolean compareAndSet(U obj, M expect, M update) {
+        return unsafe.compareAndSwapObject(obj, offset, expect, update);
+    }
+
+    @Override
+    public boolean weakCompareAndSet(U obj, M expect, M update) {
+        return unsafe.compareAndSwapObject(obj, offset, expect, update);
+    }
+
+    @Override
+    public void set(U obj, M newValue) {
+        unsafe.putObjectVolatile(obj, offset, newValue);
+    }
+
+    @Override
+    public void lazySet(U obj, M newValue) {
+        unsafe.putOrderedObject(obj, offset, newValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public M get(U obj) {
+        return (M) unsafe.getObjectVolatile(obj, offset);
+    }
+}
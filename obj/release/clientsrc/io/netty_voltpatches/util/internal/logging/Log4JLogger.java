@@ -0,0 +1,597 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+/**
+ * Copyright (c) 2004-2011 QOS.ch
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package io.netty_voltpatches.util.internal.logging;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+/**
+ * <a href="http://logging.apache.org/log4j/1.2/index.html">Apache Log4J</a>
+ * logger.
+ */
+class Log4JLogger extends AbstractInternalLogger {
+
+    private static final long serialVersionUID = 2851357342488183058L;
+
+    final transient Logger logger;
+
+    /**
+     * Following the pattern discussed in pages 162 through 168 of "The complete
+     * log4j manual".
+     */
+    static final String FQCN = Log4JLogger.class.getName();
+
+    // Does the log4j version in use recognize the TRACE level?
+    // The trace level was introduced in log4j 1.2.12.
+    final boolean traceCapable;
+
+    Log4JLogger(Logger logger) {
+        super(logger.getName());
+        this.logger = logger;
+        traceCapable = isTraceCapable();
+    }
+
+    private boolean isTraceCapable() {
+        try {
+            logger.isTraceEnabled();
+            return true;
+        } catch (NoSuchMethodError ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Is this logger instance enabled for the TRACE level?
+     *
+     * @return True if this Logger is enabled for level TRACE, false otherwise.
+     */
+    @Override
+    public boolean isTraceEnabled() {
+        if (traceCapable) {
+            return logger.isTraceEnabled();
+        } else {
+            return logger.isDebugEnabled();
+        }
+    }
+
+    /**
+     * Log a message object at level TRACE.
+     *
+     * @param msg
+     *          - the message object to be logged
+     */
+    @Override
+    public void trace(String msg) {
+        logger.log(FQCN, traceCapable ? Level.TRACE : Level.DEBUG, msg, null);
+    }
+
+    /**
+     * Log a message at level TRACE according to the specified format and
+     * argument.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for level TRACE.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arg
+     *          the argument
+     */
+    @Override
+    public void trace(String format, Object arg) {
+        if (isTraceEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, arg);
+            logger.log(FQCN, traceCapable ? Level.TRACE : Level.DEBUG, ft
+                    .getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level TRACE according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the TRACE level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argA
+     *          the first argument
+     * @param argB
+     *          the second argument
+     */
+    @Override
+    public void trace(String format, Object argA, Object argB) {
+        if (isTraceEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, argA, argB);
+            logger.log(FQCN, traceCapable ? Level.TRACE : Level.DEBUG, ft
+                    .getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level TRACE according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the TRACE level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arguments
+     *          an array of arguments
+     */
+    @Override
+    public void trace(String format, Object... arguments) {
+        if (isTraceEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+            logger.log(FQCN, traceCapable ? Level.TRACE : Level.DEBUG, ft
+                    .getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log an exception (throwable) at level TRACE with an accompanying message.
+     *
+     * @param msg
+     *          the message accompanying the exception
+     * @param t
+     *          the exception (throwable) to log
+     */
+    @Override
+    public void trace(String msg, Throwable t) {
+        logger.log(FQCN, traceCapable ? Level.TRACE : Level.DEBUG, msg, t);
+    }
+
+    /**
+     * Is this logger instance enabled for the DEBUG level?
+     *
+     * @return True if this Logger is enabled for level DEBUG, false otherwise.
+     */
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    /**
+     * Log a message object at level DEBUG.
+     *
+     * @param msg
+     *          - the message object to be logged
+     */
+    @Override
+    public void debug(String msg) {
+        logger.log(FQCN, Level.DEBUG, msg, null);
+    }
+
+    /**
+     * Log a message at level DEBUG according to the specified format and
+     * argument.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for level DEBUG.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arg
+     *          the argument
+     */
+    @Override
+    public void debug(String format, Object arg) {
+        if (logger.isDebugEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, arg);
+            logger.log(FQCN, Level.DEBUG, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level DEBUG according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the DEBUG level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argA
+     *          the first argument
+     * @param argB
+     *          the second argument
+     */
+    @Override
+    public void debug(String format, Object argA, Object argB) {
+        if (logger.isDebugEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, argA, argB);
+            logger.log(FQCN, Level.DEBUG, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level DEBUG according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the DEBUG level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arguments an array of arguments
+     */
+    @Override
+    public void debug(String format, Object... arguments) {
+        if (logger.isDebugEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+            logger.log(FQCN, Level.DEBUG, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log an exception (throwable) at level DEBUG with an accompanying message.
+     *
+     * @param msg
+     *          the message accompanying the exception
+     * @param t
+     *          the exception (throwable) to log
+     */
+    @Override
+    public void debug(String msg, Throwable t) {
+        logger.log(FQCN, Level.DEBUG, msg, t);
+    }
+
+    /**
+     * Is this logger instance enabled for the INFO level?
+     *
+     * @return True if this Logger is enabled for the INFO level, false otherwise.
+     */
+    @Override
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    /**
+     * Log a message object at the INFO level.
+     *
+     * @param msg
+     *          - the message object to be logged
+     */
+    @Override
+    public void info(String msg) {
+        logger.log(FQCN, Level.INFO, msg, null);
+    }
+
+    /**
+     * Log a message at level INFO according to the specified format and argument.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the INFO level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arg
+     *          the argument
+     */
+    @Override
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, arg);
+            logger.log(FQCN, Level.INFO, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at the INFO level according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the INFO level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argA
+     *          the first argument
+     * @param argB
+     *          the second argument
+     */
+    @Override
+    public void info(String format, Object argA, Object argB) {
+        if (logger.isInfoEnabled()) {
+            FormattingTuple ft = MessageFormatter.format(format, argA, argB);
+            logger.log(FQCN, Level.INFO, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level INFO according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the INFO level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argArray
+     *          an array of arguments
+     */
+    @Override
+    public void info(String format, Object... argArray) {
+        if (logger.isInfoEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, argArray);
+            logger.log(FQCN, Level.INFO, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log an exception (throwable) at the INFO level with an accompanying
+     * message.
+     *
+     * @param msg
+     *          the message accompanying the exception
+     * @param t
+     *          the exception (throwable) to log
+     */
+    @Override
+    public void info(String msg, Throwable t) {
+        logger.log(FQCN, Level.INFO, msg, t);
+    }
+
+    /**
+     * Is this logger instance enabled for the WARN level?
+     *
+     * @return True if this Logger is enabled for the WARN level, false otherwise.
+     */
+    @Override
+    public boolean isWarnEnabled() {
+        return logger.isEnabledFor(Level.WARN);
+    }
+
+    /**
+     * Log a message object at the WARN level.
+     *
+     * @param msg
+     *          - the message object to be logged
+     */
+    @Override
+    public void warn(String msg) {
+        logger.log(FQCN, Level.WARN, msg, null);
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format and
+     * argument.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the WARN level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arg
+     *          the argument
+     */
+    @Override
+    public void warn(String format, Object arg) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            FormattingTuple ft = MessageFormatter.format(format, arg);
+            logger.log(FQCN, Level.WARN, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the WARN level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argA
+     *          the first argument
+     * @param argB
+     *          the second argument
+     */
+    @Override
+    public void warn(String format, Object argA, Object argB) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            FormattingTuple ft = MessageFormatter.format(format, argA, argB);
+            logger.log(FQCN, Level.WARN, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level WARN according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the WARN level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argArray
+     *          an array of arguments
+     */
+    @Override
+    public void warn(String format, Object... argArray) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, argArray);
+            logger.log(FQCN, Level.WARN, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log an exception (throwable) at the WARN level with an accompanying
+     * message.
+     *
+     * @param msg
+     *          the message accompanying the exception
+     * @param t
+     *          the exception (throwable) to log
+     */
+    @Override
+    public void warn(String msg, Throwable t) {
+        logger.log(FQCN, Level.WARN, msg, t);
+    }
+
+    /**
+     * Is this logger instance enabled for level ERROR?
+     *
+     * @return True if this Logger is enabled for level ERROR, false otherwise.
+     */
+    @Override
+    public boolean isErrorEnabled() {
+        return logger.isEnabledFor(Level.ERROR);
+    }
+
+    /**
+     * Log a message object at the ERROR level.
+     *
+     * @param msg
+     *          - the message object to be logged
+     */
+    @Override
+    public void error(String msg) {
+        logger.log(FQCN, Level.ERROR, msg, null);
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format and
+     * argument.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the ERROR level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param arg
+     *          the argument
+     */
+    @Override
+    public void error(String format, Object arg) {
+        if (logger.isEnabledFor(Level.ERROR)) {
+            FormattingTuple ft = MessageFormatter.format(format, arg);
+            logger.log(FQCN, Level.ERROR, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the ERROR level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argA
+     *          the first argument
+     * @param argB
+     *          the second argument
+     */
+    @Override
+    public void error(String format, Object argA, Object argB) {
+        if (logger.isEnabledFor(Level.ERROR)) {
+            FormattingTuple ft = MessageFormatter.format(format, argA, argB);
+            logger.log(FQCN, Level.ERROR, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log a message at level ERROR according to the specified format and
+     * arguments.
+     *
+     * <p>
+     * This form avoids superfluous object creation when the logger is disabled
+     * for the ERROR level.
+     * </p>
+     *
+     * @param format
+     *          the format string
+     * @param argArray
+     *          an array of arguments
+     */
+    @Override
+    public void error(String format, Object... argArray) {
+        if (logger.isEnabledFor(Level.ERROR)) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, argArray);
+            logger.log(FQCN, Level.ERROR, ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    /**
+     * Log an exception (throwable) at the ERROR level with an accompanying
+     * message.
+     *
+     * @param msg
+     *          the message accompanying the exception
+     * @param t
+     *          the exception (throwable) to log
+     */
+    @Override
+    public void error(String msg, Throwable t) {
+        logger.log(FQCN, Level.ERROR, msg, t);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty_voltpatches.util.internal.logging;
+
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.NOPLoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Logger factory which creates a <a href="http://www.slf4j.org/">SLF4J</a>
+ * logger.
+ */
+public class Slf4JLoggerFactory extends InternalLoggerFactory {
+
+    public static final InternalLoggerFactory INSTANCE = new Slf4JLoggerFactory();
+
+    /**
+     * @deprecated Use {@link #INSTANCE} instead.
+     */
+    @Deprecated
+    public Slf4JLoggerFactory() {
+    }
+
+    Slf4JLoggerFactory(boolean failIfNOP) {
+        assert failIfNOP; // Should be always called with true.
+
+        // SFL4J writes it error messages to System.err. Capture them so that the user does not see such a message on
+        // the console during automatic detection.
+        final StringBuffer buf = new StringBuffer();
+        final PrintStream err = System.err;
+        try {
+            System.setErr(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    buf.append((char) b);
+                }
+            }, true, "US-ASCII"));
+        } catch (UnsupportedEncodingException e) {
+            throw new Error(e);
+        }
+
+        try {
+            if (LoggerFactory.getILoggerFactory() instanceof NOPLoggerFactory) {
+                throw new NoClassDefFoundError(buf.toString());
+            } else {
+                err.print(buf);
+                err.flush();
+            }
+        } finally {
+            System.setErr(err);
+        }
+    }
+
+    @Override
+    public InternalLogger newInstance(String name) {
+        return new Slf4JLogger(LoggerFactory.getLogger(name));
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Written by Gil Tene of Azul Systems, and released to the public domain,
+ * as explained at http://creativecommons.org/publicdomain/zero/1.0/
+ *
+ * @author Gil Tene
+ */
+
+package org.HdrHistogram_voltpatches;
+
+final class Version {
+    public static final String version="$VERSION$";
+    public static final String build_time="$BUILD_TIME$";
+}
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons_voltpatches.cli;
+
+/**
+ * Base for Exceptions thrown during parsing of a command-line.
+ *
+ * @version $Id: ParseException.java 1443102 2013-02-06 18:12:16Z tn $
+ */
+public class ParseException extends Exception
+{
+    /**
+     * This exception {@code serialVersionUID}.
+     */
+    private static final long serialVersionUID = 9112808380089253192L;
+
+    /**
+     * Construct a new <code>ParseException</code>
+     * with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ParseException(String message)
+    {
+        super(message);
+    }
+}
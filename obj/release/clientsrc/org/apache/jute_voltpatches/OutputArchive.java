@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jute_voltpatches;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Interface that alll the serializers have to implement.
+ *
+ */
+public interface OutputArchive {
+    public void writeByte(byte b, String tag) throws IOException;
+
+    public void writeBool(boolean b, String tag) throws IOException;
+
+    public void writeInt(int i, String tag) throws IOException;
+
+    public void writeLong(long l, String tag) throws IOException;
+
+    public void writeFloat(float f, String tag) throws IOException;
+
+    public void writeDouble(double d, String tag) throws IOException;
+
+    public void writeString(String s, String tag) throws IOException;
+
+    public void writeBuffer(byte buf[], String tag) throws IOException;
+
+    public void writeRecord(Record r, String tag) throws IOException;
+
+    public void startRecord(Record r, String tag) throws IOException;
+
+    public void endRecord(Record r, String tag) throws IOException;
+
+    public void startVector(List v, String tag) throws IOException;
+
+    public void endVector(List v, String tag) throws IOException;
+
+    public void startMap(TreeMap v, String tag) throws IOException;
+
+    public void endMap(TreeMap v, String tag) throws IOException;
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jute_voltpatches.compiler;
+
+/**
+ *
+ */
+public class JDouble extends JType {
+
+    /** Creates a new instance of JDouble */
+    public JDouble() {
+        super("double", "double", "double", "Double", "Double", "toDouble");
+    }
+
+    @Override
+    public String getSignature() {
+        return "d";
+    }
+
+    @Override
+    public String genJavaHashCode(String fname) {
+        String tmp = "Double.doubleToLongBits(" + fname + ")";
+        return "    ret = (int)(" + tmp + "^(" + tmp + ">>>32));\n";
+    }
+
+}
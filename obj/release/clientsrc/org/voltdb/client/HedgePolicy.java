@@ -0,0 +1,234 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.client;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.HdrHistogram_voltpatches.Histogram;
+import org.voltdb.ClientResponseImpl;
+
+/**
+ * Decides when a read-only single partition procedure that was sent through
+ * the host of a replica is re-sent to the host of the partition leader, see
+ * {@link ClientConfig#setHedgedReads(String, double)}.
+ *
+ * The hedge delay is the configured percentile of the latency of the first
+ * copy of each call, measured over a sliding window of calls. Hedging only
+ * starts once the window holds enough samples, and the number of hedges is
+ * capped at a fraction of the calls so that a cluster wide slowdown doesn't
+ * double the load on the cluster.
+ */
+final class HedgePolicy {
+
+    // calls needed before the percentile is trusted
+    static final int MIN_SAMPLES = 100;
+    // calls after which the latency window starts over
+    static final int WINDOW_SAMPLES = 10000;
+    // hedges allowed on top of the budget, so that rare calls can still be hedged
+    static final int HEDGE_BURST = 10;
+
+    private final String m_procName;
+    private final double m_percentile;
+    private final double m_budget;
+
+    private Histogram m_window = ClientStats.constructHistogram();
+    private Histogram m_previousWindow = null;
+    private volatile long m_delayNanos = -1;
+    private long m_calls = 0;
+    private long m_hedges = 0;
+    private long m_hedgeWins = 0;
+    private long m_totalHedges = 0;
+
+    /**
+     * @param percentile latency percentile after which a call is hedged, between 0 and 1
+     * @param budget maximum fraction of the calls that may be hedged
+     */
+    HedgePolicy(String procName, double percentile, double budget) {
+        // interned since ClientStats.diff matches procedure names by reference
+        m_procName = procName.intern();
+        m_percentile = percentile;
+        m_budget = budget;
+    }
+
+    /**
+     * @return how long to wait for the first copy of a call before hedging it,
+     * or -1 if there aren't enough samples yet
+     */
+    long getDelayNanos() {
+        return m_delayNanos;
+    }
+
+    /**
+     * Start tracking a call, which counts towards the hedge budget.
+     */
+    synchronized Call newCall(ProcedureCallback callback, long handle, long startNanos) {
+        m_calls++;
+        return new Call(callback, handle, startNanos);
+    }
+
+    synchronized void recordLatency(long latencyNanos) {
+        final long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        m_window.recordValue(Math.min(micros, ClientStats.HIGHEST_TRACKABLE));
+        Histogram samples = m_window;
+        if (m_window.getTotalCount() < MIN_SAMPLES && m_previousWindow != null) {
+            // the new window is still filling up, keep using the last full one
+            samples = m_previousWindow;
+        }
+        if (samples.getTotalCount() >= MIN_SAMPLES) {
+            m_delayNanos = TimeUnit.MICROSECONDS.toNanos(samples.getValueAtPercentile(m_percentile * 100.0D));
+        }
+        if (m_window.getTotalCount() >= WINDOW_SAMPLES) {
+            m_previousWindow = m_window;
+            m_window = ClientStats.constructHistogram();
+            // the budget follows the window so that old calls don't pay for new hedges
+            m_calls /= 2;
+            m_hedges /= 2;
+        }
+    }
+
+    /**
+     * Take a hedge from the budget.
+     *
+     * @return false if hedging the call would exceed the budget
+     */
+    synchronized boolean tryAcquireHedge() {
+        if (m_hedges >= m_calls * m_budget + HEDGE_BURST) {
+            return false;
+        }
+        m_hedges++;
+        m_totalHedges++;
+        return true;
+    }
+
+    private synchronized void hedgeWon() {
+        m_hedgeWins++;
+    }
+
+    synchronized ClientStats getStatsSnapshot() {
+        ClientStats stats = new ClientStats();
+        stats.m_connectionId = ClientStats.CLIENT_LOCAL_CONNECTION_ID;
+        stats.m_procName = m_procName;
+        stats.m_startTS = System.currentTimeMillis();
+        stats.m_hedgesSent = m_totalHedges;
+        stats.m_hedgeWins = m_hedgeWins;
+        return stats;
+    }
+
+    /**
+     * The state of a call that may be sent twice. The first copy to answer
+     * wins and its response goes to the caller, the other one is dropped when
+     * it comes back. A copy that lost its connection or timed out only wins if
+     * no other copy is still outstanding.
+     */
+    final class Call {
+        private final ProcedureCallback m_callback;
+        private final long m_handle;
+        private final long m_startNanos;
+        private final AtomicBoolean m_done = new AtomicBoolean(false);
+        private final AtomicInteger m_outstanding = new AtomicInteger(1);
+        private volatile ScheduledFuture<?> m_hedgeTask = null;
+        final Copy m_primary = new Copy(false);
+
+        private Call(ProcedureCallback callback, long handle, long startNanos) {
+            m_callback = callback;
+            m_handle = handle;
+            m_startNanos = startNanos;
+        }
+
+        long getStartNanos() {
+            return m_startNanos;
+        }
+
+        boolean isDone() {
+            return m_done.get();
+        }
+
+        void setHedgeTask(ScheduledFuture<?> task) {
+            m_hedgeTask = task;
+            if (m_done.get()) {
+                task.cancel(false);
+            }
+        }
+
+        /**
+         * @return a copy for the hedge, or null if the call already completed
+         */
+        Copy newHedge() {
+            m_outstanding.incrementAndGet();
+            if (m_done.get()) {
+                m_outstanding.decrementAndGet();
+                return null;
+            }
+            return new Copy(true);
+        }
+
+        /**
+         * The callback of one copy of the call.
+         */
+        final class Copy implements ProcedureCallback {
+            private final boolean m_isHedge;
+            // only touched by the thread that handles the response of this copy
+            private Boolean m_won = null;
+
+            private Copy(boolean isHedge) {
+                m_isHedge = isHedge;
+            }
+
+            /**
+             * Decide whether the response of this copy is the one given to the caller.
+             * Called before the response is counted in the connection stats, so that
+             * only the winner is.
+             */
+            boolean claim(byte status) {
+                if (m_won != null) {
+                    return m_won;
+                }
+                final boolean failed =
+                        status == ClientResponse.CONNECTION_LOST || status == ClientResponse.CONNECTION_TIMEOUT;
+                if (!m_isHedge && !failed) {
+                    recordLatency(System.nanoTime() - m_startNanos);
+                }
+                final boolean last = m_outstanding.decrementAndGet() == 0;
+                m_won = (!failed || last) && m_done.compareAndSet(false, true);
+                if (m_won) {
+                    ScheduledFuture<?> task = m_hedgeTask;
+                    if (task != null) {
+                        task.cancel(false);
+                    }
+                    if (m_isHedge) {
+                        hedgeWon();
+                    }
+                }
+                return m_won;
+            }
+
+            @Override
+            public void clientCallback(ClientResponse response) throws Exception {
+                if (!claim(response.getStatus())) {
+                    return;
+                }
+                if (m_isHedge && response instanceof ClientResponseImpl) {
+                    ((ClientResponseImpl) response).setClientHandle(m_handle);
+                }
+                m_callback.clientCallback(response);
+            }
+        }
+    }
+}
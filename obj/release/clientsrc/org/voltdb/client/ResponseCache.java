@@ -0,0 +1,249 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.ParameterSet;
+
+/**
+ * Client side cache of the responses of read-only procedures, enabled per
+ * procedure with {@link ClientConfig#setResponseCacheTtl(String, long, java.util.concurrent.TimeUnit)}.
+ *
+ * Entries are keyed by procedure name and serialized parameters, expire after
+ * the TTL of their procedure and are evicted in LRU order once the entry or byte
+ * limit is exceeded. Responses are held serialized: every hit deserializes a
+ * private copy, so callers can iterate or modify the tables they get back.
+ * Everything is dropped when the client observes a catalog update, and responses
+ * of calls sent before the update are not cached when they come back.
+ */
+final class ResponseCache {
+
+    static final class Key {
+        final String m_procName;
+        final byte[] m_params;
+        private final int m_hash;
+
+        Key(String procName, byte[] params) {
+            m_procName = procName;
+            m_params = params;
+            m_hash = 31 * procName.hashCode() + Arrays.hashCode(params);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return m_hash == other.m_hash && m_procName.equals(other.m_procName)
+                    && Arrays.equals(m_params, other.m_params);
+        }
+    }
+
+    private static final class Entry {
+        final byte[] m_response;
+        final long m_expiresAtNanos;
+
+        Entry(byte[] response, long expiresAtNanos) {
+            m_response = response;
+            m_expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Map<String, Long> m_ttlNanos;
+    private final int m_maxEntries;
+    private final long m_maxBytes;
+
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<Key, Entry> m_entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, ClientStats> m_stats = new HashMap<>();
+    private long m_bytes = 0;
+    // bumped on every invalidation so that responses to calls made before it are dropped
+    private long m_epoch = 0;
+
+    ResponseCache(Map<String, Long> ttlNanos, int maxEntries, long maxBytes) {
+        m_ttlNanos = new HashMap<>(ttlNanos);
+        m_maxEntries = maxEntries;
+        m_maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the cache key of the invocation, or null if its procedure isn't cached
+     */
+    Key keyFor(ProcedureInvocation invocation) throws IOException {
+        if (invocation.getAllPartition() || !m_ttlNanos.containsKey(invocation.getProcName())) {
+            return null;
+        }
+        ParameterSet params = invocation.getParams();
+        ByteBuffer buf = ByteBuffer.allocate(params.getSerializedSize());
+        params.flattenToBuffer(buf);
+        return new Key(invocation.getProcName(), buf.array());
+    }
+
+    /**
+     * Look up a live response for the key and record the hit or miss.
+     *
+     * @return a private copy of the cached response, or null on a miss
+     */
+    ClientResponseImpl get(Key key, long nowNanos) {
+        byte[] cached = null;
+        synchronized (this) {
+            ClientStats stats = statsFor(key.m_procName);
+            Entry entry = m_entries.get(key);
+            if (entry != null && entry.m_expiresAtNanos - nowNanos <= 0) {
+                remove(key, entry);
+                stats.m_cacheExpirations++;
+                entry = null;
+            }
+            if (entry == null) {
+                stats.m_cacheMisses++;
+                return null;
+            }
+            stats.m_cacheHits++;
+            cached = entry.m_response;
+        }
+        ClientResponseImpl response = new ClientResponseImpl();
+        try {
+            response.initFromBuffer(ByteBuffer.wrap(Arrays.copyOf(cached, cached.length)));
+        } catch (IOException e) {
+            // the bytes were produced by flattenToBuffer, this can't happen
+            throw new RuntimeException("Unable to deserialize a cached response", e);
+        }
+        return response;
+    }
+
+    /**
+     * Wrap the callback of a call that missed so that its response is cached
+     * before being passed on.
+     */
+    ProcedureCallback cachingCallback(final Key key, final ProcedureCallback callback) {
+        final long epoch;
+        synchronized (this) {
+            epoch = m_epoch;
+        }
+        return new ProcedureCallback() {
+            @Override
+            public void clientCallback(ClientResponse response) throws Exception {
+                if (response.getStatus() == ClientResponse.SUCCESS && response instanceof ClientResponseImpl) {
+                    put(key, epoch, (ClientResponseImpl) response, System.nanoTime());
+                }
+                callback.clientCallback(response);
+            }
+        };
+    }
+
+    void put(Key key, long epoch, ClientResponseImpl response, long nowNanos) {
+        final int size = response.getSerializedSize();
+        if (size + key.m_params.length > m_maxBytes) {
+            return;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        response.flattenToBuffer(buf);
+        Entry entry = new Entry(buf.array(), nowNanos + m_ttlNanos.get(key.m_procName));
+
+        synchronized (this) {
+            if (epoch != m_epoch) {
+                // the catalog changed while the call was in flight
+                return;
+            }
+            Entry old = m_entries.put(key, entry);
+            if (old != null) {
+                m_bytes -= entrySize(key, old);
+            }
+            m_bytes += entrySize(key, entry);
+
+            Iterator<Map.Entry<Key, Entry>> iter = m_entries.entrySet().iterator();
+            while ((m_entries.size() > m_maxEntries || m_bytes > m_maxBytes) && iter.hasNext()) {
+                Map.Entry<Key, Entry> eldest = iter.next();
+                iter.remove();
+                m_bytes -= entrySize(eldest.getKey(), eldest.getValue());
+                statsFor(eldest.getKey().m_procName).m_cacheEvictions++;
+            }
+        }
+    }
+
+    /**
+     * Drop every cached response, called when the client observes a catalog update.
+     */
+    synchronized void invalidate() {
+        m_epoch++;
+        for (Key key : m_entries.keySet()) {
+            statsFor(key.m_procName).m_cacheEvictions++;
+        }
+        m_entries.clear();
+        m_bytes = 0;
+    }
+
+    synchronized int size() {
+        return m_entries.size();
+    }
+
+    synchronized long getBytes() {
+        return m_bytes;
+    }
+
+    /**
+     * @return a copy of the per procedure cache stats
+     */
+    synchronized Map<String, ClientStats> getStatsSnapshot() {
+        Map<String, ClientStats> retval = new TreeMap<>();
+        for (ClientStats stats : m_stats.values()) {
+            retval.put(stats.m_procName, (ClientStats) stats.clone());
+        }
+        return retval;
+    }
+
+    private void remove(Key key, Entry entry) {
+        m_entries.remove(key);
+        m_bytes -= entrySize(key, entry);
+    }
+
+    private static long entrySize(Key key, Entry entry) {
+        return key.m_params.length + entry.m_response.length;
+    }
+
+    private ClientStats statsFor(String procName) {
+        ClientStats stats = m_stats.get(procName);
+        if (stats == null) {
+            stats = new ClientStats();
+            stats.m_connectionId = ClientStats.CLIENT_LOCAL_CONNECTION_ID;
+            // interned since ClientStats.diff matches procedure names by reference
+            stats.m_procName = procName.intern();
+            stats.m_startTS = System.currentTimeMillis();
+            stats.m_endTS = Long.MIN_VALUE;
+            m_stats.put(procName, stats);
+        }
+        return stats;
+    }
+}
@@ -14,20 +14,20 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
  */
-
 package org.voltdb.client.VoltBulkLoader;
 
+import org.voltdb.client.ClientResponse;
+
 /**
- * Encapsulation of the applications insert request (also used for passing internal notifications across processors)
+ * Interface for operations that need to be informed of a successful import operation, such as Kafka offset management.
+ * @author jcrump
+ *
  */
-class VoltBulkLoaderRow {
-    final VoltBulkLoader m_loader;
-    Object m_rowHandle;
-    final Object[] m_rowData;
+public interface BulkLoaderSuccessCallback {
+
+    /**
+     * Callback for successful row import.  Callers are reponsible for managing their own exception reporting.
+     */
+    public void success(Object rowHandle, ClientResponse response);
 
-    VoltBulkLoaderRow(VoltBulkLoader bulkLoader, Object rowHandle, Object... rowData) {
-        m_loader = bulkLoader;
-        this.m_rowHandle = rowHandle;
-        this.m_rowData = rowData;
-    }
 }
@@ -0,0 +1,448 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.client.VoltBulkLoader;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.CoreUtils;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.ParameterConverter;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+import org.voltdb.VoltTypeException;
+import org.voltdb.client.ClientImpl;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureCallback;
+
+/**
+ * Partition specific table potentially shared by multiple VoltBulkLoader instances,
+ * provided that they are all inserting to the same table.
+ *
+ * Rows are not queued here one by one. Each producer thread fills its own {@link Batch}
+ * per partition (see {@link VoltBulkLoader}) and hands the whole batch over once it
+ * reaches the batch size, so producers never contend with each other. Batches are
+ * recycled once the database has answered for their rows.
+ */
+public class PerPartitionTable {
+    private static final VoltLogger loaderLog = new VoltLogger("LOADER");
+
+    // Maximum number of full batches waiting for m_es before producers block
+    static final int MAX_QUEUED_BATCHES = 5;
+
+    // Client we are tied to
+    final ClientImpl m_clientImpl;
+    //The index in loader tables and the PartitionProcessor number
+    final int m_partitionId;
+    final boolean m_isMP;
+    //Full batches handed over by producers but not yet sent
+    final Semaphore m_queuedBatches = new Semaphore(MAX_QUEUED_BATCHES);
+    //Batches whose rows have all been answered for, ready for reuse
+    final Queue<Batch> m_freeBatches = new ConcurrentLinkedQueue<Batch>();
+
+    final ExecutorService m_es;
+
+    //Zero based index of the partitioned column in the table
+    final int m_partitionedColumnIndex;
+    //Partitioned column type
+    final VoltType m_partitionColumnType;
+    //Table used to build up requests to the PartitionProcessor
+    VoltTable m_table;
+    //Row used to convert the values of one row before adding it to m_table, only used by m_es
+    final Object[] m_rowArgs;
+    //Column information
+    final VoltTable.ColumnInfo m_columnInfo[];
+    //Column types
+    final VoltType[] m_columnTypes;
+    //Size of the batches this table submits (minimum of all values provided by VoltBulkLoaders)
+    volatile int m_minBatchTriggerSize;
+    //Number of rows a batch can hold, batch sizes can only shrink after construction
+    final int m_batchCapacity;
+    //Insert procedure name
+    final String m_procName;
+    //Name of table
+    final String m_tableName;
+    // Upsert Mode Flag
+    final byte m_upsert;
+    // Callback for per-row success notification
+    final BulkLoaderSuccessCallback m_successCallback;
+    //Whether to retry insertion when the connection is lost
+    final boolean m_autoReconnect;
+
+    /**
+     * Rows buffered by one producer thread of one VoltBulkLoader for this partition.
+     * Values are kept by column and copied out of the caller's arrays, so buffering a
+     * row does not allocate anything.
+     */
+    static final class Batch {
+        // The table this batch is buffered for
+        final PerPartitionTable m_owner;
+        VoltBulkLoader m_loader;
+        final Object[] m_rowHandles;
+        // m_columns[column][row]
+        final Object[][] m_columns;
+        int m_rowCount = 0;
+
+        Batch(PerPartitionTable owner, int columnCount, int capacity) {
+            m_owner = owner;
+            m_rowHandles = new Object[capacity];
+            m_columns = new Object[columnCount][capacity];
+        }
+
+        void add(Object rowHandle, Object[] fieldList) {
+            m_rowHandles[m_rowCount] = rowHandle;
+            for (int i = 0; i < m_columns.length; i++) {
+                m_columns[i][m_rowCount] = fieldList[i];
+            }
+            m_rowCount++;
+        }
+
+        void add(Object rowHandle, Object[][] columns, int row) {
+            m_rowHandles[m_rowCount] = rowHandle;
+            for (int i = 0; i < m_columns.length; i++) {
+                m_columns[i][m_rowCount] = columns[i][row];
+            }
+            m_rowCount++;
+        }
+
+        /**
+         * Materialize a single row, only used to report and retry failures.
+         */
+        Object[] getRow(int row) {
+            Object[] fieldList = new Object[m_columns.length];
+            for (int i = 0; i < m_columns.length; i++) {
+                fieldList[i] = m_columns[i][row];
+            }
+            return fieldList;
+        }
+
+        void moveRow(int from, int to) {
+            if (from != to) {
+                m_rowHandles[to] = m_rowHandles[from];
+                for (Object[] column : m_columns) {
+                    column[to] = column[from];
+                }
+            }
+        }
+
+        /**
+         * Drop the rows from rowCount on, releasing their references.
+         */
+        void truncate(int rowCount) {
+            Arrays.fill(m_rowHandles, rowCount, m_rowCount, null);
+            for (Object[] column : m_columns) {
+                Arrays.fill(column, rowCount, m_rowCount, null);
+            }
+            m_rowCount = rowCount;
+        }
+    }
+
+    // Callback for batch submissions to the Client. A failed request submits the entire
+    // batch of rows for row by row processing on m_es.
+    class PartitionProcedureCallback implements ProcedureCallback {
+        final Batch m_batch;
+
+        PartitionProcedureCallback(Batch batch) {
+            m_batch = batch;
+        }
+
+        // Called by Client to inform us of the status of the bulk insert.
+        @Override
+        public void clientCallback(final ClientResponse response) throws InterruptedException {
+            if (response.getStatus() != ClientResponse.SUCCESS) {
+                // Queue up all rows for individual processing by originating BulkLoader's FailureProcessor.
+                m_es.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            reinsertFailed(m_batch);
+                        } catch (Exception e) {
+                            loaderLog.error("Failed to re-insert failed batch", e);
+                        }
+                    }
+                });
+            }
+            else {
+                final VoltBulkLoader loader = m_batch.m_loader;
+                final int rowCount = m_batch.m_rowCount;
+                // For each row in the batch, notify the caller of success, so it can do any
+                // necessary bookkeeping (like managing offsets, for example). Do this in the executor
+                // so as not to hold up the callback.
+                if (m_successCallback != null) {
+                    m_es.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (int i = 0; i < m_batch.m_rowCount; i++) {
+                                m_successCallback.success(m_batch.m_rowHandles[i], response);
+                            }
+                            releaseBatch(m_batch);
+                        }
+                    });
+                }
+                else {
+                    releaseBatch(m_batch);
+                }
+                loader.m_loaderCompletedCnt.addAndGet(rowCount);
+                loader.m_outstandingRowCount.addAndGet(-1 * rowCount);
+            }
+        }
+    }
+
+    PerPartitionTable(ClientImpl clientImpl, String tableName, int partitionId, boolean isMP,
+            VoltBulkLoader firstLoader, int minBatchTriggerSize, BulkLoaderSuccessCallback successCallback) {
+        m_clientImpl = clientImpl;
+        m_partitionId = partitionId;
+        m_isMP = isMP;
+        m_procName = firstLoader.m_procName;
+        m_upsert = (byte) (firstLoader.m_upsert ? 1:0);
+        m_minBatchTriggerSize = minBatchTriggerSize;
+        m_batchCapacity = Math.max(1, minBatchTriggerSize);
+        m_columnInfo = firstLoader.m_colInfo;
+        m_partitionedColumnIndex = firstLoader.m_partitionedColumnIndex;
+        m_columnTypes = firstLoader.m_columnTypes;
+        m_partitionColumnType = firstLoader.m_partitionColumnType;
+        m_tableName = tableName;
+        m_successCallback = successCallback;
+        m_table = new VoltTable(m_columnInfo);
+        m_rowArgs = new Object[m_columnInfo.length];
+        m_autoReconnect = m_clientImpl.isAutoReconnectEnabled();
+
+        m_es = CoreUtils.getSingleThreadExecutor(tableName + "-" + partitionId);
+    }
+
+    boolean updateMinBatchTriggerSize(int minBatchTriggerSize) {
+        if (m_minBatchTriggerSize >= minBatchTriggerSize) {
+            // This will generate a batch of arbitrary length when the next insert is made
+            m_minBatchTriggerSize = minBatchTriggerSize;
+            return true;
+        }
+        else {
+            return false;
+        }
+     }
+
+    /**
+     * @return an empty batch for a producer thread of the given loader
+     */
+    Batch acquireBatch(VoltBulkLoader loader) {
+        Batch batch = m_freeBatches.poll();
+        if (batch == null) {
+            batch = new Batch(this, m_columnInfo.length, m_batchCapacity);
+        }
+        batch.m_loader = loader;
+        return batch;
+    }
+
+    void releaseBatch(Batch batch) {
+        batch.truncate(0);
+        batch.m_loader = null;
+        m_freeBatches.offer(batch);
+    }
+
+    /**
+     * @return true if the batch has reached the size that triggers sending it
+     */
+    boolean isFull(Batch batch) {
+        return batch.m_rowCount >= m_minBatchTriggerSize;
+    }
+
+    /**
+     * Hand a batch over to be sent. Blocks while {@link #MAX_QUEUED_BATCHES} batches are
+     * already waiting to be sent, which is how producers see backpressure.
+     */
+    void submitBatch(final Batch batch) throws InterruptedException {
+        m_queuedBatches.acquire();
+        m_es.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    loadBatch(batch);
+                } catch (Exception e) {
+                    loaderLog.error("Failed to load batch", e);
+                } finally {
+                    m_queuedBatches.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a future that completes once every batch submitted so far has been sent.
+     * Partially filled batches still held by producer threads have to be submitted first,
+     * see {@link VoltBulkLoader#flush()}. This does not guarantee that failed rows will
+     * have been reinserted. To make sure all rows are either inserted or failed
+     * definitively, call shutdown().
+     */
+    Future<?> flushAllTableQueues() throws InterruptedException {
+        return m_es.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return true;
+            }
+        });
+    }
+
+    void shutdown() throws Exception {
+        try {
+            flushAllTableQueues().get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+        m_es.shutdown();
+        m_es.awaitTermination(365, TimeUnit.DAYS);
+    }
+
+    private void reinsertFailed(Batch batch) throws Exception {
+        VoltTable tmpTable = new VoltTable(m_columnInfo);
+        for (int i = 0; i < batch.m_rowCount; i++) {
+            reinsertRow(batch.m_loader, batch.m_rowHandles[i], batch.getRow(i), tmpTable);
+        }
+        releaseBatch(batch);
+    }
+
+    private void reinsertRow(final VoltBulkLoader loader, final Object rowHandle, final Object[] rowData,
+            VoltTable tmpTable) throws Exception {
+        // No need to check error here if a correctedLine has come here it was
+        // previously successful.
+        try {
+            Object row_args[] = new Object[rowData.length];
+            for (int i = 0; i < row_args.length; i++) {
+                final VoltType type = m_columnTypes[i];
+                row_args[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
+                        rowData[i]);
+            }
+            tmpTable.addRow(row_args);
+        } catch (VoltTypeException ex) {
+            // Should never happened because the bulk conversion in PerPartitionProcessor
+            // should have caught this.
+            loaderLog.error("Type conversion exception", ex);
+            assert false: "Type conversion exception" + ex.getMessage();
+            return;
+        }
+
+        ProcedureCallback callback = new ProcedureCallback() {
+            @Override
+            public void clientCallback(ClientResponse response) throws Exception {
+                //one insert at a time callback
+                if (response.getStatus() == ClientResponse.CONNECTION_LOST && m_autoReconnect) {
+                    m_es.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                reinsertRow(loader, rowHandle, rowData, new VoltTable(m_columnInfo));
+                            } catch (Exception e) {
+                                loaderLog.error("Failed to re-insert failed batch", e);
+                            }
+                        }
+                    });
+                    return;
+                }
+                else if (response.getStatus() != ClientResponse.SUCCESS) {
+                    loader.m_notificationCallBack.failureCallback(rowHandle, rowData, response);
+                }
+
+                loader.m_loaderCompletedCnt.incrementAndGet();
+                loader.m_outstandingRowCount.decrementAndGet();
+            }
+        };
+        loadTable(callback, tmpTable);
+    }
+
+    /**
+     * Convert the rows of the batch into m_table and send it. Rows that fail conversion
+     * are reported right away and removed from the batch, so that the batch only holds
+     * the rows that the callback will answer for.
+     */
+    private void loadBatch(Batch batch) throws Exception {
+        final VoltBulkLoader loader = batch.m_loader;
+        int kept = 0;
+        for (int row = 0; row < batch.m_rowCount; row++) {
+            try {
+                for (int i = 0; i < m_rowArgs.length; i++) {
+                    final VoltType type = m_columnTypes[i];
+                    m_rowArgs[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
+                            batch.m_columns[i][row]);
+                }
+            } catch (Exception e) {
+                loader.generateError(batch.m_rowHandles[row], batch.getRow(row), e.getMessage());
+                loader.m_outstandingRowCount.decrementAndGet();
+                continue;
+            }
+            m_table.addRow(m_rowArgs);
+            batch.moveRow(row, kept++);
+        }
+        Arrays.fill(m_rowArgs, null);
+        batch.truncate(kept);
+
+        if (kept == 0) {
+            releaseBatch(batch);
+            return;
+        }
+        loadTable(new PartitionProcedureCallback(batch), m_table);
+    }
+
+    private void loadTable(ProcedureCallback callback, VoltTable toSend) throws Exception {
+        if (toSend.getRowCount() <= 0) {
+            return;
+        }
+
+        if (m_autoReconnect) {
+            while (true) {
+                try {
+                    load(callback, toSend);
+                    // Table loaded successfully. So move on
+                    break;
+                } catch (IOException e) {
+                   synchronized (this) {
+                       // If the connection is lost, suspend and wait for reconnect listener's notification
+                       this.wait();
+                   }
+                }
+            }
+        } else {
+            try {
+                load(callback, toSend);
+            } catch (IOException e) {
+                final ClientResponse r = new ClientResponseImpl(
+                        ClientResponse.CONNECTION_LOST, new VoltTable[0],
+                        "Connection to database was lost");
+                callback.clientCallback(r);
+            }
+        }
+        toSend.clearRowData();
+    }
+
+    private void load(ProcedureCallback callback, VoltTable toSend) throws Exception {
+        if (m_isMP) {
+            m_clientImpl.callProcedure(callback, m_procName, m_tableName, m_upsert, toSend);
+        } else {
+            Object rpartitionParam = VoltType.valueToBytes(toSend.fetchRow(0).get(
+                    m_partitionedColumnIndex, m_partitionColumnType));
+            m_clientImpl.callProcedure(callback, m_procName, rpartitionParam, m_tableName, m_upsert, toSend);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+
+import org.voltdb.VoltTable;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureCallback;
+
+/**
+ * Receives the response of a call sent with executeAsync, for the caller to wait on
+ * later, such as the statements of a batch or the next page of a cursor.
+ */
+class JDBC4PendingResponse implements ProcedureCallback {
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile ClientResponse response = null;
+    private volatile SQLException submitFailure = null;
+
+    @Override
+    public void clientCallback(ClientResponse response) {
+        this.response = response;
+        this.latch.countDown();
+    }
+
+    // The call could not be sent, getResults() throws the given exception.
+    void setSubmitFailure(SQLException x) {
+        this.submitFailure = x;
+        this.latch.countDown();
+    }
+
+    // Waits for the response, and returns its tables or throws its error.
+    VoltTable[] getResults() throws SQLException {
+        try {
+            this.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SQLError.get(e, SQLError.GENERAL_ERROR, e.getMessage());
+        }
+        if (this.submitFailure != null) {
+            throw this.submitFailure;
+        }
+        return JDBC4Statement.VoltSQL.getResults(this.response);
+    }
+}
@@ -0,0 +1 @@
+(function(){jQuery.fn.getSelectedText=function(){var e=this[0];return(('selectionStart'in e&&function(){return e.value.substr(e.selectionStart,e.selectionEnd-e.selectionStart);})||(document.selection&&function(){e.focus();var r=document.selection.createRange();if (r==null)return null;else return r.text;})||function(){return null;})();};})();
\ No newline at end of file
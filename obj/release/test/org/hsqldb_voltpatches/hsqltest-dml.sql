@@ -0,0 +1,22 @@
+SELECT D_NEXT_O_ID FROM DISTRICT WHERE D_W_ID = ? AND D_ID = ?;
+SELECT COUNT(DISTINCT(OL_I_ID)) FROM ORDER_LINE, STOCK WHERE OL_W_ID = ? AND OL_D_ID = ? AND OL_O_ID < ? AND OL_O_ID >= ? AND S_W_ID = ? AND S_I_ID = OL_I_ID AND S_QUANTITY < ?;
+SELECT NO_O_ID FROM NEW_ORDER WHERE NO_D_ID = ? AND NO_W_ID = ? AND NO_O_ID > -1 LIMIT 1;
+SELECT C_DISCOUNT, C_LAST, C_CREDIT, W_TAX FROM CUSTOMER, WAREHOUSE WHERE W_ID = ? AND C_W_ID = W_ID AND C_D_ID = ? AND C_ID = ?;
+SELECT D_NEXT_O_ID, D_TAX FROM DISTRICT WHERE D_ID = ? AND D_W_ID = ?;
+UPDATE DISTRICT SET D_NEXT_O_ID = ? + 1 WHERE D_ID = ? AND D_W_ID = ?;
+INSERT INTO ORDERS (O_ID, O_D_ID, O_W_ID, O_C_ID, O_ENTRY_D, O_OL_CNT, O_ALL_LOCAL) VALUES (?, ?, ?, ?, ?, ?, ?);
+INSERT INTO NEW_ORDER (NO_O_ID, NO_D_ID, NO_W_ID) VALUES (?, ?, ?);
+SELECT I_PRICE, I_NAME , I_DATA FROM ITEM WHERE I_ID = ?;
+SELECT S_QUANTITY, S_DATA, S_DIST_01, S_DIST_02, S_DIST_03, S_DIST_04, S_DIST_05, S_DIST_06, S_DIST_07, S_DIST_08, S_DIST_09, S_DIST_10 FROM STOCK WHERE S_I_ID = ? AND S_W_ID = ?;
+UPDATE stock SET s_quantity = ? WHERE s_i_id = ? AND s_w_id = ?;
+INSERT INTO ORDER_LINE (OL_O_ID, OL_D_ID, OL_W_ID, OL_NUMBER, OL_I_ID, OL_SUPPLY_W_ID, OL_QUANTITY, OL_AMOUNT, OL_DIST_INFO) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
+UPDATE DISTRICT SET D_NEXT_O_ID = ? + D_ID WHERE D_ID = ? AND D_W_ID = ?;
+UPDATE DISTRICT SET D_NEXT_O_ID = (? + 1 + D_ID) WHERE D_ID = ? AND D_W_ID = ?;
+SELECT D_NAME, C_LAST FROM CUSTOMER, DISTRICT WHERE D_ID = ? AND D_ID = C_D_ID AND D_W_ID = C_W_ID;
+SELECT D_NAME, C_LAST FROM CUSTOMER, DISTRICT WHERE D_ID = ? AND D_ID = C_D_ID AND D_W_ID = C_W_ID AND C_STREET_1 != C_STREET_2;
+DELETE FROM CUSTOMER WHERE C_D_ID = ?;
+SELECT * FROM DISTRICT WHERE D_W_ID > ?;
+SELECT C1.C_LAST AS C1_LAST, C2.C_LAST AS C2_LAST FROM CUSTOMER AS C1, CUSTOMER C2 WHERE C1.C_ID = C2.C_ID AND C1.C_id = ?;
+SELECT CUSTOMER.*, WAREHOUSE.* FROM CUSTOMER, DISTRICT, WAREHOUSE WHERE W_ID = ? AND W_ID = D_W_ID AND W_ID = C_W_ID AND D_ID = ? AND D_ID = C_D_ID AND C_LAST = ?;
+SELECT (D_W_ID + 1) AS COL1, D_ID AS COL2 FROM DISTRICT WHERE D_ID = ?;
+SELECT D.D_ID, C.C_ID FROM CUSTOMER AS C, DISTRICT AS D WHERE D.D_ID = ? AND D.D_ID = C.C_D_ID;
\ No newline at end of file
@@ -0,0 +1,6 @@
+CREATE TABLE BT (
+  ID INTEGER DEFAULT '0' NOT NULL,
+  B1 VARBINARY(16) DEFAULT NULL,
+  B2 VARBINARY(768) DEFAULT NULL,
+  PRIMARY KEY (ID)
+);
\ No newline at end of file
@@ -0,0 +1,1027 @@
+CREATE TABLE JUST_ENOUGH_WIDE_COLUMNS (
+    ID INTEGER DEFAULT '0' NOT NULL,
+    P INTEGER DEFAULT '0' NOT NULL,
+    COL00000 INTEGER DEFAULT '0' NOT NULL,
+    COL00001 INTEGER DEFAULT '0' NOT NULL,
+    COL00002 INTEGER DEFAULT '0' NOT NULL,
+    COL00003 INTEGER DEFAULT '0' NOT NULL,
+    COL00004 INTEGER DEFAULT '0' NOT NULL,
+    COL00005 INTEGER DEFAULT '0' NOT NULL,
+    COL00006 INTEGER DEFAULT '0' NOT NULL,
+    COL00007 INTEGER DEFAULT '0' NOT NULL,
+    COL00008 INTEGER DEFAULT '0' NOT NULL,
+    COL00009 INTEGER DEFAULT '0' NOT NULL,
+    COL00010 INTEGER DEFAULT '0' NOT NULL,
+    COL00011 INTEGER DEFAULT '0' NOT NULL,
+    COL00012 INTEGER DEFAULT '0' NOT NULL,
+    COL00013 INTEGER DEFAULT '0' NOT NULL,
+    COL00014 INTEGER DEFAULT '0' NOT NULL,
+    COL00015 INTEGER DEFAULT '0' NOT NULL,
+    COL00016 INTEGER DEFAULT '0' NOT NULL,
+    COL00017 INTEGER DEFAULT '0' NOT NULL,
+    COL00018 INTEGER DEFAULT '0' NOT NULL,
+    COL00019 INTEGER DEFAULT '0' NOT NULL,
+    COL00020 INTEGER DEFAULT '0' NOT NULL,
+    COL00021 INTEGER DEFAULT '0' NOT NULL,
+    COL00022 INTEGER DEFAULT '0' NOT NULL,
+    COL00023 INTEGER DEFAULT '0' NOT NULL,
+    COL00024 INTEGER DEFAULT '0' NOT NULL,
+    COL00025 INTEGER DEFAULT '0' NOT NULL,
+    COL00026 INTEGER DEFAULT '0' NOT NULL,
+    COL00027 INTEGER DEFAULT '0' NOT NULL,
+    COL00028 INTEGER DEFAULT '0' NOT NULL,
+    COL00029 INTEGER DEFAULT '0' NOT NULL,
+    COL00030 INTEGER DEFAULT '0' NOT NULL,
+    COL00031 INTEGER DEFAULT '0' NOT NULL,
+    COL00032 INTEGER DEFAULT '0' NOT NULL,
+    COL00033 INTEGER DEFAULT '0' NOT NULL,
+    COL00034 INTEGER DEFAULT '0' NOT NULL,
+    COL00035 INTEGER DEFAULT '0' NOT NULL,
+    COL00036 INTEGER DEFAULT '0' NOT NULL,
+    COL00037 INTEGER DEFAULT '0' NOT NULL,
+    COL00038 INTEGER DEFAULT '0' NOT NULL,
+    COL00039 INTEGER DEFAULT '0' NOT NULL,
+    COL00040 INTEGER DEFAULT '0' NOT NULL,
+    COL00041 INTEGER DEFAULT '0' NOT NULL,
+    COL00042 INTEGER DEFAULT '0' NOT NULL,
+    COL00043 INTEGER DEFAULT '0' NOT NULL,
+    COL00044 INTEGER DEFAULT '0' NOT NULL,
+    COL00045 INTEGER DEFAULT '0' NOT NULL,
+    COL00046 INTEGER DEFAULT '0' NOT NULL,
+    COL00047 INTEGER DEFAULT '0' NOT NULL,
+    COL00048 INTEGER DEFAULT '0' NOT NULL,
+    COL00049 INTEGER DEFAULT '0' NOT NULL,
+    COL00050 INTEGER DEFAULT '0' NOT NULL,
+    COL00051 INTEGER DEFAULT '0' NOT NULL,
+    COL00052 INTEGER DEFAULT '0' NOT NULL,
+    COL00053 INTEGER DEFAULT '0' NOT NULL,
+    COL00054 INTEGER DEFAULT '0' NOT NULL,
+    COL00055 INTEGER DEFAULT '0' NOT NULL,
+    COL00056 INTEGER DEFAULT '0' NOT NULL,
+    COL00057 INTEGER DEFAULT '0' NOT NULL,
+    COL00058 INTEGER DEFAULT '0' NOT NULL,
+    COL00059 INTEGER DEFAULT '0' NOT NULL,
+    COL00060 INTEGER DEFAULT '0' NOT NULL,
+    COL00061 INTEGER DEFAULT '0' NOT NULL,
+    COL00062 INTEGER DEFAULT '0' NOT NULL,
+    COL00063 INTEGER DEFAULT '0' NOT NULL,
+    COL00064 INTEGER DEFAULT '0' NOT NULL,
+    COL00065 INTEGER DEFAULT '0' NOT NULL,
+    COL00066 INTEGER DEFAULT '0' NOT NULL,
+    COL00067 INTEGER DEFAULT '0' NOT NULL,
+    COL00068 INTEGER DEFAULT '0' NOT NULL,
+    COL00069 INTEGER DEFAULT '0' NOT NULL,
+    COL00070 INTEGER DEFAULT '0' NOT NULL,
+    COL00071 INTEGER DEFAULT '0' NOT NULL,
+    COL00072 INTEGER DEFAULT '0' NOT NULL,
+    COL00073 INTEGER DEFAULT '0' NOT NULL,
+    COL00074 INTEGER DEFAULT '0' NOT NULL,
+    COL00075 INTEGER DEFAULT '0' NOT NULL,
+    COL00076 INTEGER DEFAULT '0' NOT NULL,
+    COL00077 INTEGER DEFAULT '0' NOT NULL,
+    COL00078 INTEGER DEFAULT '0' NOT NULL,
+    COL00079 INTEGER DEFAULT '0' NOT NULL,
+    COL00080 INTEGER DEFAULT '0' NOT NULL,
+    COL00081 INTEGER DEFAULT '0' NOT NULL,
+    COL00082 INTEGER DEFAULT '0' NOT NULL,
+    COL00083 INTEGER DEFAULT '0' NOT NULL,
+    COL00084 INTEGER DEFAULT '0' NOT NULL,
+    COL00085 INTEGER DEFAULT '0' NOT NULL,
+    COL00086 INTEGER DEFAULT '0' NOT NULL,
+    COL00087 INTEGER DEFAULT '0' NOT NULL,
+    COL00088 INTEGER DEFAULT '0' NOT NULL,
+    COL00089 INTEGER DEFAULT '0' NOT NULL,
+    COL00090 INTEGER DEFAULT '0' NOT NULL,
+    COL00091 INTEGER DEFAULT '0' NOT NULL,
+    COL00092 INTEGER DEFAULT '0' NOT NULL,
+    COL00093 INTEGER DEFAULT '0' NOT NULL,
+    COL00094 INTEGER DEFAULT '0' NOT NULL,
+    COL00095 INTEGER DEFAULT '0' NOT NULL,
+    COL00096 INTEGER DEFAULT '0' NOT NULL,
+    COL00097 INTEGER DEFAULT '0' NOT NULL,
+    COL00098 INTEGER DEFAULT '0' NOT NULL,
+    COL00099 INTEGER DEFAULT '0' NOT NULL,
+    COL00100 INTEGER DEFAULT '0' NOT NULL,
+    COL00101 INTEGER DEFAULT '0' NOT NULL,
+    COL00102 INTEGER DEFAULT '0' NOT NULL,
+    COL00103 INTEGER DEFAULT '0' NOT NULL,
+    COL00104 INTEGER DEFAULT '0' NOT NULL,
+    COL00105 INTEGER DEFAULT '0' NOT NULL,
+    COL00106 INTEGER DEFAULT '0' NOT NULL,
+    COL00107 INTEGER DEFAULT '0' NOT NULL,
+    COL00108 INTEGER DEFAULT '0' NOT NULL,
+    COL00109 INTEGER DEFAULT '0' NOT NULL,
+    COL00110 INTEGER DEFAULT '0' NOT NULL,
+    COL00111 INTEGER DEFAULT '0' NOT NULL,
+    COL00112 INTEGER DEFAULT '0' NOT NULL,
+    COL00113 INTEGER DEFAULT '0' NOT NULL,
+    COL00114 INTEGER DEFAULT '0' NOT NULL,
+    COL00115 INTEGER DEFAULT '0' NOT NULL,
+    COL00116 INTEGER DEFAULT '0' NOT NULL,
+    COL00117 INTEGER DEFAULT '0' NOT NULL,
+    COL00118 INTEGER DEFAULT '0' NOT NULL,
+    COL00119 INTEGER DEFAULT '0' NOT NULL,
+    COL00120 INTEGER DEFAULT '0' NOT NULL,
+    COL00121 INTEGER DEFAULT '0' NOT NULL,
+    COL00122 INTEGER DEFAULT '0' NOT NULL,
+    COL00123 INTEGER DEFAULT '0' NOT NULL,
+    COL00124 INTEGER DEFAULT '0' NOT NULL,
+    COL00125 INTEGER DEFAULT '0' NOT NULL,
+    COL00126 INTEGER DEFAULT '0' NOT NULL,
+    COL00127 INTEGER DEFAULT '0' NOT NULL,
+    COL00128 INTEGER DEFAULT '0' NOT NULL,
+    COL00129 INTEGER DEFAULT '0' NOT NULL,
+    COL00130 INTEGER DEFAULT '0' NOT NULL,
+    COL00131 INTEGER DEFAULT '0' NOT NULL,
+    COL00132 INTEGER DEFAULT '0' NOT NULL,
+    COL00133 INTEGER DEFAULT '0' NOT NULL,
+    COL00134 INTEGER DEFAULT '0' NOT NULL,
+    COL00135 INTEGER DEFAULT '0' NOT NULL,
+    COL00136 INTEGER DEFAULT '0' NOT NULL,
+    COL00137 INTEGER DEFAULT '0' NOT NULL,
+    COL00138 INTEGER DEFAULT '0' NOT NULL,
+    COL00139 INTEGER DEFAULT '0' NOT NULL,
+    COL00140 INTEGER DEFAULT '0' NOT NULL,
+    COL00141 INTEGER DEFAULT '0' NOT NULL,
+    COL00142 INTEGER DEFAULT '0' NOT NULL,
+    COL00143 INTEGER DEFAULT '0' NOT NULL,
+    COL00144 INTEGER DEFAULT '0' NOT NULL,
+    COL00145 INTEGER DEFAULT '0' NOT NULL,
+    COL00146 INTEGER DEFAULT '0' NOT NULL,
+    COL00147 INTEGER DEFAULT '0' NOT NULL,
+    COL00148 INTEGER DEFAULT '0' NOT NULL,
+    COL00149 INTEGER DEFAULT '0' NOT NULL,
+    COL00150 INTEGER DEFAULT '0' NOT NULL,
+    COL00151 INTEGER DEFAULT '0' NOT NULL,
+    COL00152 INTEGER DEFAULT '0' NOT NULL,
+    COL00153 INTEGER DEFAULT '0' NOT NULL,
+    COL00154 INTEGER DEFAULT '0' NOT NULL,
+    COL00155 INTEGER DEFAULT '0' NOT NULL,
+    COL00156 INTEGER DEFAULT '0' NOT NULL,
+    COL00157 INTEGER DEFAULT '0' NOT NULL,
+    COL00158 INTEGER DEFAULT '0' NOT NULL,
+    COL00159 INTEGER DEFAULT '0' NOT NULL,
+    COL00160 INTEGER DEFAULT '0' NOT NULL,
+    COL00161 INTEGER DEFAULT '0' NOT NULL,
+    COL00162 INTEGER DEFAULT '0' NOT NULL,
+    COL00163 INTEGER DEFAULT '0' NOT NULL,
+    COL00164 INTEGER DEFAULT '0' NOT NULL,
+    COL00165 INTEGER DEFAULT '0' NOT NULL,
+    COL00166 INTEGER DEFAULT '0' NOT NULL,
+    COL00167 INTEGER DEFAULT '0' NOT NULL,
+    COL00168 INTEGER DEFAULT '0' NOT NULL,
+    COL00169 INTEGER DEFAULT '0' NOT NULL,
+    COL00170 INTEGER DEFAULT '0' NOT NULL,
+    COL00171 INTEGER DEFAULT '0' NOT NULL,
+    COL00172 INTEGER DEFAULT '0' NOT NULL,
+    COL00173 INTEGER DEFAULT '0' NOT NULL,
+    COL00174 INTEGER DEFAULT '0' NOT NULL,
+    COL00175 INTEGER DEFAULT '0' NOT NULL,
+    COL00176 INTEGER DEFAULT '0' NOT NULL,
+    COL00177 INTEGER DEFAULT '0' NOT NULL,
+    COL00178 INTEGER DEFAULT '0' NOT NULL,
+    COL00179 INTEGER DEFAULT '0' NOT NULL,
+    COL00180 INTEGER DEFAULT '0' NOT NULL,
+    COL00181 INTEGER DEFAULT '0' NOT NULL,
+    COL00182 INTEGER DEFAULT '0' NOT NULL,
+    COL00183 INTEGER DEFAULT '0' NOT NULL,
+    COL00184 INTEGER DEFAULT '0' NOT NULL,
+    COL00185 INTEGER DEFAULT '0' NOT NULL,
+    COL00186 INTEGER DEFAULT '0' NOT NULL,
+    COL00187 INTEGER DEFAULT '0' NOT NULL,
+    COL00188 INTEGER DEFAULT '0' NOT NULL,
+    COL00189 INTEGER DEFAULT '0' NOT NULL,
+    COL00190 INTEGER DEFAULT '0' NOT NULL,
+    COL00191 INTEGER DEFAULT '0' NOT NULL,
+    COL00192 INTEGER DEFAULT '0' NOT NULL,
+    COL00193 INTEGER DEFAULT '0' NOT NULL,
+    COL00194 INTEGER DEFAULT '0' NOT NULL,
+    COL00195 INTEGER DEFAULT '0' NOT NULL,
+    COL00196 INTEGER DEFAULT '0' NOT NULL,
+    COL00197 INTEGER DEFAULT '0' NOT NULL,
+    COL00198 INTEGER DEFAULT '0' NOT NULL,
+    COL00199 INTEGER DEFAULT '0' NOT NULL,
+    COL00200 INTEGER DEFAULT '0' NOT NULL,
+    COL00201 INTEGER DEFAULT '0' NOT NULL,
+    COL00202 INTEGER DEFAULT '0' NOT NULL,
+    COL00203 INTEGER DEFAULT '0' NOT NULL,
+    COL00204 INTEGER DEFAULT '0' NOT NULL,
+    COL00205 INTEGER DEFAULT '0' NOT NULL,
+    COL00206 INTEGER DEFAULT '0' NOT NULL,
+    COL00207 INTEGER DEFAULT '0' NOT NULL,
+    COL00208 INTEGER DEFAULT '0' NOT NULL,
+    COL00209 INTEGER DEFAULT '0' NOT NULL,
+    COL00210 INTEGER DEFAULT '0' NOT NULL,
+    COL00211 INTEGER DEFAULT '0' NOT NULL,
+    COL00212 INTEGER DEFAULT '0' NOT NULL,
+    COL00213 INTEGER DEFAULT '0' NOT NULL,
+    COL00214 INTEGER DEFAULT '0' NOT NULL,
+    COL00215 INTEGER DEFAULT '0' NOT NULL,
+    COL00216 INTEGER DEFAULT '0' NOT NULL,
+    COL00217 INTEGER DEFAULT '0' NOT NULL,
+    COL00218 INTEGER DEFAULT '0' NOT NULL,
+    COL00219 INTEGER DEFAULT '0' NOT NULL,
+    COL00220 INTEGER DEFAULT '0' NOT NULL,
+    COL00221 INTEGER DEFAULT '0' NOT NULL,
+    COL00222 INTEGER DEFAULT '0' NOT NULL,
+    COL00223 INTEGER DEFAULT '0' NOT NULL,
+    COL00224 INTEGER DEFAULT '0' NOT NULL,
+    COL00225 INTEGER DEFAULT '0' NOT NULL,
+    COL00226 INTEGER DEFAULT '0' NOT NULL,
+    COL00227 INTEGER DEFAULT '0' NOT NULL,
+    COL00228 INTEGER DEFAULT '0' NOT NULL,
+    COL00229 INTEGER DEFAULT '0' NOT NULL,
+    COL00230 INTEGER DEFAULT '0' NOT NULL,
+    COL00231 INTEGER DEFAULT '0' NOT NULL,
+    COL00232 INTEGER DEFAULT '0' NOT NULL,
+    COL00233 INTEGER DEFAULT '0' NOT NULL,
+    COL00234 INTEGER DEFAULT '0' NOT NULL,
+    COL00235 INTEGER DEFAULT '0' NOT NULL,
+    COL00236 INTEGER DEFAULT '0' NOT NULL,
+    COL00237 INTEGER DEFAULT '0' NOT NULL,
+    COL00238 INTEGER DEFAULT '0' NOT NULL,
+    COL00239 INTEGER DEFAULT '0' NOT NULL,
+    COL00240 INTEGER DEFAULT '0' NOT NULL,
+    COL00241 INTEGER DEFAULT '0' NOT NULL,
+    COL00242 INTEGER DEFAULT '0' NOT NULL,
+    COL00243 INTEGER DEFAULT '0' NOT NULL,
+    COL00244 INTEGER DEFAULT '0' NOT NULL,
+    COL00245 INTEGER DEFAULT '0' NOT NULL,
+    COL00246 INTEGER DEFAULT '0' NOT NULL,
+    COL00247 INTEGER DEFAULT '0' NOT NULL,
+    COL00248 INTEGER DEFAULT '0' NOT NULL,
+    COL00249 INTEGER DEFAULT '0' NOT NULL,
+    COL00250 INTEGER DEFAULT '0' NOT NULL,
+    COL00251 INTEGER DEFAULT '0' NOT NULL,
+    COL00252 INTEGER DEFAULT '0' NOT NULL,
+    COL00253 INTEGER DEFAULT '0' NOT NULL,
+    COL00254 INTEGER DEFAULT '0' NOT NULL,
+    COL00255 INTEGER DEFAULT '0' NOT NULL,
+    COL00256 INTEGER DEFAULT '0' NOT NULL,
+    COL00257 INTEGER DEFAULT '0' NOT NULL,
+    COL00258 INTEGER DEFAULT '0' NOT NULL,
+    COL00259 INTEGER DEFAULT '0' NOT NULL,
+    COL00260 INTEGER DEFAULT '0' NOT NULL,
+    COL00261 INTEGER DEFAULT '0' NOT NULL,
+    COL00262 INTEGER DEFAULT '0' NOT NULL,
+    COL00263 INTEGER DEFAULT '0' NOT NULL,
+    COL00264 INTEGER DEFAULT '0' NOT NULL,
+    COL00265 INTEGER DEFAULT '0' NOT NULL,
+    COL00266 INTEGER DEFAULT '0' NOT NULL,
+    COL00267 INTEGER DEFAULT '0' NOT NULL,
+    COL00268 INTEGER DEFAULT '0' NOT NULL,
+    COL00269 INTEGER DEFAULT '0' NOT NULL,
+    COL00270 INTEGER DEFAULT '0' NOT NULL,
+    COL00271 INTEGER DEFAULT '0' NOT NULL,
+    COL00272 INTEGER DEFAULT '0' NOT NULL,
+    COL00273 INTEGER DEFAULT '0' NOT NULL,
+    COL00274 INTEGER DEFAULT '0' NOT NULL,
+    COL00275 INTEGER DEFAULT '0' NOT NULL,
+    COL00276 INTEGER DEFAULT '0' NOT NULL,
+    COL00277 INTEGER DEFAULT '0' NOT NULL,
+    COL00278 INTEGER DEFAULT '0' NOT NULL,
+    COL00279 INTEGER DEFAULT '0' NOT NULL,
+    COL00280 INTEGER DEFAULT '0' NOT NULL,
+    COL00281 INTEGER DEFAULT '0' NOT NULL,
+    COL00282 INTEGER DEFAULT '0' NOT NULL,
+    COL00283 INTEGER DEFAULT '0' NOT NULL,
+    COL00284 INTEGER DEFAULT '0' NOT NULL,
+    COL00285 INTEGER DEFAULT '0' NOT NULL,
+    COL00286 INTEGER DEFAULT '0' NOT NULL,
+    COL00287 INTEGER DEFAULT '0' NOT NULL,
+    COL00288 INTEGER DEFAULT '0' NOT NULL,
+    COL00289 INTEGER DEFAULT '0' NOT NULL,
+    COL00290 INTEGER DEFAULT '0' NOT NULL,
+    COL00291 INTEGER DEFAULT '0' NOT NULL,
+    COL00292 INTEGER DEFAULT '0' NOT NULL,
+    COL00293 INTEGER DEFAULT '0' NOT NULL,
+    COL00294 INTEGER DEFAULT '0' NOT NULL,
+    COL00295 INTEGER DEFAULT '0' NOT NULL,
+    COL00296 INTEGER DEFAULT '0' NOT NULL,
+    COL00297 INTEGER DEFAULT '0' NOT NULL,
+    COL00298 INTEGER DEFAULT '0' NOT NULL,
+    COL00299 INTEGER DEFAULT '0' NOT NULL,
+    COL00300 INTEGER DEFAULT '0' NOT NULL,
+    COL00301 INTEGER DEFAULT '0' NOT NULL,
+    COL00302 INTEGER DEFAULT '0' NOT NULL,
+    COL00303 INTEGER DEFAULT '0' NOT NULL,
+    COL00304 INTEGER DEFAULT '0' NOT NULL,
+    COL00305 INTEGER DEFAULT '0' NOT NULL,
+    COL00306 INTEGER DEFAULT '0' NOT NULL,
+    COL00307 INTEGER DEFAULT '0' NOT NULL,
+    COL00308 INTEGER DEFAULT '0' NOT NULL,
+    COL00309 INTEGER DEFAULT '0' NOT NULL,
+    COL00310 INTEGER DEFAULT '0' NOT NULL,
+    COL00311 INTEGER DEFAULT '0' NOT NULL,
+    COL00312 INTEGER DEFAULT '0' NOT NULL,
+    COL00313 INTEGER DEFAULT '0' NOT NULL,
+    COL00314 INTEGER DEFAULT '0' NOT NULL,
+    COL00315 INTEGER DEFAULT '0' NOT NULL,
+    COL00316 INTEGER DEFAULT '0' NOT NULL,
+    COL00317 INTEGER DEFAULT '0' NOT NULL,
+    COL00318 INTEGER DEFAULT '0' NOT NULL,
+    COL00319 INTEGER DEFAULT '0' NOT NULL,
+    COL00320 INTEGER DEFAULT '0' NOT NULL,
+    COL00321 INTEGER DEFAULT '0' NOT NULL,
+    COL00322 INTEGER DEFAULT '0' NOT NULL,
+    COL00323 INTEGER DEFAULT '0' NOT NULL,
+    COL00324 INTEGER DEFAULT '0' NOT NULL,
+    COL00325 INTEGER DEFAULT '0' NOT NULL,
+    COL00326 INTEGER DEFAULT '0' NOT NULL,
+    COL00327 INTEGER DEFAULT '0' NOT NULL,
+    COL00328 INTEGER DEFAULT '0' NOT NULL,
+    COL00329 INTEGER DEFAULT '0' NOT NULL,
+    COL00330 INTEGER DEFAULT '0' NOT NULL,
+    COL00331 INTEGER DEFAULT '0' NOT NULL,
+    COL00332 INTEGER DEFAULT '0' NOT NULL,
+    COL00333 INTEGER DEFAULT '0' NOT NULL,
+    COL00334 INTEGER DEFAULT '0' NOT NULL,
+    COL00335 INTEGER DEFAULT '0' NOT NULL,
+    COL00336 INTEGER DEFAULT '0' NOT NULL,
+    COL00337 INTEGER DEFAULT '0' NOT NULL,
+    COL00338 INTEGER DEFAULT '0' NOT NULL,
+    COL00339 INTEGER DEFAULT '0' NOT NULL,
+    COL00340 INTEGER DEFAULT '0' NOT NULL,
+    COL00341 INTEGER DEFAULT '0' NOT NULL,
+    COL00342 INTEGER DEFAULT '0' NOT NULL,
+    COL00343 INTEGER DEFAULT '0' NOT NULL,
+    COL00344 INTEGER DEFAULT '0' NOT NULL,
+    COL00345 INTEGER DEFAULT '0' NOT NULL,
+    COL00346 INTEGER DEFAULT '0' NOT NULL,
+    COL00347 INTEGER DEFAULT '0' NOT NULL,
+    COL00348 INTEGER DEFAULT '0' NOT NULL,
+    COL00349 INTEGER DEFAULT '0' NOT NULL,
+    COL00350 INTEGER DEFAULT '0' NOT NULL,
+    COL00351 INTEGER DEFAULT '0' NOT NULL,
+    COL00352 INTEGER DEFAULT '0' NOT NULL,
+    COL00353 INTEGER DEFAULT '0' NOT NULL,
+    COL00354 INTEGER DEFAULT '0' NOT NULL,
+    COL00355 INTEGER DEFAULT '0' NOT NULL,
+    COL00356 INTEGER DEFAULT '0' NOT NULL,
+    COL00357 INTEGER DEFAULT '0' NOT NULL,
+    COL00358 INTEGER DEFAULT '0' NOT NULL,
+    COL00359 INTEGER DEFAULT '0' NOT NULL,
+    COL00360 INTEGER DEFAULT '0' NOT NULL,
+    COL00361 INTEGER DEFAULT '0' NOT NULL,
+    COL00362 INTEGER DEFAULT '0' NOT NULL,
+    COL00363 INTEGER DEFAULT '0' NOT NULL,
+    COL00364 INTEGER DEFAULT '0' NOT NULL,
+    COL00365 INTEGER DEFAULT '0' NOT NULL,
+    COL00366 INTEGER DEFAULT '0' NOT NULL,
+    COL00367 INTEGER DEFAULT '0' NOT NULL,
+    COL00368 INTEGER DEFAULT '0' NOT NULL,
+    COL00369 INTEGER DEFAULT '0' NOT NULL,
+    COL00370 INTEGER DEFAULT '0' NOT NULL,
+    COL00371 INTEGER DEFAULT '0' NOT NULL,
+    COL00372 INTEGER DEFAULT '0' NOT NULL,
+    COL00373 INTEGER DEFAULT '0' NOT NULL,
+    COL00374 INTEGER DEFAULT '0' NOT NULL,
+    COL00375 INTEGER DEFAULT '0' NOT NULL,
+    COL00376 INTEGER DEFAULT '0' NOT NULL,
+    COL00377 INTEGER DEFAULT '0' NOT NULL,
+    COL00378 INTEGER DEFAULT '0' NOT NULL,
+    COL00379 INTEGER DEFAULT '0' NOT NULL,
+    COL00380 INTEGER DEFAULT '0' NOT NULL,
+    COL00381 INTEGER DEFAULT '0' NOT NULL,
+    COL00382 INTEGER DEFAULT '0' NOT NULL,
+    COL00383 INTEGER DEFAULT '0' NOT NULL,
+    COL00384 INTEGER DEFAULT '0' NOT NULL,
+    COL00385 INTEGER DEFAULT '0' NOT NULL,
+    COL00386 INTEGER DEFAULT '0' NOT NULL,
+    COL00387 INTEGER DEFAULT '0' NOT NULL,
+    COL00388 INTEGER DEFAULT '0' NOT NULL,
+    COL00389 INTEGER DEFAULT '0' NOT NULL,
+    COL00390 INTEGER DEFAULT '0' NOT NULL,
+    COL00391 INTEGER DEFAULT '0' NOT NULL,
+    COL00392 INTEGER DEFAULT '0' NOT NULL,
+    COL00393 INTEGER DEFAULT '0' NOT NULL,
+    COL00394 INTEGER DEFAULT '0' NOT NULL,
+    COL00395 INTEGER DEFAULT '0' NOT NULL,
+    COL00396 INTEGER DEFAULT '0' NOT NULL,
+    COL00397 INTEGER DEFAULT '0' NOT NULL,
+    COL00398 INTEGER DEFAULT '0' NOT NULL,
+    COL00399 INTEGER DEFAULT '0' NOT NULL,
+    COL00400 INTEGER DEFAULT '0' NOT NULL,
+    COL00401 INTEGER DEFAULT '0' NOT NULL,
+    COL00402 INTEGER DEFAULT '0' NOT NULL,
+    COL00403 INTEGER DEFAULT '0' NOT NULL,
+    COL00404 INTEGER DEFAULT '0' NOT NULL,
+    COL00405 INTEGER DEFAULT '0' NOT NULL,
+    COL00406 INTEGER DEFAULT '0' NOT NULL,
+    COL00407 INTEGER DEFAULT '0' NOT NULL,
+    COL00408 INTEGER DEFAULT '0' NOT NULL,
+    COL00409 INTEGER DEFAULT '0' NOT NULL,
+    COL00410 INTEGER DEFAULT '0' NOT NULL,
+    COL00411 INTEGER DEFAULT '0' NOT NULL,
+    COL00412 INTEGER DEFAULT '0' NOT NULL,
+    COL00413 INTEGER DEFAULT '0' NOT NULL,
+    COL00414 INTEGER DEFAULT '0' NOT NULL,
+    COL00415 INTEGER DEFAULT '0' NOT NULL,
+    COL00416 INTEGER DEFAULT '0' NOT NULL,
+    COL00417 INTEGER DEFAULT '0' NOT NULL,
+    COL00418 INTEGER DEFAULT '0' NOT NULL,
+    COL00419 INTEGER DEFAULT '0' NOT NULL,
+    COL00420 INTEGER DEFAULT '0' NOT NULL,
+    COL00421 INTEGER DEFAULT '0' NOT NULL,
+    COL00422 INTEGER DEFAULT '0' NOT NULL,
+    COL00423 INTEGER DEFAULT '0' NOT NULL,
+    COL00424 INTEGER DEFAULT '0' NOT NULL,
+    COL00425 INTEGER DEFAULT '0' NOT NULL,
+    COL00426 INTEGER DEFAULT '0' NOT NULL,
+    COL00427 INTEGER DEFAULT '0' NOT NULL,
+    COL00428 INTEGER DEFAULT '0' NOT NULL,
+    COL00429 INTEGER DEFAULT '0' NOT NULL,
+    COL00430 INTEGER DEFAULT '0' NOT NULL,
+    COL00431 INTEGER DEFAULT '0' NOT NULL,
+    COL00432 INTEGER DEFAULT '0' NOT NULL,
+    COL00433 INTEGER DEFAULT '0' NOT NULL,
+    COL00434 INTEGER DEFAULT '0' NOT NULL,
+    COL00435 INTEGER DEFAULT '0' NOT NULL,
+    COL00436 INTEGER DEFAULT '0' NOT NULL,
+    COL00437 INTEGER DEFAULT '0' NOT NULL,
+    COL00438 INTEGER DEFAULT '0' NOT NULL,
+    COL00439 INTEGER DEFAULT '0' NOT NULL,
+    COL00440 INTEGER DEFAULT '0' NOT NULL,
+    COL00441 INTEGER DEFAULT '0' NOT NULL,
+    COL00442 INTEGER DEFAULT '0' NOT NULL,
+    COL00443 INTEGER DEFAULT '0' NOT NULL,
+    COL00444 INTEGER DEFAULT '0' NOT NULL,
+    COL00445 INTEGER DEFAULT '0' NOT NULL,
+    COL00446 INTEGER DEFAULT '0' NOT NULL,
+    COL00447 INTEGER DEFAULT '0' NOT NULL,
+    COL00448 INTEGER DEFAULT '0' NOT NULL,
+    COL00449 INTEGER DEFAULT '0' NOT NULL,
+    COL00450 INTEGER DEFAULT '0' NOT NULL,
+    COL00451 INTEGER DEFAULT '0' NOT NULL,
+    COL00452 INTEGER DEFAULT '0' NOT NULL,
+    COL00453 INTEGER DEFAULT '0' NOT NULL,
+    COL00454 INTEGER DEFAULT '0' NOT NULL,
+    COL00455 INTEGER DEFAULT '0' NOT NULL,
+    COL00456 INTEGER DEFAULT '0' NOT NULL,
+    COL00457 INTEGER DEFAULT '0' NOT NULL,
+    COL00458 INTEGER DEFAULT '0' NOT NULL,
+    COL00459 INTEGER DEFAULT '0' NOT NULL,
+    COL00460 INTEGER DEFAULT '0' NOT NULL,
+    COL00461 INTEGER DEFAULT '0' NOT NULL,
+    COL00462 INTEGER DEFAULT '0' NOT NULL,
+    COL00463 INTEGER DEFAULT '0' NOT NULL,
+    COL00464 INTEGER DEFAULT '0' NOT NULL,
+    COL00465 INTEGER DEFAULT '0' NOT NULL,
+    COL00466 INTEGER DEFAULT '0' NOT NULL,
+    COL00467 INTEGER DEFAULT '0' NOT NULL,
+    COL00468 INTEGER DEFAULT '0' NOT NULL,
+    COL00469 INTEGER DEFAULT '0' NOT NULL,
+    COL00470 INTEGER DEFAULT '0' NOT NULL,
+    COL00471 INTEGER DEFAULT '0' NOT NULL,
+    COL00472 INTEGER DEFAULT '0' NOT NULL,
+    COL00473 INTEGER DEFAULT '0' NOT NULL,
+    COL00474 INTEGER DEFAULT '0' NOT NULL,
+    COL00475 INTEGER DEFAULT '0' NOT NULL,
+    COL00476 INTEGER DEFAULT '0' NOT NULL,
+    COL00477 INTEGER DEFAULT '0' NOT NULL,
+    COL00478 INTEGER DEFAULT '0' NOT NULL,
+    COL00479 INTEGER DEFAULT '0' NOT NULL,
+    COL00480 INTEGER DEFAULT '0' NOT NULL,
+    COL00481 INTEGER DEFAULT '0' NOT NULL,
+    COL00482 INTEGER DEFAULT '0' NOT NULL,
+    COL00483 INTEGER DEFAULT '0' NOT NULL,
+    COL00484 INTEGER DEFAULT '0' NOT NULL,
+    COL00485 INTEGER DEFAULT '0' NOT NULL,
+    COL00486 INTEGER DEFAULT '0' NOT NULL,
+    COL00487 INTEGER DEFAULT '0' NOT NULL,
+    COL00488 INTEGER DEFAULT '0' NOT NULL,
+    COL00489 INTEGER DEFAULT '0' NOT NULL,
+    COL00490 INTEGER DEFAULT '0' NOT NULL,
+    COL00491 INTEGER DEFAULT '0' NOT NULL,
+    COL00492 INTEGER DEFAULT '0' NOT NULL,
+    COL00493 INTEGER DEFAULT '0' NOT NULL,
+    COL00494 INTEGER DEFAULT '0' NOT NULL,
+    COL00495 INTEGER DEFAULT '0' NOT NULL,
+    COL00496 INTEGER DEFAULT '0' NOT NULL,
+    COL00497 INTEGER DEFAULT '0' NOT NULL,
+    COL00498 INTEGER DEFAULT '0' NOT NULL,
+    COL00499 INTEGER DEFAULT '0' NOT NULL,
+    COL00500 INTEGER DEFAULT '0' NOT NULL,
+    COL00501 INTEGER DEFAULT '0' NOT NULL,
+    COL00502 INTEGER DEFAULT '0' NOT NULL,
+    COL00503 INTEGER DEFAULT '0' NOT NULL,
+    COL00504 INTEGER DEFAULT '0' NOT NULL,
+    COL00505 INTEGER DEFAULT '0' NOT NULL,
+    COL00506 INTEGER DEFAULT '0' NOT NULL,
+    COL00507 INTEGER DEFAULT '0' NOT NULL,
+    COL00508 INTEGER DEFAULT '0' NOT NULL,
+    COL00509 INTEGER DEFAULT '0' NOT NULL,
+    COL00510 INTEGER DEFAULT '0' NOT NULL,
+    COL00511 INTEGER DEFAULT '0' NOT NULL,
+    COL00512 INTEGER DEFAULT '0' NOT NULL,
+    COL00513 INTEGER DEFAULT '0' NOT NULL,
+    COL00514 INTEGER DEFAULT '0' NOT NULL,
+    COL00515 INTEGER DEFAULT '0' NOT NULL,
+    COL00516 INTEGER DEFAULT '0' NOT NULL,
+    COL00517 INTEGER DEFAULT '0' NOT NULL,
+    COL00518 INTEGER DEFAULT '0' NOT NULL,
+    COL00519 INTEGER DEFAULT '0' NOT NULL,
+    COL00520 INTEGER DEFAULT '0' NOT NULL,
+    COL00521 INTEGER DEFAULT '0' NOT NULL,
+    COL00522 INTEGER DEFAULT '0' NOT NULL,
+    COL00523 INTEGER DEFAULT '0' NOT NULL,
+    COL00524 INTEGER DEFAULT '0' NOT NULL,
+    COL00525 INTEGER DEFAULT '0' NOT NULL,
+    COL00526 INTEGER DEFAULT '0' NOT NULL,
+    COL00527 INTEGER DEFAULT '0' NOT NULL,
+    COL00528 INTEGER DEFAULT '0' NOT NULL,
+    COL00529 INTEGER DEFAULT '0' NOT NULL,
+    COL00530 INTEGER DEFAULT '0' NOT NULL,
+    COL00531 INTEGER DEFAULT '0' NOT NULL,
+    COL00532 INTEGER DEFAULT '0' NOT NULL,
+    COL00533 INTEGER DEFAULT '0' NOT NULL,
+    COL00534 INTEGER DEFAULT '0' NOT NULL,
+    COL00535 INTEGER DEFAULT '0' NOT NULL,
+    COL00536 INTEGER DEFAULT '0' NOT NULL,
+    COL00537 INTEGER DEFAULT '0' NOT NULL,
+    COL00538 INTEGER DEFAULT '0' NOT NULL,
+    COL00539 INTEGER DEFAULT '0' NOT NULL,
+    COL00540 INTEGER DEFAULT '0' NOT NULL,
+    COL00541 INTEGER DEFAULT '0' NOT NULL,
+    COL00542 INTEGER DEFAULT '0' NOT NULL,
+    COL00543 INTEGER DEFAULT '0' NOT NULL,
+    COL00544 INTEGER DEFAULT '0' NOT NULL,
+    COL00545 INTEGER DEFAULT '0' NOT NULL,
+    COL00546 INTEGER DEFAULT '0' NOT NULL,
+    COL00547 INTEGER DEFAULT '0' NOT NULL,
+    COL00548 INTEGER DEFAULT '0' NOT NULL,
+    COL00549 INTEGER DEFAULT '0' NOT NULL,
+    COL00550 INTEGER DEFAULT '0' NOT NULL,
+    COL00551 INTEGER DEFAULT '0' NOT NULL,
+    COL00552 INTEGER DEFAULT '0' NOT NULL,
+    COL00553 INTEGER DEFAULT '0' NOT NULL,
+    COL00554 INTEGER DEFAULT '0' NOT NULL,
+    COL00555 INTEGER DEFAULT '0' NOT NULL,
+    COL00556 INTEGER DEFAULT '0' NOT NULL,
+    COL00557 INTEGER DEFAULT '0' NOT NULL,
+    COL00558 INTEGER DEFAULT '0' NOT NULL,
+    COL00559 INTEGER DEFAULT '0' NOT NULL,
+    COL00560 INTEGER DEFAULT '0' NOT NULL,
+    COL00561 INTEGER DEFAULT '0' NOT NULL,
+    COL00562 INTEGER DEFAULT '0' NOT NULL,
+    COL00563 INTEGER DEFAULT '0' NOT NULL,
+    COL00564 INTEGER DEFAULT '0' NOT NULL,
+    COL00565 INTEGER DEFAULT '0' NOT NULL,
+    COL00566 INTEGER DEFAULT '0' NOT NULL,
+    COL00567 INTEGER DEFAULT '0' NOT NULL,
+    COL00568 INTEGER DEFAULT '0' NOT NULL,
+    COL00569 INTEGER DEFAULT '0' NOT NULL,
+    COL00570 INTEGER DEFAULT '0' NOT NULL,
+    COL00571 INTEGER DEFAULT '0' NOT NULL,
+    COL00572 INTEGER DEFAULT '0' NOT NULL,
+    COL00573 INTEGER DEFAULT '0' NOT NULL,
+    COL00574 INTEGER DEFAULT '0' NOT NULL,
+    COL00575 INTEGER DEFAULT '0' NOT NULL,
+    COL00576 INTEGER DEFAULT '0' NOT NULL,
+    COL00577 INTEGER DEFAULT '0' NOT NULL,
+    COL00578 INTEGER DEFAULT '0' NOT NULL,
+    COL00579 INTEGER DEFAULT '0' NOT NULL,
+    COL00580 INTEGER DEFAULT '0' NOT NULL,
+    COL00581 INTEGER DEFAULT '0' NOT NULL,
+    COL00582 INTEGER DEFAULT '0' NOT NULL,
+    COL00583 INTEGER DEFAULT '0' NOT NULL,
+    COL00584 INTEGER DEFAULT '0' NOT NULL,
+    COL00585 INTEGER DEFAULT '0' NOT NULL,
+    COL00586 INTEGER DEFAULT '0' NOT NULL,
+    COL00587 INTEGER DEFAULT '0' NOT NULL,
+    COL00588 INTEGER DEFAULT '0' NOT NULL,
+    COL00589 INTEGER DEFAULT '0' NOT NULL,
+    COL00590 INTEGER DEFAULT '0' NOT NULL,
+    COL00591 INTEGER DEFAULT '0' NOT NULL,
+    COL00592 INTEGER DEFAULT '0' NOT NULL,
+    COL00593 INTEGER DEFAULT '0' NOT NULL,
+    COL00594 INTEGER DEFAULT '0' NOT NULL,
+    COL00595 INTEGER DEFAULT '0' NOT NULL,
+    COL00596 INTEGER DEFAULT '0' NOT NULL,
+    COL00597 INTEGER DEFAULT '0' NOT NULL,
+    COL00598 INTEGER DEFAULT '0' NOT NULL,
+    COL00599 INTEGER DEFAULT '0' NOT NULL,
+    COL00600 INTEGER DEFAULT '0' NOT NULL,
+    COL00601 INTEGER DEFAULT '0' NOT NULL,
+    COL00602 INTEGER DEFAULT '0' NOT NULL,
+    COL00603 INTEGER DEFAULT '0' NOT NULL,
+    COL00604 INTEGER DEFAULT '0' NOT NULL,
+    COL00605 INTEGER DEFAULT '0' NOT NULL,
+    COL00606 INTEGER DEFAULT '0' NOT NULL,
+    COL00607 INTEGER DEFAULT '0' NOT NULL,
+    COL00608 INTEGER DEFAULT '0' NOT NULL,
+    COL00609 INTEGER DEFAULT '0' NOT NULL,
+    COL00610 INTEGER DEFAULT '0' NOT NULL,
+    COL00611 INTEGER DEFAULT '0' NOT NULL,
+    COL00612 INTEGER DEFAULT '0' NOT NULL,
+    COL00613 INTEGER DEFAULT '0' NOT NULL,
+    COL00614 INTEGER DEFAULT '0' NOT NULL,
+    COL00615 INTEGER DEFAULT '0' NOT NULL,
+    COL00616 INTEGER DEFAULT '0' NOT NULL,
+    COL00617 INTEGER DEFAULT '0' NOT NULL,
+    COL00618 INTEGER DEFAULT '0' NOT NULL,
+    COL00619 INTEGER DEFAULT '0' NOT NULL,
+    COL00620 INTEGER DEFAULT '0' NOT NULL,
+    COL00621 INTEGER DEFAULT '0' NOT NULL,
+    COL00622 INTEGER DEFAULT '0' NOT NULL,
+    COL00623 INTEGER DEFAULT '0' NOT NULL,
+    COL00624 INTEGER DEFAULT '0' NOT NULL,
+    COL00625 INTEGER DEFAULT '0' NOT NULL,
+    COL00626 INTEGER DEFAULT '0' NOT NULL,
+    COL00627 INTEGER DEFAULT '0' NOT NULL,
+    COL00628 INTEGER DEFAULT '0' NOT NULL,
+    COL00629 INTEGER DEFAULT '0' NOT NULL,
+    COL00630 INTEGER DEFAULT '0' NOT NULL,
+    COL00631 INTEGER DEFAULT '0' NOT NULL,
+    COL00632 INTEGER DEFAULT '0' NOT NULL,
+    COL00633 INTEGER DEFAULT '0' NOT NULL,
+    COL00634 INTEGER DEFAULT '0' NOT NULL,
+    COL00635 INTEGER DEFAULT '0' NOT NULL,
+    COL00636 INTEGER DEFAULT '0' NOT NULL,
+    COL00637 INTEGER DEFAULT '0' NOT NULL,
+    COL00638 INTEGER DEFAULT '0' NOT NULL,
+    COL00639 INTEGER DEFAULT '0' NOT NULL,
+    COL00640 INTEGER DEFAULT '0' NOT NULL,
+    COL00641 INTEGER DEFAULT '0' NOT NULL,
+    COL00642 INTEGER DEFAULT '0' NOT NULL,
+    COL00643 INTEGER DEFAULT '0' NOT NULL,
+    COL00644 INTEGER DEFAULT '0' NOT NULL,
+    COL00645 INTEGER DEFAULT '0' NOT NULL,
+    COL00646 INTEGER DEFAULT '0' NOT NULL,
+    COL00647 INTEGER DEFAULT '0' NOT NULL,
+    COL00648 INTEGER DEFAULT '0' NOT NULL,
+    COL00649 INTEGER DEFAULT '0' NOT NULL,
+    COL00650 INTEGER DEFAULT '0' NOT NULL,
+    COL00651 INTEGER DEFAULT '0' NOT NULL,
+    COL00652 INTEGER DEFAULT '0' NOT NULL,
+    COL00653 INTEGER DEFAULT '0' NOT NULL,
+    COL00654 INTEGER DEFAULT '0' NOT NULL,
+    COL00655 INTEGER DEFAULT '0' NOT NULL,
+    COL00656 INTEGER DEFAULT '0' NOT NULL,
+    COL00657 INTEGER DEFAULT '0' NOT NULL,
+    COL00658 INTEGER DEFAULT '0' NOT NULL,
+    COL00659 INTEGER DEFAULT '0' NOT NULL,
+    COL00660 INTEGER DEFAULT '0' NOT NULL,
+    COL00661 INTEGER DEFAULT '0' NOT NULL,
+    COL00662 INTEGER DEFAULT '0' NOT NULL,
+    COL00663 INTEGER DEFAULT '0' NOT NULL,
+    COL00664 INTEGER DEFAULT '0' NOT NULL,
+    COL00665 INTEGER DEFAULT '0' NOT NULL,
+    COL00666 INTEGER DEFAULT '0' NOT NULL,
+    COL00667 INTEGER DEFAULT '0' NOT NULL,
+    COL00668 INTEGER DEFAULT '0' NOT NULL,
+    COL00669 INTEGER DEFAULT '0' NOT NULL,
+    COL00670 INTEGER DEFAULT '0' NOT NULL,
+    COL00671 INTEGER DEFAULT '0' NOT NULL,
+    COL00672 INTEGER DEFAULT '0' NOT NULL,
+    COL00673 INTEGER DEFAULT '0' NOT NULL,
+    COL00674 INTEGER DEFAULT '0' NOT NULL,
+    COL00675 INTEGER DEFAULT '0' NOT NULL,
+    COL00676 INTEGER DEFAULT '0' NOT NULL,
+    COL00677 INTEGER DEFAULT '0' NOT NULL,
+    COL00678 INTEGER DEFAULT '0' NOT NULL,
+    COL00679 INTEGER DEFAULT '0' NOT NULL,
+    COL00680 INTEGER DEFAULT '0' NOT NULL,
+    COL00681 INTEGER DEFAULT '0' NOT NULL,
+    COL00682 INTEGER DEFAULT '0' NOT NULL,
+    COL00683 INTEGER DEFAULT '0' NOT NULL,
+    COL00684 INTEGER DEFAULT '0' NOT NULL,
+    COL00685 INTEGER DEFAULT '0' NOT NULL,
+    COL00686 INTEGER DEFAULT '0' NOT NULL,
+    COL00687 INTEGER DEFAULT '0' NOT NULL,
+    COL00688 INTEGER DEFAULT '0' NOT NULL,
+    COL00689 INTEGER DEFAULT '0' NOT NULL,
+    COL00690 INTEGER DEFAULT '0' NOT NULL,
+    COL00691 INTEGER DEFAULT '0' NOT NULL,
+    COL00692 INTEGER DEFAULT '0' NOT NULL,
+    COL00693 INTEGER DEFAULT '0' NOT NULL,
+    COL00694 INTEGER DEFAULT '0' NOT NULL,
+    COL00695 INTEGER DEFAULT '0' NOT NULL,
+    COL00696 INTEGER DEFAULT '0' NOT NULL,
+    COL00697 INTEGER DEFAULT '0' NOT NULL,
+    COL00698 INTEGER DEFAULT '0' NOT NULL,
+    COL00699 INTEGER DEFAULT '0' NOT NULL,
+    COL00700 INTEGER DEFAULT '0' NOT NULL,
+    COL00701 INTEGER DEFAULT '0' NOT NULL,
+    COL00702 INTEGER DEFAULT '0' NOT NULL,
+    COL00703 INTEGER DEFAULT '0' NOT NULL,
+    COL00704 INTEGER DEFAULT '0' NOT NULL,
+    COL00705 INTEGER DEFAULT '0' NOT NULL,
+    COL00706 INTEGER DEFAULT '0' NOT NULL,
+    COL00707 INTEGER DEFAULT '0' NOT NULL,
+    COL00708 INTEGER DEFAULT '0' NOT NULL,
+    COL00709 INTEGER DEFAULT '0' NOT NULL,
+    COL00710 INTEGER DEFAULT '0' NOT NULL,
+    COL00711 INTEGER DEFAULT '0' NOT NULL,
+    COL00712 INTEGER DEFAULT '0' NOT NULL,
+    COL00713 INTEGER DEFAULT '0' NOT NULL,
+    COL00714 INTEGER DEFAULT '0' NOT NULL,
+    COL00715 INTEGER DEFAULT '0' NOT NULL,
+    COL00716 INTEGER DEFAULT '0' NOT NULL,
+    COL00717 INTEGER DEFAULT '0' NOT NULL,
+    COL00718 INTEGER DEFAULT '0' NOT NULL,
+    COL00719 INTEGER DEFAULT '0' NOT NULL,
+    COL00720 INTEGER DEFAULT '0' NOT NULL,
+    COL00721 INTEGER DEFAULT '0' NOT NULL,
+    COL00722 INTEGER DEFAULT '0' NOT NULL,
+    COL00723 INTEGER DEFAULT '0' NOT NULL,
+    COL00724 INTEGER DEFAULT '0' NOT NULL,
+    COL00725 INTEGER DEFAULT '0' NOT NULL,
+    COL00726 INTEGER DEFAULT '0' NOT NULL,
+    COL00727 INTEGER DEFAULT '0' NOT NULL,
+    COL00728 INTEGER DEFAULT '0' NOT NULL,
+    COL00729 INTEGER DEFAULT '0' NOT NULL,
+    COL00730 INTEGER DEFAULT '0' NOT NULL,
+    COL00731 INTEGER DEFAULT '0' NOT NULL,
+    COL00732 INTEGER DEFAULT '0' NOT NULL,
+    COL00733 INTEGER DEFAULT '0' NOT NULL,
+    COL00734 INTEGER DEFAULT '0' NOT NULL,
+    COL00735 INTEGER DEFAULT '0' NOT NULL,
+    COL00736 INTEGER DEFAULT '0' NOT NULL,
+    COL00737 INTEGER DEFAULT '0' NOT NULL,
+    COL00738 INTEGER DEFAULT '0' NOT NULL,
+    COL00739 INTEGER DEFAULT '0' NOT NULL,
+    COL00740 INTEGER DEFAULT '0' NOT NULL,
+    COL00741 INTEGER DEFAULT '0' NOT NULL,
+    COL00742 INTEGER DEFAULT '0' NOT NULL,
+    COL00743 INTEGER DEFAULT '0' NOT NULL,
+    COL00744 INTEGER DEFAULT '0' NOT NULL,
+    COL00745 INTEGER DEFAULT '0' NOT NULL,
+    COL00746 INTEGER DEFAULT '0' NOT NULL,
+    COL00747 INTEGER DEFAULT '0' NOT NULL,
+    COL00748 INTEGER DEFAULT '0' NOT NULL,
+    COL00749 INTEGER DEFAULT '0' NOT NULL,
+    COL00750 INTEGER DEFAULT '0' NOT NULL,
+    COL00751 INTEGER DEFAULT '0' NOT NULL,
+    COL00752 INTEGER DEFAULT '0' NOT NULL,
+    COL00753 INTEGER DEFAULT '0' NOT NULL,
+    COL00754 INTEGER DEFAULT '0' NOT NULL,
+    COL00755 INTEGER DEFAULT '0' NOT NULL,
+    COL00756 INTEGER DEFAULT '0' NOT NULL,
+    COL00757 INTEGER DEFAULT '0' NOT NULL,
+    COL00758 INTEGER DEFAULT '0' NOT NULL,
+    COL00759 INTEGER DEFAULT '0' NOT NULL,
+    COL00760 INTEGER DEFAULT '0' NOT NULL,
+    COL00761 INTEGER DEFAULT '0' NOT NULL,
+    COL00762 INTEGER DEFAULT '0' NOT NULL,
+    COL00763 INTEGER DEFAULT '0' NOT NULL,
+    COL00764 INTEGER DEFAULT '0' NOT NULL,
+    COL00765 INTEGER DEFAULT '0' NOT NULL,
+    COL00766 INTEGER DEFAULT '0' NOT NULL,
+    COL00767 INTEGER DEFAULT '0' NOT NULL,
+    COL00768 INTEGER DEFAULT '0' NOT NULL,
+    COL00769 INTEGER DEFAULT '0' NOT NULL,
+    COL00770 INTEGER DEFAULT '0' NOT NULL,
+    COL00771 INTEGER DEFAULT '0' NOT NULL,
+    COL00772 INTEGER DEFAULT '0' NOT NULL,
+    COL00773 INTEGER DEFAULT '0' NOT NULL,
+    COL00774 INTEGER DEFAULT '0' NOT NULL,
+    COL00775 INTEGER DEFAULT '0' NOT NULL,
+    COL00776 INTEGER DEFAULT '0' NOT NULL,
+    COL00777 INTEGER DEFAULT '0' NOT NULL,
+    COL00778 INTEGER DEFAULT '0' NOT NULL,
+    COL00779 INTEGER DEFAULT '0' NOT NULL,
+    COL00780 INTEGER DEFAULT '0' NOT NULL,
+    COL00781 INTEGER DEFAULT '0' NOT NULL,
+    COL00782 INTEGER DEFAULT '0' NOT NULL,
+    COL00783 INTEGER DEFAULT '0' NOT NULL,
+    COL00784 INTEGER DEFAULT '0' NOT NULL,
+    COL00785 INTEGER DEFAULT '0' NOT NULL,
+    COL00786 INTEGER DEFAULT '0' NOT NULL,
+    COL00787 INTEGER DEFAULT '0' NOT NULL,
+    COL00788 INTEGER DEFAULT '0' NOT NULL,
+    COL00789 INTEGER DEFAULT '0' NOT NULL,
+    COL00790 INTEGER DEFAULT '0' NOT NULL,
+    COL00791 INTEGER DEFAULT '0' NOT NULL,
+    COL00792 INTEGER DEFAULT '0' NOT NULL,
+    COL00793 INTEGER DEFAULT '0' NOT NULL,
+    COL00794 INTEGER DEFAULT '0' NOT NULL,
+    COL00795 INTEGER DEFAULT '0' NOT NULL,
+    COL00796 INTEGER DEFAULT '0' NOT NULL,
+    COL00797 INTEGER DEFAULT '0' NOT NULL,
+    COL00798 INTEGER DEFAULT '0' NOT NULL,
+    COL00799 INTEGER DEFAULT '0' NOT NULL,
+    COL00800 INTEGER DEFAULT '0' NOT NULL,
+    COL00801 INTEGER DEFAULT '0' NOT NULL,
+    COL00802 INTEGER DEFAULT '0' NOT NULL,
+    COL00803 INTEGER DEFAULT '0' NOT NULL,
+    COL00804 INTEGER DEFAULT '0' NOT NULL,
+    COL00805 INTEGER DEFAULT '0' NOT NULL,
+    COL00806 INTEGER DEFAULT '0' NOT NULL,
+    COL00807 INTEGER DEFAULT '0' NOT NULL,
+    COL00808 INTEGER DEFAULT '0' NOT NULL,
+    COL00809 INTEGER DEFAULT '0' NOT NULL,
+    COL00810 INTEGER DEFAULT '0' NOT NULL,
+    COL00811 INTEGER DEFAULT '0' NOT NULL,
+    COL00812 INTEGER DEFAULT '0' NOT NULL,
+    COL00813 INTEGER DEFAULT '0' NOT NULL,
+    COL00814 INTEGER DEFAULT '0' NOT NULL,
+    COL00815 INTEGER DEFAULT '0' NOT NULL,
+    COL00816 INTEGER DEFAULT '0' NOT NULL,
+    COL00817 INTEGER DEFAULT '0' NOT NULL,
+    COL00818 INTEGER DEFAULT '0' NOT NULL,
+    COL00819 INTEGER DEFAULT '0' NOT NULL,
+    COL00820 INTEGER DEFAULT '0' NOT NULL,
+    COL00821 INTEGER DEFAULT '0' NOT NULL,
+    COL00822 INTEGER DEFAULT '0' NOT NULL,
+    COL00823 INTEGER DEFAULT '0' NOT NULL,
+    COL00824 INTEGER DEFAULT '0' NOT NULL,
+    COL00825 INTEGER DEFAULT '0' NOT NULL,
+    COL00826 INTEGER DEFAULT '0' NOT NULL,
+    COL00827 INTEGER DEFAULT '0' NOT NULL,
+    COL00828 INTEGER DEFAULT '0' NOT NULL,
+    COL00829 INTEGER DEFAULT '0' NOT NULL,
+    COL00830 INTEGER DEFAULT '0' NOT NULL,
+    COL00831 INTEGER DEFAULT '0' NOT NULL,
+    COL00832 INTEGER DEFAULT '0' NOT NULL,
+    COL00833 INTEGER DEFAULT '0' NOT NULL,
+    COL00834 INTEGER DEFAULT '0' NOT NULL,
+    COL00835 INTEGER DEFAULT '0' NOT NULL,
+    COL00836 INTEGER DEFAULT '0' NOT NULL,
+    COL00837 INTEGER DEFAULT '0' NOT NULL,
+    COL00838 INTEGER DEFAULT '0' NOT NULL,
+    COL00839 INTEGER DEFAULT '0' NOT NULL,
+    COL00840 INTEGER DEFAULT '0' NOT NULL,
+    COL00841 INTEGER DEFAULT '0' NOT NULL,
+    COL00842 INTEGER DEFAULT '0' NOT NULL,
+    COL00843 INTEGER DEFAULT '0' NOT NULL,
+    COL00844 INTEGER DEFAULT '0' NOT NULL,
+    COL00845 INTEGER DEFAULT '0' NOT NULL,
+    COL00846 INTEGER DEFAULT '0' NOT NULL,
+    COL00847 INTEGER DEFAULT '0' NOT NULL,
+    COL00848 INTEGER DEFAULT '0' NOT NULL,
+    COL00849 INTEGER DEFAULT '0' NOT NULL,
+    COL00850 INTEGER DEFAULT '0' NOT NULL,
+    COL00851 INTEGER DEFAULT '0' NOT NULL,
+    COL00852 INTEGER DEFAULT '0' NOT NULL,
+    COL00853 INTEGER DEFAULT '0' NOT NULL,
+    COL00854 INTEGER DEFAULT '0' NOT NULL,
+    COL00855 INTEGER DEFAULT '0' NOT NULL,
+    COL00856 INTEGER DEFAULT '0' NOT NULL,
+    COL00857 INTEGER DEFAULT '0' NOT NULL,
+    COL00858 INTEGER DEFAULT '0' NOT NULL,
+    COL00859 INTEGER DEFAULT '0' NOT NULL,
+    COL00860 INTEGER DEFAULT '0' NOT NULL,
+    COL00861 INTEGER DEFAULT '0' NOT NULL,
+    COL00862 INTEGER DEFAULT '0' NOT NULL,
+    COL00863 INTEGER DEFAULT '0' NOT NULL,
+    COL00864 INTEGER DEFAULT '0' NOT NULL,
+    COL00865 INTEGER DEFAULT '0' NOT NULL,
+    COL00866 INTEGER DEFAULT '0' NOT NULL,
+    COL00867 INTEGER DEFAULT '0' NOT NULL,
+    COL00868 INTEGER DEFAULT '0' NOT NULL,
+    COL00869 INTEGER DEFAULT '0' NOT NULL,
+    COL00870 INTEGER DEFAULT '0' NOT NULL,
+    COL00871 INTEGER DEFAULT '0' NOT NULL,
+    COL00872 INTEGER DEFAULT '0' NOT NULL,
+    COL00873 INTEGER DEFAULT '0' NOT NULL,
+    COL00874 INTEGER DEFAULT '0' NOT NULL,
+    COL00875 INTEGER DEFAULT '0' NOT NULL,
+    COL00876 INTEGER DEFAULT '0' NOT NULL,
+    COL00877 INTEGER DEFAULT '0' NOT NULL,
+    COL00878 INTEGER DEFAULT '0' NOT NULL,
+    COL00879 INTEGER DEFAULT '0' NOT NULL,
+    COL00880 INTEGER DEFAULT '0' NOT NULL,
+    COL00881 INTEGER DEFAULT '0' NOT NULL,
+    COL00882 INTEGER DEFAULT '0' NOT NULL,
+    COL00883 INTEGER DEFAULT '0' NOT NULL,
+    COL00884 INTEGER DEFAULT '0' NOT NULL,
+    COL00885 INTEGER DEFAULT '0' NOT NULL,
+    COL00886 INTEGER DEFAULT '0' NOT NULL,
+    COL00887 INTEGER DEFAULT '0' NOT NULL,
+    COL00888 INTEGER DEFAULT '0' NOT NULL,
+    COL00889 INTEGER DEFAULT '0' NOT NULL,
+    COL00890 INTEGER DEFAULT '0' NOT NULL,
+    COL00891 INTEGER DEFAULT '0' NOT NULL,
+    COL00892 INTEGER DEFAULT '0' NOT NULL,
+    COL00893 INTEGER DEFAULT '0' NOT NULL,
+    COL00894 INTEGER DEFAULT '0' NOT NULL,
+    COL00895 INTEGER DEFAULT '0' NOT NULL,
+    COL00896 INTEGER DEFAULT '0' NOT NULL,
+    COL00897 INTEGER DEFAULT '0' NOT NULL,
+    COL00898 INTEGER DEFAULT '0' NOT NULL,
+    COL00899 INTEGER DEFAULT '0' NOT NULL,
+    COL00900 INTEGER DEFAULT '0' NOT NULL,
+    COL00901 INTEGER DEFAULT '0' NOT NULL,
+    COL00902 INTEGER DEFAULT '0' NOT NULL,
+    COL00903 INTEGER DEFAULT '0' NOT NULL,
+    COL00904 INTEGER DEFAULT '0' NOT NULL,
+    COL00905 INTEGER DEFAULT '0' NOT NULL,
+    COL00906 INTEGER DEFAULT '0' NOT NULL,
+    COL00907 INTEGER DEFAULT '0' NOT NULL,
+    COL00908 INTEGER DEFAULT '0' NOT NULL,
+    COL00909 INTEGER DEFAULT '0' NOT NULL,
+    COL00910 INTEGER DEFAULT '0' NOT NULL,
+    COL00911 INTEGER DEFAULT '0' NOT NULL,
+    COL00912 INTEGER DEFAULT '0' NOT NULL,
+    COL00913 INTEGER DEFAULT '0' NOT NULL,
+    COL00914 INTEGER DEFAULT '0' NOT NULL,
+    COL00915 INTEGER DEFAULT '0' NOT NULL,
+    COL00916 INTEGER DEFAULT '0' NOT NULL,
+    COL00917 INTEGER DEFAULT '0' NOT NULL,
+    COL00918 INTEGER DEFAULT '0' NOT NULL,
+    COL00919 INTEGER DEFAULT '0' NOT NULL,
+    COL00920 INTEGER DEFAULT '0' NOT NULL,
+    COL00921 INTEGER DEFAULT '0' NOT NULL,
+    COL00922 INTEGER DEFAULT '0' NOT NULL,
+    COL00923 INTEGER DEFAULT '0' NOT NULL,
+    COL00924 INTEGER DEFAULT '0' NOT NULL,
+    COL00925 INTEGER DEFAULT '0' NOT NULL,
+    COL00926 INTEGER DEFAULT '0' NOT NULL,
+    COL00927 INTEGER DEFAULT '0' NOT NULL,
+    COL00928 INTEGER DEFAULT '0' NOT NULL,
+    COL00929 INTEGER DEFAULT '0' NOT NULL,
+    COL00930 INTEGER DEFAULT '0' NOT NULL,
+    COL00931 INTEGER DEFAULT '0' NOT NULL,
+    COL00932 INTEGER DEFAULT '0' NOT NULL,
+    COL00933 INTEGER DEFAULT '0' NOT NULL,
+    COL00934 INTEGER DEFAULT '0' NOT NULL,
+    COL00935 INTEGER DEFAULT '0' NOT NULL,
+    COL00936 INTEGER DEFAULT '0' NOT NULL,
+    COL00937 INTEGER DEFAULT '0' NOT NULL,
+    COL00938 INTEGER DEFAULT '0' NOT NULL,
+    COL00939 INTEGER DEFAULT '0' NOT NULL,
+    COL00940 INTEGER DEFAULT '0' NOT NULL,
+    COL00941 INTEGER DEFAULT '0' NOT NULL,
+    COL00942 INTEGER DEFAULT '0' NOT NULL,
+    COL00943 INTEGER DEFAULT '0' NOT NULL,
+    COL00944 INTEGER DEFAULT '0' NOT NULL,
+    COL00945 INTEGER DEFAULT '0' NOT NULL,
+    COL00946 INTEGER DEFAULT '0' NOT NULL,
+    COL00947 INTEGER DEFAULT '0' NOT NULL,
+    COL00948 INTEGER DEFAULT '0' NOT NULL,
+    COL00949 INTEGER DEFAULT '0' NOT NULL,
+    COL00950 INTEGER DEFAULT '0' NOT NULL,
+    COL00951 INTEGER DEFAULT '0' NOT NULL,
+    COL00952 INTEGER DEFAULT '0' NOT NULL,
+    COL00953 INTEGER DEFAULT '0' NOT NULL,
+    COL00954 INTEGER DEFAULT '0' NOT NULL,
+    COL00955 INTEGER DEFAULT '0' NOT NULL,
+    COL00956 INTEGER DEFAULT '0' NOT NULL,
+    COL00957 INTEGER DEFAULT '0' NOT NULL,
+    COL00958 INTEGER DEFAULT '0' NOT NULL,
+    COL00959 INTEGER DEFAULT '0' NOT NULL,
+    COL00960 INTEGER DEFAULT '0' NOT NULL,
+    COL00961 INTEGER DEFAULT '0' NOT NULL,
+    COL00962 INTEGER DEFAULT '0' NOT NULL,
+    COL00963 INTEGER DEFAULT '0' NOT NULL,
+    COL00964 INTEGER DEFAULT '0' NOT NULL,
+    COL00965 INTEGER DEFAULT '0' NOT NULL,
+    COL00966 INTEGER DEFAULT '0' NOT NULL,
+    COL00967 INTEGER DEFAULT '0' NOT NULL,
+    COL00968 INTEGER DEFAULT '0' NOT NULL,
+    COL00969 INTEGER DEFAULT '0' NOT NULL,
+    COL00970 INTEGER DEFAULT '0' NOT NULL,
+    COL00971 INTEGER DEFAULT '0' NOT NULL,
+    COL00972 INTEGER DEFAULT '0' NOT NULL,
+    COL00973 INTEGER DEFAULT '0' NOT NULL,
+    COL00974 INTEGER DEFAULT '0' NOT NULL,
+    COL00975 INTEGER DEFAULT '0' NOT NULL,
+    COL00976 INTEGER DEFAULT '0' NOT NULL,
+    COL00977 INTEGER DEFAULT '0' NOT NULL,
+    COL00978 INTEGER DEFAULT '0' NOT NULL,
+    COL00979 INTEGER DEFAULT '0' NOT NULL,
+    COL00980 INTEGER DEFAULT '0' NOT NULL,
+    COL00981 INTEGER DEFAULT '0' NOT NULL,
+    COL00982 INTEGER DEFAULT '0' NOT NULL,
+    COL00983 INTEGER DEFAULT '0' NOT NULL,
+    COL00984 INTEGER DEFAULT '0' NOT NULL,
+    COL00985 INTEGER DEFAULT '0' NOT NULL,
+    COL00986 INTEGER DEFAULT '0' NOT NULL,
+    COL00987 INTEGER DEFAULT '0' NOT NULL,
+    COL00988 INTEGER DEFAULT '0' NOT NULL,
+    COL00989 INTEGER DEFAULT '0' NOT NULL,
+    COL00990 INTEGER DEFAULT '0' NOT NULL,
+    COL00991 INTEGER DEFAULT '0' NOT NULL,
+    COL00992 INTEGER DEFAULT '0' NOT NULL,
+    COL00993 INTEGER DEFAULT '0' NOT NULL,
+    COL00994 INTEGER DEFAULT '0' NOT NULL,
+    COL00995 INTEGER DEFAULT '0' NOT NULL,
+    COL00996 INTEGER DEFAULT '0' NOT NULL,
+    COL00997 INTEGER DEFAULT '0' NOT NULL,
+    COL00998 INTEGER DEFAULT '0' NOT NULL,
+    COL00999 INTEGER DEFAULT '0' NOT NULL,
+    COL01000 INTEGER DEFAULT '0' NOT NULL,
+    COL01001 INTEGER DEFAULT '0' NOT NULL,
+    COL01002 INTEGER DEFAULT '0' NOT NULL,
+    COL01003 INTEGER DEFAULT '0' NOT NULL,
+    COL01004 INTEGER DEFAULT '0' NOT NULL,
+    COL01005 INTEGER DEFAULT '0' NOT NULL,
+    COL01006 INTEGER DEFAULT '0' NOT NULL,
+    COL01007 INTEGER DEFAULT '0' NOT NULL,
+    COL01008 INTEGER DEFAULT '0' NOT NULL,
+    COL01009 INTEGER DEFAULT '0' NOT NULL,
+    COL01010 INTEGER DEFAULT '0' NOT NULL,
+    COL01011 INTEGER DEFAULT '0' NOT NULL,
+    COL01012 INTEGER DEFAULT '0' NOT NULL,
+    COL01013 INTEGER DEFAULT '0' NOT NULL,
+    COL01014 INTEGER DEFAULT '0' NOT NULL,
+    COL01015 INTEGER DEFAULT '0' NOT NULL,
+    COL01016 INTEGER DEFAULT '0' NOT NULL,
+    COL01017 INTEGER DEFAULT '0' NOT NULL,
+    COL01018 INTEGER DEFAULT '0' NOT NULL,
+    COL01019 INTEGER DEFAULT '0' NOT NULL,
+    COL01020 INTEGER DEFAULT '0' NOT NULL,
+    COL01021 INTEGER DEFAULT '0' NOT NULL,
+    PRIMARY KEY (ID)
+);
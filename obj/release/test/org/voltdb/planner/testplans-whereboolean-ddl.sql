@@ -0,0 +1,3 @@
+CREATE TABLE T1 (a INTEGER NOT NULL, b INTEGER);
+CREATE TABLE T2 (a INTEGER NOT NULL, b INTEGER);
+PARTITION TABLE T2 ON COLUMN a;
@@ -0,0 +1,16 @@
+CREATE TABLE P1 (
+  ID INTEGER DEFAULT '0' NOT NULL,
+  DESC VARCHAR(300),
+  NUM INTEGER NOT NULL,
+  RATIO FLOAT NOT NULL,
+  PRIMARY KEY (ID)
+);
+
+CREATE TABLE R1 (
+  ID INTEGER DEFAULT '0' NOT NULL,
+  DESC VARCHAR(300),
+  NUM INTEGER NOT NULL,
+  RATIO FLOAT NOT NULL,
+  PRIMARY KEY (ID)
+);
+
@@ -0,0 +1,173 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#include <cassert>
+#include "cluster.h"
+#include "catalog.h"
+#include "database.h"
+
+using namespace catalog;
+using namespace std;
+
+Cluster::Cluster(Catalog *catalog, CatalogType *parent, const string &path, const string &name)
+: CatalogType(catalog, parent, path, name),
+  m_databases(catalog, this, path + "/" + "databases")
+{
+    CatalogValue value;
+    m_childCollections["databases"] = &m_databases;
+    m_fields["localepoch"] = value;
+    m_fields["securityEnabled"] = value;
+    m_fields["httpdportno"] = value;
+    m_fields["jsonapi"] = value;
+    m_fields["networkpartition"] = value;
+    m_fields["heartbeatTimeout"] = value;
+    m_fields["useddlschema"] = value;
+    m_fields["drConsumerEnabled"] = value;
+    m_fields["drProducerEnabled"] = value;
+    m_fields["drRole"] = value;
+    m_fields["drClusterId"] = value;
+    m_fields["drProducerPort"] = value;
+    m_fields["drMasterHost"] = value;
+    m_fields["drConsumerSslPropertyFile"] = value;
+    m_fields["drFlushInterval"] = value;
+    m_fields["preferredSource"] = value;
+}
+
+Cluster::~Cluster() {
+    std::map<std::string, Database*>::const_iterator databases_iter = m_databases.begin();
+    while (databases_iter != m_databases.end()) {
+        delete databases_iter->second;
+        databases_iter++;
+    }
+    m_databases.clear();
+
+}
+
+void Cluster::update() {
+    m_localepoch = m_fields["localepoch"].intValue;
+    m_securityEnabled = m_fields["securityEnabled"].intValue;
+    m_httpdportno = m_fields["httpdportno"].intValue;
+    m_jsonapi = m_fields["jsonapi"].intValue;
+    m_networkpartition = m_fields["networkpartition"].intValue;
+    m_heartbeatTimeout = m_fields["heartbeatTimeout"].intValue;
+    m_useddlschema = m_fields["useddlschema"].intValue;
+    m_drConsumerEnabled = m_fields["drConsumerEnabled"].intValue;
+    m_drProducerEnabled = m_fields["drProducerEnabled"].intValue;
+    m_drRole = m_fields["drRole"].strValue.c_str();
+    m_drClusterId = m_fields["drClusterId"].intValue;
+    m_drProducerPort = m_fields["drProducerPort"].intValue;
+    m_drMasterHost = m_fields["drMasterHost"].strValue.c_str();
+    m_drConsumerSslPropertyFile = m_fields["drConsumerSslPropertyFile"].strValue.c_str();
+    m_drFlushInterval = m_fields["drFlushInterval"].intValue;
+    m_preferredSource = m_fields["preferredSource"].intValue;
+}
+
+CatalogType * Cluster::addChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("databases") == 0) {
+        CatalogType *exists = m_databases.get(childName);
+        if (exists)
+            return NULL;
+        return m_databases.add(childName);
+    }
+    return NULL;
+}
+
+CatalogType * Cluster::getChild(const std::string &collectionName, const std::string &childName) const {
+    if (collectionName.compare("databases") == 0)
+        return m_databases.get(childName);
+    return NULL;
+}
+
+bool Cluster::removeChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("databases") == 0) {
+        return m_databases.remove(childName);
+    }
+    return false;
+}
+
+const CatalogMap<Database> & Cluster::databases() const {
+    return m_databases;
+}
+
+int32_t Cluster::localepoch() const {
+    return m_localepoch;
+}
+
+bool Cluster::securityEnabled() const {
+    return m_securityEnabled;
+}
+
+int32_t Cluster::httpdportno() const {
+    return m_httpdportno;
+}
+
+bool Cluster::jsonapi() const {
+    return m_jsonapi;
+}
+
+bool Cluster::networkpartition() const {
+    return m_networkpartition;
+}
+
+int32_t Cluster::heartbeatTimeout() const {
+    return m_heartbeatTimeout;
+}
+
+bool Cluster::useddlschema() const {
+    return m_useddlschema;
+}
+
+bool Cluster::drConsumerEnabled() const {
+    return m_drConsumerEnabled;
+}
+
+bool Cluster::drProducerEnabled() const {
+    return m_drProducerEnabled;
+}
+
+const string & Cluster::drRole() const {
+    return m_drRole;
+}
+
+int32_t Cluster::drClusterId() const {
+    return m_drClusterId;
+}
+
+int32_t Cluster::drProducerPort() const {
+    return m_drProducerPort;
+}
+
+const string & Cluster::drMasterHost() const {
+    return m_drMasterHost;
+}
+
+const string & Cluster::drConsumerSslPropertyFile() const {
+    return m_drConsumerSslPropertyFile;
+}
+
+int32_t Cluster::drFlushInterval() const {
+    return m_drFlushInterval;
+}
+
+int32_t Cluster::preferredSource() const {
+    return m_preferredSource;
+}
+
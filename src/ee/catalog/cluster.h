@@ -0,0 +1,106 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#ifndef CATALOG_CLUSTER_H_
+#define CATALOG_CLUSTER_H_
+
+#include <string>
+#include "catalogtype.h"
+#include "catalogmap.h"
+
+namespace catalog {
+
+class Database;
+/**
+ * A set of connected hosts running one or more database application contexts
+ */
+class Cluster : public CatalogType {
+    friend class Catalog;
+    friend class CatalogMap<Cluster>;
+
+protected:
+    Cluster(Catalog * catalog, CatalogType * parent, const std::string &path, const std::string &name);
+    CatalogMap<Database> m_databases;
+    int32_t m_localepoch;
+    bool m_securityEnabled;
+    int32_t m_httpdportno;
+    bool m_jsonapi;
+    bool m_networkpartition;
+    int32_t m_heartbeatTimeout;
+    bool m_useddlschema;
+    bool m_drConsumerEnabled;
+    bool m_drProducerEnabled;
+    std::string m_drRole;
+    int32_t m_drClusterId;
+    int32_t m_drProducerPort;
+    std::string m_drMasterHost;
+    std::string m_drConsumerSslPropertyFile;
+    int32_t m_drFlushInterval;
+    int32_t m_preferredSource;
+
+    virtual void update();
+
+    virtual CatalogType * addChild(const std::string &collectionName, const std::string &name);
+    virtual CatalogType * getChild(const std::string &collectionName, const std::string &childName) const;
+    virtual bool removeChild(const std::string &collectionName, const std::string &childName);
+
+public:
+    ~Cluster();
+
+    /** GETTER: The set of databases the cluster is running */
+    const CatalogMap<Database> & databases() const;
+    /** GETTER: The number of seconds since the epoch that we're calling our local epoch */
+    int32_t localepoch() const;
+    /** GETTER: Whether security and authentication should be enabled/disabled */
+    bool securityEnabled() const;
+    /** GETTER: The port number httpd will listen on. A 0 value implies 8080. */
+    int32_t httpdportno() const;
+    /** GETTER: Is the http/json interface enabled? */
+    bool jsonapi() const;
+    /** GETTER: Is network partition detection enabled? */
+    bool networkpartition() const;
+    /** GETTER: How long to wait, in seconds, between messages before deciding a host is dead */
+    int32_t heartbeatTimeout() const;
+    /** GETTER: Manage the database schemas via catalog updates or live DDL */
+    bool useddlschema() const;
+    /** GETTER: Manage whether this consumer cluster will pull local DR transactions */
+    bool drConsumerEnabled() const;
+    /** GETTER: Manage whether this producer cluster will log and distribute local DR transactions */
+    bool drProducerEnabled() const;
+    /** GETTER: DR role of the cluster, can be master, replica, or xdcr */
+    const std::string & drRole() const;
+    /** GETTER: Unique inter-cluster ID used to distinguish DR clusters */
+    int32_t drClusterId() const;
+    /** GETTER: DR port the this producer cluster will listen on (change only when !drProdEnabled) */
+    int32_t drProducerPort() const;
+    /** GETTER: Hostname[:port] of producer cluster this consumer cluster will get transactions from */
+    const std::string & drMasterHost() const;
+    /** GETTER: Path to DR consumer property file containing path to trust store and the trust store password */
+    const std::string & drConsumerSslPropertyFile() const;
+    /** GETTER: Time interval in milliseconds between flushing partially filled DR buffers */
+    int32_t drFlushInterval() const;
+    /** GETTER: The cluster id from which this joining cluster should request snapshot */
+    int32_t preferredSource() const;
+};
+
+} // namespace catalog
+
+#endif //  CATALOG_CLUSTER_H_
@@ -0,0 +1,113 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#include <cassert>
+#include "function.h"
+#include "catalog.h"
+#include "functionparameter.h"
+
+using namespace catalog;
+using namespace std;
+
+Function::Function(Catalog *catalog, CatalogType *parent, const string &path, const string &name)
+: CatalogType(catalog, parent, path, name),
+  m_parameters(catalog, this, path + "/" + "parameters")
+{
+    CatalogValue value;
+    m_fields["functionId"] = value;
+    m_fields["functionName"] = value;
+    m_fields["className"] = value;
+    m_fields["methodName"] = value;
+    m_childCollections["parameters"] = &m_parameters;
+    m_fields["returnType"] = value;
+    m_fields["stmtDependers"] = value;
+}
+
+Function::~Function() {
+    std::map<std::string, FunctionParameter*>::const_iterator parameters_iter = m_parameters.begin();
+    while (parameters_iter != m_parameters.end()) {
+        delete parameters_iter->second;
+        parameters_iter++;
+    }
+    m_parameters.clear();
+
+}
+
+void Function::update() {
+    m_functionId = m_fields["functionId"].intValue;
+    m_functionName = m_fields["functionName"].strValue.c_str();
+    m_className = m_fields["className"].strValue.c_str();
+    m_methodName = m_fields["methodName"].strValue.c_str();
+    m_returnType = m_fields["returnType"].intValue;
+    m_stmtDependers = m_fields["stmtDependers"].strValue.c_str();
+}
+
+CatalogType * Function::addChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("parameters") == 0) {
+        CatalogType *exists = m_parameters.get(childName);
+        if (exists)
+            return NULL;
+        return m_parameters.add(childName);
+    }
+    return NULL;
+}
+
+CatalogType * Function::getChild(const std::string &collectionName, const std::string &childName) const {
+    if (collectionName.compare("parameters") == 0)
+        return m_parameters.get(childName);
+    return NULL;
+}
+
+bool Function::removeChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("parameters") == 0) {
+        return m_parameters.remove(childName);
+    }
+    return false;
+}
+
+int32_t Function::functionId() const {
+    return m_functionId;
+}
+
+const string & Function::functionName() const {
+    return m_functionName;
+}
+
+const string & Function::className() const {
+    return m_className;
+}
+
+const string & Function::methodName() const {
+    return m_methodName;
+}
+
+const CatalogMap<FunctionParameter> & Function::parameters() const {
+    return m_parameters;
+}
+
+int32_t Function::returnType() const {
+    return m_returnType;
+}
+
+const string & Function::stmtDependers() const {
+    return m_stmtDependers;
+}
+
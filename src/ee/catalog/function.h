@@ -0,0 +1,76 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#ifndef CATALOG_FUNCTION_H_
+#define CATALOG_FUNCTION_H_
+
+#include <string>
+#include "catalogtype.h"
+#include "catalogmap.h"
+
+namespace catalog {
+
+class FunctionParameter;
+/**
+ * A user-defined function
+ */
+class Function : public CatalogType {
+    friend class Catalog;
+    friend class CatalogMap<Function>;
+
+protected:
+    Function(Catalog * catalog, CatalogType * parent, const std::string &path, const std::string &name);
+    int32_t m_functionId;
+    std::string m_functionName;
+    std::string m_className;
+    std::string m_methodName;
+    CatalogMap<FunctionParameter> m_parameters;
+    int32_t m_returnType;
+    std::string m_stmtDependers;
+
+    virtual void update();
+
+    virtual CatalogType * addChild(const std::string &collectionName, const std::string &name);
+    virtual CatalogType * getChild(const std::string &collectionName, const std::string &childName) const;
+    virtual bool removeChild(const std::string &collectionName, const std::string &childName);
+
+public:
+    ~Function();
+
+    /** GETTER: The function sequential ID */
+    int32_t functionId() const;
+    /** GETTER: The name of the function */
+    const std::string & functionName() const;
+    /** GETTER: The class name of the function implementation */
+    const std::string & className() const;
+    /** GETTER: The method name of the function implementation */
+    const std::string & methodName() const;
+    /** GETTER: The parameter types of this function */
+    const CatalogMap<FunctionParameter> & parameters() const;
+    /** GETTER: The return value type of this function */
+    int32_t returnType() const;
+    /** GETTER: The set of names of statements which depend on this function */
+    const std::string & stmtDependers() const;
+};
+
+} // namespace catalog
+
+#endif //  CATALOG_FUNCTION_H_
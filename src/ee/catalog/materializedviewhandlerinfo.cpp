@@ -0,0 +1,143 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#include <cassert>
+#include "materializedviewhandlerinfo.h"
+#include "catalog.h"
+#include "statement.h"
+#include "tableref.h"
+#include "table.h"
+
+using namespace catalog;
+using namespace std;
+
+MaterializedViewHandlerInfo::MaterializedViewHandlerInfo(Catalog *catalog, CatalogType *parent, const string &path, const string &name)
+: CatalogType(catalog, parent, path, name),
+  m_fallbackQueryStmts(catalog, this, path + "/" + "fallbackQueryStmts"), m_createQuery(catalog, this, path + "/" + "createQuery"), m_sourceTables(catalog, this, path + "/" + "sourceTables")
+{
+    CatalogValue value;
+    m_childCollections["fallbackQueryStmts"] = &m_fallbackQueryStmts;
+    m_childCollections["createQuery"] = &m_createQuery;
+    m_childCollections["sourceTables"] = &m_sourceTables;
+    m_fields["destTable"] = value;
+    m_fields["groupByColumnCount"] = value;
+    m_fields["isSafeWithNonemptySources"] = value;
+}
+
+MaterializedViewHandlerInfo::~MaterializedViewHandlerInfo() {
+    std::map<std::string, Statement*>::const_iterator fallbackquerystmts_iter = m_fallbackQueryStmts.begin();
+    while (fallbackquerystmts_iter != m_fallbackQueryStmts.end()) {
+        delete fallbackquerystmts_iter->second;
+        fallbackquerystmts_iter++;
+    }
+    m_fallbackQueryStmts.clear();
+
+    std::map<std::string, Statement*>::const_iterator createquery_iter = m_createQuery.begin();
+    while (createquery_iter != m_createQuery.end()) {
+        delete createquery_iter->second;
+        createquery_iter++;
+    }
+    m_createQuery.clear();
+
+    std::map<std::string, TableRef*>::const_iterator sourcetables_iter = m_sourceTables.begin();
+    while (sourcetables_iter != m_sourceTables.end()) {
+        delete sourcetables_iter->second;
+        sourcetables_iter++;
+    }
+    m_sourceTables.clear();
+
+}
+
+void MaterializedViewHandlerInfo::update() {
+    m_destTable = m_fields["destTable"].typeValue;
+    m_groupByColumnCount = m_fields["groupByColumnCount"].intValue;
+    m_isSafeWithNonemptySources = m_fields["isSafeWithNonemptySources"].intValue;
+}
+
+CatalogType * MaterializedViewHandlerInfo::addChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("fallbackQueryStmts") == 0) {
+        CatalogType *exists = m_fallbackQueryStmts.get(childName);
+        if (exists)
+            return NULL;
+        return m_fallbackQueryStmts.add(childName);
+    }
+    if (collectionName.compare("createQuery") == 0) {
+        CatalogType *exists = m_createQuery.get(childName);
+        if (exists)
+            return NULL;
+        return m_createQuery.add(childName);
+    }
+    if (collectionName.compare("sourceTables") == 0) {
+        CatalogType *exists = m_sourceTables.get(childName);
+        if (exists)
+            return NULL;
+        return m_sourceTables.add(childName);
+    }
+    return NULL;
+}
+
+CatalogType * MaterializedViewHandlerInfo::getChild(const std::string &collectionName, const std::string &childName) const {
+    if (collectionName.compare("fallbackQueryStmts") == 0)
+        return m_fallbackQueryStmts.get(childName);
+    if (collectionName.compare("createQuery") == 0)
+        return m_createQuery.get(childName);
+    if (collectionName.compare("sourceTables") == 0)
+        return m_sourceTables.get(childName);
+    return NULL;
+}
+
+bool MaterializedViewHandlerInfo::removeChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("fallbackQueryStmts") == 0) {
+        return m_fallbackQueryStmts.remove(childName);
+    }
+    if (collectionName.compare("createQuery") == 0) {
+        return m_createQuery.remove(childName);
+    }
+    if (collectionName.compare("sourceTables") == 0) {
+        return m_sourceTables.remove(childName);
+    }
+    return false;
+}
+
+const CatalogMap<Statement> & MaterializedViewHandlerInfo::fallbackQueryStmts() const {
+    return m_fallbackQueryStmts;
+}
+
+const CatalogMap<Statement> & MaterializedViewHandlerInfo::createQuery() const {
+    return m_createQuery;
+}
+
+const CatalogMap<TableRef> & MaterializedViewHandlerInfo::sourceTables() const {
+    return m_sourceTables;
+}
+
+const Table * MaterializedViewHandlerInfo::destTable() const {
+    return dynamic_cast<Table*>(m_destTable);
+}
+
+int32_t MaterializedViewHandlerInfo::groupByColumnCount() const {
+    return m_groupByColumnCount;
+}
+
+bool MaterializedViewHandlerInfo::isSafeWithNonemptySources() const {
+    return m_isSafeWithNonemptySources;
+}
+
@@ -0,0 +1,75 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#ifndef CATALOG_MATERIALIZEDVIEWHANDLERINFO_H_
+#define CATALOG_MATERIALIZEDVIEWHANDLERINFO_H_
+
+#include <string>
+#include "catalogtype.h"
+#include "catalogmap.h"
+
+namespace catalog {
+
+class Statement;
+class TableRef;
+class Table;
+/**
+ * Information used to build and update a materialized view
+ */
+class MaterializedViewHandlerInfo : public CatalogType {
+    friend class Catalog;
+    friend class CatalogMap<MaterializedViewHandlerInfo>;
+
+protected:
+    MaterializedViewHandlerInfo(Catalog * catalog, CatalogType * parent, const std::string &path, const std::string &name);
+    CatalogMap<Statement> m_fallbackQueryStmts;
+    CatalogMap<Statement> m_createQuery;
+    CatalogMap<TableRef> m_sourceTables;
+    CatalogType* m_destTable;
+    int32_t m_groupByColumnCount;
+    bool m_isSafeWithNonemptySources;
+
+    virtual void update();
+
+    virtual CatalogType * addChild(const std::string &collectionName, const std::string &name);
+    virtual CatalogType * getChild(const std::string &collectionName, const std::string &childName) const;
+    virtual bool removeChild(const std::string &collectionName, const std::string &childName);
+
+public:
+    ~MaterializedViewHandlerInfo();
+
+    /** GETTER: Statements to search for mview min/max fallback value */
+    const CatalogMap<Statement> & fallbackQueryStmts() const;
+    /** GETTER: The SELECT statement that defines the view */
+    const CatalogMap<Statement> & createQuery() const;
+    /** GETTER: Source table(s) of this materialized view */
+    const CatalogMap<TableRef> & sourceTables() const;
+    /** GETTER: The table which will be updated when the source table is updated */
+    const Table * destTable() const;
+    /** GETTER: Number of group by columns */
+    int32_t groupByColumnCount() const;
+    /** GETTER: Is this a materialized view which may be created with nonempty source tables */
+    bool isSafeWithNonemptySources() const;
+};
+
+} // namespace catalog
+
+#endif //  CATALOG_MATERIALIZEDVIEWHANDLERINFO_H_
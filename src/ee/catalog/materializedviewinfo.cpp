@@ -0,0 +1,156 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#include <cassert>
+#include "materializedviewinfo.h"
+#include "catalog.h"
+#include "table.h"
+#include "columnref.h"
+#include "indexref.h"
+#include "statement.h"
+
+using namespace catalog;
+using namespace std;
+
+MaterializedViewInfo::MaterializedViewInfo(Catalog *catalog, CatalogType *parent, const string &path, const string &name)
+: CatalogType(catalog, parent, path, name),
+  m_groupbycols(catalog, this, path + "/" + "groupbycols"), m_indexForMinMax(catalog, this, path + "/" + "indexForMinMax"), m_fallbackQueryStmts(catalog, this, path + "/" + "fallbackQueryStmts")
+{
+    CatalogValue value;
+    m_fields["dest"] = value;
+    m_childCollections["groupbycols"] = &m_groupbycols;
+    m_fields["predicate"] = value;
+    m_fields["groupbyExpressionsJson"] = value;
+    m_fields["aggregationExpressionsJson"] = value;
+    m_childCollections["indexForMinMax"] = &m_indexForMinMax;
+    m_childCollections["fallbackQueryStmts"] = &m_fallbackQueryStmts;
+    m_fields["isSafeWithNonemptySources"] = value;
+}
+
+MaterializedViewInfo::~MaterializedViewInfo() {
+    std::map<std::string, ColumnRef*>::const_iterator groupbycols_iter = m_groupbycols.begin();
+    while (groupbycols_iter != m_groupbycols.end()) {
+        delete groupbycols_iter->second;
+        groupbycols_iter++;
+    }
+    m_groupbycols.clear();
+
+    std::map<std::string, IndexRef*>::const_iterator indexforminmax_iter = m_indexForMinMax.begin();
+    while (indexforminmax_iter != m_indexForMinMax.end()) {
+        delete indexforminmax_iter->second;
+        indexforminmax_iter++;
+    }
+    m_indexForMinMax.clear();
+
+    std::map<std::string, Statement*>::const_iterator fallbackquerystmts_iter = m_fallbackQueryStmts.begin();
+    while (fallbackquerystmts_iter != m_fallbackQueryStmts.end()) {
+        delete fallbackquerystmts_iter->second;
+        fallbackquerystmts_iter++;
+    }
+    m_fallbackQueryStmts.clear();
+
+}
+
+void MaterializedViewInfo::update() {
+    m_dest = m_fields["dest"].typeValue;
+    m_predicate = m_fields["predicate"].strValue.c_str();
+    m_groupbyExpressionsJson = m_fields["groupbyExpressionsJson"].strValue.c_str();
+    m_aggregationExpressionsJson = m_fields["aggregationExpressionsJson"].strValue.c_str();
+    m_isSafeWithNonemptySources = m_fields["isSafeWithNonemptySources"].intValue;
+}
+
+CatalogType * MaterializedViewInfo::addChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("groupbycols") == 0) {
+        CatalogType *exists = m_groupbycols.get(childName);
+        if (exists)
+            return NULL;
+        return m_groupbycols.add(childName);
+    }
+    if (collectionName.compare("indexForMinMax") == 0) {
+        CatalogType *exists = m_indexForMinMax.get(childName);
+        if (exists)
+            return NULL;
+        return m_indexForMinMax.add(childName);
+    }
+    if (collectionName.compare("fallbackQueryStmts") == 0) {
+        CatalogType *exists = m_fallbackQueryStmts.get(childName);
+        if (exists)
+            return NULL;
+        return m_fallbackQueryStmts.add(childName);
+    }
+    return NULL;
+}
+
+CatalogType * MaterializedViewInfo::getChild(const std::string &collectionName, const std::string &childName) const {
+    if (collectionName.compare("groupbycols") == 0)
+        return m_groupbycols.get(childName);
+    if (collectionName.compare("indexForMinMax") == 0)
+        return m_indexForMinMax.get(childName);
+    if (collectionName.compare("fallbackQueryStmts") == 0)
+        return m_fallbackQueryStmts.get(childName);
+    return NULL;
+}
+
+bool MaterializedViewInfo::removeChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("groupbycols") == 0) {
+        return m_groupbycols.remove(childName);
+    }
+    if (collectionName.compare("indexForMinMax") == 0) {
+        return m_indexForMinMax.remove(childName);
+    }
+    if (collectionName.compare("fallbackQueryStmts") == 0) {
+        return m_fallbackQueryStmts.remove(childName);
+    }
+    return false;
+}
+
+const Table * MaterializedViewInfo::dest() const {
+    return dynamic_cast<Table*>(m_dest);
+}
+
+const CatalogMap<ColumnRef> & MaterializedViewInfo::groupbycols() const {
+    return m_groupbycols;
+}
+
+const string & MaterializedViewInfo::predicate() const {
+    return m_predicate;
+}
+
+const string & MaterializedViewInfo::groupbyExpressionsJson() const {
+    return m_groupbyExpressionsJson;
+}
+
+const string & MaterializedViewInfo::aggregationExpressionsJson() const {
+    return m_aggregationExpressionsJson;
+}
+
+const CatalogMap<IndexRef> & MaterializedViewInfo::indexForMinMax() const {
+    return m_indexForMinMax;
+}
+
+const CatalogMap<Statement> & MaterializedViewInfo::fallbackQueryStmts() const {
+    return m_fallbackQueryStmts;
+}
+
+bool MaterializedViewInfo::isSafeWithNonemptySources() const {
+    return m_isSafeWithNonemptySources;
+}
+
@@ -0,0 +1,240 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+#include <cassert>
+#include "table.h"
+#include "catalog.h"
+#include "column.h"
+#include "index.h"
+#include "constraint.h"
+#include "materializedviewinfo.h"
+#include "materializedviewhandlerinfo.h"
+#include "table.h"
+#include "statement.h"
+
+using namespace catalog;
+using namespace std;
+
+Table::Table(Catalog *catalog, CatalogType *parent, const string &path, const string &name)
+: CatalogType(catalog, parent, path, name),
+  m_columns(catalog, this, path + "/" + "columns"), m_indexes(catalog, this, path + "/" + "indexes"), m_constraints(catalog, this, path + "/" + "constraints"), m_views(catalog, this, path + "/" + "views"), m_mvHandlerInfo(catalog, this, path + "/" + "mvHandlerInfo"), m_tuplelimitDeleteStmt(catalog, this, path + "/" + "tuplelimitDeleteStmt")
+{
+    CatalogValue value;
+    m_childCollections["columns"] = &m_columns;
+    m_childCollections["indexes"] = &m_indexes;
+    m_childCollections["constraints"] = &m_constraints;
+    m_fields["isreplicated"] = value;
+    m_fields["partitioncolumn"] = value;
+    m_fields["estimatedtuplecount"] = value;
+    m_childCollections["views"] = &m_views;
+    m_childCollections["mvHandlerInfo"] = &m_mvHandlerInfo;
+    m_fields["materializer"] = value;
+    m_fields["signature"] = value;
+    m_fields["tuplelimit"] = value;
+    m_fields["isDRed"] = value;
+    m_childCollections["tuplelimitDeleteStmt"] = &m_tuplelimitDeleteStmt;
+}
+
+Table::~Table() {
+    std::map<std::string, Column*>::const_iterator columns_iter = m_columns.begin();
+    while (columns_iter != m_columns.end()) {
+        delete columns_iter->second;
+        columns_iter++;
+    }
+    m_columns.clear();
+
+    std::map<std::string, Index*>::const_iterator indexes_iter = m_indexes.begin();
+    while (indexes_iter != m_indexes.end()) {
+        delete indexes_iter->second;
+        indexes_iter++;
+    }
+    m_indexes.clear();
+
+    std::map<std::string, Constraint*>::const_iterator constraints_iter = m_constraints.begin();
+    while (constraints_iter != m_constraints.end()) {
+        delete constraints_iter->second;
+        constraints_iter++;
+    }
+    m_constraints.clear();
+
+    std::map<std::string, MaterializedViewInfo*>::const_iterator views_iter = m_views.begin();
+    while (views_iter != m_views.end()) {
+        delete views_iter->second;
+        views_iter++;
+    }
+    m_views.clear();
+
+    std::map<std::string, MaterializedViewHandlerInfo*>::const_iterator mvhandlerinfo_iter = m_mvHandlerInfo.begin();
+    while (mvhandlerinfo_iter != m_mvHandlerInfo.end()) {
+        delete mvhandlerinfo_iter->second;
+        mvhandlerinfo_iter++;
+    }
+    m_mvHandlerInfo.clear();
+
+    std::map<std::string, Statement*>::const_iterator tuplelimitdeletestmt_iter = m_tuplelimitDeleteStmt.begin();
+    while (tuplelimitdeletestmt_iter != m_tuplelimitDeleteStmt.end()) {
+        delete tuplelimitdeletestmt_iter->second;
+        tuplelimitdeletestmt_iter++;
+    }
+    m_tuplelimitDeleteStmt.clear();
+
+}
+
+void Table::update() {
+    m_isreplicated = m_fields["isreplicated"].intValue;
+    m_partitioncolumn = m_fields["partitioncolumn"].typeValue;
+    m_estimatedtuplecount = m_fields["estimatedtuplecount"].intValue;
+    m_materializer = m_fields["materializer"].typeValue;
+    m_signature = m_fields["signature"].strValue.c_str();
+    m_tuplelimit = m_fields["tuplelimit"].intValue;
+    m_isDRed = m_fields["isDRed"].intValue;
+}
+
+CatalogType * Table::addChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("columns") == 0) {
+        CatalogType *exists = m_columns.get(childName);
+        if (exists)
+            return NULL;
+        return m_columns.add(childName);
+    }
+    if (collectionName.compare("indexes") == 0) {
+        CatalogType *exists = m_indexes.get(childName);
+        if (exists)
+            return NULL;
+        return m_indexes.add(childName);
+    }
+    if (collectionName.compare("constraints") == 0) {
+        CatalogType *exists = m_constraints.get(childName);
+        if (exists)
+            return NULL;
+        return m_constraints.add(childName);
+    }
+    if (collectionName.compare("views") == 0) {
+        CatalogType *exists = m_views.get(childName);
+        if (exists)
+            return NULL;
+        return m_views.add(childName);
+    }
+    if (collectionName.compare("mvHandlerInfo") == 0) {
+        CatalogType *exists = m_mvHandlerInfo.get(childName);
+        if (exists)
+            return NULL;
+        return m_mvHandlerInfo.add(childName);
+    }
+    if (collectionName.compare("tuplelimitDeleteStmt") == 0) {
+        CatalogType *exists = m_tuplelimitDeleteStmt.get(childName);
+        if (exists)
+            return NULL;
+        return m_tuplelimitDeleteStmt.add(childName);
+    }
+    return NULL;
+}
+
+CatalogType * Table::getChild(const std::string &collectionName, const std::string &childName) const {
+    if (collectionName.compare("columns") == 0)
+        return m_columns.get(childName);
+    if (collectionName.compare("indexes") == 0)
+        return m_indexes.get(childName);
+    if (collectionName.compare("constraints") == 0)
+        return m_constraints.get(childName);
+    if (collectionName.compare("views") == 0)
+        return m_views.get(childName);
+    if (collectionName.compare("mvHandlerInfo") == 0)
+        return m_mvHandlerInfo.get(childName);
+    if (collectionName.compare("tuplelimitDeleteStmt") == 0)
+        return m_tuplelimitDeleteStmt.get(childName);
+    return NULL;
+}
+
+bool Table::removeChild(const std::string &collectionName, const std::string &childName) {
+    if (collectionName.compare("columns") == 0) {
+        return m_columns.remove(childName);
+    }
+    if (collectionName.compare("indexes") == 0) {
+        return m_indexes.remove(childName);
+    }
+    if (collectionName.compare("constraints") == 0) {
+        return m_constraints.remove(childName);
+    }
+    if (collectionName.compare("views") == 0) {
+        return m_views.remove(childName);
+    }
+    if (collectionName.compare("mvHandlerInfo") == 0) {
+        return m_mvHandlerInfo.remove(childName);
+    }
+    if (collectionName.compare("tuplelimitDeleteStmt") == 0) {
+        return m_tuplelimitDeleteStmt.remove(childName);
+    }
+    return false;
+}
+
+const CatalogMap<Column> & Table::columns() const {
+    return m_columns;
+}
+
+const CatalogMap<Index> & Table::indexes() const {
+    return m_indexes;
+}
+
+const CatalogMap<Constraint> & Table::constraints() const {
+    return m_constraints;
+}
+
+bool Table::isreplicated() const {
+    return m_isreplicated;
+}
+
+const Column * Table::partitioncolumn() const {
+    return dynamic_cast<Column*>(m_partitioncolumn);
+}
+
+int32_t Table::estimatedtuplecount() const {
+    return m_estimatedtuplecount;
+}
+
+const CatalogMap<MaterializedViewInfo> & Table::views() const {
+    return m_views;
+}
+
+const CatalogMap<MaterializedViewHandlerInfo> & Table::mvHandlerInfo() const {
+    return m_mvHandlerInfo;
+}
+
+const Table * Table::materializer() const {
+    return dynamic_cast<Table*>(m_materializer);
+}
+
+const string & Table::signature() const {
+    return m_signature;
+}
+
+int32_t Table::tuplelimit() const {
+    return m_tuplelimit;
+}
+
+bool Table::isDRed() const {
+    return m_isDRed;
+}
+
+const CatalogMap<Statement> & Table::tuplelimitDeleteStmt() const {
+    return m_tuplelimitDeleteStmt;
+}
+
@@ -171,6 +171,10 @@ namespace voltdb {
         return false;
     }
 
+    int64_t DummyTopend::storeCursorChunk(int64_t cursorId, const char* data, int32_t length) {
+        return 0;
+    }
+
     int32_t DummyTopend::callJavaUserDefinedFunction() {
         // We do not call any UDF here, directly return zero which means success.
         return 0;
@@ -97,6 +97,13 @@ class Topend {
     /** Delete any data for the specified block that is stored on disk. */
     virtual bool releaseLargeTempTableBlock(LargeTempTableBlockId blockId) = 0;
 
+    /**
+     * Hand one serialized chunk of a large query result to the cursor with the given id.
+     * Pass zero as the id for the first chunk to open a new cursor.
+     * Returns the id of the cursor, or zero if the chunk could not be stored.
+     */
+    virtual int64_t storeCursorChunk(int64_t cursorId, const char* data, int32_t length) = 0;
+
     // Call into the Java top end to execute a user-defined function.
     // The function ID for the function to be called and the parameter data is stored in a
     // buffer shared by the top end and the EE.
@@ -158,6 +165,8 @@ public:
 
     virtual bool releaseLargeTempTableBlock(LargeTempTableBlockId blockId);
 
+    virtual int64_t storeCursorChunk(int64_t cursorId, const char* data, int32_t length);
+
     int32_t callJavaUserDefinedFunction();
     void resizeUDFBuffer(int32_t size);
 
@@ -276,6 +276,15 @@ JNITopend::JNITopend(JNIEnv *env, jobject caller) : m_jniEnv(env), m_javaExecuti
         assert(m_releaseLargeTempTableBlockMID != 0);
         throw std::exception();
     }
+
+    m_storeCursorChunkMID = m_jniEnv->GetMethodID(jniClass,
+                                                  "storeCursorChunk",
+                                                  "(JLjava/nio/ByteBuffer;)J");
+    if (m_storeCursorChunkMID == NULL) {
+        m_jniEnv->ExceptionDescribe();
+        assert(m_storeCursorChunkMID != 0);
+        throw std::exception();
+    }
 }
 
 
@@ -484,6 +493,27 @@ bool JNITopend::releaseLargeTempTableBlock(LargeTempTableBlockId blockId) {
     return success;
 }
 
+int64_t JNITopend::storeCursorChunk(int64_t cursorId, const char* data, int32_t length) {
+    JNILocalFrameBarrier jni_frame = JNILocalFrameBarrier(m_jniEnv, 1);
+    if (jni_frame.checkResult() < 0) {
+        VOLT_ERROR("JNI frame error");
+        throw std::exception();
+    }
+
+    // The Java side copies the chunk before returning, so the buffer
+    // only has to outlive this call.
+    jobject chunkByteBuffer = m_jniEnv->NewDirectByteBuffer(const_cast<char*>(data), length);
+    if (chunkByteBuffer == NULL) {
+        m_jniEnv->ExceptionDescribe();
+        throw std::exception();
+    }
+
+    return (int64_t)m_jniEnv->CallLongMethod(m_javaExecutionEngine,
+                                             m_storeCursorChunkMID,
+                                             cursorId,
+                                             chunkByteBuffer);
+}
+
 int32_t JNITopend::callJavaUserDefinedFunction() {
     return (int32_t)m_jniEnv->CallIntMethod(m_javaExecutionEngine,
                                             m_callJavaUserDefinedFunctionMID);
@@ -75,6 +75,8 @@ public:
 
     bool releaseLargeTempTableBlock(LargeTempTableBlockId blockId);
 
+    int64_t storeCursorChunk(int64_t cursorId, const char* data, int32_t length);
+
     int32_t callJavaUserDefinedFunction();
     void resizeUDFBuffer(int32_t size);
 
@@ -104,6 +106,7 @@ private:
     jmethodID m_storeLargeTempTableBlockMID;
     jmethodID m_loadLargeTempTableBlockMID;
     jmethodID m_releaseLargeTempTableBlockMID;
+    jmethodID m_storeCursorChunkMID;
     jclass m_exportManagerClass;
     jclass m_partitionDRGatewayClass;
     jclass m_decompressionClass;
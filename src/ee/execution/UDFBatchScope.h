@@ -0,0 +1,155 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#ifndef UDFBATCHSCOPE_H
+#define UDFBATCHSCOPE_H
+
+#include "common/SQLException.h"
+#include "common/tabletuple.h"
+#include "execution/VoltDBEngine.h"
+#include "expressions/abstractexpression.h"
+
+#include <vector>
+
+namespace voltdb {
+
+/**
+ * Lets the Java user-defined functions in an executor's expressions run on a
+ * batch of input tuples with a single call into Java instead of one call per
+ * tuple.
+ *
+ * The executor pulls its input through next(), which reads ahead up to
+ * BATCH_SIZE tuples at a time. When a batched user-defined function is
+ * evaluated on the current tuple of the batch, it also evaluates its
+ * arguments on the tuples that follow and calls Java once for all of them
+ * (see UserDefinedFunctionExpression in functionexpression.cpp). Only the
+ * functions the executor evaluates on every tuple it reads are batched, see
+ * AbstractExpression::batchUserDefinedFunctions().
+ *
+ * A scan may give the conjuncts of its predicate that call no function as a
+ * prefilter. The tuples they reject are dropped while reading ahead, so the
+ * functions behind them only run on the tuples that pass them. The scan then
+ * only evaluates the other conjuncts on the tuples next() returns, unless
+ * the prefilter failed on the tuple, see passedPrefilter().
+ *
+ * The tuples of a batch must stay where they are until the batch is consumed:
+ * the input must not be scanned with iteratorDeletingAsWeGo() and must not be
+ * a large temp table.
+ */
+class UDFBatchScope {
+public:
+    static const size_t BATCH_SIZE = 256;
+
+    UDFBatchScope(VoltDBEngine* engine,
+                  const std::vector<AbstractExpression*>* prefilter = NULL)
+        : m_engine(engine),
+          m_prefilter(prefilter),
+          m_next(0),
+          m_generation(0)
+    {
+        m_previous = m_engine->swapUDFBatchScope(this);
+    }
+
+    ~UDFBatchScope() {
+        m_engine->swapUDFBatchScope(m_previous);
+    }
+
+    /**
+     * Get the next input tuple, reading a new batch from the iterator
+     * when the current one is consumed.
+     */
+    template <class Iterator>
+    bool next(Iterator& iterator, TableTuple& tuple) {
+        if (m_next == m_tuples.size()) {
+            m_tuples.clear();
+            m_passedPrefilter.clear();
+            m_next = 0;
+            while (m_tuples.size() < BATCH_SIZE && iterator.next(tuple)) {
+                try {
+                    if ( ! passesPrefilter(tuple)) {
+                        continue;
+                    }
+                    m_passedPrefilter.push_back(true);
+                }
+                catch (const SQLException&) {
+                    // Keep the tuple, the whole predicate is evaluated on it
+                    // and raises the error unless a short circuit skips it.
+                    m_passedPrefilter.push_back(false);
+                }
+                m_tuples.push_back(tuple);
+            }
+            if (m_tuples.empty()) {
+                return false;
+            }
+            m_generation = m_engine->nextUDFBatchGeneration();
+        }
+        tuple = m_tuples[m_next++];
+        return true;
+    }
+
+    /** Is this tuple the one last returned by next()? */
+    bool isCurrent(const TableTuple& tuple) const {
+        return m_next > 0 && m_tuples[m_next - 1].address() == tuple.address();
+    }
+
+    /**
+     * Did the tuple last returned by next() pass the prefilter? False if
+     * evaluating the prefilter on it failed.
+     */
+    bool passedPrefilter() const {
+        return m_passedPrefilter[m_next - 1];
+    }
+
+    /** Position in tuples() of the tuple last returned by next(). */
+    size_t current() const {
+        return m_next - 1;
+    }
+
+    const std::vector<TableTuple>& tuples() const {
+        return m_tuples;
+    }
+
+    /** Identifies the current batch, it is unique within the engine. */
+    int64_t generation() const {
+        return m_generation;
+    }
+
+private:
+    bool passesPrefilter(const TableTuple& tuple) const {
+        if (m_prefilter == NULL) {
+            return true;
+        }
+        for (size_t i = 0; i < m_prefilter->size(); i++) {
+            if ( ! (*m_prefilter)[i]->eval(&tuple, NULL).isTrue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    VoltDBEngine* m_engine;
+    const std::vector<AbstractExpression*>* m_prefilter;
+    UDFBatchScope* m_previous;
+    std::vector<TableTuple> m_tuples;
+    std::vector<bool> m_passedPrefilter;
+    size_t m_next;
+    int64_t m_generation;
+};
+
+} // namespace voltdb
+
+#endif // UDFBATCHSCOPE_H
@@ -77,6 +77,8 @@
 #include "storage/AbstractDRTupleStream.h"
 #include "storage/DRTupleStream.h"
 #include "storage/ExecuteTaskUndoGenerateDREventAction.h"
+#include "storage/LargeTempTable.h"
+#include "storage/LargeTempTableBlock.h"
 #include "storage/MaterializedViewHandler.h"
 #include "storage/MaterializedViewTriggerForWrite.h"
 #include "storage/streamedtable.h"
@@ -157,6 +159,8 @@ VoltDBEngine::VoltDBEngine(Topend* topend, LogProxy* logProxy)
       m_partitionId(-1),
       m_hashinator(NULL),
       m_isActiveActiveDREnabled(false),
+      m_udfBatchScope(NULL),
+      m_udfBatchGenerations(0),
       m_currentInputDepId(-1),
       m_stringPool(16777216, 2),
       m_numResultDependencies(0),
@@ -630,6 +634,20 @@ UniqueTempTableResult VoltDBEngine::executePlanFragment(ExecutorVector* executor
 }
 
 NValue VoltDBEngine::callJavaUserDefinedFunction(int32_t functionId, std::vector<NValue>& arguments) {
+    std::vector<std::vector<NValue> > rows(1, arguments);
+    std::vector<NValue> results;
+    std::vector<std::string> errors;
+    callJavaUserDefinedFunction(functionId, rows, results, errors);
+    if ( ! errors[0].empty()) {
+        throw SQLException(SQLException::volt_user_defined_function_error, errors[0]);
+    }
+    return results[0];
+}
+
+void VoltDBEngine::callJavaUserDefinedFunction(int32_t functionId,
+                                               std::vector<std::vector<NValue> >& rows,
+                                               std::vector<NValue>& results,
+                                               std::vector<std::string>& errors) {
     UserDefinedFunctionInfo *info = findInMapOrNull(functionId, m_functionInfo);
     if (info == NULL) {
         // There must be serious inconsistency in the catalog if this could happen.
@@ -637,17 +655,21 @@ NValue VoltDBEngine::callJavaUserDefinedFunction(int32_t functionId, std::vector
     }
 
     // Estimate the size of the buffer we need. We will put:
-    //   * size of the buffer (function ID + parameters)
+    //   * size of the buffer (function ID + row count + parameters)
     //   * function ID (int32_t)
-    //   * parameters.
-    size_t bufferSizeNeeded = sizeof(int32_t); // size of the function id.
-    for (int i = 0; i < arguments.size(); i++) {
-        // It is very common that the argument we are going to pass is in
-        // a compatible data type which does not exactly match the type that
-        // is defined in the function.
-        // We need to cast it to the target data type before the serialization.
-        arguments[i] = arguments[i].castAs(info->paramTypes[i]);
-        bufferSizeNeeded += arguments[i].serializedSize();
+    //   * row count (int32_t)
+    //   * parameters of every row.
+    size_t bufferSizeNeeded = 2 * sizeof(int32_t); // size of the function id and the row count.
+    for (int row = 0; row < rows.size(); row++) {
+        std::vector<NValue>& arguments = rows[row];
+        for (int i = 0; i < arguments.size(); i++) {
+            // It is very common that the argument we are going to pass is in
+            // a compatible data type which does not exactly match the type that
+            // is defined in the function.
+            // We need to cast it to the target data type before the serialization.
+            arguments[i] = arguments[i].castAs(info->paramTypes[i]);
+            bufferSizeNeeded += arguments[i].serializedSize();
+        }
     }
 
     // Check buffer size here.
@@ -659,34 +681,44 @@ NValue VoltDBEngine::callJavaUserDefinedFunction(int32_t functionId, std::vector
     }
     resetUDFOutputBuffer();
 
-    // Serialize buffer size, function ID.
+    // Serialize buffer size, function ID, row count.
     m_udfOutput.writeInt(bufferSizeNeeded);
     m_udfOutput.writeInt(functionId);
+    m_udfOutput.writeInt(static_cast<int32_t>(rows.size()));
 
-    // Serialize UDF parameters to the buffer.
-    for (int i = 0; i < arguments.size(); i++) {
-        arguments[i].serializeTo(m_udfOutput);
+    // Serialize UDF parameters to the buffer, row after row.
+    for (int row = 0; row < rows.size(); row++) {
+        for (int i = 0; i < rows[row].size(); i++) {
+            rows[row][i].serializeTo(m_udfOutput);
+        }
     }
     // Make sure we did the correct size calculation.
     assert(bufferSizeNeeded + sizeof(int32_t) == m_udfOutput.position());
 
     // callJavaUserDefinedFunction() will inform the Java end to execute the
-    // Java user-defined function according to the function ID and the parameters
-    // stored in the shared buffer. It will return 0 if the execution is successful.
+    // Java user-defined function on every row of parameters stored in the shared buffer.
+    // It will return 0 if the results of all the rows are in the buffer.
     int32_t returnCode = m_topend->callJavaUserDefinedFunction();
     // Note that the buffer may already be resized after the execution.
     ReferenceSerializeInputBE udfResultIn(m_udfBuffer, m_udfBufferCapacity);
-    if (returnCode == 0) {
-        // After the the invocation, read the return value from the buffer.
-        NValue retval = ValueFactory::getNValueOfType(info->returnType);
-        retval.deserializeFromAllocateForStorage(udfResultIn, &m_stringPool);
-        return retval;
-    }
-    else {
+    if (returnCode != 0) {
         // Error handling
         string errorMsg = udfResultIn.readTextString();
         throw SQLException(SQLException::volt_user_defined_function_error, errorMsg);
     }
+
+    // After the the invocation, read the status and the return value or error of every row.
+    results.resize(rows.size());
+    errors.assign(rows.size(), std::string());
+    for (int row = 0; row < rows.size(); row++) {
+        if (udfResultIn.readByte() == 0) {
+            results[row] = ValueFactory::getNValueOfType(info->returnType);
+            results[row].deserializeFromAllocateForStorage(udfResultIn, &m_stringPool);
+        }
+        else {
+            errors[row] = udfResultIn.readTextString();
+        }
+    }
 }
 
 void VoltDBEngine::releaseUndoToken(int64_t undoToken, bool isEmptyDRTxn) {
@@ -735,6 +767,66 @@ void VoltDBEngine::send(Table* dependency) {
     m_numResultDependencies++;
 }
 
+void VoltDBEngine::sendToCursor(Table* dependency) {
+    VOLT_DEBUG("Sending Dependency to a cursor from C++");
+    // Cut the result into chunks of about one large temp table block, so
+    // the whole result is never held in one buffer here or in Java.
+    const size_t chunkLimit = LargeTempTableBlock::BLOCK_SIZE_IN_BYTES;
+    TableIterator iter = dynamic_cast<LargeTempTable*>(dependency) != NULL ?
+            dependency->iteratorDeletingAsWeGo() : dependency->iterator();
+    TableTuple tuple(dependency->schema());
+    CopySerializeOutput chunk;
+    int64_t cursorId = 0;
+    int64_t totalRows = 0;
+    bool hasMore = iter.next(tuple);
+    // An empty result still opens a cursor with one empty chunk.
+    do {
+        chunk.reset();
+        chunk.writeInt(-1);
+        dependency->serializeColumnHeaderTo(chunk);
+        size_t rowCountPos = chunk.reserveBytes(sizeof(int32_t));
+        int32_t rowCount = 0;
+        while (hasMore && chunk.position() < chunkLimit) {
+            tuple.serializeTo(chunk);
+            ++rowCount;
+            hasMore = iter.next(tuple);
+        }
+        chunk.writeIntAt(rowCountPos, rowCount);
+        chunk.writeIntAt(0, static_cast<int32_t>(chunk.position() - sizeof(int32_t)));
+        cursorId = m_topend->storeCursorChunk(cursorId,
+                                              static_cast<const char*>(chunk.data()),
+                                              static_cast<int32_t>(chunk.position()));
+        if (cursorId == 0) {
+            throwSerializableEEException("Unable to keep the query result for a cursor.");
+        }
+        totalRows += rowCount;
+    } while (hasMore);
+
+    // The result in place of the rows: a single row of (STREAMED_CURSOR_ID, ROW_COUNT).
+    static const char* const columnNames[] = { "STREAMED_CURSOR_ID", "ROW_COUNT" };
+    m_resultOutput.writeInt(-1); // legacy placeholder for old output id
+    size_t totalSizePos = m_resultOutput.reserveBytes(sizeof(int32_t));
+    size_t headerSizePos = m_resultOutput.reserveBytes(sizeof(int32_t));
+    m_resultOutput.writeByte(-128);
+    m_resultOutput.writeShort(2);
+    m_resultOutput.writeByte(static_cast<int8_t>(VALUE_TYPE_BIGINT));
+    m_resultOutput.writeByte(static_cast<int8_t>(VALUE_TYPE_BIGINT));
+    for (int i = 0; i < 2; ++i) {
+        int32_t length = static_cast<int32_t>(strlen(columnNames[i]));
+        m_resultOutput.writeInt(length);
+        m_resultOutput.writeBytes(columnNames[i], length);
+    }
+    m_resultOutput.writeIntAt(headerSizePos,
+            static_cast<int32_t>(m_resultOutput.position() - headerSizePos - sizeof(int32_t)));
+    m_resultOutput.writeInt(1);
+    m_resultOutput.writeInt(static_cast<int32_t>(2 * sizeof(int64_t)));
+    m_resultOutput.writeLong(cursorId);
+    m_resultOutput.writeLong(totalRows);
+    m_resultOutput.writeIntAt(totalSizePos,
+            static_cast<int32_t>(m_resultOutput.position() - totalSizePos - sizeof(int32_t)));
+    m_numResultDependencies++;
+}
+
 int VoltDBEngine::loadNextDependency(Table* destination) {
     return m_topend->loadNextDependency(m_currentInputDepId, &m_stringPool, destination);
 }
@@ -102,6 +102,7 @@ class TableCatalogDelegate;
 class TempTableLimits;
 class Topend;
 class TheHashinator;
+class UDFBatchScope;
 class ExportTupleStream;
 
 class TempTableTupleDeleter {
@@ -230,6 +231,24 @@ class __attribute__((visibility("default"))) VoltDBEngine {
         // Call user-defined function
         NValue callJavaUserDefinedFunction(int32_t functionId, std::vector<NValue>& arguments);
 
+        // Call a user-defined function once for each row of arguments with a single call into Java.
+        // The result of row i is results[i], unless the function failed on it and errors[i] is not empty.
+        void callJavaUserDefinedFunction(int32_t functionId,
+                                         std::vector<std::vector<NValue> >& rows,
+                                         std::vector<NValue>& results,
+                                         std::vector<std::string>& errors);
+
+        // The batch of input tuples user-defined functions can be evaluated on, see UDFBatchScope.
+        UDFBatchScope* getUDFBatchScope() const { return m_udfBatchScope; }
+
+        UDFBatchScope* swapUDFBatchScope(UDFBatchScope* scope) {
+            UDFBatchScope* previous = m_udfBatchScope;
+            m_udfBatchScope = scope;
+            return previous;
+        }
+
+        int64_t nextUDFBatchGeneration() { return ++m_udfBatchGenerations; }
+
         // Created to transition existing unit tests to context abstraction.
         // If using this somewhere new, consider if you're being lazy.
         void updateExecutorContextUndoQuantumForTest();
@@ -246,6 +265,11 @@ class __attribute__((visibility("default"))) VoltDBEngine {
         // -------------------------------------------------
         void send(Table* dependency);
 
+        // Hand the final result of a large query to the topend in chunks
+        // for a cursor, and send a one row table with the cursor id and
+        // row count in place of the result.
+        void sendToCursor(Table* dependency);
+
         int loadNextDependency(Table* destination);
 
         // -------------------------------------------------
@@ -732,6 +756,10 @@ class __attribute__((visibility("default"))) VoltDBEngine {
         char* m_udfBuffer;
         int m_udfBufferCapacity;
 
+        // The innermost executor input batch user-defined functions are evaluated on, or NULL.
+        UDFBatchScope* m_udfBatchScope;
+        int64_t m_udfBatchGenerations;
+
         // arrays to hold fragment ids and dep ids from java
         // n.b. these are 8k each, should be boost shared arrays?
         int64_t m_batchFragmentIdsContainer[MAX_BATCH_COUNT];
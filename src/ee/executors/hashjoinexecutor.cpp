@@ -0,0 +1,482 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#include "hashjoinexecutor.h"
+
+#include "executors/aggregateexecutor.h"
+#include "execution/ExecutorVector.h"
+#include "execution/ProgressMonitorProxy.h"
+#include "common/executorcontext.hpp"
+#include "common/LargeTempTableBlockCache.h"
+#include "expressions/abstractexpression.h"
+#include "plannodes/hashjoinnode.h"
+#include "plannodes/limitnode.h"
+#include "storage/LargeTempTable.h"
+#include "storage/LargeTempTableBlock.h"
+#include "storage/tablefactory.h"
+#include "storage/tableiterator.h"
+#include "storage/TempTableLimits.h"
+
+#include "boost/foreach.hpp"
+
+using namespace std;
+using namespace voltdb;
+
+namespace {
+
+/**
+ * The inner and outer tuples of a partitioned join whose keys hash to the
+ * same partition, kept in large temp tables until the partition's turn.
+ */
+class HashJoinPartition {
+public:
+    HashJoinPartition(const Table* innerTemplate, const Table* outerTemplate)
+        : m_inner(TableFactory::buildCopiedLargeTempTable("hashjoininner", innerTemplate))
+        , m_outer(TableFactory::buildCopiedLargeTempTable("hashjoinouter", outerTemplate))
+    {
+        m_inner->incrementRefcount();
+        m_outer->incrementRefcount();
+    }
+
+    ~HashJoinPartition() {
+        // When reference counts go to zero the tables release their blocks
+        m_inner->decrementRefcount();
+        m_outer->decrementRefcount();
+    }
+
+    LargeTempTable* inner() { return m_inner; }
+    LargeTempTable* outer() { return m_outer; }
+
+private:
+    HashJoinPartition(const HashJoinPartition&);
+    HashJoinPartition& operator=(const HashJoinPartition&);
+
+    LargeTempTable* m_inner;
+    LargeTempTable* m_outer;
+};
+
+typedef std::shared_ptr<HashJoinPartition> HashJoinPartitionPtr;
+
+/**
+ * Pick the partition of a key. The hash is mixed first so the partitions
+ * are not correlated with the buckets of the hash tables built from them.
+ */
+size_t partitionOf(const TableTuple& keyTuple, size_t partitionCount)
+{
+    uint64_t hash = keyTuple.hashCode();
+    hash ^= hash >> 33;
+    hash *= 0xff51afd7ed558ccdULL;
+    hash ^= hash >> 33;
+    return hash % partitionCount;
+}
+
+}
+
+HashJoinExecutor::~HashJoinExecutor()
+{
+    TupleSchema::freeTupleSchema(m_keySchema);
+}
+
+bool HashJoinExecutor::p_init(AbstractPlanNode* abstractNode,
+                              const ExecutorVector& executorVector)
+{
+    VOLT_TRACE("init HashJoin Executor");
+
+    HashJoinPlanNode* node = dynamic_cast<HashJoinPlanNode*>(m_abstractNode);
+    assert(node);
+
+    // Init parent first
+    if (!AbstractJoinExecutor::p_init(abstractNode, executorVector)) {
+        return false;
+    }
+
+    // NULL tuples for left and full joins
+    p_init_null_tuples(node->getInputTable(), node->getInputTable(1));
+
+    // Both sides of each key are of the same type, the planner only hashes
+    // equalities that compare without a conversion. The widths may differ,
+    // so the key column has to fit the wider of the two.
+    const std::vector<AbstractExpression*>& outerKeys = node->getOuterHashExpressions();
+    const std::vector<AbstractExpression*>& innerKeys = node->getInnerHashExpressions();
+    assert(outerKeys.size() == innerKeys.size());
+    std::vector<ValueType> keyColumnTypes;
+    std::vector<int32_t> keyColumnSizes;
+    std::vector<bool> keyColumnAllowNull;
+    std::vector<bool> keyColumnInBytes;
+    for (int ii = 0; ii < innerKeys.size(); ii++) {
+        assert(outerKeys[ii]->getValueType() == innerKeys[ii]->getValueType());
+        keyColumnTypes.push_back(innerKeys[ii]->getValueType());
+        keyColumnSizes.push_back(std::max(outerKeys[ii]->getValueSize(), innerKeys[ii]->getValueSize()));
+        keyColumnAllowNull.push_back(true);
+        keyColumnInBytes.push_back(outerKeys[ii]->getInBytes() && innerKeys[ii]->getInBytes());
+    }
+    m_keySchema = TupleSchema::createTupleSchema(keyColumnTypes,
+                                                 keyColumnSizes,
+                                                 keyColumnAllowNull,
+                                                 keyColumnInBytes);
+
+    m_keyStorage.init(m_keySchema, &m_memoryPool);
+    m_limits = executorVector.limits();
+    return true;
+}
+
+bool HashJoinExecutor::initKeyTuple(TableTuple& keyTuple,
+                                    const std::vector<AbstractExpression*>& keyExpressions,
+                                    const TableTuple& tuple)
+{
+    for (int ii = 0; ii < keyExpressions.size(); ii++) {
+        NValue value = keyExpressions[ii]->eval(&tuple, NULL);
+        if (value.isNull()) {
+            return false;
+        }
+        keyTuple.setNValue(ii, value);
+    }
+    return true;
+}
+
+size_t HashJoinExecutor::partitionCount(const LargeTempTable* innerTable) const
+{
+    LargeTempTableBlockCache* lttBlockCache = ExecutorContext::getExecutorContext()->lttBlockCache();
+
+    // Give each partition's hash table a quarter of the fragment's memory,
+    // the copies take about as much room as the blocks they come from
+    int64_t budget = lttBlockCache->maxCacheSizeInBytes() / 4;
+    if (m_limits != NULL && m_limits->getMemoryLimit() > 0) {
+        budget = m_limits->getMemoryLimit() / 4;
+    }
+    int64_t innerBytes = innerTable->allocatedBlockCount() * LargeTempTableBlock::BLOCK_SIZE_IN_BYTES;
+    int64_t wanted = (innerBytes + budget - 1) / std::max<int64_t>(budget, 1);
+
+    // Every partition being written to pins a block, besides the block of
+    // the input being read and the one of the output being written to.
+    int64_t writable = lttBlockCache->maxCacheSizeInBlocks() - 3;
+    return static_cast<size_t>(std::max<int64_t>(1, std::min(wanted, writable)));
+}
+
+void HashJoinExecutor::buildHash(TableIterator& innerIterator, TableTuple& innerTuple,
+                                 bool copyTuples, CountingPostfilter& postfilter,
+                                 TableTuple& joinTuple, ProgressMonitorProxy& pmp)
+{
+    HashJoinPlanNode* node = static_cast<HashJoinPlanNode*>(m_abstractNode);
+    const std::vector<AbstractExpression*>& innerKeys = node->getInnerHashExpressions();
+
+    PoolBackedTupleStorage copyStorage;
+    copyStorage.init(innerTuple.getSchema(), &m_memoryPool);
+    m_keyStorage.allocateActiveTuple();
+    TableTuple& keyTuple = m_keyStorage;
+    while (innerIterator.next(innerTuple)) {
+        pmp.countdownProgress();
+        TableTuple hashedTuple = innerTuple;
+        if (copyTuples) {
+            // The key is evaluated against the copy, any of its
+            // non-inlined values have to outlive the inner block
+            copyStorage.allocateActiveTuple();
+            hashedTuple = copyStorage;
+            hashedTuple.copyForPersistentInsert(innerTuple, &m_memoryPool);
+        }
+        if ( ! initKeyTuple(keyTuple, innerKeys, hashedTuple)) {
+            if (m_joinType == JOIN_TYPE_FULL) {
+                outputInnerOnly(hashedTuple, postfilter, joinTuple, pmp);
+            }
+            continue;
+        }
+        HashJoinMapType::const_iterator bucket = m_hash.find(keyTuple);
+        if (bucket != m_hash.end()) {
+            // Share the key storage of the tuples already hashed to this key
+            m_hash.insert(HashJoinMapType::value_type(bucket->first, InnerEntry(hashedTuple.address())));
+        }
+        else {
+            m_hash.insert(HashJoinMapType::value_type(keyTuple, InnerEntry(hashedTuple.address())));
+            // The inserted key keeps the storage, get new storage for the next one
+            m_keyStorage.allocateActiveTuple();
+        }
+        chargeMemory();
+    }
+}
+
+void HashJoinExecutor::probeHash(TableIterator& outerIterator, TableTuple& outerTuple,
+                                 TableTuple& innerTuple, CountingPostfilter& postfilter,
+                                 TableTuple& joinTuple, ProgressMonitorProxy& pmp)
+{
+    HashJoinPlanNode* node = static_cast<HashJoinPlanNode*>(m_abstractNode);
+    AbstractExpression *preJoinPredicate = node->getPreJoinPredicate();
+    AbstractExpression *joinPredicate = node->getJoinPredicate();
+    const std::vector<AbstractExpression*>& outerKeys = node->getOuterHashExpressions();
+    int outerCols = outerTuple.columnCount();
+    int innerCols = innerTuple.columnCount();
+    TableTuple& keyTuple = m_keyStorage;
+
+    while (postfilter.isUnderLimit() && outerIterator.next(outerTuple)) {
+        pmp.countdownProgress();
+
+        joinTuple.setNValues(0, outerTuple, 0, outerCols);
+
+        // did this loop body find at least one match for this tuple?
+        bool outerMatch = false;
+        // For outer joins if outer tuple fails pre-join predicate
+        // (join expression based on the outer table only)
+        // it can't match any of inner tuples
+        if ((preJoinPredicate == NULL || preJoinPredicate->eval(&outerTuple, NULL).isTrue()) &&
+                initKeyTuple(keyTuple, outerKeys, outerTuple)) {
+            std::pair<HashJoinMapType::iterator, HashJoinMapType::iterator> bucket =
+                    m_hash.equal_range(keyTuple);
+            for (HashJoinMapType::iterator it = bucket.first;
+                    postfilter.isUnderLimit() && it != bucket.second; ++it) {
+                pmp.countdownProgress();
+                innerTuple.move(it->second.m_address);
+                // The hash keys are only part of the join predicate
+                if (joinPredicate == NULL || joinPredicate->eval(&outerTuple, &innerTuple).isTrue()) {
+                    outerMatch = true;
+                    // The inner tuple passed the join predicate
+                    // Mark it as matched for FULL joins
+                    it->second.m_matched = true;
+                    // Filter the joined tuple
+                    if (postfilter.eval(&outerTuple, &innerTuple)) {
+                        // Matched! Complete the joined tuple with the inner column values.
+                        joinTuple.setNValues(outerCols, innerTuple, 0, innerCols);
+                        outputTuple(postfilter, joinTuple, pmp);
+                    }
+                }
+            }
+        }
+
+        //
+        // Left Outer Join
+        //
+        if (m_joinType != JOIN_TYPE_INNER && !outerMatch && postfilter.isUnderLimit()) {
+            outputOuterOnly(outerTuple, postfilter, joinTuple, pmp);
+        }
+    }
+}
+
+void HashJoinExecutor::outputUnmatched(TableTuple& innerTuple, CountingPostfilter& postfilter,
+                                       TableTuple& joinTuple, ProgressMonitorProxy& pmp)
+{
+    for (HashJoinMapType::const_iterator it = m_hash.begin();
+            it != m_hash.end() && postfilter.isUnderLimit(); ++it) {
+        if ( ! it->second.m_matched) {
+            innerTuple.move(it->second.m_address);
+            outputInnerOnly(innerTuple, postfilter, joinTuple, pmp);
+        }
+    }
+}
+
+void HashJoinExecutor::outputOuterOnly(const TableTuple& outerTuple, CountingPostfilter& postfilter,
+                                       TableTuple& joinTuple, ProgressMonitorProxy& pmp)
+{
+    const TableTuple& null_inner_tuple = m_null_inner_tuple.tuple();
+    // Still needs to pass the filter
+    if (postfilter.isUnderLimit() && postfilter.eval(&outerTuple, &null_inner_tuple)) {
+        // Matched! Complete the joined tuple with the inner column values.
+        joinTuple.setNValues(0, outerTuple, 0, outerTuple.columnCount());
+        joinTuple.setNValues(outerTuple.columnCount(), null_inner_tuple, 0, null_inner_tuple.columnCount());
+        outputTuple(postfilter, joinTuple, pmp);
+    }
+}
+
+void HashJoinExecutor::outputInnerOnly(const TableTuple& innerTuple, CountingPostfilter& postfilter,
+                                       TableTuple& joinTuple, ProgressMonitorProxy& pmp)
+{
+    const TableTuple& null_outer_tuple = m_null_outer_tuple.tuple();
+    // Still needs to pass the filter
+    if (postfilter.isUnderLimit() && postfilter.eval(&null_outer_tuple, &innerTuple)) {
+        // Passed! Complete the joined tuple with the inner column values.
+        joinTuple.setNValues(0, null_outer_tuple, 0, null_outer_tuple.columnCount());
+        joinTuple.setNValues(null_outer_tuple.columnCount(), innerTuple, 0, innerTuple.columnCount());
+        outputTuple(postfilter, joinTuple, pmp);
+    }
+}
+
+void HashJoinExecutor::chargeMemory()
+{
+    int64_t inUse = m_memoryPool.getAllocatedMemory() +
+            m_hash.bucket_count() * sizeof(void*) +
+            m_hash.size() * (sizeof(HashJoinMapType::value_type) + 2 * sizeof(void*));
+    if (m_limits != NULL && inUse > m_chargedMemory) {
+        // Set the charge first: the limits throw when the fragment is over its budget
+        int64_t delta = inUse - m_chargedMemory;
+        m_chargedMemory = inUse;
+        m_limits->increaseAllocated(delta);
+    }
+}
+
+void HashJoinExecutor::releaseMemory()
+{
+    m_hash.clear();
+    m_memoryPool.purge();
+    if (m_limits != NULL && m_chargedMemory > 0) {
+        m_limits->reduceAllocated(m_chargedMemory);
+    }
+    m_chargedMemory = 0;
+}
+
+bool HashJoinExecutor::p_execute(const NValueArray &params) {
+    VOLT_DEBUG("executing HashJoin...");
+
+    HashJoinPlanNode* node = dynamic_cast<HashJoinPlanNode*>(m_abstractNode);
+    assert(node);
+    assert(node->getInputTableCount() == 2);
+
+    // output table must be a temp table
+    assert(m_tmpOutputTable);
+
+    Table* outer_table = node->getInputTable();
+    assert(outer_table);
+
+    Table* inner_table = node->getInputTable(1);
+    assert(inner_table);
+
+    VOLT_TRACE ("input table left:\n %s", outer_table->debug().c_str());
+    VOLT_TRACE ("input table right:\n %s", inner_table->debug().c_str());
+
+    AbstractExpression *preJoinPredicate = node->getPreJoinPredicate();
+    AbstractExpression *wherePredicate = node->getWherePredicate();
+    const std::vector<AbstractExpression*>& outerKeys = node->getOuterHashExpressions();
+    const std::vector<AbstractExpression*>& innerKeys = node->getInnerHashExpressions();
+
+    LimitPlanNode* limit_node = dynamic_cast<LimitPlanNode*>(node->getInlinePlanNode(PLAN_NODE_TYPE_LIMIT));
+    int limit = CountingPostfilter::NO_LIMIT;
+    int offset = CountingPostfilter::NO_OFFSET;
+    if (limit_node) {
+        limit_node->getLimitAndOffsetByReference(params, limit, offset);
+    }
+
+    TableTuple outer_tuple(outer_table->schema());
+    TableTuple inner_tuple(inner_table->schema());
+
+    ProgressMonitorProxy pmp(m_engine->getExecutorContext(), this);
+
+    // A large temp table only keeps the block being read pinned,
+    // its tuples are copied into the hash table's pool
+    LargeTempTable* large_inner_table = dynamic_cast<LargeTempTable*>(inner_table);
+
+    // An executor cleans up its own memory when it fails, in particular
+    // when the hash table puts the fragment over its temp table limit
+    try {
+        // Init the postfilter
+        CountingPostfilter postfilter(m_tmpOutputTable, wherePredicate, limit, offset);
+
+        TableTuple join_tuple;
+        if (m_aggExec != NULL) {
+            VOLT_TRACE("Init inline aggregate...");
+            const TupleSchema * aggInputSchema = node->getTupleSchemaPreAgg();
+            join_tuple = m_aggExec->p_execute_init(params, &pmp, aggInputSchema, m_tmpOutputTable, &postfilter);
+        } else {
+            join_tuple = m_tmpOutputTable->tempTuple();
+        }
+
+        size_t partitionCount = 1;
+        if (large_inner_table != NULL) {
+            partitionCount = this->partitionCount(large_inner_table);
+        }
+
+        if (partitionCount == 1) {
+            TableIterator iterator1 = large_inner_table == NULL ?
+                    inner_table->iterator() : inner_table->iteratorDeletingAsWeGo();
+            buildHash(iterator1, inner_tuple, large_inner_table != NULL, postfilter, join_tuple, pmp);
+
+            TableIterator iterator0 = outer_table->iteratorDeletingAsWeGo();
+            probeHash(iterator0, outer_tuple, inner_tuple, postfilter, join_tuple, pmp);
+
+            //
+            // FULL Outer Join. Iterate over the unmatched inner tuples
+            //
+            if (m_joinType == JOIN_TYPE_FULL) {
+                outputUnmatched(inner_tuple, postfilter, join_tuple, pmp);
+            }
+        }
+        else {
+            VOLT_DEBUG("Hash join in %d partitions", (int)partitionCount);
+            std::vector<HashJoinPartitionPtr> partitions;
+            for (size_t ii = 0; ii < partitionCount; ii++) {
+                partitions.push_back(HashJoinPartitionPtr(new HashJoinPartition(inner_table, outer_table)));
+            }
+
+            // Split the inner tuples by key. Those with a NULL key can't
+            // match anything and only make it to the output of FULL joins.
+            m_keyStorage.allocateActiveTuple();
+            TableTuple& keyTuple = m_keyStorage;
+            {
+                TableIterator iterator1 = inner_table->iteratorDeletingAsWeGo();
+                while (iterator1.next(inner_tuple)) {
+                    pmp.countdownProgress();
+                    if (initKeyTuple(keyTuple, innerKeys, inner_tuple)) {
+                        partitions[partitionOf(keyTuple, partitionCount)]->inner()->insertTuple(inner_tuple);
+                    }
+                    else if (m_joinType == JOIN_TYPE_FULL) {
+                        outputInnerOnly(inner_tuple, postfilter, join_tuple, pmp);
+                    }
+                }
+            }
+            // Unpin the blocks written to, to make room for the outer partitions
+            BOOST_FOREACH(HashJoinPartitionPtr& partition, partitions) {
+                partition->inner()->finishInserts();
+            }
+
+            // Split the outer tuples the same way. Those that can't match
+            // anything only make it to the output of outer joins.
+            {
+                TableIterator iterator0 = outer_table->iteratorDeletingAsWeGo();
+                while (iterator0.next(outer_tuple)) {
+                    pmp.countdownProgress();
+                    if ((preJoinPredicate == NULL || preJoinPredicate->eval(&outer_tuple, NULL).isTrue()) &&
+                            initKeyTuple(keyTuple, outerKeys, outer_tuple)) {
+                        partitions[partitionOf(keyTuple, partitionCount)]->outer()->insertTuple(outer_tuple);
+                    }
+                    else if (m_joinType != JOIN_TYPE_INNER) {
+                        outputOuterOnly(outer_tuple, postfilter, join_tuple, pmp);
+                    }
+                }
+            }
+
+            BOOST_FOREACH(HashJoinPartitionPtr& partition, partitions) {
+                partition->outer()->finishInserts();
+            }
+
+            // Join the partitions one at a time
+            BOOST_FOREACH(HashJoinPartitionPtr& partition, partitions) {
+                if ( ! postfilter.isUnderLimit()) {
+                    break;
+                }
+                {
+                    TableIterator iterator1 = partition->inner()->iteratorDeletingAsWeGo();
+                    buildHash(iterator1, inner_tuple, true, postfilter, join_tuple, pmp);
+
+                    TableIterator iterator0 = partition->outer()->iteratorDeletingAsWeGo();
+                    probeHash(iterator0, outer_tuple, inner_tuple, postfilter, join_tuple, pmp);
+
+                    if (m_joinType == JOIN_TYPE_FULL) {
+                        outputUnmatched(inner_tuple, postfilter, join_tuple, pmp);
+                    }
+                }
+                releaseMemory();
+                partition.reset();
+            }
+        }
+
+        if (m_aggExec != NULL) {
+            m_aggExec->p_execute_finish();
+        }
+    }
+    catch (...) {
+        releaseMemory();
+        throw;
+    }
+
+    releaseMemory();
+    return (true);
+}
@@ -0,0 +1,136 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#ifndef HASHJOINEXECUTOR_H
+#define HASHJOINEXECUTOR_H
+
+#include "common/common.h"
+#include "common/Pool.hpp"
+#include "common/tabletuple.h"
+#include "common/valuevector.h"
+#include "executors/abstractjoinexecutor.h"
+
+#include "boost/unordered_map.hpp"
+
+namespace voltdb {
+
+class CountingPostfilter;
+class LargeTempTable;
+class ProgressMonitorProxy;
+class TableIterator;
+class TempTableLimits;
+
+/**
+ * Executes a HashJoinPlanNode: the inner input is read once into a hash
+ * table keyed by the inner hash expressions, then every outer tuple looks
+ * up its bucket with the outer hash expressions. Tuples whose key has a
+ * NULL component never match, as for the SQL equality they come from.
+ *
+ * When the inner input stays put for the whole execution, the table only
+ * holds key tuples and the addresses of the inner tuples. A large temp
+ * table only keeps the block being read pinned, so in large mode the
+ * inner tuples are copied into the executor's own pool instead. If the
+ * inner input is too big to be copied at once, both inputs are first
+ * split by key hash into partitions of large temp tables, which can be
+ * stored away by the block cache, and the partitions are joined one at a
+ * time. The output of a partitioned join is not in the outer order.
+ *
+ * The hash table memory is charged to the fragment's temp table limits
+ * like any other intermediate result, so an oversized build side (or
+ * partition) fails the fragment the same way an oversized temp table does.
+ */
+class HashJoinExecutor : public AbstractJoinExecutor {
+    public:
+        HashJoinExecutor(VoltDBEngine *engine, AbstractPlanNode* abstract_node) :
+            AbstractJoinExecutor(engine, abstract_node),
+            m_keySchema(NULL),
+            m_limits(NULL),
+            m_chargedMemory(0) { }
+        ~HashJoinExecutor();
+
+    private:
+        /** An inner tuple in the hash table, and whether a FULL join matched it. */
+        struct InnerEntry {
+            explicit InnerEntry(char* address) : m_address(address), m_matched(false) { }
+            char* m_address;
+            bool m_matched;
+        };
+
+        typedef boost::unordered_multimap<TableTuple, InnerEntry,
+                                          TableTupleHasher,
+                                          TableTupleEqualityChecker> HashJoinMapType;
+
+        bool p_init(AbstractPlanNode*, const ExecutorVector& executorVector);
+        bool p_execute(const NValueArray &params);
+
+        /**
+         * Evaluate the key expressions against the tuple into the key tuple.
+         * Return false if any component of the key is NULL.
+         */
+        bool initKeyTuple(TableTuple& keyTuple,
+                          const std::vector<AbstractExpression*>& keyExpressions,
+                          const TableTuple& tuple);
+
+        /**
+         * Hash every inner tuple with a non-NULL key. With copyTuples the
+         * tuples are copied into the pool first. For FULL joins the ones
+         * with a NULL key are output right away since they won't be in the
+         * hash table to be found unmatched at the end.
+         */
+        void buildHash(TableIterator& innerIterator, TableTuple& innerTuple,
+                       bool copyTuples, CountingPostfilter& postfilter,
+                       TableTuple& joinTuple, ProgressMonitorProxy& pmp);
+
+        /**
+         * Look up every outer tuple and output its matches, or the outer
+         * tuple padded with NULLs for outer joins.
+         */
+        void probeHash(TableIterator& outerIterator, TableTuple& outerTuple,
+                       TableTuple& innerTuple, CountingPostfilter& postfilter,
+                       TableTuple& joinTuple, ProgressMonitorProxy& pmp);
+
+        /** Output the hashed inner tuples no outer tuple matched, for FULL joins. */
+        void outputUnmatched(TableTuple& innerTuple, CountingPostfilter& postfilter,
+                             TableTuple& joinTuple, ProgressMonitorProxy& pmp);
+
+        void outputOuterOnly(const TableTuple& outerTuple, CountingPostfilter& postfilter,
+                             TableTuple& joinTuple, ProgressMonitorProxy& pmp);
+        void outputInnerOnly(const TableTuple& innerTuple, CountingPostfilter& postfilter,
+                             TableTuple& joinTuple, ProgressMonitorProxy& pmp);
+
+        /**
+         * The number of partitions needed for the inner input's copy to
+         * fit the memory budget, bounded by the blocks the block cache
+         * can keep pinned for their writing at the same time.
+         */
+        size_t partitionCount(const LargeTempTable* innerTable) const;
+
+        /** Charge any growth of the hash table to the temp table limits. */
+        void chargeMemory();
+        void releaseMemory();
+
+        TupleSchema* m_keySchema;
+        Pool m_memoryPool;
+        PoolBackedTupleStorage m_keyStorage;
+        HashJoinMapType m_hash;
+        TempTableLimits* m_limits;
+        int64_t m_chargedMemory;
+};
+
+}
+
+#endif
@@ -44,6 +44,7 @@
  */
 
 #include "projectionexecutor.h"
+#include "execution/UDFBatchScope.h"
 #include "expressions/expressionutil.h"
 #include "plannodes/projectionnode.h"
 #include "storage/tableiterator.h"
@@ -84,6 +85,17 @@ bool ProjectionExecutor::p_init(AbstractPlanNode *abstractNode,
         expression_array_ptr[ctr] = node->getOutputColumnExpressions()[ctr];
         m_needsSubstitutePtr[ctr] = node->getOutputColumnExpressions()[ctr]->hasParameter();
     }
+    // Every column is evaluated on every input tuple, so the functions that
+    // are not behind a short circuit can be batched. An inline projection is
+    // evaluated by its parent, which decides. Large temp table blocks can be
+    // swapped out while we read ahead.
+    if ( ! node->isInline() && ! executorVector.isLargeQuery()) {
+        for (int ctr = 0; ctr < m_columnCount; ctr++) {
+            if (expression_array[ctr]->batchUserDefinedFunctions()) {
+                m_batchUDFs = true;
+            }
+        }
+    }
 
 
     m_outputTable = dynamic_cast<AbstractTempTable*>(node->getOutputTable()); //output table should be temptable
@@ -123,9 +135,13 @@ bool ProjectionExecutor::p_execute(const NValueArray &params) {
     // expression This will generate new tuple values that we will insert into
     // our output table
     //
-    TableIterator iterator = input_table->iteratorDeletingAsWeGo();
+    // When the output columns call Java user-defined functions, read the input
+    // ahead a batch at a time so that each function is called once per batch.
+    // The tuples of a batch must stay put until it is consumed.
+    TableIterator iterator = m_batchUDFs ? input_table->iterator() : input_table->iteratorDeletingAsWeGo();
+    UDFBatchScope udfBatch(m_engine);
     assert (m_tuple.columnCount() == input_table->columnCount());
-    while (iterator.next(m_tuple)) {
+    while (m_batchUDFs ? udfBatch.next(iterator, m_tuple) : iterator.next(m_tuple)) {
         //
         // Project (or replace) values from input tuple
         //
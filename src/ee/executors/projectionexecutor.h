@@ -66,6 +66,7 @@ class ProjectionExecutor : public AbstractExecutor {
     public:
         ProjectionExecutor(VoltDBEngine *engine, AbstractPlanNode* abstract_node) : AbstractExecutor(engine, abstract_node) {
             m_outputTable = NULL;
+            m_batchUDFs = false;
         }
         ~ProjectionExecutor();
     protected:
@@ -83,6 +84,8 @@ class ProjectionExecutor : public AbstractExecutor {
         boost::shared_array<bool> m_needsSubstitutePtr;
         bool *m_needsSubstitute;
         TableTuple m_tuple;
+        // Call the Java user-defined functions of the output columns on a batch of tuples at a time
+        bool m_batchUDFs;
 
         boost::shared_array<AbstractExpression*> expression_array_ptr;
         AbstractExpression** expression_array;
@@ -68,8 +68,14 @@ bool SendExecutor::p_execute(const NValueArray &params) {
     assert(inputTable);
     VOLT_TRACE("send input:\n%s\n", inputTable->debug().c_str());
     //inputTable->setDependencyId(m_dependencyId);//Multiple send executors sharing the same input table apparently.
-    // Just blast the input table on through VoltDBEngine!
-    m_engine->send(inputTable);
+    if (static_cast<SendPlanNode*>(m_abstractNode)->streamsToCursor()) {
+        // Keep the result on the server, one chunk at a time.
+        m_engine->sendToCursor(inputTable);
+    }
+    else {
+        // Just blast the input table on through VoltDBEngine!
+        m_engine->send(inputTable);
+    }
     VOLT_TRACE("SEND TABLE: %s", inputTable->debug().c_str());
 
     return true;
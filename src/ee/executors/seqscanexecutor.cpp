@@ -44,6 +44,7 @@
  */
 
 #include "seqscanexecutor.h"
+#include "execution/UDFBatchScope.h"
 #include "executors/aggregateexecutor.h"
 #include "executors/insertexecutor.h"
 #include "plannodes/aggregatenode.h"
@@ -56,6 +57,35 @@
 
 using namespace voltdb;
 
+// Collect the conjuncts of an AND tree in the order they are evaluated
+static void collectConjuncts(AbstractExpression* expr, std::vector<AbstractExpression*>& conjuncts)
+{
+    if (expr->getExpressionType() == EXPRESSION_TYPE_CONJUNCTION_AND) {
+        collectConjuncts(expr->getLeft(), conjuncts);
+        collectConjuncts(expr->getRight(), conjuncts);
+    }
+    else {
+        conjuncts.push_back(expr);
+    }
+}
+
+// Evaluate conjuncts as their AND does: stop on the first false one,
+// and pass only when all of them are true
+static bool passesConjuncts(const std::vector<AbstractExpression*>& conjuncts, const TableTuple& tuple)
+{
+    bool passes = true;
+    for (int i = 0; i < conjuncts.size(); i++) {
+        NValue value = conjuncts[i]->eval(&tuple, NULL);
+        if (value.isFalse()) {
+            return false;
+        }
+        if ( ! value.isTrue()) {
+            passes = false;
+        }
+    }
+    return passes;
+}
+
 bool SeqScanExecutor::p_init(AbstractPlanNode* abstract_node,
                              const ExecutorVector& executorVector)
 {
@@ -82,6 +112,61 @@ bool SeqScanExecutor::p_init(AbstractPlanNode* abstract_node,
     // confuses things.
     assert(m_aggExec == NULL || m_insertExec == NULL);
 
+    //
+    // OPTIMIZATION: BATCHED USER-DEFINED FUNCTIONS
+    //
+    // Java user-defined functions in the predicate or in the inline
+    // projection can be called on a batch of tuples at a time, which
+    // saves a call into Java per scanned tuple. Reading ahead is not
+    // safe when the scan inserts into a table, when a recursive CTE
+    // scan may be fed while it runs, or when large temp table blocks
+    // can be swapped out.
+    //
+    // A function must not run on more tuples than it would one at a
+    // time. The conjuncts of the predicate ahead of the first one that
+    // calls a function are evaluated while reading ahead, and only the
+    // tuples that pass them are batched. The first conjunct that calls
+    // a function is then evaluated on every batched tuple, the ones
+    // after it are not, and the inline projection is evaluated on every
+    // batched tuple only when no conjunct calls a function.
+    //
+    m_udfPrefilter.clear();
+    m_udfConjuncts.clear();
+    if ( ! executorVector.isLargeQuery() && m_insertExec == NULL && ! node->isCteScan()) {
+        bool predicateCallsUDF = false;
+        if (node->getPredicate() != NULL) {
+            std::vector<AbstractExpression*> conjuncts;
+            collectConjuncts(node->getPredicate(), conjuncts);
+            for (int i = 0; i < conjuncts.size(); i++) {
+                if ( ! predicateCallsUDF && ! conjuncts[i]->hasUserDefinedFunction()) {
+                    m_udfPrefilter.push_back(conjuncts[i]);
+                    continue;
+                }
+                if ( ! predicateCallsUDF) {
+                    predicateCallsUDF = true;
+                    if (conjuncts[i]->batchUserDefinedFunctions()) {
+                        m_batchUDFs = true;
+                    }
+                }
+                m_udfConjuncts.push_back(conjuncts[i]);
+            }
+        }
+        ProjectionPlanNode* projectionNode =
+            dynamic_cast<ProjectionPlanNode*>(node->getInlinePlanNode(PLAN_NODE_TYPE_PROJECTION));
+        if (projectionNode != NULL && ! predicateCallsUDF) {
+            const std::vector<AbstractExpression*>& columns = projectionNode->getOutputColumnExpressions();
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns[i]->batchUserDefinedFunctions()) {
+                    m_batchUDFs = true;
+                }
+            }
+        }
+        if ( ! m_batchUDFs) {
+            m_udfPrefilter.clear();
+            m_udfConjuncts.clear();
+        }
+    }
+
     //
     // OPTIMIZATION: If there is no predicate for this SeqScan,
     // then we want to just set our OutputTable pointer to be the
@@ -188,8 +273,12 @@ bool SeqScanExecutor::p_execute(const NValueArray &params) {
         // the predicate to each tuple. For each tuple that satisfies
         // our expression, we'll insert them into the output table.
         //
+        // Don't read ahead past a LIMIT, that would call the
+        // user-defined functions on tuples nobody asked for.
+        bool batchUDFs = m_batchUDFs && limit_node == NULL;
         TableTuple tuple(input_table->schema());
-        TableIterator iterator = input_table->iteratorDeletingAsWeGo();
+        TableIterator iterator = batchUDFs ? input_table->iterator() : input_table->iteratorDeletingAsWeGo();
+        UDFBatchScope udfBatch(m_engine, &m_udfPrefilter);
         AbstractExpression *predicate = node->getPredicate();
 
         if (predicate)
@@ -251,7 +340,8 @@ bool SeqScanExecutor::p_execute(const NValueArray &params) {
             temp_tuple = m_tmpOutputTable->tempTuple();
         }
 
-        while (postfilter.isUnderLimit() && iterator.next(tuple))
+        while (postfilter.isUnderLimit() &&
+               (batchUDFs ? udfBatch.next(iterator, tuple) : iterator.next(tuple)))
         {
 #if   defined(VOLT_TRACE_ENABLED)
             int tuple_ctr = 0;
@@ -263,9 +353,13 @@ bool SeqScanExecutor::p_execute(const NValueArray &params) {
             pmp.countdownProgress();
 
             //
-            // For each tuple we need to evaluate it against our predicate and limit/offset
+            // For each tuple we need to evaluate it against our predicate and limit/offset.
+            // A batched tuple that passed the prefilter only has the other conjuncts left,
+            // there is no limit or offset when reading ahead.
             //
-            if (postfilter.eval(&tuple, NULL))
+            bool passes = (batchUDFs && udfBatch.passedPrefilter()) ?
+                    passesConjuncts(m_udfConjuncts, tuple) : postfilter.eval(&tuple, NULL);
+            if (passes)
             {
                 //
                 // Nested Projection
@@ -51,8 +51,11 @@
 #include "executors/abstractexecutor.h"
 #include "execution/VoltDBEngine.h"
 
+#include <vector>
+
 namespace voltdb
 {
+    class AbstractExpression;
     class AggregateExecutorBase;
     struct CountingPostfilter;
     class InsertExecutor;
@@ -63,6 +66,7 @@ namespace voltdb
             : AbstractExecutor(engine, abstract_node)
             , m_aggExec(NULL)
             , m_insertExec(NULL)
+            , m_batchUDFs(false)
         {}
     protected:
         bool p_init(AbstractPlanNode* abstract_node,
@@ -85,6 +89,17 @@ namespace voltdb
         // freeing them.
         AggregateExecutorBase* m_aggExec;
         InsertExecutor* m_insertExec;
+
+        // Call the Java user-defined functions of the predicate and the
+        // inline projection on a batch of scanned tuples at a time.
+        bool m_batchUDFs;
+
+        // The conjuncts of the predicate that call no user-defined function,
+        // evaluated while reading a batch ahead so that the functions only
+        // run on the tuples that pass them, and the other conjuncts, which
+        // are evaluated on the tuples of the batch.
+        std::vector<AbstractExpression*> m_udfPrefilter;
+        std::vector<AbstractExpression*> m_udfConjuncts;
     };
 }
 
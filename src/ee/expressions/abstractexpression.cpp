@@ -90,6 +90,51 @@ AbstractExpression::hasParameter() const
     return (m_right && m_right->hasParameter());
 }
 
+bool
+AbstractExpression::hasUserDefinedFunction() const
+{
+    if (m_left && m_left->hasUserDefinedFunction())
+        return true;
+    return (m_right && m_right->hasUserDefinedFunction());
+}
+
+bool
+AbstractExpression::batchUserDefinedFunctions()
+{
+    switch (m_type) {
+    case EXPRESSION_TYPE_OPERATOR_PLUS:
+    case EXPRESSION_TYPE_OPERATOR_MINUS:
+    case EXPRESSION_TYPE_OPERATOR_MULTIPLY:
+    case EXPRESSION_TYPE_OPERATOR_DIVIDE: {
+        // Both sides are always evaluated
+        bool left = m_left->batchUserDefinedFunctions();
+        bool right = m_right->batchUserDefinedFunctions();
+        return left || right;
+    }
+    case EXPRESSION_TYPE_OPERATOR_CAST:
+    case EXPRESSION_TYPE_OPERATOR_NOT:
+    case EXPRESSION_TYPE_OPERATOR_IS_NULL:
+    case EXPRESSION_TYPE_OPERATOR_UNARY_MINUS:
+    case EXPRESSION_TYPE_OPERATOR_CASE_WHEN:
+    case EXPRESSION_TYPE_COMPARE_EQUAL:
+    case EXPRESSION_TYPE_COMPARE_NOTEQUAL:
+    case EXPRESSION_TYPE_COMPARE_LESSTHAN:
+    case EXPRESSION_TYPE_COMPARE_GREATERTHAN:
+    case EXPRESSION_TYPE_COMPARE_LESSTHANOREQUALTO:
+    case EXPRESSION_TYPE_COMPARE_GREATERTHANOREQUALTO:
+    case EXPRESSION_TYPE_COMPARE_LIKE:
+    case EXPRESSION_TYPE_COMPARE_NOTDISTINCT:
+    case EXPRESSION_TYPE_COMPARE_STARTSWITH:
+    case EXPRESSION_TYPE_CONJUNCTION_AND:
+    case EXPRESSION_TYPE_CONJUNCTION_OR:
+        // Only the left side, or the WHEN clause of a CASE, is always evaluated
+        return m_left && m_left->batchUserDefinedFunctions();
+    default:
+        // Anything else may skip some of its children
+        return false;
+    }
+}
+
 bool
 AbstractExpression::initParamShortCircuits()
 {
@@ -76,6 +76,18 @@ class AbstractExpression {
     /** return true if self or descendent should be substitute()'d */
     virtual bool hasParameter() const;
 
+    /** return true if self or descendent calls a Java user-defined function */
+    virtual bool hasUserDefinedFunction() const;
+
+    /**
+     * Let the Java user-defined functions that run every time this expression
+     * is evaluated be called on a batch of input tuples at a time, see
+     * UDFBatchScope. Functions that a short circuit may skip, on the right of
+     * an AND, an OR or a comparison, or in a branch of a CASE, are left alone.
+     * return true if any function is batched
+     */
+    virtual bool batchUserDefinedFunctions();
+
     /* debugging methods - some various ways to create a sring
        describing the expression tree */
     std::string debug() const;
@@ -132,10 +144,18 @@ class AbstractExpression {
         return m_left;
     }
 
+    AbstractExpression *getLeft() {
+        return m_left;
+    }
+
     const AbstractExpression *getRight() const {
         return m_right;
     }
 
+    AbstractExpression *getRight() {
+        return m_right;
+    }
+
   protected:
     AbstractExpression();
     AbstractExpression(ExpressionType type);
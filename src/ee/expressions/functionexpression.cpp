@@ -19,6 +19,7 @@
 #include "expressions/functionexpression.h"
 #include "expressions/geofunctions.h"
 #include "expressions/expressionutil.h"
+#include "execution/UDFBatchScope.h"
 
 namespace voltdb {
 
@@ -130,6 +131,14 @@ public:
         return m_child->hasParameter();
     }
 
+    virtual bool hasUserDefinedFunction() const {
+        return m_child->hasUserDefinedFunction();
+    }
+
+    virtual bool batchUserDefinedFunctions() {
+        return m_child->batchUserDefinedFunctions();
+    }
+
     NValue eval(const TableTuple *tuple1, const TableTuple *tuple2) const {
         assert (m_child);
         return (m_child->eval(tuple1, tuple2)).callUnary<F>();
@@ -169,6 +178,28 @@ public:
         return false;
     }
 
+    virtual bool hasUserDefinedFunction() const {
+        for (size_t i = 0; i < m_args.size(); i++) {
+            assert(m_args[i]);
+            if (m_args[i]->hasUserDefinedFunction()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    virtual bool batchUserDefinedFunctions() {
+        // All the arguments are evaluated before the function is called
+        bool batched = false;
+        for (size_t i = 0; i < m_args.size(); i++) {
+            assert(m_args[i]);
+            if (m_args[i]->batchUserDefinedFunctions()) {
+                batched = true;
+            }
+        }
+        return batched;
+    }
+
     NValue eval(const TableTuple *tuple1, const TableTuple *tuple2) const {
         //TODO: Could make this vector a member, if the memory management implications
         // (of the NValue internal state) were clear -- is there a penalty for longer-lived
@@ -195,11 +226,18 @@ private:
  */
 class UserDefinedFunctionExpression : public AbstractExpression {
 public:
+    // Stop reading ahead in a batch when the arguments collected so far reach this size,
+    // so that a batch of large values does not blow up the shared UDF buffer.
+    static const size_t MAX_BATCH_ARGUMENT_BYTES = 1024 * 1024;
+
     UserDefinedFunctionExpression(int functionId, const std::vector<AbstractExpression *>& args)
         : AbstractExpression(EXPRESSION_TYPE_FUNCTION),
           m_functionId(functionId),
           m_args(args),
-          m_engine(ExecutorContext::getEngine()) {}
+          m_engine(ExecutorContext::getEngine()),
+          m_batched(false),
+          m_batchGeneration(-1),
+          m_batchBegin(0) {}
 
     virtual ~UserDefinedFunctionExpression() {
         size_t i = m_args.size();
@@ -219,12 +257,25 @@ public:
         return false;
     }
 
+    virtual bool hasUserDefinedFunction() const {
+        return true;
+    }
+
+    // The arguments are evaluated on the whole batch when the function is,
+    // so a function in the arguments is called one row at a time.
+    virtual bool batchUserDefinedFunctions() {
+        m_batched = true;
+        return true;
+    }
+
     NValue eval(const TableTuple *tuple1, const TableTuple *tuple2) const {
-        std::vector<NValue> nValue(m_args.size());
-        for (int i = 0; i < m_args.size(); ++i) {
-            nValue[i] = m_args[i]->eval(tuple1, tuple2);
+        if (m_batched && tuple1 != NULL && tuple2 == NULL) {
+            const UDFBatchScope* batch = m_engine->getUDFBatchScope();
+            if (batch != NULL && batch->isCurrent(*tuple1)) {
+                return evalInBatch(*batch, tuple1);
+            }
         }
-        return m_engine->callJavaUserDefinedFunction(m_functionId, nValue);
+        return evalOne(tuple1, tuple2);
     }
 
     std::string debugInfo(const std::string &spacer) const {
@@ -234,11 +285,94 @@ public:
     }
 
 private:
+    NValue evalOne(const TableTuple *tuple1, const TableTuple *tuple2) const {
+        std::vector<NValue> nValue(m_args.size());
+        for (int i = 0; i < m_args.size(); ++i) {
+            nValue[i] = m_args[i]->eval(tuple1, tuple2);
+        }
+        return m_engine->callJavaUserDefinedFunction(m_functionId, nValue);
+    }
+
+    NValue evalInBatch(const UDFBatchScope& batch, const TableTuple *tuple) const {
+        size_t position = batch.current();
+        if (m_batchGeneration != batch.generation() ||
+                position < m_batchBegin || position >= m_batchBegin + m_batchFetched.size()) {
+            fetchBatch(batch, position);
+        }
+        size_t i = position - m_batchBegin;
+        if ( ! m_batchFetched[i]) {
+            // Evaluating the arguments failed while reading ahead,
+            // let it fail again where the row is really evaluated.
+            return evalOne(tuple, NULL);
+        }
+        if ( ! m_batchErrors[i].empty()) {
+            throw SQLException(SQLException::volt_user_defined_function_error, m_batchErrors[i]);
+        }
+        return m_batchResults[i];
+    }
+
+    /**
+     * Evaluate the arguments on the tuples of the batch from the given position on,
+     * and call the function on all of them at once. The results are kept until the
+     * rows are evaluated. Only a function that is evaluated on every tuple of the
+     * batch is batched, see batchUserDefinedFunctions().
+     */
+    void fetchBatch(const UDFBatchScope& batch, size_t position) const {
+        const std::vector<TableTuple>& tuples = batch.tuples();
+        m_batchGeneration = batch.generation();
+        m_batchBegin = position;
+        m_batchFetched.clear();
+        std::vector<std::vector<NValue> > rows;
+        size_t argumentBytes = 0;
+        for (size_t t = position; t < tuples.size() && argumentBytes < MAX_BATCH_ARGUMENT_BYTES; ++t) {
+            std::vector<NValue> nValue(m_args.size());
+            try {
+                for (int i = 0; i < m_args.size(); ++i) {
+                    nValue[i] = m_args[i]->eval(&tuples[t], NULL);
+                    argumentBytes += nValue[i].serializedSize();
+                }
+            }
+            catch (const SQLException&) {
+                m_batchFetched.push_back(false);
+                continue;
+            }
+            m_batchFetched.push_back(true);
+            rows.push_back(nValue);
+        }
+
+        std::vector<NValue> results;
+        std::vector<std::string> errors;
+        if ( ! rows.empty()) {
+            m_engine->callJavaUserDefinedFunction(m_functionId, rows, results, errors);
+        }
+        m_batchResults.resize(m_batchFetched.size());
+        m_batchErrors.assign(m_batchFetched.size(), std::string());
+        size_t row = 0;
+        for (size_t i = 0; i < m_batchFetched.size(); ++i) {
+            if (m_batchFetched[i]) {
+                m_batchResults[i] = results[row];
+                m_batchErrors[i].swap(errors[row]);
+                ++row;
+            }
+        }
+    }
+
     int m_functionId;
     const std::vector<AbstractExpression *>& m_args;
     // We need the help from the VoltDBEngine to initiate the call into the Java top end for UDF execution.
     // So we cache a pointer to the engine object that is tied to the current site thread for direct access.
     VoltDBEngine* m_engine;
+
+    // Called on a batch of input tuples at a time, when there is one
+    bool m_batched;
+
+    // Results of the batch of input tuples this function was last called on,
+    // for the tuples from position m_batchBegin in the batch.
+    mutable int64_t m_batchGeneration;
+    mutable size_t m_batchBegin;
+    mutable std::vector<bool> m_batchFetched;
+    mutable std::vector<NValue> m_batchResults;
+    mutable std::vector<std::string> m_batchErrors;
 };
 
 }
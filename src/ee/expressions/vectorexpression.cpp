@@ -56,6 +56,17 @@ public:
         return false;
     }
 
+    virtual bool hasUserDefinedFunction() const
+    {
+        for (size_t i = 0; i < m_args.size(); i++) {
+            assert(m_args[i]);
+            if (m_args[i]->hasUserDefinedFunction()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     NValue eval(const TableTuple *tuple1, const TableTuple *tuple2) const
     {
         //TODO: Could make this vector a member, if the memory management implications
@@ -56,10 +56,19 @@ PlanNodeType SendPlanNode::getPlanNodeType() const { return PLAN_NODE_TYPE_SEND;
 std::string SendPlanNode::debugInfo(const std::string &spacer) const
 {
     std::ostringstream buffer;
-    buffer << spacer << "SendNode\n";
+    buffer << spacer << "SendNode";
+    if (m_streamToCursor) {
+        buffer << " (to cursor)";
+    }
+    buffer << "\n";
     return (buffer.str());
 }
 
-void SendPlanNode::loadFromJSONObject(PlannerDomValue obj) { }
+void SendPlanNode::loadFromJSONObject(PlannerDomValue obj)
+{
+    if (obj.hasNonNullKey("STREAM_TO_CURSOR")) {
+        m_streamToCursor = obj.valueForKey("STREAM_TO_CURSOR").asBool();
+    }
+}
 
 } // namespace voltdb
@@ -57,13 +57,21 @@ class Table;
  */
 class SendPlanNode : public AbstractPlanNode {
 public:
-    SendPlanNode() { }
+    SendPlanNode() : m_streamToCursor(false) { }
     ~SendPlanNode();
     PlanNodeType getPlanNodeType() const;
     std::string debugInfo(const std::string &spacer) const;
 
+    /**
+     * True if the final result of a large query is handed to the topend
+     * chunk by chunk for a cursor instead of being serialized in one table.
+     */
+    bool streamsToCursor() const { return m_streamToCursor; }
+
 protected:
     void loadFromJSONObject(PlannerDomValue obj);
+
+    bool m_streamToCursor;
 };
 
 } // namespace voltdb
@@ -159,6 +159,8 @@ public:
 
     bool releaseLargeTempTableBlock(voltdb::LargeTempTableBlockId blockId);
 
+    int64_t storeCursorChunk(int64_t cursorId, const char* data, int32_t length);
+
 
 private:
 
@@ -1737,6 +1739,11 @@ bool VoltDBIPC::releaseLargeTempTableBlock(LargeTempTableBlockId blockId) {
     return false;
 }
 
+int64_t VoltDBIPC::storeCursorChunk(int64_t cursorId, const char* data, int32_t length) {
+    // Cursors are not supported over IPC; the caller turns this into an error.
+    return 0;
+}
+
 struct VoltDBIPCDeleter {
     void operator()(VoltDBIPC* voltipc) {
         if (voltipc->getEngine() == NULL || !voltipc->getEngine()->isLowestSite()) {
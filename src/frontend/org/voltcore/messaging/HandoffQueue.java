@@ -0,0 +1,219 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltcore.messaging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jctools_voltpatches.queues.MpscChunkedArrayQueue;
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.CoreUtils;
+
+/**
+ * Hands work from any number of producer threads to a single consumer thread,
+ * such as messages and tasks bound for a site thread.
+ *
+ * Backed by a lock-free JCTools MPSC queue, so offering never takes a lock and
+ * producers only touch the consumer thread to unpark it when it is waiting.
+ * How the consumer waits for work is chosen per role with a {@link WaitStrategy}.
+ * Only the consumer thread may call {@link #poll()}, {@link #peek()} and
+ * {@link #take()}; {@link #offer(Object)}, {@link #isEmpty()} and {@link #size()} are
+ * safe from any thread.
+ */
+public class HandoffQueue<T> {
+    private static final VoltLogger hostLog = new VoltLogger("HOST");
+
+    public enum WaitStrategy {
+        /**
+         * Spin for QUEUE_SPIN_MICROS, if set, and then park until a producer
+         * unparks the consumer. Leaves the core to others while idle.
+         */
+        BLOCK,
+        /**
+         * Busy-spin and never park, for consumers pinned to a dedicated core
+         * which want the lowest hand-off latency.
+         */
+        SPIN,
+        /**
+         * Spin yielding the core between polls, for consumers sharing cores
+         * which still should not pay for an unpark.
+         */
+        YIELD;
+
+        /**
+         * Read the strategy for a role from a system property, e.g. -DsiteHandoffWait=SPIN
+         */
+        public static WaitStrategy fromProperty(String property, WaitStrategy defaultStrategy) {
+            String value = System.getProperty(property);
+            if (value == null) {
+                return defaultStrategy;
+            }
+            try {
+                return WaitStrategy.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                hostLog.warn("Invalid value " + value + " for " + property + ", using " + defaultStrategy);
+                return defaultStrategy;
+            }
+        }
+    }
+
+    private static final int INITIAL_CHUNK_SIZE = 1024;
+    // The chunked queue is bounded, make the bound large enough to never matter
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final MpscChunkedArrayQueue<T> m_queue =
+            new MpscChunkedArrayQueue<T>(INITIAL_CHUNK_SIZE, MAX_CAPACITY, false);
+    private final WaitStrategy m_waitStrategy;
+    // The consumer thread while it is parked, or about to park
+    private volatile Thread m_waiter;
+
+    public HandoffQueue(WaitStrategy waitStrategy) {
+        m_waitStrategy = waitStrategy;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return m_waitStrategy;
+    }
+
+    public boolean offer(T element) {
+        if (!m_queue.offer(element)) {
+            throw new IllegalStateException("Hand-off queue is full with " + m_queue.size() + " elements");
+        }
+        // The offer above publishes the producer index before this read, and a
+        // waiting consumer publishes itself before checking the queue again, so
+        // one of the two always sees the other.
+        Thread waiter = m_waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return true;
+    }
+
+    public T poll() {
+        return m_queue.poll();
+    }
+
+    public T peek() {
+        return m_queue.peek();
+    }
+
+    /**
+     * Wait for the next element using the wait strategy of this queue.
+     */
+    public T take() throws InterruptedException {
+        T element = m_queue.poll();
+        if (element != null) {
+            return element;
+        }
+        switch (m_waitStrategy) {
+        case SPIN:
+            return spinTake(false);
+        case YIELD:
+            return spinTake(true);
+        default:
+            return blockingTake();
+        }
+    }
+
+    private T spinTake(boolean yield) throws InterruptedException {
+        T element;
+        while ((element = m_queue.poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (yield) {
+                Thread.yield();
+            }
+        }
+        return element;
+    }
+
+    private T blockingTake() throws InterruptedException {
+        T element;
+        if (CoreUtils.QUEUE_SPIN_MICROSECONDS > 0) {
+            final long start = System.nanoTime();
+            do {
+                if ((element = m_queue.poll()) != null) {
+                    return element;
+                }
+            } while (System.nanoTime() - start < CoreUtils.QUEUE_SPIN_MICROSECONDS);
+        }
+        final Thread self = Thread.currentThread();
+        try {
+            for (;;) {
+                m_waiter = self;
+                if ((element = m_queue.poll()) != null) {
+                    return element;
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            m_waiter = null;
+        }
+    }
+
+    /**
+     * Wait up to the timeout for the next element.
+     * @return the element or null if the timeout expired
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T element = m_queue.poll();
+        if (element != null || timeout <= 0) {
+            return element;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final Thread self = Thread.currentThread();
+        try {
+            for (;;) {
+                m_waiter = self;
+                if ((element = m_queue.poll()) != null) {
+                    return element;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                if (m_waitStrategy == WaitStrategy.BLOCK) {
+                    LockSupport.parkNanos(this, remaining);
+                }
+                else if (m_waitStrategy == WaitStrategy.YIELD) {
+                    Thread.yield();
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            m_waiter = null;
+        }
+    }
+
+    public boolean isEmpty() {
+        return m_queue.isEmpty();
+    }
+
+    /**
+     * @return the number of waiting elements, safe to call from any thread
+     */
+    public int size() {
+        return m_queue.size();
+    }
+}
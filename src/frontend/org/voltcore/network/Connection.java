@@ -81,4 +81,12 @@ public interface Connection {
      * Schedule the connection to be unregistered and closed
      */
     Future<?> unregister();
+
+    /**
+     * Stop reading from the connection and close it once the writes queued to it
+     * so far are on the wire. Connections that don't queue writes close right away.
+     */
+    default void unregisterWhenDrained() {
+        unregister();
+    }
 }
@@ -172,7 +172,9 @@ public class VoltPort implements Connection
                     if (read > 0) {
                         try {
                             ByteBuffer message;
-                            while ((message = m_handler.retrieveNextMessage(readStream())) != null) {
+                            // The handler may shut the port down, drop the messages after that
+                            while (!m_isShuttingDown &&
+                                    (message = m_handler.retrieveNextMessage(readStream())) != null) {
                                 m_handler.handleMessage(message, this);
                                 m_messagesRead++;
                             }
@@ -464,6 +466,18 @@ public class VoltPort implements Connection
         return m_network.unregisterChannel(this);
     }
 
+    /**
+     * Shut down the same way as when the remote end hangs up, the port closes
+     * once the write stream is drained
+     */
+    @Override
+    public void unregisterWhenDrained() {
+        disableReadSelection();
+        m_isShuttingDown = true;
+        m_handler.stopping(this);
+        enableWriteSelection();
+    }
+
     @Override
     public void queueTask(Runnable r) {
         m_network.queueTask(r);
@@ -0,0 +1,260 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltcore.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A map from primitive long keys to non-null objects for the maps on the
+ * transaction path, which are keyed by transaction IDs and handles.
+ *
+ * Open addressing with linear probing over parallel key and value arrays, so
+ * neither the keys are boxed nor entries allocated. A slot is empty when its
+ * value is null, removal shifts the following entries back instead of leaving
+ * tombstones. Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public interface EntryPredicate<V> {
+        boolean test(long key, V value);
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] m_keys;
+    private Object[] m_values;
+    private int m_mask;
+    private int m_size = 0;
+    // grow when the size exceeds this
+    private int m_resizeThreshold;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize number of entries the map holds without growing
+     */
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, 1)) << 1;
+        allocate(Math.max(capacity, 2));
+    }
+
+    private void allocate(int capacity) {
+        m_keys = new long[capacity];
+        m_values = new Object[capacity];
+        m_mask = capacity - 1;
+        // load factor of 1/2 keeps probe sequences short
+        m_resizeThreshold = capacity / 2;
+    }
+
+    // Transaction IDs carry the partition ID in the low bits, spread all bits
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & m_mask;
+    }
+
+    public int size() {
+        return m_size;
+    }
+
+    public boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & m_mask) {
+            Object value = m_values[i];
+            if (value == null) {
+                return null;
+            }
+            if (m_keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value of the key, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("LongObjectHashMap does not support null values");
+        }
+        int i = slot(key);
+        for (; m_values[i] != null; i = (i + 1) & m_mask) {
+            if (m_keys[i] == key) {
+                V previous = (V) m_values[i];
+                m_values[i] = value;
+                return previous;
+            }
+        }
+        m_keys[i] = key;
+        m_values[i] = value;
+        if (++m_size > m_resizeThreshold) {
+            rehash(m_keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        for (int i = slot(key); ; i = (i + 1) & m_mask) {
+            Object value = m_values[i];
+            if (value == null) {
+                return null;
+            }
+            if (m_keys[i] == key) {
+                removeAt(i);
+                return (V) value;
+            }
+        }
+    }
+
+    public void clear() {
+        if (m_size > 0) {
+            Arrays.fill(m_values, null);
+            m_size = 0;
+        }
+    }
+
+    /**
+     * Calls the consumer with every entry, in no particular order.
+     * The consumer must not modify the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < m_values.length; i++) {
+            if (m_values[i] != null) {
+                consumer.accept(m_keys[i], (V) m_values[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove every entry matching the predicate.
+     * @return the number of entries removed
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(EntryPredicate<? super V> predicate) {
+        // Removal may shift an entry of the wrapped-around probe sequence at the start of the
+        // table behind the iteration, so collect first and remove afterwards.
+        long[] matches = null;
+        int count = 0;
+        for (int i = 0; i < m_values.length; i++) {
+            if (m_values[i] != null && predicate.test(m_keys[i], (V) m_values[i])) {
+                if (matches == null) {
+                    matches = new long[m_size];
+                }
+                matches[count++] = m_keys[i];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            remove(matches[i]);
+        }
+        return count;
+    }
+
+    /**
+     * @return a copy of the keys, in no particular order
+     */
+    public long[] keys() {
+        long[] keys = new long[m_size];
+        int count = 0;
+        for (int i = 0; i < m_values.length; i++) {
+            if (m_values[i] != null) {
+                keys[count++] = m_keys[i];
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return a copy of the values, in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> values = new ArrayList<V>(m_size);
+        for (int i = 0; i < m_values.length; i++) {
+            if (m_values[i] != null) {
+                values.add((V) m_values[i]);
+            }
+        }
+        return values;
+    }
+
+    private void removeAt(int i) {
+        m_size--;
+        // Shift back the following entries of the probe sequence which
+        // can't be reached any more once slot i is empty
+        int gap = i;
+        for (int j = (gap + 1) & m_mask; m_values[j] != null; j = (j + 1) & m_mask) {
+            int home = slot(m_keys[j]);
+            // move j into the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & m_mask) >= ((j - gap) & m_mask)) {
+                m_keys[gap] = m_keys[j];
+                m_values[gap] = m_values[j];
+                gap = j;
+            }
+        }
+        m_values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = m_keys;
+        Object[] values = m_values;
+        allocate(capacity);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                int j = slot(keys[i]);
+                while (m_values[j] != null) {
+                    j = (j + 1) & m_mask;
+                }
+                m_keys[j] = keys[i];
+                m_values[j] = values[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,290 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltcore.utils;
+
+import java.util.Arrays;
+
+/**
+ * A sorted map from pairs of primitive longs to non-null objects, ordered by the
+ * first key and then by the second key.
+ *
+ * Entries live in parallel arrays sorted by key and are found by binary search.
+ * It is meant for keys which mostly arrive in ascending order and leave
+ * roughly in the order they arrived, like (txnId, spHandle) pairs: appending
+ * past the last entry and removing the first entry don't move any other entry.
+ * Entries are addressed by their position for ordered traversal, a position is
+ * only valid until the map is next modified. Not thread-safe.
+ */
+public class LongPairSortedMap<V> {
+
+    public interface EntryConsumer<V> {
+        void accept(long first, long second, V value);
+    }
+
+    public interface EntryPredicate<V> {
+        boolean test(long first, long second, V value);
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] m_firsts;
+    private long[] m_seconds;
+    private Object[] m_values;
+    // the entries occupy [m_head, m_tail) of the arrays
+    private int m_head = 0;
+    private int m_tail = 0;
+
+    public LongPairSortedMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongPairSortedMap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 2);
+        m_firsts = new long[capacity];
+        m_seconds = new long[capacity];
+        m_values = new Object[capacity];
+    }
+
+    public int size() {
+        return m_tail - m_head;
+    }
+
+    public boolean isEmpty() {
+        return m_tail == m_head;
+    }
+
+    public long firstKeyAt(int index) {
+        return m_firsts[m_head + checkIndex(index)];
+    }
+
+    public long secondKeyAt(int index) {
+        return m_seconds[m_head + checkIndex(index)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return (V) m_values[m_head + checkIndex(index)];
+    }
+
+    /**
+     * @return the position of the key, or -(insertion point) - 1 if absent,
+     * as in {@link java.util.Arrays#binarySearch(long[], long)}
+     */
+    public int indexOf(long first, long second) {
+        int low = m_head;
+        int high = m_tail - 1;
+        // Fast path for the most recently added key
+        if (high >= low && compare(high, first, second) < 0) {
+            return -(m_tail - m_head) - 1;
+        }
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, first, second);
+            if (cmp < 0) {
+                low = mid + 1;
+            }
+            else if (cmp > 0) {
+                high = mid - 1;
+            }
+            else {
+                return mid - m_head;
+            }
+        }
+        return -(low - m_head) - 1;
+    }
+
+    /**
+     * @return the position of the greatest key less than or equal to the given key, or -1
+     */
+    public int floorIndex(long first, long second) {
+        int index = indexOf(first, second);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @return the position of the least key greater than or equal to the given key, or -1
+     */
+    public int ceilingIndex(long first, long second) {
+        int index = indexOf(first, second);
+        if (index >= 0) {
+            return index;
+        }
+        index = -index - 1;
+        return index < size() ? index : -1;
+    }
+
+    public V get(long first, long second) {
+        int index = indexOf(first, second);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    public boolean containsKey(long first, long second) {
+        return indexOf(first, second) >= 0;
+    }
+
+    /**
+     * @return the previous value of the key, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long first, long second, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("LongPairSortedMap does not support null values");
+        }
+        int index = indexOf(first, second);
+        if (index >= 0) {
+            V previous = (V) m_values[m_head + index];
+            m_values[m_head + index] = value;
+            return previous;
+        }
+        insertAt(-index - 1, first, second, value);
+        return null;
+    }
+
+    /**
+     * @return the removed value, or null if the key was absent
+     */
+    public V remove(long first, long second) {
+        int index = indexOf(first, second);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V removeAt(int index) {
+        int pos = m_head + checkIndex(index);
+        V value = (V) m_values[pos];
+        if (pos == m_head) {
+            m_values[m_head++] = null;
+        }
+        else {
+            System.arraycopy(m_firsts, pos + 1, m_firsts, pos, m_tail - pos - 1);
+            System.arraycopy(m_seconds, pos + 1, m_seconds, pos, m_tail - pos - 1);
+            System.arraycopy(m_values, pos + 1, m_values, pos, m_tail - pos - 1);
+            m_values[--m_tail] = null;
+        }
+        if (m_head == m_tail) {
+            m_head = m_tail = 0;
+        }
+        return value;
+    }
+
+    /**
+     * Remove every entry matching the predicate, keeping the others in order.
+     * @return the number of entries removed
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(EntryPredicate<? super V> predicate) {
+        int kept = m_head;
+        for (int i = m_head; i < m_tail; i++) {
+            if (!predicate.test(m_firsts[i], m_seconds[i], (V) m_values[i])) {
+                m_firsts[kept] = m_firsts[i];
+                m_seconds[kept] = m_seconds[i];
+                m_values[kept++] = m_values[i];
+            }
+        }
+        int removed = m_tail - kept;
+        Arrays.fill(m_values, kept, m_tail, null);
+        m_tail = kept;
+        if (m_head == m_tail) {
+            m_head = m_tail = 0;
+        }
+        return removed;
+    }
+
+    /**
+     * Calls the consumer with every entry in key order.
+     * The consumer must not modify the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = m_head; i < m_tail; i++) {
+            consumer.accept(m_firsts[i], m_seconds[i], (V) m_values[i]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(m_values, m_head, m_tail, null);
+        m_head = m_tail = 0;
+    }
+
+    private int compare(int pos, long first, long second) {
+        int cmp = Long.compare(m_firsts[pos], first);
+        return cmp != 0 ? cmp : Long.compare(m_seconds[pos], second);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return index;
+    }
+
+    private void insertAt(int index, long first, long second, Object value) {
+        if (index == 0 && m_head > 0) {
+            m_head--;
+        }
+        else {
+            if (m_tail == m_values.length) {
+                makeRoom();
+            }
+            int pos = m_head + index;
+            System.arraycopy(m_firsts, pos, m_firsts, pos + 1, m_tail - pos);
+            System.arraycopy(m_seconds, pos, m_seconds, pos + 1, m_tail - pos);
+            System.arraycopy(m_values, pos, m_values, pos + 1, m_tail - pos);
+            m_tail++;
+        }
+        m_firsts[m_head + index] = first;
+        m_seconds[m_head + index] = second;
+        m_values[m_head + index] = value;
+    }
+
+    // Slide the entries back to the start of the arrays when removals from
+    // the head freed enough space, otherwise grow the arrays.
+    private void makeRoom() {
+        int size = size();
+        int capacity = m_values.length;
+        if (size > capacity / 2) {
+            capacity *= 2;
+        }
+        long[] firsts = capacity == m_firsts.length ? m_firsts : new long[capacity];
+        long[] seconds = capacity == m_seconds.length ? m_seconds : new long[capacity];
+        Object[] values = capacity == m_values.length ? m_values : new Object[capacity];
+        System.arraycopy(m_firsts, m_head, firsts, 0, size);
+        System.arraycopy(m_seconds, m_head, seconds, 0, size);
+        System.arraycopy(m_values, m_head, values, 0, size);
+        if (values == m_values) {
+            Arrays.fill(values, size, m_tail, null);
+        }
+        m_firsts = firsts;
+        m_seconds = seconds;
+        m_values = values;
+        m_head = 0;
+        m_tail = size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = m_head; i < m_tail; i++) {
+            if (i > m_head) {
+                sb.append(", ");
+            }
+            sb.append('(').append(m_firsts[i]).append(", ").append(m_seconds[i]).append(")=").append(m_values[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -62,6 +62,7 @@ import org.voltdb.client.ClientAuthScheme;
 import org.voltdb.client.DelegatePrincipal;
 import org.voltdb.common.Permission;
 import org.voltdb.security.AuthenticationRequest;
+import org.voltdb.security.VerifiedCredentialCache;
 import org.voltdb.utils.Encoder;
 import org.voltdb.utils.LogKeys;
 
@@ -349,6 +350,11 @@ public class AuthSystem {
 
     private final InternalAdminUser m_internalAdminUser;
 
+    /**
+     * Recently verified password hashes, so reconnecting clients skip BCrypt
+     */
+    private final VerifiedCredentialCache m_verifiedCredentials = new VerifiedCredentialCache();
+
     //Auth system keeps a array of all perms used for auth disabled user not for checking permissions.
     private static String[] m_perm_list;
 
@@ -522,6 +528,11 @@ public class AuthSystem {
         return m_enabled;
     }
 
+    //Does a login exchange Kerberos tokens with the client after the login message?
+    public boolean isKerberosEnabled() {
+        return m_enabled && m_authProvider == AuthProvider.KERBEROS;
+    }
+
     public LoginContext getLoginContext() {
         return m_loginCtx;
     }
@@ -689,6 +700,16 @@ public class AuthSystem {
             m_password = hash;
         }
 
+        /**
+         * @return true if this request can be answered without hashing the password,
+         *         either because security is off or because it was verified recently
+         */
+        public boolean isCheap(ClientAuthScheme scheme) {
+            return !m_enabled
+                    || m_authProvider != AuthProvider.HASH
+                    || m_verifiedCredentials.isVerified(m_user, scheme, m_password);
+        }
+
         @Override
         protected boolean authenticateImpl(ClientAuthScheme scheme, String fromAddress) throws Exception {
             if (!m_enabled) {
@@ -704,6 +725,21 @@ public class AuthSystem {
                 return false;
             }
 
+            final boolean cached = m_verifiedCredentials.isVerified(m_user, scheme, m_password);
+            if (cached || checkPassword(user, scheme)) {
+                if (!cached) {
+                    m_verifiedCredentials.verified(m_user, scheme, m_password);
+                }
+                m_authenticatedUser = m_user;
+                logAuthSuccess(m_authenticatedUser, fromAddress);
+                return true;
+            }
+
+            logAuthFails(LogKeys.auth_AuthSystem_AuthFailedPasswordMistmatch.name(), m_user, fromAddress);
+            return false;
+        }
+
+        private boolean checkPassword(AuthUser user, ClientAuthScheme scheme) {
             boolean matched = true;
             if (user.m_sha1ShadowPassword != null || user.m_sha2ShadowPassword != null) {
                 MessageDigest md = null;
@@ -727,15 +763,7 @@ public class AuthSystem {
                 String pwToCheck = (scheme == ClientAuthScheme.HASH_SHA1 ? user.m_bcryptShadowPassword : user.m_bcryptSha2ShadowPassword);
                 matched = BCrypt.checkpw(Encoder.hexEncode(m_password), pwToCheck);
             }
-
-            if (matched) {
-                m_authenticatedUser = m_user;
-                logAuthSuccess(m_authenticatedUser, fromAddress);
-                return true;
-            }
-
-            logAuthFails(LogKeys.auth_AuthSystem_AuthFailedPasswordMistmatch.name(), m_user, fromAddress);
-            return false;
+            return matched;
         }
     }
 
@@ -39,6 +39,7 @@ import org.voltdb.catalog.Deployment;
 import org.voltdb.catalog.Procedure;
 import org.voltdb.catalog.SnapshotSchedule;
 import org.voltdb.catalog.Table;
+import org.voltdb.compiler.AdHocCompilerCache;
 import org.voltdb.compiler.PlannerTool;
 import org.voltdb.compiler.deploymentfile.DeploymentType;
 import org.voltdb.settings.ClusterSettings;
@@ -73,6 +74,8 @@ public class CatalogContext {
         public final UUID m_deploymentHashForConfig;
         public Catalog m_catalog;
         public ConcurrentLinkedQueue<ImmutableMap<String, ProcedureRunner>> m_preparedProcRunners;
+        // what the sites and the planner cache may carry over from the previous catalog, null means nothing
+        public CatalogReuseInfo m_reuse;
 
         public CatalogInfo(byte[] catalogBytes, byte[] catalogBytesHash, byte[] deploymentBytes) {
             if (deploymentBytes == null) {
@@ -187,6 +190,8 @@ public class CatalogContext {
         // Also, the planner tool can be almost reused except updating the catalog hash string.
         // When there is schema change, we just reload every default procedure and create new planner tool
         // by applying the existing schema, which are costly in the UAC MP blocking path.
+        // Either way the planner gets a new ad hoc cache, seeded with the plans the update didn't invalidate.
+        AdHocCompilerCache previousCache = (plannerTool == null) ? null : plannerTool.getAdHocCache();
         if (hasSchemaChange) {
             m_defaultProcs = new DefaultProcedureManager(database);
             m_ptool = new PlannerTool(database, m_catalogInfo.m_catalogHash);
@@ -194,6 +199,12 @@ public class CatalogContext {
             m_defaultProcs = defaultProcManager;
             m_ptool = plannerTool.updateWhenNoSchemaChange(database, m_catalogInfo.m_catalogHash);;
         }
+        CatalogReuseInfo reuse = m_catalogInfo.m_reuse;
+        if (reuse != null && previousCache != null && previousCache != m_ptool.getAdHocCache()) {
+            int[] counts = previousCache.carryOver(m_ptool.getAdHocCache(), reuse, m_catalogInfo.m_catalogHash);
+            reuse.setAdHocPlanCounts(counts[0], counts[1]);
+            hostLog.info("Catalog update " + reuse);
+        }
 
         m_jdbc = new JdbcDatabaseMetaDataGenerator(catalog, m_defaultProcs, m_catalogInfo.m_jarfile);
         m_messenger = messenger;
@@ -298,18 +309,26 @@ public class CatalogContext {
         return retval;
     }
 
-    public ImmutableMap<String, ProcedureRunner> getPreparedUserProcedureRunners(SiteProcedureConnection site) {
+    /**
+     * Get the user procedure runners of this catalog for a site. The runners prepared
+     * off the site only cover the procedures changed by the update, the runners of the
+     * unchanged ones are carried over from the site's previous set.
+     *
+     * @param site      the site the runners are for
+     * @param previous  the runners the site used with the previous catalog
+     */
+    public ImmutableMap<String, ProcedureRunner> getPreparedUserProcedureRunners(SiteProcedureConnection site,
+            ImmutableMap<String, ProcedureRunner> previous) {
 
         ImmutableMap<String, ProcedureRunner> userProcRunner = m_catalogInfo.m_preparedProcRunners.poll();
 
         if (userProcRunner == null) {
             // somehow there is no prepared user procedure runner map left, then prepare it again
-
-            CatalogMap<Procedure> catalogProcedures = database.getProcedures();
             try {
-                userProcRunner = LoadedProcedureSet.loadUserProcedureRunners(catalogProcedures,
-                                                                        m_catalogInfo.m_jarfile.getLoader(),
-                                                                        null, null);
+                userProcRunner = LoadedProcedureSet.loadUserProcedureRunners(
+                        LoadedProcedureSet.proceduresToRebuild(database.getProcedures(), m_catalogInfo.m_reuse),
+                        m_catalogInfo.m_jarfile.getLoader(),
+                        null, null);
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -321,7 +340,33 @@ public class CatalogContext {
             runner.initSiteAndStats(site);
         }
 
-        return userProcRunner;
+        if (m_catalogInfo.m_reuse == null) {
+            return userProcRunner;
+        }
+
+        ImmutableMap.Builder<String, ProcedureRunner> builder = ImmutableMap.<String, ProcedureRunner>builder();
+        builder.putAll(userProcRunner);
+        for (Procedure proc : database.getProcedures()) {
+            if (!m_catalogInfo.m_reuse.isProcedureReusable(proc.getTypeName())) {
+                continue;
+            }
+            ProcedureRunner runner = previous.get(proc.getTypeName());
+            if (runner == null) {
+                // the site never loaded it, build it like any changed procedure
+                try {
+                    runner = LoadedProcedureSet.loadUserProcedureRunners(Arrays.asList(proc),
+                            m_catalogInfo.m_jarfile.getLoader(), null, site).get(proc.getTypeName());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    return null;
+                }
+            } else {
+                // keeps its statements, loaded plan fragments and statistics
+                runner.rebindCatalogProcedure(proc);
+            }
+            builder.put(proc.getTypeName().intern(), runner);
+        }
+        return builder.build();
     }
 
     public enum CatalogJarWriteMode {
@@ -0,0 +1,251 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.voltdb.catalog.Database;
+import org.voltdb.catalog.Procedure;
+import org.voltdb.catalog.Statement;
+import org.voltdb.catalog.Table;
+import org.voltdb.planner.CorePlan;
+
+/**
+ * Describes what survives a catalog update: which user procedure runners can be
+ * carried over to the new catalog as they are, and which cached ad hoc plans are
+ * still valid against it. It is computed once per update, when the new catalog
+ * is prepared, and then consulted by every site and by the planner cache.
+ *
+ * The rules are deliberately conservative:
+ * <ul>
+ * <li>A table is changed if it was added, dropped or its catalog subtree differs
+ *     in any way (columns, indexes, constraints, views, partitioning).</li>
+ * <li>A procedure is reusable if its catalog subtree is identical, none of the
+ *     tables its statements read or write changed and, for Java procedures, no
+ *     class in the catalog jar changed.</li>
+ * <li>A cached ad hoc plan is reusable if the planner recorded the tables it uses,
+ *     none of them changed and no user-defined function changed.</li>
+ * </ul>
+ *
+ * The counters are the audit trail of the last update; they are reported by
+ * {@code @SystemInformation OVERVIEW}.
+ */
+public class CatalogReuseInfo {
+
+    /** hash of the catalog the diff was computed against */
+    private final byte[] m_previousCatalogHash;
+    private final Set<String> m_changedTables;
+    private final Set<String> m_reusableProcedures;
+    private final boolean m_functionsChanged;
+    private final boolean m_classesChanged;
+
+    private final int m_proceduresReused;
+    private final int m_proceduresRebuilt;
+    private volatile int m_adHocPlansCarried = 0;
+    private volatile int m_adHocPlansDropped = 0;
+
+    private CatalogReuseInfo(byte[] previousCatalogHash,
+                             Set<String> changedTables,
+                             Set<String> reusableProcedures,
+                             boolean functionsChanged,
+                             boolean classesChanged,
+                             int proceduresRebuilt)
+    {
+        m_previousCatalogHash = previousCatalogHash;
+        m_changedTables = Collections.unmodifiableSet(changedTables);
+        m_reusableProcedures = Collections.unmodifiableSet(reusableProcedures);
+        m_functionsChanged = functionsChanged;
+        m_classesChanged = classesChanged;
+        m_proceduresReused = reusableProcedures.size();
+        m_proceduresRebuilt = proceduresRebuilt;
+    }
+
+    /**
+     * Diff two versions of the database catalog.
+     *
+     * @param previousCatalogHash  hash of the catalog currently in use
+     * @param oldDb                database of the catalog currently in use
+     * @param oldJar               contents of the catalog jar currently in use
+     * @param newDb                database of the catalog being prepared
+     * @param newJar               contents of the catalog jar being prepared
+     */
+    public static CatalogReuseInfo compute(byte[] previousCatalogHash,
+                                           Database oldDb,
+                                           Map<String, byte[]> oldJar,
+                                           Database newDb,
+                                           Map<String, byte[]> newJar)
+    {
+        Set<String> changedTables = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Table newTable : newDb.getTables()) {
+            Table oldTable = oldDb.getTables().get(newTable.getTypeName());
+            if (oldTable == null || !oldTable.equals(newTable)) {
+                changedTables.add(newTable.getTypeName());
+            }
+        }
+        for (Table oldTable : oldDb.getTables()) {
+            if (newDb.getTables().get(oldTable.getTypeName()) == null) {
+                changedTables.add(oldTable.getTypeName());
+            }
+        }
+
+        boolean functionsChanged = !oldDb.getFunctions().equals(newDb.getFunctions());
+        boolean classesChanged = classesChanged(oldJar, newJar);
+
+        Set<String> reusable = new TreeSet<>();
+        int rebuilt = 0;
+        for (Procedure newProc : newDb.getProcedures()) {
+            // Sysprocs and NT procedures are not loaded from the catalog by the sites
+            if (newProc.getTypeName().startsWith("@") || !newProc.getTransactional()) {
+                continue;
+            }
+            Procedure oldProc = oldDb.getProcedures().get(newProc.getTypeName());
+            if (oldProc != null
+                    && oldProc.equals(newProc)
+                    && (!newProc.getHasjava() || !classesChanged)
+                    && !usesAny(newProc, changedTables)) {
+                reusable.add(newProc.getTypeName());
+            }
+            else {
+                ++rebuilt;
+            }
+        }
+
+        return new CatalogReuseInfo(previousCatalogHash, changedTables, reusable,
+                                    functionsChanged, classesChanged, rebuilt);
+    }
+
+    /**
+     * Only the compiled classes matter to the procedures, the catalog jar also
+     * carries the DDL and reports which change with every schema change.
+     */
+    private static boolean classesChanged(Map<String, byte[]> oldJar, Map<String, byte[]> newJar) {
+        int oldClasses = 0;
+        for (Entry<String, byte[]> e : oldJar.entrySet()) {
+            if (!e.getKey().endsWith(".class")) {
+                continue;
+            }
+            ++oldClasses;
+            if (!Arrays.equals(e.getValue(), newJar.get(e.getKey()))) {
+                return true;
+            }
+        }
+        int newClasses = 0;
+        for (String name : newJar.keySet()) {
+            if (name.endsWith(".class")) {
+                ++newClasses;
+            }
+        }
+        return oldClasses != newClasses;
+    }
+
+    private static boolean usesAny(Procedure proc, Set<String> tables) {
+        if (tables.isEmpty()) {
+            return false;
+        }
+        if (proc.getPartitiontable() != null && tables.contains(proc.getPartitiontable().getTypeName())) {
+            return true;
+        }
+        for (Statement stmt : proc.getStatements()) {
+            String updated = stmt.getTablesupdated();
+            if (updated != null && tables.contains(updated)) {
+                return true;
+            }
+            String read = stmt.getTablesread();
+            if (read != null && !read.isEmpty()) {
+                for (String table : read.split(",")) {
+                    if (tables.contains(table)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public byte[] getPreviousCatalogHash() {
+        return m_previousCatalogHash;
+    }
+
+    public Set<String> getChangedTables() {
+        return m_changedTables;
+    }
+
+    public boolean isProcedureReusable(String procName) {
+        return m_reusableProcedures.contains(procName);
+    }
+
+    public boolean haveClassesChanged() {
+        return m_classesChanged;
+    }
+
+    /**
+     * Can a plan cached against the previous catalog run unchanged against the new one?
+     */
+    public boolean isPlanReusable(CorePlan plan) {
+        if (m_functionsChanged) {
+            return false;
+        }
+        Set<String> tables = plan.getTablesUsed();
+        if (tables == null) {
+            // the planner didn't record what the plan touches
+            return false;
+        }
+        for (String table : tables) {
+            if (m_changedTables.contains(table)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getProceduresReused() {
+        return m_proceduresReused;
+    }
+
+    public int getProceduresRebuilt() {
+        return m_proceduresRebuilt;
+    }
+
+    public int getAdHocPlansCarried() {
+        return m_adHocPlansCarried;
+    }
+
+    public int getAdHocPlansDropped() {
+        return m_adHocPlansDropped;
+    }
+
+    void setAdHocPlanCounts(int carried, int dropped) {
+        m_adHocPlansCarried = carried;
+        m_adHocPlansDropped = dropped;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("reused %d and rebuilt %d procedures, carried %d and dropped %d cached ad hoc plans, "
+                + "changed tables %s%s%s",
+                m_proceduresReused, m_proceduresRebuilt, m_adHocPlansCarried, m_adHocPlansDropped,
+                m_changedTables,
+                m_functionsChanged ? ", functions changed" : "",
+                m_classesChanged ? ", classes changed" : "");
+    }
+}
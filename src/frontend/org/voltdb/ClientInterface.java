@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -79,6 +80,7 @@ import org.voltcore.utils.ssl.MessagingChannel;
 import org.voltcore.utils.ssl.SSLConfiguration;
 import org.voltdb.AuthSystem.AuthProvider;
 import org.voltdb.AuthSystem.AuthUser;
+import org.voltdb.AuthSystem.HashAuthenticationRequest;
 import org.voltdb.CatalogContext.ProcedurePartitionInfo;
 import org.voltdb.ClientInterfaceHandleManager.Iv2InFlight;
 import org.voltdb.SystemProcedureCatalog.Config;
@@ -87,6 +89,7 @@ import org.voltdb.catalog.SnapshotSchedule;
 import org.voltdb.client.ClientAuthScheme;
 import org.voltdb.client.ClientResponse;
 import org.voltdb.client.ProcedureCallback;
+import org.voltdb.client.ProcedureInvocationType;
 import org.voltdb.client.TLSHandshaker;
 import org.voltdb.common.Constants;
 import org.voltdb.dtxn.InitiatorStats.InvocationInfo;
@@ -126,6 +129,11 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
     static long TOPOLOGY_CHANGE_CHECK_MS = Long.getLong("TOPOLOGY_CHANGE_CHECK_MS", 5000);
     static long AUTH_TIMEOUT_MS = Long.getLong("AUTH_TIMEOUT_MS", 30000);
+    // How long a rejected login stays open so the client can read why
+    static long LOGIN_REJECTION_LINGER_MS = Long.getLong("LOGIN_REJECTION_LINGER_MS", 1000);
+    // Threads hashing client passwords, shared by the client and admin ports
+    static final int LOGIN_VERIFIER_THREADS =
+            Integer.getInteger("LOGIN_VERIFIER_THREADS", Math.max(2, CoreUtils.availableProcessors() / 4));
 
     //Same as in Distributer.java
     public static final long ASYNC_TOPO_HANDLE = Long.MAX_VALUE - 1;
@@ -171,6 +179,8 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
     private static final VoltLogger authLog = new VoltLogger("AUTH");
     private static final VoltLogger hostLog = new VoltLogger("HOST");
     private static final VoltLogger networkLog = new VoltLogger("NETWORK");
+    private static final VoltTrace.TracePoint TRACE_RECV_TXN_END =
+            VoltTrace.TracePoint.endAsync("recvtxn").arg("status").text("statusString");
 
     static final VoltLogger tmLog = new VoltLogger("TM");
 
@@ -222,6 +232,13 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
     private ScheduledExecutorService m_migratePartitionLeaderExecutor;
 
+    /*
+     * Verifies the passwords of logins driven by the network threads. It is kept
+     * small so a reconnect storm can't take the CPU away from the connected clients.
+     */
+    private final ExecutorService m_loginVerifier =
+            CoreUtils.getListeningExecutorService("Client login verifier", LOGIN_VERIFIER_THREADS);
+
     /*
      * This list of ACGs is iterated to retrieve initiator statistics in IV2.
      * They are thread local, and the ACG happens to be thread local, and if you squint
@@ -268,7 +285,7 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         private final SSLContext m_sslContext;
 
         /**
-         * Used a cached thread pool to accept new connections.
+         * Used a cached thread pool for the TLS handshakes and Kerberos logins of new connections.
          */
         private final ExecutorService m_executor = CoreUtils.getBoundedThreadPoolExecutor(128, 10L, TimeUnit.SECONDS,
                         CoreUtils.getThreadFactory("Client authentication threads", "Client authenticator"));
@@ -444,7 +461,16 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
                         //Populated on timeout
                         timeoutRef = new AtomicReference<String>();
-                        final ClientInputHandler handler = authenticate(m_socket, messagingChannel, timeoutRef, remnant);
+                        final ClientInputHandler handler;
+                        if (m_catalogContext.get().authSystem.isKerberosEnabled()) {
+                            handler = authenticate(m_socket, messagingChannel, timeoutRef, remnant);
+                        } else {
+                            /*
+                             * The login message is read and answered by the network thread
+                             * the connection is registered with, see ClientInputHandler.
+                             */
+                            handler = new ClientInputHandler(m_isAdmin, remnant);
+                        }
                         if (handler != null) {
                             synchronized(m_socket.blockingLock()) {
                                 m_socket.configureBlocking(false);
@@ -513,6 +539,11 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
                     }
 
                     final AuthRunnable authRunnable = new AuthRunnable(socket);
+                    if (m_sslContext == null && !m_catalogContext.get().authSystem.isKerberosEnabled()) {
+                        // Nothing to block on, the network threads drive the login from here
+                        authRunnable.run();
+                        continue;
+                    }
                     while (true) {
                         try {
                             m_executor.execute(authRunnable);
@@ -549,6 +580,8 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
         /**
          * Attempt to authenticate the user associated with this socket connection
+         * while blocking the calling thread. Only Kerberos logins, which exchange
+         * tokens with the client after the login message, still take this path.
          * @param socket
          * @param timeoutRef Populated with error on timeout
          * @param remnant The JDK caches SSL sessions when the participants are the same (i.e.
@@ -562,11 +595,6 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         private ClientInputHandler
         authenticate(final SocketChannel socket, MessagingChannel messagingChannel, final AtomicReference<String> timeoutRef, ByteBuffer remnant) throws IOException
         {
-            ByteBuffer responseBuffer = ByteBuffer.allocate(6);
-            byte version = (byte)0;
-            responseBuffer.putInt(2);//message length
-            responseBuffer.put(version);//version
-
             /*
              * The login message is a length preceded name string followed by a length preceded
              * SHA-1 single hash of the password.
@@ -589,13 +617,7 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
                     VoltDB.instance().schedulePriorityWork(new Runnable() {
                         @Override
                         public void run() {
-                            long delta = System.currentTimeMillis() - start;
-                            double seconds = delta / 1000.0;
-                            StringBuilder sb = new StringBuilder();
-                            sb.append("Timed out authenticating client from ");
-                            sb.append(socket.socket().getRemoteSocketAddress().toString());
-                            sb.append(String.format(" after %.2f seconds (timeout target is %.2f seconds)", seconds, AUTH_TIMEOUT_MS / 1000.0));
-                            timeoutRef.set(sb.toString());
+                            timeoutRef.set(loginTimeoutMessage(socket.socket().getRemoteSocketAddress(), start));
                             try {
                                 socket.close();
                             } catch (IOException e) {
@@ -605,11 +627,6 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
                     }, AUTH_TIMEOUT_MS, 0, TimeUnit.MILLISECONDS);
 
             ByteBuffer message = remnant.hasRemaining() ? remnant : null;
-            if (message != null) {
-                byte [] todigest = new byte[message.limit()];
-                message.position(0);
-                message.get(todigest).position(4);
-            }
             try {
                 while (message == null) {
                     message = messagingChannel.readMessage();
@@ -631,147 +648,185 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
                 return null;
             }
 
-            int aversion = message.get(); //Get version
-            ClientAuthScheme hashScheme = ClientAuthScheme.HASH_SHA1;
-            //If auth version is more than zero we read auth hashing scheme.
-            if (aversion > 0) {
-                try {
-                    hashScheme = ClientAuthScheme.get(message.get());
-                } catch (IllegalArgumentException ex) {
-                    authLog.warn("Failure to authenticate connection Invalid Hash Scheme presented.");
-                    //Send negative response
-                    responseBuffer.put(WIRE_PROTOCOL_FORMAT_ERROR).flip();
-                    messagingChannel.writeMessage(responseBuffer);
-                    socket.close();
-                    return null;
-                }
+            final String remoteAddress = socket.socket().getRemoteSocketAddress().toString();
+            final LoginMessage login = parseLoginMessage(message, remoteAddress);
+            if (login.m_rejection != 0) {
+                messagingChannel.writeMessage(loginResponse(login.m_rejection));
+                socket.close();
+                return null;
             }
-            //SHA1 is deprecated log it.
-            if (hashScheme == ClientAuthScheme.HASH_SHA1) {
-                m_rateLimitedLogger.log(EstTime.currentTimeMillis(), Level.WARN, null,
-                        "Client connected using deprecated SHA1 hashing. SHA2 is strongly recommended for all client connections. Client IP: %s", socket.socket().getRemoteSocketAddress().toString());
-            }
-            FastDeserializer fds = new FastDeserializer(message);
-            final String service = fds.readString();
-            final String username = fds.readString();
-            final int digestLen = ClientAuthScheme.getDigestLength(hashScheme);
-            final byte password[] = new byte[digestLen];
-            //We should be left with SHA bytes only which varies based on scheme.
-            if (message.remaining() != digestLen) {
-                authLog.warn("Failure to authenticate connection(" + socket.socket().getRemoteSocketAddress()
-                        + "): user " + username + " failed authentication.");
+
+            /*
+             * Don't use the auth system during recovery. Not safe to use
+             * the node to initiate multi-partition txns during recovery
+             */
+            if (VoltDB.instance().rejoining()) {
+                authLog.warn("Failure to authenticate connection(" + remoteAddress +
+                        "): user " + login.m_username + " because this node is rejoining.");
                 //Send negative response
-                responseBuffer.put(AUTHENTICATION_FAILURE).flip();
-                messagingChannel.writeMessage(responseBuffer);
+                messagingChannel.writeMessage(loginResponse(AUTHENTICATION_FAILURE_DUE_TO_REJOIN));
                 socket.close();
                 return null;
             }
-            message.get(password);
 
             CatalogContext context = m_catalogContext.get();
-
-            AuthProvider ap = null;
-            try {
-                ap = AuthProvider.fromService(service);
-            } catch (IllegalArgumentException unkownProvider) {
-                // handle it bellow
+            AuthenticationRequest arq;
+            if (login.m_provider == AuthProvider.KERBEROS) {
+                arq = context.authSystem.new KerberosAuthenticationRequest(socket);
+            } else {
+                arq = context.authSystem.new HashAuthenticationRequest(login.m_username, login.m_password);
             }
-
-            if (ap == null) {
+            /*
+             * Authenticate the user.
+             */
+            if (!arq.authenticate(login.m_scheme, remoteAddress)) {
                 //Send negative response
-                responseBuffer.put(EXPORT_DISABLED_REJECTION).flip();
-                messagingChannel.writeMessage(responseBuffer);
+                if (reportLoginFailure(arq, login.m_username, remoteAddress)) {
+                    messagingChannel.writeMessage(loginResponse(AUTHENTICATION_FAILURE));
+                }
                 socket.close();
-                authLog.warn("Rejected user " + username +
-                        " attempting to use disabled or unconfigured service " +
-                        service + ".");
-                authLog.warn("VoltDB Export services are no longer available through clients.");
                 return null;
             }
 
             /*
-             * Don't use the auth system during recovery. Not safe to use
-             * the node to initiate multi-partition txns during recovery
+             * Create an input handler.
              */
-            if (!VoltDB.instance().rejoining()) {
-                AuthenticationRequest arq;
-                if (ap == AuthProvider.KERBEROS) {
-                    arq = context.authSystem.new KerberosAuthenticationRequest(socket);
-                } else {
-                    arq = context.authSystem.new HashAuthenticationRequest(username, password);
-                }
-                /*
-                 * Authenticate the user.
-                 */
-                boolean authenticated = arq.authenticate(hashScheme, socket.socket().getRemoteSocketAddress().toString());
+            ClientInputHandler handler = new ClientInputHandler(login.m_username, m_isAdmin);
 
-                if (!authenticated) {
-                    long timestamp = System.currentTimeMillis();
-                    ScheduledExecutorService es = VoltDB.instance().getSES(false);
-                    if (es != null && !es.isShutdown()) {
-                        es.submit(new Runnable() {
-                            @Override
-                            public void run()
-                            {
-                                ((RealVoltDB)VoltDB.instance()).logMessageToFLC(timestamp, username, socket.socket().getRemoteSocketAddress().toString());
-                            }
-                        });
-                    }
+            //Send positive response
+            messagingChannel.writeMessage(loginSuccessResponse(handler.connectionId()));
+            return handler;
+        }
 
-                    Exception faex = arq.getAuthenticationFailureException();
-                    if (faex != null) {
-                        authLog.warn("Failure to authenticate connection(" + socket.socket().getRemoteSocketAddress() +
-                                     "):", faex);
-                    } else {
-                        authLog.warn("Failure to authenticate connection(" + socket.socket().getRemoteSocketAddress() +
-                                     "): user " + username + " failed authentication.");
-                    }
+    }
 
-                    boolean isItIo = false;
-                    for (Throwable cause = faex; faex != null && !isItIo; cause = cause.getCause()) {
-                        isItIo = cause instanceof IOException;
-                    }
+    /**
+     * The fields of a client login message, or the reason the message was rejected
+     */
+    private static class LoginMessage {
+        ClientAuthScheme m_scheme = ClientAuthScheme.HASH_SHA1;
+        AuthProvider m_provider;
+        String m_username;
+        byte[] m_password;
+        /** code of the response that rejects the login, 0 if the message is acceptable */
+        byte m_rejection = 0;
+    }
 
-                    //Send negative response
-                    if (!isItIo) {
-                        responseBuffer.put(AUTHENTICATION_FAILURE).flip();
-                        messagingChannel.writeMessage(responseBuffer);
-                    }
-                    socket.close();
-                    return null;
-                }
-            } else {
-                authLog.warn("Failure to authenticate connection(" + socket.socket().getRemoteSocketAddress() +
-                        "): user " + username + " because this node is rejoining.");
-                //Send negative response
-                responseBuffer.put(AUTHENTICATION_FAILURE_DUE_TO_REJOIN).flip();
-                messagingChannel.writeMessage(responseBuffer);
-                socket.close();
-                return null;
+    /**
+     * Decode a login message. The login message is a version byte, a hash scheme
+     * byte for versions above zero, the service name, the user name and a hash of
+     * the password whose length depends on the scheme.
+     */
+    private LoginMessage parseLoginMessage(ByteBuffer message, String remoteAddress) throws IOException {
+        LoginMessage login = new LoginMessage();
+        int aversion = message.get(); //Get version
+        //If auth version is more than zero we read auth hashing scheme.
+        if (aversion > 0) {
+            try {
+                login.m_scheme = ClientAuthScheme.get(message.get());
+            } catch (IllegalArgumentException ex) {
+                authLog.warn("Failure to authenticate connection Invalid Hash Scheme presented.");
+                login.m_rejection = WIRE_PROTOCOL_FORMAT_ERROR;
+                return login;
             }
+        }
+        //SHA1 is deprecated log it.
+        if (login.m_scheme == ClientAuthScheme.HASH_SHA1) {
+            m_rateLimitedLogger.log(EstTime.currentTimeMillis(), Level.WARN, null,
+                    "Client connected using deprecated SHA1 hashing. SHA2 is strongly recommended for all client connections. Client IP: %s", remoteAddress);
+        }
+        FastDeserializer fds = new FastDeserializer(message);
+        final String service = fds.readString();
+        login.m_username = fds.readString();
+        final int digestLen = ClientAuthScheme.getDigestLength(login.m_scheme);
+        //We should be left with SHA bytes only which varies based on scheme.
+        if (message.remaining() != digestLen) {
+            authLog.warn("Failure to authenticate connection(" + remoteAddress
+                    + "): user " + login.m_username + " failed authentication.");
+            login.m_rejection = AUTHENTICATION_FAILURE;
+            return login;
+        }
+        login.m_password = new byte[digestLen];
+        message.get(login.m_password);
 
-            /*
-             * Create an input handler.
-             */
-            ClientInputHandler handler = new ClientInputHandler(username, m_isAdmin);
+        try {
+            login.m_provider = AuthProvider.fromService(service);
+        } catch (IllegalArgumentException unkownProvider) {
+            authLog.warn("Rejected user " + login.m_username +
+                    " attempting to use disabled or unconfigured service " +
+                    service + ".");
+            authLog.warn("VoltDB Export services are no longer available through clients.");
+            login.m_rejection = EXPORT_DISABLED_REJECTION;
+        }
+        return login;
+    }
 
-            byte buildString[] = VoltDB.instance().getBuildString().getBytes(Charsets.UTF_8);
-            responseBuffer = ByteBuffer.allocate(34 + buildString.length);
-            responseBuffer.putInt(30 + buildString.length);//message length
-            responseBuffer.put((byte)0);//version
+    /**
+     * Log a failed login and record it for the failed login counters
+     * @return false if the failure was an IO error and nothing should be sent back
+     */
+    private static boolean reportLoginFailure(AuthenticationRequest arq, final String username, final String remoteAddress) {
+        long timestamp = System.currentTimeMillis();
+        ScheduledExecutorService es = VoltDB.instance().getSES(false);
+        if (es != null && !es.isShutdown()) {
+            es.submit(new Runnable() {
+                @Override
+                public void run()
+                {
+                    ((RealVoltDB)VoltDB.instance()).logMessageToFLC(timestamp, username, remoteAddress);
+                }
+            });
+        }
 
-            //Send positive response
-            responseBuffer.put((byte)0);
-            responseBuffer.putInt(VoltDB.instance().getHostMessenger().getHostId());
-            responseBuffer.putLong(handler.connectionId());
-            responseBuffer.putLong(VoltDB.instance().getHostMessenger().getInstanceId().getTimestamp());
-            responseBuffer.putInt(VoltDB.instance().getHostMessenger().getInstanceId().getCoord());
-            responseBuffer.putInt(buildString.length);
-            responseBuffer.put(buildString).flip();
-            messagingChannel.writeMessage(responseBuffer);
-            return handler;
+        Exception faex = arq.getAuthenticationFailureException();
+        if (faex != null) {
+            authLog.warn("Failure to authenticate connection(" + remoteAddress +
+                         "):", faex);
+        } else {
+            authLog.warn("Failure to authenticate connection(" + remoteAddress +
+                         "): user " + username + " failed authentication.");
         }
 
+        boolean isItIo = false;
+        for (Throwable cause = faex; faex != null && !isItIo; cause = cause.getCause()) {
+            isItIo = cause instanceof IOException;
+        }
+        return !isItIo;
+    }
+
+    private static String loginTimeoutMessage(Object remoteAddress, long start) {
+        long delta = System.currentTimeMillis() - start;
+        double seconds = delta / 1000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append("Timed out authenticating client from ");
+        sb.append(remoteAddress.toString());
+        sb.append(String.format(" after %.2f seconds (timeout target is %.2f seconds)", seconds, AUTH_TIMEOUT_MS / 1000.0));
+        return sb.toString();
+    }
+
+    /** A negative response to a login message */
+    private static ByteBuffer loginResponse(byte code) {
+        ByteBuffer responseBuffer = ByteBuffer.allocate(6);
+        responseBuffer.putInt(2);//message length
+        responseBuffer.put((byte)0);//version
+        responseBuffer.put(code).flip();
+        return responseBuffer;
+    }
+
+    private static ByteBuffer loginSuccessResponse(long connectionId) {
+        byte buildString[] = VoltDB.instance().getBuildString().getBytes(Charsets.UTF_8);
+        ByteBuffer responseBuffer = ByteBuffer.allocate(34 + buildString.length);
+        responseBuffer.putInt(30 + buildString.length);//message length
+        responseBuffer.put((byte)0);//version
+
+        responseBuffer.put((byte)0);
+        responseBuffer.putInt(VoltDB.instance().getHostMessenger().getHostId());
+        responseBuffer.putLong(connectionId);
+        responseBuffer.putLong(VoltDB.instance().getHostMessenger().getInstanceId().getTimestamp());
+        responseBuffer.putInt(VoltDB.instance().getHostMessenger().getInstanceId().getCoord());
+        responseBuffer.putInt(buildString.length);
+        responseBuffer.put(buildString).flip();
+        return responseBuffer;
     }
 
     /** A port that reads client procedure invocations and writes responses */
@@ -786,7 +841,18 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
          * rather then caching the AuthUser because the AuthUser
          * can be invalidated on catalog updates
          */
-        private final String m_username;
+        private volatile String m_username;
+
+        /*
+         * Login handshake driven by the network thread. The handler stays out of the
+         * admission control group, and the only message it accepts is the login
+         * message, until the credentials are verified.
+         */
+        private volatile boolean m_loginPending = false;
+        private boolean m_loginInFlight = false;
+        private volatile boolean m_stopped = false;
+        private ByteBuffer m_loginRemnant;
+        private ScheduledFuture<?> m_loginTimeout;
 
         public ClientInputHandler(String username,
                                   boolean isAdmin)
@@ -795,6 +861,17 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
             m_isAdmin = isAdmin;
         }
 
+        /**
+         * Create the handler of a connection that has not logged in yet
+         * @param remnant login message read during the TLS handshake, if any
+         */
+        ClientInputHandler(boolean isAdmin, ByteBuffer remnant)
+        {
+            m_isAdmin = isAdmin;
+            m_loginPending = true;
+            m_loginRemnant = remnant;
+        }
+
         @Override
         public boolean isAdmin()
         {
@@ -813,13 +890,20 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
         @Override
         public void handleMessage(ByteBuffer message, Connection c) {
+            if (m_loginPending) {
+                handleLoginMessage(message, c);
+                return;
+            }
             try {
+                if (message.get(message.position()) == ProcedureInvocationType.BATCH.getValue()) {
+                    for (ClientResponseImpl error : handleBatchRead(message, this, c)) {
+                        writeError(error, c);
+                    }
+                    return;
+                }
                 final ClientResponseImpl error = handleRead(message, this, c);
                 if (error != null) {
-                    ByteBuffer buf = ByteBuffer.allocate(error.getSerializedSize() + 4);
-                    buf.putInt(buf.capacity() - 4);
-                    error.flattenToBuffer(buf).flip();
-                    c.writeStream().enqueue(buf);
+                    writeError(error, c);
                 }
             } catch (Exception e) {
                 throw new RuntimeException(e);
@@ -829,6 +913,14 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         @Override
         public void started(final Connection c) {
             m_connection = c;
+            if (m_loginPending) {
+                startLogin(c);
+                return;
+            }
+            admit(c);
+        }
+
+        private void admit(final Connection c) {
             m_cihm.put(c.connectionId(),
                        new ClientInterfaceHandleManager( m_isAdmin, c, null, m_acg.get()));
             m_acg.get().addMember(this);
@@ -837,9 +929,170 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
             }
         }
 
+        private void startLogin(final Connection c) {
+            final long start = System.currentTimeMillis();
+            m_loginTimeout = VoltDB.instance().schedulePriorityWork(new Runnable() {
+                @Override
+                public void run() {
+                    hostLog.warn(loginTimeoutMessage(c.getRemoteSocketAddress(), start));
+                    c.unregister();
+                }
+            }, AUTH_TIMEOUT_MS, 0, TimeUnit.MILLISECONDS);
+
+            ByteBuffer remnant = m_loginRemnant;
+            m_loginRemnant = null;
+            if (remnant != null && remnant.hasRemaining()) {
+                if (remnant.remaining() <= 4 || remnant.getInt() != remnant.remaining()) {
+                    networkLog.warn("Rejected connection from " + c.getRemoteSocketAddress() +
+                            ", SSL Handshake remnant is not a valid VoltDB message: " + remnant);
+                    m_loginTimeout.cancel(false);
+                    c.unregister();
+                    return;
+                }
+                handleLoginMessage(remnant, c);
+                return;
+            }
+            c.enableReadSelection();
+        }
+
+        /**
+         * Runs on the network thread. Decodes the login message and verifies the
+         * credentials, inline if that is cheap (security is off or the credentials
+         * were verified moments ago) or on the verifier pool if a password has to be
+         * hashed. The outcome is always applied back on the network thread.
+         */
+        private void handleLoginMessage(ByteBuffer message, final Connection c) {
+            if (m_loginInFlight) {
+                authLog.warn("Closing connection(" + c.getRemoteSocketAddress() +
+                        ") that sent a message before its login completed.");
+                c.unregister();
+                return;
+            }
+            /*
+             * Since we got the login message, cancel the timeout.
+             * If cancellation fails then the connection is already being closed
+             */
+            if (!m_loginTimeout.cancel(false)) {
+                return;
+            }
+            m_loginInFlight = true;
+            c.disableReadSelection();
+
+            final String remoteAddress = c.getRemoteSocketAddress().toString();
+            final LoginMessage login;
+            try {
+                login = parseLoginMessage(message, remoteAddress);
+            } catch (Exception e) {
+                // Don't log a stack trace - assume a security probe sent a bad packet
+                authLog.warn("Failure to authenticate connection(" + remoteAddress + "): malformed login message.");
+                c.unregister();
+                return;
+            }
+            if (login.m_rejection != 0) {
+                rejectLogin(c, login.m_rejection);
+                return;
+            }
+
+            /*
+             * Don't use the auth system during recovery. Not safe to use
+             * the node to initiate multi-partition txns during recovery
+             */
+            if (VoltDB.instance().rejoining()) {
+                authLog.warn("Failure to authenticate connection(" + remoteAddress +
+                        "): user " + login.m_username + " because this node is rejoining.");
+                rejectLogin(c, AUTHENTICATION_FAILURE_DUE_TO_REJOIN);
+                return;
+            }
+
+            final AuthSystem authSystem = m_catalogContext.get().authSystem;
+            final AuthenticationRequest arq;
+            final boolean cheap;
+            if (login.m_provider == AuthProvider.KERBEROS) {
+                if (authSystem.isKerberosEnabled()) {
+                    // Enabled by a catalog update after the connection was accepted
+                    authLog.warn("Failure to authenticate connection(" + remoteAddress +
+                            "): Kerberos was enabled while the user " + login.m_username + " was logging in.");
+                    rejectLogin(c, AUTHENTICATION_FAILURE);
+                    return;
+                }
+                // Without Kerberos configured the request never talks to the socket
+                arq = authSystem.new KerberosAuthenticationRequest(null);
+                cheap = true;
+            } else {
+                HashAuthenticationRequest harq = authSystem.new HashAuthenticationRequest(login.m_username, login.m_password);
+                cheap = harq.isCheap(login.m_scheme);
+                arq = harq;
+            }
+
+            if (cheap) {
+                completeLogin(c, login, arq, arq.authenticate(login.m_scheme, remoteAddress));
+                return;
+            }
+            try {
+                m_loginVerifier.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final boolean authenticated = arq.authenticate(login.m_scheme, remoteAddress);
+                        c.queueTask(new Runnable() {
+                            @Override
+                            public void run() {
+                                completeLogin(c, login, arq, authenticated);
+                            }
+                        });
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                c.unregister();
+            }
+        }
+
+        private void completeLogin(Connection c, LoginMessage login, AuthenticationRequest arq, boolean authenticated) {
+            if (m_stopped) {
+                // the client hung up while the password was being checked
+                return;
+            }
+            if (!authenticated) {
+                if (reportLoginFailure(arq, login.m_username, c.getRemoteSocketAddress().toString())) {
+                    rejectLogin(c, AUTHENTICATION_FAILURE);
+                } else {
+                    c.unregister();
+                }
+                return;
+            }
+            m_username = login.m_username.intern();
+            m_loginPending = false;
+            c.writeStream().enqueue(loginSuccessResponse(connectionId()));
+            admit(c);
+        }
+
+        /**
+         * Send a negative response and close the connection once the client had a
+         * chance to read it. Well behaved clients close their end first, which
+         * drains and closes the connection right away.
+         */
+        private void rejectLogin(final Connection c, byte code) {
+            c.writeStream().enqueue(loginResponse(code));
+            c.enableReadSelection();
+            VoltDB.instance().schedulePriorityWork(new Runnable() {
+                @Override
+                public void run() {
+                    c.unregister();
+                }
+            }, LOGIN_REJECTION_LINGER_MS, 0, TimeUnit.MILLISECONDS);
+        }
+
         @Override
         public void stopped(Connection c) {
+            m_stopped = true;
             m_numConnections.decrementAndGet();
+            if (m_loginPending) {
+                // never admitted, nothing else to free
+                if (m_loginTimeout != null) {
+                    m_loginTimeout.cancel(false);
+                }
+                return;
+            }
             /*
              * It's necessary to free all the resources held by the IV2 ACG tracking.
              * Outstanding requests may actually still be at large
@@ -994,10 +1247,11 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
 
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.CI);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync("recvtxn",
-                                                      clientData.m_clientHandle,
-                                                      "status", Byte.toString(clientResponse.getStatus()),
-                                                      "statusString", clientResponse.getStatusString()));
+                traceLog.event(TRACE_RECV_TXN_END)
+                        .value(clientData.m_clientHandle)
+                        .value(clientResponse.getStatus())
+                        .text(clientResponse.getStatusString())
+                        .log();
             }
 
             clientResponse.setClientHandle(clientData.m_clientHandle);
@@ -1477,6 +1731,13 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         }
     }
 
+    private static void writeError(ClientResponseImpl error, Connection c) {
+        ByteBuffer buf = ByteBuffer.allocate(error.getSerializedSize() + 4);
+        buf.putInt(buf.capacity() - 4);
+        error.flattenToBuffer(buf).flip();
+        c.writeStream().enqueue(buf);
+    }
+
     private ClientResponseImpl errorResponse(Connection c, long handle, byte status, String reason, Exception e, boolean log) {
         String realReason = reason;
         if (e != null) {
@@ -1505,7 +1766,78 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
                     ClientResponseImpl.UNEXPECTED_FAILURE,
                     new VoltTable[0], ex.getMessage(), ccxn.connectionId());
         }
-        AuthUser user =  m_catalogContext.get().authSystem.getUser(handler.getUserName());
+        return dispatchRead(task, m_catalogContext.get().authSystem.getUser(handler.getUserName()), handler, ccxn);
+    }
+
+    /**
+     * Read a frame of several invocations sent by a client that batches its calls,
+     * see {@link org.voltdb.client.ProcedureInvocationType#BATCH}. The user is looked
+     * up once for the whole frame and the invocations are dispatched in the order
+     * they were sent, they are not regrouped by partition. Each invocation is answered
+     * on its own.
+     *
+     * @return the errors to return to the client, one per invocation that failed. If
+     * the frame is malformed the errors are written here instead, and the connection
+     * is closed once they are on the wire.
+     */
+    final List<ClientResponseImpl> handleBatchRead(ByteBuffer buf, ClientInputHandler handler, Connection ccxn) {
+        List<ClientResponseImpl> errors = new ArrayList<>();
+        final int count;
+        try {
+            ProcedureInvocationType type = ProcedureInvocationType.typeFromByte(buf.get());
+            assert(type == ProcedureInvocationType.BATCH);
+            count = buf.getInt();
+            if (count < 0) {
+                throw new IOException("Invocation count is negative: " + count);
+            }
+        } catch (Exception ex) {
+            return rejectBatch(ex, errors, ccxn);
+        }
+
+        final AuthUser user = m_catalogContext.get().authSystem.getUser(handler.getUserName());
+        for (int i = 0; i < count; i++) {
+            StoredProcedureInvocation task = new StoredProcedureInvocation();
+            try {
+                final int length = buf.getInt();
+                if (length < 0 || length > buf.remaining()) {
+                    throw new IOException("Invalid invocation length in batch: " + length);
+                }
+                ByteBuffer invocation = buf.slice();
+                invocation.limit(length);
+                buf.position(buf.position() + length);
+                task.initFromBuffer(invocation);
+            } catch (Exception ex) {
+                return rejectBatch(ex, errors, ccxn);
+            }
+            ClientResponseImpl error = dispatchRead(task, user, handler, ccxn);
+            if (error != null) {
+                errors.add(error);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * The rest of a batch frame can't be trusted once it or one of its invocations is
+     * malformed, so the handles of the invocations that haven't been dispatched are
+     * unknown. Close the connection so the client fails them instead of waiting for
+     * responses that will never come, but only after the errors so far reached it.
+     */
+    private List<ClientResponseImpl> rejectBatch(Exception ex, List<ClientResponseImpl> errors, Connection ccxn) {
+        networkLog.warn("Closing connection to " + ccxn + " because it sent a malformed batch of invocations: " +
+                ex.getMessage());
+        errors.add(new ClientResponseImpl(
+                ClientResponseImpl.UNEXPECTED_FAILURE,
+                new VoltTable[0], ex.getMessage(), ccxn.connectionId()));
+        for (ClientResponseImpl error : errors) {
+            writeError(error, ccxn);
+        }
+        ccxn.unregisterWhenDrained();
+        return Collections.emptyList();
+    }
+
+    private ClientResponseImpl dispatchRead(final StoredProcedureInvocation task, AuthUser user,
+            ClientInputHandler handler, Connection ccxn) {
         if (user == null) {
             String errorMessage = "User " + handler.getUserName() + " has been removed from the system via a catalog update";
             authLog.info(errorMessage);
@@ -1517,10 +1849,11 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         if (errResp != null) {
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.CI);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync("recvtxn",
-                                                      task.getClientHandle(),
-                                                      "status", Byte.toString(errResp.getStatus()),
-                                                      "statusString", errResp.getStatusString()));
+                traceLog.event(TRACE_RECV_TXN_END)
+                        .value(task.getClientHandle())
+                        .value(errResp.getStatus())
+                        .text(errResp.getStatusString())
+                        .log();
             }
         }
 
@@ -1735,6 +2068,7 @@ public class ClientInterface implements SnapshotDaemon.DaemonInitiator {
         if (m_migratePartitionLeaderExecutor != null) {
             m_migratePartitionLeaderExecutor.shutdown();
         }
+        m_loginVerifier.shutdown();
         m_notifier.shutdown();
     }
 
@@ -83,6 +83,14 @@ public final class InvocationDispatcher {
     private static final VoltLogger authLog = new VoltLogger("AUTH");
     private static final VoltLogger hostLog = new VoltLogger("HOST");
     private static final VoltLogger consoleLog = new VoltLogger("CONSOLE");
+    private static final VoltTrace.TracePoint TRACE_RECV_TXN_BEGIN =
+            VoltTrace.TracePoint.beginAsync("recvtxn").arg("clientHandle").text("name");
+    private static final VoltTrace.TracePoint TRACE_INIT_TXN =
+            VoltTrace.TracePoint.instantAsync("inittxn")
+                                .arg("clientHandle")
+                                .arg("ciHandle")
+                                .arg("partitionCount")
+                                .arg("dest", CoreUtils::hsIdToString);
 
     public enum OverrideCheck {
         NONE(false, false, false),
@@ -307,16 +315,14 @@ public final class InvocationDispatcher {
         String clientInfo = ccxn.getHostnameAndIPAndPort();  // Storing the client's ip information
 
         final String procName = task.getProcName();
-        final String threadName = Thread.currentThread().getName(); // Thread name has to be materialized here
-        final StoredProcedureInvocation finalTask = task;
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.CI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.meta("process_name", "name", CoreUtils.getHostnameOrAddress()))
-                    .add(() -> VoltTrace.meta("thread_name", "name", threadName))
-                    .add(() -> VoltTrace.meta("thread_sort_index", "sort_index", Integer.toString(1)))
-                    .add(() -> VoltTrace.beginAsync("recvtxn", finalTask.getClientHandle(),
-                                                    "name", procName,
-                                                    "clientHandle", Long.toString(finalTask.getClientHandle())));
+            traceLog.setThreadSortIndex(1)
+                    .event(TRACE_RECV_TXN_BEGIN)
+                    .value(task.getClientHandle())
+                    .value(task.getClientHandle())
+                    .text(procName)
+                    .log();
         }
 
         Procedure catProc = getProcedureFromName(task.getProcName(), catalogContext);
@@ -415,6 +421,9 @@ public final class InvocationDispatcher {
             else if ("@Trace".equals(procName)) {
                 return dispatchStatistics(OpsSelector.TRACE, task, ccxn);
             }
+            else if ("@StatisticsHistory".equals(procName)) {
+                return dispatchStatistics(OpsSelector.STATISTICSHISTORY, task, ccxn);
+            }
             else if ("@StopNode".equals(procName)) {
                 CoreUtils.logProcedureInvocation(hostLog, user.m_name, clientInfo, procName);
                 return dispatchStopNode(task);
@@ -1249,15 +1258,15 @@ public final class InvocationDispatcher {
                     connectionId,
                     isForReplay);
 
-        Long finalInitiatorHSId = initiatorHSId;
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.CI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.instantAsync("inittxn",
-                                                      invocation.getClientHandle(),
-                                                      "clientHandle", Long.toString(invocation.getClientHandle()),
-                                                      "ciHandle", Long.toString(handle),
-                                                      "partitions", partitions.toString(),
-                                                      "dest", CoreUtils.hsIdToString(finalInitiatorHSId)));
+            traceLog.event(TRACE_INIT_TXN)
+                    .value(invocation.getClientHandle())
+                    .value(invocation.getClientHandle())
+                    .value(handle)
+                    .value(partitions == null ? 0 : partitions.length)
+                    .value(initiatorHSId)
+                    .log();
         }
 
         Iv2Trace.logCreateTransaction(workRequest);
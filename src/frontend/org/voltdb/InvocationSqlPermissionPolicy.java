@@ -44,7 +44,7 @@ public class InvocationSqlPermissionPolicy extends InvocationPermissionPolicy {
             }
             return PolicyResult.DENY;
         }
-        if (proc.getSystemproc() && invocation.getProcName().startsWith("@AdHoc")) {
+        if (proc.getSystemproc() && isSqlReadProc(invocation.getProcName())) {
             if (user.hasPermission(Permission.SQLREAD)) {
                 return PolicyResult.ALLOW;
             }
@@ -54,6 +54,15 @@ public class InvocationSqlPermissionPolicy extends InvocationPermissionPolicy {
         return PolicyResult.NOT_APPLICABLE;
     }
 
+    /**
+     * Whether the system procedure is checked against the SQL read permission
+     * instead of the admin permission. Fetching from a cursor reads the result
+     * of an ad hoc query.
+     */
+    static boolean isSqlReadProc(String procName) {
+        return procName.startsWith("@AdHoc") || procName.equals("@CursorFetch");
+    }
+
     @Override
     public ClientResponseImpl getErrorResponse(AuthUser user, StoredProcedureInvocation invocation, Procedure procedure) {
         authLog.l7dlog(Level.INFO,
@@ -46,8 +46,8 @@ public class InvocationSysprocPermissionPolicy extends InvocationPermissionPolic
     @Override
     public PolicyResult shouldAccept(AuthUser user, StoredProcedureInvocation invocation, Procedure proc) {
 
-        //Since AdHoc perms are diff we only check sysprocs other than AdHoc
-        if (proc.getSystemproc() && !invocation.getProcName().startsWith("@AdHoc")) {
+        //Since AdHoc and cursor perms are diff we only check sysprocs other than those
+        if (proc.getSystemproc() && !InvocationSqlPermissionPolicy.isSqlReadProc(invocation.getProcName())) {
             if (!user.hasPermission(Permission.ADMIN) && !proc.getReadonly()) {
                 return PolicyResult.DENY;
             }
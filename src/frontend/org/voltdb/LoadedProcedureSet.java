@@ -17,7 +17,9 @@
 
 package org.voltdb;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -109,14 +111,33 @@ public class LoadedProcedureSet {
                                                        null,
                                                        m_site);
             } else {
-                // When catalog updates, only user procedures needs to be reloaded.
-                m_userProcs = catalogContext.getPreparedUserProcedureRunners(m_site);
+                // When catalog updates, only user procedures changed by the update need to be reloaded.
+                m_userProcs = catalogContext.getPreparedUserProcedureRunners(m_site, m_userProcs);
             }
         } catch (Exception e) {
             VoltDB.crashLocalVoltDB("Error trying to load user procedures: " + e.getMessage());
         }
     }
 
+    /**
+     * The procedures of a new catalog whose runners can't be carried over from the previous one.
+     * @param reuse what the catalog update changed, null to rebuild everything
+     */
+    public static Iterable<Procedure> proceduresToRebuild(Iterable<Procedure> catalogProcedures,
+                                                          CatalogReuseInfo reuse)
+    {
+        if (reuse == null) {
+            return catalogProcedures;
+        }
+        List<Procedure> changed = new ArrayList<>();
+        for (Procedure proc : catalogProcedures) {
+            if (!reuse.isProcedureReusable(proc.getTypeName())) {
+                changed.add(proc);
+            }
+        }
+        return changed;
+    }
+
     public static ImmutableMap<String, ProcedureRunner> loadUserProcedureRunners(
             Iterable<Procedure> catalogProcedures,
             ClassLoader loader,
@@ -149,8 +149,7 @@ public class NTProcedureService {
 
         protected final String m_procedureName;
         protected final Class<? extends VoltNonTransactionalProcedure> m_procClz;
-        protected final Method m_procMethod;
-        protected final Class<?>[] m_paramTypes;
+        protected final ProcedureInvoker m_invoker;
         protected final ProcedureStatsCollector m_statsCollector;
 
         ProcedureRunnerNTGenerator(Class<? extends VoltNonTransactionalProcedure> clz) {
@@ -159,7 +158,6 @@ public class NTProcedureService {
 
             // reflect
             Method procMethod = null;
-            Class<?>[] paramTypes = null;
 
             Method[] methods = m_procClz.getDeclaredMethods();
 
@@ -171,13 +169,11 @@ public class NTProcedureService {
                         continue;
                     }
                     procMethod = m;
-                    paramTypes = m.getParameterTypes();
                     break; // compiler has checked there's only one valid run() method
                 }
             }
 
-            m_procMethod = procMethod;
-            m_paramTypes = paramTypes;
+            m_invoker = new ProcedureInvoker(procMethod);
 
             // make a stats source for this proc
             m_statsCollector = new ProcedureStatsCollector(
@@ -220,8 +216,7 @@ public class NTProcedureService {
                                                              timeout,
                                                              procedure,
                                                              m_procedureName,
-                                                             m_procMethod,
-                                                             m_paramTypes,
+                                                             m_invoker,
                                                              // use priority to avoid deadlocks
                                                              m_priorityExecutorService,
                                                              NTProcedureService.this,
@@ -256,6 +256,75 @@ public class ParameterConverter {
         }
     }
 
+    /**
+     * A conversion to one fixed parameter type, see {@link #converterFor(Class)}.
+     */
+    public interface Converter {
+        Object convert(Object param) throws VoltTypeException;
+    }
+
+    /**
+     * Build a converter specialized to a single stored procedure parameter type.
+     *
+     * The returned converter passes through values which already have the exact
+     * type of the parameter with a single class check, which is what nearly every
+     * call to a procedure does. Everything else (nulls, sigils, widening, strings
+     * for numbers, arrays...) goes through {@link #tryToMakeCompatible(Class, Object)}
+     * so the results are the same as calling it directly.
+     */
+    public static Converter converterFor(final Class<?> expectedClz)
+    {
+        final Class<?> exactClz;
+        if (expectedClz == long.class) {
+            exactClz = Long.class;
+        }
+        else if (expectedClz == int.class) {
+            exactClz = Integer.class;
+        }
+        else if (expectedClz == short.class) {
+            exactClz = Short.class;
+        }
+        else if (expectedClz == byte.class) {
+            exactClz = Byte.class;
+        }
+        else if (expectedClz == double.class) {
+            exactClz = Double.class;
+        }
+        else if (expectedClz == String.class) {
+            // strings have to be checked for the CSV null marker
+            return new Converter() {
+                @Override
+                public Object convert(Object param) throws VoltTypeException {
+                    if (param != null && param.getClass() == String.class && !Constants.CSV_NULL.equals(param)) {
+                        return param;
+                    }
+                    return tryToMakeCompatible(String.class, param);
+                }
+            };
+        }
+        else if (expectedClz == byte[].class) {
+            exactClz = byte[].class;
+        }
+        else {
+            return new Converter() {
+                @Override
+                public Object convert(Object param) throws VoltTypeException {
+                    return tryToMakeCompatible(expectedClz, param);
+                }
+            };
+        }
+
+        return new Converter() {
+            @Override
+            public Object convert(Object param) throws VoltTypeException {
+                if (param != null && param.getClass() == exactClz) {
+                    return param;
+                }
+                return tryToMakeCompatible(expectedClz, param);
+            }
+        };
+    }
+
     /**
      * Convert the given value to the type given, if possible.
      *
@@ -95,6 +95,17 @@ public class PlannerStatsCollector extends StatsSource {
     long m_cacheMisses = 0;
     long m_lastCacheMisses = 0;
 
+    /**
+     * Statements loaded from saved plan cache files
+     */
+    long m_cacheWarmLevel = 0;
+
+    /**
+     * Cache hits on statements loaded from saved plan cache files
+     */
+    long m_cacheWarmHits = 0;
+    long m_lastCacheWarmHits = 0;
+
     /**
      * Time of last planning start
      */
@@ -177,6 +188,20 @@ public class PlannerStatsCollector extends StatsSource {
         m_partitionId = partitionId;
     }
 
+    /**
+     * Called after planning, before {@link #endStatsCollection}, to record how the
+     * plans loaded from saved plan cache files are being used.
+     *
+     * @param warmLevel  number of statements loaded from plan cache files
+     * @param warmHit    whether the planned statement came from one of them
+     */
+    public void updateWarmCacheStats(long warmLevel, boolean warmHit) {
+        m_cacheWarmLevel = warmLevel;
+        if (warmHit) {
+            m_cacheWarmHits++;
+        }
+    }
+
     /**
      * Called before doing planning. Starts timer.
      */
@@ -255,6 +280,7 @@ public class PlannerStatsCollector extends StatsSource {
         long cache2Hits  = m_cache2Hits;
         long cacheMisses = m_cacheMisses;
         long failureCount = m_failures;
+        long cacheWarmHits = m_cacheWarmHits;
 
         if (m_interval) {
             totalTimedExecutionTime = m_totalPlanningTime - m_lastTimedPlanningTime;
@@ -283,6 +309,9 @@ public class PlannerStatsCollector extends StatsSource {
             failureCount = m_failures - m_lastFailures;
             m_lastFailures = m_failures;
 
+            cacheWarmHits = m_cacheWarmHits - m_lastCacheWarmHits;
+            m_lastCacheWarmHits = m_cacheWarmHits;
+
             m_lastInvocations = m_invocations;
         }
 
@@ -302,6 +331,8 @@ public class PlannerStatsCollector extends StatsSource {
             rowValues[columnNameToIndex.get("PLAN_TIME_AVG")] = 0L;
         }
         rowValues[columnNameToIndex.get("FAILURES")] = failureCount;
+        rowValues[columnNameToIndex.get("CACHE_WARM_LEVEL")] = m_cacheWarmLevel;
+        rowValues[columnNameToIndex.get("CACHE_WARM_HITS")] = cacheWarmHits;
     }
 
     /**
@@ -322,6 +353,8 @@ public class PlannerStatsCollector extends StatsSource {
         columns.add(new ColumnInfo("PLAN_TIME_MAX", VoltType.BIGINT));
         columns.add(new ColumnInfo("PLAN_TIME_AVG", VoltType.BIGINT));
         columns.add(new ColumnInfo("FAILURES",      VoltType.BIGINT));
+        columns.add(new ColumnInfo("CACHE_WARM_LEVEL", VoltType.INTEGER));
+        columns.add(new ColumnInfo("CACHE_WARM_HITS",  VoltType.BIGINT));
     }
 
     @Override
@@ -0,0 +1,112 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.voltcore.logging.VoltLogger;
+
+/**
+ * Calls the run method of a stored procedure, built once per procedure class
+ * when the procedure is loaded.
+ *
+ * The run method is bound to a method handle adapted to take the procedure
+ * instance and an Object[] of parameters, so a call avoids the access checks
+ * and argument copying of {@link Method#invoke(Object, Object...)}. Each
+ * parameter gets a converter specialized to its declared type which passes
+ * correctly typed values straight through.
+ *
+ * Whatever the procedure throws is thrown unwrapped by {@link #invoke}, whether
+ * the call went through the method handle or through reflection.
+ */
+public class ProcedureInvoker {
+    private static final VoltLogger log = new VoltLogger("HOST");
+
+    private final Method m_method;
+    private final Class<?>[] m_paramTypes;
+    private final ParameterConverter.Converter[] m_converters;
+    // null if the method could not be unreflected, in which case reflection is used
+    private final MethodHandle m_handle;
+
+    public ProcedureInvoker(Method method) {
+        m_method = method;
+        m_paramTypes = method.getParameterTypes();
+        m_converters = convertersFor(m_paramTypes);
+
+        MethodHandle handle = null;
+        try {
+            // (Object procedure, Object[] params) -> Object
+            handle = MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(m_paramTypes.length + 1))
+                    .asSpreader(Object[].class, m_paramTypes.length);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("Unable to create a method handle for " + method.getDeclaringClass().getName() + "."
+                    + method.getName() + ", falling back to reflection: " + e.getMessage());
+        }
+        m_handle = handle;
+    }
+
+    /**
+     * Specialized converters for each of the given parameter types.
+     */
+    public static ParameterConverter.Converter[] convertersFor(Class<?>[] paramTypes) {
+        ParameterConverter.Converter[] converters = new ParameterConverter.Converter[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            converters[i] = ParameterConverter.converterFor(paramTypes[i]);
+        }
+        return converters;
+    }
+
+    public Method getMethod() {
+        return m_method;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return m_paramTypes;
+    }
+
+    /**
+     * Convert the parameter at the given position to the declared type of the run method.
+     * @see ParameterConverter#tryToMakeCompatible(Class, Object)
+     */
+    public Object convertParameter(int index, Object param) throws VoltTypeException {
+        return m_converters[index].convert(param);
+    }
+
+    /**
+     * Invoke the run method on the given procedure instance. The parameters must already
+     * have been converted, and there must be exactly one per declared parameter.
+     *
+     * @throws Throwable whatever the run method threw, or the IllegalAccessException
+     * of a failed reflective call
+     */
+    public Object invoke(Object procedure, Object[] params) throws Throwable {
+        if (m_handle == null) {
+            try {
+                return m_method.invoke(procedure, params);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        return (Object) m_handle.invokeExact(procedure, params);
+    }
+}
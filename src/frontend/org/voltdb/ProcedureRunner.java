@@ -113,6 +113,9 @@ public class ProcedureRunner {
     protected final VoltProcedure m_procedure;
     protected Method m_procMethod;
     protected Class<?>[] m_paramTypes;
+    // built in reflect() so per call work is limited to converting and invoking
+    protected ProcedureInvoker m_invoker;
+    protected ParameterConverter.Converter[] m_paramConverters;
 
     // per txn state (are reset after call)
     //
@@ -136,7 +139,8 @@ public class ProcedureRunner {
     protected ArrayList<String> m_stmtList;
     protected ProcedureStatsCollector m_statsCollector;
     protected SingleCallStatsToken m_perCallStats;
-    protected final Procedure m_catProc;
+    // only replaced by an identical definition from a newer catalog
+    protected Procedure m_catProc;
     protected final boolean m_isSysProc;
     protected final boolean m_isSinglePartition;
     protected final boolean m_hasJava;
@@ -253,6 +257,17 @@ public class ProcedureRunner {
         return m_catProc;
     }
 
+    /**
+     * Carry this runner over to a new catalog in which the procedure, and everything it
+     * depends on, is unchanged. Only the catalog object is swapped, so the statements,
+     * their plan fragments and the statistics stay as they are and the previous catalog
+     * can be collected.
+     */
+    void rebindCatalogProcedure(Procedure catProc) {
+        assert(catProc.equals(m_catProc));
+        m_catProc = catProc;
+    }
+
     public boolean isSystemProcedure() {
         return m_isSysProc;
     }
@@ -363,7 +378,7 @@ public class ProcedureRunner {
 
             for (int i = 0; i < m_paramTypes.length; i++) {
                 try {
-                    paramList[i] = ParameterConverter.tryToMakeCompatible(m_paramTypes[i], paramList[i]);
+                    paramList[i] = m_paramConverters[i].convert(paramList[i]);
                     // check the result type in an assert
                     assert(ParameterConverter.verifyParameterConversion(paramList[i], m_paramTypes[i]));
                 } catch (Exception e) {
@@ -380,19 +395,14 @@ public class ProcedureRunner {
                     if (HOST_TRACE_ENABLED) {
                         log.trace("invoking... procMethod=" + m_procMethod.getName() + ", class=" + m_procMethod.getDeclaringClass().getName());
                     }
-                    try {
-                        Object rawResult = m_procMethod.invoke(m_procedure, paramList);
+                    Object rawResult = m_invoker.invoke(m_procedure, paramList);
 
-                        results = ParameterConverter.getResultsFromRawResults(m_procedureName, rawResult);
-                    } catch (IllegalAccessException e) {
-                        // If reflection fails, invoke the same error handling that other exceptions do
-                        throw new InvocationTargetException(e);
-                    }
+                    results = ParameterConverter.getResultsFromRawResults(m_procedureName, rawResult);
                     log.trace("invoked");
                 }
-                catch (InvocationTargetException itex) {
-                    //itex.printStackTrace();
-                    Throwable ex = itex.getCause();
+                catch (Throwable t) {
+                    // getResultsFromRawResults() wraps its own errors
+                    Throwable ex = (t instanceof InvocationTargetException) ? t.getCause() : t;
                     if (CoreUtils.isStoredProcThrowableFatalToServer(ex)) {
                         // If the stored procedure attempted to do something other than linklibraray or instantiate
                         // a missing object that results in an error, throw the error and let the server deal with
@@ -1130,6 +1140,7 @@ public class ProcedureRunner {
             if (m_procMethod == null) {
                 throw new RuntimeException("No \"run\" method found in: " + m_procedure.getClass().getName());
             }
+            m_invoker = new ProcedureInvoker(m_procMethod);
             // iterate through the fields and deal with sql statements
             try {
                 stmtMap = ProcedureCompiler.getValidSQLStmts(null, m_procedureName, m_procedure.getClass(), m_procedure,
@@ -1140,6 +1151,10 @@ public class ProcedureRunner {
             }
         }
 
+        if (m_paramTypes != null) {
+            m_paramConverters = ProcedureInvoker.convertersFor(m_paramTypes);
+        }
+
         ArrayList<String> stmtNames = new ArrayList<String>(stmtMap.entrySet().size());
         for (final Entry<String, SQLStmt> entry : stmtMap.entrySet()) {
             String name = entry.getKey();
@@ -1606,7 +1621,7 @@ public class ProcedureRunner {
         VoltTable[] results = null;
         // Before executing the fragments, tell the EE if this batch should be
         // timed.
-        getExecutionEngine().setPerFragmentTimingEnabled(m_perCallStats.samplingStmts());
+        getExecutionEngine().setPerFragmentTimingEnabled(m_perCallStats.timingStmts());
         try {
             FastDeserializer fragResult = m_site.executePlanFragments(batchSize, fragmentIds, null, params,
                     m_determinismHash, sqlTexts, isWriteFrag, sqlCRCs, m_txnState.txnId, m_txnState.m_spHandle,
@@ -1641,7 +1656,7 @@ public class ProcedureRunner {
             throw ex;
         } finally {
             long[] executionTimes = null;
-            if (m_perCallStats.samplingStmts()) {
+            if (m_perCallStats.timingStmts()) {
                 executionTimes = new long[batchSize];
             }
             succeededFragmentsCount = getExecutionEngine().extractPerFragmentStats(batchSize, executionTimes);
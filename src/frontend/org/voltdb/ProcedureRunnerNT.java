@@ -18,7 +18,7 @@
 package org.voltdb;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -78,7 +78,7 @@ public class ProcedureRunnerNT {
     protected final int m_timeout;
     protected final String m_procedureName;
     protected final VoltNonTransactionalProcedure m_procedure;
-    protected final Method m_procMethod;
+    protected final ProcedureInvoker m_invoker;
     protected final Class<?>[] m_paramTypes;
     protected byte m_statusCode = ClientResponse.SUCCESS;
     protected String m_statusString = null;
@@ -95,8 +95,7 @@ public class ProcedureRunnerNT {
                       int timeout,
                       VoltNonTransactionalProcedure procedure,
                       String procName,
-                      Method procMethod,
-                      Class<?>[] paramTypes,
+                      ProcedureInvoker invoker,
                       ExecutorService executorService,
                       NTProcedureService procSet,
                       Mailbox mailbox,
@@ -111,8 +110,8 @@ public class ProcedureRunnerNT {
         m_timeout = timeout;
         m_procedure = procedure;
         m_procedureName = procName;
-        m_procMethod = procMethod;
-        m_paramTypes = paramTypes;
+        m_invoker = invoker;
+        m_paramTypes = invoker.getParameterTypes();
         m_executorService = executorService;
         m_ntProcService = procSet;
         m_mailbox = mailbox;
@@ -256,6 +255,20 @@ public class ProcedureRunnerNT {
      * Track responses and complete the returned future when they're all accounted for.
      */
     protected CompletableFuture<Map<Integer,ClientResponse>> callAllNodeNTProcedure(String procName, Object... params) {
+        return callNodeNTProcedure(null, procName, params);
+    }
+
+    /**
+     * Send an invocation directly to one host's CI mailbox.
+     * This ONLY works for NT procedures.
+     * The returned future holds the response of the host, or no response if the host is not live.
+     */
+    protected CompletableFuture<Map<Integer,ClientResponse>> callHostNTProcedure(int hostId, String procName, Object... params) {
+        return callNodeNTProcedure(hostId, procName, params);
+    }
+
+    // null targetHostId sends to every live host
+    private CompletableFuture<Map<Integer,ClientResponse>> callNodeNTProcedure(Integer targetHostId, String procName, Object... params) {
         // only one of these at a time
         if (m_outstandingAllHostProc.get()) {
             throw new VoltAbortException(new IllegalStateException("Only one AllNodeNTProcedure operation can be running at a time."));
@@ -290,9 +303,18 @@ public class ProcedureRunnerNT {
         synchronized(m_allHostCallbackLock) {
             // collect the set of live client interface mailbox ids
             liveHostIds = VoltDB.instance().getHostMessenger().getLiveHostIds();
+            if (targetHostId != null) {
+                liveHostIds.retainAll(Collections.singleton(targetHostId));
+            }
             m_outstandingAllHostProcedureHostIds = liveHostIds;
         }
 
+        if (liveHostIds.isEmpty()) {
+            m_outstandingAllHostProc.set(false);
+            m_allHostFut.complete(m_allHostResponses);
+            return m_allHostFut;
+        }
+
         // convert host ids to hsids
         long[] hsids = liveHostIds.stream()
                 .map(hostId -> CoreUtils.getHSIdFromHostAndSite(hostId, HostMessenger.CLIENT_INTERFACE_SITE_ID))
@@ -413,7 +435,7 @@ public class ProcedureRunnerNT {
 
             for (int i = 0; i < m_paramTypes.length; i++) {
                 try {
-                    paramList[i] = ParameterConverter.tryToMakeCompatible(m_paramTypes[i], paramList[i]);
+                    paramList[i] = m_invoker.convertParameter(i, paramList[i]);
                     // check the result type in an assert
                     assert(ParameterConverter.verifyParameterConversion(paramList[i], m_paramTypes[i]));
                 } catch (Exception e) {
@@ -424,79 +446,73 @@ public class ProcedureRunnerNT {
                 }
             }
 
-            try {
-                m_procedure.m_runner = this;
-                Object rawResult = m_procMethod.invoke(m_procedure, paramList);
-
-                if (rawResult instanceof CompletableFuture<?>) {
-                    final CompletableFuture<?> fut = (CompletableFuture<?>) rawResult;
+            m_procedure.m_runner = this;
+            Object rawResult = m_invoker.invoke(m_procedure, paramList);
+
+            if (rawResult instanceof CompletableFuture<?>) {
+                final CompletableFuture<?> fut = (CompletableFuture<?>) rawResult;
+
+                fut.thenRun(() -> {
+                    //
+                    // Happy path. No exceptions thrown. Procedure work is complete.
+                    //
+                    Object innerRawResult = null;
+                    ClientResponseImpl response = null;
+                    try {
+                        innerRawResult = fut.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        assert(false);
+                        // this is a bad place to be, but it's hard to know if it's crash bad...
+                        innerRawResult = new ClientResponseImpl(ClientResponseImpl.UNEXPECTED_FAILURE,
+                                new VoltTable[0],
+                                "Future returned from NTProc " + m_procedureName + " failed to complete.",
+                                m_clientHandle);
+                    }
 
-                    fut.thenRun(() -> {
-                        //
-                        // Happy path. No exceptions thrown. Procedure work is complete.
-                        //
-                        Object innerRawResult = null;
-                        ClientResponseImpl response = null;
+                    if (innerRawResult instanceof ClientResponseImpl) {
+                        response = (ClientResponseImpl) innerRawResult;
+                    }
+                    else {
                         try {
-                            innerRawResult = fut.get();
-                        } catch (InterruptedException | ExecutionException e) {
-                            assert(false);
+                            VoltTable[] r = ParameterConverter.getResultsFromRawResults(m_procedureName, innerRawResult);
+                            response = responseFromTableArray(r);
+                        } catch (Exception e) {
                             // this is a bad place to be, but it's hard to know if it's crash bad...
-                            innerRawResult = new ClientResponseImpl(ClientResponseImpl.UNEXPECTED_FAILURE,
+                            response = new ClientResponseImpl(ClientResponseImpl.GRACEFUL_FAILURE,
                                     new VoltTable[0],
-                                    "Future returned from NTProc " + m_procedureName + " failed to complete.",
+                                    "Type " + innerRawResult.getClass().getName() +
+                                        " returned from NTProc \"" + m_procedureName +
+                                        "\" was not an acceptible VoltDB return type.",
                                     m_clientHandle);
                         }
+                    }
 
-                        if (innerRawResult instanceof ClientResponseImpl) {
-                            response = (ClientResponseImpl) innerRawResult;
-                        }
-                        else {
-                            try {
-                                VoltTable[] r = ParameterConverter.getResultsFromRawResults(m_procedureName, innerRawResult);
-                                response = responseFromTableArray(r);
-                            } catch (Exception e) {
-                                // this is a bad place to be, but it's hard to know if it's crash bad...
-                                response = new ClientResponseImpl(ClientResponseImpl.GRACEFUL_FAILURE,
-                                        new VoltTable[0],
-                                        "Type " + innerRawResult.getClass().getName() +
-                                            " returned from NTProc \"" + m_procedureName +
-                                            "\" was not an acceptible VoltDB return type.",
-                                        m_clientHandle);
-                            }
-                        }
-
-                        completeCall(response);
-                    })
-                    .exceptionally(e -> {
-                        //
-                        // Exception path. Some bit of async work threw something.
-                        //
-                        SerializableException se = null;
-                        if (e instanceof SerializableException) {
-                            se = (SerializableException) e;
-                        }
-
-                        String msg = "PROCEDURE " + m_procedureName + " THREW EXCEPTION: ";
-                        if (se != null) msg += se.getMessage();
-                        else msg += e.toString();
-                        m_statusCode = ClientResponse.GRACEFUL_FAILURE;
-                        completeCall(ProcedureRunner.getErrorResponse(m_statusCode, m_appStatusCode, m_appStatusString, msg, se));
-                        return null;
-                    });
+                    completeCall(response);
+                })
+                .exceptionally(e -> {
+                    //
+                    // Exception path. Some bit of async work threw something.
+                    //
+                    SerializableException se = null;
+                    if (e instanceof SerializableException) {
+                        se = (SerializableException) e;
+                    }
 
+                    String msg = "PROCEDURE " + m_procedureName + " THREW EXCEPTION: ";
+                    if (se != null) msg += se.getMessage();
+                    else msg += e.toString();
+                    m_statusCode = ClientResponse.GRACEFUL_FAILURE;
+                    completeCall(ProcedureRunner.getErrorResponse(m_statusCode, m_appStatusCode, m_appStatusString, msg, se));
                     return null;
-                }
-                results = ParameterConverter.getResultsFromRawResults(m_procedureName, rawResult);
-            }
-            catch (IllegalAccessException e) {
-                // If reflection fails, invoke the same error handling that other exceptions do
-                throw new InvocationTargetException(e);
+                });
+
+                return null;
             }
+            results = ParameterConverter.getResultsFromRawResults(m_procedureName, rawResult);
         }
-        catch (InvocationTargetException itex) {
-            //itex.printStackTrace();
-            Throwable ex = itex.getCause();
+        catch (Throwable t) {
+            // getResultsFromRawResults() wraps its own errors
+            Throwable ex = (t instanceof InvocationTargetException) ? t.getCause() : t;
             if (CoreUtils.isStoredProcThrowableFatalToServer(ex)) {
                 // If the stored procedure attempted to do something other than linklibrary or instantiate
                 // a missing object that results in an error, throw the error and let the server deal with
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.HdrHistogram_voltpatches.AbstractHistogram;
 import org.voltcore.logging.VoltLogger;
 import org.voltdb.StatementStats.SingleCallStatsToken;
 import org.voltdb.StatementStats.StatsData;
@@ -37,6 +38,27 @@ public class ProcedureStatsCollector extends SiteStatsSource {
 
     private static final VoltLogger log = new VoltLogger("HOST");
 
+    /**
+     * Time every invocation and keep the latencies in a histogram per procedure, reported
+     * by @Statistics PROCEDURELATENCY. The sampled timings are kept as they are. It costs a
+     * System.nanoTime() call and a wait-free histogram update per call, measured by
+     * ProcedureLatencyStatsMicrobench. Set PROCEDURE_LATENCY_HISTOGRAMS to false to go back
+     * to timing only the sampled calls.
+     */
+    public static final boolean LATENCY_HISTOGRAMS =
+            Boolean.parseBoolean(System.getProperty("PROCEDURE_LATENCY_HISTOGRAMS", "true"));
+
+    /**
+     * Also time every statement and keep a histogram per statement. This makes the EE time
+     * every fragment of every batch rather than those of the sampled calls. Measured at about
+     * 125ns per statement: 75ns for the two clock reads and the buffer write in the EE, and
+     * 50ns for reading the time back and recording it (ProcedureLatencyStatsMicrobench).
+     * That is a few percent of the cheapest single partition statement and less of any other.
+     * Set STATEMENT_LATENCY_HISTOGRAMS to false to time only the statements of sampled calls.
+     */
+    public static final boolean STATEMENT_LATENCY_HISTOGRAMS = LATENCY_HISTOGRAMS &&
+            Boolean.parseBoolean(System.getProperty("STATEMENT_LATENCY_HISTOGRAMS", "true"));
+
     /**
      * Record statistics of procedure execution every N procedure invocations.
      */
@@ -123,19 +145,40 @@ public class ProcedureStatsCollector extends SiteStatsSource {
         boolean samplingProcedure = (invocations % m_procSamplingInterval == 0) || m_isUAC;
         boolean samplingStmts = invocations % m_stmtSamplingInterval == 0;
 
-        long startTimeNanos = samplingProcedure ? System.nanoTime() : 0;
+        long startTimeNanos = (samplingProcedure || LATENCY_HISTOGRAMS) ? System.nanoTime() : 0;
 
-        return new SingleCallStatsToken(startTimeNanos, samplingStmts);
+        return new SingleCallStatsToken(startTimeNanos, samplingProcedure, samplingStmts,
+                                        LATENCY_HISTOGRAMS, STATEMENT_LATENCY_HISTOGRAMS);
     }
 
     /**
      * Called after a procedure is finished executing. Compares the start and end time and calculates
      * the statistics.
      *
-     * Synchronized because it modifies internal state and (for NT procs) can be called from multiple
-     * threads. For transactional procs the lock should be uncontended.,
+     * The latency histograms are recorded without a lock, the rest is synchronized because it modifies
+     * internal state and (for NT procs) can be called from multiple threads. For transactional procs
+     * the lock should be uncontended.
      */
-    public final synchronized void endProcedure(boolean aborted, boolean failed, SingleCallStatsToken statsToken) {
+    public final void endProcedure(boolean aborted, boolean failed, SingleCallStatsToken statsToken) {
+        // 0 means additional stats were not recorded
+        final long duration = statsToken.startTimeNanos == 0 ? 0 : System.nanoTime() - statsToken.startTimeNanos;
+
+        if (statsToken.recordingLatencies() && duration >= 0) {
+            m_stmtStatsMap.get(null).recordLatency(duration);
+            if (statsToken.recordingStmtLatencies() && statsToken.stmtStats != null) {
+                for (SingleCallStatsToken.PerStmtStats pss : statsToken.stmtStats) {
+                    if (!pss.stmtFailed) {
+                        recordStatementLatency(pss.stmtName, pss.stmtDuration);
+                    }
+                }
+            }
+        }
+
+        endProcedureStats(aborted, failed, statsToken, duration);
+    }
+
+    private synchronized void endProcedureStats(boolean aborted, boolean failed,
+                                                SingleCallStatsToken statsToken, long duration) {
         if (aborted) {
             m_procStatsData.m_abortCount++;
         }
@@ -145,14 +188,10 @@ public class ProcedureStatsCollector extends SiteStatsSource {
         m_procStatsData.m_invocations++;
 
         // this means additional stats were not recorded
-        if (!statsToken.samplingProcedure()) {
+        if (statsToken.startTimeNanos == 0) {
             return;
         }
 
-        // This is a sampled invocation.
-        // Update timings and size statistics.
-        final long endTime = System.nanoTime();
-        final long duration = endTime - statsToken.startTimeNanos;
         if (duration < 0) {
             if (Math.abs(duration) > 1000000000) {
                 log.info("Procedure: " + m_procName +
@@ -161,6 +200,13 @@ public class ProcedureStatsCollector extends SiteStatsSource {
             return;
         }
 
+        if (!statsToken.samplingProcedure()) {
+            return;
+        }
+
+        // This is a sampled invocation.
+        // Update timings and size statistics.
+
         m_procStatsData.m_timedInvocations++;
         // sampled timings
         m_procStatsData.m_totalTimedExecutionTime += duration;
@@ -206,6 +252,44 @@ public class ProcedureStatsCollector extends SiteStatsSource {
         }
     }
 
+    /**
+     * Record the execution time of one successful run of a statement into its latency histogram.
+     * Takes no lock, the statement map is not modified after construction.
+     */
+    public final void recordStatementLatency(String stmtName, long duration) {
+        if (stmtName == null || duration < 0) {
+            return;
+        }
+        StatementStats stmtStats = m_stmtStatsMap.get(stmtName);
+        if (stmtStats != null) {
+            stmtStats.recordLatency(duration);
+        }
+    }
+
+    /**
+     * Add the latency histograms of the procedure and of each of its statements to the given map,
+     * keyed by statement name with null for the whole procedure. Histograms already in the map are
+     * added to, so the histograms of every site can be merged in the same map.
+     */
+    public final synchronized void addLatencyHistograms(Map<String, AbstractHistogram> histograms,
+                                                        boolean interval) {
+        for (Entry<String, StatementStats> entry : m_stmtStatsMap.entrySet()) {
+            if (!entry.getValue().hasLatencies()) {
+                continue;
+            }
+            AbstractHistogram merged = histograms.get(entry.getKey());
+            if (merged == null) {
+                merged = StatementStats.constructLatencyHistogram();
+                histograms.put(entry.getKey(), merged);
+            }
+            entry.getValue().addLatencies(merged, interval);
+        }
+    }
+
+    public String getProcedureName() {
+        return m_procName;
+    }
+
     /**
      * This function will be called after a statement finish running.
      * It updates the data structures to maintain the statistics.
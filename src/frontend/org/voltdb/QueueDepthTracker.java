@@ -19,12 +19,11 @@ package org.voltdb;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.voltcore.logging.VoltLogger;
 import org.voltdb.VoltTable.ColumnInfo;
-import org.voltdb.iv2.SiteTasker;
+import org.voltdb.iv2.SiteTaskerQueue;
 
 /**
  * A class to track and generate statistics regarding queue depth.
@@ -39,7 +38,7 @@ public class QueueDepthTracker extends SiteStatsSource {
     private final AtomicInteger m_depth;
     private long m_lastWaitTime;
     private final ArrayBlockingQueue<QueueStatus> m_historicalData;
-    private LinkedTransferQueue<SiteTasker> m_tasks;
+    private final SiteTaskerQueue m_tasks;
     private long m_maxWaitTimeWindowSize = 5_000_000_000L; // window size set to 5 seconds
     private long m_maxWaitLastLogTime;
     private volatile long m_recentMaxWaitTime;
@@ -61,7 +60,7 @@ public class QueueDepthTracker extends SiteStatsSource {
         }
     }
 
-    public QueueDepthTracker(long siteId, LinkedTransferQueue<SiteTasker> tasks) {
+    public QueueDepthTracker(long siteId, SiteTaskerQueue tasks) {
         super(siteId, false);
         m_historicalData = new ArrayBlockingQueue<>(10);
         m_depth = new AtomicInteger(tasks.size());
@@ -123,11 +122,12 @@ public class QueueDepthTracker extends SiteStatsSource {
         long currentTime = System.nanoTime();
         // check if current wait time exceeds the maxWaitTime
         long currentWaitTime;
-        SiteTasker nextTask = m_tasks.peek();
-        if (nextTask == null) {
+        // only the site thread may peek at its queue, use the offer time it publishes
+        long headOfferTime = m_tasks.getHeadOfferTime();
+        if (headOfferTime == 0 || m_depth.get() == 0) {
             currentWaitTime = 0;
         } else {
-            currentWaitTime = currentTime - nextTask.getQueueOfferTime();
+            currentWaitTime = Math.max(0, currentTime - headOfferTime);
         }
         // check historicalMaxWaitTime, report max wait time and mean wait time in window
         long maxWaitTimeInWindow = Math.max(currentWaitTime, m_recentMaxWaitTime);
@@ -118,6 +118,7 @@ import org.voltdb.catalog.Table;
 import org.voltdb.common.Constants;
 import org.voltdb.common.NodeState;
 import org.voltdb.compiler.AdHocCompilerCache;
+import org.voltdb.compiler.AdHocPlanCacheStore;
 import org.voltdb.compiler.VoltCompiler;
 import org.voltdb.compiler.deploymentfile.ClusterType;
 import org.voltdb.compiler.deploymentfile.DeploymentType;
@@ -185,10 +186,13 @@ import org.voltdb.utils.InMemoryJarfile.JarLoader;
 import org.voltdb.utils.LogKeys;
 import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.PlatformProperties;
+import org.voltdb.utils.ProcFSSampler;
+import org.voltdb.utils.StatsHistory;
 import org.voltdb.utils.SystemStatsCollector;
 import org.voltdb.utils.TopologyZKUtils;
 import org.voltdb.utils.VoltFile;
 import org.voltdb.utils.VoltSampler;
+import org.voltdb.utils.VoltTrace;
 
 import com.google_voltpatches.common.base.Charsets;
 import com.google_voltpatches.common.base.Joiner;
@@ -1266,6 +1270,9 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
                 VoltDB.crashLocalVoltDB(e.getMessage(), true, e);
             }
 
+            // let the ad hoc plan cache of the catalog about to be loaded start warm
+            AdHocPlanCacheStore.initialize(getVoltDBRootPath(), m_messenger.getHostId(), getVersionString());
+
             // do the many init tasks in the Inits class
             Inits inits = new Inits(m_statusTracker, this, 1, m_durable);
             inits.doInitializationWork();
@@ -1327,6 +1334,12 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
             m_gcStats = new GcStats();
             getStatsAgent().registerStatsSource(StatsSelector.GC,
                     0, m_gcStats);
+            ProcFSSampler procfs = SystemStatsCollector.getProcFSSampler();
+            if (procfs != null) {
+                getStatsAgent().registerStatsSource(StatsSelector.THREADCPU,
+                        0, new ThreadCpuStats(procfs));
+            }
+            VoltTrace.enableStartupCategories();
             // ENG-6321
             m_commandLogStats = new CommandLogStats(m_commandLog);
             getStatsAgent().registerStatsSource(StatsSelector.COMMANDLOG, 0, m_commandLogStats);
@@ -2173,6 +2186,17 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
 
     private final List<ScheduledFuture<?>> m_periodicWorks = new ArrayList<>();
 
+    private static final long AD_HOC_PLAN_CACHE_SAVE_INTERVAL_SECONDS =
+            Long.getLong("ADHOC_PLAN_CACHE_SAVE_INTERVAL_SECONDS", 60);
+
+    private void saveAdHocPlanCache() {
+        AdHocPlanCacheStore store = AdHocPlanCacheStore.instance();
+        CatalogContext context = m_catalogContext;
+        if (store != null && context != null) {
+            store.save(context.m_ptool.getAdHocCache(), context.getCatalogHash());
+        }
+    }
+
     /**
      * Schedule all the periodic works
      */
@@ -2231,6 +2255,26 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
             }
         }, 0, 6, TimeUnit.MINUTES));
 
+        // save the ad hoc plan cache for the next start
+        m_periodicWorks.add(scheduleWork(new Runnable() {
+            @Override
+            public void run() {
+                saveAdHocPlanCache();
+            }
+        }, AD_HOC_PLAN_CACHE_SAVE_INTERVAL_SECONDS, AD_HOC_PLAN_CACHE_SAVE_INTERVAL_SECONDS, TimeUnit.SECONDS));
+
+        // record the statistics history of this node for @StatisticsHistory
+        final StatsHistory statsHistory = StatsHistory.create(getVoltDBRootPath());
+        if (statsHistory != null) {
+            ((StatisticsHistoryAgent) getOpsAgent(OpsSelector.STATISTICSHISTORY)).setHistory(statsHistory);
+            m_periodicWorks.add(scheduleWork(new Runnable() {
+                @Override
+                public void run() {
+                    statsHistory.sample(getStatsAgent());
+                }
+            }, StatsHistory.INTERVAL_MS, StatsHistory.INTERVAL_MS, TimeUnit.MILLISECONDS));
+        }
+
         // other enterprise setup
         EnterpriseMaintenance em = EnterpriseMaintenance.get();
         if (em != null) { em.setupMaintenaceTasks(); }
@@ -3414,6 +3458,10 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
                 resMonitorWork = null;
 
                 m_periodicWorks.clear();
+                try {
+                    saveAdHocPlanCache();
+                } catch (Throwable t) { }
+                AdHocPlanCacheStore.shutdown();
                 m_snapshotCompletionMonitor.shutdown();
                 m_periodicWorkThread.shutdown();
                 m_periodicWorkThread.awaitTermination(356, TimeUnit.DAYS);
@@ -3634,10 +3682,18 @@ public class RealVoltDB implements VoltDBInterface, RestoreAgent.Callback, HostM
         ctx.m_preparedCatalogInfo.m_catalog = newCatalog;
         ctx.m_preparedCatalogInfo.m_preparedProcRunners = new ConcurrentLinkedQueue<>();
 
+        // Only the procedures touched by the diff get new runners, the sites keep the others
+        CatalogReuseInfo reuse = CatalogReuseInfo.compute(ctx.getCatalogHash(), ctx.database,
+                                                          ctx.getCatalogJar(), db, newCatalogJar);
+        ctx.m_preparedCatalogInfo.m_reuse = reuse;
+        Iterable<Procedure> changedProcedures = LoadedProcedureSet.proceduresToRebuild(catalogProcedures, reuse);
+        hostLog.info("Preparing runners for " + reuse.getProceduresRebuilt() + " changed procedures, reusing "
+                     + reuse.getProceduresReused() + " unchanged ones");
+
         for (long i = 0; i < siteCount; i++) {
             try {
                 ImmutableMap<String, ProcedureRunner> userProcRunner =
-                    LoadedProcedureSet.loadUserProcedureRunners(catalogProcedures, null,
+                    LoadedProcedureSet.loadUserProcedureRunners(changedProcedures, null,
                                                                 classesMap.build(), null);
 
                 ctx.m_preparedCatalogInfo.m_preparedProcRunners.offer(userProcRunner);
@@ -0,0 +1,508 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongFunction;
+
+import org.hsqldb_voltpatches.FunctionForVoltDB;
+import org.hsqldb_voltpatches.FunctionSQL;
+import org.json_voltpatches.JSONArray;
+import org.json_voltpatches.JSONException;
+import org.json_voltpatches.JSONObject;
+import org.voltcore.logging.VoltLogger;
+import org.voltdb.catalog.Database;
+import org.voltdb.catalog.MaterializedViewHandlerInfo;
+import org.voltdb.catalog.MaterializedViewInfo;
+import org.voltdb.catalog.Table;
+import org.voltdb.catalog.TableRef;
+import org.voltdb.common.Constants;
+import org.voltdb.compiler.deploymentfile.DeploymentType;
+import org.voltdb.compiler.deploymentfile.SystemSettingsType;
+import org.voltdb.planner.ActivePlanRepository;
+import org.voltdb.types.PlanNodeType;
+
+/**
+ * Per-site cache of the results of read-only plan fragments over the tables
+ * opted in with {@code <resultcache maxsize="..." tables="..."/>} in the
+ * system settings of the deployment.
+ *
+ * An entry is keyed by the plan hash and the serialized parameters of the
+ * fragment, and remembers the modification epoch of every table the fragment
+ * reads. The site bumps the epoch of a table, and of the views on it, before
+ * running any fragment that writes it, so an entry is served only while none
+ * of its tables moved. Changes made outside of plan fragments (loads into
+ * unknown tables, binary logs, rollbacks, table streams) bump a global epoch
+ * that invalidates every entry.
+ *
+ * Fragments that write, call NOW/CURRENT_TIMESTAMP or a user-defined function,
+ * or read a table that is not opted in are never cached. Entries are evicted
+ * least recently used first to stay within the memory limit, which is per host
+ * and split evenly between the sites.
+ *
+ * Everything but the counters is only touched on the site thread.
+ */
+public class ResultCache {
+
+    private static final VoltLogger hostLog = new VoltLogger("HOST");
+
+    // Bytes charged for an entry on top of its key and result
+    static final int ENTRY_OVERHEAD = 96;
+    // How many fragment plans are inspected before the memo starts over
+    private static final int MAX_FRAGMENT_INFOS = Integer.getInteger("RESULT_CACHE_MAX_FRAGMENTS", 4096);
+    // No single result may take more than this fraction of the cache
+    private static final int MAX_ENTRY_FRACTION = 8;
+
+    private static final Set<String> WRITE_NODES = new TreeSet<>(Arrays.asList(
+            PlanNodeType.INSERT.name(), PlanNodeType.UPDATE.name(),
+            PlanNodeType.DELETE.name(), PlanNodeType.SWAPTABLES.name()));
+
+    /** Modification counter of one table on this site */
+    static final class Epoch {
+        long m_value = 0;
+    }
+
+    /** What a plan fragment reads and writes, worked out once per fragment id */
+    static final class FragmentInfo {
+        final boolean m_cacheable;
+        final Epoch[] m_reads;
+        // Tables written and the views maintained from them, null if the plan couldn't be read
+        final Epoch[] m_writes;
+
+        FragmentInfo(boolean cacheable, Epoch[] reads, Epoch[] writes) {
+            m_cacheable = cacheable;
+            m_reads = reads;
+            m_writes = writes;
+        }
+    }
+
+    private static final class Key {
+        final byte[] m_planHash;
+        final byte[] m_params;
+        final int m_hash;
+
+        Key(byte[] planHash, byte[] params) {
+            m_planHash = planHash;
+            m_params = params;
+            m_hash = 31 * Arrays.hashCode(planHash) + Arrays.hashCode(params);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return m_hash == other.m_hash
+                    && Arrays.equals(m_planHash, other.m_planHash)
+                    && Arrays.equals(m_params, other.m_params);
+        }
+    }
+
+    private static final class Entry {
+        final byte[] m_result;
+        final long m_globalEpoch;
+        final Epoch[] m_tables;
+        final long[] m_epochs;
+        final int m_size;
+
+        Entry(Key key, byte[] result, long globalEpoch, Epoch[] tables) {
+            m_result = result;
+            m_globalEpoch = globalEpoch;
+            m_tables = tables;
+            m_epochs = new long[tables.length];
+            for (int i = 0; i < tables.length; i++) {
+                m_epochs[i] = tables[i].m_value;
+            }
+            m_size = result.length + key.m_planHash.length + key.m_params.length + ENTRY_OVERHEAD;
+        }
+
+        boolean isCurrent(long globalEpoch) {
+            if (m_globalEpoch != globalEpoch) {
+                return false;
+            }
+            for (int i = 0; i < m_tables.length; i++) {
+                if (m_tables[i].m_value != m_epochs[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final LongFunction<byte[]> m_planSource;
+
+    private long m_maxBytes = 0;
+    private Set<String> m_tables = new TreeSet<>();
+    // table name -> names of the views maintained from it, directly or through other views
+    private Map<String, List<String>> m_views = new HashMap<>();
+
+    private final Map<String, Epoch> m_epochs = new HashMap<>();
+    private long m_globalEpoch = 0;
+    private final Map<Long, FragmentInfo> m_fragments = new HashMap<>();
+    private final LinkedHashMap<Key, Entry> m_entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long m_bytes = 0;
+
+    // The miss waiting for its result to be stored by put()
+    private Key m_pendingKey = null;
+    private FragmentInfo m_pendingInfo = null;
+
+    // Counters read by ResultCacheStats from the stats thread
+    volatile long m_hits = 0;
+    volatile long m_misses = 0;
+    volatile long m_invalidations = 0;
+    volatile long m_evictions = 0;
+    volatile int m_entryCount = 0;
+    volatile long m_memoryBytes = 0;
+
+    public ResultCache() {
+        this(ActivePlanRepository::planForFragmentId);
+    }
+
+    ResultCache(LongFunction<byte[]> planSource) {
+        m_planSource = planSource;
+    }
+
+    /**
+     * Read the limits and the opted in tables from the deployment and drop
+     * everything cached against the previous catalog.
+     */
+    public void configure(CatalogContext context) {
+        long maxBytes = 0;
+        List<String> tables = new ArrayList<>();
+        DeploymentType deployment = context.getDeployment();
+        SystemSettingsType settings = deployment == null ? null : deployment.getSystemsettings();
+        if (settings != null && settings.getResultcache() != null) {
+            SystemSettingsType.Resultcache config = settings.getResultcache();
+            int sites = Math.max(1, context.getNodeSettings().getLocalSitesCount());
+            maxBytes = config.getMaxsize() * 1024L * 1024L / sites;
+            for (String table : config.getTables().split(",")) {
+                if (!table.trim().isEmpty()) {
+                    tables.add(table.trim());
+                }
+            }
+        }
+        configure(maxBytes, tables, context.database);
+    }
+
+    void configure(long maxBytes, Collection<String> tables, Database db) {
+        Set<String> optedIn = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        optedIn.addAll(tables);
+        if (db != null) {
+            for (String table : optedIn) {
+                if (db.getTables().getIgnoreCase(table) == null) {
+                    hostLog.warn("Table " + table + " enabled for the result cache does not exist.");
+                }
+            }
+        }
+        m_maxBytes = tables.isEmpty() ? 0 : maxBytes;
+        m_tables = optedIn;
+        m_views = db == null ? new HashMap<>() : findViews(db);
+        m_epochs.clear();
+        m_fragments.clear();
+        clear();
+    }
+
+    private static Map<String, List<String>> findViews(Database db) {
+        Map<String, Set<String>> direct = new HashMap<>();
+        for (Table table : db.getTables()) {
+            for (MaterializedViewInfo view : table.getViews()) {
+                add(direct, table.getTypeName(), view.getDest().getTypeName());
+            }
+            for (MaterializedViewHandlerInfo handler : table.getMvhandlerinfo()) {
+                for (TableRef source : handler.getSourcetables()) {
+                    add(direct, source.getTable().getTypeName(), table.getTypeName());
+                }
+            }
+        }
+        // Views can be defined on views, follow the chain
+        Map<String, List<String>> views = new HashMap<>();
+        for (String table : direct.keySet()) {
+            Set<String> all = new TreeSet<>();
+            List<String> pending = new ArrayList<>(direct.get(table));
+            while (!pending.isEmpty()) {
+                String view = pending.remove(pending.size() - 1);
+                if (all.add(view) && direct.containsKey(view)) {
+                    pending.addAll(direct.get(view));
+                }
+            }
+            views.put(table, new ArrayList<>(all));
+        }
+        return views;
+    }
+
+    private static void add(Map<String, Set<String>> map, String table, String view) {
+        Set<String> views = map.get(table.toUpperCase(Locale.ROOT));
+        if (views == null) {
+            views = new TreeSet<>();
+            map.put(table.toUpperCase(Locale.ROOT), views);
+        }
+        views.add(view.toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isEnabled() {
+        return m_maxBytes > 0;
+    }
+
+    /**
+     * Look up the result of a read-only fragment without input dependencies.
+     *
+     * @return a copy of the cached result table, or null. On a miss for a
+     * cacheable fragment the next call to {@link #put} stores its result.
+     */
+    public byte[] get(long fragmentId, byte[] planHash, ParameterSet params) {
+        m_pendingKey = null;
+        m_pendingInfo = null;
+        if (!isEnabled()) {
+            return null;
+        }
+        FragmentInfo info = fragmentInfo(fragmentId);
+        if (!info.m_cacheable) {
+            return null;
+        }
+        byte[] paramBytes;
+        try {
+            ByteBuffer buf = ByteBuffer.allocate(params.getSerializedSize());
+            params.flattenToBuffer(buf);
+            paramBytes = buf.array();
+        } catch (IOException e) {
+            return null;
+        }
+        Key key = new Key(planHash, paramBytes);
+        Entry entry = m_entries.get(key);
+        if (entry != null) {
+            if (entry.isCurrent(m_globalEpoch)) {
+                ++m_hits;
+                return entry.m_result.clone();
+            }
+            remove(key, entry);
+            ++m_invalidations;
+        }
+        ++m_misses;
+        m_pendingKey = key;
+        m_pendingInfo = info;
+        return null;
+    }
+
+    /**
+     * Store the result of the fragment that just missed in {@link #get}.
+     */
+    public void put(byte[] result, int length) {
+        Key key = m_pendingKey;
+        FragmentInfo info = m_pendingInfo;
+        m_pendingKey = null;
+        m_pendingInfo = null;
+        if (key == null || length > m_maxBytes / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        Entry entry = new Entry(key, Arrays.copyOf(result, length), m_globalEpoch, info.m_reads);
+        Entry old = m_entries.put(key, entry);
+        if (old != null) {
+            m_bytes -= old.m_size;
+        }
+        m_bytes += entry.m_size;
+        Iterator<Entry> eldest = m_entries.values().iterator();
+        while (m_bytes > m_maxBytes && eldest.hasNext()) {
+            m_bytes -= eldest.next().m_size;
+            eldest.remove();
+            ++m_evictions;
+        }
+        updateGauges();
+    }
+
+    /**
+     * Called before a batch of fragments runs in a transaction that may write.
+     */
+    public void fragmentsWriting(long[] fragmentIds, int count) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            Epoch[] writes = fragmentInfo(fragmentIds[i]).m_writes;
+            if (writes == null) {
+                invalidateAll();
+                return;
+            }
+            for (Epoch epoch : writes) {
+                ++epoch.m_value;
+            }
+        }
+    }
+
+    /**
+     * Called when rows are loaded into a table outside of a plan fragment.
+     */
+    public void tableWritten(String table) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Epoch epoch : writeEpochs(Arrays.asList(table))) {
+            ++epoch.m_value;
+        }
+    }
+
+    /**
+     * Called when the data of the partition changes in a way that can't be
+     * tied to particular tables.
+     */
+    public void invalidateAll() {
+        ++m_globalEpoch;
+    }
+
+    /** Drop every entry, the counters are kept */
+    public void clear() {
+        m_entries.clear();
+        m_bytes = 0;
+        m_pendingKey = null;
+        m_pendingInfo = null;
+        updateGauges();
+    }
+
+    private void remove(Key key, Entry entry) {
+        m_entries.remove(key);
+        m_bytes -= entry.m_size;
+        updateGauges();
+    }
+
+    private void updateGauges() {
+        m_entryCount = m_entries.size();
+        m_memoryBytes = m_bytes;
+    }
+
+    private Epoch epoch(String table) {
+        String name = table.toUpperCase(Locale.ROOT);
+        Epoch epoch = m_epochs.get(name);
+        if (epoch == null) {
+            epoch = new Epoch();
+            m_epochs.put(name, epoch);
+        }
+        return epoch;
+    }
+
+    private Epoch[] writeEpochs(Collection<String> tables) {
+        Set<String> names = new TreeSet<>();
+        for (String table : tables) {
+            String name = table.toUpperCase(Locale.ROOT);
+            names.add(name);
+            List<String> views = m_views.get(name);
+            if (views != null) {
+                names.addAll(views);
+            }
+        }
+        Epoch[] epochs = new Epoch[names.size()];
+        int i = 0;
+        for (String name : names) {
+            epochs[i++] = epoch(name);
+        }
+        return epochs;
+    }
+
+    FragmentInfo fragmentInfo(long fragmentId) {
+        FragmentInfo info = m_fragments.get(fragmentId);
+        if (info == null) {
+            if (m_fragments.size() >= MAX_FRAGMENT_INFOS) {
+                m_fragments.clear();
+            }
+            info = inspect(m_planSource.apply(fragmentId));
+            m_fragments.put(fragmentId, info);
+        }
+        return info;
+    }
+
+    private FragmentInfo inspect(byte[] plan) {
+        Set<String> reads = new TreeSet<>();
+        Set<String> writes = new TreeSet<>();
+        boolean[] deterministic = { true };
+        try {
+            walk(new JSONObject(new String(plan, Constants.UTF8ENCODING)), reads, writes, deterministic);
+        } catch (JSONException | RuntimeException e) {
+            // Nothing is known about the fragment, never cache it and treat it as writing everything
+            return new FragmentInfo(false, new Epoch[0], null);
+        }
+        boolean cacheable = writes.isEmpty() && !reads.isEmpty() && deterministic[0];
+        for (String table : reads) {
+            cacheable &= m_tables.contains(table);
+        }
+        Epoch[] readEpochs = new Epoch[reads.size()];
+        int i = 0;
+        for (String table : reads) {
+            readEpochs[i++] = epoch(table);
+        }
+        return new FragmentInfo(cacheable, readEpochs, writeEpochs(writes));
+    }
+
+    /**
+     * Collect the tables every plan node in the tree targets, including the
+     * inline nodes, and look for functions whose result isn't a function of the data.
+     */
+    private static void walk(Object json, Set<String> reads, Set<String> writes, boolean[] deterministic)
+            throws JSONException {
+        if (json instanceof JSONArray) {
+            JSONArray array = (JSONArray) json;
+            for (int i = 0; i < array.length(); i++) {
+                walk(array.get(i), reads, writes, deterministic);
+            }
+            return;
+        }
+        if (!(json instanceof JSONObject)) {
+            return;
+        }
+        JSONObject obj = (JSONObject) json;
+        String target = obj.optString("TARGET_TABLE_NAME", null);
+        if (target != null) {
+            if (WRITE_NODES.contains(obj.optString("PLAN_NODE_TYPE"))) {
+                writes.add(target);
+                String other = obj.optString("OTHER_TARGET_TABLE_NAME", null);
+                if (other != null) {
+                    writes.add(other);
+                }
+            }
+            else {
+                reads.add(target);
+            }
+        }
+        if ("FUNCTION".equals(obj.optString("TYPE")) && obj.has("FUNCTION_ID")) {
+            int functionId = obj.getInt("FUNCTION_ID");
+            if (functionId == FunctionSQL.voltGetCurrentTimestampId()
+                    || FunctionForVoltDB.isUserDefinedFunctionId(functionId)) {
+                deterministic[0] = false;
+            }
+        }
+        Iterator<String> keys = obj.keys();
+        while (keys.hasNext()) {
+            walk(obj.get(keys.next()), reads, writes, deterministic);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.voltdb.VoltTable.ColumnInfo;
+
+/**
+ * Hits, misses and size of the result cache of a site, one row per site while
+ * the cache is enabled. INVALIDATIONS counts entries found stale on lookup,
+ * EVICTIONS those dropped to stay within the memory limit.
+ */
+public class ResultCacheStats extends SiteStatsSource {
+
+    private final ResultCache m_cache;
+    private final int m_partitionId;
+    private boolean m_interval = false;
+    // Counters at the last interval poll
+    private long m_lastHits = 0;
+    private long m_lastMisses = 0;
+    private long m_lastInvalidations = 0;
+    private long m_lastEvictions = 0;
+
+    public ResultCacheStats(long siteId, int partitionId, ResultCache cache) {
+        super(siteId, false);
+        m_partitionId = partitionId;
+        m_cache = cache;
+    }
+
+    @Override
+    protected Iterator<Object> getStatsRowKeyIterator(boolean interval) {
+        m_interval = interval;
+        if (!m_cache.isEnabled()) {
+            return Collections.emptyIterator();
+        }
+        return Collections.<Object>singletonList(m_cache).iterator();
+    }
+
+    @Override
+    protected void populateColumnSchema(ArrayList<ColumnInfo> columns) {
+        super.populateColumnSchema(columns);
+        columns.add(new ColumnInfo(VoltSystemProcedure.CNAME_PARTITION_ID, VoltSystemProcedure.CTYPE_ID));
+        columns.add(new ColumnInfo("ENTRIES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("MEMORY", VoltType.BIGINT));
+        columns.add(new ColumnInfo("HITS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("MISSES", VoltType.BIGINT));
+        columns.add(new ColumnInfo("INVALIDATIONS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("EVICTIONS", VoltType.BIGINT));
+    }
+
+    @Override
+    protected void updateStatsRow(Object rowKey, Object[] rowValues) {
+        long hits = m_cache.m_hits;
+        long misses = m_cache.m_misses;
+        long invalidations = m_cache.m_invalidations;
+        long evictions = m_cache.m_evictions;
+        if (m_interval) {
+            long lastHits = m_lastHits, lastMisses = m_lastMisses;
+            long lastInvalidations = m_lastInvalidations, lastEvictions = m_lastEvictions;
+            m_lastHits = hits;
+            m_lastMisses = misses;
+            m_lastInvalidations = invalidations;
+            m_lastEvictions = evictions;
+            hits -= lastHits;
+            misses -= lastMisses;
+            invalidations -= lastInvalidations;
+            evictions -= lastEvictions;
+        }
+        rowValues[columnNameToIndex.get(VoltSystemProcedure.CNAME_PARTITION_ID)] = m_partitionId;
+        rowValues[columnNameToIndex.get("ENTRIES")] = m_cache.m_entryCount;
+        // in KB, like the table and index stats
+        rowValues[columnNameToIndex.get("MEMORY")] = m_cache.m_memoryBytes / 1024;
+        rowValues[columnNameToIndex.get("HITS")] = hits;
+        rowValues[columnNameToIndex.get("MISSES")] = misses;
+        rowValues[columnNameToIndex.get("INVALIDATIONS")] = invalidations;
+        rowValues[columnNameToIndex.get("EVICTIONS")] = evictions;
+        super.updateStatsRow(rowKey, rowValues);
+    }
+}
@@ -136,6 +136,11 @@ public interface SiteProcedureConnection {
      */
     public boolean usingFallbackBuffer();
 
+    /**
+     * The cache of read-only fragment results of this site, null if the site has none.
+     */
+    public ResultCache getResultCache();
+
     /**
      * Let the EE know which batch of sql is running so it can include this
      * information in any slow query progress log messages.
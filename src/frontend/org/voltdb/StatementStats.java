@@ -20,6 +20,10 @@ package org.voltdb;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.HdrHistogram_voltpatches.AbstractHistogram;
+import org.HdrHistogram_voltpatches.Histogram;
+import org.HdrHistogram_voltpatches.Recorder;
+
 /**
  * Record statistics for each statement in the stored procedure.
  */
@@ -31,6 +35,16 @@ public final class StatementStats {
     String m_stmtName;
     StatsData m_coordinatorTask = null;
     StatsData m_workerTask;
+    /**
+     * Every timed execution on this site, in nanoseconds, unlike the sampled numbers above.
+     * The threads running the procedure record into it without a lock. Created on first use.
+     */
+    private volatile Recorder m_latencyRecorder = null;
+    // Everything drained from the recorder so far, and since the last interval poll.
+    // Only touched by readers, which are serialized by the owning ProcedureStatsCollector.
+    private AbstractHistogram m_latencyHistogram = null;
+    private AbstractHistogram m_intervalLatencyHistogram = null;
+    private Histogram m_drainedLatencies = null;
 
     public StatementStats(String stmtName, boolean hasCoordinatorTask) {
         m_stmtName = stmtName;
@@ -40,6 +54,58 @@ public final class StatementStats {
         }
     }
 
+    /**
+     * Latency histograms only need microsecond resolution and 2 significant digits,
+     * they start small and grow up to the longest duration recorded.
+     */
+    static AbstractHistogram constructLatencyHistogram() {
+        Histogram histogram = new Histogram(1000, 2000, 2);
+        histogram.setAutoResize(true);
+        return histogram;
+    }
+
+    void recordLatency(long duration) {
+        Recorder recorder = m_latencyRecorder;
+        if (recorder == null) {
+            synchronized (this) {
+                recorder = m_latencyRecorder;
+                if (recorder == null) {
+                    recorder = new Recorder(2);
+                    m_latencyRecorder = recorder;
+                }
+            }
+        }
+        recorder.recordValue(duration);
+    }
+
+    boolean hasLatencies() {
+        return m_latencyRecorder != null;
+    }
+
+    /**
+     * Add the latencies recorded since the beginning, or since the last interval poll,
+     * to the given histogram.
+     */
+    void addLatencies(AbstractHistogram to, boolean interval) {
+        Recorder recorder = m_latencyRecorder;
+        if (recorder == null) {
+            return;
+        }
+        if (m_latencyHistogram == null) {
+            m_latencyHistogram = constructLatencyHistogram();
+            m_intervalLatencyHistogram = constructLatencyHistogram();
+        }
+        m_drainedLatencies = recorder.getIntervalHistogram(m_drainedLatencies);
+        m_latencyHistogram.add(m_drainedLatencies);
+        m_intervalLatencyHistogram.add(m_drainedLatencies);
+        if (!interval) {
+            to.add(m_latencyHistogram);
+            return;
+        }
+        to.add(m_intervalLatencyHistogram);
+        m_intervalLatencyHistogram.reset();
+    }
+
     // Maybe the worker task got executed and timed multiple times, but all failed.
     // The coordinator task never got executed.
     // So we do not only need to check if m_coordinatorTask != null, but also need to check
@@ -262,16 +328,20 @@ public final class StatementStats {
             final String stmtName;
             final boolean isCoordinatorTask;
             final boolean stmtFailed;
+            // only valid if timingStmts()
+            final long stmtDuration;
             final MeasuredStmtStats measurements;
 
             PerStmtStats(String stmtName,
                     boolean isCoordinatorTask,
                     boolean failed,
+                    long duration,
                     MeasuredStmtStats measurements)
             {
                 this.stmtName = stmtName;
                 this.isCoordinatorTask = isCoordinatorTask;
                 this.stmtFailed = failed;
+                this.stmtDuration = duration;
                 this.measurements = measurements;
             }
         }
@@ -294,27 +364,53 @@ public final class StatementStats {
             }
         }
 
+        // 0 if this call is not timed at all
         final long startTimeNanos;
+        final boolean samplingProcedure;
         final boolean samplingStatements;
+        // this call goes into the procedure latency histogram
+        final boolean recordingLatencies;
+        // and its statements into theirs, which times every statement
+        final boolean recordingStmtLatencies;
         // stays null until used
         List<PerStmtStats> stmtStats = null;
 
         int parameterSetSize = 0;
         int resultSize = 0;
 
-        public SingleCallStatsToken(long startTimeNanos, boolean samplingStatements) {
+        public SingleCallStatsToken(long startTimeNanos, boolean samplingProcedure,
+                                    boolean samplingStatements, boolean recordingLatencies,
+                                    boolean recordingStmtLatencies) {
             this.startTimeNanos = startTimeNanos;
+            this.samplingProcedure = samplingProcedure;
             this.samplingStatements = samplingStatements;
+            this.recordingLatencies = recordingLatencies;
+            this.recordingStmtLatencies = recordingStmtLatencies;
         }
 
         public boolean samplingProcedure() {
-            return startTimeNanos != 0;
+            return samplingProcedure;
         }
 
         public boolean samplingStmts() {
             return samplingStatements;
         }
 
+        /**
+         * @return true if the execution time of the statements of this call should be measured
+         */
+        public boolean timingStmts() {
+            return samplingStatements || recordingStmtLatencies;
+        }
+
+        public boolean recordingLatencies() {
+            return recordingLatencies;
+        }
+
+        public boolean recordingStmtLatencies() {
+            return recordingStmtLatencies;
+        }
+
         public void setParameterSize(int size) {
             parameterSetSize = size;
         }
@@ -359,6 +455,7 @@ public final class StatementStats {
             stmtStats.add(new PerStmtStats(stmtName,
                                            isCoordinatorTask,
                                            failed,
+                                           duration,
                                            measuredStmtStats));
         }
     }
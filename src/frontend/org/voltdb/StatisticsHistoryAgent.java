@@ -0,0 +1,153 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.util.Arrays;
+
+import org.json_voltpatches.JSONObject;
+import org.voltcore.network.Connection;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.utils.StatsHistory;
+
+/**
+ * Agent answering @StatisticsHistory from the statistics history of every host.
+ *
+ * @StatisticsHistory selector, from, to [, resolution seconds] returns the rows of the
+ * recorded snapshots of a selector taken between the two times, in milliseconds since
+ * the epoch. A to of 0 is now. With a resolution, only the first snapshot of every
+ * period of that many seconds is returned. Each host returns at most
+ * STATS_HISTORY_MAX_ROWS rows, oldest first, so a long range is read by calling
+ * again from just after the last TIMESTAMP returned.
+ */
+public class StatisticsHistoryAgent extends OpsAgent
+{
+    private volatile StatsHistory m_history = null;
+
+    public StatisticsHistoryAgent() {
+        super("StatisticsHistoryAgent");
+    }
+
+    public void setHistory(StatsHistory history) {
+        m_history = history;
+    }
+
+    @Override
+    protected void collectStatsImpl(Connection c, long clientHandle, OpsSelector selector,
+            ParameterSet params) throws Exception
+    {
+        JSONObject obj = new JSONObject();
+        obj.put("selector", OpsSelector.STATISTICSHISTORY.name());
+        String err;
+        if (selector == OpsSelector.STATISTICSHISTORY) {
+            err = parseParamsForStatisticsHistory(params, obj);
+        }
+        else {
+            err = "StatisticsHistoryAgent received non-STATISTICSHISTORY selector: " + selector.name();
+        }
+        if (err != null) {
+            sendErrorResponse(c, ClientResponse.GRACEFUL_FAILURE, err, clientHandle);
+            return;
+        }
+
+        PendingOpsRequest psr = new PendingOpsRequest(
+                selector,
+                obj.getString("subselector"),
+                c,
+                clientHandle,
+                System.currentTimeMillis(),
+                obj);
+        distributeOpsWork(psr, obj);
+    }
+
+    private String parseParamsForStatisticsHistory(ParameterSet params, JSONObject obj) throws Exception
+    {
+        final Object[] args = params.toArray();
+        if (args.length < 3 || args.length > 4) {
+            return "Incorrect number of arguments to @StatisticsHistory (expects 3 or 4, received " +
+                    args.length + ")";
+        }
+        if (!(args[0] instanceof String)) {
+            return "First argument to @StatisticsHistory must be a valid STRING selector, instead was " +
+                    args[0];
+        }
+        StatsSelector subselector;
+        try {
+            subselector = StatsSelector.valueOf(((String) args[0]).toUpperCase());
+        }
+        catch (IllegalArgumentException e) {
+            subselector = null;
+        }
+        if (subselector == null || !Arrays.asList(StatsHistory.SELECTORS).contains(subselector)) {
+            return "Invalid @StatisticsHistory selector " + args[0] + ", the history is kept for " +
+                    Arrays.toString(StatsHistory.SELECTORS);
+        }
+        for (int i = 1; i < args.length; i++) {
+            if (!(args[i] instanceof Number)) {
+                return "Argument " + (i + 1) + " to @StatisticsHistory must be a number, instead was " + args[i];
+            }
+        }
+        final long from = ((Number) args[1]).longValue();
+        long to = ((Number) args[2]).longValue();
+        if (to == 0) {
+            to = Long.MAX_VALUE;
+        }
+        final long resolution = args.length == 4 ? ((Number) args[3]).longValue() : 0;
+        if (from > to || resolution < 0) {
+            return "Invalid @StatisticsHistory time range or resolution";
+        }
+        obj.put("subselector", subselector.name());
+        obj.put("from", from);
+        obj.put("to", to);
+        obj.put("resolution", resolution * 1000);
+        obj.put("interval", false);
+        return null;
+    }
+
+    @Override
+    protected void handleJSONMessage(JSONObject obj) throws Exception {
+        final StatsSelector selector = StatsSelector.valueOf(obj.getString("subselector"));
+        final StatsHistory history = m_history;
+        VoltTable result = null;
+        if (history != null && history.isRecorded(selector)) {
+            result = history.query(selector, obj.getLong("from"), obj.getLong("to"), obj.getLong("resolution"));
+        }
+        if (result == null) {
+            // Nothing recorded yet, answer with the columns of the selector so
+            // the tables of the hosts that have a history can be aggregated
+            final VoltTable current = VoltDB.instance().getStatsAgent().getStatsAggregate(
+                    selector, false, System.currentTimeMillis());
+            if (current != null) {
+                final VoltTable.ColumnInfo[] columns = new VoltTable.ColumnInfo[current.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = new VoltTable.ColumnInfo(current.getColumnName(i), current.getColumnType(i));
+                }
+                result = new VoltTable(columns);
+            }
+        }
+        sendOpsResponse(result == null ? null : new VoltTable[] { result }, obj);
+    }
+
+    @Override
+    public void shutdown() throws InterruptedException {
+        super.shutdown();
+        final StatsHistory history = m_history;
+        if (history != null) {
+            history.shutdown();
+        }
+    }
+}
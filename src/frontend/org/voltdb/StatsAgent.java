@@ -16,14 +16,18 @@
  */
 package org.voltdb;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
+import org.HdrHistogram_voltpatches.AbstractHistogram;
 import org.cliffc_voltpatches.high_scale_lib.NonBlockingHashMap;
 import org.cliffc_voltpatches.high_scale_lib.NonBlockingHashSet;
 import org.json_voltpatches.JSONObject;
 import org.voltcore.network.Connection;
+import org.voltcore.utils.CompressionStrategySnappy;
 import org.voltdb.TheHashinator.HashinatorConfig;
 import org.voltdb.VoltTable.ColumnInfo;
 import org.voltdb.catalog.Procedure;
@@ -81,6 +85,9 @@ public class StatsAgent extends OpsAgent
         case TTL:
             request.aggregateTables = aggregateTTLStats(request.aggregateTables);
             break;
+        case PROCEDURELATENCY:
+            request.aggregateTables = aggregateProcedureLatencyStats(request.aggregateTables);
+            break;
         default:
         }
     }
@@ -183,6 +190,64 @@ public class StatsAgent extends OpsAgent
         return new VoltTable[] { result };
     }
 
+    /**
+     * Merge the latency histograms every host sent for each procedure and statement,
+     * and turn them into percentiles.
+     */
+    private VoltTable[] aggregateProcedureLatencyStats(VoltTable[] baseStats)
+    {
+        if (baseStats == null || baseStats.length != 1) {
+            return baseStats;
+        }
+
+        // procedure -> statement -> merged histogram, sorted for a stable output
+        TreeMap<String, TreeMap<String, AbstractHistogram>> merged = new TreeMap<>();
+        baseStats[0].resetRowPosition();
+        while (baseStats[0].advanceRow()) {
+            TreeMap<String, AbstractHistogram> stmts = merged.get(baseStats[0].getString("PROCEDURE"));
+            if (stmts == null) {
+                stmts = new TreeMap<>();
+                merged.put(baseStats[0].getString("PROCEDURE"), stmts);
+            }
+            AbstractHistogram histogram = stmts.get(baseStats[0].getString("STATEMENT"));
+            if (histogram == null) {
+                histogram = StatementStats.constructLatencyHistogram();
+                stmts.put(baseStats[0].getString("STATEMENT"), histogram);
+            }
+            histogram.add(AbstractHistogram.fromCompressedBytes(baseStats[0].getVarbinary("HISTOGRAM"),
+                                                                CompressionStrategySnappy.INSTANCE));
+        }
+
+        VoltTable result = new VoltTable(
+            new ColumnInfo("TIMESTAMP", VoltType.BIGINT),
+            new ColumnInfo("PROCEDURE", VoltType.STRING),
+            new ColumnInfo("STATEMENT", VoltType.STRING),
+            new ColumnInfo("INVOCATIONS", VoltType.BIGINT),
+            new ColumnInfo("P50", VoltType.BIGINT),
+            new ColumnInfo("P95", VoltType.BIGINT),
+            new ColumnInfo("P99", VoltType.BIGINT),
+            new ColumnInfo("P99.9", VoltType.BIGINT),
+            new ColumnInfo("P99.99", VoltType.BIGINT),
+            new ColumnInfo("MAX", VoltType.BIGINT));
+        final long now = System.currentTimeMillis();
+        for (Entry<String, TreeMap<String, AbstractHistogram>> proc : merged.entrySet()) {
+            for (Entry<String, AbstractHistogram> stmt : proc.getValue().entrySet()) {
+                AbstractHistogram h = stmt.getValue();
+                if (h.getTotalCount() == 0) {
+                    continue;
+                }
+                result.addRow(now, proc.getKey(), stmt.getKey(), h.getTotalCount(),
+                        h.getValueAtPercentile(50D),
+                        h.getValueAtPercentile(95D),
+                        h.getValueAtPercentile(99D),
+                        h.getValueAtPercentile(99.9D),
+                        h.getValueAtPercentile(99.99D),
+                        h.getValueAtPercentile(100D));
+            }
+        }
+        return new VoltTable[] { result };
+    }
+
     /**
      * Produce PROCEDUREPROFILE aggregation of PROCEDURE subselector
      */
@@ -572,6 +637,21 @@ public class StatsAgent extends OpsAgent
         case TTL:
             stats = collectStats(StatsSelector.TTL, interval);
             break;
+        case PROCEDURELATENCY:
+            stats = collectProcedureLatencyStats(interval);
+            break;
+        case FUNCTION:
+            stats = collectStats(StatsSelector.FUNCTION, interval);
+            break;
+        case THREADCPU:
+            stats = collectStats(StatsSelector.THREADCPU, interval);
+            break;
+        case RESULTCACHE:
+            stats = collectStats(StatsSelector.RESULTCACHE, interval);
+            break;
+        case MPREADPOOL:
+            stats = collectStats(StatsSelector.MPREADPOOL, interval);
+            break;
         default:
             // Should have been successfully groomed in collectStatsImpl().  Log something
             // for our information but let the null check below return harmlessly
@@ -656,6 +736,49 @@ public class StatsAgent extends OpsAgent
         return stats;
     }
 
+    /**
+     * Merge the latency histograms of every site on this node, the histograms are
+     * kept by the PROCEDURE stats sources. Percentiles are computed in the final
+     * aggregation once the histograms of all the nodes are merged.
+     */
+    private VoltTable[] collectProcedureLatencyStats(boolean interval)
+    {
+        Map<Long, NonBlockingHashSet<StatsSource>> siteSources = m_registeredStatsSources.get(StatsSelector.PROCEDURE);
+        if (siteSources == null || siteSources.isEmpty()) {
+            // no procedure has been loaded yet
+            return null;
+        }
+        // procedure -> statement (null for the whole procedure) -> histogram
+        Map<String, Map<String, AbstractHistogram>> histograms = new HashMap<>();
+        for (NonBlockingHashSet<StatsSource> sources : siteSources.values()) {
+            for (StatsSource source : sources) {
+                if (!(source instanceof ProcedureStatsCollector)) {
+                    continue;
+                }
+                ProcedureStatsCollector collector = (ProcedureStatsCollector) source;
+                Map<String, AbstractHistogram> stmts = histograms.get(collector.getProcedureName());
+                if (stmts == null) {
+                    stmts = new HashMap<>();
+                    histograms.put(collector.getProcedureName(), stmts);
+                }
+                collector.addLatencyHistograms(stmts, interval);
+            }
+        }
+
+        VoltTable stats = new VoltTable(
+            new ColumnInfo("PROCEDURE", VoltType.STRING),
+            new ColumnInfo("STATEMENT", VoltType.STRING),
+            new ColumnInfo("HISTOGRAM", VoltType.VARBINARY));
+        for (Entry<String, Map<String, AbstractHistogram>> proc : histograms.entrySet()) {
+            for (Entry<String, AbstractHistogram> stmt : proc.getValue().entrySet()) {
+                stats.addRow(proc.getKey(),
+                             stmt.getKey() == null ? "<ALL>" : stmt.getKey(),
+                             stmt.getValue().toCompressedBytes(CompressionStrategySnappy.INSTANCE));
+            }
+        }
+        return new VoltTable[] { stats };
+    }
+
     private VoltTable[] collectStats(StatsSelector selector, boolean interval)
     {
         Long now = System.currentTimeMillis();
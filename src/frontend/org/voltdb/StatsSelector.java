@@ -61,5 +61,10 @@ public enum StatsSelector {
     GC,             // return GC Stats
 
     COMMANDLOG,     // return number of outstanding bytes and txns on this node
-    IMPORTER
+    IMPORTER,
+    PROCEDURELATENCY, // latency percentiles of every procedure and statement execution
+    FUNCTION,       // calls and execution time of each Java user-defined function
+    THREADCPU,      // CPU used by the sites, network, export, snapshot and JVM threads
+    RESULTCACHE,    // hits, misses and size of the result cache of each site
+    MPREADPOOL      // size and utilization of the MPI's pool of read-only sites
 }
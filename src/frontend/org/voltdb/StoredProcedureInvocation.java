@@ -419,6 +419,8 @@ public class StoredProcedureInvocation implements JSONString {
             case VERSION2:
                 initVersion2FromBuffer(buf);
                 break;
+            case BATCH:
+                throw new IOException("A batch frame can't be read as a single invocation.");
         }
     }
 
@@ -0,0 +1,106 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.voltcore.logging.VoltLogger;
+import org.voltdb.VoltTable.ColumnInfo;
+import org.voltdb.utils.ProcFSSampler;
+import org.voltdb.utils.ProcFSSampler.TaskGroup;
+
+/**
+ * CPU time used by each group of threads of this node (sites, network, export,
+ * snapshot, JVM), as sampled from procfs when the statistics are requested.
+ * CPU_TIME is in milliseconds, CORES_USED is the CPU time used since the previous
+ * request divided by the time elapsed, so 1.5 means one and a half cores were busy.
+ */
+public class ThreadCpuStats extends StatsSource {
+
+    private static final VoltLogger hostLog = new VoltLogger("HOST");
+
+    private final ProcFSSampler m_sampler;
+    private boolean m_interval = false;
+
+    // CPU time of each group at the last interval request
+    private final long[] m_intervalCpuMillis = new long[TaskGroup.values().length];
+    // ... and at the last request of either kind
+    private final long[] m_lastCpuMillis = new long[TaskGroup.values().length];
+    private long m_lastNanos;
+    // how much the window of the current request covers
+    private final long[] m_windowCpuMillis = new long[TaskGroup.values().length];
+    private long m_windowNanos;
+
+    public ThreadCpuStats(ProcFSSampler sampler) {
+        super(false);
+        m_sampler = sampler;
+        m_lastNanos = sampler.getSampleNanos();
+    }
+
+    @Override
+    protected Iterator<Object> getStatsRowKeyIterator(boolean interval) {
+        m_interval = interval;
+        try {
+            m_sampler.sample();
+        } catch (IOException e) {
+            hostLog.warn("Failed to sample thread CPU usage from procfs: " + e.getMessage());
+            return Collections.emptyIterator();
+        }
+        final long now = m_sampler.getSampleNanos();
+        for (TaskGroup group : TaskGroup.values()) {
+            final int ii = group.ordinal();
+            final long cpu = m_sampler.getGroupCpuMillis(group);
+            m_windowCpuMillis[ii] = cpu - m_lastCpuMillis[ii];
+            m_lastCpuMillis[ii] = cpu;
+        }
+        m_windowNanos = now - m_lastNanos;
+        m_lastNanos = now;
+        return Arrays.<Object>asList((Object[]) TaskGroup.values()).iterator();
+    }
+
+    @Override
+    protected void populateColumnSchema(ArrayList<ColumnInfo> columns) {
+        super.populateColumnSchema(columns);
+        columns.add(new VoltTable.ColumnInfo("THREAD_GROUP", VoltType.STRING));
+        columns.add(new VoltTable.ColumnInfo("THREADS", VoltType.INTEGER));
+        columns.add(new VoltTable.ColumnInfo("CPU_TIME", VoltType.BIGINT));
+        columns.add(new VoltTable.ColumnInfo("CORES_USED", VoltType.FLOAT));
+    }
+
+    @Override
+    protected synchronized void updateStatsRow(Object rowKey, Object[] rowValues) {
+        final TaskGroup group = (TaskGroup) rowKey;
+        final int ii = group.ordinal();
+        long cpu = m_sampler.getGroupCpuMillis(group);
+        if (m_interval) {
+            final long intervalCpu = cpu - m_intervalCpuMillis[ii];
+            m_intervalCpuMillis[ii] = cpu;
+            cpu = intervalCpu;
+        }
+        rowValues[columnNameToIndex.get("THREAD_GROUP")] = group.name();
+        rowValues[columnNameToIndex.get("THREADS")] = m_sampler.getGroupThreads(group);
+        rowValues[columnNameToIndex.get("CPU_TIME")] = cpu;
+        rowValues[columnNameToIndex.get("CORES_USED")] =
+                m_windowNanos > 0 ? m_windowCpuMillis[ii] * 1000000.0 / m_windowNanos : 0.0;
+        super.updateStatsRow(rowKey, rowValues);
+    }
+}
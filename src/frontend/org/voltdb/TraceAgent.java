@@ -108,7 +108,7 @@ public class TraceAgent extends OpsAgent {
             if (filePath != null) {
                 results[0].addRow(filePath);
             } else {
-                results[0].addRow("A trace file write request is already in progress or there is no category enabled");
+                results[0].addRow("A trace file write request is already in progress, there is no category enabled or no new event");
             }
         } else if (subselector.equalsIgnoreCase("enable")) {
             VoltTrace.enableCategories(VoltTrace.Category.valueOf(obj.getString("categories").toUpperCase()));
@@ -18,6 +18,8 @@
 package org.voltdb;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -53,12 +55,35 @@ public class UserDefinedFunctionManager {
             "VoltDB was unable to load a function (%s) which was expected to be " +
             "in the catalog jarfile and will now exit.";
 
-    ImmutableMap<Integer, UserDefinedFunctionRunner> m_udfs = ImmutableMap.<Integer, UserDefinedFunctionRunner>builder().build();
+    volatile ImmutableMap<Integer, UserDefinedFunctionRunner> m_udfs = ImmutableMap.<Integer, UserDefinedFunctionRunner>builder().build();
 
     public UserDefinedFunctionRunner getFunctionRunnerById(int functionId) {
         return m_udfs.get(functionId);
     }
 
+    /**
+     * Is {@code batch} the array form of the function method {@code scalar}?
+     * It takes an array of each parameter type of the scalar method and returns an
+     * array of its return type, one element per row. The execution engine calls it
+     * with a batch of rows at once instead of calling the scalar method once per row.
+     */
+    public static boolean isBatchFormOf(Method batch, Method scalar) {
+        Class<?>[] batchParamTypes = batch.getParameterTypes();
+        Class<?>[] scalarParamTypes = scalar.getParameterTypes();
+        if (batchParamTypes.length == 0 || batchParamTypes.length != scalarParamTypes.length) {
+            return false;
+        }
+        if (batch.getReturnType().getComponentType() != scalar.getReturnType()) {
+            return false;
+        }
+        for (int i = 0; i < batchParamTypes.length; i++) {
+            if (batchParamTypes[i].getComponentType() != scalarParamTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // Load all the UDFs recorded in the catalog. Instantiate and register them in the system.
     public void loadFunctions(CatalogContext catalogContext) {
         final CatalogMap<Function> catalogFunctions = catalogContext.database.getFunctions();
@@ -97,7 +122,13 @@ public class UserDefinedFunctionManager {
                 throw new RuntimeException(String.format("Error instantiating function \"%s\"", className), e);
             }
             assert(funcInstance != null);
-            builder.put(catalogFunction.getFunctionid(), new UserDefinedFunctionRunner(catalogFunction, funcInstance));
+            UserDefinedFunctionRunner runner = new UserDefinedFunctionRunner(catalogFunction, funcInstance);
+            // Keep counting the calls of a function which survives the catalog update
+            UserDefinedFunctionRunner previous = m_udfs.get(catalogFunction.getFunctionid());
+            if (previous != null && previous.m_functionName.equals(runner.m_functionName)) {
+                runner.m_stats = previous.m_stats;
+            }
+            builder.put(catalogFunction.getFunctionid(), runner);
         }
 
         loadBuiltInJavaFunctions(builder);
@@ -124,10 +155,13 @@ public class UserDefinedFunctionManager {
         final int m_functionId;
         final Object m_functionInstance;
         Method m_functionMethod;
+        // The array form of the function method, or null if the class has none
+        Method m_batchMethod;
         final VoltType[] m_paramTypes;
         final boolean[] m_boxUpByteArray;
         final VoltType m_returnType;
         final int m_paramCount;
+        FunctionStats m_stats = new FunctionStats();
 
         static final int VAR_LEN_SIZE = Integer.SIZE/8;
 
@@ -163,6 +197,7 @@ public class UserDefinedFunctionManager {
         }
 
         private void initFunctionMethod(String methodName) {
+            List<Method> candidates = new ArrayList<>();
             for (final Method m : m_functionInstance.getClass().getDeclaredMethods()) {
                 if (m.getName().equals(methodName)) {
                     if (! Modifier.isPublic(m.getModifiers())) {
@@ -174,16 +209,34 @@ public class UserDefinedFunctionManager {
                     if (m.getReturnType().equals(Void.TYPE)) {
                         continue;
                     }
+                    candidates.add(m);
+                }
+            }
+            // The function method is the one which is not the array form of another
+            for (Method m : candidates) {
+                boolean isBatchForm = false;
+                for (Method other : candidates) {
+                    if (other != m && isBatchFormOf(m, other)) {
+                        isBatchForm = true;
+                        break;
+                    }
+                }
+                if (! isBatchForm) {
                     m_functionMethod = m;
                     break;
                 }
-
             }
             if (m_functionMethod == null) {
                 throw new RuntimeException(
                         String.format("Error loading function %s: cannot find the %s() method.",
                                 m_functionName, methodName));
             }
+            for (Method m : candidates) {
+                if (isBatchFormOf(m, m_functionMethod)) {
+                    m_batchMethod = m;
+                    break;
+                }
+            }
         }
 
         // We should refactor those functions into SerializationHelper
@@ -322,7 +375,40 @@ public class UserDefinedFunctionManager {
             }
         }
 
-        public Object call(ByteBuffer udfBuffer) throws Throwable {
+        /**
+         * Get the number of bytes writeValueToBuffer() will write for the value.
+         */
+        public static int getSerializedSize(VoltType type, Object value) {
+            // 1 byte for the type indicator
+            if (! type.isVariableLength()) {
+                return 1 + type.getLengthInBytesForFixedTypes();
+            }
+            // 4 bytes for the prefixed length
+            int size = 1 + VAR_LEN_SIZE;
+            if (VoltType.isVoltNullValue(value)) {
+                return size;
+            }
+            switch (type) {
+            case VARBINARY:
+                if (value instanceof byte[]) {
+                    size += ((byte[])value).length;
+                }
+                else if (value instanceof Byte[]) {
+                    size += ((Byte[])value).length;
+                }
+                break;
+            case STRING:
+                size += ((String)value).getBytes(Constants.UTF8ENCODING).length;
+                break;
+            case GEOGRAPHY:
+                size += ((GeographyValue)value).getLengthInBytes();
+                break;
+            default:
+            }
+            return size;
+        }
+
+        private Object[] readParameters(ByteBuffer udfBuffer) {
             Object[] paramsIn = new Object[m_paramCount];
             for (int i = 0; i < m_paramCount; i++) {
                 paramsIn[i] = getValueFromBuffer(udfBuffer, m_paramTypes[i]);
@@ -330,7 +416,79 @@ public class UserDefinedFunctionManager {
                     paramsIn[i] = SerializationHelper.boxUpByteArray((byte[])paramsIn[i]);
                 }
             }
-            return m_functionMethod.invoke(m_functionInstance, paramsIn);
+            return paramsIn;
+        }
+
+        /**
+         * Run the function on the rows of parameters the execution engine put in the
+         * buffer: the number of rows, then the parameters of each row. The function
+         * fails or succeeds on each row independently. The array form of the function
+         * method is used when the class has one, the function method is called once
+         * per row otherwise, or when the array form fails.
+         */
+        public BatchResult call(ByteBuffer udfBuffer) {
+            final int rowCount = udfBuffer.getInt();
+            Object[][] rows = new Object[rowCount][];
+            for (int row = 0; row < rowCount; row++) {
+                rows[row] = readParameters(udfBuffer);
+            }
+
+            BatchResult result = new BatchResult(m_returnType, rowCount);
+            final long start = System.nanoTime();
+            boolean calledBatchMethod = m_batchMethod != null && rowCount > 1 && callBatchMethod(rows, result);
+            if (! calledBatchMethod) {
+                for (int row = 0; row < rowCount; row++) {
+                    try {
+                        result.m_values[row] = m_functionMethod.invoke(m_functionInstance, rows[row]);
+                    }
+                    catch (InvocationTargetException e) {
+                        // Exceptions thrown during Java reflection will be wrapped into this InvocationTargetException.
+                        // We need to get its cause and throw that to the user.
+                        result.setError(row, e.getCause());
+                    }
+                    catch (Throwable t) {
+                        result.setError(row, t);
+                    }
+                }
+            }
+            m_stats.record(rowCount, calledBatchMethod, result.m_failures, System.nanoTime() - start);
+            return result;
+        }
+
+        /**
+         * Call the array form of the function method on all the rows.
+         * @return false if it cannot take these rows, a SQL NULL for a primitive parameter,
+         * or if it failed. The batch may hold rows the query would have skipped, so a
+         * failure is not blamed on every row, the rows are then run one at a time.
+         */
+        private boolean callBatchMethod(Object[][] rows, BatchResult result) {
+            Class<?>[] paramTypeClasses = m_functionMethod.getParameterTypes();
+            Object[] columns = new Object[m_paramCount];
+            for (int i = 0; i < m_paramCount; i++) {
+                columns[i] = Array.newInstance(paramTypeClasses[i], rows.length);
+                for (int row = 0; row < rows.length; row++) {
+                    Object value = rows[row][i];
+                    if (value == null && paramTypeClasses[i].isPrimitive()) {
+                        return false;
+                    }
+                    Array.set(columns[i], row, value);
+                }
+            }
+
+            Object values;
+            try {
+                values = m_batchMethod.invoke(m_functionInstance, columns);
+            }
+            catch (Throwable t) {
+                return false;
+            }
+            if (values == null || Array.getLength(values) != rows.length) {
+                return false;
+            }
+            for (int row = 0; row < rows.length; row++) {
+                result.m_values[row] = Array.get(values, row);
+            }
+            return true;
         }
 
         public VoltType getReturnType() {
@@ -342,4 +500,99 @@ public class UserDefinedFunctionManager {
         }
 
     }
+
+    /**
+     * The results of running a function on a batch of rows, as written back to the
+     * execution engine: for each row a status byte, then the return value if the
+     * status is 0 or the error message if it is 1.
+     */
+    public static class BatchResult {
+        final VoltType m_returnType;
+        final Object[] m_values;
+        final Throwable[] m_errors;
+        int m_failures = 0;
+
+        BatchResult(VoltType returnType, int rowCount) {
+            m_returnType = returnType;
+            m_values = new Object[rowCount];
+            m_errors = new Throwable[rowCount];
+        }
+
+        void setError(int row, Throwable error) {
+            if (m_errors[row] == null) {
+                m_failures++;
+            }
+            m_errors[row] = error;
+        }
+
+        public int getRowCount() {
+            return m_values.length;
+        }
+
+        public Object getValue(int row) {
+            return m_values[row];
+        }
+
+        public Throwable getError(int row) {
+            return m_errors[row];
+        }
+
+        private static byte[] getErrorMessage(Throwable error) {
+            return error.toString().getBytes(Constants.UTF8ENCODING);
+        }
+
+        public int getSerializedSize() {
+            int size = 0;
+            for (int row = 0; row < m_values.length; row++) {
+                size += 1;
+                if (m_errors[row] == null) {
+                    size += UserDefinedFunctionRunner.getSerializedSize(m_returnType, m_values[row]);
+                }
+                else {
+                    size += UserDefinedFunctionRunner.VAR_LEN_SIZE + getErrorMessage(m_errors[row]).length;
+                }
+            }
+            return size;
+        }
+
+        public void writeToBuffer(ByteBuffer buffer) throws IOException {
+            for (int row = 0; row < m_values.length; row++) {
+                if (m_errors[row] == null) {
+                    buffer.put((byte) 0);
+                    UserDefinedFunctionRunner.writeValueToBuffer(buffer, m_returnType, m_values[row]);
+                }
+                else {
+                    buffer.put((byte) 1);
+                    SerializationHelper.writeVarbinary(getErrorMessage(m_errors[row]), buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Call counters of a function on a site, reported by @Statistics FUNCTION.
+     * They are only updated by the site thread.
+     */
+    static class FunctionStats {
+        long m_invocations = 0;
+        long m_calls = 0;
+        long m_batchMethodCalls = 0;
+        long m_failures = 0;
+        long m_totalNanos = 0;
+        long m_maxCallNanos = 0;
+        // reset by every interval poll
+        long m_intervalMaxCallNanos = 0;
+
+        void record(int rowCount, boolean calledBatchMethod, int failures, long nanos) {
+            m_invocations += rowCount;
+            m_calls++;
+            if (calledBatchMethod) {
+                m_batchMethodCalls++;
+            }
+            m_failures += failures;
+            m_totalNanos += nanos;
+            m_maxCallNanos = Math.max(m_maxCallNanos, nanos);
+            m_intervalMaxCallNanos = Math.max(m_intervalMaxCallNanos, nanos);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hsqldb_voltpatches.FunctionForVoltDB;
+import org.voltdb.UserDefinedFunctionManager.FunctionStats;
+import org.voltdb.UserDefinedFunctionManager.UserDefinedFunctionRunner;
+import org.voltdb.VoltTable.ColumnInfo;
+
+/**
+ * Calls and execution time of the Java user-defined functions on a site.
+ * The execution engine calls a function on a batch of rows at a time when it
+ * can, INVOCATIONS counts the rows and CALLS the calls from the engine.
+ */
+public class UserDefinedFunctionStats extends SiteStatsSource {
+
+    private final UserDefinedFunctionManager m_manager;
+    private boolean m_interval = false;
+    // Counters of each function at the last interval poll
+    private final Map<String, FunctionStats> m_lastPoll = new HashMap<>();
+
+    public UserDefinedFunctionStats(long siteId, UserDefinedFunctionManager manager) {
+        super(siteId, false);
+        m_manager = manager;
+    }
+
+    @Override
+    protected Iterator<Object> getStatsRowKeyIterator(boolean interval) {
+        m_interval = interval;
+        List<Object> runners = new ArrayList<>();
+        for (UserDefinedFunctionRunner runner : m_manager.m_udfs.values()) {
+            // Leave out the built-in functions implemented in Java
+            if (FunctionForVoltDB.isUserDefinedFunctionId(runner.m_functionId)) {
+                runners.add(runner);
+            }
+        }
+        return runners.iterator();
+    }
+
+    @Override
+    protected void populateColumnSchema(ArrayList<ColumnInfo> columns) {
+        super.populateColumnSchema(columns);
+        columns.add(new ColumnInfo("FUNCTION_NAME", VoltType.STRING));
+        columns.add(new ColumnInfo("INVOCATIONS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("CALLS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("BATCH_METHOD_CALLS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("FAILURES", VoltType.BIGINT));
+        columns.add(new ColumnInfo("AVG_EXECUTION_TIME", VoltType.BIGINT));
+        columns.add(new ColumnInfo("MAX_CALL_EXECUTION_TIME", VoltType.BIGINT));
+    }
+
+    @Override
+    protected void updateStatsRow(Object rowKey, Object[] rowValues) {
+        UserDefinedFunctionRunner runner = (UserDefinedFunctionRunner) rowKey;
+        FunctionStats stats = runner.m_stats;
+        long invocations = stats.m_invocations;
+        long calls = stats.m_calls;
+        long batchMethodCalls = stats.m_batchMethodCalls;
+        long failures = stats.m_failures;
+        long totalNanos = stats.m_totalNanos;
+        long maxCallNanos = stats.m_maxCallNanos;
+        if (m_interval) {
+            FunctionStats last = m_lastPoll.get(runner.m_functionName);
+            if (last == null || last.m_calls > calls) {
+                // first poll, or the function was dropped and created again
+                last = new FunctionStats();
+            }
+            FunctionStats current = new FunctionStats();
+            current.m_invocations = invocations;
+            current.m_calls = calls;
+            current.m_batchMethodCalls = batchMethodCalls;
+            current.m_failures = failures;
+            current.m_totalNanos = totalNanos;
+            m_lastPoll.put(runner.m_functionName, current);
+
+            invocations -= last.m_invocations;
+            calls -= last.m_calls;
+            batchMethodCalls -= last.m_batchMethodCalls;
+            failures -= last.m_failures;
+            totalNanos -= last.m_totalNanos;
+            maxCallNanos = stats.m_intervalMaxCallNanos;
+            stats.m_intervalMaxCallNanos = 0;
+        }
+        rowValues[columnNameToIndex.get("FUNCTION_NAME")] = runner.m_functionName;
+        rowValues[columnNameToIndex.get("INVOCATIONS")] = invocations;
+        rowValues[columnNameToIndex.get("CALLS")] = calls;
+        rowValues[columnNameToIndex.get("BATCH_METHOD_CALLS")] = batchMethodCalls;
+        rowValues[columnNameToIndex.get("FAILURES")] = failures;
+        rowValues[columnNameToIndex.get("AVG_EXECUTION_TIME")] = invocations > 0 ? totalNanos / invocations : 0L;
+        rowValues[columnNameToIndex.get("MAX_CALL_EXECUTION_TIME")] = maxCallNanos;
+        super.updateStatsRow(rowKey, rowValues);
+    }
+}
@@ -23,7 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import org.voltdb.client.ClientResponse;
 
 /**
- * Sysproc variant of VoltNTProcedure adds the all-hosts method.
+ * Sysproc variant of VoltNTProcedure adds the all-hosts and one-host methods.
  *
  */
 public class VoltNTSystemProcedure extends VoltNonTransactionalProcedure {
@@ -35,6 +35,13 @@ public class VoltNTSystemProcedure extends VoltNonTransactionalProcedure {
         return m_runner.callAllNodeNTProcedure(procName, params);
     }
 
+    /**
+     * Run a non-transactional (only) procedure on the given host, if it is live.
+     */
+    protected CompletableFuture<Map<Integer,ClientResponse>> callNTProcedureOnHost(int hostId, String procName, Object... params) {
+        return m_runner.callHostNTProcedure(hostId, procName, params);
+    }
+
     protected String getHostname() {
         return m_runner.getHostname();
     }
@@ -0,0 +1,246 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+package org.voltdb.catalog;
+
+/**
+ * A user-defined function
+ */
+public class Function extends CatalogType {
+
+    int m_functionId;
+    String m_functionName = new String();
+    String m_className = new String();
+    String m_methodName = new String();
+    CatalogMap<FunctionParameter> m_parameters;
+    int m_returnType;
+    String m_stmtDependers = new String();
+
+    @Override
+    void initChildMaps() {
+        m_parameters = new CatalogMap<FunctionParameter>(getCatalog(), this, "parameters", FunctionParameter.class, m_parentMap.m_depth + 1);
+    }
+
+    public String[] getFields() {
+        return new String[] {
+            "functionId",
+            "functionName",
+            "className",
+            "methodName",
+            "returnType",
+            "stmtDependers",
+        };
+    };
+
+    String[] getChildCollections() {
+        return new String[] {
+            "parameters",
+        };
+    };
+
+    public Object getField(String field) {
+        switch (field) {
+        case "functionId":
+            return getFunctionid();
+        case "functionName":
+            return getFunctionname();
+        case "className":
+            return getClassname();
+        case "methodName":
+            return getMethodname();
+        case "parameters":
+            return getParameters();
+        case "returnType":
+            return getReturntype();
+        case "stmtDependers":
+            return getStmtdependers();
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    /** GETTER: The function sequential ID */
+    public int getFunctionid() {
+        return m_functionId;
+    }
+
+    /** GETTER: The name of the function */
+    public String getFunctionname() {
+        return m_functionName;
+    }
+
+    /** GETTER: The class name of the function implementation */
+    public String getClassname() {
+        return m_className;
+    }
+
+    /** GETTER: The method name of the function implementation */
+    public String getMethodname() {
+        return m_methodName;
+    }
+
+    /** GETTER: The parameter types of this function */
+    public CatalogMap<FunctionParameter> getParameters() {
+        return m_parameters;
+    }
+
+    /** GETTER: The return value type of this function */
+    public int getReturntype() {
+        return m_returnType;
+    }
+
+    /** GETTER: The set of names of statements which depend on this function */
+    public String getStmtdependers() {
+        return m_stmtDependers;
+    }
+
+    /** SETTER: The function sequential ID */
+    public void setFunctionid(int value) {
+        m_functionId = value;
+    }
+
+    /** SETTER: The name of the function */
+    public void setFunctionname(String value) {
+        m_functionName = value;
+    }
+
+    /** SETTER: The class name of the function implementation */
+    public void setClassname(String value) {
+        m_className = value;
+    }
+
+    /** SETTER: The method name of the function implementation */
+    public void setMethodname(String value) {
+        m_methodName = value;
+    }
+
+    /** SETTER: The return value type of this function */
+    public void setReturntype(int value) {
+        m_returnType = value;
+    }
+
+    /** SETTER: The set of names of statements which depend on this function */
+    public void setStmtdependers(String value) {
+        m_stmtDependers = value;
+    }
+
+    @Override
+    void set(String field, String value) {
+        if ((field == null) || (value == null)) {
+            throw new CatalogException("Null value where it shouldn't be.");
+        }
+
+        switch (field) {
+        case "functionId":
+            assert(value != null);
+            m_functionId = Integer.parseInt(value);
+            break;
+        case "functionName":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            if (value != null) {
+                assert(value.startsWith("\"") && value.endsWith("\""));
+                value = value.substring(1, value.length() - 1);
+            }
+            m_functionName = value;
+            break;
+        case "className":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            if (value != null) {
+                assert(value.startsWith("\"") && value.endsWith("\""));
+                value = value.substring(1, value.length() - 1);
+            }
+            m_className = value;
+            break;
+        case "methodName":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            if (value != null) {
+                assert(value.startsWith("\"") && value.endsWith("\""));
+                value = value.substring(1, value.length() - 1);
+            }
+            m_methodName = value;
+            break;
+        case "returnType":
+            assert(value != null);
+            m_returnType = Integer.parseInt(value);
+            break;
+        case "stmtDependers":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            if (value != null) {
+                assert(value.startsWith("\"") && value.endsWith("\""));
+                value = value.substring(1, value.length() - 1);
+            }
+            m_stmtDependers = value;
+            break;
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    @Override
+    void copyFields(CatalogType obj) {
+        // this is safe from the caller
+        Function other = (Function) obj;
+
+        other.m_functionId = m_functionId;
+        other.m_functionName = m_functionName;
+        other.m_className = m_className;
+        other.m_methodName = m_methodName;
+        other.m_parameters.copyFrom(m_parameters);
+        other.m_returnType = m_returnType;
+        other.m_stmtDependers = m_stmtDependers;
+    }
+
+    public boolean equals(Object obj) {
+        // this isn't really the convention for null handling
+        if ((obj == null) || (obj.getClass().equals(getClass()) == false))
+            return false;
+
+        // Do the identity check
+        if (obj == this)
+            return true;
+
+        // this is safe because of the class check
+        // it is also known that the childCollections var will be the same
+        //  from the class check
+        Function other = (Function) obj;
+
+        // are the fields / children the same? (deep compare)
+        if (m_functionId != other.m_functionId) return false;
+        if ((m_functionName == null) != (other.m_functionName == null)) return false;
+        if ((m_functionName != null) && !m_functionName.equals(other.m_functionName)) return false;
+        if ((m_className == null) != (other.m_className == null)) return false;
+        if ((m_className != null) && !m_className.equals(other.m_className)) return false;
+        if ((m_methodName == null) != (other.m_methodName == null)) return false;
+        if ((m_methodName != null) && !m_methodName.equals(other.m_methodName)) return false;
+        if ((m_parameters == null) != (other.m_parameters == null)) return false;
+        if ((m_parameters != null) && !m_parameters.equals(other.m_parameters)) return false;
+        if (m_returnType != other.m_returnType) return false;
+        if ((m_stmtDependers == null) != (other.m_stmtDependers == null)) return false;
+        if ((m_stmtDependers != null) && !m_stmtDependers.equals(other.m_stmtDependers)) return false;
+
+        return true;
+    }
+
+}
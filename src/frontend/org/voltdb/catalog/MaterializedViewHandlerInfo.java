@@ -0,0 +1,191 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+package org.voltdb.catalog;
+
+/**
+ * Information used to build and update a materialized view
+ */
+public class MaterializedViewHandlerInfo extends CatalogType {
+
+    CatalogMap<Statement> m_fallbackQueryStmts;
+    CatalogMap<Statement> m_createQuery;
+    CatalogMap<TableRef> m_sourceTables;
+    Catalog.CatalogReference<Table> m_destTable = new CatalogReference<>();
+    int m_groupByColumnCount;
+    boolean m_isSafeWithNonemptySources;
+
+    @Override
+    void initChildMaps() {
+        m_fallbackQueryStmts = new CatalogMap<Statement>(getCatalog(), this, "fallbackQueryStmts", Statement.class, m_parentMap.m_depth + 1);
+        m_createQuery = new CatalogMap<Statement>(getCatalog(), this, "createQuery", Statement.class, m_parentMap.m_depth + 1);
+        m_sourceTables = new CatalogMap<TableRef>(getCatalog(), this, "sourceTables", TableRef.class, m_parentMap.m_depth + 1);
+    }
+
+    public String[] getFields() {
+        return new String[] {
+            "destTable",
+            "groupByColumnCount",
+            "isSafeWithNonemptySources",
+        };
+    };
+
+    String[] getChildCollections() {
+        return new String[] {
+            "fallbackQueryStmts",
+            "createQuery",
+            "sourceTables",
+        };
+    };
+
+    public Object getField(String field) {
+        switch (field) {
+        case "fallbackQueryStmts":
+            return getFallbackquerystmts();
+        case "createQuery":
+            return getCreatequery();
+        case "sourceTables":
+            return getSourcetables();
+        case "destTable":
+            return getDesttable();
+        case "groupByColumnCount":
+            return getGroupbycolumncount();
+        case "isSafeWithNonemptySources":
+            return getIssafewithnonemptysources();
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    /** GETTER: Statements to search for mview min/max fallback value */
+    public CatalogMap<Statement> getFallbackquerystmts() {
+        return m_fallbackQueryStmts;
+    }
+
+    /** GETTER: The SELECT statement that defines the view */
+    public CatalogMap<Statement> getCreatequery() {
+        return m_createQuery;
+    }
+
+    /** GETTER: Source table(s) of this materialized view */
+    public CatalogMap<TableRef> getSourcetables() {
+        return m_sourceTables;
+    }
+
+    /** GETTER: The table which will be updated when the source table is updated */
+    public Table getDesttable() {
+        return m_destTable.get();
+    }
+
+    /** GETTER: Number of group by columns */
+    public int getGroupbycolumncount() {
+        return m_groupByColumnCount;
+    }
+
+    /** GETTER: Is this a materialized view which may be created with nonempty source tables */
+    public boolean getIssafewithnonemptysources() {
+        return m_isSafeWithNonemptySources;
+    }
+
+    /** SETTER: The table which will be updated when the source table is updated */
+    public void setDesttable(Table value) {
+        m_destTable.set(value);
+    }
+
+    /** SETTER: Number of group by columns */
+    public void setGroupbycolumncount(int value) {
+        m_groupByColumnCount = value;
+    }
+
+    /** SETTER: Is this a materialized view which may be created with nonempty source tables */
+    public void setIssafewithnonemptysources(boolean value) {
+        m_isSafeWithNonemptySources = value;
+    }
+
+    @Override
+    void set(String field, String value) {
+        if ((field == null) || (value == null)) {
+            throw new CatalogException("Null value where it shouldn't be.");
+        }
+
+        switch (field) {
+        case "destTable":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            assert((value == null) || value.startsWith("/"));
+            m_destTable.setUnresolved(value);
+            break;
+        case "groupByColumnCount":
+            assert(value != null);
+            m_groupByColumnCount = Integer.parseInt(value);
+            break;
+        case "isSafeWithNonemptySources":
+            assert(value != null);
+            m_isSafeWithNonemptySources = Boolean.parseBoolean(value);
+            break;
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    @Override
+    void copyFields(CatalogType obj) {
+        // this is safe from the caller
+        MaterializedViewHandlerInfo other = (MaterializedViewHandlerInfo) obj;
+
+        other.m_fallbackQueryStmts.copyFrom(m_fallbackQueryStmts);
+        other.m_createQuery.copyFrom(m_createQuery);
+        other.m_sourceTables.copyFrom(m_sourceTables);
+        other.m_destTable.setUnresolved(m_destTable.getPath());
+        other.m_groupByColumnCount = m_groupByColumnCount;
+        other.m_isSafeWithNonemptySources = m_isSafeWithNonemptySources;
+    }
+
+    public boolean equals(Object obj) {
+        // this isn't really the convention for null handling
+        if ((obj == null) || (obj.getClass().equals(getClass()) == false))
+            return false;
+
+        // Do the identity check
+        if (obj == this)
+            return true;
+
+        // this is safe because of the class check
+        // it is also known that the childCollections var will be the same
+        //  from the class check
+        MaterializedViewHandlerInfo other = (MaterializedViewHandlerInfo) obj;
+
+        // are the fields / children the same? (deep compare)
+        if ((m_fallbackQueryStmts == null) != (other.m_fallbackQueryStmts == null)) return false;
+        if ((m_fallbackQueryStmts != null) && !m_fallbackQueryStmts.equals(other.m_fallbackQueryStmts)) return false;
+        if ((m_createQuery == null) != (other.m_createQuery == null)) return false;
+        if ((m_createQuery != null) && !m_createQuery.equals(other.m_createQuery)) return false;
+        if ((m_sourceTables == null) != (other.m_sourceTables == null)) return false;
+        if ((m_sourceTables != null) && !m_sourceTables.equals(other.m_sourceTables)) return false;
+        if ((m_destTable == null) != (other.m_destTable == null)) return false;
+        if ((m_destTable != null) && !m_destTable.equals(other.m_destTable)) return false;
+        if (m_groupByColumnCount != other.m_groupByColumnCount) return false;
+        if (m_isSafeWithNonemptySources != other.m_isSafeWithNonemptySources) return false;
+
+        return true;
+    }
+
+}
@@ -0,0 +1,198 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/* WARNING: THIS FILE IS AUTO-GENERATED
+            DO NOT MODIFY THIS SOURCE
+            ALL CHANGES MUST BE MADE IN THE CATALOG GENERATOR */
+
+package org.voltdb.catalog;
+
+/**
+ * Time to Live (TTL), limits the life span of data
+ */
+public class TimeToLive extends CatalogType {
+
+    int m_ttlValue;
+    String m_ttlUnit = new String();
+    Catalog.CatalogReference<Column> m_ttlColumn = new CatalogReference<>();
+    int m_batchSize;
+    int m_maxFrequency;
+
+    @Override
+    void initChildMaps() {
+    }
+
+    public String[] getFields() {
+        return new String[] {
+            "ttlValue",
+            "ttlUnit",
+            "ttlColumn",
+            "batchSize",
+            "maxFrequency",
+        };
+    };
+
+    String[] getChildCollections() {
+        return new String[] {
+        };
+    };
+
+    public Object getField(String field) {
+        switch (field) {
+        case "ttlValue":
+            return getTtlvalue();
+        case "ttlUnit":
+            return getTtlunit();
+        case "ttlColumn":
+            return getTtlcolumn();
+        case "batchSize":
+            return getBatchsize();
+        case "maxFrequency":
+            return getMaxfrequency();
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    /** GETTER: time value-life span of data */
+    public int getTtlvalue() {
+        return m_ttlValue;
+    }
+
+    /** GETTER: time unit, second, minute, hour or day. default: second */
+    public String getTtlunit() {
+        return m_ttlUnit;
+    }
+
+    /** GETTER: A column used to determine the duration of data */
+    public Column getTtlcolumn() {
+        return m_ttlColumn.get();
+    }
+
+    /** GETTER: Number of tuples to be deleted in a batch. default: 1000 */
+    public int getBatchsize() {
+        return m_batchSize;
+    }
+
+    /** GETTER: Maximal number of times of deleting batchSize rows per second.default: 1 */
+    public int getMaxfrequency() {
+        return m_maxFrequency;
+    }
+
+    /** SETTER: time value-life span of data */
+    public void setTtlvalue(int value) {
+        m_ttlValue = value;
+    }
+
+    /** SETTER: time unit, second, minute, hour or day. default: second */
+    public void setTtlunit(String value) {
+        m_ttlUnit = value;
+    }
+
+    /** SETTER: A column used to determine the duration of data */
+    public void setTtlcolumn(Column value) {
+        m_ttlColumn.set(value);
+    }
+
+    /** SETTER: Number of tuples to be deleted in a batch. default: 1000 */
+    public void setBatchsize(int value) {
+        m_batchSize = value;
+    }
+
+    /** SETTER: Maximal number of times of deleting batchSize rows per second.default: 1 */
+    public void setMaxfrequency(int value) {
+        m_maxFrequency = value;
+    }
+
+    @Override
+    void set(String field, String value) {
+        if ((field == null) || (value == null)) {
+            throw new CatalogException("Null value where it shouldn't be.");
+        }
+
+        switch (field) {
+        case "ttlValue":
+            assert(value != null);
+            m_ttlValue = Integer.parseInt(value);
+            break;
+        case "ttlUnit":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            if (value != null) {
+                assert(value.startsWith("\"") && value.endsWith("\""));
+                value = value.substring(1, value.length() - 1);
+            }
+            m_ttlUnit = value;
+            break;
+        case "ttlColumn":
+            value = value.trim();
+            if (value.startsWith("null")) value = null;
+            assert((value == null) || value.startsWith("/"));
+            m_ttlColumn.setUnresolved(value);
+            break;
+        case "batchSize":
+            assert(value != null);
+            m_batchSize = Integer.parseInt(value);
+            break;
+        case "maxFrequency":
+            assert(value != null);
+            m_maxFrequency = Integer.parseInt(value);
+            break;
+        default:
+            throw new CatalogException("Unknown field");
+        }
+    }
+
+    @Override
+    void copyFields(CatalogType obj) {
+        // this is safe from the caller
+        TimeToLive other = (TimeToLive) obj;
+
+        other.m_ttlValue = m_ttlValue;
+        other.m_ttlUnit = m_ttlUnit;
+        other.m_ttlColumn.setUnresolved(m_ttlColumn.getPath());
+        other.m_batchSize = m_batchSize;
+        other.m_maxFrequency = m_maxFrequency;
+    }
+
+    public boolean equals(Object obj) {
+        // this isn't really the convention for null handling
+        if ((obj == null) || (obj.getClass().equals(getClass()) == false))
+            return false;
+
+        // Do the identity check
+        if (obj == this)
+            return true;
+
+        // this is safe because of the class check
+        // it is also known that the childCollections var will be the same
+        //  from the class check
+        TimeToLive other = (TimeToLive) obj;
+
+        // are the fields / children the same? (deep compare)
+        if (m_ttlValue != other.m_ttlValue) return false;
+        if ((m_ttlUnit == null) != (other.m_ttlUnit == null)) return false;
+        if ((m_ttlUnit != null) && !m_ttlUnit.equals(other.m_ttlUnit)) return false;
+        if ((m_ttlColumn == null) != (other.m_ttlColumn == null)) return false;
+        if ((m_ttlColumn != null) && !m_ttlColumn.equals(other.m_ttlColumn)) return false;
+        if (m_batchSize != other.m_batchSize) return false;
+        if (m_maxFrequency != other.m_maxFrequency) return false;
+
+        return true;
+    }
+
+}
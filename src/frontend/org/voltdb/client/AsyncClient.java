@@ -0,0 +1,364 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>A non-blocking front end to a {@link Client}. Procedure calls return a
+ * {@link CompletableFuture} that completes with the {@link ClientResponse},
+ * whatever its status. The future only completes exceptionally when the call
+ * could not be sent, for example because the client has no connections.</p>
+ *
+ * <p>Calls never block the caller. Flow control is credit based: the client
+ * holds one permit per transaction it may have outstanding, as set with
+ * {@link ClientConfig#setMaxOutstandingTxns(int)}. A call takes a permit and
+ * its response returns it. When no permit is available, or every connection
+ * has backpressure, calls wait in a local queue and are sent in order as
+ * permits come back. Producers that must not queue can call
+ * {@link #getAvailablePermits()}, and register a listener with
+ * {@link #setPermitsListener(IntConsumer)} to be told how many calls they
+ * may send once permits are returned.</p>
+ *
+ * <p>Futures are completed, and the permits listener called, on the executor
+ * given at creation. Without one they run on the network thread of the client,
+ * and must not block.</p>
+ *
+ * <p>Create instances with {@link #create(ClientConfig, Executor)}. The client
+ * that carries the calls is not exposed, so that every call goes through the
+ * permits.</p>
+ *
+ * <p>The client library is built for Java 7. This class needs Java 8, so it
+ * ships in its own jar, voltdbclient-async, next to the client library.</p>
+ */
+public class AsyncClient {
+
+    /**
+     * The way invocations reach the cluster.
+     */
+    interface Transport {
+        /**
+         * @return false if the invocation was refused because of backpressure
+         */
+        boolean tryCall(ProcedureCallback callback, long clientTimeoutNanos, String procName, Object[] parameters)
+                throws NoConnectionsException;
+    }
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final Client m_client;
+    private final Transport m_transport;
+    private final Executor m_executor;
+    // sends of queued calls never run on the network thread
+    private final Executor m_drainExecutor;
+
+    private final Object m_lock = new Object();
+    private int m_permits;
+    private boolean m_backpressure = false;
+    private final ArrayDeque<Call> m_queued = new ArrayDeque<>();
+    private volatile IntConsumer m_permitsListener = null;
+
+    /**
+     * <p>Create an AsyncClient, whose calls return futures and never block.
+     * The max outstanding transactions of the config set the permits of the client.
+     * Rate limiting and auto tuning are not supported.</p>
+     *
+     * @param config A ClientConfig object specifying what type of client to create
+     * @param executor Executor completing the futures, or null to complete them
+     *  on the network thread of the client
+     * @return A configured asynchronous client
+     */
+    public static AsyncClient create(ClientConfig config, Executor executor) {
+        checkConfig(config);
+        return new AsyncClient((ClientImpl) ClientFactory.createClient(config), config, executor);
+    }
+
+    AsyncClient(ClientImpl client, ClientConfig config, Executor executor) {
+        this(client, client::tryCallProcedure, config.m_maxOutstandingTxns, executor);
+        client.addClientStatusListener(new ClientStatusListenerExt() {
+            // Both are reported under the lock of the Distributer, so an end of
+            // backpressure is never seen before the backpressure it ends.
+            @Override
+            public void backpressure(boolean status) {
+                if (status) {
+                    backpressureStarted();
+                }
+                else {
+                    backpressureEnded();
+                }
+            }
+
+            @Override
+            public void connectionLost(String hostname, int port, int connectionsLeft, DisconnectCause cause) {
+                if (connectionsLeft == 0) {
+                    // let queued calls fail instead of waiting for a connection
+                    backpressureEnded();
+                }
+            }
+        });
+    }
+
+    // The rate limiter blocks callers, so it cannot be used under the permits
+    static void checkConfig(ClientConfig config) {
+        if (config.m_autoTune || config.m_maxTransactionsPerSecond < Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("AsyncClient does not support rate limiting or auto tuning, "
+                    + "use the permits to limit the rate of calls.");
+        }
+    }
+
+    AsyncClient(Client client, Transport transport, int maxOutstanding, Executor executor) {
+        if (maxOutstanding < 1) {
+            throw new IllegalArgumentException("Max outstanding transactions must be positive: " + maxOutstanding);
+        }
+        m_client = client;
+        m_transport = transport;
+        m_permits = maxOutstanding;
+        m_executor = executor == null ? DIRECT : executor;
+        m_drainExecutor = executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    /**
+     * Create a connection to the VoltDB node at the given host and the default port.
+     * @see Client#createConnection(String)
+     */
+    public void createConnection(String host) throws UnknownHostException, IOException {
+        m_client.createConnection(host);
+    }
+
+    /**
+     * Create a connection to the VoltDB node at the given host and port.
+     * @see Client#createConnection(String, int)
+     */
+    public void createConnection(String host, int port) throws UnknownHostException, IOException {
+        m_client.createConnection(host, port);
+    }
+
+    /**
+     * Get the addresses of the nodes the client is connected to.
+     * @see Client#getConnectedHostList()
+     */
+    public List<InetSocketAddress> getConnectedHostList() {
+        return m_client.getConnectedHostList();
+    }
+
+    /**
+     * Create a context to collect statistics of the calls.
+     * @see Client#createStatsContext()
+     */
+    public ClientStatsContext createStatsContext() {
+        return m_client.createStatsContext();
+    }
+
+    /**
+     * Asynchronously invoke a procedure.
+     *
+     * @param procName class name (not qualified by package) of the procedure to execute.
+     * @param parameters vararg list of procedure's parameter values.
+     * @return a future completed with the response of the procedure
+     */
+    public CompletableFuture<ClientResponse> callProcedure(String procName, Object... parameters) {
+        return call(Distributer.USE_DEFAULT_CLIENT_TIMEOUT, procName, parameters);
+    }
+
+    /**
+     * Asynchronously invoke a procedure with a client side timeout.
+     *
+     * @param clientTimeout timeout for the procedure
+     * @param unit TimeUnit of procedure timeout
+     * @param procName class name (not qualified by package) of the procedure to execute.
+     * @param parameters vararg list of procedure's parameter values.
+     * @return a future completed with the response of the procedure
+     */
+    public CompletableFuture<ClientResponse> callProcedureWithClientTimeout(
+            long clientTimeout, TimeUnit unit, String procName, Object... parameters) {
+        return call(unit.toNanos(clientTimeout), procName, parameters);
+    }
+
+    /**
+     * Get the number of calls that can be sent now without waiting in the local queue.
+     */
+    public int getAvailablePermits() {
+        synchronized (m_lock) {
+            return m_queued.isEmpty() ? m_permits : 0;
+        }
+    }
+
+    /**
+     * Get the number of calls waiting in the local queue for a permit or for
+     * backpressure to end.
+     */
+    public int getQueuedCalls() {
+        synchronized (m_lock) {
+            return m_queued.size();
+        }
+    }
+
+    /**
+     * Set the listener told about returned permits. Each time a response returns
+     * a permit and no call is queued, it is passed the number of available permits.
+     * Passing null removes the listener.
+     */
+    public void setPermitsListener(IntConsumer listener) {
+        m_permitsListener = listener;
+    }
+
+    /**
+     * Close the underlying client. Queued calls fail.
+     */
+    public void close() throws InterruptedException {
+        m_client.close();
+        final NoConnectionsException e = new NoConnectionsException("Client instance is shutdown");
+        while (true) {
+            Call call;
+            synchronized (m_lock) {
+                call = m_queued.poll();
+            }
+            if (call == null) {
+                break;
+            }
+            m_executor.execute(() -> call.m_future.completeExceptionally(e));
+        }
+    }
+
+    private CompletableFuture<ClientResponse> call(long clientTimeoutNanos, String procName, Object[] parameters) {
+        Call call = new Call(clientTimeoutNanos, procName, parameters);
+        synchronized (m_lock) {
+            if (m_permits == 0 || m_backpressure || !m_queued.isEmpty()) {
+                m_queued.add(call);
+                return call.m_future;
+            }
+            m_permits--;
+        }
+        send(call);
+        return call.m_future;
+    }
+
+    /**
+     * Send a call holding a permit.
+     * @return false if the call went back to the head of the queue because of backpressure
+     */
+    private boolean send(Call call) {
+        try {
+            if (m_transport.tryCall(call, call.m_timeoutNanos, call.m_procName, call.m_parameters)) {
+                return true;
+            }
+        }
+        catch (NoConnectionsException e) {
+            returnPermit(false);
+            m_executor.execute(() -> call.m_future.completeExceptionally(e));
+            return true;
+        }
+        boolean ended;
+        synchronized (m_lock) {
+            m_permits++;
+            m_queued.addFirst(call);
+            // the transport reported the backpressure before refusing the call, so
+            // it has ended already if the flag is clear, and nothing else will drain
+            ended = !m_backpressure;
+        }
+        if (ended) {
+            m_drainExecutor.execute(this::drain);
+        }
+        return false;
+    }
+
+    void backpressureStarted() {
+        synchronized (m_lock) {
+            m_backpressure = true;
+        }
+    }
+
+    void backpressureEnded() {
+        synchronized (m_lock) {
+            m_backpressure = false;
+            if (m_queued.isEmpty()) {
+                return;
+            }
+        }
+        m_drainExecutor.execute(this::drain);
+    }
+
+    // Send queued calls while there are permits and no backpressure
+    private void drain() {
+        while (true) {
+            Call call;
+            synchronized (m_lock) {
+                if (m_queued.isEmpty() || m_permits == 0 || m_backpressure) {
+                    break;
+                }
+                call = m_queued.poll();
+                m_permits--;
+            }
+            if (!send(call)) {
+                return;
+            }
+        }
+        notifyPermits();
+    }
+
+    private void returnPermit(boolean notify) {
+        boolean drain;
+        synchronized (m_lock) {
+            m_permits++;
+            drain = !m_queued.isEmpty();
+        }
+        if (drain) {
+            m_drainExecutor.execute(this::drain);
+        }
+        else if (notify) {
+            notifyPermits();
+        }
+    }
+
+    private void notifyPermits() {
+        final IntConsumer listener = m_permitsListener;
+        if (listener != null) {
+            final int permits = getAvailablePermits();
+            if (permits > 0) {
+                m_executor.execute(() -> listener.accept(permits));
+            }
+        }
+    }
+
+    private class Call implements ProcedureCallback {
+        final CompletableFuture<ClientResponse> m_future = new CompletableFuture<>();
+        final long m_timeoutNanos;
+        final String m_procName;
+        final Object[] m_parameters;
+
+        Call(long timeoutNanos, String procName, Object[] parameters) {
+            m_timeoutNanos = timeoutNanos;
+            m_procName = procName;
+            m_parameters = parameters;
+        }
+
+        @Override
+        public void clientCallback(ClientResponse response) {
+            returnPermit(true);
+            m_executor.execute(() -> m_future.complete(response));
+        }
+    }
+}
@@ -23,7 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.math.RoundingMode;
 import java.security.Principal;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
@@ -47,6 +49,9 @@ public class ClientConfig {
     static final long DEFAULT_CONNECTION_TIMOUT_MS = 2 * 60 * 1000; // default timeout is 2 minutes;
     static final long DEFAULT_INITIAL_CONNECTION_RETRY_INTERVAL_MS = 1000; // default initial connection retry interval is 1 second
     static final long DEFAULT_MAX_CONNECTION_RETRY_INTERVAL_MS = 8000; // default max connection retry interval is 8 seconds
+    static final int DEFAULT_RESPONSE_CACHE_MAX_ENTRIES = 10000;
+    static final long DEFAULT_RESPONSE_CACHE_MAX_BYTES = 64L * 1024 * 1024; // default response cache limit is 64MB
+    static final int DEFAULT_MAX_BATCHED_INVOCATIONS = 64;
 
     final ClientAuthScheme m_hashScheme;
     final String m_username;
@@ -70,6 +75,11 @@ public class ClientConfig {
     boolean m_topologyChangeAware = false;
     boolean m_enableSSL = false;
     String m_sslPropsFile = null;
+    final Map<String, Long> m_responseCacheTtlNanos = new HashMap<>();
+    int m_responseCacheMaxEntries = DEFAULT_RESPONSE_CACHE_MAX_ENTRIES;
+    long m_responseCacheMaxBytes = DEFAULT_RESPONSE_CACHE_MAX_BYTES;
+    long m_invocationBatchWindowNanos = 0;
+    int m_maxBatchedInvocations = DEFAULT_MAX_BATCHED_INVOCATIONS;
 
     //For unit testing. This should really be in Environment class we should assemble all such there.
     public static final boolean ENABLE_SSL_FOR_TEST = Boolean.valueOf(
@@ -423,6 +433,88 @@ public class ClientConfig {
         m_autoTuneTargetInternalLatency = targetLatency;
     }
 
+    /**
+     * <p>Cache successful responses of a read-only procedure on the client for up to
+     * <code>ttl</code>. Calls to the procedure with the same parameters are answered from
+     * the cache without going to the cluster until the entry expires, is evicted to honor
+     * the limits set with {@link #setResponseCacheLimits(int, long)}, or the client sees a
+     * catalog update.</p>
+     *
+     * <p>Only enable this for deterministic procedures whose callers can tolerate results
+     * up to <code>ttl</code> old. Only procedures the cluster reports as read-only are
+     * cached, so the cache requires client affinity, which fetches the procedure info.
+     * Cached responses are passed to the callback on a network thread like any other
+     * response. Disabled for all procedures by default.</p>
+     *
+     * @param procName Name of the procedure whose responses should be cached.
+     * @param ttl How long a cached response stays valid, 0 to stop caching the procedure.
+     * @param unit TimeUnit of <code>ttl</code>.
+     */
+    public void setResponseCacheTtl(String procName, long ttl, TimeUnit unit) {
+        if (procName == null || procName.isEmpty()) {
+            throw new IllegalArgumentException("Procedure name must be specified to cache its responses");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException(
+                    "Response cache TTL must be 0 or greater, " + ttl + " was specified");
+        }
+        if (ttl == 0) {
+            m_responseCacheTtlNanos.remove(procName);
+        } else {
+            m_responseCacheTtlNanos.put(procName, unit.toNanos(ttl));
+        }
+    }
+
+    /**
+     * <p>Bound the client response cache enabled with
+     * {@link #setResponseCacheTtl(String, long, TimeUnit)}. When either limit is exceeded the
+     * least recently used responses are evicted. Defaults to 10000 entries and 64MB of
+     * serialized responses.</p>
+     *
+     * @param maxEntries The maximum number of cached responses.
+     * @param maxBytes The maximum total serialized size of the cached responses.
+     */
+    public void setResponseCacheLimits(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException(
+                    "Max response cache entries must be greater than 0, " + maxEntries + " was specified");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException(
+                    "Max response cache bytes must be greater than 0, " + maxBytes + " was specified");
+        }
+        m_responseCacheMaxEntries = maxEntries;
+        m_responseCacheMaxBytes = maxBytes;
+    }
+
+    /**
+     * <p>Batch invocations on the wire: procedure calls made on the same connection within
+     * <code>window</code> of each other are sent to the server in a single frame, which the
+     * server reads and authorizes in one pass. The server dispatches the calls in the order they
+     * were made, without regrouping them by partition, and responses still arrive individually.
+     * This helps clients that make many small calls at a high rate, at the cost of up to
+     * <code>window</code> of added latency per call. A frame is sent as soon as it holds
+     * <code>maxInvocations</code> calls.</p>
+     *
+     * <p>Requires servers that understand batch frames. Disabled by default.</p>
+     *
+     * @param window How long a call may wait for others to share its frame, 0 to disable batching.
+     * @param unit TimeUnit of <code>window</code>.
+     * @param maxInvocations The maximum number of calls in a frame.
+     */
+    public void setInvocationBatching(long window, TimeUnit unit, int maxInvocations) {
+        if (window < 0) {
+            throw new IllegalArgumentException(
+                    "Batching window must be 0 or greater, " + window + " was specified");
+        }
+        if (maxInvocations < 1) {
+            throw new IllegalArgumentException(
+                    "Max batched invocations must be greater than 0, " + maxInvocations + " was specified");
+        }
+        m_invocationBatchWindowNanos = unit.toNanos(window);
+        m_maxBatchedInvocations = maxInvocations;
+    }
+
     /**
      * <p>Enable Kerberos authentication with the provided subject credentials</p>
      * @param subject Identity of the authenticated user.
@@ -124,6 +124,10 @@ public final class ClientImpl implements Client {
             throw new IllegalArgumentException("The client affinity must be enabled to enable topology awareness.");
         }
 
+        if (!config.m_responseCacheTtlNanos.isEmpty() && !config.m_useClientAffinity) {
+            throw new IllegalArgumentException("The client affinity must be enabled to enable the response cache.");
+        }
+
         if (config.m_enableSSL) {
             m_sslContext = SSLConfiguration.createSslContext(config.m_sslConfig);
         } else {
@@ -168,6 +172,17 @@ public final class ClientImpl implements Client {
             m_clientStatusListener = config.m_listener;
         }
 
+        if (config.m_responseCacheTtlNanos.isEmpty()) {
+            m_responseCache = null;
+        } else {
+            m_responseCache = new ResponseCache(config.m_responseCacheTtlNanos,
+                    config.m_responseCacheMaxEntries, config.m_responseCacheMaxBytes);
+            m_distributer.setResponseCache(m_responseCache);
+        }
+        if (config.m_invocationBatchWindowNanos > 0) {
+            m_distributer.setInvocationBatching(config.m_invocationBatchWindowNanos, config.m_maxBatchedInvocations);
+        }
+
         assert(config.m_maxOutstandingTxns > 0);
         m_blessedThreadIds.addAll(m_distributer.getThreadIds());
         if (config.m_autoTune) {
@@ -491,6 +506,20 @@ public final class ClientImpl implements Client {
         assert(callback != null);
 
         final long nowNanos = System.nanoTime();
+        if (m_responseCache != null && m_distributer.isCacheableProcedure(invocation.getProcName())) {
+            ResponseCache.Key key = m_responseCache.keyFor(invocation);
+            if (key != null) {
+                ClientResponseImpl cached = m_responseCache.get(key, nowNanos);
+                if (cached != null) {
+                    cached.setClientHandle(invocation.getClientHandle());
+                    cached.setClientRoundtrip(System.nanoTime() - nowNanos);
+                    if (m_distributer.dispatchCachedResponse(callback, cached)) {
+                        return true;
+                    }
+                }
+                callback = m_responseCache.cachingCallback(key, callback);
+            }
+        }
         //Blessed threads (the ones that invoke callbacks) are not subject to backpressure
         boolean isBlessed = m_blessedThreadIds.contains(Thread.currentThread().getId());
         while (!m_distributer.queue(invocation, callback, isBlessed, nowNanos, clientTimeoutNanos)) {
@@ -529,6 +558,32 @@ public final class ClientImpl implements Client {
         return true;
     }
 
+    /**
+     * Queue an invocation without ever blocking. Unlike the asynchronous
+     * callProcedure this never waits on backpressure, it reports it instead.
+     * Callers must bound their outstanding invocations by the max outstanding
+     * transactions of the client so that the rate limiter never blocks either.
+     *
+     * @return true if the procedure was queued, false if every connection has backpressure
+     */
+    boolean tryCallProcedure(
+            ProcedureCallback callback,
+            long clientTimeoutNanos,
+            String procName,
+            Object... parameters)
+            throws NoConnectionsException {
+        if (m_isShutdown) {
+            throw new NoConnectionsException("Client instance is shutdown");
+        }
+        ProcedureInvocation invocation = new ProcedureInvocation(m_handle.getAndIncrement(),
+                BatchTimeoutOverrideType.NO_TIMEOUT, false, procName, parameters);
+        return m_distributer.queue(invocation, callback, false, System.nanoTime(), clientTimeoutNanos);
+    }
+
+    void addClientStatusListener(ClientStatusListenerExt listener) {
+        m_distributer.addClientStatusListener(listener);
+    }
+
     /**
      * Serializes catalog and deployment file for UpdateApplicationCatalog.
      * Catalog is serialized into byte array, deployment file is serialized into
@@ -871,6 +926,7 @@ public final class ClientImpl implements Client {
 
 
     static final Logger LOG = Logger.getLogger(ClientImpl.class.getName());  // Logger shared by client package.
+    private final ResponseCache m_responseCache;                         // null unless some procedure responses are cached
     private final Distributer m_distributer;                             // de/multiplexes connections to a cluster
     private final Object m_backpressureLock = new Object();
     private boolean m_backpressure = false;
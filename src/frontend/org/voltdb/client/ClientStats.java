@@ -74,6 +74,12 @@ public class ClientStats {
     long m_bytesSent;
     long m_bytesReceived;
 
+    // client response cache counters, see ClientConfig#setResponseCacheTtl
+    long m_cacheHits;
+    long m_cacheMisses;
+    long m_cacheEvictions;
+    long m_cacheExpirations;
+
     private static final long LOWEST_TRACKABLE = 50;
     private static final long HIGHEST_TRACKABLE = 10L * (1000L * 1000L);
     private static final int SIGNIFICANT_VALUE_DIGITS = 2;
@@ -96,6 +102,7 @@ public class ClientStats {
         m_invocationsCompleted = m_invocationAborts = m_invocationErrors = 0;
         m_roundTripTimeNanos = m_clusterRoundTripTime = 0;
         m_bytesSent = m_bytesReceived = 0;
+        m_cacheHits = m_cacheMisses = m_cacheEvictions = m_cacheExpirations = 0;
         m_latencyHistogram = constructHistogram();
     }
 
@@ -116,6 +123,10 @@ public class ClientStats {
         m_latencyHistogram.reestablishTotalCount();
         m_bytesSent = other.m_bytesSent;
         m_bytesReceived = other.m_bytesReceived;
+        m_cacheHits = other.m_cacheHits;
+        m_cacheMisses = other.m_cacheMisses;
+        m_cacheEvictions = other.m_cacheEvictions;
+        m_cacheExpirations = other.m_cacheExpirations;
     }
 
     static ClientStats diff(ClientStats newer, ClientStats older) {
@@ -147,6 +158,11 @@ public class ClientStats {
         retval.m_bytesSent = newer.m_bytesSent - older.m_bytesSent;
         retval.m_bytesReceived = newer.m_bytesReceived - older.m_bytesReceived;
 
+        retval.m_cacheHits = newer.m_cacheHits - older.m_cacheHits;
+        retval.m_cacheMisses = newer.m_cacheMisses - older.m_cacheMisses;
+        retval.m_cacheEvictions = newer.m_cacheEvictions - older.m_cacheEvictions;
+        retval.m_cacheExpirations = newer.m_cacheExpirations - older.m_cacheExpirations;
+
         return retval;
     }
 
@@ -195,6 +211,11 @@ public class ClientStats {
 
         m_bytesSent += other.m_bytesSent;
         m_bytesReceived += other.m_bytesReceived;
+
+        m_cacheHits += other.m_cacheHits;
+        m_cacheMisses += other.m_cacheMisses;
+        m_cacheEvictions += other.m_cacheEvictions;
+        m_cacheExpirations += other.m_cacheExpirations;
     }
 
     void update(long roundTripTimeNanos, int clusterRoundTripTime, boolean abort, boolean error, boolean timeout) {
@@ -333,6 +354,48 @@ public class ClientStats {
         return m_invocationTimeouts;
     }
 
+    /**
+     * Get the number of calls answered from the client response cache
+     * during the time period covered by this stats instance. These calls
+     * never reached the cluster and are not counted as completed invocations.
+     *
+     * @return The number of response cache hits.
+     */
+    public long getCacheHits() {
+        return m_cacheHits;
+    }
+
+    /**
+     * Get the number of calls to cached procedures that had to be sent to
+     * the cluster during the time period covered by this stats instance.
+     *
+     * @return The number of response cache misses.
+     */
+    public long getCacheMisses() {
+        return m_cacheMisses;
+    }
+
+    /**
+     * Get the number of responses evicted from the client response cache
+     * before they expired, either to stay within the cache limits or because
+     * the client observed a catalog update.
+     *
+     * @return The number of response cache evictions.
+     */
+    public long getCacheEvictions() {
+        return m_cacheEvictions;
+    }
+
+    /**
+     * Get the number of cached responses dropped because their TTL elapsed
+     * during the time period covered by this stats instance.
+     *
+     * @return The number of response cache expirations.
+     */
+    public long getCacheExpirations() {
+        return m_cacheExpirations;
+    }
+
     /**
      * Get the average latency in milliseconds for the time period
      * covered by this stats instance. This is computed by summing the client-measured
@@ -591,6 +654,10 @@ public class ClientStats {
                 m_hostname, m_port));
         sb.append(String.format("    invocations completed/aborted/errors/timeouts: %d/%d/%d/%d\n",
                 m_invocationsCompleted, m_invocationAborts, m_invocationErrors, m_invocationTimeouts));
+        if (m_cacheHits + m_cacheMisses > 0) {
+            sb.append(String.format("    cache hits/misses/evictions/expirations: %d/%d/%d/%d\n",
+                    m_cacheHits, m_cacheMisses, m_cacheEvictions, m_cacheExpirations));
+        }
         if (m_invocationsCompleted > 0) {
             sb.append(String.format("    avg latency client/internal: %.2f/%d\n",
                     (m_roundTripTimeNanos / (double)m_invocationsCompleted) / 1000000.0, m_clusterRoundTripTime / m_invocationsCompleted));
@@ -141,6 +141,12 @@ class Distributer {
     private final AtomicReference<ImmutableSet<Integer>> m_partitionKeys = new AtomicReference<ImmutableSet<Integer>>();
     private final AtomicLong m_lastPartitionKeyFetched = new AtomicLong(0);
     private final AtomicReference<ClientResponse> m_partitionUpdateStatus = new AtomicReference<ClientResponse>();
+    // invalidated whenever the procedure info is refreshed, null if the client caches no responses
+    private volatile ResponseCache m_responseCache = null;
+    // invocation batching window, see setInvocationBatching
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+    private volatile long m_batchWindowNanos = 0;
+    private volatile int m_maxBatchInvocations = 1;
 
     //This is the instance of the Hashinator we picked from TOPO used only for client affinity.
     private HashinatorLite m_hashinator = null;
@@ -409,6 +415,10 @@ class Distributer {
         private final AtomicInteger m_callbacksToInvoke = new AtomicInteger(0);
         private final ConcurrentMap<Long, CallbackBookeeping> m_callbacks = new ConcurrentHashMap<>();
         private final NonBlockingHashMap<String, ClientStats> m_stats = new NonBlockingHashMap<>();
+        // invocations waiting for the batch window to close, see enqueueInvocation
+        private final Object m_batchLock = new Object();
+        private List<ByteBuffer> m_batch = null;
+        private int m_batchBytes = 0;
         private Connection m_connection;
         private volatile boolean m_isConnected = true;
 
@@ -500,7 +510,66 @@ class Distributer {
                 m_rateLimiter.transactionResponseReceived(nowNanos, -1, ignoreBackpressure);
                 return;
             } else {
+                enqueueInvocation(c);
+            }
+        }
+
+        /*
+         * With batching on, invocations are held back for up to the batch window
+         * and written as a single frame, so that the server can read and authorize
+         * them in one pass. The frame is written early once it is full.
+         * Writes happen under the batch lock to keep them in the order they were made.
+         */
+        private void enqueueInvocation(ByteBuffer c) {
+            final long windowNanos = m_batchWindowNanos;
+            if (windowNanos <= 0) {
                 m_connection.writeStream().enqueue(c);
+                return;
+            }
+            boolean opened = false;
+            synchronized (m_batchLock) {
+                if (m_batch == null) {
+                    m_batch = new ArrayList<>();
+                    m_batchBytes = 0;
+                    opened = true;
+                }
+                m_batch.add(c);
+                m_batchBytes += c.remaining();
+                if (m_batch.size() >= m_maxBatchInvocations || m_batchBytes >= MAX_BATCH_BYTES) {
+                    flushBatch();
+                    return;
+                }
+            }
+            if (opened) {
+                try {
+                    m_ex.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            synchronized (m_batchLock) {
+                                flushBatch();
+                            }
+                        }
+                    }, windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // shutting down, don't hold anything back
+                    synchronized (m_batchLock) {
+                        flushBatch();
+                    }
+                }
+            }
+        }
+
+        // must hold m_batchLock
+        private void flushBatch() {
+            final List<ByteBuffer> batch = m_batch;
+            m_batch = null;
+            if (batch == null) {
+                return;
+            }
+            if (batch.size() == 1) {
+                m_connection.writeStream().enqueue(batch.get(0));
+            } else {
+                m_connection.writeStream().enqueue(ProcedureInvocation.frameBatch(batch));
             }
         }
 
@@ -1344,6 +1413,10 @@ class Distributer {
                 retval.put(conn.connectionId(), connMap);
             }
 
+            ResponseCache cache = m_responseCache;
+            if (cache != null) {
+                retval.put(ResponseCache.STATS_CONNECTION_ID, cache.getStatsSnapshot());
+            }
 
         return retval;
     }
@@ -1503,6 +1576,61 @@ class Distributer {
         }
         ImmutableSortedMap<String, Procedure> oldProcs = m_procedureInfo.get();
         m_procedureInfo.compareAndSet(oldProcs, ImmutableSortedMap.copyOf(procs));
+
+        // procedure info is refreshed on connection and on every catalog update,
+        // either way cached responses may be stale
+        ResponseCache cache = m_responseCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    void setResponseCache(ResponseCache cache) {
+        m_responseCache = cache;
+    }
+
+    /**
+     * @return true if the catalog reports the procedure as read-only,
+     * false if it is read-write or the procedure info isn't known yet
+     */
+    boolean isCacheableProcedure(String procName) {
+        ImmutableSortedMap<String, Procedure> procs = m_procedureInfo.get();
+        if (procs == null) {
+            return false;
+        }
+        Procedure procedureInfo = procs.get(procName);
+        return procedureInfo != null && procedureInfo.readOnly;
+    }
+
+    /**
+     * Invoke the callback with a response from the client cache on the network thread
+     * of one of the connections, like a response received from the cluster, so the
+     * caller doesn't run application code and drain() waits for it.
+     * @return false if there is no connection to dispatch the response with
+     */
+    boolean dispatchCachedResponse(final ProcedureCallback cb, final ClientResponse response) {
+        final NodeConnection cxn;
+        synchronized (this) {
+            final int totalConnections = m_connections.size();
+            if (totalConnections == 0) {
+                return false;
+            }
+            cxn = m_connections.get(Math.abs(++m_nextConnection % totalConnections));
+            cxn.m_callbacksToInvoke.incrementAndGet();
+        }
+        cxn.m_connection.queueTask(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cb.clientCallback(response);
+                } catch (Throwable t) {
+                    uncaughtException(cb, response, t);
+                }
+                final int remainingToInvoke = cxn.m_callbacksToInvoke.decrementAndGet();
+                assert(remainingToInvoke >= 0);
+            }
+        });
+        return true;
     }
 
     private void updatePartitioning(VoltTable vt) {
@@ -1599,6 +1727,17 @@ class Distributer {
         }
     }
 
+    /**
+     * Send invocations made within the window on the same connection in one frame.
+     *
+     * @param windowNanos how long an invocation may wait for others, 0 to send each on its own
+     * @param maxInvocations the most invocations in a frame
+     */
+    void setInvocationBatching(long windowNanos, int maxInvocations) {
+        m_maxBatchInvocations = maxInvocations;
+        m_batchWindowNanos = windowNanos;
+    }
+
     void setTopologyChangeAware(boolean topoAware) {
         m_topologyChangeAware = topoAware;
     }
@@ -20,6 +20,7 @@ package org.voltdb.client;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import org.voltdb.ParameterSet;
 import org.voltdb.utils.SerializationHelper;
@@ -84,6 +85,10 @@ public class ProcedureInvocation {
         return m_parameters.getParam(index);
     }
 
+    ParameterSet getParams() {
+        return m_parameters;
+    }
+
     public long getClientHandle() {
         return m_clientHandle;
     }
@@ -119,6 +124,32 @@ public class ProcedureInvocation {
         return size;
     }
 
+    /**
+     * Frame several invocations into one message. Each invocation is passed as
+     * it would be written on its own, with its 4 byte length prefix, and the
+     * frame is laid out as the length of the frame, the
+     * {@link ProcedureInvocationType#BATCH} version byte, the invocation count
+     * and the invocations. The server answers each invocation separately.
+     *
+     * @param invocations length prefixed invocations, flipped and ready to be read
+     * @return the frame flipped and ready to be written
+     */
+    static ByteBuffer frameBatch(List<ByteBuffer> invocations) {
+        int size = 4 + 1 + 4;
+        for (ByteBuffer invocation : invocations) {
+            size += invocation.remaining();
+        }
+        ByteBuffer frame = ByteBuffer.allocate(size);
+        frame.putInt(size - 4);
+        frame.put(ProcedureInvocationType.BATCH.getValue());
+        frame.putInt(invocations.size());
+        for (ByteBuffer invocation : invocations) {
+            frame.put(invocation.duplicate());
+        }
+        frame.flip();
+        return frame;
+    }
+
     public ByteBuffer flattenToBuffer(ByteBuffer buf) throws IOException {
         // convert proc name to bytes if needed
         if (m_procNameBytes == null) {
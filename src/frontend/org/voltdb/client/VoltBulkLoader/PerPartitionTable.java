@@ -18,17 +18,14 @@
 package org.voltdb.client.VoltBulkLoader;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.ListIterator;
-import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.voltcore.logging.VoltLogger;
@@ -45,17 +42,27 @@ import org.voltdb.client.ProcedureCallback;
 /**
  * Partition specific table potentially shared by multiple VoltBulkLoader instances,
  * provided that they are all inserting to the same table.
+ *
+ * Rows are not queued here one by one. Each producer thread fills its own {@link Batch}
+ * per partition (see {@link VoltBulkLoader}) and hands the whole batch over once it
+ * reaches the batch size, so producers never contend with each other. Batches are
+ * recycled once the database has answered for their rows.
  */
 public class PerPartitionTable {
     private static final VoltLogger loaderLog = new VoltLogger("LOADER");
 
+    // Maximum number of full batches waiting for m_es before producers block
+    static final int MAX_QUEUED_BATCHES = 5;
+
     // Client we are tied to
     final ClientImpl m_clientImpl;
     //The index in loader tables and the PartitionProcessor number
     final int m_partitionId;
     final boolean m_isMP;
-    //Queue for processing pending rows for this table
-    LinkedBlockingQueue<VoltBulkLoaderRow> m_partitionRowQueue;
+    //Full batches handed over by producers but not yet sent
+    final Semaphore m_queuedBatches = new Semaphore(MAX_QUEUED_BATCHES);
+    //Batches whose rows have all been answered for, ready for reuse
+    final Queue<Batch> m_freeBatches = new ConcurrentLinkedQueue<Batch>();
 
     final ExecutorService m_es;
 
@@ -65,12 +72,16 @@ public class PerPartitionTable {
     final VoltType m_partitionColumnType;
     //Table used to build up requests to the PartitionProcessor
     VoltTable m_table;
+    //Row used to convert the values of one row before adding it to m_table, only used by m_es
+    final Object[] m_rowArgs;
     //Column information
     final VoltTable.ColumnInfo m_columnInfo[];
     //Column types
     final VoltType[] m_columnTypes;
     //Size of the batches this table submits (minimum of all values provided by VoltBulkLoaders)
     volatile int m_minBatchTriggerSize;
+    //Number of rows a batch can hold, batch sizes can only shrink after construction
+    final int m_batchCapacity;
     //Insert procedure name
     final String m_procName;
     //Name of table
@@ -82,15 +93,81 @@ public class PerPartitionTable {
     //Whether to retry insertion when the connection is lost
     final boolean m_autoReconnect;
 
+    /**
+     * Rows buffered by one producer thread of one VoltBulkLoader for this partition.
+     * Values are kept by column and copied out of the caller's arrays, so buffering a
+     * row does not allocate anything.
+     */
+    static final class Batch {
+        // The table this batch is buffered for
+        final PerPartitionTable m_owner;
+        VoltBulkLoader m_loader;
+        final Object[] m_rowHandles;
+        // m_columns[column][row]
+        final Object[][] m_columns;
+        int m_rowCount = 0;
+
+        Batch(PerPartitionTable owner, int columnCount, int capacity) {
+            m_owner = owner;
+            m_rowHandles = new Object[capacity];
+            m_columns = new Object[columnCount][capacity];
+        }
+
+        void add(Object rowHandle, Object[] fieldList) {
+            m_rowHandles[m_rowCount] = rowHandle;
+            for (int i = 0; i < m_columns.length; i++) {
+                m_columns[i][m_rowCount] = fieldList[i];
+            }
+            m_rowCount++;
+        }
+
+        void add(Object rowHandle, Object[][] columns, int row) {
+            m_rowHandles[m_rowCount] = rowHandle;
+            for (int i = 0; i < m_columns.length; i++) {
+                m_columns[i][m_rowCount] = columns[i][row];
+            }
+            m_rowCount++;
+        }
+
+        /**
+         * Materialize a single row, only used to report and retry failures.
+         */
+        Object[] getRow(int row) {
+            Object[] fieldList = new Object[m_columns.length];
+            for (int i = 0; i < m_columns.length; i++) {
+                fieldList[i] = m_columns[i][row];
+            }
+            return fieldList;
+        }
+
+        void moveRow(int from, int to) {
+            if (from != to) {
+                m_rowHandles[to] = m_rowHandles[from];
+                for (Object[] column : m_columns) {
+                    column[to] = column[from];
+                }
+            }
+        }
+
+        /**
+         * Drop the rows from rowCount on, releasing their references.
+         */
+        void truncate(int rowCount) {
+            Arrays.fill(m_rowHandles, rowCount, m_rowCount, null);
+            for (Object[] column : m_columns) {
+                Arrays.fill(column, rowCount, m_rowCount, null);
+            }
+            m_rowCount = rowCount;
+        }
+    }
+
     // Callback for batch submissions to the Client. A failed request submits the entire
-    // batch of rows to m_failedQueue for row by row processing on m_failureProcessor.
+    // batch of rows for row by row processing on m_es.
     class PartitionProcedureCallback implements ProcedureCallback {
-        final List<VoltBulkLoaderRow> m_batchRowList;
-        final Map<VoltBulkLoader, Long> m_batchSizes;
+        final Batch m_batch;
 
-        PartitionProcedureCallback(List<VoltBulkLoaderRow> batchRowList, Map<VoltBulkLoader, Long> batchSizes) {
-            m_batchRowList = batchRowList;
-            m_batchSizes = batchSizes;
+        PartitionProcedureCallback(Batch batch) {
+            m_batch = batch;
         }
 
         // Called by Client to inform us of the status of the bulk insert.
@@ -102,7 +179,7 @@ public class PerPartitionTable {
                     @Override
                     public void run() {
                         try {
-                            reinsertFailed(m_batchRowList);
+                            reinsertFailed(m_batch);
                         } catch (Exception e) {
                             loaderLog.error("Failed to re-insert failed batch", e);
                         }
@@ -110,6 +187,8 @@ public class PerPartitionTable {
                 });
             }
             else {
+                final VoltBulkLoader loader = m_batch.m_loader;
+                final int rowCount = m_batch.m_rowCount;
                 // For each row in the batch, notify the caller of success, so it can do any
                 // necessary bookkeeping (like managing offsets, for example). Do this in the executor
                 // so as not to hold up the callback.
@@ -117,16 +196,18 @@ public class PerPartitionTable {
                     m_es.execute(new Runnable() {
                         @Override
                         public void run() {
-                            for (VoltBulkLoaderRow r : m_batchRowList) {
-                                m_successCallback.success(r.m_rowHandle, response);
+                            for (int i = 0; i < m_batch.m_rowCount; i++) {
+                                m_successCallback.success(m_batch.m_rowHandles[i], response);
                             }
+                            releaseBatch(m_batch);
                         }
                     });
                 }
-                for (Map.Entry<VoltBulkLoader, Long> e : m_batchSizes.entrySet()) {
-                    e.getKey().m_loaderCompletedCnt.addAndGet(e.getValue());
-                    e.getKey().m_outstandingRowCount.addAndGet(-1 * e.getValue());
+                else {
+                    releaseBatch(m_batch);
                 }
+                loader.m_loaderCompletedCnt.addAndGet(rowCount);
+                loader.m_outstandingRowCount.addAndGet(-1 * rowCount);
             }
         }
     }
@@ -138,8 +219,8 @@ public class PerPartitionTable {
         m_isMP = isMP;
         m_procName = firstLoader.m_procName;
         m_upsert = (byte) (firstLoader.m_upsert ? 1:0);
-        m_partitionRowQueue = new LinkedBlockingQueue<VoltBulkLoaderRow>(minBatchTriggerSize*5);
         m_minBatchTriggerSize = minBatchTriggerSize;
+        m_batchCapacity = Math.max(1, minBatchTriggerSize);
         m_columnInfo = firstLoader.m_colInfo;
         m_partitionedColumnIndex = firstLoader.m_partitionedColumnIndex;
         m_columnTypes = firstLoader.m_columnTypes;
@@ -147,6 +228,7 @@ public class PerPartitionTable {
         m_tableName = tableName;
         m_successCallback = successCallback;
         m_table = new VoltTable(m_columnInfo);
+        m_rowArgs = new Object[m_columnInfo.length];
         m_autoReconnect = m_clientImpl.isAutoReconnectEnabled();
 
         m_es = CoreUtils.getSingleThreadExecutor(tableName + "-" + partitionId);
@@ -164,37 +246,61 @@ public class PerPartitionTable {
      }
 
     /**
-     * Synchronized so that when the a single batch is filled up, we only queue one task to
-     * drain the queue. The task will drain the queue until it doesn't contain a single batch.
+     * @return an empty batch for a producer thread of the given loader
      */
-    synchronized void insertRowInTable(final VoltBulkLoaderRow nextRow) throws InterruptedException {
-        m_partitionRowQueue.put(nextRow);
-        if (m_partitionRowQueue.size() == m_minBatchTriggerSize) {
-            m_es.execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        while (m_partitionRowQueue.size() >= m_minBatchTriggerSize) {
-                            loadTable(buildTable(), m_table);
-                        }
-                    } catch (Exception e) {
-                        loaderLog.error("Failed to load batch", e);
-                    }
-                }
-            });
+    Batch acquireBatch(VoltBulkLoader loader) {
+        Batch batch = m_freeBatches.poll();
+        if (batch == null) {
+            batch = new Batch(this, m_columnInfo.length, m_batchCapacity);
         }
+        batch.m_loader = loader;
+        return batch;
+    }
+
+    void releaseBatch(Batch batch) {
+        batch.truncate(0);
+        batch.m_loader = null;
+        m_freeBatches.offer(batch);
+    }
+
+    /**
+     * @return true if the batch has reached the size that triggers sending it
+     */
+    boolean isFull(Batch batch) {
+        return batch.m_rowCount >= m_minBatchTriggerSize;
+    }
+
+    /**
+     * Hand a batch over to be sent. Blocks while {@link #MAX_QUEUED_BATCHES} batches are
+     * already waiting to be sent, which is how producers see backpressure.
+     */
+    void submitBatch(final Batch batch) throws InterruptedException {
+        m_queuedBatches.acquire();
+        m_es.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    loadBatch(batch);
+                } catch (Exception e) {
+                    loaderLog.error("Failed to load batch", e);
+                } finally {
+                    m_queuedBatches.release();
+                }
+            }
+        });
     }
 
     /**
-     * Flush all queued rows even if they are smaller than the batch size. This does not
-     * guarantee that they will be reinserted if any of them fail. To make sure all rows
-     * are either inserted or failed definitively, call shutdown().
+     * Returns a future that completes once every batch submitted so far has been sent.
+     * Partially filled batches still held by producer threads have to be submitted first,
+     * see {@link VoltBulkLoader#flush()}. This does not guarantee that failed rows will
+     * have been reinserted. To make sure all rows are either inserted or failed
+     * definitively, call shutdown().
      */
     Future<?> flushAllTableQueues() throws InterruptedException {
         return m_es.submit(new Callable<Boolean>() {
             @Override
             public Boolean call() throws Exception {
-                loadTable(buildTable(), m_table);
                 return true;
             }
         });
@@ -210,88 +316,93 @@ public class PerPartitionTable {
         m_es.awaitTermination(365, TimeUnit.DAYS);
     }
 
-    private void reinsertFailed(List<VoltBulkLoaderRow> rows) throws Exception {
+    private void reinsertFailed(Batch batch) throws Exception {
         VoltTable tmpTable = new VoltTable(m_columnInfo);
-        for (final VoltBulkLoaderRow row : rows) {
-            // No need to check error here if a correctedLine has come here it was
-            // previously successful.
-            try {
-                Object row_args[] = new Object[row.m_rowData.length];
-                for (int i = 0; i < row_args.length; i++) {
-                    final VoltType type = m_columnTypes[i];
-                    row_args[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
-                            row.m_rowData[i]);
-                }
-                tmpTable.addRow(row_args);
-            } catch (VoltTypeException ex) {
-                // Should never happened because the bulk conversion in PerPartitionProcessor
-                // should have caught this.
-                loaderLog.error("Type conversion exception", ex);
-                assert false: "Type conversion exception" + ex.getMessage();
-                continue;
+        for (int i = 0; i < batch.m_rowCount; i++) {
+            reinsertRow(batch.m_loader, batch.m_rowHandles[i], batch.getRow(i), tmpTable);
+        }
+        releaseBatch(batch);
+    }
+
+    private void reinsertRow(final VoltBulkLoader loader, final Object rowHandle, final Object[] rowData,
+            VoltTable tmpTable) throws Exception {
+        // No need to check error here if a correctedLine has come here it was
+        // previously successful.
+        try {
+            Object row_args[] = new Object[rowData.length];
+            for (int i = 0; i < row_args.length; i++) {
+                final VoltType type = m_columnTypes[i];
+                row_args[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
+                        rowData[i]);
             }
+            tmpTable.addRow(row_args);
+        } catch (VoltTypeException ex) {
+            // Should never happened because the bulk conversion in PerPartitionProcessor
+            // should have caught this.
+            loaderLog.error("Type conversion exception", ex);
+            assert false: "Type conversion exception" + ex.getMessage();
+            return;
+        }
 
-            ProcedureCallback callback = new ProcedureCallback() {
-                @Override
-                public void clientCallback(ClientResponse response) throws Exception {
-                    //one insert at a time callback
-                    if (response.getStatus() == ClientResponse.CONNECTION_LOST && m_autoReconnect) {
-                        m_es.execute(new Runnable() {
-                            @Override
-                            public void run() {
-                                try {
-                                    reinsertFailed(Arrays.asList(row));
-                                } catch (Exception e) {
-                                    loaderLog.error("Failed to re-insert failed batch", e);
-                                }
+        ProcedureCallback callback = new ProcedureCallback() {
+            @Override
+            public void clientCallback(ClientResponse response) throws Exception {
+                //one insert at a time callback
+                if (response.getStatus() == ClientResponse.CONNECTION_LOST && m_autoReconnect) {
+                    m_es.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                reinsertRow(loader, rowHandle, rowData, new VoltTable(m_columnInfo));
+                            } catch (Exception e) {
+                                loaderLog.error("Failed to re-insert failed batch", e);
                             }
-                        });
-                        return;
-                    }
-                    else if (response.getStatus() != ClientResponse.SUCCESS) {
-                        row.m_loader.m_notificationCallBack.failureCallback(row.m_rowHandle, row.m_rowData, response);
-                    }
-
-                    row.m_loader.m_loaderCompletedCnt.incrementAndGet();
-                    row.m_loader.m_outstandingRowCount.decrementAndGet();
+                        }
+                    });
+                    return;
                 }
-            };
-            loadTable(callback, tmpTable);
-        }
+                else if (response.getStatus() != ClientResponse.SUCCESS) {
+                    loader.m_notificationCallBack.failureCallback(rowHandle, rowData, response);
+                }
+
+                loader.m_loaderCompletedCnt.incrementAndGet();
+                loader.m_outstandingRowCount.decrementAndGet();
+            }
+        };
+        loadTable(callback, tmpTable);
     }
 
-    private PartitionProcedureCallback buildTable() {
-        ArrayList<VoltBulkLoaderRow> buf = new ArrayList<VoltBulkLoaderRow>(m_minBatchTriggerSize);
-        m_partitionRowQueue.drainTo(buf, m_minBatchTriggerSize);
-
-        Map<VoltBulkLoader, Long> batchSizes = new HashMap<>();
-        ListIterator<VoltBulkLoaderRow> it = buf.listIterator();
-        while (it.hasNext()) {
-            VoltBulkLoaderRow currRow = it.next();
-            VoltBulkLoader loader = currRow.m_loader;
-            Object row_args[];
-            row_args = new Object[currRow.m_rowData.length];
+    /**
+     * Convert the rows of the batch into m_table and send it. Rows that fail conversion
+     * are reported right away and removed from the batch, so that the batch only holds
+     * the rows that the callback will answer for.
+     */
+    private void loadBatch(Batch batch) throws Exception {
+        final VoltBulkLoader loader = batch.m_loader;
+        int kept = 0;
+        for (int row = 0; row < batch.m_rowCount; row++) {
             try {
-                for (int i = 0; i < row_args.length; i++) {
+                for (int i = 0; i < m_rowArgs.length; i++) {
                     final VoltType type = m_columnTypes[i];
-                    row_args[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
-                            currRow.m_rowData[i]);
+                    m_rowArgs[i] = ParameterConverter.tryToMakeCompatible(type.classFromType(),
+                            batch.m_columns[i][row]);
                 }
             } catch (Exception e) {
-                loader.generateError(currRow.m_rowHandle, currRow.m_rowData, e.getMessage());
+                loader.generateError(batch.m_rowHandles[row], batch.getRow(row), e.getMessage());
                 loader.m_outstandingRowCount.decrementAndGet();
-                it.remove();
                 continue;
             }
-            m_table.addRow(row_args);
-
-            Long prevValue;
-            if ((prevValue = batchSizes.put(loader, 1L)) != null) {
-                batchSizes.put(loader, prevValue + 1);
-            }
+            m_table.addRow(m_rowArgs);
+            batch.moveRow(row, kept++);
         }
+        Arrays.fill(m_rowArgs, null);
+        batch.truncate(kept);
 
-        return new PartitionProcedureCallback(buf, batchSizes);
+        if (kept == 0) {
+            releaseBatch(batch);
+            return;
+        }
+        loadTable(new PartitionProcedureCallback(batch), m_table);
     }
 
     private void loadTable(ProcedureCallback callback, VoltTable toSend) throws Exception {
@@ -17,10 +17,14 @@
 
 package org.voltdb.client.VoltBulkLoader;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -56,6 +60,12 @@ import com.google_voltpatches.common.collect.ImmutableSortedMap;
  * failures, relative to other threads operating on the same table, that thread
  * should be isolated a different process. If failed rows are a common problem,
  * throughput can also be improved by using multiple instances of VoltBulkLoader.
+ *
+ * Each thread inserting into a VoltBulkLoader buffers its rows in batches of its own, one
+ * per partition, so inserting threads do not contend with each other. A batch is handed
+ * to its PerPartitionTable once it is full or when the loader is flushed. Because those
+ * batches belong to this VoltBulkLoader, flush() and drain() no longer submit the rows
+ * buffered by other VoltBulkLoader instances on the same table; flush each instance.
  */
 public class VoltBulkLoader {
     private static final VoltLogger loaderLog = new VoltLogger("LOADER");
@@ -103,6 +113,34 @@ public class VoltBulkLoader {
     private final ScheduledThreadPoolExecutor m_ses = CoreUtils.getScheduledThreadPoolExecutor("Periodic-Flush", 1, CoreUtils.SMALL_STACK_SIZE);
     private ScheduledFuture<?> m_flush = null;
 
+    // Batches being filled by each thread inserting through this loader, indexed like m_partitionTable.
+    // A thread only shares its buffers with flush(), which synchronizes on them to take the batches
+    // and forgets the buffers once their thread has exited.
+    static final class ProducerBuffers {
+        final PerPartitionTable.Batch[] m_batches;
+        final WeakReference<Thread> m_producer;
+
+        ProducerBuffers(int partitionTableCount) {
+            m_batches = new PerPartitionTable.Batch[partitionTableCount];
+            m_producer = new WeakReference<Thread>(Thread.currentThread());
+        }
+
+        boolean isProducerDone() {
+            Thread producer = m_producer.get();
+            return producer == null || !producer.isAlive();
+        }
+    }
+
+    private final Queue<ProducerBuffers> m_allProducerBuffers = new ConcurrentLinkedQueue<ProducerBuffers>();
+    private final ThreadLocal<ProducerBuffers> m_producerBuffers = new ThreadLocal<ProducerBuffers>() {
+        @Override
+        protected ProducerBuffers initialValue() {
+            ProducerBuffers buffers = new ProducerBuffers(m_partitionTable.length);
+            m_allProducerBuffers.add(buffers);
+            return buffers;
+        }
+    };
+
     // Number of rows currently being processed.
     final AtomicLong m_outstandingRowCount = new AtomicLong(0);
     //Number of rows for which we have received a definitive success or failure.
@@ -330,35 +368,159 @@ public class VoltBulkLoader {
             generateError(rowHandle, fieldList, errMsg);
             return;
         }
-        VoltBulkLoaderRow newRow = new VoltBulkLoaderRow(this, rowHandle, fieldList);
         if (m_isMP) {
-            m_partitionTable[m_firstPartitionTable].insertRowInTable(newRow);
+            partitionId = m_firstPartitionTable;
         }
         else {
             try {
                 partitionId = (int)m_clientImpl.getPartitionForParameter(
                         m_partitionColumnType.getValue(), fieldList[m_partitionedColumnIndex]);
-                m_partitionTable[partitionId].insertRowInTable(newRow);
             } catch (VoltTypeException e) {
                 generateError(rowHandle, fieldList, e.getMessage());
                 return;
             }
         }
-        m_outstandingRowCount.incrementAndGet();
+
+        final PerPartitionTable table = m_partitionTable[partitionId];
+        final ProducerBuffers buffers = m_producerBuffers.get();
+        PerPartitionTable.Batch fullBatch = null;
+        synchronized (buffers) {
+            PerPartitionTable.Batch batch = buffers.m_batches[partitionId];
+            if (batch == null) {
+                batch = table.acquireBatch(this);
+                buffers.m_batches[partitionId] = batch;
+            }
+            batch.add(rowHandle, fieldList);
+            m_outstandingRowCount.incrementAndGet();
+            if (table.isFull(batch)) {
+                buffers.m_batches[partitionId] = null;
+                fullBatch = batch;
+            }
+        }
+        if (fullBatch != null) {
+            table.submitBatch(fullBatch);
+        }
+    }
+
+    /**
+     * <p>Add a batch of rows to VoltBulkLoader table, given column by column.</p>
+     *
+     * <p>This behaves like calling {@link #insertRow(Object, Object...)} for every row but
+     * routes the whole batch in one pass, without building an array per row. The arrays
+     * are not retained, so the caller may reuse them once this returns.</p>
+     *
+     * @param rowHandles User supplied objects used to distinguish failed insert attempts,
+     *                   one per row, or null
+     * @param columns    The values of the batch, <code>columns[column][row]</code>, one array
+     *                   per column of the table, all of the same length
+     * @throws java.lang.InterruptedException
+     */
+    public void insertColumns(Object[] rowHandles, Object[][] columns) throws InterruptedException {
+        if (columns == null || columns.length != m_columnCnt) {
+            throw new IllegalArgumentException("insertColumns received " +
+                    (columns == null ? 0 : columns.length) + " columns, " + m_columnCnt + " expected");
+        }
+        final int rowCount = columns[0].length;
+        for (Object[] column : columns) {
+            if (column == null || column.length != rowCount) {
+                throw new IllegalArgumentException("insertColumns received columns of different lengths");
+            }
+        }
+        if (rowHandles != null && rowHandles.length != rowCount) {
+            throw new IllegalArgumentException("insertColumns received " + rowHandles.length +
+                    " row handles for " + rowCount + " rows");
+        }
+
+        final ProducerBuffers buffers = m_producerBuffers.get();
+        List<PerPartitionTable.Batch> fullBatches = null;
+        synchronized (buffers) {
+            for (int row = 0; row < rowCount; row++) {
+                final Object rowHandle = rowHandles == null ? null : rowHandles[row];
+                int partitionId = m_firstPartitionTable;
+                if (!m_isMP) {
+                    try {
+                        partitionId = (int)m_clientImpl.getPartitionForParameter(
+                                m_partitionColumnType.getValue(), columns[m_partitionedColumnIndex][row]);
+                    } catch (VoltTypeException e) {
+                        Object[] fieldList = new Object[m_columnCnt];
+                        for (int i = 0; i < m_columnCnt; i++) {
+                            fieldList[i] = columns[i][row];
+                        }
+                        generateError(rowHandle, fieldList, e.getMessage());
+                        continue;
+                    }
+                }
+
+                final PerPartitionTable table = m_partitionTable[partitionId];
+                PerPartitionTable.Batch batch = buffers.m_batches[partitionId];
+                if (batch == null) {
+                    batch = table.acquireBatch(this);
+                    buffers.m_batches[partitionId] = batch;
+                }
+                batch.add(rowHandle, columns, row);
+                m_outstandingRowCount.incrementAndGet();
+                if (table.isFull(batch)) {
+                    buffers.m_batches[partitionId] = null;
+                    if (fullBatches == null) {
+                        fullBatches = new ArrayList<PerPartitionTable.Batch>();
+                    }
+                    fullBatches.add(batch);
+                }
+            }
+        }
+        if (fullBatches != null) {
+            for (PerPartitionTable.Batch batch : fullBatches) {
+                batch.m_owner.submitBatch(batch);
+            }
+        }
     }
 
     /**
      * Called to asynchronously force the VoltBulkLoader to submit all the partially full batches
      * in all partitions of the table to the Client for insert. To wait for all rows to be processed,
-     * use drain(). This method will also flush pending rows submitted by other VoltBulkLoader
-     * instances working on the same table and using the same instance of Client.
+     * use drain(). This includes the rows buffered by every thread inserting through this
+     * VoltBulkLoader, but not those buffered for other VoltBulkLoader instances working on the
+     * same table.
      */
     public void flush() throws ExecutionException, InterruptedException {
+        flushProducerBuffers();
         for (int i = m_firstPartitionTable; i <= m_lastPartitionTable; i++) {
             m_partitionTable[i].flushAllTableQueues();
         }
     }
 
+    /**
+     * Take the partially filled batches away from every inserting thread and submit them.
+     * The buffers of threads that have exited are dropped once their last batches are taken.
+     */
+    private void flushProducerBuffers() throws InterruptedException {
+        Iterator<ProducerBuffers> iter = m_allProducerBuffers.iterator();
+        while (iter.hasNext()) {
+            ProducerBuffers buffers = iter.next();
+            // Checked before taking the batches, an exited thread cannot add rows behind our back
+            final boolean producerDone = buffers.isProducerDone();
+            for (int i = m_firstPartitionTable; i <= m_lastPartitionTable; i++) {
+                PerPartitionTable.Batch batch;
+                synchronized (buffers) {
+                    batch = buffers.m_batches[i];
+                    buffers.m_batches[i] = null;
+                }
+                if (batch == null) {
+                    continue;
+                }
+                if (batch.m_rowCount > 0) {
+                    batch.m_owner.submitBatch(batch);
+                }
+                else {
+                    batch.m_owner.releaseBatch(batch);
+                }
+            }
+            if (producerDone) {
+                iter.remove();
+            }
+        }
+    }
+
     /**
      * Called to synchronously force the VoltBulkLoader to submit all the partially full batches
      * in all partitions of the table to the Client for insert. This call will wait until all
@@ -367,6 +529,7 @@ public class VoltBulkLoader {
      * @throws java.lang.InterruptedException
      */
     public synchronized void drain() throws InterruptedException {
+        flushProducerBuffers();
         // Wait for number of PerPartitionTables we are using and the Failure Processor
         for (int i=m_firstPartitionTable; i<=m_lastPartitionTable; i++) {
             try {
@@ -377,8 +540,10 @@ public class VoltBulkLoader {
         }
 
         // Draining the client doesn't guarantee that all failed rows are re-inserted, need to
-        // loop until the outstanding row count reaches 0.
+        // loop until the outstanding row count reaches 0. Rows inserted by other threads in
+        // the meantime are flushed as well so that they do not keep the count above 0.
         while (m_outstandingRowCount.get() != 0) {
+            flushProducerBuffers();
             m_clientImpl.drain();
             Thread.yield();
         }
@@ -400,6 +565,7 @@ public class VoltBulkLoader {
         // Remove this VoltBulkLoader from the active set.
         synchronized (m_vblGlobals) {
             drain();
+            m_allProducerBuffers.clear();
 
             List<VoltBulkLoader> loaderList = m_vblGlobals.m_TableNameToLoader.get(m_tableName);
             if (loaderList.size() == 1) {
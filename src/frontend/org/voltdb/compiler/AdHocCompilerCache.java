@@ -19,14 +19,18 @@ package org.voltdb.compiler;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import org.voltdb.CatalogReuseInfo;
 import org.voltdb.common.Constants;
 import org.voltdb.planner.BoundPlan;
+import org.voltdb.planner.CorePlan;
 import org.voltdb.utils.Encoder;
 
 import com.google_voltpatches.common.cache.Cache;
@@ -69,6 +73,12 @@ public class AdHocCompilerCache implements Serializable {
         if (cache == null) {
             cache = new AdHocCompilerCache();
             m_catalogHashMatch.put(hashString, cache);
+            // start from the plans saved by an earlier run against the same catalog,
+            // read in the background as this may be called while applying a catalog update
+            AdHocPlanCacheStore store = AdHocPlanCacheStore.instance();
+            if (store != null) {
+                store.loadAsync(cache, catalogHash);
+            }
         }
         return cache;
     }
@@ -89,6 +99,9 @@ public class AdHocCompilerCache implements Serializable {
      *  each plan optionally has its own requirements for which parameters need to be bound
      *  to what values to enable its specialized (expression-indexed) plan. */
     final Map<String, List<BoundPlan> > m_coreCache;
+    /** cache of lexically parameterized statements to the parsed token of their
+     *  parameterized plans, lets the planner reach the core cache without a parse */
+    final Map<String, LexicalBinding> m_lexicalCache;
 
     // placeholder stats used during development that may/may not survive
     long m_literalHits = 0;
@@ -99,6 +112,13 @@ public class AdHocCompilerCache implements Serializable {
     long m_planQueries = 0;
     long m_planInsertions = 0;
     long m_planEvictions = 0;
+    long m_lexicalHits = 0;
+    long m_lexicalQueries = 0;
+
+    /** bumped whenever an entry is added, tells the plan cache store when to save */
+    long m_version = 0;
+    /** number of statements read back from plan cache files */
+    int m_warmLoaded = 0;
 
     /** {@see this#startPeriodicStatsPrinting() } */
     Timer m_statsTimer = null;
@@ -138,6 +158,75 @@ public class AdHocCompilerCache implements Serializable {
             }
 
         };
+
+        // an LRU cache map, the same size as the core cache it leads to
+        m_lexicalCache = new LinkedHashMap<String, LexicalBinding>(MAX_CORE_ENTRIES * 2, .75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean removeEldestEntry(Map.Entry<String, LexicalBinding> eldest) {
+                return size() > MAX_CORE_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Maps the lexical parameterization of a statement to the parsed token HSQL
+     * produced for it. The parser orders the extracted literals by their position
+     * in the parse tree, not in the text, so the binding also records which lexer
+     * literal goes to which parameter.
+     */
+    static class LexicalBinding {
+        final String m_parsedToken;
+        /** m_literalOrder[i] is the index of the lexer literal for parameter i */
+        final int[] m_literalOrder;
+
+        LexicalBinding(String parsedToken, int[] literalOrder) {
+            m_parsedToken = parsedToken;
+            m_literalOrder = literalOrder;
+        }
+
+        /**
+         * @return the literals of a statement with the same lexical key,
+         * in the order the parser would have extracted them
+         */
+        String[] parserOrder(String[] lexerLiterals) {
+            String[] extracted = new String[m_literalOrder.length];
+            for (int i = 0; i < m_literalOrder.length; i++) {
+                extracted[i] = lexerLiterals[m_literalOrder[i]];
+            }
+            return extracted;
+        }
+
+        /**
+         * Work out the binding by matching the literals the parser extracted with
+         * the ones the lexer found. Gives up with null unless every literal can be
+         * matched exactly and unambiguously.
+         */
+        static LexicalBinding match(String parsedToken, String[] lexerLiterals, String[] parserLiterals) {
+            String[] parsed = (parserLiterals == null) ? new String[0] : parserLiterals;
+            if (parsed.length != lexerLiterals.length) {
+                // the parser kept or folded some of the constants
+                return null;
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < lexerLiterals.length; i++) {
+                if (positions.put(lexerLiterals[i], i) != null) {
+                    // repeated values, can't tell which is which
+                    return null;
+                }
+            }
+            int[] order = new int[parsed.length];
+            for (int i = 0; i < parsed.length; i++) {
+                Integer position = (parsed[i] == null) ? null : positions.remove(parsed[i]);
+                if (position == null) {
+                    // the parser normalized the value
+                    return null;
+                }
+                order[i] = position;
+            }
+            return new LexicalBinding(parsedToken, order);
+        }
     }
 
     // define a LinkedHashMap based LRU cache bounds by both entry number and entry value on-heap size
@@ -211,8 +300,10 @@ public class AdHocCompilerCache implements Serializable {
         String line2 = String.format("CACHE STATS - Plans:    Hits %d/%d (%.1f%%), Inserts %d Evictions %d\n",
                 m_planHits, m_planQueries, (m_planHits * 100.0) /m_planQueries,
                 m_planInsertions, m_planEvictions);
+        String line3 = String.format("CACHE STATS - Lexical:  Hits %d/%d (%.1f%%)\n",
+                m_lexicalHits, m_lexicalQueries, (m_lexicalHits * 100.0) / m_lexicalQueries);
 
-        System.out.print(line1 + line2);
+        System.out.print(line1 + line2 + line3);
         System.out.flush();
 
         // reset these
@@ -224,6 +315,8 @@ public class AdHocCompilerCache implements Serializable {
         m_planQueries = 0;
         m_planInsertions = 0;
         m_planEvictions = 0;
+        m_lexicalHits = 0;
+        m_lexicalQueries = 0;
     }
 
     /**
@@ -253,6 +346,29 @@ public class AdHocCompilerCache implements Serializable {
         return retval;
     }
 
+    /**
+     * @param lexicalKey key from the lexical parameterization of a statement
+     * @return how to bind the statement's literals to a parsed token, or null
+     */
+    synchronized LexicalBinding getWithLexicalKey(String lexicalKey) {
+        ++m_lexicalQueries;
+        LexicalBinding retval = m_lexicalCache.get(lexicalKey);
+        if (retval != null) {
+            ++m_lexicalHits;
+        }
+        return retval;
+    }
+
+    /**
+     * Called from the PlannerTool after a statement was parsed and parameterized,
+     * so the next statement with the same lexical key can skip the parse.
+     */
+    synchronized void putLexicalKey(String lexicalKey, LexicalBinding binding) {
+        if (m_lexicalCache.put(lexicalKey, binding) == null) {
+            ++m_version;
+        }
+    }
+
     /**
      * Called from the PlannerTool directly when it finishes planning.
      * This is the only way to populate the cache.
@@ -307,6 +423,7 @@ public class AdHocCompilerCache implements Serializable {
                 // after each call to boundVariants.add) because they are not evicted separately.
                 // It seems saner to use consistent units when counting insertions vs. evictions.
                 ++m_planInsertions;
+                ++m_version;
             } else {
                 for (BoundPlan boundPlan : boundVariants) {
                     if (boundPlan.equals(unmatched)) {
@@ -337,6 +454,7 @@ public class AdHocCompilerCache implements Serializable {
                 //* enable to debug */ System.out.println("DEBUG: Caching literal '" + sql + "'");
                 m_literalCache.put(sql, plan);
                 ++m_literalInsertions;
+                ++m_version;
             }
             else {
                 assert(cachedPlan.equals(plan));
@@ -344,6 +462,79 @@ public class AdHocCompilerCache implements Serializable {
         }
     }
 
+    /**
+     * Seed the cache of a new catalog with the plans of this cache that the catalog
+     * update did not invalidate, so ad hoc traffic keeps hitting the cache right after
+     * a small schema change instead of re-planning every statement at once.
+     *
+     * Carried plans are re-stamped with the new catalog hash. Entries are copied from
+     * least to most recently used so the target keeps the same LRU order, and entries
+     * the target already has are left alone.
+     *
+     * @param target       the cache of the new catalog
+     * @param reuse        what the catalog update changed
+     * @param catalogHash  hash of the new catalog
+     * @return the number of cached statements carried over and dropped, in that order
+     */
+    public int[] carryOver(AdHocCompilerCache target, CatalogReuseInfo reuse, byte[] catalogHash) {
+        assert(target != this);
+        int carried = 0;
+        int dropped = 0;
+        // the same core is shared by the L1 and L2 entries of a statement, keep it that way
+        Map<CorePlan, CorePlan> rebased = new IdentityHashMap<>();
+        synchronized (this) {
+            synchronized (target) {
+                for (Map.Entry<String, List<BoundPlan>> e : m_coreCache.entrySet()) {
+                    List<BoundPlan> variants = new ArrayList<>(e.getValue().size());
+                    for (BoundPlan boundPlan : e.getValue()) {
+                        CorePlan core = rebase(boundPlan.m_core, reuse, catalogHash, rebased);
+                        if (core != null) {
+                            variants.add(new BoundPlan(core, boundPlan.m_constants));
+                        }
+                    }
+                    if (variants.isEmpty()) {
+                        ++dropped;
+                    }
+                    else if (!target.m_coreCache.containsKey(e.getKey())) {
+                        target.m_coreCache.put(e.getKey(), variants);
+                        ++carried;
+                    }
+                }
+                for (Map.Entry<String, LexicalBinding> e : m_lexicalCache.entrySet()) {
+                    // only useful if the parsed token it leads to made it
+                    if (target.m_coreCache.containsKey(e.getValue().m_parsedToken)
+                            && !target.m_lexicalCache.containsKey(e.getKey())) {
+                        target.m_lexicalCache.put(e.getKey(), e.getValue());
+                    }
+                }
+                for (Map.Entry<String, AdHocPlannedStatement> e : m_literalCache.entrySet()) {
+                    CorePlan core = rebase(e.getValue().core, reuse, catalogHash, rebased);
+                    if (core == null) {
+                        ++dropped;
+                    }
+                    else if (!target.m_literalCache.containsKey(e.getKey())) {
+                        target.m_literalCache.put(e.getKey(), e.getValue().withCore(core));
+                        ++carried;
+                    }
+                }
+                target.m_version += carried;
+            }
+        }
+        return new int[] { carried, dropped };
+    }
+
+    private static CorePlan rebase(CorePlan core,
+                                   CatalogReuseInfo reuse,
+                                   byte[] catalogHash,
+                                   Map<CorePlan, CorePlan> rebased) {
+        if (rebased.containsKey(core)) {
+            return rebased.get(core);
+        }
+        CorePlan result = reuse.isPlanReusable(core) ? core.rebase(catalogHash) : null;
+        rebased.put(core, result);
+        return result;
+    }
+
     /**
      * Start a timer that prints cache stats to the console every 5s.
      * Used for development until we get better stats integration.
@@ -375,4 +566,12 @@ public class AdHocCompilerCache implements Serializable {
     public int getCoreCacheSize() {
         return m_coreCache.size();
     }
+
+    /**
+     * Return the number of statements the cache was warmed with from plan cache files.
+     * @return  warm loaded statements as a count
+     */
+    public int getWarmLoadedCount() {
+        return m_warmLoaded;
+    }
 }
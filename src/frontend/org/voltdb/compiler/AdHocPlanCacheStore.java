@@ -0,0 +1,505 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.compiler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.CoreUtils;
+import org.voltdb.ParameterSet;
+import org.voltdb.common.Constants;
+import org.voltdb.compiler.AdHocCompilerCache.LexicalBinding;
+import org.voltdb.messaging.FastSerializer;
+import org.voltdb.planner.BoundPlan;
+import org.voltdb.planner.CorePlan;
+import org.voltdb.utils.Encoder;
+import org.voltdb.utils.VoltFile;
+
+/**
+ * Saves the content of the ad hoc plan caches to disk and reads it back, so a
+ * restarted, rejoined or updated node starts with the plans it (or any other node
+ * of the cluster) already paid for instead of re-planning every statement at once.
+ *
+ * Each host writes one file per catalog hash, named {@code <catalog hash>-host<host id>.plans},
+ * replacing it atomically. When a cache is created for a catalog hash, every file
+ * for that hash found in the directory is merged into it, so pointing
+ * {@code ADHOC_PLAN_CACHE_DIR} of all the hosts to a shared file system lets
+ * the cluster plan each statement once. Files are only trusted if they were
+ * written by the same VoltDB version for the very same catalog.
+ *
+ * Only what the caches hold is saved: the parameterized plans with their
+ * bindings, the lexical keys leading to them and the literal statements.
+ */
+public class AdHocPlanCacheStore {
+
+    private static final VoltLogger hostLog = new VoltLogger("HOST");
+
+    static final int FILE_MAGIC = 0x56504c4e; // "VPLN"
+    static final int FILE_FORMAT_VERSION = 1;
+    static final String FILE_SUFFIX = ".plans";
+    static final String DEFAULT_DIRECTORY = "adhoc_plan_cache";
+    /** how many catalogs worth of plans each host keeps around */
+    static final int FILES_KEPT_PER_HOST = 4;
+
+    private static volatile AdHocPlanCacheStore m_instance = null;
+
+    /** reads plan files off the thread creating the cache, which may be applying a catalog update */
+    private static final ExecutorService m_loader =
+            CoreUtils.getCachedSingleThreadExecutor("Ad Hoc Plan Cache Loader", 15000);
+
+    private final File m_directory;
+    private final int m_hostId;
+    private final String m_versionString;
+
+    /** the cache last saved and the version it had */
+    private AdHocCompilerCache m_lastSavedCache = null;
+    private long m_lastSavedVersion = -1;
+    /** when each file of the other hosts was last merged */
+    private final Map<String, Long> m_mergedFiles = new HashMap<>();
+    /** caches whose files are still to be loaded, not saved until then */
+    private final Set<AdHocCompilerCache> m_pendingLoads = ConcurrentHashMap.newKeySet();
+
+    AdHocPlanCacheStore(File directory, int hostId, String versionString) {
+        m_directory = directory;
+        m_hostId = hostId;
+        m_versionString = versionString;
+    }
+
+    /**
+     * Set up the store for this process. The plan files go to {@code ADHOC_PLAN_CACHE_DIR}
+     * if set, under voltdbroot otherwise. Setting {@code ADHOC_PLAN_CACHE_PERSIST} to
+     * false turns persistence off.
+     *
+     * @param voltdbroot     the voltdbroot of this node
+     * @param hostId         id of this host
+     * @param versionString  version of VoltDB the plans are produced with
+     */
+    public static synchronized void initialize(String voltdbroot, int hostId, String versionString) {
+        if (!Boolean.valueOf(System.getProperty("ADHOC_PLAN_CACHE_PERSIST", "true"))) {
+            m_instance = null;
+            return;
+        }
+        String shared = System.getProperty("ADHOC_PLAN_CACHE_DIR");
+        File directory = (shared != null) ? new VoltFile(shared) : new VoltFile(voltdbroot, DEFAULT_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            hostLog.warn("Unable to create the ad hoc plan cache directory " + directory + ", plans will not be saved");
+            m_instance = null;
+            return;
+        }
+        m_instance = new AdHocPlanCacheStore(directory, hostId, versionString);
+        hostLog.info("Saving ad hoc plans to " + directory);
+    }
+
+    public static void shutdown() {
+        m_instance = null;
+    }
+
+    /**
+     * @return the store of this process, null if plans are not persisted
+     */
+    public static AdHocPlanCacheStore instance() {
+        return m_instance;
+    }
+
+    private String filePrefix(byte[] catalogHash) {
+        return Encoder.hexEncode(catalogHash) + "-host";
+    }
+
+    File fileFor(byte[] catalogHash) {
+        return new VoltFile(m_directory, filePrefix(catalogHash) + m_hostId + FILE_SUFFIX);
+    }
+
+    private File[] filesFor(byte[] catalogHash) {
+        final String prefix = filePrefix(catalogHash);
+        File[] files = m_directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(FILE_SUFFIX));
+        return (files == null) ? new File[0] : files;
+    }
+
+    /**
+     * Merge the plan files saved for the catalog into a new cache in the background.
+     * The cache can be used meanwhile, planned statements it already holds are kept
+     * over the loaded ones. Doesn't wait for a save in progress.
+     *
+     * @return completes once the files are merged
+     */
+    public Future<?> loadAsync(final AdHocCompilerCache cache, final byte[] catalogHash) {
+        m_pendingLoads.add(cache);
+        return m_loader.submit(new Runnable() {
+            @Override
+            public void run() {
+                load(cache, catalogHash);
+            }
+        });
+    }
+
+    /**
+     * Merge every plan file saved for the catalog into a new cache.
+     * Unreadable or foreign files are skipped, they never stop the caller.
+     */
+    public synchronized void load(AdHocCompilerCache cache, byte[] catalogHash) {
+        m_pendingLoads.remove(cache);
+        int loaded = 0;
+        for (File file : filesFor(catalogHash)) {
+            loaded += merge(cache, catalogHash, file);
+        }
+        if (loaded > 0) {
+            hostLog.info(String.format("Loaded %d cached ad hoc statements for catalog %s",
+                                       loaded, Encoder.hexEncode(catalogHash)));
+        }
+    }
+
+    /**
+     * Save the cache if it changed since the last save, then pick up what the other
+     * hosts saved meanwhile when the directory is shared. Called periodically and at
+     * shutdown.
+     */
+    public synchronized void save(AdHocCompilerCache cache, byte[] catalogHash) {
+        if (m_pendingLoads.contains(cache)) {
+            // saving now would replace this host's file before the plans in it are read back
+            return;
+        }
+        long version;
+        synchronized (cache) {
+            version = cache.m_version;
+        }
+        // a cache nothing was added to since it was created has nothing new to save
+        if (version > 0 && (cache != m_lastSavedCache || version != m_lastSavedVersion)) {
+            try {
+                write(cache, catalogHash, fileFor(catalogHash));
+                m_lastSavedCache = cache;
+                m_lastSavedVersion = version;
+                prune();
+            }
+            catch (IOException e) {
+                hostLog.warn("Failed to save the ad hoc plan cache: " + e.getMessage());
+            }
+        }
+
+        String ownFile = fileFor(catalogHash).getName();
+        for (File file : filesFor(catalogHash)) {
+            if (file.getName().equals(ownFile)) {
+                continue;
+            }
+            Long merged = m_mergedFiles.get(file.getName());
+            if (merged == null || merged < file.lastModified()) {
+                merge(cache, catalogHash, file);
+            }
+        }
+    }
+
+    /**
+     * Only keep the plans of the last few catalogs this host saved.
+     */
+    private void prune() {
+        final String suffix = "-host" + m_hostId + FILE_SUFFIX;
+        File[] own = m_directory.listFiles((dir, name) -> name.endsWith(suffix));
+        if (own == null || own.length <= FILES_KEPT_PER_HOST) {
+            return;
+        }
+        Arrays.sort(own, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = FILES_KEPT_PER_HOST; i < own.length; i++) {
+            own[i].delete();
+        }
+    }
+
+    private int merge(AdHocCompilerCache cache, byte[] catalogHash, File file) {
+        m_mergedFiles.put(file.getName(), file.lastModified());
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            return read(cache, catalogHash, buf);
+        }
+        catch (Exception e) {
+            hostLog.warn("Ignoring unreadable ad hoc plan cache file " + file + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////
+    // FILE FORMAT
+    //////////////////////////////////////////////////////////////////////////
+
+    void write(AdHocCompilerCache cache, byte[] catalogHash, File file) throws IOException {
+        ByteBuffer buf = serialize(cache, catalogHash);
+        File tmpFile = new VoltFile(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmpFile)) {
+            FileChannel channel = fos.getChannel();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+        Files.move(tmpFile.toPath(), file.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Cores are written once, up front, and referred to by position so the L1 and
+     * L2 entries of a statement keep sharing them once read back. Entries of each
+     * map are written from least to most recently used to keep the LRU order.
+     */
+    ByteBuffer serialize(AdHocCompilerCache cache, byte[] catalogHash) throws IOException {
+        List<Map.Entry<String, List<BoundPlan>>> coreEntries;
+        List<Map.Entry<String, LexicalBinding>> lexicalEntries;
+        List<Map.Entry<String, AdHocPlannedStatement>> literalEntries;
+        synchronized (cache) {
+            coreEntries = new ArrayList<>(cache.m_coreCache.size());
+            for (Map.Entry<String, List<BoundPlan>> e : cache.m_coreCache.entrySet()) {
+                coreEntries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), new ArrayList<>(e.getValue())));
+            }
+            lexicalEntries = new ArrayList<>(cache.m_lexicalCache.entrySet());
+            literalEntries = new ArrayList<>(cache.m_literalCache.entrySet());
+        }
+
+        Map<CorePlan, Integer> coreIds = new IdentityHashMap<>();
+        List<CorePlan> cores = new ArrayList<>();
+        for (Map.Entry<String, List<BoundPlan>> e : coreEntries) {
+            for (BoundPlan boundPlan : e.getValue()) {
+                coreId(boundPlan.m_core, coreIds, cores);
+            }
+        }
+        for (Map.Entry<String, AdHocPlannedStatement> e : literalEntries) {
+            coreId(e.getValue().core, coreIds, cores);
+        }
+
+        FastSerializer fs = new FastSerializer();
+        try {
+            fs.writeInt(FILE_MAGIC);
+            fs.writeInt(FILE_FORMAT_VERSION);
+            fs.writeString(m_versionString);
+            fs.writeVarbinary(catalogHash);
+
+            fs.writeInt(cores.size());
+            for (CorePlan core : cores) {
+                ByteBuffer coreBuf = ByteBuffer.allocate(core.getSerializedSize());
+                core.flattenToBuffer(coreBuf);
+                coreBuf.flip();
+                fs.write(coreBuf);
+                fs.writeInt(core.getPartitioningParamIndex());
+                fs.writeParameterSet(ParameterSet.fromArrayNoCopy(new Object[] { core.getPartitioningParamValue() }));
+                Set<String> tables = core.getTablesUsed();
+                writeNullableStrings(fs, (tables == null) ? null : tables.toArray(new String[tables.size()]));
+            }
+
+            fs.writeInt(coreEntries.size());
+            for (Map.Entry<String, List<BoundPlan>> e : coreEntries) {
+                fs.writeString(e.getKey());
+                fs.writeInt(e.getValue().size());
+                for (BoundPlan boundPlan : e.getValue()) {
+                    fs.writeInt(coreIds.get(boundPlan.m_core));
+                    writeNullableStrings(fs, boundPlan.m_constants);
+                }
+            }
+
+            fs.writeInt(lexicalEntries.size());
+            for (Map.Entry<String, LexicalBinding> e : lexicalEntries) {
+                fs.writeString(e.getKey());
+                fs.writeString(e.getValue().m_parsedToken);
+                fs.writeArray(e.getValue().m_literalOrder);
+            }
+
+            fs.writeInt(literalEntries.size());
+            for (Map.Entry<String, AdHocPlannedStatement> e : literalEntries) {
+                AdHocPlannedStatement stmt = e.getValue();
+                fs.writeString(e.getKey());
+                fs.writeInt(coreIds.get(stmt.core));
+                fs.writeVarbinary(stmt.sql);
+                fs.writeParameterSet(ParameterSet.fromArrayNoCopy(stmt.extractedParamArray()));
+                writeNullableStrings(fs, stmt.parameterBindings(null));
+            }
+
+            return fs.getBuffer();
+        }
+        finally {
+            // only releases the container, the heap buffer returned stays readable
+            fs.discard();
+        }
+    }
+
+    private static void coreId(CorePlan core, Map<CorePlan, Integer> coreIds, List<CorePlan> cores) {
+        if (!coreIds.containsKey(core)) {
+            coreIds.put(core, cores.size());
+            cores.add(core);
+        }
+    }
+
+    /**
+     * Merge the content of a plan file into the cache. Entries the cache already
+     * has are left alone.
+     *
+     * @return the number of statements added to the cache
+     */
+    int read(AdHocCompilerCache cache, byte[] catalogHash, ByteBuffer buf) throws IOException {
+        if (buf.getInt() != FILE_MAGIC) {
+            throw new IOException("not an ad hoc plan cache file");
+        }
+        int formatVersion = buf.getInt();
+        if (formatVersion != FILE_FORMAT_VERSION) {
+            throw new IOException("unsupported format version " + formatVersion);
+        }
+        String versionString = readString(buf);
+        if (!m_versionString.equals(versionString)) {
+            // the plans may not make sense to this version of the planner or the EE
+            return 0;
+        }
+        byte[] fileCatalogHash = readVarbinary(buf);
+        if (!Arrays.equals(catalogHash, fileCatalogHash)) {
+            return 0;
+        }
+
+        CorePlan[] cores = new CorePlan[buf.getInt()];
+        for (int i = 0; i < cores.length; i++) {
+            CorePlan core = CorePlan.fromBuffer(buf);
+            if (!core.wasPlannedAgainstHash(catalogHash)) {
+                throw new IOException("plan for a different catalog");
+            }
+            core.setPartitioningParamIndex(buf.getInt());
+            core.setPartitioningParamValue(ParameterSet.fromByteBuffer(buf).toArray()[0]);
+            String[] tables = readNullableStrings(buf);
+            if (tables != null) {
+                Set<String> tablesUsed = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                tablesUsed.addAll(Arrays.asList(tables));
+                core.setTablesUsed(tablesUsed);
+            }
+            core.setWarmLoaded(true);
+            cores[i] = core;
+        }
+
+        Map<String, List<BoundPlan>> coreEntries = new LinkedHashMap<>();
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String parsedToken = readString(buf);
+            int variantCount = buf.getInt();
+            List<BoundPlan> variants = new ArrayList<>(variantCount);
+            for (int j = 0; j < variantCount; j++) {
+                CorePlan core = cores[buf.getInt()];
+                variants.add(new BoundPlan(core, readNullableStrings(buf)));
+            }
+            coreEntries.put(parsedToken, variants);
+        }
+
+        Map<String, LexicalBinding> lexicalEntries = new LinkedHashMap<>();
+        count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String lexicalKey = readString(buf);
+            String parsedToken = readString(buf);
+            int[] literalOrder = new int[buf.getShort()];
+            for (int j = 0; j < literalOrder.length; j++) {
+                literalOrder[j] = buf.getInt();
+            }
+            lexicalEntries.put(lexicalKey, new LexicalBinding(parsedToken, literalOrder));
+        }
+
+        Map<String, AdHocPlannedStatement> literalEntries = new LinkedHashMap<>();
+        count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String sql = readString(buf);
+            CorePlan core = cores[buf.getInt()];
+            byte[] sqlBytes = readVarbinary(buf);
+            ParameterSet params = ParameterSet.fromByteBuffer(buf);
+            AdHocPlannedStatement stmt = new AdHocPlannedStatement(sqlBytes, core, params, null);
+            stmt.setBoundConstants(readNullableStrings(buf));
+            literalEntries.put(sql, stmt);
+        }
+
+        // the file was read in full, only now touch the cache
+        int added = 0;
+        synchronized (cache) {
+            for (Map.Entry<String, List<BoundPlan>> e : coreEntries.entrySet()) {
+                if (!cache.m_coreCache.containsKey(e.getKey())) {
+                    cache.m_coreCache.put(e.getKey(), e.getValue());
+                    ++added;
+                }
+            }
+            for (Map.Entry<String, LexicalBinding> e : lexicalEntries.entrySet()) {
+                if (cache.m_coreCache.containsKey(e.getValue().m_parsedToken)
+                        && !cache.m_lexicalCache.containsKey(e.getKey())) {
+                    cache.m_lexicalCache.put(e.getKey(), e.getValue());
+                }
+            }
+            for (Map.Entry<String, AdHocPlannedStatement> e : literalEntries.entrySet()) {
+                if (!cache.m_literalCache.containsKey(e.getKey())) {
+                    cache.m_literalCache.put(e.getKey(), e.getValue());
+                    ++added;
+                }
+            }
+            cache.m_warmLoaded += added;
+        }
+        return added;
+    }
+
+    private static void writeNullableStrings(FastSerializer fs, String[] values) throws IOException {
+        if (values == null) {
+            fs.writeInt(-1);
+            return;
+        }
+        fs.writeInt(values.length);
+        for (String value : values) {
+            fs.writeString(value);
+        }
+    }
+
+    private static String[] readNullableStrings(ByteBuffer buf) throws IOException {
+        int count = buf.getInt();
+        if (count < 0) {
+            return null;
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(buf);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buf) throws IOException {
+        byte[] bytes = readVarbinary(buf);
+        return (bytes == null) ? null : new String(bytes, Constants.UTF8ENCODING);
+    }
+
+    private static byte[] readVarbinary(ByteBuffer buf) throws IOException {
+        int len = buf.getInt();
+        if (len < 0) {
+            return null;
+        }
+        if (len > buf.remaining()) {
+            throw new IOException("truncated file");
+        }
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+}
@@ -196,6 +196,16 @@ public class AdHocPlannedStatement {
         boundParamStrings = boundConstants;
     }
 
+    /**
+     * @return a copy of this statement around a different core plan,
+     * keeping the literal, the extracted parameters and their bindings.
+     */
+    AdHocPlannedStatement withCore(CorePlan coreIn) {
+        AdHocPlannedStatement copy = new AdHocPlannedStatement(sql, coreIn, extractedParamValues, boundParamIndexes);
+        copy.boundParamStrings = boundParamStrings;
+        return copy;
+    }
+
     public Object[] extractedParamArray() {
         return extractedParamValues.toArray();
     }
@@ -31,6 +31,8 @@ import org.voltdb.StatsSelector;
 import org.voltdb.VoltDB;
 import org.voltdb.catalog.Database;
 import org.voltdb.common.Constants;
+import org.voltdb.compiler.AdHocCompilerCache.LexicalBinding;
+import org.voltdb.parser.SQLLexer;
 import org.voltdb.planner.BoundPlan;
 import org.voltdb.planner.CompiledPlan;
 import org.voltdb.planner.CorePlan;
@@ -39,8 +41,10 @@ import org.voltdb.planner.PlanningErrorException;
 import org.voltdb.planner.QueryPlanner;
 import org.voltdb.planner.StatementPartitioning;
 import org.voltdb.planner.TrivialCostModel;
+import org.voltdb.plannodes.SendPlanNode;
 import org.voltdb.utils.CompressionService;
 import org.voltdb.utils.Encoder;
+import org.voltdb.utils.LexicalParameterization;
 
 /**
  * Planner tool accepts an already compiled VoltDB catalog and then
@@ -120,6 +124,13 @@ public class PlannerTool {
         return this;
     }
 
+    /**
+     * @return the ad hoc plan cache for the catalog this planner is currently using
+     */
+    public AdHocCompilerCache getAdHocCache() {
+        return m_cache;
+    }
+
     public HSQLInterface getHSQLInterface() {
         return m_hsql;
     }
@@ -134,7 +145,7 @@ public class PlannerTool {
 
     public AdHocPlannedStatement planSqlForTest(String sqlIn) {
         StatementPartitioning infer = StatementPartitioning.inferPartitioning();
-        return planSql(sqlIn, infer, false, null, false, false);
+        return planSql(sqlIn, infer, false, null, false, false, false);
     }
 
     private void logException(Exception e, String fmtLabel) {
@@ -184,8 +195,58 @@ public class PlannerTool {
         return plan;
     }
 
+    /**
+     * Look for a parameterized plan in the cache using the lexical parameterization
+     * of a statement.
+     * @return the plan, or null if the statement has to be parsed
+     */
+    private AdHocPlannedStatement planFromLexicalKey(String sql, LexicalParameterization lexed) {
+        LexicalBinding binding = m_cache.getWithLexicalKey(lexed.getKey());
+        if (binding == null) {
+            return null;
+        }
+        List<BoundPlan> boundVariants = m_cache.getWithParsedToken(binding.m_parsedToken);
+        if (boundVariants == null) {
+            return null;
+        }
+        String[] extractedLiterals = binding.parserOrder(lexed.getLiterals());
+        for (BoundPlan boundPlan : boundVariants) {
+            if ( ! boundPlan.allowsParams(extractedLiterals)) {
+                continue;
+            }
+            CorePlan core = boundPlan.m_core;
+            if (extractedLiterals.length < core.parameterTypes.length) {
+                return null;
+            }
+            ParameterSet params;
+            try {
+                params = ParameterizationInfo.extractedParamValues(extractedLiterals, core.parameterTypes);
+            }
+            catch (Exception e) {
+                // a constant that doesn't fit the plan, leave it to the planner to report
+                return null;
+            }
+            AdHocPlannedStatement ahps = new AdHocPlannedStatement(sql.getBytes(Constants.UTF8ENCODING),
+                                                                   core,
+                                                                   params,
+                                                                   null);
+            ahps.setBoundConstants(boundPlan.m_constants);
+            m_cache.put(sql, binding.m_parsedToken, ahps, extractedLiterals, false, false);
+            return ahps;
+        }
+        return null;
+    }
+
+    /**
+     * Plan an ad hoc statement.
+     *
+     * @param isCursorQuery  true if the result of a large query plan is kept on the server
+     *                       for a cursor, see {@link SendPlanNode#streamsToCursor()}.
+     *                       Large query plans are not cached, so neither are these.
+     */
     public synchronized AdHocPlannedStatement planSql(String sql, StatementPartitioning partitioning,
-            boolean isExplainMode, final Object[] userParams, boolean isSwapTables, boolean isLargeQuery) {
+            boolean isExplainMode, final Object[] userParams, boolean isSwapTables, boolean isLargeQuery,
+            boolean isCursorQuery) {
         // large_mode_ratio will force execution of SQL queries to use the "large" path (for read-only queries)
         // a certain percentage of the time
         if (m_largeModeRatio > 0 && !isLargeQuery) {
@@ -195,6 +256,8 @@ public class PlannerTool {
             }
         }
         CacheUse cacheUse = CacheUse.FAIL;
+        // the cached plan handed out, if any
+        CorePlan cachedCore = null;
         if (m_plannerStats != null) {
             m_plannerStats.startStatsCollection();
         }
@@ -221,6 +284,7 @@ public class PlannerTool {
                 AdHocPlannedStatement cachedPlan = m_cache.getWithSQL(sql);
                 if (cachedPlan != null) {
                     cacheUse = CacheUse.HIT1;
+                    cachedCore = cachedPlan.core;
                     return cachedPlan;
                 }
                 else {
@@ -228,6 +292,22 @@ public class PlannerTool {
                 }
             }
 
+            // Statements that only differ from a cached one by their constants can reach
+            // its parameterized plan through the lexer, without paying for an HSQL parse.
+            LexicalParameterization lexed = null;
+            if (partitioning.isInferred() && !isLargeQuery && !isSwapTables
+                    && (userParams == null || userParams.length == 0)) {
+                lexed = SQLLexer.parameterizeLiterals(sql);
+                if (lexed != null) {
+                    AdHocPlannedStatement cachedPlan = planFromLexicalKey(sql, lexed);
+                    if (cachedPlan != null) {
+                        cacheUse = CacheUse.HIT2;
+                        cachedCore = cachedPlan.core;
+                        return cachedPlan;
+                    }
+                }
+            }
+
             //////////////////////
             // PLAN THE STMT
             //////////////////////
@@ -288,6 +368,13 @@ public class PlannerTool {
                     // QueryPlanner.
                     assert(parsedToken != null);
                     extractedLiterals = planner.extractedParamLiteralValues();
+                    if (lexed != null) {
+                        // remember how the lexer's view of the statement maps to the parser's
+                        LexicalBinding binding = LexicalBinding.match(parsedToken, lexed.getLiterals(), extractedLiterals);
+                        if (binding != null) {
+                            m_cache.putLexicalKey(lexed.getKey(), binding);
+                        }
+                    }
                     List<BoundPlan> boundVariants = m_cache.getWithParsedToken(parsedToken);
                     if (boundVariants != null) {
                         assert( ! boundVariants.isEmpty());
@@ -318,6 +405,7 @@ public class PlannerTool {
                             // parameterized plan from the cache does not have exception
                             m_cache.put(sql, parsedToken, ahps, extractedLiterals, hasUserQuestionMark, false);
                             cacheUse = CacheUse.HIT2;
+                            cachedCore = core;
                             return ahps;
                         }
                     }
@@ -331,6 +419,9 @@ public class PlannerTool {
                 if (plan.getIsLargeQuery() != isLargeQuery) {
                     ++m_adHocLargeFallbackCount;
                 }
+                if (isCursorQuery && plan.getIsLargeQuery() && plan.rootPlanGraph instanceof SendPlanNode) {
+                    ((SendPlanNode) plan.rootPlanGraph).setStreamToCursor(true);
+                }
 
                 planHasExceptionsWhenParameterized = planner.wasBadPameterized();
             }
@@ -376,6 +467,8 @@ public class PlannerTool {
         }
         finally {
             if (m_plannerStats != null) {
+                m_plannerStats.updateWarmCacheStats(m_cache.getWarmLoadedCount(),
+                                                    cachedCore != null && cachedCore.isWarmLoaded());
                 m_plannerStats.endStatsCollection(m_cache.getLiteralCacheSize(), m_cache.getCoreCacheSize(), cacheUse, -1);
             }
         }
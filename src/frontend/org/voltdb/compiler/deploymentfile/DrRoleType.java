@@ -0,0 +1,64 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlEnumValue;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for drRoleType.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * <p>
+ * <pre>
+ * &lt;simpleType name="drRoleType">
+ *   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
+ *     &lt;enumeration value="master"/>
+ *     &lt;enumeration value="replica"/>
+ *     &lt;enumeration value="xdcr"/>
+ *     &lt;enumeration value="none"/>
+ *   &lt;/restriction>
+ * &lt;/simpleType>
+ * </pre>
+ * 
+ */
+@XmlType(name = "drRoleType")
+@XmlEnum
+public enum DrRoleType {
+
+    @XmlEnumValue("master")
+    MASTER("master"),
+    @XmlEnumValue("replica")
+    REPLICA("replica"),
+    @XmlEnumValue("xdcr")
+    XDCR("xdcr"),
+    @XmlEnumValue("none")
+    NONE("none");
+    private final String value;
+
+    DrRoleType(String v) {
+        value = v;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static DrRoleType fromValue(String v) {
+        for (DrRoleType c: DrRoleType.values()) {
+            if (c.value.equals(v)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException(v);
+    }
+
+}
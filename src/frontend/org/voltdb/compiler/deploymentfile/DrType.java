@@ -0,0 +1,225 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for drType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="drType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;sequence>
+ *         &lt;element name="connection" type="{}connectionType" minOccurs="0"/>
+ *       &lt;/sequence>
+ *       &lt;attribute name="id" type="{}clusterIdType" />
+ *       &lt;attribute name="listen" type="{http://www.w3.org/2001/XMLSchema}boolean" default="true" />
+ *       &lt;attribute name="port" type="{http://www.w3.org/2001/XMLSchema}int" default="5555" />
+ *       &lt;attribute name="flushInterval" default="1000">
+ *         &lt;simpleType>
+ *           &lt;restriction base="{http://www.w3.org/2001/XMLSchema}int">
+ *             &lt;minInclusive value="20"/>
+ *           &lt;/restriction>
+ *         &lt;/simpleType>
+ *       &lt;/attribute>
+ *       &lt;attribute name="role" type="{}drRoleType" default="master" />
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "drType", propOrder = {
+    "connection"
+})
+public class DrType {
+
+    protected ConnectionType connection;
+    @XmlAttribute(name = "id")
+    protected Integer id;
+    @XmlAttribute(name = "listen")
+    protected Boolean listen;
+    @XmlAttribute(name = "port")
+    protected Integer port;
+    @XmlAttribute(name = "flushInterval")
+    protected Integer flushInterval;
+    @XmlAttribute(name = "role")
+    protected DrRoleType role;
+
+    /**
+     * Gets the value of the connection property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link ConnectionType }
+     *     
+     */
+    public ConnectionType getConnection() {
+        return connection;
+    }
+
+    /**
+     * Sets the value of the connection property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link ConnectionType }
+     *     
+     */
+    public void setConnection(ConnectionType value) {
+        this.connection = value;
+    }
+
+    /**
+     * Gets the value of the id property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Sets the value of the id property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setId(Integer value) {
+        this.id = value;
+    }
+
+    /**
+     * Gets the value of the listen property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isListen() {
+        if (listen == null) {
+            return true;
+        } else {
+            return listen;
+        }
+    }
+
+    /**
+     * Sets the value of the listen property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setListen(Boolean value) {
+        this.listen = value;
+    }
+
+    /**
+     * Gets the value of the port property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public int getPort() {
+        if (port == null) {
+            return  5555;
+        } else {
+            return port;
+        }
+    }
+
+    /**
+     * Sets the value of the port property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setPort(Integer value) {
+        this.port = value;
+    }
+
+    /**
+     * Gets the value of the flushInterval property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public int getFlushInterval() {
+        if (flushInterval == null) {
+            return  1000;
+        } else {
+            return flushInterval;
+        }
+    }
+
+    /**
+     * Sets the value of the flushInterval property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setFlushInterval(Integer value) {
+        this.flushInterval = value;
+    }
+
+    /**
+     * Gets the value of the role property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link DrRoleType }
+     *     
+     */
+    public DrRoleType getRole() {
+        if (role == null) {
+            return DrRoleType.MASTER;
+        } else {
+            return role;
+        }
+    }
+
+    /**
+     * Sets the value of the role property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link DrRoleType }
+     *     
+     */
+    public void setRole(DrRoleType value) {
+        this.role = value;
+    }
+
+}
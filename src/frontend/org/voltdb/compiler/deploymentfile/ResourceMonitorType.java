@@ -0,0 +1,220 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for resourceMonitorType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="resourceMonitorType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;all>
+ *         &lt;element name="memorylimit" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="size" type="{http://www.w3.org/2001/XMLSchema}string" default="80%" />
+ *                 &lt;attribute name="alert" type="{http://www.w3.org/2001/XMLSchema}string" default="70%" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="disklimit" type="{}diskLimitType" minOccurs="0"/>
+ *       &lt;/all>
+ *       &lt;attribute name="frequency" type="{http://www.w3.org/2001/XMLSchema}int" default="60" />
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "resourceMonitorType", propOrder = {
+
+})
+public class ResourceMonitorType {
+
+    protected ResourceMonitorType.Memorylimit memorylimit;
+    protected DiskLimitType disklimit;
+    @XmlAttribute(name = "frequency")
+    protected Integer frequency;
+
+    /**
+     * Gets the value of the memorylimit property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link ResourceMonitorType.Memorylimit }
+     *     
+     */
+    public ResourceMonitorType.Memorylimit getMemorylimit() {
+        return memorylimit;
+    }
+
+    /**
+     * Sets the value of the memorylimit property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link ResourceMonitorType.Memorylimit }
+     *     
+     */
+    public void setMemorylimit(ResourceMonitorType.Memorylimit value) {
+        this.memorylimit = value;
+    }
+
+    /**
+     * Gets the value of the disklimit property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link DiskLimitType }
+     *     
+     */
+    public DiskLimitType getDisklimit() {
+        return disklimit;
+    }
+
+    /**
+     * Sets the value of the disklimit property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link DiskLimitType }
+     *     
+     */
+    public void setDisklimit(DiskLimitType value) {
+        this.disklimit = value;
+    }
+
+    /**
+     * Gets the value of the frequency property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public int getFrequency() {
+        if (frequency == null) {
+            return  60;
+        } else {
+            return frequency;
+        }
+    }
+
+    /**
+     * Sets the value of the frequency property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setFrequency(Integer value) {
+        this.frequency = value;
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="size" type="{http://www.w3.org/2001/XMLSchema}string" default="80%" />
+     *       &lt;attribute name="alert" type="{http://www.w3.org/2001/XMLSchema}string" default="70%" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Memorylimit {
+
+        @XmlAttribute(name = "size")
+        protected String size;
+        @XmlAttribute(name = "alert")
+        protected String alert;
+
+        /**
+         * Gets the value of the size property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getSize() {
+            if (size == null) {
+                return "80%";
+            } else {
+                return size;
+            }
+        }
+
+        /**
+         * Sets the value of the size property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setSize(String value) {
+            this.size = value;
+        }
+
+        /**
+         * Gets the value of the alert property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getAlert() {
+            if (alert == null) {
+                return "70%";
+            } else {
+                return alert;
+            }
+        }
+
+        /**
+         * Sets the value of the alert property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setAlert(String value) {
+            this.alert = value;
+        }
+
+    }
+
+}
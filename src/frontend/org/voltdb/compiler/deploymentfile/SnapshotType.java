@@ -0,0 +1,162 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for snapshotType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="snapshotType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;attribute name="frequency" type="{http://www.w3.org/2001/XMLSchema}string" default="24h" />
+ *       &lt;attribute name="retain" type="{}snapshotRetainType" default="2" />
+ *       &lt;attribute name="prefix" type="{http://www.w3.org/2001/XMLSchema}string" default="AUTOSNAP" />
+ *       &lt;attribute name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean" default="true" />
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "snapshotType")
+public class SnapshotType {
+
+    @XmlAttribute(name = "frequency")
+    protected String frequency;
+    @XmlAttribute(name = "retain")
+    protected Integer retain;
+    @XmlAttribute(name = "prefix")
+    protected String prefix;
+    @XmlAttribute(name = "enabled")
+    protected Boolean enabled;
+
+    /**
+     * Gets the value of the frequency property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getFrequency() {
+        if (frequency == null) {
+            return "24h";
+        } else {
+            return frequency;
+        }
+    }
+
+    /**
+     * Sets the value of the frequency property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setFrequency(String value) {
+        this.frequency = value;
+    }
+
+    /**
+     * Gets the value of the retain property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public int getRetain() {
+        if (retain == null) {
+            return  2;
+        } else {
+            return retain;
+        }
+    }
+
+    /**
+     * Sets the value of the retain property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setRetain(Integer value) {
+        this.retain = value;
+    }
+
+    /**
+     * Gets the value of the prefix property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getPrefix() {
+        if (prefix == null) {
+            return "AUTOSNAP";
+        } else {
+            return prefix;
+        }
+    }
+
+    /**
+     * Sets the value of the prefix property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setPrefix(String value) {
+        this.prefix = value;
+    }
+
+    /**
+     * Gets the value of the enabled property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isEnabled() {
+        if (enabled == null) {
+            return true;
+        } else {
+            return enabled;
+        }
+    }
+
+    /**
+     * Sets the value of the enabled property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setEnabled(Boolean value) {
+        this.enabled = value;
+    }
+
+}
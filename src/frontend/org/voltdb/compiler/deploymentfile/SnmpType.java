@@ -0,0 +1,278 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for snmpType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="snmpType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;attribute name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean" default="true" />
+ *       &lt;attribute name="target" type="{http://www.w3.org/2001/XMLSchema}string" />
+ *       &lt;attribute name="community" type="{http://www.w3.org/2001/XMLSchema}string" default="public" />
+ *       &lt;attribute name="username" type="{http://www.w3.org/2001/XMLSchema}string" />
+ *       &lt;attribute name="authprotocol" type="{http://www.w3.org/2001/XMLSchema}string" default="SHA" />
+ *       &lt;attribute name="authkey" type="{http://www.w3.org/2001/XMLSchema}string" default="voltdbauthkey" />
+ *       &lt;attribute name="privacyprotocol" type="{http://www.w3.org/2001/XMLSchema}string" default="AES" />
+ *       &lt;attribute name="privacykey" type="{http://www.w3.org/2001/XMLSchema}string" default="voltdbprivacykey" />
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "snmpType")
+public class SnmpType {
+
+    @XmlAttribute(name = "enabled")
+    protected Boolean enabled;
+    @XmlAttribute(name = "target")
+    protected String target;
+    @XmlAttribute(name = "community")
+    protected String community;
+    @XmlAttribute(name = "username")
+    protected String username;
+    @XmlAttribute(name = "authprotocol")
+    protected String authprotocol;
+    @XmlAttribute(name = "authkey")
+    protected String authkey;
+    @XmlAttribute(name = "privacyprotocol")
+    protected String privacyprotocol;
+    @XmlAttribute(name = "privacykey")
+    protected String privacykey;
+
+    /**
+     * Gets the value of the enabled property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isEnabled() {
+        if (enabled == null) {
+            return true;
+        } else {
+            return enabled;
+        }
+    }
+
+    /**
+     * Sets the value of the enabled property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setEnabled(Boolean value) {
+        this.enabled = value;
+    }
+
+    /**
+     * Gets the value of the target property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Sets the value of the target property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setTarget(String value) {
+        this.target = value;
+    }
+
+    /**
+     * Gets the value of the community property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getCommunity() {
+        if (community == null) {
+            return "public";
+        } else {
+            return community;
+        }
+    }
+
+    /**
+     * Sets the value of the community property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setCommunity(String value) {
+        this.community = value;
+    }
+
+    /**
+     * Gets the value of the username property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the value of the username property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setUsername(String value) {
+        this.username = value;
+    }
+
+    /**
+     * Gets the value of the authprotocol property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getAuthprotocol() {
+        if (authprotocol == null) {
+            return "SHA";
+        } else {
+            return authprotocol;
+        }
+    }
+
+    /**
+     * Sets the value of the authprotocol property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setAuthprotocol(String value) {
+        this.authprotocol = value;
+    }
+
+    /**
+     * Gets the value of the authkey property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getAuthkey() {
+        if (authkey == null) {
+            return "voltdbauthkey";
+        } else {
+            return authkey;
+        }
+    }
+
+    /**
+     * Sets the value of the authkey property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setAuthkey(String value) {
+        this.authkey = value;
+    }
+
+    /**
+     * Gets the value of the privacyprotocol property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getPrivacyprotocol() {
+        if (privacyprotocol == null) {
+            return "AES";
+        } else {
+            return privacyprotocol;
+        }
+    }
+
+    /**
+     * Sets the value of the privacyprotocol property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setPrivacyprotocol(String value) {
+        this.privacyprotocol = value;
+    }
+
+    /**
+     * Gets the value of the privacykey property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getPrivacykey() {
+        if (privacykey == null) {
+            return "voltdbprivacykey";
+        } else {
+            return privacykey;
+        }
+    }
+
+    /**
+     * Sets the value of the privacykey property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setPrivacykey(String value) {
+        this.privacykey = value;
+    }
+
+}
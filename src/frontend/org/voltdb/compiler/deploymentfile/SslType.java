@@ -0,0 +1,219 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for sslType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="sslType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;sequence>
+ *         &lt;element name="keystore" type="{}keyOrTrustStoreType" minOccurs="0"/>
+ *         &lt;element name="truststore" type="{}keyOrTrustStoreType" minOccurs="0"/>
+ *       &lt;/sequence>
+ *       &lt;attribute name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *       &lt;attribute name="external" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *       &lt;attribute name="dr" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *       &lt;attribute name="internal" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "sslType", propOrder = {
+    "keystore",
+    "truststore"
+})
+public class SslType {
+
+    protected KeyOrTrustStoreType keystore;
+    protected KeyOrTrustStoreType truststore;
+    @XmlAttribute(name = "enabled")
+    protected Boolean enabled;
+    @XmlAttribute(name = "external")
+    protected Boolean external;
+    @XmlAttribute(name = "dr")
+    protected Boolean dr;
+    @XmlAttribute(name = "internal")
+    protected Boolean internal;
+
+    /**
+     * Gets the value of the keystore property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link KeyOrTrustStoreType }
+     *     
+     */
+    public KeyOrTrustStoreType getKeystore() {
+        return keystore;
+    }
+
+    /**
+     * Sets the value of the keystore property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link KeyOrTrustStoreType }
+     *     
+     */
+    public void setKeystore(KeyOrTrustStoreType value) {
+        this.keystore = value;
+    }
+
+    /**
+     * Gets the value of the truststore property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link KeyOrTrustStoreType }
+     *     
+     */
+    public KeyOrTrustStoreType getTruststore() {
+        return truststore;
+    }
+
+    /**
+     * Sets the value of the truststore property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link KeyOrTrustStoreType }
+     *     
+     */
+    public void setTruststore(KeyOrTrustStoreType value) {
+        this.truststore = value;
+    }
+
+    /**
+     * Gets the value of the enabled property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isEnabled() {
+        if (enabled == null) {
+            return false;
+        } else {
+            return enabled;
+        }
+    }
+
+    /**
+     * Sets the value of the enabled property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setEnabled(Boolean value) {
+        this.enabled = value;
+    }
+
+    /**
+     * Gets the value of the external property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isExternal() {
+        if (external == null) {
+            return false;
+        } else {
+            return external;
+        }
+    }
+
+    /**
+     * Sets the value of the external property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setExternal(Boolean value) {
+        this.external = value;
+    }
+
+    /**
+     * Gets the value of the dr property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isDr() {
+        if (dr == null) {
+            return false;
+        } else {
+            return dr;
+        }
+    }
+
+    /**
+     * Sets the value of the dr property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setDr(Boolean value) {
+        this.dr = value;
+    }
+
+    /**
+     * Gets the value of the internal property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public boolean isInternal() {
+        if (internal == null) {
+            return false;
+        } else {
+            return internal;
+        }
+    }
+
+    /**
+     * Sets the value of the internal property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setInternal(Boolean value) {
+        this.internal = value;
+    }
+
+}
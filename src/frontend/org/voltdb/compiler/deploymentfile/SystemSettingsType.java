@@ -0,0 +1,787 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.8-b130911.1802 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.19 at 06:23:39 AM UTC 
+//
+
+
+package org.voltdb.compiler.deploymentfile;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for systemSettingsType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="systemSettingsType">
+ *   &lt;complexContent>
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *       &lt;all>
+ *         &lt;element name="temptables" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="maxsize" type="{}memorySizeType" default="100" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="snapshot" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="priority" type="{}snapshotPriorityType" default="6" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="elastic" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="duration" type="{}elasticDurationType" default="50" />
+ *                 &lt;attribute name="throughput" type="{}elasticThroughputType" default="2" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="query" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="timeout" type="{}latencyType" default="10000" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="procedure" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="loginfo" type="{}latencyType" default="10000" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="resourcemonitor" type="{}resourceMonitorType" minOccurs="0"/>
+ *         &lt;element name="mpreadpool" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="minsize" type="{http://www.w3.org/2001/XMLSchema}int" default="1" />
+ *                 &lt;attribute name="maxsize" type="{http://www.w3.org/2001/XMLSchema}int" default="20" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *         &lt;element name="resultcache" minOccurs="0">
+ *           &lt;complexType>
+ *             &lt;complexContent>
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                 &lt;attribute name="maxsize" type="{http://www.w3.org/2001/XMLSchema}int" default="64" />
+ *                 &lt;attribute name="tables" type="{http://www.w3.org/2001/XMLSchema}string" default="" />
+ *               &lt;/restriction>
+ *             &lt;/complexContent>
+ *           &lt;/complexType>
+ *         &lt;/element>
+ *       &lt;/all>
+ *     &lt;/restriction>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "systemSettingsType", propOrder = {
+
+})
+public class SystemSettingsType {
+
+    protected SystemSettingsType.Temptables temptables;
+    protected SystemSettingsType.Snapshot snapshot;
+    protected SystemSettingsType.Elastic elastic;
+    protected SystemSettingsType.Query query;
+    protected SystemSettingsType.Procedure procedure;
+    protected ResourceMonitorType resourcemonitor;
+    protected SystemSettingsType.Mpreadpool mpreadpool;
+    protected SystemSettingsType.Resultcache resultcache;
+
+    /**
+     * Gets the value of the temptables property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Temptables }
+     *     
+     */
+    public SystemSettingsType.Temptables getTemptables() {
+        return temptables;
+    }
+
+    /**
+     * Sets the value of the temptables property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Temptables }
+     *     
+     */
+    public void setTemptables(SystemSettingsType.Temptables value) {
+        this.temptables = value;
+    }
+
+    /**
+     * Gets the value of the snapshot property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Snapshot }
+     *     
+     */
+    public SystemSettingsType.Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets the value of the snapshot property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Snapshot }
+     *     
+     */
+    public void setSnapshot(SystemSettingsType.Snapshot value) {
+        this.snapshot = value;
+    }
+
+    /**
+     * Gets the value of the elastic property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Elastic }
+     *     
+     */
+    public SystemSettingsType.Elastic getElastic() {
+        return elastic;
+    }
+
+    /**
+     * Sets the value of the elastic property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Elastic }
+     *     
+     */
+    public void setElastic(SystemSettingsType.Elastic value) {
+        this.elastic = value;
+    }
+
+    /**
+     * Gets the value of the query property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Query }
+     *     
+     */
+    public SystemSettingsType.Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Sets the value of the query property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Query }
+     *     
+     */
+    public void setQuery(SystemSettingsType.Query value) {
+        this.query = value;
+    }
+
+    /**
+     * Gets the value of the procedure property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Procedure }
+     *     
+     */
+    public SystemSettingsType.Procedure getProcedure() {
+        return procedure;
+    }
+
+    /**
+     * Sets the value of the procedure property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Procedure }
+     *     
+     */
+    public void setProcedure(SystemSettingsType.Procedure value) {
+        this.procedure = value;
+    }
+
+    /**
+     * Gets the value of the resourcemonitor property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link ResourceMonitorType }
+     *     
+     */
+    public ResourceMonitorType getResourcemonitor() {
+        return resourcemonitor;
+    }
+
+    /**
+     * Sets the value of the resourcemonitor property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link ResourceMonitorType }
+     *     
+     */
+    public void setResourcemonitor(ResourceMonitorType value) {
+        this.resourcemonitor = value;
+    }
+
+    /**
+     * Gets the value of the mpreadpool property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Mpreadpool }
+     *     
+     */
+    public SystemSettingsType.Mpreadpool getMpreadpool() {
+        return mpreadpool;
+    }
+
+    /**
+     * Sets the value of the mpreadpool property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Mpreadpool }
+     *     
+     */
+    public void setMpreadpool(SystemSettingsType.Mpreadpool value) {
+        this.mpreadpool = value;
+    }
+
+    /**
+     * Gets the value of the resultcache property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link SystemSettingsType.Resultcache }
+     *     
+     */
+    public SystemSettingsType.Resultcache getResultcache() {
+        return resultcache;
+    }
+
+    /**
+     * Sets the value of the resultcache property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link SystemSettingsType.Resultcache }
+     *     
+     */
+    public void setResultcache(SystemSettingsType.Resultcache value) {
+        this.resultcache = value;
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="duration" type="{}elasticDurationType" default="50" />
+     *       &lt;attribute name="throughput" type="{}elasticThroughputType" default="2" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Elastic {
+
+        @XmlAttribute(name = "duration")
+        protected Integer duration;
+        @XmlAttribute(name = "throughput")
+        protected Integer throughput;
+
+        /**
+         * Gets the value of the duration property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getDuration() {
+            if (duration == null) {
+                return  50;
+            } else {
+                return duration;
+            }
+        }
+
+        /**
+         * Sets the value of the duration property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setDuration(Integer value) {
+            this.duration = value;
+        }
+
+        /**
+         * Gets the value of the throughput property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getThroughput() {
+            if (throughput == null) {
+                return  2;
+            } else {
+                return throughput;
+            }
+        }
+
+        /**
+         * Sets the value of the throughput property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setThroughput(Integer value) {
+            this.throughput = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="minsize" type="{http://www.w3.org/2001/XMLSchema}int" default="1" />
+     *       &lt;attribute name="maxsize" type="{http://www.w3.org/2001/XMLSchema}int" default="20" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Mpreadpool {
+
+        @XmlAttribute(name = "minsize")
+        protected Integer minsize;
+        @XmlAttribute(name = "maxsize")
+        protected Integer maxsize;
+
+        /**
+         * Gets the value of the minsize property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getMinsize() {
+            if (minsize == null) {
+                return  1;
+            } else {
+                return minsize;
+            }
+        }
+
+        /**
+         * Sets the value of the minsize property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setMinsize(Integer value) {
+            this.minsize = value;
+        }
+
+        /**
+         * Gets the value of the maxsize property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getMaxsize() {
+            if (maxsize == null) {
+                return  20;
+            } else {
+                return maxsize;
+            }
+        }
+
+        /**
+         * Sets the value of the maxsize property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setMaxsize(Integer value) {
+            this.maxsize = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="loginfo" type="{}latencyType" default="10000" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Procedure {
+
+        @XmlAttribute(name = "loginfo")
+        protected Integer loginfo;
+
+        /**
+         * Gets the value of the loginfo property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getLoginfo() {
+            if (loginfo == null) {
+                return  10000;
+            } else {
+                return loginfo;
+            }
+        }
+
+        /**
+         * Sets the value of the loginfo property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setLoginfo(Integer value) {
+            this.loginfo = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="timeout" type="{}latencyType" default="10000" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Query {
+
+        @XmlAttribute(name = "timeout")
+        protected Integer timeout;
+
+        /**
+         * Gets the value of the timeout property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getTimeout() {
+            if (timeout == null) {
+                return  10000;
+            } else {
+                return timeout;
+            }
+        }
+
+        /**
+         * Sets the value of the timeout property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setTimeout(Integer value) {
+            this.timeout = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="maxsize" type="{http://www.w3.org/2001/XMLSchema}int" default="64" />
+     *       &lt;attribute name="tables" type="{http://www.w3.org/2001/XMLSchema}string" default="" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Resultcache {
+
+        @XmlAttribute(name = "maxsize")
+        protected Integer maxsize;
+        @XmlAttribute(name = "tables")
+        protected String tables;
+
+        /**
+         * Gets the value of the maxsize property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getMaxsize() {
+            if (maxsize == null) {
+                return  64;
+            } else {
+                return maxsize;
+            }
+        }
+
+        /**
+         * Sets the value of the maxsize property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setMaxsize(Integer value) {
+            this.maxsize = value;
+        }
+
+        /**
+         * Gets the value of the tables property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getTables() {
+            if (tables == null) {
+                return "";
+            } else {
+                return tables;
+            }
+        }
+
+        /**
+         * Sets the value of the tables property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setTables(String value) {
+            this.tables = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="priority" type="{}snapshotPriorityType" default="6" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Snapshot {
+
+        @XmlAttribute(name = "priority")
+        protected Integer priority;
+
+        /**
+         * Gets the value of the priority property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getPriority() {
+            if (priority == null) {
+                return  6;
+            } else {
+                return priority;
+            }
+        }
+
+        /**
+         * Sets the value of the priority property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setPriority(Integer value) {
+            this.priority = value;
+        }
+
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="maxsize" type="{}memorySizeType" default="100" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Temptables {
+
+        @XmlAttribute(name = "maxsize")
+        protected Integer maxsize;
+
+        /**
+         * Gets the value of the maxsize property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Integer }
+         *     
+         */
+        public int getMaxsize() {
+            if (maxsize == null) {
+                return  100;
+            } else {
+                return maxsize;
+            }
+        }
+
+        /**
+         * Sets the value of the maxsize property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Integer }
+         *     
+         */
+        public void setMaxsize(Integer value) {
+            this.maxsize = value;
+        }
+
+    }
+
+}
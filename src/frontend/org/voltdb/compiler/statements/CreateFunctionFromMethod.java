@@ -30,6 +30,7 @@ import org.hsqldb_voltpatches.FunctionSQL;
 import org.hsqldb_voltpatches.VoltXMLElement;
 import org.voltcore.logging.VoltLogger;
 import org.voltcore.utils.CoreUtils;
+import org.voltdb.UserDefinedFunctionManager;
 import org.voltdb.VoltType;
 import org.voltdb.catalog.Database;
 import org.voltdb.compiler.DDLCompiler;
@@ -163,8 +164,13 @@ public class CreateFunctionFromMethod extends StatementProcessor {
             warningMessage.append(methodName);
             warningMessage.append("() method.");
             if (found) {
+                // The array form of the function method is allowed next to it,
+                // the execution engine calls it on a batch of rows at once.
+                if (functionMethod != null && UserDefinedFunctionManager.isBatchFormOf(m, functionMethod)) {
+                    continue;
+                }
                 // if not null, then we've got more than one run method
-                if (functionMethod != null) {
+                if (functionMethod != null && ! UserDefinedFunctionManager.isBatchFormOf(functionMethod, m)) {
                     String msg = "Class " + shortName + " has multiple methods named " + methodName;
                     msg += ". Only a single function method is supported.";
                     throw m_compiler.new VoltCompilerException(msg);
@@ -33,6 +33,11 @@ import org.voltdb.utils.VoltTrace;
 
 public class CompleteTransactionTask extends TransactionTask
 {
+    private static final VoltTrace.TracePoint TRACE_EXEC_COMPLETE_TXN =
+            VoltTrace.TracePoint.beginDuration("execcompletetxn")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition");
+
     final private Mailbox m_initiator;
     final private CompleteTransactionMessage m_completeMsg;
     private boolean m_fragmentNotExecuted = false;
@@ -100,9 +105,10 @@ public class CompleteTransactionTask extends TransactionTask
             }
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPSITE);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.beginDuration("execcompletetxn",
-                                                           "txnId", TxnEgo.txnIdToString(getTxnId()),
-                                                           "partition", Integer.toString(siteConnection.getCorrespondingPartitionId())));
+                traceLog.event(TRACE_EXEC_COMPLETE_TXN)
+                        .value(getTxnId())
+                        .value(siteConnection.getCorrespondingPartitionId())
+                        .log();
             }
 
             if (!m_txnState.isReadOnly()) {
@@ -138,7 +144,7 @@ public class CompleteTransactionTask extends TransactionTask
             }
 
             if (traceLog != null) {
-                traceLog.add(VoltTrace::endDuration);
+                traceLog.event(VoltTrace.END_DURATION).log();
             }
         }
         final CompleteTransactionResponseMessage resp = new CompleteTransactionResponseMessage(m_completeMsg);
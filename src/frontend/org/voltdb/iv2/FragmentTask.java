@@ -27,6 +27,8 @@ import org.voltcore.utils.CoreUtils;
 import org.voltdb.DependencyPair;
 import org.voltdb.ParameterSet;
 import org.voltdb.ProcedureRunner;
+import org.voltdb.ProcedureStatsCollector;
+import org.voltdb.ResultCache;
 import org.voltdb.SiteProcedureConnection;
 import org.voltdb.VoltTable;
 import org.voltdb.VoltTable.ColumnInfo;
@@ -44,7 +46,6 @@ import org.voltdb.planner.ActivePlanRepository;
 import org.voltdb.rejoin.TaskLog;
 import org.voltdb.utils.Encoder;
 import org.voltdb.utils.LogKeys;
-import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.VoltTableUtil;
 import org.voltdb.utils.VoltTrace;
 
@@ -105,8 +106,10 @@ public class FragmentTask extends FragmentTaskBase
     protected void durabilityTraceEnd() {
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.endAsync("durability",
-                                                  MiscUtils.hsIdTxnIdToString(m_initiator.getHSId(), m_fragmentMsg.getSpHandle())));
+            traceLog.event(Iv2Trace.DURABILITY_END)
+                    .value(m_initiator.getHSId())
+                    .value(m_fragmentMsg.getSpHandle())
+                    .log();
         }
     }
 
@@ -119,9 +122,10 @@ public class FragmentTask extends FragmentTaskBase
         }
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPSITE);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.beginDuration("runfragmenttask",
-                                                       "txnId", TxnEgo.txnIdToString(getTxnId()),
-                                                       "partition", Integer.toString(siteConnection.getCorrespondingPartitionId())));
+            traceLog.event(Iv2Trace.RUN_FRAGMENT_TASK)
+                    .value(getTxnId())
+                    .value(siteConnection.getCorrespondingPartitionId())
+                    .log();
         }
 
         // Setup this procedure with the site connection
@@ -163,7 +167,7 @@ public class FragmentTask extends FragmentTaskBase
             hostLog.debug("COMPLETE: " + this);
         }
         if (traceLog != null) {
-            traceLog.add(VoltTrace::endDuration);
+            traceLog.event(VoltTrace.END_DURATION).log();
         }
     }
 
@@ -270,8 +274,10 @@ public class FragmentTask extends FragmentTaskBase
         long[] executionTimes = null;
         int succeededFragmentsCount = 0;
         if (currRunner != null) {
-            currRunner.getExecutionEngine().setPerFragmentTimingEnabled(m_fragmentMsg.isPerFragmentStatsRecording());
-            if (m_fragmentMsg.isPerFragmentStatsRecording()) {
+            final boolean timingFragments = m_fragmentMsg.isPerFragmentStatsRecording()
+                    || ProcedureStatsCollector.STATEMENT_LATENCY_HISTOGRAMS;
+            currRunner.getExecutionEngine().setPerFragmentTimingEnabled(timingFragments);
+            if (timingFragments) {
                 // At this point, we will execute the fragments one by one.
                 executionTimes = new long[1];
             }
@@ -301,6 +307,7 @@ public class FragmentTask extends FragmentTaskBase
              * The entire procedure will roll back successfully on failure
              */
             VoltTable dependency = null;
+            boolean cacheHit = false;
             try {
                 FastDeserializer fragResult;
                 fragmentPlan = m_fragmentMsg.getFragmentPlan(frag);
@@ -320,6 +327,24 @@ public class FragmentTask extends FragmentTaskBase
                     stmtText = ActivePlanRepository.getStmtTextForPlanHash(planHash);
                 }
 
+                // a read without input dependencies may have run with the same parameters before
+                ResultCache resultCache = null;
+                if (m_txnState.isReadOnly() && inputDepId == -1) {
+                    resultCache = siteConnection.getResultCache();
+                }
+                if (resultCache != null && resultCache.isEnabled()) {
+                    byte[] cached = resultCache.get(fragmentId, planHash, params);
+                    if (cached != null) {
+                        cacheHit = true;
+                        currentFragResponse.addDependency(
+                                new DependencyPair.BufferDependencyPair(outputDepId, cached, 0, cached.length));
+                        continue;
+                    }
+                }
+                else {
+                    resultCache = null;
+                }
+
                 // set up the batch context for the fragment set
                 siteConnection.setBatch(m_fragmentMsg.getCurrentBatchIndex());
 
@@ -359,6 +384,9 @@ public class FragmentTask extends FragmentTaskBase
                     hostLog.error("Failed to deserialze result table" + ex);
                     throw new EEException(ExecutionEngine.ERRORCODE_WRONG_SERIALIZED_BYTES);
                 }
+                if (resultCache != null) {
+                    resultCache.put(fullBacking, tableSize);
+                }
 
                 if (hostLog.isTraceEnabled()) {
                     hostLog.l7dlog(Level.TRACE,
@@ -413,21 +441,38 @@ public class FragmentTask extends FragmentTaskBase
                 // Notice that this code path is used to handle multi-partition stored procedures.
                 // The single-partition stored procedure handler is in the ProcedureRunner.
                 if (currRunner != null) {
-                    succeededFragmentsCount = currRunner.getExecutionEngine().extractPerFragmentStats(1, executionTimes);
+                    if (cacheHit) {
+                        // the EE didn't run anything, its counters are from the previous fragment
+                        succeededFragmentsCount = 1;
+                    }
+                    else {
+                        succeededFragmentsCount = currRunner.getExecutionEngine().extractPerFragmentStats(1, executionTimes);
+                    }
 
+                    // A cache hit has no execution time to sample, it would only drag the
+                    // timings towards zero. Hits are counted by the result cache statistics.
+                    final boolean sampledStmt = m_fragmentMsg.isPerFragmentStatsRecording() && !cacheHit;
                     long stmtDuration = 0;
                     int stmtResultSize = 0;
                     int stmtParameterSetSize = 0;
-                    if (m_fragmentMsg.isPerFragmentStatsRecording()) {
+                    if (sampledStmt) {
                         stmtDuration = executionTimes == null ? 0 : executionTimes[0];
                         stmtResultSize = dependency == null ? 0 : dependency.getSerializedSize();
                         stmtParameterSetSize = params == null ? 0 : params.getSerializedSize();
                     }
 
+                    // Each partition's run of a statement is one sample, like a single partition
+                    // statement. The coordinator's aggregation would be a second sample of the same
+                    // statement execution, so it is left out.
+                    if (ProcedureStatsCollector.STATEMENT_LATENCY_HISTOGRAMS && !m_fragmentMsg.isCoordinatorTask()
+                            && !cacheHit && executionTimes != null && succeededFragmentsCount == 1) {
+                        currRunner.getStatsCollector().recordStatementLatency(m_fragmentMsg.getStmtName(frag),
+                                                                              executionTimes[0]);
+                    }
                     currRunner.getStatsCollector().endFragment(m_fragmentMsg.getStmtName(frag),
                                                                m_fragmentMsg.isCoordinatorTask(),
                                                                succeededFragmentsCount == 0,
-                                                               m_fragmentMsg.isPerFragmentStatsRecording(),
+                                                               sampledStmt,
                                                                stmtDuration,
                                                                stmtResultSize,
                                                                stmtParameterSetSize);
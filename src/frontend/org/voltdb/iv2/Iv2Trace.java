@@ -33,6 +33,8 @@ import org.voltdb.messaging.FragmentTaskMessage;
 import org.voltdb.messaging.InitiateResponseMessage;
 import org.voltdb.messaging.Iv2InitiateTaskMessage;
 import org.voltdb.messaging.MultiPartitionParticipantMessage;
+import org.voltdb.utils.MiscUtils;
+import org.voltdb.utils.VoltTrace;
 
 public class Iv2Trace
 {
@@ -45,6 +47,24 @@ public class Iv2Trace
         IV2_QUEUE_TRACE_ENABLED = iv2queuelog.isTraceEnabled();
     }
 
+    // VoltTrace async ids, see MiscUtils.hsIdTxnIdToString() and hsIdPairTxnIdToString()
+    static final VoltTrace.IdFormat HSID_TXNID = v -> MiscUtils.hsIdTxnIdToString(v[0], v[1]);
+    static final VoltTrace.IdFormat HSID_PAIR_TXNID = v -> MiscUtils.hsIdPairTxnIdToString(v[0], v[1], v[2], v[3]);
+
+    // VoltTrace points logged from more than one class
+    static final VoltTrace.TracePoint DURABILITY_BEGIN =
+            VoltTrace.TracePoint.beginAsync("durability")
+                                .id(2, HSID_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition");
+    static final VoltTrace.TracePoint DURABILITY_END =
+            VoltTrace.TracePoint.endAsync("durability").id(2, HSID_TXNID);
+    static final VoltTrace.TracePoint RUN_FRAGMENT_TASK =
+            VoltTrace.TracePoint.beginDuration("runfragmenttask")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition")
+                                .arg("fragmentId");
+
     public static void logTopology(long leaderHSId, List<Long> replicas, int partitionId)
     {
         if (IV2_TRACE_ENABLED) {
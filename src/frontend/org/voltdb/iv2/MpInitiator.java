@@ -35,6 +35,7 @@ import org.voltdb.ProducerDRGateway;
 import org.voltdb.Promotable;
 import org.voltdb.StartAction;
 import org.voltdb.StatsAgent;
+import org.voltdb.StatsSelector;
 import org.voltdb.TTLManager;
 import org.voltdb.VoltDB;
 import org.voltdb.VoltZK;
@@ -94,6 +95,9 @@ public class MpInitiator extends BaseInitiator implements Promotable
                 m_partitionId,
                 m_initiatorMailbox);
         sched.setMpRoSitePool(sitePool);
+        if (agent != null) {
+            agent.registerStatsSource(StatsSelector.MPREADPOOL, getInitiatorHSId(), sitePool.getStats());
+        }
 
         // add ourselves to the ephemeral node list which BabySitters will watch for this
         // partition
@@ -22,9 +22,10 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.FutureTask;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.voltcore.logging.VoltLogger;
+import org.voltcore.messaging.HandoffQueue;
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
 import org.voltcore.messaging.HostMessenger;
 import org.voltcore.messaging.VoltMessage;
 import org.voltdb.messaging.CompleteTransactionMessage;
@@ -42,7 +43,8 @@ public class MpInitiatorMailbox extends InitiatorMailbox
     VoltLogger hostLog = new VoltLogger("HOST");
     VoltLogger tmLog = new VoltLogger("TM");
 
-    private final LinkedBlockingQueue<Runnable> m_taskQueue = new LinkedBlockingQueue<Runnable>();
+    // Each queue is drained by its own thread, the deliver thread waits as the MPI's site does
+    private final HandoffQueue<Runnable> m_taskQueue = new HandoffQueue<Runnable>(SiteTaskerQueue.MPI_WAIT_STRATEGY);
     @SuppressWarnings("serial")
     private static class TerminateThreadException extends RuntimeException {};
     private long m_taskThreadId = 0;
@@ -65,7 +67,7 @@ public class MpInitiatorMailbox extends InitiatorMailbox
                     },
                     "MpInitiator deliver", 1024 * 128);
 
-    private final LinkedBlockingQueue<Runnable> m_sendQueue = new LinkedBlockingQueue<Runnable>();
+    private final HandoffQueue<Runnable> m_sendQueue = new HandoffQueue<Runnable>(WaitStrategy.BLOCK);
     private final Thread m_sendThread = new Thread(null,
                     new Runnable() {
                         @Override
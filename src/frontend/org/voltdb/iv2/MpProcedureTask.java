@@ -48,6 +48,13 @@ import com.google_voltpatches.common.collect.Maps;
  */
 public class MpProcedureTask extends ProcedureTask
 {
+    private static final VoltTrace.TracePoint TRACE_MP_INIT_TASK =
+            VoltTrace.TracePoint.beginDuration("mpinittask").arg("txnId", TxnEgo::txnIdToString);
+    private static final VoltTrace.TracePoint TRACE_SEND_COMPLETE =
+            VoltTrace.TracePoint.instant("sendcomplete")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .flag("commit")
+                                .arg("destCount");
     final List<Long> m_initiatorHSIds = new ArrayList<Long>();
     // Need to store the new masters list so that we can update the list of masters
     // when we requeue this Task to for restart
@@ -107,13 +114,12 @@ public class MpProcedureTask extends ProcedureTask
     @Override
     public void run(SiteProcedureConnection siteConnection)
     {
-        final String threadName = Thread.currentThread().getName(); // Thread name has to be materialized here
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.MPSITE);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.meta("thread_name", "name", threadName))
-                    .add(() -> VoltTrace.meta("thread_sort_index", "sort_index", Integer.toString(1000)))
-                    .add(() -> VoltTrace.beginDuration("mpinittask",
-                                                       "txnId", TxnEgo.txnIdToString(getTxnId())));
+            traceLog.setThreadSortIndex(1000)
+                    .event(TRACE_MP_INIT_TASK)
+                    .value(getTxnId())
+                    .log();
         }
 
         // Cast up. Could avoid ugliness with Iv2TransactionClass baseclass
@@ -233,7 +239,7 @@ public class MpProcedureTask extends ProcedureTask
         }
 
         if (traceLog != null) {
-            traceLog.add(VoltTrace::endDuration);
+            traceLog.event(VoltTrace.END_DURATION).log();
         }
     }
 
@@ -254,10 +260,11 @@ public class MpProcedureTask extends ProcedureTask
     void completeInitiateTask(SiteProcedureConnection siteConnection) {
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.MPSITE);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.instant("sendcomplete",
-                                                 "txnId", TxnEgo.txnIdToString(getTxnId()),
-                                                 "commit", Boolean.toString(!m_txnState.needsRollback()),
-                                                 "dest", CoreUtils.hsIdCollectionToString(m_initiatorHSIds)));
+            traceLog.event(TRACE_SEND_COMPLETE)
+                    .value(getTxnId())
+                    .value(!m_txnState.needsRollback())
+                    .value(m_initiatorHSIds.size())
+                    .log();
         }
         MpTransactionState txnState = (MpTransactionState)m_txnState;
         // Only send completions for MP transactions that have processed at least one fragment
@@ -39,6 +39,7 @@ import org.voltdb.PartitionDRGateway;
 import org.voltdb.PostGISBackend;
 import org.voltdb.PostgreSQLBackend;
 import org.voltdb.ProcedureRunner;
+import org.voltdb.ResultCache;
 import org.voltdb.SiteProcedureConnection;
 import org.voltdb.SiteSnapshotConnection;
 import org.voltdb.StatsSelector;
@@ -619,6 +620,11 @@ public class MpRoSite implements Runnable, SiteProcedureConnection
         return false;
     }
 
+    @Override
+    public ResultCache getResultCache() {
+        return null;
+    }
+
     @Override
     public ProcedureRunner getProcedureRunner(String procedureName) {
         return m_loadedProcedures.getProcByName(procedureName);
@@ -22,34 +22,44 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadFactory;
+
 import org.voltcore.logging.VoltLogger;
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
 import org.voltcore.utils.CoreUtils;
 import org.voltdb.BackendTarget;
 import org.voltdb.CatalogContext;
 import org.voltdb.LoadedProcedureSet;
 import org.voltdb.StarvationTracker;
+import org.voltdb.compiler.deploymentfile.DeploymentType;
+import org.voltdb.compiler.deploymentfile.SystemSettingsType;
 
 /**
  * Provide a pool of MP Read-only sites to do MP RO work.
  * This should be owned by the MpTransactionTaskQueue and expects all operations
  * to be done while holding its lock.
+ *
+ * The number of sites that may be busy at once adapts to the load between the
+ * bounds set by {@code <mpreadpool minsize="..." maxsize="..."/>} in the system
+ * settings of the deployment, see {@link MpRoSitePoolSizer}. The bounds change
+ * with the deployment. Idle sites pick up a new catalog only when they are
+ * handed work.
  */
 class MpRoSitePool {
     final static VoltLogger tmLog = new VoltLogger("TM");
 
+    static int DEFAULT_MIN_POOL_SIZE = 1;
     static int DEFAULT_MAX_POOL_SIZE = 20;
-    static int INITIAL_POOL_SIZE = 1;
 
     class MpRoSiteContext {
         final private SiteTaskerQueue m_queue;
         final private MpRoSite m_site;
-        final private CatalogContext m_catalogContext;
+        private CatalogContext m_catalogContext;
         final private LoadedProcedureSet m_loadedProcedures;
         final private Thread m_siteThread;
+        private long m_startNanos;
 
         MpRoSiteContext(long siteId, BackendTarget backend,
                 CatalogContext context, int partitionId,
@@ -57,7 +67,8 @@ class MpRoSitePool {
                 ThreadFactory threadFactory)
         {
             m_catalogContext = context;
-            m_queue = new SiteTaskerQueue(partitionId);
+            // Pool sites sit idle most of the time, never let them spin
+            m_queue = new SiteTaskerQueue(partitionId, WaitStrategy.BLOCK);
             // IZZY: Just need something non-null for now
             m_queue.setStarvationTracker(new StarvationTracker(siteId));
             m_queue.setupQueueDepthTracker(siteId);
@@ -73,6 +84,25 @@ class MpRoSitePool {
             return m_queue.offer(task);
         }
 
+        boolean isCurrent(CatalogContext context) {
+            return getCatalogCRC() == context.getCatalogCRC()
+                    && getCatalogVersion() == context.catalogVersion;
+        }
+
+        /**
+         * Have the site load the given catalog before it runs anything else.
+         */
+        void updateCatalog(final CatalogContext context) {
+            m_catalogContext = context;
+            m_queue.offer(new SiteTasker.SiteTaskerRunnable() {
+                @Override
+                void run() {
+                    m_site.m_context = context;
+                    m_loadedProcedures.loadProcedures(context);
+                }
+            });
+        }
+
         long getCatalogCRC() {
             return m_catalogContext.getCatalogCRC();
         }
@@ -110,7 +140,8 @@ class MpRoSitePool {
     private final InitiatorMailbox m_initiatorMailbox;
     private CatalogContext m_catalogContext;
     private ThreadFactory m_poolThreadFactory;
-    private final int m_poolSize;
+    private final MpRoSitePoolSizer m_sizer;
+    private final MpRoSitePoolStats m_stats;
     private volatile boolean m_shuttingDown = false;
 
     MpRoSitePool(
@@ -129,15 +160,13 @@ class MpRoSitePool {
             CoreUtils.getThreadFactory("RO MP Site - " + CoreUtils.hsIdToString(m_siteId),
                     CoreUtils.MEDIUM_STACK_SIZE);
 
-        Integer poolSize = Integer.getInteger("mpiReadPoolSize");
-        if (poolSize == null) {
-            poolSize = DEFAULT_MAX_POOL_SIZE;
-        }
-        m_poolSize = poolSize;
-        tmLog.info("Setting maximum size of MPI read pool to: " + m_poolSize);
+        int[] bounds = getPoolBounds(context);
+        m_sizer = new MpRoSitePoolSizer(bounds[0], bounds[1], System.nanoTime());
+        m_stats = new MpRoSitePoolStats(m_sizer);
+        tmLog.info("Setting size of MPI read pool to between " + bounds[0] + " and " + bounds[1] + " sites");
 
         // Construct the initial pool
-        for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
+        for (int i = 0; i < bounds[0]; i++) {
             MpRoSiteContext site = new MpRoSiteContext(m_siteId,
                     m_backend,
                     m_catalogContext,
@@ -147,10 +176,40 @@ class MpRoSitePool {
             m_idleSites.push(site);
             m_allSites.add(site);
         }
+        m_sizer.sitesChanged(siteCount(), System.nanoTime());
+    }
+
+    /**
+     * The minimum and maximum size of the pool. The mpiReadPoolSize system property
+     * still overrides the maximum.
+     */
+    static int[] getPoolBounds(CatalogContext context)
+    {
+        int minSize = DEFAULT_MIN_POOL_SIZE;
+        int maxSize = DEFAULT_MAX_POOL_SIZE;
+        DeploymentType deployment = context.getDeployment();
+        SystemSettingsType settings = deployment == null ? null : deployment.getSystemsettings();
+        if (settings != null && settings.getMpreadpool() != null) {
+            minSize = settings.getMpreadpool().getMinsize();
+            maxSize = settings.getMpreadpool().getMaxsize();
+        }
+        maxSize = Math.max(1, Integer.getInteger("mpiReadPoolSize", maxSize));
+        minSize = Math.max(1, Math.min(minSize, maxSize));
+        return new int[] { minSize, maxSize };
+    }
+
+    MpRoSitePoolStats getStats()
+    {
+        return m_stats;
+    }
+
+    private int siteCount()
+    {
+        return m_idleSites.size() + m_busySites.size();
     }
 
     /**
-     * Update the catalog
+     * Update the catalog. The sites load it when they are next handed work.
      */
     void updateCatalog(String diffCmds, CatalogContext context)
     {
@@ -158,20 +217,7 @@ class MpRoSitePool {
             return;
         }
 
-        m_catalogContext = context;
-        // Wipe out all the idle sites with stale catalogs.
-        // Non-idle sites will get killed and replaced when they finish
-        // whatever they started before the catalog update
-        Iterator<MpRoSiteContext> siterator = m_idleSites.iterator();
-        while (siterator.hasNext()) {
-            MpRoSiteContext site = siterator.next();
-            if (site.getCatalogCRC() != m_catalogContext.getCatalogCRC()
-                    || site.getCatalogVersion() != m_catalogContext.catalogVersion) {
-                site.shutdown();
-                m_idleSites.remove(site);
-                m_allSites.remove(site);
-            }
-        }
+        updateSettings(context);
     }
 
     /**
@@ -180,6 +226,38 @@ class MpRoSitePool {
     void updateSettings(CatalogContext context)
     {
         m_catalogContext = context;
+        int[] bounds = getPoolBounds(context);
+        if (bounds[0] != m_sizer.getMinSize() || bounds[1] != m_sizer.getMaxSize()) {
+            tmLog.info("Setting size of MPI read pool to between " + bounds[0] + " and " + bounds[1] + " sites");
+            m_sizer.configure(bounds[0], bounds[1]);
+            stopIdleSites();
+        }
+    }
+
+    /**
+     * Periodically let the pool shrink once its sites have been idle for a while.
+     */
+    void adjust()
+    {
+        if (m_shuttingDown) {
+            return;
+        }
+        if (m_sizer.adjust(System.nanoTime())) {
+            stopIdleSites();
+        }
+    }
+
+    /**
+     * Stop the least recently used idle sites until the pool is within its limit.
+     */
+    private void stopIdleSites()
+    {
+        while (!m_idleSites.isEmpty() && siteCount() > m_sizer.getLimit()) {
+            MpRoSiteContext site = m_idleSites.pollLast();
+            site.shutdown();
+            m_allSites.remove(site);
+        }
+        m_sizer.sitesChanged(siteCount(), System.nanoTime());
     }
 
     /**
@@ -208,7 +286,29 @@ class MpRoSitePool {
         if (m_shuttingDown) {
             return false;
         }
-        return (!m_idleSites.isEmpty() || m_busySites.size() < m_poolSize);
+        return m_busySites.size() < m_sizer.getLimit();
+    }
+
+    /**
+     * Work is waiting because {@link #canAcceptWork()} said no.
+     * @param newWait true the first time this work is reported waiting
+     * @param waiting how much work is waiting, at least 1
+     * @return true if the pool made room for more work
+     */
+    boolean workWaiting(boolean newWait, int waiting)
+    {
+        if (m_shuttingDown) {
+            return false;
+        }
+        return m_sizer.workWaiting(newWait, waiting, System.nanoTime());
+    }
+
+    /**
+     * @return how many sites the pool may still grow by
+     */
+    int getGrowthRoom()
+    {
+        return Math.max(0, m_sizer.getMaxSize() - m_sizer.getLimit());
     }
 
     /**
@@ -217,16 +317,18 @@ class MpRoSitePool {
      */
     boolean doWork(long txnId, TransactionTask task)
     {
-        boolean retval = canAcceptWork();
-        if (!retval) {
-            return false;
-        }
         MpRoSiteContext site;
-        // Repair case
+        // Repair case, the transaction keeps its site even if the pool is at its limit
         if (m_busySites.containsKey(txnId)) {
+            if (m_shuttingDown) {
+                return false;
+            }
             site = m_busySites.get(txnId);
         }
         else {
+            if (!canAcceptWork()) {
+                return false;
+            }
             if (m_idleSites.isEmpty()) {
                 MpRoSiteContext newSite = new MpRoSiteContext(m_siteId,
                         m_backend,
@@ -238,7 +340,12 @@ class MpRoSitePool {
                 m_allSites.add(newSite);
             }
             site = m_idleSites.pop();
+            if (!site.isCurrent(m_catalogContext)) {
+                site.updateCatalog(m_catalogContext);
+            }
             m_busySites.put(txnId, site);
+            site.m_startNanos = System.nanoTime();
+            m_sizer.workStarted(m_busySites.size(), siteCount(), site.m_startNanos);
         }
         site.offer(task);
         return true;
@@ -257,17 +364,16 @@ class MpRoSitePool {
         if (site == null) {
             throw new RuntimeException("No busy site for txnID: " + txnId + " found, shouldn't happen.");
         }
-        // check the catalog versions, only push back onto idle if the catalog hasn't changed
-        // otherwise, just let it get garbage collected and let doWork() construct new ones for the
-        // pool with the updated catalog.
-        if (site.getCatalogCRC() == m_catalogContext.getCatalogCRC()
-                && site.getCatalogVersion() == m_catalogContext.catalogVersion) {
+        // A site with a stale catalog goes back to idle too, doWork() updates it if it's used again
+        if (siteCount() < m_sizer.getLimit()) {
             m_idleSites.push(site);
         }
         else {
             site.shutdown();
             m_allSites.remove(site);
         }
+        long now = System.nanoTime();
+        m_sizer.workCompleted(now - site.m_startNanos, m_busySites.size(), siteCount(), now);
     }
 
     void shutdown()
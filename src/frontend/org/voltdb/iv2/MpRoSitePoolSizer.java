@@ -0,0 +1,230 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.iv2;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how many sites the MP read-only pool may keep busy at once, and keeps
+ * the counters reported by @Statistics MPREADPOOL.
+ *
+ * The limit starts at the minimum size of the pool. When work waits for a site
+ * while every allowed site is busy, it grows by as many sites as there is work
+ * waiting, at most once every mpiReadPoolGrowIntervalMs. The queue retries the
+ * growth at every periodic adjustment while work is still waiting. It only grows while the average time work spends
+ * in the pool hasn't risen more than LATENCY_GROWTH_FACTOR above what it was at
+ * the previous growth: past that point the partitions, not the pool, are what
+ * the work waits on. The baseline is refreshed at every adjustment, so a pool
+ * that stopped growing probes again once a period.
+ *
+ * {@link #adjust} is called periodically. When the most sites busy at once over
+ * the last mpiReadPoolShrinkAfterMs stayed below the limit, the limit drops to
+ * that peak, never below the minimum, and the pool stops the idle sites beyond it.
+ *
+ * Called with the MpTransactionTaskQueue lock held and from the stats thread.
+ */
+class MpRoSitePoolSizer {
+
+    static final long GROW_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("mpiReadPoolGrowIntervalMs", 10));
+    static final long SHRINK_AFTER_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("mpiReadPoolShrinkAfterMs", 10000));
+    static final double LATENCY_GROWTH_FACTOR = 1.5;
+    // Weight of the newest sample in the moving average of the latency
+    private static final double LATENCY_ALPHA = 0.125;
+
+    static class Counters {
+        long m_work = 0;
+        long m_latencyNanos = 0;
+        // work that waited for a site, counted once however long it waited
+        long m_waits = 0;
+        long m_grows = 0;
+        long m_shrinks = 0;
+        // integrals over time of the busy and of the running sites
+        long m_busyNanos = 0;
+        long m_siteNanos = 0;
+        int m_maxBusy = 0;
+    }
+
+    private int m_minSize;
+    private int m_maxSize;
+    private int m_limit;
+
+    private int m_busy = 0;
+    private int m_sites = 0;
+    private long m_lastChange;
+
+    private double m_latency = 0;
+    private double m_latencyAtGrowth = 0;
+    private long m_lastGrowth;
+    private boolean m_grown = false;
+
+    private int m_windowPeak = 0;
+    private long m_windowStart;
+
+    private final Counters m_total = new Counters();
+    private Counters m_interval = new Counters();
+
+    MpRoSitePoolSizer(int minSize, int maxSize, long now) {
+        m_minSize = minSize;
+        m_maxSize = maxSize;
+        m_limit = minSize;
+        m_lastChange = now;
+        m_windowStart = now;
+    }
+
+    /**
+     * Take new bounds, the limit is moved inside them.
+     */
+    synchronized void configure(int minSize, int maxSize) {
+        m_minSize = minSize;
+        m_maxSize = maxSize;
+        m_limit = Math.max(minSize, Math.min(maxSize, m_limit));
+    }
+
+    synchronized int getMinSize() {
+        return m_minSize;
+    }
+
+    synchronized int getMaxSize() {
+        return m_maxSize;
+    }
+
+    synchronized int getLimit() {
+        return m_limit;
+    }
+
+    private void advance(long now) {
+        long elapsed = now - m_lastChange;
+        if (elapsed > 0) {
+            for (Counters c : new Counters[] { m_total, m_interval }) {
+                c.m_busyNanos += elapsed * m_busy;
+                c.m_siteNanos += elapsed * m_sites;
+            }
+            m_lastChange = now;
+        }
+    }
+
+    synchronized void workStarted(int busy, int sites, long now) {
+        advance(now);
+        m_busy = busy;
+        m_sites = sites;
+        m_windowPeak = Math.max(m_windowPeak, busy);
+        m_total.m_maxBusy = Math.max(m_total.m_maxBusy, busy);
+        m_interval.m_maxBusy = Math.max(m_interval.m_maxBusy, busy);
+    }
+
+    synchronized void workCompleted(long latencyNanos, int busy, int sites, long now) {
+        advance(now);
+        m_busy = busy;
+        m_sites = sites;
+        for (Counters c : new Counters[] { m_total, m_interval }) {
+            c.m_work++;
+            c.m_latencyNanos += latencyNanos;
+        }
+        m_latency = m_latency == 0 ? latencyNanos : m_latency + LATENCY_ALPHA * (latencyNanos - m_latency);
+    }
+
+    synchronized void sitesChanged(int sites, long now) {
+        advance(now);
+        m_sites = sites;
+    }
+
+    /**
+     * Work is waiting for a site.
+     * @param newWait true the first time this work is reported waiting
+     * @param waiting how much work is waiting, at least 1
+     * @return true if the limit was raised to make room for it
+     */
+    synchronized boolean workWaiting(boolean newWait, int waiting, long now) {
+        if (newWait) {
+            m_total.m_waits++;
+            m_interval.m_waits++;
+        }
+        if (m_busy < m_limit || m_limit >= m_maxSize) {
+            return false;
+        }
+        if (m_grown && now - m_lastGrowth < GROW_INTERVAL_NANOS) {
+            return false;
+        }
+        if (m_latencyAtGrowth > 0 && m_latency > m_latencyAtGrowth * LATENCY_GROWTH_FACTOR) {
+            return false;
+        }
+        m_limit = Math.min(m_maxSize, m_limit + Math.max(1, waiting));
+        m_latencyAtGrowth = m_latency;
+        m_lastGrowth = now;
+        m_grown = true;
+        m_total.m_grows++;
+        m_interval.m_grows++;
+        return true;
+    }
+
+    /**
+     * Periodic adjustment.
+     * @return true if the limit was lowered and idle sites should be stopped
+     */
+    synchronized boolean adjust(long now) {
+        advance(now);
+        m_latencyAtGrowth = m_latency;
+        m_windowPeak = Math.max(m_windowPeak, m_busy);
+        if (now - m_windowStart < SHRINK_AFTER_NANOS) {
+            return m_sites > m_limit;
+        }
+        int target = Math.max(m_minSize, m_windowPeak);
+        boolean shrunk = false;
+        if (target < m_limit) {
+            m_limit = target;
+            m_total.m_shrinks++;
+            m_interval.m_shrinks++;
+            shrunk = true;
+        }
+        m_windowPeak = m_busy;
+        m_windowStart = now;
+        return shrunk || m_sites > m_limit;
+    }
+
+    synchronized int getBusy() {
+        return m_busy;
+    }
+
+    synchronized int getSites() {
+        return m_sites;
+    }
+
+    /**
+     * @return the counters since startup, or since the last interval poll
+     */
+    synchronized Counters getCounters(boolean interval, long now) {
+        advance(now);
+        Counters c = interval ? m_interval : m_total;
+        Counters copy = new Counters();
+        copy.m_work = c.m_work;
+        copy.m_latencyNanos = c.m_latencyNanos;
+        copy.m_waits = c.m_waits;
+        copy.m_grows = c.m_grows;
+        copy.m_shrinks = c.m_shrinks;
+        copy.m_busyNanos = c.m_busyNanos;
+        copy.m_siteNanos = c.m_siteNanos;
+        copy.m_maxBusy = c.m_maxBusy;
+        if (interval) {
+            m_interval = new Counters();
+            m_interval.m_maxBusy = m_busy;
+        }
+        return copy;
+    }
+}
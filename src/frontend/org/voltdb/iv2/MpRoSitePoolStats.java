@@ -0,0 +1,85 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.iv2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.voltdb.StatsSource;
+import org.voltdb.VoltTable.ColumnInfo;
+import org.voltdb.VoltType;
+
+/**
+ * Size and utilization of the MPI's pool of read-only sites. UTILIZATION is the
+ * time-weighted share of the running sites that were busy, WAITS counts the
+ * reads that found every allowed site busy.
+ */
+public class MpRoSitePoolStats extends StatsSource {
+
+    private final MpRoSitePoolSizer m_sizer;
+    private boolean m_interval = false;
+
+    MpRoSitePoolStats(MpRoSitePoolSizer sizer) {
+        super(false);
+        m_sizer = sizer;
+    }
+
+    @Override
+    protected Iterator<Object> getStatsRowKeyIterator(boolean interval) {
+        m_interval = interval;
+        return Collections.<Object>singletonList(m_sizer).iterator();
+    }
+
+    @Override
+    protected void populateColumnSchema(ArrayList<ColumnInfo> columns) {
+        super.populateColumnSchema(columns);
+        columns.add(new ColumnInfo("MIN_SITES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("MAX_SITES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("SITE_LIMIT", VoltType.INTEGER));
+        columns.add(new ColumnInfo("SITES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("BUSY_SITES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("MAX_BUSY_SITES", VoltType.INTEGER));
+        columns.add(new ColumnInfo("UTILIZATION", VoltType.FLOAT));
+        columns.add(new ColumnInfo("TRANSACTIONS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("AVG_LATENCY", VoltType.BIGINT));
+        columns.add(new ColumnInfo("WAITS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("GROWS", VoltType.BIGINT));
+        columns.add(new ColumnInfo("SHRINKS", VoltType.BIGINT));
+    }
+
+    @Override
+    protected void updateStatsRow(Object rowKey, Object[] rowValues) {
+        MpRoSitePoolSizer.Counters c = m_sizer.getCounters(m_interval, System.nanoTime());
+        rowValues[columnNameToIndex.get("MIN_SITES")] = m_sizer.getMinSize();
+        rowValues[columnNameToIndex.get("MAX_SITES")] = m_sizer.getMaxSize();
+        rowValues[columnNameToIndex.get("SITE_LIMIT")] = m_sizer.getLimit();
+        rowValues[columnNameToIndex.get("SITES")] = m_sizer.getSites();
+        rowValues[columnNameToIndex.get("BUSY_SITES")] = m_sizer.getBusy();
+        rowValues[columnNameToIndex.get("MAX_BUSY_SITES")] = c.m_maxBusy;
+        rowValues[columnNameToIndex.get("UTILIZATION")] =
+                c.m_siteNanos > 0 ? (double) c.m_busyNanos / c.m_siteNanos : 0.0;
+        rowValues[columnNameToIndex.get("TRANSACTIONS")] = c.m_work;
+        // in microseconds
+        rowValues[columnNameToIndex.get("AVG_LATENCY")] = c.m_work > 0 ? c.m_latencyNanos / c.m_work / 1000 : 0L;
+        rowValues[columnNameToIndex.get("WAITS")] = c.m_waits;
+        rowValues[columnNameToIndex.get("GROWS")] = c.m_grows;
+        rowValues[columnNameToIndex.get("SHRINKS")] = c.m_shrinks;
+        super.updateStatsRow(rowKey, rowValues);
+    }
+}
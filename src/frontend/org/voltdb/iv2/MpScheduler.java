@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.json_voltpatches.JSONException;
 import org.json_voltpatches.JSONObject;
@@ -61,6 +63,13 @@ public class MpScheduler extends Scheduler
 {
     static VoltLogger tmLog = new VoltLogger("TM");
     static final VoltLogger repairLogger = new VoltLogger("REPAIR");
+    private static final VoltTrace.TracePoint TRACE_INIT_MP_BEGIN =
+            VoltTrace.TracePoint.beginAsync("initmp")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("ciHandle")
+                                .flag("read")
+                                .text("name");
+    private static final VoltTrace.TracePoint TRACE_INIT_MP_END = VoltTrace.TracePoint.endAsync("initmp");
 
     // null if running community, fallback to MpProcedureTask
     private static final Constructor<?> NpProcedureTaskConstructor = loadNpProcedureTaskClass();
@@ -81,6 +90,8 @@ public class MpScheduler extends Scheduler
     private final UniqueIdGenerator m_uniqueIdGenerator;
     final private MpTransactionTaskQueue m_pendingTasks;
     private final int m_leaderNodeId;
+    // Periodic resizing of the MP read-only site pool
+    private ScheduledFuture<?> m_sitePoolAdjustment = null;
 
     // the current not-needed-any-more point of the repair log.
     long m_repairLogTruncationHandle = Long.MIN_VALUE;
@@ -104,6 +115,12 @@ public class MpScheduler extends Scheduler
     void setMpRoSitePool(MpRoSitePool sitePool)
     {
         m_pendingTasks.setMpRoSitePool(sitePool);
+        m_sitePoolAdjustment = VoltDB.instance().scheduleWork(new Runnable() {
+            @Override
+            public void run() {
+                m_pendingTasks.adjustSitePool();
+            }
+        }, 1, 1, TimeUnit.SECONDS);
     }
 
     void updateCatalog(String diffCmds, CatalogContext context)
@@ -123,6 +140,9 @@ public class MpScheduler extends Scheduler
         // response to roll back. This function must be called with
         // the deliver lock held to be correct. The null task should
         // never run; the site thread is expected to be told to stop.
+        if (m_sitePoolAdjustment != null) {
+            m_sitePoolAdjustment.cancel(false);
+        }
         m_pendingTasks.shutdown();
         m_pendingTasks.repair(m_nullTask, m_iv2Masters, m_partitionMasters, false);
         m_tasks.offer(m_nullTask);
@@ -288,17 +308,16 @@ public class MpScheduler extends Scheduler
         TxnEgo ego = advanceTxnEgo();
         mpTxnId = ego.getTxnId();
 
-        final String threadName = Thread.currentThread().getName(); // Thread name has to be materialized here
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.MPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.meta("process_name", "name", CoreUtils.getHostnameOrAddress()))
-                    .add(() -> VoltTrace.meta("thread_name", "name", threadName))
-                    .add(() -> VoltTrace.meta("thread_sort_index", "sort_index", Integer.toString(100)))
-                    .add(() -> VoltTrace.beginAsync("initmp", mpTxnId,
-                                                    "txnId", TxnEgo.txnIdToString(mpTxnId),
-                                                    "ciHandle", message.getClientInterfaceHandle(),
-                                                    "name", procedureName,
-                                                    "read", message.isReadOnly()));
+            traceLog.setThreadSortIndex(100)
+                    .event(TRACE_INIT_MP_BEGIN)
+                    .value(mpTxnId)
+                    .value(mpTxnId)
+                    .value(message.getClientInterfaceHandle())
+                    .value(message.isReadOnly())
+                    .text(procedureName)
+                    .log();
         }
 
         // Don't have an SP HANDLE at the MPI, so fill in the unused value
@@ -490,7 +509,7 @@ public class MpScheduler extends Scheduler
     {
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.MPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.endAsync("initmp", message.getTxnId()));
+            traceLog.event(TRACE_INIT_MP_END).value(message.getTxnId()).log();
         }
 
         DuplicateCounter counter = m_duplicateCounters.get(message.getTxnId());
@@ -49,7 +49,6 @@ import org.voltdb.messaging.DumpMessage;
 import org.voltdb.messaging.FragmentResponseMessage;
 import org.voltdb.messaging.FragmentTaskMessage;
 import org.voltdb.messaging.Iv2InitiateTaskMessage;
-import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.VoltTableUtil;
 import org.voltdb.utils.VoltTrace;
 
@@ -59,6 +58,20 @@ import com.google_voltpatches.common.collect.Maps;
 public class MpTransactionState extends TransactionState
 {
     static VoltLogger tmLog = new VoltLogger("TM");
+    private static final VoltTrace.TracePoint TRACE_SEND_FRAGMENT_BEGIN =
+            VoltTrace.TracePoint.beginAsync("sendfragment")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("dest", CoreUtils::hsIdToString);
+    private static final VoltTrace.TracePoint TRACE_SEND_FRAGMENT_END =
+            VoltTrace.TracePoint.endAsync("sendfragment").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("status");
+    private static final VoltTrace.TracePoint TRACE_SEND_BORROW_BEGIN =
+            VoltTrace.TracePoint.beginAsync("sendborrow")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("dest", CoreUtils::hsIdToString);
+    private static final VoltTrace.TracePoint TRACE_SEND_BORROW_END =
+            VoltTrace.TracePoint.endAsync("sendborrow").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("status");
 
     public static final int DR_MAX_AGGREGATE_BUFFERSIZE = Integer.getInteger("DR_MAX_AGGREGATE_BUFFERSIZE", (45 * 1024 * 1024) + 4096);
     private static final String dr_max_consumer_partitionCount_str = "DR_MAX_CONSUMER_PARTITIONCOUNT";
@@ -278,13 +291,16 @@ public class MpTransactionState extends TransactionState
             for (int i = 0; i < m_useHSIds.size(); i++) {
                 non_local_hsids[i] = m_useHSIds.get(i);
 
-                int finalI = i;
                 final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.MPSITE);
                 if (traceLog != null) {
-                    traceLog.add(() -> VoltTrace.beginAsync("sendfragment",
-                                                            MiscUtils.hsIdPairTxnIdToString(m_mbox.getHSId(), non_local_hsids[finalI], txnId, task.getCurrentBatchIndex()),
-                                                            "txnId", TxnEgo.txnIdToString(txnId),
-                                                            "dest", CoreUtils.hsIdToString(non_local_hsids[finalI])));
+                    traceLog.event(TRACE_SEND_FRAGMENT_BEGIN)
+                            .value(m_mbox.getHSId())
+                            .value(non_local_hsids[i])
+                            .value(txnId)
+                            .value(task.getCurrentBatchIndex())
+                            .value(txnId)
+                            .value(non_local_hsids[i])
+                            .log();
                 }
             }
             // send to all non-local sites
@@ -360,10 +376,13 @@ public class MpTransactionState extends TransactionState
             while (!checkDoneReceivingFragResponses()) {
                 FragmentResponseMessage msg = pollForResponses();
                 if (traceLog != null) {
-                    final int batchIdx = m_remoteWork.getCurrentBatchIndex();
-                    traceLog.add(() -> VoltTrace.endAsync("sendfragment",
-                                                          MiscUtils.hsIdPairTxnIdToString(m_mbox.getHSId(), msg.m_sourceHSId, txnId, batchIdx),
-                                                          "status", Byte.toString(msg.getStatusCode())));
+                    traceLog.event(TRACE_SEND_FRAGMENT_END)
+                            .value(m_mbox.getHSId())
+                            .value(msg.m_sourceHSId)
+                            .value(txnId)
+                            .value(m_remoteWork.getCurrentBatchIndex())
+                            .value(msg.getStatusCode())
+                            .log();
                 }
 
                 boolean expectedMsg = handleReceivedFragResponse(msg);
@@ -387,23 +406,28 @@ public class MpTransactionState extends TransactionState
             borrowmsg.addInputDepMap(m_remoteDepTables);
         }
         if (traceLog != null) {
-            final int batchIdx = m_localWork.getCurrentBatchIndex();
-            traceLog.add(() -> VoltTrace.beginAsync("sendborrow",
-                                                    MiscUtils.hsIdPairTxnIdToString(m_mbox.getHSId(), m_buddyHSId, txnId, batchIdx),
-                                                    "txnId", TxnEgo.txnIdToString(txnId),
-                                                    "dest", CoreUtils.hsIdToString(m_buddyHSId)));
+            traceLog.event(TRACE_SEND_BORROW_BEGIN)
+                    .value(m_mbox.getHSId())
+                    .value(m_buddyHSId)
+                    .value(txnId)
+                    .value(m_localWork.getCurrentBatchIndex())
+                    .value(txnId)
+                    .value(m_buddyHSId)
+                    .log();
         }
         m_mbox.send(m_buddyHSId, borrowmsg);
 
         FragmentResponseMessage msg;
         while (true){
             msg = pollForResponses();
-            final FragmentResponseMessage finalMsg = msg;
             if (traceLog != null) {
-                final int batchIdx = m_localWork.getCurrentBatchIndex();
-                traceLog.add(() -> VoltTrace.endAsync("sendborrow",
-                                                      MiscUtils.hsIdPairTxnIdToString(m_mbox.getHSId(), m_buddyHSId, txnId, batchIdx),
-                                                      "status", Byte.toString(finalMsg.getStatusCode())));
+                traceLog.event(TRACE_SEND_BORROW_END)
+                        .value(m_mbox.getHSId())
+                        .value(m_buddyHSId)
+                        .value(txnId)
+                        .value(m_localWork.getCurrentBatchIndex())
+                        .value(msg.getStatusCode())
+                        .log();
             }
 
             assert(msg.getTableCount() > 0);
@@ -19,16 +19,15 @@ package org.voltdb.iv2;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.voltcore.logging.VoltLogger;
 import org.voltcore.utils.CoreUtils;
+import org.voltcore.utils.LongObjectHashMap;
 import org.voltdb.CatalogContext;
 import org.voltdb.exceptions.TransactionRestartException;
 import org.voltdb.messaging.FragmentResponseMessage;
@@ -45,9 +44,11 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
 
     // Track the current writes and reads in progress.  If writes contains anything, reads must be empty,
     // and vice versa
-    private final Map<Long, TransactionTask> m_currentWrites = new HashMap<Long, TransactionTask>();
-    private final Map<Long, TransactionTask> m_currentReads = new HashMap<Long, TransactionTask>();
+    private final LongObjectHashMap<TransactionTask> m_currentWrites = new LongObjectHashMap<TransactionTask>();
+    private final LongObjectHashMap<TransactionTask> m_currentReads = new LongObjectHashMap<TransactionTask>();
     private Deque<TransactionTask> m_backlog = new ArrayDeque<TransactionTask>();
+    // the read at the head of the backlog that was last counted as waiting for the pool
+    private long m_waitingReadTxnId = Long.MIN_VALUE;
 
     private MpRoSitePool m_sitePool = null;
 
@@ -71,6 +72,15 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
         m_sitePool.updateSettings(context);
     }
 
+    synchronized void adjustSitePool()
+    {
+        if (m_sitePool != null) {
+            m_sitePool.adjust();
+            // reads that couldn't make the pool grow when they arrived try again
+            taskQueueOffer();
+        }
+    }
+
     void shutdown()
     {
         if (m_sitePool != null) {
@@ -103,14 +113,14 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
         // any of the MP read pool) will only have one active transaction at a time,
         // and that we either have active reads or active writes, but never both.
         // Figure out which we're doing, and then poison all of the appropriate sites.
-        Map<Long, TransactionTask> currentSet;
+        LongObjectHashMap<TransactionTask> currentSet;
         boolean readonly = true;
         if (!m_currentReads.isEmpty()) {
             assert(m_currentWrites.isEmpty());
             if (tmLog.isDebugEnabled()) {
                 tmLog.debug("MpTTQ: repairing reads. MigratePartitionLeader:" + balanceSPI);
             }
-            for (Long txnId : m_currentReads.keySet()) {
+            for (long txnId : m_currentReads.keys()) {
                 m_sitePool.repair(txnId, task);
             }
             currentSet = m_currentReads;
@@ -123,9 +133,9 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
             currentSet = m_currentWrites;
             readonly = false;
         }
-        for (Entry<Long, TransactionTask> e : currentSet.entrySet()) {
-            if (e.getValue() instanceof MpProcedureTask) {
-                MpProcedureTask next = (MpProcedureTask)e.getValue();
+        for (TransactionTask current : currentSet.values()) {
+            if (current instanceof MpProcedureTask) {
+                MpProcedureTask next = (MpProcedureTask)current;
                 if (tmLog.isDebugEnabled()) {
                     tmLog.debug("MpTTQ: poisoning task: " + next.toShortString());
                 }
@@ -194,7 +204,7 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
         //     - if not, pull it from the backlog, add it to current write set, and queue it
         //     - if so, bail for now
         //   - If not, are there writes outstanding?
-        //     - if not, while there are reads on the backlog and the pool has capacity:
+        //     - if not, while there are reads on the backlog and the pool has or makes capacity:
         //       - pull the read from the backlog, add it to the current read set, and queue it.
         //       - bail when done
         //     - if so, bail for now
@@ -212,8 +222,9 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
                 }
             }
             else if (m_currentWrites.isEmpty()) {
+                // the pool may grow when reads are waiting for it
                 while (task != null && task.getTransactionState().isReadOnly() &&
-                       m_sitePool.canAcceptWork())
+                       (m_sitePool.canAcceptWork() || readsWaiting(task)))
                 {
                     task = m_backlog.pollFirst();
                     assert(task.getTransactionState().isReadOnly());
@@ -229,6 +240,24 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
         return retval;
     }
 
+    /**
+     * The read at the head of the backlog found the pool full. Each read is
+     * counted as waiting once, and the pool may grow by as many sites as there
+     * are reads waiting at the head of the backlog.
+     */
+    private boolean readsWaiting(TransactionTask head)
+    {
+        boolean newWait = head.getTxnId() != m_waitingReadTxnId;
+        m_waitingReadTxnId = head.getTxnId();
+        int room = m_sitePool.getGrowthRoom();
+        int waiting = 0;
+        Iterator<TransactionTask> iter = m_backlog.iterator();
+        while (waiting < room && iter.hasNext() && iter.next().getTransactionState().isReadOnly()) {
+            waiting++;
+        }
+        return m_sitePool.workWaiting(newWait, Math.max(1, waiting));
+    }
+
     /**
      * Indicate that the transaction associated with txnId is complete.  Perform
      * management of reads/writes in progress then call taskQueueOffer() to
@@ -239,13 +268,12 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
     synchronized int flush(long txnId)
     {
         int offered = 0;
-        if (m_currentReads.containsKey(txnId)) {
-            m_currentReads.remove(txnId);
+        if (m_currentReads.remove(txnId) != null) {
             m_sitePool.completeWork(txnId);
         }
         else {
-            assert(m_currentWrites.containsKey(txnId));
-            m_currentWrites.remove(txnId);
+            TransactionTask write = m_currentWrites.remove(txnId);
+            assert(write != null);
             assert(m_currentWrites.isEmpty());
         }
         if (taskQueueOffer()) {
@@ -272,11 +300,8 @@ public class MpTransactionTaskQueue extends TransactionTaskQueue
         }
         else {
             assert(!m_currentWrites.isEmpty());
-            TransactionTask task;
-            // There currently should only ever be one current write.  This
-            // is the awkward way to get a single value out of a Map
-            task = m_currentWrites.entrySet().iterator().next().getValue();
-            taskQueueOffer(task);
+            // There currently should only ever be one current write
+            taskQueueOffer(m_currentWrites.values().get(0));
         }
     }
 
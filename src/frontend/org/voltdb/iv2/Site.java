@@ -55,6 +55,8 @@ import org.voltdb.PartitionDRGateway;
 import org.voltdb.PostGISBackend;
 import org.voltdb.PostgreSQLBackend;
 import org.voltdb.ProcedureRunner;
+import org.voltdb.ResultCache;
+import org.voltdb.ResultCacheStats;
 import org.voltdb.SiteProcedureConnection;
 import org.voltdb.SiteSnapshotConnection;
 import org.voltdb.SnapshotDataTarget;
@@ -71,6 +73,7 @@ import org.voltdb.TableStreamType;
 import org.voltdb.TheHashinator;
 import org.voltdb.TheHashinator.HashinatorConfig;
 import org.voltdb.TupleStreamStateInfo;
+import org.voltdb.UserDefinedFunctionStats;
 import org.voltdb.VoltDB;
 import org.voltdb.VoltProcedure.VoltAbortException;
 import org.voltdb.VoltTable;
@@ -163,6 +166,8 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
 
     // Stats
     final TableStats m_tableStats;
+    // Results of read-only fragments, null on the MPI
+    final ResultCache m_resultCache;
     final IndexStats m_indexStats;
     final MemoryStats m_memStats;
 
@@ -426,6 +431,8 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
         @Override
         public boolean activateTableStream(final int tableId, TableStreamType type, boolean undo, byte[] predicates)
         {
+            // streams used by elastic rebalance delete the rows they move away
+            invalidateResultCache();
             return m_ee.activateTableStream(tableId, type, undo ? getNextUndoToken(m_currentTxnId) : Long.MAX_VALUE, predicates);
         }
 
@@ -653,11 +660,16 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
                                       m_siteId,
                                       m_indexStats);
             m_memStats = memStats;
+            m_resultCache = new ResultCache();
+            agent.registerStatsSource(StatsSelector.RESULTCACHE,
+                                      m_siteId,
+                                      new ResultCacheStats(m_siteId, m_partitionId, m_resultCache));
         } else {
             // MPI doesn't need to track these stats
             m_tableStats = null;
             m_indexStats = null;
             m_memStats = null;
+            m_resultCache = null;
         }
     }
 
@@ -703,6 +715,14 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
             m_ee = initializeEE();
         }
         m_ee.loadFunctions(m_context);
+        if (m_resultCache != null) {
+            m_resultCache.configure(m_context);
+        }
+        if (m_tableStats != null) {
+            VoltDB.instance().getStatsAgent().registerStatsSource(StatsSelector.FUNCTION,
+                                                                  m_siteId,
+                                                                  new UserDefinedFunctionStats(m_siteId, m_ee.getFunctionManager()));
+        }
 
         m_snapshotter = new SnapshotSiteProcessor(m_scheduler,
         m_snapshotPriority,
@@ -1111,6 +1131,13 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
             VoltTable data, boolean returnUniqueViolations, boolean shouldDRStream,
             boolean undo)
     {
+        if (m_resultCache != null && m_resultCache.isEnabled()) {
+            for (Table table : m_context.database.getTables()) {
+                if (table.getRelativeIndex() == tableId) {
+                    m_resultCache.tableWritten(table.getTypeName());
+                }
+            }
+        }
         // Long.MAX_VALUE is a no-op don't track undo token
         return m_ee.loadTable(tableId, data, txnId,
                 spHandle,
@@ -1129,6 +1156,7 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
 
     @Override
     public void setViewsEnabled(String viewNames, boolean enabled) {
+        invalidateResultCache();
         m_ee.setViewsEnabled(viewNames, enabled);
     }
 
@@ -1198,6 +1226,7 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
             return;
         }
         if (rollback) {
+            invalidateResultCache();
             m_ee.undoUndoToken(beginUndoToken);
         }
         else {
@@ -1532,6 +1561,10 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
             boolean traceOn)
                     throws EEException
     {
+        if (!readOnly && m_resultCache != null) {
+            // before the write, so nothing cached from here on can see the old rows
+            m_resultCache.fragmentsWriting(planFragmentIds, numFragmentIds);
+        }
         return m_ee.executePlanFragments(
                 numFragmentIds,
                 planFragmentIds,
@@ -1554,6 +1587,17 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
         return m_ee.usingFallbackBuffer();
     }
 
+    @Override
+    public ResultCache getResultCache() {
+        return m_resultCache;
+    }
+
+    private void invalidateResultCache() {
+        if (m_resultCache != null) {
+            m_resultCache.invalidateAll();
+        }
+    }
+
     @Override
     public ProcedureRunner getProcedureRunner(String procedureName) {
         return m_loadedProcedures.getProcByName(procedureName);
@@ -1589,6 +1633,9 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
                 getSystemsettings().get("systemsettings").getQuerytimeout());
         m_loadedProcedures.loadProcedures(m_context, isReplay);
         m_ee.loadFunctions(m_context);
+        if (m_resultCache != null) {
+            m_resultCache.configure(m_context);
+        }
 
         if (isMPI) {
             // the rest of the work applies to sites with real EEs
@@ -1665,6 +1712,9 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
         // here you could bring the timeout settings
         m_loadedProcedures.loadProcedures(m_context);
         m_ee.loadFunctions(m_context);
+        if (m_resultCache != null) {
+            m_resultCache.configure(m_context);
+        }
         return true;
     }
 
@@ -1715,6 +1765,7 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
     {
         Preconditions.checkNotNull(hashinator);
         m_hashinator = hashinator;
+        invalidateResultCache();
         m_ee.updateHashinator(hashinator.pGetCurrentConfig());
     }
 
@@ -1766,6 +1817,7 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
         paramBuffer.putInt(1);
         paramBuffer.putInt(log.length);
         paramBuffer.put(log);
+        invalidateResultCache();
         return m_ee.applyBinaryLog(paramBuffer, txnId, spHandle, m_lastCommittedSpHandle, uniqueId,
                 remoteClusterId, getNextUndoToken(m_currentTxnId));
     }
@@ -1775,6 +1827,7 @@ public class Site implements Runnable, SiteProcedureConnection, SiteSnapshotConn
             throws EEException {
         ByteBuffer paramBuffer = m_ee.getParamBufferForExecuteTask(logs.length);
         paramBuffer.put(logs);
+        invalidateResultCache();
         return m_ee.applyBinaryLog(paramBuffer, txnId, spHandle, m_lastCommittedSpHandle, uniqueId,
                 remoteClusterId, getNextUndoToken(m_currentTxnId));
     }
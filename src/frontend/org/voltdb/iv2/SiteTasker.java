@@ -25,15 +25,26 @@ import org.voltdb.rejoin.TaskLog;
 public abstract class SiteTasker {
 
     private long queueOfferTime = -1L;
+    // Set by the site thread once it takes the task off its SiteTaskerQueue
+    private volatile boolean polled;
 
     public void setQueueOfferTime() {
         queueOfferTime = System.nanoTime();
+        polled = false;
     }
 
     public long getQueueOfferTime() {
         return queueOfferTime;
     }
 
+    void setPolled() {
+        polled = true;
+    }
+
+    boolean isPolled() {
+        return polled;
+    }
+
     public static abstract class SiteTaskerRunnable extends SiteTasker {
         protected String taskInfo = "";
         abstract void run();
@@ -17,22 +17,45 @@
 
 package org.voltdb.iv2;
 
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.voltcore.utils.CoreUtils;
+import org.voltcore.messaging.HandoffQueue;
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
 import org.voltdb.QueueDepthTracker;
 import org.voltdb.StarvationTracker;
 
-/** SiteTaskerScheduler orders SiteTaskers for execution. */
+/**
+ * SiteTaskerScheduler orders SiteTaskers for execution.
+ *
+ * Any thread may offer tasks, only the site thread polls them. How the site
+ * thread waits for work is set with -DsiteHandoffWait for the partition sites and
+ * -DmpiHandoffWait for the MPI's site, see {@link HandoffQueue.WaitStrategy}.
+ */
 public class SiteTaskerQueue
 {
-    private final LinkedTransferQueue<SiteTasker> m_tasks = new LinkedTransferQueue<SiteTasker>();
+    static final WaitStrategy SITE_WAIT_STRATEGY =
+            WaitStrategy.fromProperty("siteHandoffWait", WaitStrategy.BLOCK);
+    static final WaitStrategy MPI_WAIT_STRATEGY =
+            WaitStrategy.fromProperty("mpiHandoffWait", WaitStrategy.BLOCK);
+
+    private final HandoffQueue<SiteTasker> m_tasks;
+    // The task at the head of the queue, or one already polled, or null. Only the
+    // site thread may peek at the queue, this lets other threads see how long the
+    // head has waited. The site thread moves it to the next task after each poll.
+    // A producer replaces it with its own task, once offered, if it finds none or
+    // a polled one. Readers ignore a polled task, so neither side needs a lock.
+    private final AtomicReference<SiteTasker> m_head = new AtomicReference<SiteTasker>();
     private StarvationTracker m_starvationTracker;
     private QueueDepthTracker m_queueDepthTracker;
     private int m_partitionId;
 
     public SiteTaskerQueue(int partitionId) {
+        this(partitionId, partitionId == MpInitiator.MP_INIT_PID ? MPI_WAIT_STRATEGY : SITE_WAIT_STRATEGY);
+    }
+
+    public SiteTaskerQueue(int partitionId, WaitStrategy waitStrategy) {
         m_partitionId = partitionId;
+        m_tasks = new HandoffQueue<SiteTasker>(waitStrategy);
     }
 
     public int getPartitionId() {
@@ -47,7 +70,16 @@ public class SiteTaskerQueue
         // the queue depth before it is incremented
         // i.e. avoid queueDepth < 0
         m_queueDepthTracker.offerUpdate();
-        return m_tasks.offer(task);
+        final boolean offered = m_tasks.offer(task);
+        // An unpolled head was offered before this task or at the same time. Once the
+        // site thread polls it, it peeks after marking it polled and finds this task.
+        SiteTasker head;
+        while (!task.isPolled() && ((head = m_head.get()) == null || head.isPolled())) {
+            if (m_head.compareAndSet(head, task)) {
+                break;
+            }
+        }
+        return offered;
     }
 
     // Block on the site tasker queue.
@@ -58,14 +90,12 @@ public class SiteTaskerQueue
         if (task == null) {
             m_starvationTracker.beginStarvation();
         } else {
-            m_queueDepthTracker.pollUpdate(task.getQueueOfferTime());
-            return task;
+            return polled(task);
         }
         try {
-            task = CoreUtils.queueSpinTake(m_tasks);
+            task = m_tasks.take();
             // task is never null
-            m_queueDepthTracker.pollUpdate(task.getQueueOfferTime());
-            return task;
+            return polled(task);
         } finally {
             m_starvationTracker.endStarvation();
         }
@@ -76,17 +106,41 @@ public class SiteTaskerQueue
     {
         SiteTasker task = m_tasks.poll();
         if (task != null) {
-            m_queueDepthTracker.pollUpdate(task.getQueueOfferTime());
+            polled(task);
+        }
+        return task;
+    }
+
+    private SiteTasker polled(SiteTasker task)
+    {
+        task.setPolled();
+        m_queueDepthTracker.pollUpdate(task.getQueueOfferTime());
+        SiteTasker next = m_tasks.peek();
+        if (next != null) {
+            m_head.set(next);
+        }
+        else {
+            // Drop the reference unless a producer has published its task already
+            m_head.compareAndSet(task, null);
         }
         return task;
     }
 
-    // Non-blocking peek on the site tasker queue.
+    // Non-blocking peek on the site tasker queue, only from the site thread.
     public SiteTasker peek()
     {
         return m_tasks.peek();
     }
 
+    /**
+     * @return the time the task at the head of the queue was offered, or 0 if
+     * there is none. Safe to call from any thread.
+     */
+    public long getHeadOfferTime() {
+        SiteTasker head = m_head.get();
+        return head == null || head.isPolled() ? 0 : head.getQueueOfferTime();
+    }
+
     public boolean isEmpty() {
         return m_tasks.isEmpty();
     }
@@ -96,7 +150,7 @@ public class SiteTaskerQueue
     }
 
     public QueueDepthTracker setupQueueDepthTracker(long siteId) {
-        m_queueDepthTracker = new QueueDepthTracker(siteId, m_tasks);
+        m_queueDepthTracker = new QueueDepthTracker(siteId, this);
         return m_queueDepthTracker;
     }
 
@@ -23,7 +23,6 @@ import org.voltcore.logging.VoltLogger;
 import org.voltdb.CommandLog;
 import org.voltdb.CommandLog.DurabilityListener;
 import org.voltdb.iv2.SpScheduler.DurableUniqueIdListener;
-import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.VoltTrace;
 
 /**
@@ -154,9 +153,10 @@ public class SpDurabilityListener implements DurabilityListener {
             for (TransactionTask o : m_pendingTransactions) {
                 final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
                 if (traceLog != null) {
-                    traceLog.add(() -> VoltTrace.endAsync("durability",
-                                                          MiscUtils.hsIdTxnIdToString(m_spScheduler.m_mailbox.getHSId(),
-                                                                                      o.getSpHandle())));
+                    traceLog.event(Iv2Trace.DURABILITY_END)
+                            .value(m_spScheduler.m_mailbox.getHSId())
+                            .value(o.getSpHandle())
+                            .log();
                 }
 
                 m_pendingTasks.offer(o);
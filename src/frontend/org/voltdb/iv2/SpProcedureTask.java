@@ -33,7 +33,6 @@ import org.voltdb.messaging.InitiateResponseMessage;
 import org.voltdb.messaging.Iv2InitiateTaskMessage;
 import org.voltdb.rejoin.TaskLog;
 import org.voltdb.utils.LogKeys;
-import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.VoltTrace;
 
 /**
@@ -50,6 +49,10 @@ public class SpProcedureTask extends ProcedureTask
         HOST_DEBUG_ENABLED = hostLog.isDebugEnabled();
         HOST_TRACE_ENABLED = hostLog.isTraceEnabled();
     }
+    private static final VoltTrace.TracePoint TRACE_RUN_SP_TASK =
+            VoltTrace.TracePoint.beginDuration("runsptask")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition");
 
     public SpProcedureTask(Mailbox initiator, String procName, TransactionTaskQueue queue,
                   Iv2InitiateTaskMessage msg)
@@ -61,8 +64,10 @@ public class SpProcedureTask extends ProcedureTask
     protected void durabilityTraceEnd() {
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.endAsync("durability",
-                                                  MiscUtils.hsIdTxnIdToString(m_initiator.getHSId(), getSpHandle())));
+            traceLog.event(Iv2Trace.DURABILITY_END)
+                    .value(m_initiator.getHSId())
+                    .value(getSpHandle())
+                    .log();
         }
     }
 
@@ -78,9 +83,10 @@ public class SpProcedureTask extends ProcedureTask
         }
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.beginDuration("runsptask",
-                                                       "txnId", TxnEgo.txnIdToString(getTxnId()),
-                                                       "partition", Integer.toString(siteConnection.getCorrespondingPartitionId())));
+            traceLog.event(TRACE_RUN_SP_TASK)
+                    .value(getTxnId())
+                    .value(siteConnection.getCorrespondingPartitionId())
+                    .log();
         }
 
         if (!m_txnState.isReadOnly()) {
@@ -122,7 +128,7 @@ public class SpProcedureTask extends ProcedureTask
             hostLog.debug("COMPLETE: " + this);
         }
         if (traceLog != null) {
-            traceLog.add(VoltTrace::endDuration);
+            traceLog.event(VoltTrace.END_DURATION).log();
         }
 
         logToDR(siteConnection.getDRGateway(), txnState);
@@ -23,17 +23,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import org.voltcore.logging.VoltLogger;
 import org.voltcore.messaging.HostMessenger;
@@ -41,6 +37,8 @@ import org.voltcore.messaging.Mailbox;
 import org.voltcore.messaging.TransactionInfoBaseMessage;
 import org.voltcore.messaging.VoltMessage;
 import org.voltcore.utils.CoreUtils;
+import org.voltcore.utils.LongObjectHashMap;
+import org.voltcore.utils.LongPairSortedMap;
 import org.voltdb.ClientResponseImpl;
 import org.voltdb.CommandLog;
 import org.voltdb.CommandLog.DurabilityListener;
@@ -71,7 +69,6 @@ import org.voltdb.messaging.Iv2LogFaultMessage;
 import org.voltdb.messaging.MPBacklogFlushMessage;
 import org.voltdb.messaging.MultiPartitionParticipantMessage;
 import org.voltdb.messaging.RepairLogTruncationMessage;
-import org.voltdb.utils.MiscUtils;
 import org.voltdb.utils.VoltTrace;
 
 import com.google_voltpatches.common.collect.Sets;
@@ -85,6 +82,46 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
     static final VoltLogger tmLog = new VoltLogger("TM");
     static final VoltLogger hostLog = new VoltLogger("HOST");
 
+    private static final VoltTrace.TracePoint TRACE_INIT_SP_BEGIN =
+            VoltTrace.TracePoint.beginAsync("initsp")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("ciHandle")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition")
+                                .flag("read")
+                                .arg("hsId", CoreUtils::hsIdToString)
+                                .text("name");
+    private static final VoltTrace.TracePoint TRACE_INIT_SP_END =
+            VoltTrace.TracePoint.endAsync("initsp").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("hash");
+    private static final VoltTrace.TracePoint TRACE_REPLICATE_SP_BEGIN =
+            VoltTrace.TracePoint.beginAsync("replicateSP")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("dest", CoreUtils::hsIdToString);
+    private static final VoltTrace.TracePoint TRACE_REPLICATE_SP_END =
+            VoltTrace.TracePoint.endAsync("replicatesp").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("hash");
+    private static final VoltTrace.TracePoint TRACE_RECV_FRAGMENT_BEGIN =
+            VoltTrace.TracePoint.beginAsync("recvfragment")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition")
+                                .arg("hsId", CoreUtils::hsIdToString)
+                                .flag("final");
+    private static final VoltTrace.TracePoint TRACE_RECV_FRAGMENT_END =
+            VoltTrace.TracePoint.endAsync("recvfragment").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("status");
+    private static final VoltTrace.TracePoint TRACE_REPLICATE_FRAGMENT_BEGIN =
+            VoltTrace.TracePoint.beginAsync("replicatefragment")
+                                .id(4, Iv2Trace.HSID_PAIR_TXNID)
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("dest", CoreUtils::hsIdToString);
+    private static final VoltTrace.TracePoint TRACE_REPLICATE_FRAGMENT_END =
+            VoltTrace.TracePoint.endAsync("replicatefragment").id(4, Iv2Trace.HSID_PAIR_TXNID).arg("status");
+    private static final VoltTrace.TracePoint TRACE_RECV_COMPLETE_TXN =
+            VoltTrace.TracePoint.instant("recvCompleteTxn")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition")
+                                .arg("hsId", CoreUtils::hsIdToString);
+
     static class DuplicateCounterKey implements Comparable<DuplicateCounterKey> {
         private final long m_txnId;
         private final long m_spHandle;
@@ -151,10 +188,11 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
     private List<Long> m_replicaHSIds = new ArrayList<>();
     long m_sendToHSIds[] = new long[0];
     private final TransactionTaskQueue m_pendingTasks;
-    private final Map<Long, TransactionState> m_outstandingTxns =
-        new HashMap<Long, TransactionState>();
-    private final TreeMap<DuplicateCounterKey, DuplicateCounter> m_duplicateCounters =
-        new TreeMap<DuplicateCounterKey, DuplicateCounter>();
+    private final LongObjectHashMap<TransactionState> m_outstandingTxns =
+        new LongObjectHashMap<TransactionState>();
+    // keyed by (txnId, spHandle)
+    private final LongPairSortedMap<DuplicateCounter> m_duplicateCounters =
+        new LongPairSortedMap<DuplicateCounter>();
     // MP fragment tasks or completion tasks pending durability
     private final Map<Long, Queue<TransactionTask>> m_mpsPendingDurability =
         new HashMap<Long, Queue<TransactionTask>>();
@@ -277,21 +315,22 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         if (m_isLeader && snapshotSaveTxnId != -1) {
             // HACKY HACKY HACKY, we know at this time there will be only one fragment with this txnId, so it's safe to use
             // Long.MAX_VALUE to match the duplicate counter key with the given txn id (there is only one!)
-            Entry<DuplicateCounterKey, DuplicateCounter> snapshotFragment =
-                    m_duplicateCounters.floorEntry(new DuplicateCounterKey(snapshotSaveTxnId, Long.MAX_VALUE));
-            assert(snapshotFragment != null);
-            snapshotFragment.getValue().addReplicas(replicasAdded);
+            int snapshotFragment = m_duplicateCounters.floorIndex(snapshotSaveTxnId, Long.MAX_VALUE);
+            assert(snapshotFragment >= 0);
+            DuplicateCounter snapshotCounter = m_duplicateCounters.valueAt(snapshotFragment);
+            snapshotCounter.addReplicas(replicasAdded);
             // Forward fragment message to new replica
-            m_mailbox.send(replicasAdded, snapshotFragment.getValue().getOpenMessage());
+            m_mailbox.send(replicasAdded, snapshotCounter.getOpenMessage());
         }
         // Cleanup duplicate counters and collect DONE counters
         // in this list for further processing.
         List<DuplicateCounterKey> doneCounters = new LinkedList<DuplicateCounterKey>();
-        for (Entry<DuplicateCounterKey, DuplicateCounter> entry : m_duplicateCounters.entrySet()) {
-            DuplicateCounter counter = entry.getValue();
+        for (int i = 0; i < m_duplicateCounters.size(); i++) {
+            DuplicateCounter counter = m_duplicateCounters.valueAt(i);
             int result = counter.updateReplicas(m_replicaHSIds);
             if (result == DuplicateCounter.DONE) {
-                doneCounters.add(entry.getKey());
+                doneCounters.add(new DuplicateCounterKey(m_duplicateCounters.firstKeyAt(i),
+                                                         m_duplicateCounters.secondKeyAt(i)));
             }
         }
 
@@ -305,7 +344,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         // Maintain the CI invariant that responses arrive in txnid order.
         Collections.sort(doneCounters);
         for (DuplicateCounterKey key : doneCounters) {
-            DuplicateCounter counter = m_duplicateCounters.remove(key);
+            DuplicateCounter counter = m_duplicateCounters.remove(key.m_txnId, key.m_spHandle);
 
             final TransactionState txn = m_outstandingTxns.get(key.m_txnId);
             if (txn == null || txn.isDone()) {
@@ -573,13 +612,16 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
             // Don't replicate reads, not matter FAST or SAFE.
             if (m_isLeader && (!msg.isReadOnly()) && IS_KSAFE_CLUSTER ) {
                 for (long hsId : m_sendToHSIds) {
-                    Iv2InitiateTaskMessage finalMsg = msg;
                     final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
                     if (traceLog != null) {
-                        traceLog.add(() -> VoltTrace.beginAsync("replicateSP",
-                                                                MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), hsId, finalMsg.getSpHandle(), finalMsg.getClientInterfaceHandle()),
-                                                                "txnId", TxnEgo.txnIdToString(finalMsg.getTxnId()),
-                                                                "dest", CoreUtils.hsIdToString(hsId)));
+                        traceLog.event(TRACE_REPLICATE_SP_BEGIN)
+                                .value(m_mailbox.getHSId())
+                                .value(hsId)
+                                .value(msg.getSpHandle())
+                                .value(msg.getClientInterfaceHandle())
+                                .value(msg.getTxnId())
+                                .value(hsId)
+                                .log();
                     }
                 }
                 Iv2InitiateTaskMessage replmsg =
@@ -609,7 +651,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                         m_replicaHSIds,
                         replmsg);
 
-                safeAddToDuplicateCounterMap(new DuplicateCounterKey(msg.getTxnId(), newSpHandle), counter);
+                safeAddToDuplicateCounterMap(msg.getTxnId(), newSpHandle, counter);
             }
         }
         else {
@@ -636,18 +678,19 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
     {
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            final String threadName = Thread.currentThread().getName(); // Thread name has to be materialized here
-            traceLog.add(() -> VoltTrace.meta("process_name", "name", CoreUtils.getHostnameOrAddress()))
-                    .add(() -> VoltTrace.meta("thread_name", "name", threadName))
-                    .add(() -> VoltTrace.meta("thread_sort_index", "sort_index", Integer.toString(10000)))
-                    .add(() -> VoltTrace.beginAsync("initsp",
-                                                    MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), m_mailbox.getHSId(), msg.getSpHandle(), msg.getClientInterfaceHandle()),
-                                                    "ciHandle", msg.getClientInterfaceHandle(),
-                                                    "txnId", TxnEgo.txnIdToString(msg.getTxnId()),
-                                                    "partition", m_partitionId,
-                                                    "read", msg.isReadOnly(),
-                                                    "name", msg.getStoredProcedureName(),
-                                                    "hsId", CoreUtils.hsIdToString(m_mailbox.getHSId())));
+            traceLog.setThreadSortIndex(10000)
+                    .event(TRACE_INIT_SP_BEGIN)
+                    .value(m_mailbox.getHSId())
+                    .value(m_mailbox.getHSId())
+                    .value(msg.getSpHandle())
+                    .value(msg.getClientInterfaceHandle())
+                    .value(msg.getClientInterfaceHandle())
+                    .value(msg.getTxnId())
+                    .value(m_partitionId)
+                    .value(msg.isReadOnly())
+                    .value(m_mailbox.getHSId())
+                    .text(msg.getStoredProcedureName())
+                    .log();
         }
 
         final String procedureName = msg.getStoredProcedureName();
@@ -658,10 +701,12 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                 m_cl.log(msg, msg.getSpHandle(), null, m_durabilityListener, task);
 
         if (traceLog != null && durabilityBackpressureFuture != null) {
-            traceLog.add(() -> VoltTrace.beginAsync("durability",
-                                                    MiscUtils.hsIdTxnIdToString(m_mailbox.getHSId(), msg.getSpHandle()),
-                                                    "txnId", TxnEgo.txnIdToString(msg.getTxnId()),
-                                                    "partition", Integer.toString(m_partitionId)));
+            traceLog.event(Iv2Trace.DURABILITY_BEGIN)
+                    .value(m_mailbox.getHSId())
+                    .value(msg.getSpHandle())
+                    .value(msg.getTxnId())
+                    .value(m_partitionId)
+                    .log();
         }
 
         //Durability future is always null for sync command logging
@@ -713,7 +758,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                 message.getTxnId(),
                 expectedHSIds,
                 message);
-        safeAddToDuplicateCounterMap(new DuplicateCounterKey(message.getTxnId(), message.getSpHandle()), counter);
+        safeAddToDuplicateCounterMap(message.getTxnId(), message.getSpHandle(), counter);
 
         m_uniqueIdGenerator.updateMostRecentlyGeneratedUniqueId(message.getUniqueId());
         // is local repair necessary?
@@ -746,7 +791,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                 message.getTxnId(),
                 expectedHSIds,
                 message);
-        safeAddToDuplicateCounterMap(new DuplicateCounterKey(message.getTxnId(), message.getSpHandle()), counter);
+        safeAddToDuplicateCounterMap(message.getTxnId(), message.getSpHandle(), counter);
 
         // is local repair necessary?
         if (needsRepair.contains(m_mailbox.getHSId())) {
@@ -789,8 +834,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
          * possible to read an unconfirmed transaction's writes that will be lost.
          */
         final long spHandle = message.getSpHandle();
-        final DuplicateCounterKey dcKey = new DuplicateCounterKey(message.getTxnId(), spHandle);
-        DuplicateCounter counter = m_duplicateCounters.get(dcKey);
+        DuplicateCounter counter = m_duplicateCounters.get(message.getTxnId(), spHandle);
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
 
         // All reads will have no duplicate counter.
@@ -798,7 +842,12 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         // Also, don't update the truncation handle, since it won't have meaning for anyone.
         if (message.isReadOnly()) {
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync("initsp", MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), message.m_sourceHSId, message.getSpHandle(), message.getClientInterfaceHandle())));
+                traceLog.event(TRACE_INIT_SP_END)
+                        .value(m_mailbox.getHSId())
+                        .value(message.m_sourceHSId)
+                        .value(message.getSpHandle())
+                        .value(message.getClientInterfaceHandle())
+                        .log();
             }
 
             // InvocationDispatcher routes SAFE reads to SPI only
@@ -808,19 +857,19 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         }
 
         if (counter != null) {
-            String traceName = "initsp";
-            if (message.m_sourceHSId != m_mailbox.getHSId()) {
-                traceName = "replicatesp";
-            }
-            String finalTraceName = traceName;
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync(finalTraceName, MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), message.m_sourceHSId, message.getSpHandle(), message.getClientInterfaceHandle()),
-                                                      "hash", message.getClientResponseData().getHashes()[0]));
+                traceLog.event(message.m_sourceHSId != m_mailbox.getHSId() ? TRACE_REPLICATE_SP_END : TRACE_INIT_SP_END)
+                        .value(m_mailbox.getHSId())
+                        .value(message.m_sourceHSId)
+                        .value(message.getSpHandle())
+                        .value(message.getClientInterfaceHandle())
+                        .value(message.getClientResponseData().getHashes()[0])
+                        .log();
             }
 
             int result = counter.offer(message);
             if (result == DuplicateCounter.DONE) {
-                m_duplicateCounters.remove(dcKey);
+                m_duplicateCounters.remove(message.getTxnId(), spHandle);
                 setRepairLogTruncationHandle(spHandle, message.isForOldLeader());
                 m_mailbox.send(counter.m_destinationId, counter.getLastResponse());
             }
@@ -852,7 +901,12 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         }
         else {
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync("initsp", MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), message.m_sourceHSId, message.getSpHandle(), message.getClientInterfaceHandle())));
+                traceLog.event(TRACE_INIT_SP_END)
+                        .value(m_mailbox.getHSId())
+                        .value(message.m_sourceHSId)
+                        .value(message.getSpHandle())
+                        .value(message.getClientInterfaceHandle())
+                        .log();
             }
             // the initiatorHSId is the ClientInterface mailbox.
             // this will be on SPI without k-safety or replica only with k-safety
@@ -886,11 +940,15 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                 m_mailbox.getHSId(), newSpHandle, true);
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.beginAsync("recvfragment",
-                                                    MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), m_mailbox.getHSId(), newSpHandle, 0),
-                                                    "txnId", TxnEgo.txnIdToString(message.getTxnId()),
-                                                    "partition", m_partitionId,
-                                                    "hsId", CoreUtils.hsIdToString(m_mailbox.getHSId())));
+            traceLog.event(TRACE_RECV_FRAGMENT_BEGIN)
+                    .value(m_mailbox.getHSId())
+                    .value(m_mailbox.getHSId())
+                    .value(newSpHandle)
+                    .value(0)
+                    .value(message.getTxnId())
+                    .value(m_partitionId)
+                    .value(m_mailbox.getHSId())
+                    .log();
         }
 
         TransactionState txn = m_outstandingTxns.get(message.getTxnId());
@@ -976,13 +1034,16 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
              */
             if (IS_KSAFE_CLUSTER && (!message.isReadOnly() || msg.isSysProcTask())) {
                 for (long hsId : m_sendToHSIds) {
-                    FragmentTaskMessage finalMsg = msg;
                     final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
                     if (traceLog != null) {
-                        traceLog.add(() -> VoltTrace.beginAsync("replicatefragment",
-                                                                MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), hsId, finalMsg.getSpHandle(), finalMsg.getTxnId()),
-                                                                "txnId", TxnEgo.txnIdToString(finalMsg.getTxnId()),
-                                                                "dest", CoreUtils.hsIdToString(hsId)));
+                        traceLog.event(TRACE_REPLICATE_FRAGMENT_BEGIN)
+                                .value(m_mailbox.getHSId())
+                                .value(hsId)
+                                .value(msg.getSpHandle())
+                                .value(msg.getTxnId())
+                                .value(msg.getTxnId())
+                                .value(hsId)
+                                .log();
                     }
                 }
 
@@ -1016,7 +1077,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                             m_replicaHSIds,
                             replmsg);
                 }
-                safeAddToDuplicateCounterMap(new DuplicateCounterKey(message.getTxnId(), newSpHandle), counter);
+                safeAddToDuplicateCounterMap(message.getTxnId(), newSpHandle, counter);
             }
         } else {
             // message processed on replica
@@ -1038,18 +1099,19 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
      */
     private void doLocalFragmentOffer(FragmentTaskMessage msg)
     {
-        final String threadName = Thread.currentThread().getName(); // Thread name has to be materialized here
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.meta("process_name", "name", CoreUtils.getHostnameOrAddress()))
-                    .add(() -> VoltTrace.meta("thread_name", "name", threadName))
-                    .add(() -> VoltTrace.meta("thread_sort_index", "sort_index", Integer.toString(10000)))
-                    .add(() -> VoltTrace.beginAsync("recvfragment",
-                                                    MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), m_mailbox.getHSId(), msg.getSpHandle(), msg.getTxnId()),
-                                                    "txnId", TxnEgo.txnIdToString(msg.getTxnId()),
-                                                    "partition", m_partitionId,
-                                                    "hsId", CoreUtils.hsIdToString(m_mailbox.getHSId()),
-                                                    "final", msg.isFinalTask()));
+            traceLog.setThreadSortIndex(10000)
+                    .event(TRACE_RECV_FRAGMENT_BEGIN)
+                    .value(m_mailbox.getHSId())
+                    .value(m_mailbox.getHSId())
+                    .value(msg.getSpHandle())
+                    .value(msg.getTxnId())
+                    .value(msg.getTxnId())
+                    .value(m_partitionId)
+                    .value(m_mailbox.getHSId())
+                    .value(msg.isFinalTask())
+                    .log();
         }
 
         TransactionState txn = m_outstandingTxns.get(msg.getTxnId());
@@ -1096,10 +1158,12 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                              m_durabilityListener, task);
 
             if (traceLog != null && durabilityBackpressureFuture != null) {
-                traceLog.add(() -> VoltTrace.beginAsync("durability",
-                                                        MiscUtils.hsIdTxnIdToString(m_mailbox.getHSId(), msg.getSpHandle()),
-                                                        "txnId", TxnEgo.txnIdToString(msg.getTxnId()),
-                                                        "partition", Integer.toString(m_partitionId)));
+                traceLog.event(Iv2Trace.DURABILITY_BEGIN)
+                        .value(m_mailbox.getHSId())
+                        .value(msg.getSpHandle())
+                        .value(msg.getTxnId())
+                        .value(m_partitionId)
+                        .log();
             }
 
             //Durability future is always null for sync command logging
@@ -1138,14 +1202,18 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                 if (task instanceof SpProcedureTask) {
                     final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
                     if (traceLog != null) {
-                        traceLog.add(() -> VoltTrace.endAsync("durability",
-                                                              MiscUtils.hsIdTxnIdToString(m_mailbox.getHSId(), task.getSpHandle())));
+                        traceLog.event(Iv2Trace.DURABILITY_END)
+                                .value(m_mailbox.getHSId())
+                                .value(task.getSpHandle())
+                                .log();
                     }
                 } else if (task instanceof FragmentTask) {
                     final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
                     if (traceLog != null) {
-                        traceLog.add(() -> VoltTrace.endAsync("durability",
-                                                              MiscUtils.hsIdTxnIdToString(m_mailbox.getHSId(), ((FragmentTask) task).m_fragmentMsg.getSpHandle())));
+                        traceLog.event(Iv2Trace.DURABILITY_END)
+                                .value(m_mailbox.getHSId())
+                                .value(((FragmentTask) task).m_fragmentMsg.getSpHandle())
+                                .log();
                     }
                 }
 
@@ -1193,17 +1261,17 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
 
         // Send the message to the duplicate counter, if any
         DuplicateCounter counter =
-            m_duplicateCounters.get(new DuplicateCounterKey(message.getTxnId(), message.getSpHandle()));
+            m_duplicateCounters.get(message.getTxnId(), message.getSpHandle());
         final TransactionState txn = m_outstandingTxns.get(message.getTxnId());
         if (counter != null) {
-            String traceName = "recvfragment";
-            if (message.m_sourceHSId != m_mailbox.getHSId()) {
-                traceName = "replicatefragment";
-            }
-            String finalTraceName = traceName;
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.endAsync(finalTraceName, MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), message.m_sourceHSId, message.getSpHandle(), message.getTxnId()),
-                                                      "status", message.getStatusCode()));
+                traceLog.event(message.m_sourceHSId != m_mailbox.getHSId() ? TRACE_REPLICATE_FRAGMENT_END : TRACE_RECV_FRAGMENT_END)
+                        .value(m_mailbox.getHSId())
+                        .value(message.m_sourceHSId)
+                        .value(message.getSpHandle())
+                        .value(message.getTxnId())
+                        .value(message.getStatusCode())
+                        .log();
             }
 
             int result = counter.offer(message);
@@ -1212,7 +1280,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                     setRepairLogTruncationHandle(txn.m_spHandle, message.isForOldLeader());
                 }
 
-                m_duplicateCounters.remove(new DuplicateCounterKey(message.getTxnId(), message.getSpHandle()));
+                m_duplicateCounters.remove(message.getTxnId(), message.getSpHandle());
                 FragmentResponseMessage resp = (FragmentResponseMessage)counter.getLastResponse();
                 // MPI is tracking deps per partition HSID.  We need to make
                 // sure we write ours into the message getting sent to the MPI
@@ -1246,8 +1314,13 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         }
 
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.endAsync("recvfragment", MiscUtils.hsIdPairTxnIdToString(m_mailbox.getHSId(), message.m_sourceHSId, message.getSpHandle(), message.getTxnId()),
-                                                  "status", message.getStatusCode()));
+            traceLog.event(TRACE_RECV_FRAGMENT_END)
+                    .value(m_mailbox.getHSId())
+                    .value(message.m_sourceHSId)
+                    .value(message.getSpHandle())
+                    .value(message.getTxnId())
+                    .value(message.getStatusCode())
+                    .log();
         }
         m_mailbox.send(message.getDestinationSiteId(), message);
     }
@@ -1282,13 +1355,13 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         // now, fix that later.
         if (txn != null)
         {
-            CompleteTransactionMessage finalMsg = msg;
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPI);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.instant("recvCompleteTxn",
-                                                     "txnId", TxnEgo.txnIdToString(finalMsg.getTxnId()),
-                                                     "partition", Integer.toString(m_partitionId),
-                                                     "hsId", CoreUtils.hsIdToString(m_mailbox.getHSId())));
+                traceLog.event(TRACE_RECV_COMPLETE_TXN)
+                        .value(msg.getTxnId())
+                        .value(m_partitionId)
+                        .value(m_mailbox.getHSId())
+                        .log();
             }
 
             final boolean isSysproc = ((FragmentTaskMessage) txn.getNotice()).isSysProcTask();
@@ -1299,7 +1372,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                                                msg.getTxnId(),
                                                m_replicaHSIds,
                                                msg);
-                safeAddToDuplicateCounterMap(new DuplicateCounterKey(msg.getTxnId(), msg.getSpHandle()), counter);
+                safeAddToDuplicateCounterMap(msg.getTxnId(), msg.getSpHandle(), counter);
             }
 
             Iv2Trace.logCompleteTransactionMessage(msg, m_mailbox.getHSId());
@@ -1324,8 +1397,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
 
     private void handleCompleteTransactionResponseMessage(CompleteTransactionResponseMessage msg)
     {
-        final DuplicateCounterKey duplicateCounterKey = new DuplicateCounterKey(msg.getTxnId(), msg.getSpHandle());
-        DuplicateCounter counter = m_duplicateCounters.get(duplicateCounterKey);
+        DuplicateCounter counter = m_duplicateCounters.get(msg.getTxnId(), msg.getSpHandle());
         boolean txnDone = true;
 
         if (msg.isRestart()) {
@@ -1335,12 +1407,13 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         if (msg.isAborted() && counter != null) {
             // The last completion was an abort due to a repair/abort or restart/abort so we need to remove duplicate counters
             // for stale versions of the restarted Txn that never made it past the scoreboard
-            final DuplicateCounterKey lowestPossible = new DuplicateCounterKey(msg.getTxnId(), 0);
-            DuplicateCounterKey staleMatch = m_duplicateCounters.ceilingKey(lowestPossible);
-            while (staleMatch != null && staleMatch.compareTo(duplicateCounterKey) == -1) {
-                m_duplicateCounters.remove(staleMatch);
-                staleMatch = m_duplicateCounters.ceilingKey(lowestPossible);
-            };
+            final int staleMatch = m_duplicateCounters.ceilingIndex(msg.getTxnId(), 0);
+            // Removing an entry moves the next one into its position
+            while (staleMatch >= 0 && staleMatch < m_duplicateCounters.size() &&
+                    m_duplicateCounters.firstKeyAt(staleMatch) == msg.getTxnId() &&
+                    m_duplicateCounters.secondKeyAt(staleMatch) < msg.getSpHandle()) {
+                m_duplicateCounters.removeAt(staleMatch);
+            }
         }
 
         if (counter != null) {
@@ -1350,7 +1423,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         if (txnDone) {
             assert !msg.isRestart();
             final TransactionState txn = m_outstandingTxns.remove(msg.getTxnId());
-            m_duplicateCounters.remove(duplicateCounterKey);
+            m_duplicateCounters.remove(msg.getTxnId(), msg.getSpHandle());
 
             if (txn != null) {
                 // Set the truncation handle here instead of when processing
@@ -1425,14 +1498,13 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
             }
         }
         builder.append("\n  most recent SP handle: ").append(TxnEgo.txnIdToString(getCurrentTxnId()));
-        builder.append("\n  outstanding txns: ").append(TxnEgo.txnIdCollectionToString(m_outstandingTxns.keySet()));
+        builder.append("\n  outstanding txns: ").append(TxnEgo.txnIdCollectionToString(Longs.asList(m_outstandingTxns.keys())));
         builder.append("\n  ");
         m_pendingTasks.toString(builder);
         if (m_duplicateCounters.size() > 0) {
             builder.append("\n  DUPLICATE COUNTERS:\n ");
-            for (Entry<DuplicateCounterKey, DuplicateCounter> e : m_duplicateCounters.entrySet()) {
-                builder.append("  ").append(e.getKey().toString()).append(": ").append(e.getValue().toString());
-            }
+            m_duplicateCounters.forEach((txnId, spHandle, counter) ->
+                builder.append("  ").append(new DuplicateCounterKey(txnId, spHandle).toString()).append(": ").append(counter.toString()));
         }
         builder.append("END of STATE DUMP FOR SITE: ").append(who);
         hostLog.warn(builder.toString());
@@ -1459,7 +1531,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
                         msg.getTxnId(),
                         m_replicaHSIds,
                         msg);
-                safeAddToDuplicateCounterMap(new DuplicateCounterKey(msg.getTxnId(), newSpHandle), counter);
+                safeAddToDuplicateCounterMap(msg.getTxnId(), newSpHandle, counter);
             }
         } else {
             setMaxSeenTxnId(msg.getSpHandle());
@@ -1482,8 +1554,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
 
     private void handleDummyTransactionResponseMessage(DummyTransactionResponseMessage message) {
         final long spHandle = message.getSpHandle();
-        final DuplicateCounterKey dcKey = new DuplicateCounterKey(message.getTxnId(), spHandle);
-        DuplicateCounter counter = m_duplicateCounters.get(dcKey);
+        DuplicateCounter counter = m_duplicateCounters.get(message.getTxnId(), spHandle);
         if (counter == null) {
             // this will be on SPI without k-safety or replica only with k-safety
             setRepairLogTruncationHandle(spHandle, message.isForOldLeader());
@@ -1496,7 +1567,7 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         int result = counter.offer(message);
         if (result == DuplicateCounter.DONE) {
             // DummyTransactionResponseMessage ends on SPI
-            m_duplicateCounters.remove(dcKey);
+            m_duplicateCounters.remove(message.getTxnId(), spHandle);
             setRepairLogTruncationHandle(spHandle, message.isForOldLeader());
         }
     }
@@ -1598,10 +1669,10 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
      * Just using "put" on the dup counter map is unsafe.
      * It won't detect the case where keys collide from two different transactions.
      */
-    void safeAddToDuplicateCounterMap(DuplicateCounterKey dpKey, DuplicateCounter counter) {
-        DuplicateCounter existingDC = m_duplicateCounters.get(dpKey);
+    void safeAddToDuplicateCounterMap(long txnId, long spHandle, DuplicateCounter counter) {
+        DuplicateCounter existingDC = m_duplicateCounters.get(txnId, spHandle);
         if (existingDC == null) {
-            m_duplicateCounters.put(dpKey, counter);
+            m_duplicateCounters.put(txnId, spHandle, counter);
         } else {
             existingDC.logWithCollidingDuplicateCounters(counter);
             VoltDB.crashGlobalVoltDB("DUPLICATE COUNTER MISMATCH: two duplicate counter keys collided.", true, null);
@@ -1718,14 +1789,19 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         if (m_migratePartitionLeaderCheckPoint < 0) {
             return false;
         }
-        List<DuplicateCounterKey> keys = m_duplicateCounters.keySet().stream()
-                .filter(k->k.m_spHandle < m_migratePartitionLeaderCheckPoint && k.isSpTransaction()).collect(Collectors.toList());
+        List<DuplicateCounterKey> keys = new ArrayList<>();
+        for (int i = 0; i < m_duplicateCounters.size(); i++) {
+            DuplicateCounterKey k = new DuplicateCounterKey(m_duplicateCounters.firstKeyAt(i), m_duplicateCounters.secondKeyAt(i));
+            if (k.m_spHandle < m_migratePartitionLeaderCheckPoint && k.isSpTransaction()) {
+                keys.add(k);
+            }
+        }
         if (!keys.isEmpty()) {
             if (tmLog.isDebugEnabled()) {
                 StringBuilder builder = new StringBuilder();
                 for (DuplicateCounterKey dc : keys) {
                     builder.append(TxnEgo.txnIdToString(dc.m_txnId) + "(" + dc.m_spHandle + "),");
-                    DuplicateCounter counter = m_duplicateCounters.get(dc);
+                    DuplicateCounter counter = m_duplicateCounters.get(dc.m_txnId, dc.m_spHandle);
                     builder.append(counter.m_openMessage + "\n");
                 }
                 tmLog.debug("Duplicate counters on " + CoreUtils.hsIdToString(m_mailbox.getHSId()) + " have keys smaller than the sphandle:" + m_migratePartitionLeaderCheckPoint + "\n" + builder.toString());
@@ -1765,23 +1841,25 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         boolean forwarding = false;
         // HACKY HACKY HACKY, we know at this time there will be only one fragment with this txnId, so it's safe to use
         // Long.MAX_VALUE to match the duplicate counter key with the given txn id (there is only one!)
-        DuplicateCounterKey snapshotFragment = m_duplicateCounters.floorKey(new DuplicateCounterKey(txnId, Long.MAX_VALUE));
-        assert (snapshotFragment != null);
-        long snapshotSpHandle = snapshotFragment.m_spHandle;
-        for (Map.Entry<DuplicateCounterKey, DuplicateCounter> entry : m_duplicateCounters.entrySet()) {
+        int snapshotFragment = m_duplicateCounters.floorIndex(txnId, Long.MAX_VALUE);
+        assert (snapshotFragment >= 0);
+        long snapshotTxnId = m_duplicateCounters.firstKeyAt(snapshotFragment);
+        long snapshotSpHandle = m_duplicateCounters.secondKeyAt(snapshotFragment);
+        for (int i = 0; i < m_duplicateCounters.size(); i++) {
             // First find the mp fragment currently running
-            if (!forwarding && entry.getKey().m_spHandle > snapshotSpHandle) {
+            if (!forwarding && m_duplicateCounters.secondKeyAt(i) > snapshotSpHandle) {
                 forwarding = true;
                 if (tmLog.isDebugEnabled()) {
                     tmLog.debug("Start forwarding pending tasks to rejoin node.");
                 }
             }
             // Then forward any message after the MP txn, I expect them are all Iv2InitiateMessages
-            if (forwarding && entry.getKey().m_txnId != snapshotFragment.m_txnId) {
+            if (forwarding && m_duplicateCounters.firstKeyAt(i) != snapshotTxnId) {
+                DuplicateCounter counter = m_duplicateCounters.valueAt(i);
                 if (tmLog.isDebugEnabled()) {
-                    tmLog.debug(entry.getValue().getOpenMessage().getMessageInfo());
+                    tmLog.debug(counter.getOpenMessage().getMessageInfo());
                 }
-                m_mailbox.send(replicasAdded, entry.getValue().getOpenMessage());
+                m_mailbox.send(replicasAdded, counter.getOpenMessage());
             }
         }
         if (forwarding) {
@@ -1802,18 +1880,16 @@ public class SpScheduler extends Scheduler implements SnapshotCompletionInterest
         if (m_isLeader && m_sendToHSIds.length > 0) {
             m_mailbox.send(m_sendToHSIds, new MPBacklogFlushMessage());
         }
-        Iterator<Entry<Long, TransactionState>> iter = m_outstandingTxns.entrySet().iterator();
-        while (iter.hasNext()) {
-            Entry<Long, TransactionState> entry = iter.next();
-            TransactionState txnState = entry.getValue();
-            if (TxnEgo.getPartitionId(entry.getKey()) == MpInitiator.MP_INIT_PID ) {
+        m_outstandingTxns.removeIf((txnId, txnState) -> {
+            if (TxnEgo.getPartitionId(txnId) == MpInitiator.MP_INIT_PID ) {
                 if (txnState.isReadOnly()) {
                     txnState.setDone();
-                    m_duplicateCounters.entrySet().removeIf((e) -> e.getKey().m_txnId == entry.getKey());
-                    iter.remove();
+                    m_duplicateCounters.removeIf((dcTxnId, spHandle, counter) -> dcTxnId == txnId);
+                    return true;
                 }
             }
-        }
+            return false;
+        });
 
         // flush all RO transactions out of backlog
         m_pendingTasks.removeMPReadTransactions();
@@ -227,10 +227,11 @@ public class SysprocFragmentTask extends FragmentTaskBase
 
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPSITE);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.beginDuration("runfragmenttask",
-                                                           "txnId", TxnEgo.txnIdToString(getTxnId()),
-                                                           "partition", Integer.toString(siteConnection.getCorrespondingPartitionId()),
-                                                           "fragmentId", String.valueOf(fragmentId)));
+                traceLog.event(Iv2Trace.RUN_FRAGMENT_TASK)
+                        .value(getTxnId())
+                        .value(siteConnection.getCorrespondingPartitionId())
+                        .value(fragmentId)
+                        .log();
             }
 
             ParameterSet params = m_fragmentMsg.getParameterSetForFragment(frag);
@@ -312,7 +313,7 @@ public class SysprocFragmentTask extends FragmentTaskBase
             }
 
             if (traceLog != null) {
-                traceLog.add(VoltTrace::endDuration);
+                traceLog.event(VoltTrace.END_DURATION).log();
             }
         }
 
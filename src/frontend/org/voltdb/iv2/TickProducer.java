@@ -74,12 +74,10 @@ public class TickProducer extends SiteTasker implements Runnable
     {
         m_taskQueue.offer(this);
         // check if previous task is running for more than threshold
-        SiteTasker task = m_taskQueue.peek();
+        // only the site thread may peek at its queue, use the offer time it publishes
         long currentTime = System.nanoTime();
-        long headOfQueueOfferTime;
-        if (task != null) {
-            headOfQueueOfferTime = task.getQueueOfferTime();
-        } else {
+        long headOfQueueOfferTime = m_taskQueue.getHeadOfferTime();
+        if (headOfQueueOfferTime == 0) {
             headOfQueueOfferTime = currentTime;
         }
         if (headOfQueueOfferTime != m_previousTaskTimestamp) {
@@ -88,8 +86,8 @@ public class TickProducer extends SiteTasker implements Runnable
         } else if (currentTime - m_previousTaskPeekTime >= m_procedureLogThreshold) {
             long waitTime = (currentTime - m_previousTaskPeekTime)/1_000_000_000L; // in seconds
             if (m_logger.isDebugEnabled()) {
-                String taskInfo = (task == null) ? "" : " Task Info: " + task.getTaskInfo();
-                m_logger.rateLimitedLog(SUPPRESS_INTERVAL, Level.DEBUG, null, TICK_MESSAGE + taskInfo, waitTime, m_partitionId);
+                String queueInfo = " Tasks waiting: " + m_taskQueue.size();
+                m_logger.rateLimitedLog(SUPPRESS_INTERVAL, Level.DEBUG, null, TICK_MESSAGE + queueInfo, waitTime, m_partitionId);
             } else {
                 m_logger.rateLimitedLog(SUPPRESS_INTERVAL, Level.INFO, null, TICK_MESSAGE, waitTime, m_partitionId);
             }
@@ -45,10 +45,18 @@ public class JDBC4Connection implements java.sql.Connection, IVoltDBConnection
     public static final String COMMIT_THROW_EXCEPTION = "jdbc.committhrowexception";
     public static final String ROLLBACK_THROW_EXCEPTION = "jdbc.rollbackthrowexception";
     public static final String QUERYTIMEOUT_UNIT = "jdbc.querytimeout.unit";
+    // How many executions of one statement of a batch, such as the parameter sets of a
+    // PreparedStatement, may be in flight at once. The default of 1 runs a batch one
+    // statement at a time, in order, and stops at the first failure. Above 1, executions of
+    // one statement may run in any order, and a batch runs to its end after a failure.
+    // Different statements always run one at a time, in order.
+    public static final String BATCH_INFLIGHT = "jdbc.batch.inflight";
+    public static final int DEFAULT_BATCH_INFLIGHT = 1;
 
     protected final JDBC4ClientConnection NativeConnection;
     protected final String User;
     protected TimeUnit queryTimeOutUnit = TimeUnit.SECONDS;
+    protected final int batchInFlight;
     private boolean isClosed = false;
     private Properties props;
     private boolean autoCommit = true;
@@ -61,6 +69,13 @@ public class JDBC4Connection implements java.sql.Connection, IVoltDBConnection
         if (this.props.getProperty(JDBC4Connection.QUERYTIMEOUT_UNIT, "Seconds").equalsIgnoreCase("milliseconds")) {
             this.queryTimeOutUnit = TimeUnit.MILLISECONDS;
         }
+        int inFlight = DEFAULT_BATCH_INFLIGHT;
+        try {
+            inFlight = Integer.parseInt(this.props.getProperty(BATCH_INFLIGHT, String.valueOf(DEFAULT_BATCH_INFLIGHT)).trim());
+        } catch (NumberFormatException e) {
+            // keep the default
+        }
+        this.batchInFlight = Math.max(1, inFlight);
     }
 
     private void checkClosed() throws SQLException
@@ -208,7 +223,9 @@ public class JDBC4Connection implements java.sql.Connection, IVoltDBConnection
         checkClosed();
         // Reject options that don't coincide with normal VoltDB behavior.
         checkCreateStatementSupported(resultSetType, resultSetConcurrency);
-        return createStatement();
+        JDBC4Statement statement = (JDBC4Statement) createStatement();
+        statement.resultSetType = resultSetType;
+        return statement;
     }
 
     // Creates a Statement object that will generate ResultSet objects with the given type, concurrency, and holdability.
@@ -218,7 +235,9 @@ public class JDBC4Connection implements java.sql.Connection, IVoltDBConnection
         checkClosed();
         // Reject options that don't coincide with normal VoltDB behavior.
         checkCreateStatementSupported(resultSetType, resultSetConcurrency, resultSetHoldability);
-        return createStatement();
+        JDBC4Statement statement = (JDBC4Statement) createStatement();
+        statement.resultSetType = resultSetType;
+        return statement;
     }
 
     // Factory method for creating Struct objects.
@@ -388,7 +407,9 @@ public class JDBC4Connection implements java.sql.Connection, IVoltDBConnection
     {
         if ((resultSetType == ResultSet.TYPE_SCROLL_INSENSITIVE || resultSetType == ResultSet.TYPE_FORWARD_ONLY) &&
                 resultSetConcurrency == ResultSet.CONCUR_READ_ONLY) {
-            return prepareStatement(sql);
+            JDBC4PreparedStatement statement = (JDBC4PreparedStatement) prepareStatement(sql);
+            statement.resultSetType = resultSetType;
+            return statement;
         }
         checkClosed();
         throw SQLError.noSupport();
@@ -0,0 +1,189 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.jdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.voltdb.VoltTable;
+
+// A forward only ResultSet over a cursor kept by the server (see @AdHocCursor).
+// It holds one page of fetchSize rows at a time. While the rows of a page are read,
+// the next page is already being fetched with @CursorFetch.
+class JDBC4CursorResultSet extends JDBC4ResultSet {
+    private final JDBC4ClientConnection connection;
+    private final long timeout;
+    private final TimeUnit timeoutUnit;
+    private final int maxRows;
+    private long cursorId = 0;
+    private long rowsRemaining = 0;
+    private int rowsBefore = 0;     // rows of the pages before the current one
+    private int rowsRead = 0;
+    private JDBC4PendingResponse nextPage = null;
+
+    JDBC4CursorResultSet(Statement sourceStatement, VoltTable[] opened, JDBC4ClientConnection connection,
+            long timeout, TimeUnit timeoutUnit, int fetchSize, int maxRows) throws SQLException {
+        super(sourceStatement, opened[0]);
+        this.connection = connection;
+        this.timeout = timeout;
+        this.timeoutUnit = timeoutUnit;
+        this.maxRows = maxRows;
+        setFetchSize(fetchSize);
+        readCursor(opened[1]);
+        fetchNextPage();
+    }
+
+    private void readCursor(VoltTable cursor) {
+        cursor.resetRowPosition();
+        cursor.advanceRow();
+        this.cursorId = cursor.getLong(0);
+        this.rowsRemaining = cursor.getLong(1);
+    }
+
+    // Ask for the page after the current one, unless there is none or maxRows is reached.
+    private void fetchNextPage() throws SQLException {
+        if (this.rowsRemaining == 0 || (this.maxRows > 0 && this.rowsBefore + this.table.getRowCount() >= this.maxRows)) {
+            return;
+        }
+        this.nextPage = new JDBC4PendingResponse();
+        try {
+            if (!this.connection.executeAsync(this.nextPage, this.timeout, this.timeoutUnit,
+                    "@CursorFetch", this.cursorId, (byte) 0)) {
+                this.nextPage.setSubmitFailure(SQLError.get(SQLError.CONNECTION_FAILURE, "Unable to queue client request."));
+            }
+        } catch (IOException e) {
+            this.nextPage.setSubmitFailure(SQLError.get(e, SQLError.CONNECTION_FAILURE, e.getMessage()));
+        }
+    }
+
+    // Move to the page fetched in the background.
+    private boolean moveToNextPage() throws SQLException {
+        if (this.nextPage == null) {
+            return false;
+        }
+        VoltTable[] results = this.nextPage.getResults();
+        this.nextPage = null;
+        this.rowsBefore += this.table.getRowCount();
+        setTable(results[0]);
+        readCursor(results[1]);
+        fetchNextPage();
+        return true;
+    }
+
+    // Tell the server to drop the cursor when its rows are not all read. Failures are
+    // ignored, the server drops idle cursors anyway.
+    private void releaseCursor() {
+        if (this.cursorId != 0 && this.rowsRemaining > 0) {
+            try {
+                this.connection.executeAsync(new JDBC4PendingResponse(), this.timeout, this.timeoutUnit,
+                        "@CursorFetch", this.cursorId, (byte) 1);
+            } catch (IOException e) {
+            }
+        }
+        this.cursorId = 0;
+        this.nextPage = null;
+    }
+
+    // Moves the cursor forward one row from its current position.
+    @Override
+    public boolean next() throws SQLException {
+        checkClosed();
+        if (this.maxRows > 0 && this.rowsRead >= this.maxRows) {
+            super.afterLast();
+            releaseCursor();
+            return false;
+        }
+        while (!super.next()) {
+            if (!moveToNextPage()) {
+                return false;
+            }
+        }
+        this.rowsRead++;
+        return true;
+    }
+
+    // Retrieves the current row number.
+    @Override
+    public int getRow() throws SQLException {
+        int row = super.getRow();
+        return row == 0 ? 0 : this.rowsBefore + row;
+    }
+
+    // Retrieves whether the cursor is on the last row of this ResultSet object.
+    @Override
+    public boolean isLast() throws SQLException {
+        if (getRow() == 0) {
+            return false;
+        }
+        return (this.maxRows > 0 && this.rowsRead == this.maxRows) ||
+               (super.isLast() && this.nextPage == null);
+    }
+
+    // Retrieves the type of this ResultSet object.
+    @Override
+    public int getType() throws SQLException {
+        return TYPE_FORWARD_ONLY;
+    }
+
+    // Releases this ResultSet object's database and JDBC resources immediately.
+    @Override
+    public void close() throws SQLException {
+        if (!isClosed()) {
+            releaseCursor();
+        }
+        super.close();
+    }
+
+    // The rows of earlier pages are gone, so the cursor only moves forward.
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        throw SQLError.noSupport();
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        throw SQLError.noSupport();
+    }
+}
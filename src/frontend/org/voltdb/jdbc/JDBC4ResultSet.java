@@ -82,6 +82,13 @@ public class JDBC4ResultSet implements java.sql.ResultSet {
         }
     }
 
+    // Replaces the rows of this ResultSet, with the cursor before the first new row.
+    protected void setTable(VoltTable sourceTable) {
+        table = sourceTable;
+        rowCount = table.getRowCount();
+        cursorPosition = Position.beforeFirst;
+    }
+
     protected final void checkClosed() throws SQLException {
         if (this.isClosed())
             throw SQLError.get(SQLError.CONNECTION_CLOSED);
@@ -34,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 import org.voltdb.VoltTable;
 import org.voltdb.VoltType;
 import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureCallback;
 import org.voltdb.client.ProcCallException;
 import org.voltdb.parser.JDBCParser;
 import org.voltdb.parser.SQLLexer;
@@ -93,6 +94,19 @@ public class JDBC4Statement implements java.sql.Statement
             return this.parameterCount;
         }
 
+        // Whether both run the same statement, possibly with different parameters
+        public boolean isSameStatement(VoltSQL other)
+        {
+            if (this.type != other.type || this.queryType != other.queryType || !this.sql[0].equals(other.sql[0])) {
+                return false;
+            }
+            // a prepared ad hoc statement passes its sql as the first parameter
+            if (this.type == TYPE_EXEC && "@AdHoc".equals(this.sql[0])) {
+                return this.parameters[0].equals(other.parameters[0]);
+            }
+            return true;
+        }
+
         public boolean isOfType(int... types)
         {
             for(int i=0;i<types.length;i++) {
@@ -114,36 +128,55 @@ public class JDBC4Statement implements java.sql.Statement
         }
 
         protected VoltTable[] execute(JDBC4ClientConnection connection, long timeout, TimeUnit queryTimeOutUnit) throws SQLException {
+            if (this.type == TYPE_EXEC) {
+                return call(connection, timeout, queryTimeOutUnit, this.sql[0], this.parameters);
+            } else {
+                return call(connection, timeout, queryTimeOutUnit, "@AdHoc", this.sql[0]);
+            }
+        }
+
+        /**
+         * @return true if the statement is an ad hoc SELECT, which can be read through a cursor
+         */
+        public boolean isCursorQuery()
+        {
+            if (this.type == TYPE_EXEC) {
+                return this.queryType == TYPE_SELECT && "@AdHoc".equals(this.sql[0]);
+            }
+            return this.type == TYPE_SELECT;
+        }
+
+        /**
+         * Run the query into a cursor kept by the server.
+         * @return the first page of rows, then the cursor id and the number of rows left
+         */
+        protected VoltTable[] openCursor(JDBC4ClientConnection connection, int fetchSize, long timeout, TimeUnit queryTimeOutUnit)
+                throws SQLException {
+            assert(isCursorQuery());
+            Object[] params;
+            if (this.type == TYPE_EXEC) {
+                // the parameters are the query, then its parameters
+                params = new Object[this.parameters.length + 1];
+                params[0] = this.parameters[0];
+                params[1] = fetchSize;
+                System.arraycopy(this.parameters, 1, params, 2, this.parameters.length - 1);
+            } else {
+                params = new Object[] { this.sql[0], fetchSize };
+            }
+            return call(connection, timeout, queryTimeOutUnit, "@AdHocCursor", params);
+        }
+
+        private static VoltTable[] call(JDBC4ClientConnection connection, long timeout, TimeUnit queryTimeOutUnit,
+                String procedure, Object... params) throws SQLException {
             try
             {
-                if (this.type == TYPE_EXEC) {
-                    return connection.execute(this.sql[0], timeout, queryTimeOutUnit, this.parameters).getResults();
-                } else {
-                    return connection.execute("@AdHoc", timeout, queryTimeOutUnit, this.sql[0]).getResults();
-                }
+                return connection.execute(procedure, timeout, queryTimeOutUnit, params).getResults();
             }
             catch(ProcCallException e)
             {
                 ClientResponse response = e.getClientResponse();
                 if (response != null) {
-                    // Map response status to specific JDBC exception, mostly GENERAL_ERROR except
-                    // for connection problems.
-                    switch (response.getStatus()) {
-                    case ClientResponse.CONNECTION_LOST:
-                        throw SQLError.get(e, SQLError.CONNECTION_CLOSED, "CONNECTION_LOST", e.getMessage());
-                    case ClientResponse.CONNECTION_TIMEOUT:
-                        throw SQLError.get(e, SQLError.CONNECTION_FAILURE, "CONNECTION_TIMEOUT", e.getMessage());
-                    case ClientResponse.SERVER_UNAVAILABLE:
-                        throw SQLError.get(e, SQLError.CONNECTION_FAILURE, "CONNECTION_UNAVAILABLE", e.getMessage());
-                    case ClientResponse.USER_ABORT:
-                        throw SQLError.get(e, SQLError.GENERAL_ERROR, "USER_ABORT", e.getMessage());
-                    case ClientResponse.UNEXPECTED_FAILURE:
-                        throw SQLError.get(e, SQLError.GENERAL_ERROR, "UNEXPECTED_FAILURE", e.getMessage());
-                    case ClientResponse.GRACEFUL_FAILURE:
-                        throw SQLError.get(e, SQLError.GENERAL_ERROR, "GRACEFUL_FAILURE", e.getMessage());
-                    default:
-                        throw SQLError.get(e, SQLError.GENERAL_ERROR, String.format("status=%d", (int)response.getStatus()), e.getMessage());
-                    }
+                    throw getResponseError(e, response.getStatus(), e.getMessage());
                 } else {
                     throw SQLError.get(e, SQLError.GENERAL_ERROR, e.getMessage());
                 }
@@ -154,6 +187,61 @@ public class JDBC4Statement implements java.sql.Statement
             }
         }
 
+        /**
+         * Send the statement without waiting for its response, which is passed to the callback.
+         */
+        protected void executeAsync(JDBC4ClientConnection connection, long timeout, TimeUnit queryTimeOutUnit,
+                ProcedureCallback callback) throws SQLException {
+            try
+            {
+                boolean queued;
+                if (this.type == TYPE_EXEC) {
+                    queued = connection.executeAsync(callback, timeout, queryTimeOutUnit, this.sql[0], this.parameters);
+                } else {
+                    queued = connection.executeAsync(callback, timeout, queryTimeOutUnit, "@AdHoc", this.sql[0]);
+                }
+                if (!queued) {
+                    throw getResponseError(null, ClientResponse.GRACEFUL_FAILURE, "Unable to queue client request.");
+                }
+            }
+            catch(IOException e)
+            {
+                throw SQLError.get(e, SQLError.CONNECTION_FAILURE, e.getMessage());
+            }
+        }
+
+        /**
+         * @return the results of a response, as {@link #execute} returns them
+         * @throws SQLException if the response is not a success, as {@link #execute} throws it
+         */
+        protected static VoltTable[] getResults(ClientResponse response) throws SQLException {
+            if (response.getStatus() != ClientResponse.SUCCESS) {
+                throw getResponseError(null, response.getStatus(), response.getStatusString());
+            }
+            return response.getResults();
+        }
+
+        // Map response status to specific JDBC exception, mostly GENERAL_ERROR except
+        // for connection problems.
+        private static SQLException getResponseError(Throwable cause, byte status, String message) {
+            switch (status) {
+            case ClientResponse.CONNECTION_LOST:
+                return SQLError.get(cause, SQLError.CONNECTION_CLOSED, "CONNECTION_LOST", message);
+            case ClientResponse.CONNECTION_TIMEOUT:
+                return SQLError.get(cause, SQLError.CONNECTION_FAILURE, "CONNECTION_TIMEOUT", message);
+            case ClientResponse.SERVER_UNAVAILABLE:
+                return SQLError.get(cause, SQLError.CONNECTION_FAILURE, "CONNECTION_UNAVAILABLE", message);
+            case ClientResponse.USER_ABORT:
+                return SQLError.get(cause, SQLError.GENERAL_ERROR, "USER_ABORT", message);
+            case ClientResponse.UNEXPECTED_FAILURE:
+                return SQLError.get(cause, SQLError.GENERAL_ERROR, "UNEXPECTED_FAILURE", message);
+            case ClientResponse.GRACEFUL_FAILURE:
+                return SQLError.get(cause, SQLError.GENERAL_ERROR, "GRACEFUL_FAILURE", message);
+            default:
+                return SQLError.get(cause, SQLError.GENERAL_ERROR, String.format("status=%d", (int)status), message);
+            }
+        }
+
         public static boolean isUpdateResult(VoltTable table)
         {
             return ((table.getColumnName(0).length() == 0 || table.getColumnName(0).equals("modified_tuples"))&& table.getRowCount() == 1 && table.getColumnCount() == 1 && table.getColumnType(0) == VoltType.BIGINT);
@@ -231,6 +319,8 @@ public class JDBC4Statement implements java.sql.Statement
     protected boolean isClosed = false;
     private int fetchDirection = ResultSet.FETCH_FORWARD;
     private int fetchSize = 0;
+    // TYPE_FORWARD_ONLY only when asked for, the results are scrollable otherwise
+    protected int resultSetType = ResultSet.TYPE_SCROLL_INSENSITIVE;
     private final int maxFieldSize = VoltType.MAX_VALUE_LENGTH;
     private int maxRows = VoltTable.MAX_SERIALIZED_TABLE_LENGTH/2; // Not exactly true, but best type of estimate we can give...
     protected JDBC4Connection sourceConnection;
@@ -368,7 +458,7 @@ public class JDBC4Statement implements java.sql.Statement
         checkClosed();
         if (query.isQueryOfType(VoltSQL.TYPE_SELECT,VoltSQL.TYPE_EXEC))
         {
-            setCurrentResult(query.execute(this.sourceConnection.NativeConnection, this.m_timeout,this.sourceConnection.queryTimeOutUnit), -1);
+            executeSelect(query);
             return true;
         }
         else
@@ -421,31 +511,71 @@ public class JDBC4Statement implements java.sql.Statement
             return new int[0];
         }
 
-        int[] updateCounts = new int[batch.size()];
+        final int size = batch.size();
+        final int window = sourceConnection.batchInFlight;
+        final JDBC4PendingResponse[] responses = new JDBC4PendingResponse[size];
+        int[] updateCounts = new int[size];
         // keep a running total of update counts
         int runningUpdateCount = 0;
 
-        int i = 0;
+        // With a window of one, the statements run one at a time. Nothing is sent
+        // after a failed statement, and the update counts of the BatchUpdateException
+        // cover the statements before it.
+        // With a larger window, repeated executions of one statement, such as the
+        // parameter sets of a PreparedStatement, are sent without waiting for the
+        // previous responses, up to window of them at a time, and may run in any
+        // order. A different statement is only sent once every statement before it
+        // has completed. As executions sent after a failed one run anyway, the whole
+        // batch is run, and the update counts of the BatchUpdateException have one
+        // entry per statement, EXECUTE_FAILED for each one that failed.
+        // The responses are collected in order either way.
+        final boolean pipelined = window > 1;
+        SQLException failure = null;
+        int firstFailed = -1;
+        boolean stopSending = false;
+        int sent = 0;
+        int received = 0;
         try {
-            for (; i < batch.size(); i++) {
-
-                setCurrentResult(
-                        null,
-                        (int) batch.get(i).execute(
+            while (received < sent || (sent < size && !stopSending)) {
+                if (sent < size && !stopSending && sent - received < window &&
+                        (sent == received || batch.get(sent).isSameStatement(batch.get(sent - 1)))) {
+                    responses[sent] = new JDBC4PendingResponse();
+                    try {
+                        batch.get(sent).executeAsync(
                                 sourceConnection.NativeConnection,
                                 this.m_timeout,
-                                sourceConnection.queryTimeOutUnit)[0].fetchRow(
-                                0).getLong(0));
-                updateCounts[i] = this.lastUpdateCount;
-                runningUpdateCount += this.lastUpdateCount;
+                                sourceConnection.queryTimeOutUnit,
+                                responses[sent]);
+                    } catch (SQLException x) {
+                        // this one fails when its turn comes
+                        responses[sent].setSubmitFailure(x);
+                    }
+                    sent++;
+                    continue;
+                }
+                try {
+                    setCurrentResult(null, (int) responses[received].getResults()[0].fetchRow(0).getLong(0));
+                    updateCounts[received] = this.lastUpdateCount;
+                    runningUpdateCount += this.lastUpdateCount;
+                } catch (SQLException x) {
+                    updateCounts[received] = EXECUTE_FAILED;
+                    if (failure == null) {
+                        failure = x;
+                        firstFailed = received;
+                    }
+                    else {
+                        failure.setNextException(x);
+                    }
+                    stopSending = !pipelined;
+                }
+                received++;
             }
-        } catch (SQLException x) {
-            updateCounts[i] = EXECUTE_FAILED;
-            throw new BatchUpdateException(Arrays.copyOf(updateCounts, i + 1),
-                    x);
         } finally {
             clearBatch();
         }
+        if (failure != null) {
+            throw new BatchUpdateException(pipelined ? updateCounts : Arrays.copyOf(updateCounts, firstFailed), failure);
+        }
         // replace the update count from the last statement with the update count
         // from the last batch.
         this.lastUpdateCount = runningUpdateCount;
@@ -455,10 +585,28 @@ public class JDBC4Statement implements java.sql.Statement
 
     protected ResultSet executeQuery(VoltSQL query) throws SQLException
     {
-        setCurrentResult(query.execute(this.sourceConnection.NativeConnection, this.m_timeout, this.sourceConnection.queryTimeOutUnit), -1);
+        executeSelect(query);
         return this.result;
     }
 
+    // With a fetch size set on a TYPE_FORWARD_ONLY statement, ad hoc queries are read
+    // through a cursor kept by the server, one page of fetchSize rows at a time.
+    private void executeSelect(VoltSQL query) throws SQLException
+    {
+        if (this.resultSetType == ResultSet.TYPE_FORWARD_ONLY && this.fetchSize > 0 && query.isCursorQuery()) {
+            VoltTable[] opened = query.openCursor(this.sourceConnection.NativeConnection, this.fetchSize,
+                    this.m_timeout, this.sourceConnection.queryTimeOutUnit);
+            setCurrentResult(null, -1);
+            this.tableResults = new VoltTable[] { opened[0] };
+            this.tableResultIndex = 0;
+            this.result = new JDBC4CursorResultSet(this, opened, this.sourceConnection.NativeConnection,
+                    this.m_timeout, this.sourceConnection.queryTimeOutUnit, this.fetchSize, this.maxRows);
+        }
+        else {
+            setCurrentResult(query.execute(this.sourceConnection.NativeConnection, this.m_timeout, this.sourceConnection.queryTimeOutUnit), -1);
+        }
+    }
+
     // Executes the given SQL statement, which returns a single ResultSet object.
     @Override
     public ResultSet executeQuery(String sql) throws SQLException
@@ -646,7 +794,7 @@ public class JDBC4Statement implements java.sql.Statement
     public int getResultSetType() throws SQLException
     {
         checkClosed();
-        return ResultSet.TYPE_SCROLL_INSENSITIVE;
+        return this.resultSetType;
     }
 
     // Retrieves the current result as an update count; if the result is a ResultSet object or there are no more results, -1 is returned.
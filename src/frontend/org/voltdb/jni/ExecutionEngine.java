@@ -67,6 +67,14 @@ public abstract class ExecutionEngine implements FastDeserializer.Deserializatio
 
     protected static VoltLogger LOG = new VoltLogger("HOST");
 
+    // The EE names its own trace events, the name is the first text
+    private static final VoltTrace.TracePoint TRACE_EE_BEGIN =
+            VoltTrace.TracePoint.beginDuration(null).arg("partition").text("info");
+    private static final VoltTrace.TracePoint TRACE_EXEC_PLAN_FRAGMENT =
+            VoltTrace.TracePoint.beginDuration("execplanfragment")
+                                .arg("txnId", TxnEgo::txnIdToString)
+                                .arg("partition");
+
     public static enum TaskType {
         VALIDATE_PARTITIONING(0),
         GET_DR_TUPLESTREAM_STATE(1),
@@ -174,6 +182,10 @@ public abstract class ExecutionEngine implements FastDeserializer.Deserializatio
         m_functionManager.loadFunctions(catalogContext);
     }
 
+    public UserDefinedFunctionManager getFunctionManager() {
+        return m_functionManager;
+    }
+
     /** Make the EE clean and ready to do new transactional work. */
     public void resetDirtyStatus() {
         m_dirty = false;
@@ -417,14 +429,16 @@ public abstract class ExecutionEngine implements FastDeserializer.Deserializatio
         if (isBegin) {
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.EE);
             if (traceLog != null) {
-                traceLog.add(() -> VoltTrace.beginDuration(name,
-                                                           "partition", Integer.toString(m_partitionId),
-                                                           "info", args));
+                traceLog.event(TRACE_EE_BEGIN)
+                        .value(m_partitionId)
+                        .text(name)
+                        .text(args)
+                        .log();
             }
         } else {
             final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.EE);
             if (traceLog != null) {
-                traceLog.add(VoltTrace::endDuration);
+                traceLog.event(VoltTrace.END_DURATION).log();
             }
         }
     }
@@ -674,9 +688,10 @@ public abstract class ExecutionEngine implements FastDeserializer.Deserializatio
             if (traceOn) {
                 final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPSITE);
                 if (traceLog != null) {
-                    traceLog.add(() -> VoltTrace.beginDuration("execplanfragment",
-                                                               "txnId", TxnEgo.txnIdToString(txnId),
-                                                               "partition", Integer.toString(m_partitionId)));
+                    traceLog.event(TRACE_EXEC_PLAN_FRAGMENT)
+                            .value(txnId)
+                            .value(m_partitionId)
+                            .log();
                 }
             }
 
@@ -687,7 +702,7 @@ public abstract class ExecutionEngine implements FastDeserializer.Deserializatio
             if (traceOn) {
                 final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.SPSITE);
                 if (traceLog != null) {
-                    traceLog.add(VoltTrace::endDuration);
+                    traceLog.event(VoltTrace.END_DURATION).log();
                 }
             }
 
@@ -20,7 +20,6 @@ package org.voltdb.jni;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
@@ -37,6 +36,7 @@ import org.voltdb.PrivateVoltTableFactory;
 import org.voltdb.StatsSelector;
 import org.voltdb.TableStreamType;
 import org.voltdb.TheHashinator.HashinatorConfig;
+import org.voltdb.UserDefinedFunctionManager.BatchResult;
 import org.voltdb.UserDefinedFunctionManager.UserDefinedFunctionRunner;
 import org.voltdb.VoltTable;
 import org.voltdb.common.Constants;
@@ -338,26 +338,21 @@ public class ExecutionEngineIPC extends ExecutionEngine {
                 UserDefinedFunctionRunner udfRunner = m_functionManager.getFunctionRunnerById(functionId);
                 assert(udfRunner != null);
                 Throwable throwable = null;
-                Object returnValue = null;
                 try {
-                    // Call the user-defined function.
-                    returnValue = udfRunner.call(udfBuffer);
+                    // Call the user-defined function on every row of parameters in the buffer.
+                    BatchResult result = udfRunner.call(udfBuffer);
+                    verifyDataCapacity(4 + result.getSerializedSize());
                     m_data.clear();
                     // Put the status code for success (zero) into the buffer.
                     m_data.putInt(0);
-                    // Write the result to the buffer.
-                    UserDefinedFunctionRunner.writeValueToBuffer(m_data, udfRunner.getReturnType(), returnValue);
+                    // Write the results to the buffer.
+                    result.writeToBuffer(m_data);
                     m_data.flip();
                     m_connection.write();
                     return;
                 }
-                catch (InvocationTargetException ex1) {
-                    // Exceptions thrown during Java reflection will be wrapped into this InvocationTargetException.
-                    // We need to get its cause and throw that to the user.
-                    throwable = ex1.getCause();
-                }
-                catch (Throwable ex2) {
-                    throwable = ex2;
+                catch (Throwable ex) {
+                    throwable = ex;
                 }
                 // Getting here means the execution was not successful.
                 m_data.clear();
@@ -18,10 +18,10 @@
 package org.voltdb.jni;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import org.voltcore.utils.CoreUtils;
 import org.voltcore.utils.DBBPool;
 import org.voltcore.utils.DBBPool.BBContainer;
 import org.voltcore.utils.Pair;
@@ -30,19 +30,19 @@ import org.voltdb.PrivateVoltTableFactory;
 import org.voltdb.StatsSelector;
 import org.voltdb.TableStreamType;
 import org.voltdb.TheHashinator.HashinatorConfig;
+import org.voltdb.UserDefinedFunctionManager.BatchResult;
 import org.voltdb.UserDefinedFunctionManager.UserDefinedFunctionRunner;
 import org.voltdb.VoltDB;
 import org.voltdb.VoltTable;
-import org.voltdb.VoltType;
 import org.voltdb.common.Constants;
 import org.voltdb.exceptions.EEException;
 import org.voltdb.exceptions.SerializableException;
 import org.voltdb.iv2.DeterminismHash;
 import org.voltdb.largequery.BlockId;
+import org.voltdb.largequery.CursorManager;
 import org.voltdb.largequery.LargeBlockTask;
 import org.voltdb.messaging.FastDeserializer;
 import org.voltdb.sysprocs.saverestore.SnapshotUtil;
-import org.voltdb.types.GeographyValue;
 import org.voltdb.utils.SerializationHelper;
 
 import com.google_voltpatches.common.base.Throwables;
@@ -776,57 +776,29 @@ public class ExecutionEngineJNI extends ExecutionEngine {
         UserDefinedFunctionRunner udfRunner = m_functionManager.getFunctionRunnerById(functionId);
         assert(udfRunner != null);
         Throwable throwable = null;
-        Object returnValue = null;
         try {
-            // Call the user-defined function.
-            returnValue = udfRunner.call(m_udfBuffer);
+            // Call the user-defined function on every row of parameters in the buffer.
+            BatchResult result = udfRunner.call(m_udfBuffer);
 
-            VoltType returnType = udfRunner.getReturnType();
-            // If the function we are running returns variable-length return value,
-            // it may be possible that the buffer is not large enough to hold it.
+            // If the function we are running returns variable-length return values,
+            // it may be possible that the buffer is not large enough to hold them.
             // Check the required buffer size and enlarge the existing buffer when necessary.
             // The default buffer size is 256K, which is more than enough for any
             // fixed-length data and NULL variable-length data (the buffer size will not go less than 256K).
-            if (returnType.isVariableLength() && ! VoltType.isVoltNullValue(returnValue)) {
-                // The minimum required size is 5 bytes:
-                // 1 byte for the type indicator, 4 bytes for the prefixed length.
-                int sizeRequired = 1 + 4;
-                switch(returnType) {
-                case VARBINARY:
-                    if (returnValue instanceof byte[]) {
-                        sizeRequired += ((byte[])returnValue).length;
-                    }
-                    else if (returnValue instanceof Byte[]) {
-                        sizeRequired += ((Byte[])returnValue).length;
-                    }
-                    break;
-                case STRING:
-                    sizeRequired += ((String)returnValue).getBytes(Constants.UTF8ENCODING).length;
-                    break;
-                case GEOGRAPHY:
-                    sizeRequired += ((GeographyValue)returnValue).getLengthInBytes();
-                    break;
-                default:
-                }
-                if (sizeRequired > m_udfBuffer.capacity()) {
-                    resizeUDFBuffer(sizeRequired);
-                }
+            int sizeRequired = result.getSerializedSize();
+            if (sizeRequired > m_udfBuffer.capacity()) {
+                resizeUDFBuffer(sizeRequired);
             }
-            // Write the result to the shared buffer.
+            // Write the results to the shared buffer.
             m_udfBuffer.clear();
-            UserDefinedFunctionRunner.writeValueToBuffer(m_udfBuffer, returnType, returnValue);
-            // Return zero status code for a successful execution.
+            result.writeToBuffer(m_udfBuffer);
+            // Return zero status code when the result of every row is in the buffer.
             return 0;
         }
-        catch (InvocationTargetException ex1) {
-            // Exceptions thrown during Java reflection will be wrapped into this InvocationTargetException.
-            // We need to get its cause and throw that to the user.
-            throwable = ex1.getCause();
-        }
-        catch (Throwable ex2) {
-            throwable = ex2;
+        catch (Throwable ex) {
+            throwable = ex;
         }
-        // Getting here means the execution was not successful.
+        // Getting here means the results could not be handed back.
         try {
             assert(throwable != null);
             byte[] errorMsg = throwable.toString().getBytes(Constants.UTF8ENCODING);
@@ -883,6 +855,27 @@ public class ExecutionEngineJNI extends ExecutionEngine {
         return executeLargeBlockTaskSynchronously(task);
     }
 
+    /**
+     * Keep a chunk of the result of a large query for a cursor.
+     * The chunk is copied, as the EE reuses its memory once this returns.
+     *
+     * @param cursorId  The id of the cursor, or 0 for the first chunk of a result
+     * @param chunk     A directly-allocated ByteBuffer of the serialized rows
+     * @return The id of the cursor, or 0 if the chunk could not be kept
+     */
+    public long storeCursorChunk(long cursorId, ByteBuffer chunk) {
+        ByteBuffer copy = ByteBuffer.allocate(chunk.remaining());
+        copy.put(chunk);
+        copy.flip();
+        try {
+            return CursorManager.getInstance().addChunk(CoreUtils.getHostIdFromHSId(m_siteId), cursorId, copy);
+        }
+        catch (IllegalStateException e) {
+            LOG.warn("Unable to keep a query result for a cursor: " + e.getMessage());
+            return 0;
+        }
+    }
+
     @Override
     public byte[] executeTask(TaskType taskType, ByteBuffer task) throws EEException {
         try {
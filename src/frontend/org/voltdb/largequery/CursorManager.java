@@ -0,0 +1,570 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.largequery;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.voltcore.logging.VoltLogger;
+import org.voltdb.PrivateVoltTableFactory;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltTable.ColumnInfo;
+import org.voltdb.VoltType;
+
+/**
+ * A class that keeps the results of cursor queries on the server so that
+ * clients can fetch them a page at a time.
+ *
+ * A cursor holds a list of serialized result segments. When the query runs
+ * in large query mode, the EE hands its result to {@link #addChunk} in chunks
+ * of about one large temp table block as it reads the result, so the result
+ * is never built in one table. Such a cursor belongs to nobody until
+ * @AdHocCursor claims it with {@link #claim}, and fetches cut pages of the
+ * requested fetch size across the chunks. Otherwise {@link #open} cuts a
+ * built result into pages of the fetch size and keeps those as the segments.
+ *
+ * When the large query swap directory is available, every segment after the
+ * next one to read is stored there as a large block, and reading a segment
+ * loads the one after it in the background. Otherwise the segments stay in
+ * memory.
+ *
+ * A cursor is closed when its last page is fetched, when the client closes it,
+ * or when it has been idle for longer than the cursor idle timeout. The idle
+ * timeout also drops streamed results that are never claimed, for example
+ * when the transaction that ran the query is restarted.
+ *
+ * Cursor ids carry the id of the host that owns the cursor in their upper bits.
+ * The lower bits are random, so that an id can't be guessed from another one.
+ * A cursor can only be fetched or closed by the user that opened it.
+ *
+ * The serialized segments that cursors keep in memory are limited to
+ * cursorMaxMemoryMB (default 512) in total. Segments are checked against the
+ * limit, and stored in the swap directory, one at a time as they are added.
+ * A cursor that would go over the limit is not opened.
+ */
+public class CursorManager {
+    private static final VoltLogger hostLog = new VoltLogger("HOST");
+
+    private static final CursorManager INSTANCE = new CursorManager();
+
+    static final int HOST_ID_SHIFT = 40;
+    private static final long CURSOR_BITS_MASK = (1L << HOST_ID_SHIFT) - 1;
+
+    // Idle cursors are dropped after this long
+    private static final long IDLE_TIMEOUT_NANOS =
+            TimeUnit.SECONDS.toNanos(Integer.getInteger("cursorIdleTimeoutSecs", 300));
+
+    public static final ColumnInfo[] CURSOR_SCHEMA = new ColumnInfo[] {
+            new ColumnInfo("CURSOR_ID", VoltType.BIGINT),
+            new ColumnInfo("ROWS_REMAINING", VoltType.BIGINT)
+    };
+
+    /**
+     * Name of the first column of the table that a large query returns in place
+     * of its rows when they were streamed to a cursor.
+     */
+    public static final String STREAMED_CURSOR_ID_COLUMN = "STREAMED_CURSOR_ID";
+
+    private final Map<Long, Cursor> m_cursors = new HashMap<>();
+    private final SecureRandom m_random = new SecureRandom();
+    private final long m_maxHeldBytes;
+    // bytes of the segments kept in memory by the open cursors, guarded by m_cursors
+    private long m_heldBytes = 0;
+
+    public static CursorManager getInstance() {
+        return INSTANCE;
+    }
+
+    CursorManager() {
+        this(Integer.getInteger("cursorMaxMemoryMB", 512) * 1024L * 1024L);
+    }
+
+    CursorManager(long maxHeldBytes) {
+        m_maxHeldBytes = maxHeldBytes;
+    }
+
+    /**
+     * Get the id of the host that owns the given cursor.
+     */
+    public static int getHostId(long cursorId) {
+        return (int) (cursorId >>> HOST_ID_SHIFT);
+    }
+
+    /**
+     * Get the id of the cursor that holds the streamed result of a query.
+     *
+     * @param result  the result of a query
+     * @return the cursor id, or 0 if the rows of the query are in the result
+     */
+    public static long getStreamedCursorId(VoltTable result) {
+        if (result.getColumnCount() != 2
+                || !STREAMED_CURSOR_ID_COLUMN.equals(result.getColumnName(0))
+                || result.getRowCount() != 1) {
+            return 0;
+        }
+        return result.fetchRow(0).getLong(0);
+    }
+
+    /**
+     * Open a cursor over the given query result.
+     *
+     * @param hostId     id of this host
+     * @param user       name of the user that opens the cursor
+     * @param result     the rows of the query
+     * @param fetchSize  number of rows per page
+     * @return  the first page of rows, followed by a table holding the id of the
+     *          cursor and the number of rows left to fetch. When the first page
+     *          holds all the rows no cursor is kept.
+     * @throws IllegalStateException if the cursor would keep more memory than
+     *          cursors are allowed to hold
+     */
+    public VoltTable[] open(int hostId, String user, VoltTable result, int fetchSize) {
+        checkFetchSize(fetchSize);
+        expireIdleCursors(System.nanoTime());
+
+        int rowCount = result.getRowCount();
+        int pageCount = Math.max(1, (rowCount + fetchSize - 1) / fetchSize);
+        VoltTable firstPage = result.clone(0);
+        result.resetRowPosition();
+        for (int i = 0; i < fetchSize && result.advanceRow(); i++) {
+            firstPage.add(result);
+        }
+        if (pageCount == 1) {
+            return new VoltTable[] { firstPage, cursorTable(0, 0) };
+        }
+
+        // Register the cursor before cutting the other pages, so that each page can be
+        // checked against the memory limit, and stored away, as soon as it is cut.
+        Cursor cursor = register(hostId, user, fetchSize);
+        LargeBlockManager lbm = LargeBlockManager.getInstance();
+        boolean opened = false;
+        try {
+            synchronized (cursor) {
+                for (int page = 1; page < pageCount; page++) {
+                    VoltTable rows = result.clone(0);
+                    for (int i = 0; i < fetchSize && result.advanceRow(); i++) {
+                        rows.add(result);
+                    }
+                    ByteBuffer buf = ByteBuffer.allocate(rows.getSerializedSize());
+                    rows.flattenToBuffer(buf);
+                    addSegment(cursor, buf, rows.getRowCount(), lbm);
+                }
+            }
+            opened = true;
+        }
+        finally {
+            if (!opened) {
+                drop(cursor);
+            }
+        }
+        return new VoltTable[] { firstPage, cursorTable(cursor.m_id, cursor.m_rowsRemaining) };
+    }
+
+    /**
+     * Add a chunk of a query result that is streamed to a cursor. The first
+     * chunk opens a cursor that belongs to nobody until it is claimed.
+     *
+     * @param hostId    id of this host
+     * @param cursorId  id of the cursor, or 0 for the first chunk of a result
+     * @param chunk     the serialized rows of the chunk, which the cursor keeps
+     * @return the id of the cursor
+     * @throws IllegalStateException if there is no such cursor, or it would keep
+     *          more memory than cursors are allowed to hold. The cursor is dropped.
+     */
+    public long addChunk(int hostId, long cursorId, ByteBuffer chunk) {
+        Cursor cursor;
+        if (cursorId == 0) {
+            expireIdleCursors(System.nanoTime());
+            cursor = register(hostId, null, 0);
+        }
+        else {
+            synchronized (m_cursors) {
+                cursor = m_cursors.get(cursorId);
+            }
+            if (cursor == null) {
+                throw new IllegalStateException("Cursor " + cursorId + " does not exist or has expired.");
+            }
+        }
+
+        chunk.position(0);
+        int rowCount = PrivateVoltTableFactory.createVoltTableFromSharedBuffer(chunk).getRowCount();
+        boolean added = false;
+        try {
+            synchronized (cursor) {
+                if (cursor.m_closed) {
+                    throw new IllegalStateException("Cursor " + cursor.m_id + " has expired.");
+                }
+                addSegment(cursor, chunk, rowCount, LargeBlockManager.getInstance());
+            }
+            added = true;
+        }
+        finally {
+            if (!added) {
+                drop(cursor);
+            }
+        }
+        return cursor.m_id;
+    }
+
+    /**
+     * Make the given user the owner of a cursor that a query streamed its
+     * result to, and fetch its first page.
+     *
+     * @param cursorId   id of the cursor
+     * @param user       name of the user that opened the cursor
+     * @param fetchSize  number of rows per page
+     * @return  the page followed by the cursor table, or null if there is
+     *          no such cursor on this host or it has been claimed already
+     */
+    public VoltTable[] claim(long cursorId, String user, int fetchSize) throws IOException {
+        checkFetchSize(fetchSize);
+        Cursor cursor;
+        synchronized (m_cursors) {
+            cursor = m_cursors.get(cursorId);
+        }
+        if (cursor == null || user == null) {
+            return null;
+        }
+        synchronized (cursor) {
+            if (cursor.m_closed || cursor.m_user != null) {
+                return null;
+            }
+            cursor.m_fetchSize = fetchSize;
+            cursor.m_user = user;
+        }
+        return fetch(cursorId, user);
+    }
+
+    private static void checkFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+    }
+
+    private Cursor register(int hostId, String user, int fetchSize) {
+        synchronized (m_cursors) {
+            long cursorId;
+            do {
+                cursorId = ((long) hostId << HOST_ID_SHIFT) | (m_random.nextLong() & CURSOR_BITS_MASK);
+            } while ((cursorId & CURSOR_BITS_MASK) == 0 || m_cursors.containsKey(cursorId));
+            Cursor cursor = new Cursor(cursorId, user, fetchSize);
+            m_cursors.put(cursorId, cursor);
+            return cursor;
+        }
+    }
+
+    // Add a segment to the cursor, counting it against the limit if it stays in memory.
+    private void addSegment(Cursor cursor, ByteBuffer buf, int rowCount, LargeBlockManager lbm) {
+        if (cursor.keepsNextSegment(lbm)) {
+            hold(cursor, buf.capacity());
+        }
+        cursor.addSegment(buf, rowCount, lbm);
+    }
+
+    // Count bytes that the cursor keeps in memory against the limit.
+    private void hold(Cursor cursor, long bytes) {
+        synchronized (m_cursors) {
+            if (m_heldBytes + bytes > m_maxHeldBytes) {
+                throw new IllegalStateException("Cursors would hold more than "
+                        + (m_maxHeldBytes / (1024 * 1024)) + " MB of results, close open cursors or use a larger fetch size.");
+            }
+            m_heldBytes += bytes;
+            cursor.m_heldBytes += bytes;
+        }
+    }
+
+    /**
+     * Fetch the next page of the given cursor. The cursor is closed once
+     * its last page has been fetched.
+     *
+     * @param cursorId  id of the cursor
+     * @param user      name of the user that fetches from the cursor
+     * @return  the page followed by the cursor table, or null if there is
+     *          no such cursor on this host or it belongs to another user
+     */
+    public VoltTable[] fetch(long cursorId, String user) throws IOException {
+        expireIdleCursors(System.nanoTime());
+        Cursor cursor;
+        synchronized (m_cursors) {
+            cursor = m_cursors.get(cursorId);
+        }
+        if (cursor == null || !cursor.isOwner(user)) {
+            return null;
+        }
+
+        VoltTable page;
+        long remaining;
+        synchronized (cursor) {
+            if (cursor.m_closed) {
+                return null;
+            }
+            page = cursor.nextPage();
+            remaining = cursor.m_rowsRemaining;
+        }
+        if (remaining == 0) {
+            close(cursorId, user);
+        }
+        return new VoltTable[] { page, cursorTable(remaining == 0 ? 0 : cursorId, remaining) };
+    }
+
+    /**
+     * Close the given cursor and release its pages.
+     * @param cursorId  id of the cursor
+     * @param user      name of the user that closes the cursor
+     * @return true if the cursor was open on this host and belonged to the user
+     */
+    public boolean close(long cursorId, String user) {
+        Cursor cursor;
+        synchronized (m_cursors) {
+            cursor = m_cursors.get(cursorId);
+            if (cursor == null || !cursor.isOwner(user)) {
+                return false;
+            }
+        }
+        drop(cursor);
+        return true;
+    }
+
+    // Remove the cursor and release its segments, whoever owns it.
+    private void drop(Cursor cursor) {
+        synchronized (m_cursors) {
+            if (m_cursors.remove(cursor.m_id) == null) {
+                return;
+            }
+            m_heldBytes -= cursor.m_heldBytes;
+        }
+        synchronized (cursor) {
+            cursor.release();
+        }
+    }
+
+    /**
+     * Get the number of open cursors on this host.
+     */
+    public int getCursorCount() {
+        synchronized (m_cursors) {
+            return m_cursors.size();
+        }
+    }
+
+    /**
+     * Get the number of bytes of results that the open cursors keep in memory.
+     */
+    public long getHeldBytes() {
+        synchronized (m_cursors) {
+            return m_heldBytes;
+        }
+    }
+
+    // Drop the cursors that have been idle for too long. Their segments are released
+    // after m_cursors is unlocked, as that may wait for a segment being loaded.
+    private void expireIdleCursors(long now) {
+        List<Cursor> expired = new ArrayList<>();
+        synchronized (m_cursors) {
+            Iterator<Cursor> iter = m_cursors.values().iterator();
+            while (iter.hasNext()) {
+                Cursor cursor = iter.next();
+                if (now - cursor.m_lastAccess > IDLE_TIMEOUT_NANOS) {
+                    iter.remove();
+                    m_heldBytes -= cursor.m_heldBytes;
+                    expired.add(cursor);
+                }
+            }
+        }
+        for (Cursor cursor : expired) {
+            hostLog.info("Closing cursor " + cursor.m_id + " after it was idle for "
+                    + TimeUnit.NANOSECONDS.toSeconds(IDLE_TIMEOUT_NANOS) + " seconds.");
+            synchronized (cursor) {
+                cursor.release();
+            }
+        }
+    }
+
+    private static VoltTable cursorTable(long cursorId, long rowsRemaining) {
+        VoltTable table = new VoltTable(CURSOR_SCHEMA);
+        table.addRow(cursorId, rowsRemaining);
+        return table;
+    }
+
+    /**
+     * The serialized segments of one cursor. A segment is either in memory,
+     * stored as a large block, or being loaded back from its block. Pages are
+     * cut from the segments as they are read; a segment that holds exactly
+     * one page is returned as it is.
+     */
+    private static class Cursor {
+        final long m_id;
+        // null until a streamed result is claimed
+        volatile String m_user;
+        int m_fetchSize;
+        // guarded by m_cursors of the manager
+        long m_heldBytes = 0;
+        final List<ByteBuffer> m_segments = new ArrayList<>();
+        final List<Integer> m_segmentSizes = new ArrayList<>();
+        final List<BlockId> m_blocks = new ArrayList<>();
+        Future<LargeBlockResponse> m_load = null;
+        ByteBuffer m_loadBuffer = null;
+        int m_nextSegment = 0;
+        // the segment that the next page starts in, when it was not used up
+        VoltTable m_current = null;
+        long m_rowsRemaining = 0;
+        volatile long m_lastAccess = System.nanoTime();
+        boolean m_closed = false;
+
+        Cursor(long id, String user, int fetchSize) {
+            m_id = id;
+            m_user = user;
+            m_fetchSize = fetchSize;
+        }
+
+        boolean isOwner(String user) {
+            return Objects.equals(m_user, user);
+        }
+
+        /**
+         * True if the next segment added stays in memory: when there is no
+         * swap directory, or the segment is the next one to read.
+         */
+        boolean keepsNextSegment(LargeBlockManager lbm) {
+            return lbm == null || m_segments.size() <= m_nextSegment;
+        }
+
+        void addSegment(ByteBuffer buf, int rowCount, LargeBlockManager lbm) {
+            m_lastAccess = System.nanoTime();
+            int segment = m_segments.size();
+            m_segmentSizes.add(buf.capacity());
+            m_rowsRemaining += rowCount;
+            if (keepsNextSegment(lbm)) {
+                m_segments.add(buf);
+                m_blocks.add(null);
+                return;
+            }
+            // negative site ids never clash with the blocks of large queries
+            BlockId blockId = new BlockId(-m_id, segment);
+            m_segments.add(null);
+            m_blocks.add(blockId);
+            lbm.submitTask(LargeBlockTask.getStoreTask(blockId, buf));
+        }
+
+        VoltTable nextPage() throws IOException {
+            m_lastAccess = System.nanoTime();
+            VoltTable page = null;
+            while (page == null || (m_rowsRemaining > 0 && page.getRowCount() < m_fetchSize)) {
+                if (m_current == null) {
+                    VoltTable segment = nextSegment();
+                    if (page == null && segment.getRowCount() == m_fetchSize) {
+                        m_rowsRemaining -= m_fetchSize;
+                        return segment;
+                    }
+                    segment.resetRowPosition();
+                    m_current = segment;
+                }
+                if (page == null) {
+                    page = m_current.clone(0);
+                }
+                while (page.getRowCount() < m_fetchSize) {
+                    if (!m_current.advanceRow()) {
+                        m_current = null;
+                        break;
+                    }
+                    page.add(m_current);
+                    m_rowsRemaining--;
+                }
+            }
+            return page;
+        }
+
+        private VoltTable nextSegment() throws IOException {
+            int segment = m_nextSegment++;
+            if (m_segments.get(segment) == null) {
+                if (m_load == null) {
+                    startLoad(segment);
+                }
+                awaitLoad(segment);
+            }
+            ByteBuffer buf = m_segments.set(segment, null);
+            buf.position(0);
+            VoltTable rows = PrivateVoltTableFactory.createVoltTableFromSharedBuffer(buf);
+
+            // load the segment after this one while the client reads this one
+            if (m_nextSegment < m_segments.size() && m_segments.get(m_nextSegment) == null) {
+                startLoad(m_nextSegment);
+            }
+            return rows;
+        }
+
+        private void startLoad(int segment) {
+            ByteBuffer buf = ByteBuffer.allocate(m_segmentSizes.get(segment));
+            m_load = LargeBlockManager.getInstance().submitTask(
+                    LargeBlockTask.getLoadTask(m_blocks.get(segment), buf));
+            m_loadBuffer = buf;
+        }
+
+        private void awaitLoad(int segment) throws IOException {
+            LargeBlockResponse response;
+            try {
+                response = m_load.get();
+            }
+            catch (InterruptedException | ExecutionException e) {
+                throw new IOException("Failed to load segment " + segment + " of cursor " + m_id, e);
+            }
+            finally {
+                m_load = null;
+            }
+            if (!response.wasSuccessful()) {
+                throw new IOException("Failed to load segment " + segment + " of cursor " + m_id,
+                        response.getException());
+            }
+            m_segments.set(segment, m_loadBuffer);
+            m_loadBuffer = null;
+            LargeBlockManager.getInstance().submitTask(LargeBlockTask.getReleaseTask(m_blocks.get(segment)));
+            m_blocks.set(segment, null);
+        }
+
+        void release() {
+            m_closed = true;
+            m_current = null;
+            if (m_load != null) {
+                // let the load finish before its block is released
+                try {
+                    awaitLoad(m_nextSegment);
+                }
+                catch (IOException e) {
+                    hostLog.warn("Failed to load a segment of closed cursor " + m_id, e);
+                }
+            }
+            LargeBlockManager lbm = LargeBlockManager.getInstance();
+            for (int segment = 0; segment < m_segments.size(); segment++) {
+                m_segments.set(segment, null);
+                if (m_blocks.get(segment) != null && lbm != null) {
+                    lbm.submitTask(LargeBlockTask.getReleaseTask(m_blocks.get(segment)));
+                    m_blocks.set(segment, null);
+                }
+            }
+        }
+    }
+}
@@ -93,6 +93,15 @@ public class LargeBlockManager {
         }
     }
 
+    /**
+     * Shut down and forget the instance, so that tests can run as if there
+     * were no swap directory.
+     */
+    static void shutdownForTest() throws IOException {
+        shutdown();
+        INSTANCE = null;
+    }
+
     /**
      * Get the singleton instance of LargeBlockManager
      */
@@ -18,10 +18,12 @@
 package org.voltdb.parser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.voltdb.utils.LexicalParameterization;
 import org.voltdb.utils.SplitStmtResults;
 
 /**
@@ -157,6 +159,10 @@ public class SQLLexer extends SQLPatternFactory
             SPF.token("rename"), SPF.token("to")
         ).compile("PAT_ALTER_RENAME");
 
+    // Keywords which type the string literal that follows them
+    private static final List<String> TYPED_LITERAL_PREFIXES =
+            Arrays.asList("DATE", "TIME", "TIMESTAMP", "INTERVAL");
+
     //========== Public Methods ==========
 
     /**
@@ -628,6 +634,156 @@ public class SQLLexer extends SQLPatternFactory
         return new SplitStmtResults(statements, incompleteStmt, incompleteStmtOffset);
     }
 
+    /**
+     * Replace the literals of a single SQL statement by typed placeholders without
+     * parsing it, so that statements which only differ by their constants can be
+     * matched with an already parameterized plan before involving the SQL parser.
+     *
+     * Only a conservative subset of the lexical grammar is understood: integer literals
+     * that fit in a BIGINT and plain quoted strings. The lexer gives up on anything it
+     * can't be sure the parser sees the same way: user parameters, decimal, float or
+     * hex literals, typed literals like TIMESTAMP '...', backslashes in strings,
+     * non-ASCII characters outside of quotes, unterminated quotes or comments.
+     *
+     * @param sql  a single SQL statement
+     * @return     the parameterization, or null if the statement must go through the parser
+     */
+    public static LexicalParameterization parameterizeLiterals(String sql)
+    {
+        final char[] buf = sql.toCharArray();
+        final StringBuilder key = new StringBuilder(buf.length);
+        final List<String> literals = new ArrayList<>();
+        // Set to the upper case text of the previous token if it was a word.
+        String prevWord = null;
+        // Set when the previous token is an operator and nothing separates it from the current position.
+        boolean inOperator = false;
+        int iCur = 0;
+        while (iCur < buf.length) {
+            char c = buf[iCur];
+            if (Character.isWhitespace(c)) {
+                inOperator = false;
+                iCur++;
+            }
+            else if (matchesStringAtIndex(buf, iCur, "--")) {
+                int end = sql.indexOf('\n', iCur);
+                iCur = (end < 0) ? buf.length : end + 1;
+                inOperator = false;
+            }
+            else if (matchesStringAtIndex(buf, iCur, "/*")) {
+                int end = sql.indexOf("*/", iCur + 2);
+                if (end < 0) {
+                    return null;
+                }
+                iCur = end + 2;
+                inOperator = false;
+            }
+            else if (c == '\'') {
+                if (prevWord != null && TYPED_LITERAL_PREFIXES.contains(prevWord)) {
+                    return null;
+                }
+                StringBuilder value = new StringBuilder();
+                int iEnd = iCur + 1;
+                while (true) {
+                    if (iEnd >= buf.length || buf[iEnd] == '\\') {
+                        return null;
+                    }
+                    if (buf[iEnd] == '\'') {
+                        if (iEnd + 1 < buf.length && buf[iEnd + 1] == '\'') {
+                            // doubled quote escapes a quote
+                            value.append('\'');
+                            iEnd += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    value.append(buf[iEnd++]);
+                }
+                appendLexicalToken(key, "?S");
+                literals.add(value.toString());
+                prevWord = null;
+                inOperator = false;
+                iCur = iEnd + 1;
+            }
+            else if (c == '"') {
+                // quoted identifiers are case sensitive, keep them as they are
+                int iEnd = sql.indexOf('"', iCur + 1);
+                if (iEnd < 0 || (iEnd + 1 < buf.length && buf[iEnd + 1] == '"')) {
+                    return null;
+                }
+                appendLexicalToken(key, sql.substring(iCur, iEnd + 1));
+                prevWord = null;
+                inOperator = false;
+                iCur = iEnd + 1;
+            }
+            else if (isDigitFast(c)) {
+                int iEnd = iCur;
+                while (iEnd < buf.length && isDigitFast(buf[iEnd])) {
+                    iEnd++;
+                }
+                if (iEnd < buf.length && (buf[iEnd] == '.' || buf[iEnd] == '$' || isIdentifierPartFast(buf[iEnd]))) {
+                    // decimal, float or something odd
+                    return null;
+                }
+                String digits = sql.substring(iCur, iEnd);
+                if ((digits.length() > 1 && digits.charAt(0) == '0') || digits.length() > 18) {
+                    // the parser normalizes leading zeros and types huge values as DECIMAL
+                    return null;
+                }
+                // the parser types integer literals by their magnitude
+                appendLexicalToken(key, Long.parseLong(digits) <= Integer.MAX_VALUE ? "?I" : "?L");
+                literals.add(digits);
+                prevWord = null;
+                inOperator = false;
+                iCur = iEnd;
+            }
+            else if (isLetterFast(c) || c == '_') {
+                int iEnd = iCur;
+                while (iEnd < buf.length && (buf[iEnd] == '$' || isIdentifierPartFast(buf[iEnd]))) {
+                    iEnd++;
+                }
+                if (iEnd < buf.length && buf[iEnd] == '\'') {
+                    // prefixed literal, like X'0A'
+                    return null;
+                }
+                prevWord = sql.substring(iCur, iEnd).toUpperCase();
+                appendLexicalToken(key, prevWord);
+                inOperator = false;
+                iCur = iEnd;
+            }
+            else if (c == '?' || c == '.' || c > 127) {
+                // user parameters aren't handled, nor are ".5" style literals or non-ASCII text
+                if (c != '.' || (iCur + 1 < buf.length && isDigitFast(buf[iCur + 1]))) {
+                    return null;
+                }
+                appendLexicalToken(key, ".");
+                prevWord = null;
+                inOperator = false;
+                iCur++;
+            }
+            else {
+                // adjacent operator characters make a single token
+                if (inOperator) {
+                    key.append(c);
+                }
+                else {
+                    appendLexicalToken(key, String.valueOf(c));
+                }
+                prevWord = null;
+                inOperator = true;
+                iCur++;
+            }
+        }
+        return new LexicalParameterization(key.toString(), literals.toArray(new String[literals.size()]));
+    }
+
+    private static void appendLexicalToken(StringBuilder key, String token)
+    {
+        if (key.length() > 0) {
+            key.append(' ');
+        }
+        key.append(token);
+    }
+
     /**
      * Check if a statement is a SELECT.
      * @param statement  statement to check
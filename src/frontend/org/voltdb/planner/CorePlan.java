@@ -22,10 +22,17 @@ import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.voltdb.VoltType;
 import org.voltdb.common.Constants;
 import org.voltdb.compiler.AdHocPlannedStatement;
+import org.voltdb.planner.parseinfo.StmtTargetTableScan;
+import org.voltdb.plannodes.AbstractPlanNode;
 
 /**
  * CorePlan is an immutable representation of a SQL execution plan.
@@ -68,6 +75,16 @@ public class CorePlan {
     private int partitioningParamIndex = -1;
     private Object partitioningParamValue = null;
 
+    /**
+     * Names of the tables this plan reads or writes, null if unknown.
+     * Used to decide whether a cached plan survives a catalog update.
+     * (Note, not serialized, only the planner host needs it.)
+     */
+    private Set<String> tablesUsed = null;
+
+    /** Was this plan read back from a plan cache file rather than planned by this process? */
+    private boolean warmLoaded = false;
+
     /**
      * Constructor from QueryPlanner output.
      *
@@ -101,6 +118,46 @@ public class CorePlan {
         this.catalogHash = catalogHash;
         parameterTypes = plan.parameterTypes();
         readOnly = plan.isReadOnly();
+        tablesUsed = tablesUsedBy(plan.rootPlanGraph, plan.subPlanGraph, readOnly);
+    }
+
+    /**
+     * Copy of a plan stamped with a newer catalog hash, for plans which are
+     * known to be unaffected by the catalog change.
+     */
+    private CorePlan(CorePlan other, byte[] catalogHash) {
+        this(other.aggregatorFragment, other.collectorFragment,
+             other.aggregatorHash, other.collectorHash,
+             other.isReplicatedTableDML, other.readOnly,
+             other.parameterTypes, catalogHash);
+        partitioningParamIndex = other.partitioningParamIndex;
+        partitioningParamValue = other.partitioningParamValue;
+        tablesUsed = other.tablesUsed;
+        warmLoaded = other.warmLoaded;
+    }
+
+    private static Set<String> tablesUsedBy(AbstractPlanNode top, AbstractPlanNode bottom, boolean readOnly) {
+        Map<String, StmtTargetTableScan> tablesRead = new TreeMap<>();
+        String updated = null;
+        if (top != null) {
+            top.getTablesAndIndexes(tablesRead, null);
+            updated = top.getUpdatedTable();
+        }
+        if (bottom != null) {
+            bottom.getTablesAndIndexes(tablesRead, null);
+            if (updated == null) {
+                updated = bottom.getUpdatedTable();
+            }
+        }
+        if (!readOnly && updated == null) {
+            // can't tell what the plan writes
+            return null;
+        }
+        Set<String> tables = new TreeSet<>(tablesRead.keySet());
+        if (updated != null) {
+            tables.add(updated);
+        }
+        return Collections.unmodifiableSet(tables);
     }
 
     /***
@@ -302,4 +359,31 @@ public class CorePlan {
     public boolean wasPlannedAgainstHash(byte[] catalogHash) {
         return Arrays.equals(catalogHash, this.catalogHash);
     }
+
+    /**
+     * @return the tables the plan reads or writes, or null if the plan
+     * was not produced by the local planner.
+     */
+    public Set<String> getTablesUsed() {
+        return tablesUsed;
+    }
+
+    public void setTablesUsed(Set<String> tablesUsed) {
+        this.tablesUsed = tablesUsed;
+    }
+
+    public boolean isWarmLoaded() {
+        return warmLoaded;
+    }
+    public void setWarmLoaded(boolean warmLoaded) {
+        this.warmLoaded = warmLoaded;
+    }
+
+    /**
+     * @return this plan, valid against the catalog with the given hash.
+     * The caller is responsible for knowing the plan is still correct there.
+     */
+    public CorePlan rebase(byte[] newCatalogHash) {
+        return new CorePlan(this, newCatalogHash);
+    }
 }
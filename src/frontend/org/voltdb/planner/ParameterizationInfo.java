@@ -303,13 +303,21 @@ public class ParameterizationInfo {
         // the one before rewrite, but never more.
         assert((! isRewritten() && m_paramLiteralValues.length == parameterTypes.length) ||
                 (isRewritten() && m_paramLiteralValues.length >= parameterTypes.length));
+        return extractedParamValues(m_paramLiteralValues, parameterTypes);
+    }
+
+    /**
+     * Convert literal values extracted from a statement to the types
+     * of the parameters of the plan they are bound to.
+     */
+    public static ParameterSet extractedParamValues(String[] paramLiteralValues, VoltType[] parameterTypes) {
         Object[] params = new Object[parameterTypes.length];
 
         // the extracted params are all strings at first.
         // after the planner infers their types, fix them up
         // the only exception is that nulls are Java NULL, and not the string "null".
         for (int i = 0; i < parameterTypes.length; i++) {
-            params[i] = valueForStringWithType(m_paramLiteralValues[i], parameterTypes[i]);
+            params[i] = valueForStringWithType(paramLiteralValues[i], parameterTypes[i]);
         }
         return ParameterSet.fromArrayNoCopy(params);
     }
@@ -20,6 +20,7 @@ package org.voltdb.planner;
 import java.util.*;
 
 import org.hsqldb_voltpatches.HSQLInterface;
+import org.voltdb.VoltType;
 import org.voltdb.catalog.MaterializedViewInfo;
 import org.voltdb.catalog.Database;
 import org.voltdb.catalog.Table;
@@ -27,6 +28,7 @@ import org.voltdb.compiler.DatabaseEstimates;
 import org.voltdb.compiler.DeterminismMode;
 import org.voltdb.compiler.VoltCompiler;
 import org.voltdb.expressions.AbstractExpression;
+import org.voltdb.expressions.AbstractSubqueryExpression;
 import org.voltdb.expressions.ExpressionUtil;
 import org.voltdb.expressions.TupleValueExpression;
 import org.voltdb.planner.parseinfo.BranchNode;
@@ -38,11 +40,13 @@ import org.voltdb.plannodes.IndexSortablePlanNode;
 import org.voltdb.plannodes.AbstractJoinPlanNode;
 import org.voltdb.plannodes.AbstractPlanNode;
 import org.voltdb.plannodes.AbstractReceivePlanNode;
+import org.voltdb.plannodes.HashJoinPlanNode;
 import org.voltdb.plannodes.IndexScanPlanNode;
 import org.voltdb.plannodes.IndexUseForOrderBy;
 import org.voltdb.plannodes.MaterializedScanPlanNode;
 import org.voltdb.plannodes.NestLoopIndexPlanNode;
 import org.voltdb.plannodes.NestLoopPlanNode;
+import org.voltdb.types.ExpressionType;
 import org.voltdb.types.JoinType;
 import org.voltdb.utils.PermutationGenerator;
 
@@ -63,16 +67,47 @@ public class SelectSubPlanAssembler extends SubPlanAssembler {
     /** The list of all possible join orders, assembled by queueAllJoinOrders */
     private ArrayDeque<JoinNode> m_joinOrders = new ArrayDeque<>();
 
+    /** Large queries keep their intermediate results in blocks that may be
+     *  swapped out, so their hash joins may run in partitions and don't keep
+     *  the order of the outer side. */
+    private final boolean m_isLargeQuery;
+
+    /** Hash joins are only planned, and then only when they are estimated to
+     *  be cheaper, if the HASH_JOIN environment variable or system property is
+     *  set to true. The native hash join executor has not been through the EE
+     *  tests and the join regression suites yet. */
+    private static boolean s_hashJoinEnabled = Boolean.valueOf(System.getenv("HASH_JOIN") == null ?
+            System.getProperty("HASH_JOIN", "false") : System.getenv("HASH_JOIN"));
+
+    static boolean isHashJoinEnabled() {
+        return s_hashJoinEnabled;
+    }
+
+    /** Only for tests of the hash join plans */
+    static void setHashJoinEnabled(boolean enabled) {
+        s_hashJoinEnabled = enabled;
+    }
+
+    /** The relative cost of inserting an inner tuple into the hash table,
+     *  where reading a tuple costs 1 */
+    private static final double HASH_BUILD_COST_FACTOR = 2.0;
+
+    /** Default table estimates used to cost a hash join against a nested loop */
+    private final DatabaseEstimates m_estimates = new DatabaseEstimates();
+
     /**
      *
      * @param db The catalog's Database object.
      * @param selectStmt The parsed and dissected statement object describing the sql to execute.
      * @param partitioning in/out param first element is partition key value, forcing a single-partition statement if non-null,
      * second may be an inferred partition key if no explicit single-partitioning was specified
+     * @param isLargeQuery true if the plan is for a large temp table query
      */
-    SelectSubPlanAssembler(Database db, ParsedSelectStmt selectStmt, StatementPartitioning partitioning)
+    SelectSubPlanAssembler(Database db, ParsedSelectStmt selectStmt, StatementPartitioning partitioning,
+                           boolean isLargeQuery)
     {
         super(db, selectStmt, partitioning);
+        m_isLargeQuery = isLargeQuery;
         if (selectStmt.hasJoinOrder()) {
             // If a join order was provided or large number of tables join
             m_joinOrders.addAll(selectStmt.getJoinOrder());
@@ -722,7 +757,6 @@ public class SelectSubPlanAssembler extends SubPlanAssembler {
 
         AbstractJoinPlanNode ajNode = null;
         if (canHaveNLJ) {
-            NestLoopPlanNode nljNode = new NestLoopPlanNode();
             // get all the clauses that join the applicable two tables
             // Copy innerAccessPath.joinExprs to leave it unchanged,
             // avoiding accumulation of redundant expressions when
@@ -763,6 +797,16 @@ public class SelectSubPlanAssembler extends SubPlanAssembler {
                 // the inner node ONLY, that can not be pushed down.
                 joinClauses.addAll(innerAccessPath.otherExprs);
             }
+            // An intermediate result on the inner side is hashed on the join's
+            // equality keys instead of being rescanned for every outer tuple.
+            AbstractJoinPlanNode nljNode = null;
+            if (canHaveHashJoin(innerJoinNode, needInnerSendReceive) &&
+                    isHashJoinCheaper(outerPlan, innerPlan)) {
+                nljNode = getHashJoinNode(joinNode, joinClauses, m_isLargeQuery);
+            }
+            if (nljNode == null) {
+                nljNode = new NestLoopPlanNode();
+            }
             nljNode.setJoinPredicate(ExpressionUtil.combinePredicates(joinClauses));
 
             // combine the tails plan graph with the new head node
@@ -810,6 +854,127 @@ public class SelectSubPlanAssembler extends SubPlanAssembler {
         return ajNode;
     }
 
+    /**
+     * A hash join is only considered when it is enabled, see isHashJoinEnabled(),
+     * and the inner side is an intermediate result: another join, a subquery
+     * or a common table. A persistent table
+     * on the inner side is better served by its indexes, or is scanned in place
+     * without the cost of copying it into a hash table.
+     *
+     * @param innerJoinNode the inner node of the join
+     * @param needInnerSendReceive true if the inner data is sent to the coordinator before the join
+     */
+    private boolean canHaveHashJoin(JoinNode innerJoinNode, boolean needInnerSendReceive) {
+        if ( ! s_hashJoinEnabled || needInnerSendReceive) {
+            return false;
+        }
+        return innerJoinNode instanceof BranchNode ||
+               innerJoinNode.getTableScan() instanceof StmtEphemeralTableScan;
+    }
+
+    /**
+     * Compare the estimated cost of the two join strategies. The nested loop
+     * rescans the inner result once per outer tuple, while the hash join reads
+     * each side once but pays HASH_BUILD_COST_FACTOR for every inner tuple
+     * it inserts. An outer side estimated to produce a row or two, such as a
+     * unique index lookup, keeps the nested loop.
+     *
+     * @param outerPlan the plan of the outer child
+     * @param innerPlan the plan of the inner child
+     */
+    private boolean isHashJoinCheaper(AbstractPlanNode outerPlan, AbstractPlanNode innerPlan) {
+        PlanStatistics stats = new PlanStatistics();
+        outerPlan.computeEstimatesRecursively(stats, m_estimates, null);
+        innerPlan.computeEstimatesRecursively(stats, m_estimates, null);
+        double outerTuples = Math.max(1, outerPlan.getEstimatedOutputTupleCount());
+        double innerTuples = Math.max(1, innerPlan.getEstimatedOutputTupleCount());
+        double nestLoopCost = outerTuples * innerTuples;
+        double hashJoinCost = outerTuples + HASH_BUILD_COST_FACTOR * innerTuples;
+        return hashJoinCost < nestLoopCost;
+    }
+
+    /**
+     * Build a hash join node keyed by the equality conjuncts of the join clauses
+     * that compare an expression of the outer tables with an expression of the
+     * inner tables.
+     *
+     * @param joinNode the join being planned
+     * @param joinClauses the conjuncts of the join predicate
+     * @param isLargeQuery true if the join may be run in partitions
+     * @return the hash join node, or null if no conjunct can serve as a hash key
+     */
+    private static HashJoinPlanNode getHashJoinNode(BranchNode joinNode, List<AbstractExpression> joinClauses,
+                                                    boolean isLargeQuery) {
+        Set<String> outerTables = new HashSet<>(joinNode.getLeftNode().generateTableJoinOrder());
+        Set<String> innerTables = new HashSet<>(joinNode.getRightNode().generateTableJoinOrder());
+        HashJoinPlanNode hjNode = null;
+        for (AbstractExpression expr : joinClauses) {
+            if (expr.getExpressionType() != ExpressionType.COMPARE_EQUAL) {
+                continue;
+            }
+            AbstractExpression left = expr.getLeft();
+            AbstractExpression right = expr.getRight();
+            if ( ! isHashableKeyType(left.getValueType()) || left.getValueType() != right.getValueType()) {
+                continue;
+            }
+            AbstractExpression outerKey;
+            AbstractExpression innerKey;
+            if (referencesOnly(left, outerTables) && referencesOnly(right, innerTables)) {
+                outerKey = left;
+                innerKey = right;
+            }
+            else if (referencesOnly(right, outerTables) && referencesOnly(left, innerTables)) {
+                outerKey = right;
+                innerKey = left;
+            }
+            else {
+                continue;
+            }
+            if (hjNode == null) {
+                hjNode = new HashJoinPlanNode();
+                hjNode.setIsLargeQuery(isLargeQuery);
+            }
+            hjNode.addHashKey(outerKey, innerKey);
+        }
+        return hjNode;
+    }
+
+    /**
+     * Types whose values hash the same exactly when they compare equal.
+     * FLOAT is left out because of signed zeros.
+     */
+    private static boolean isHashableKeyType(VoltType type) {
+        switch (type) {
+        case TINYINT:
+        case SMALLINT:
+        case INTEGER:
+        case BIGINT:
+        case DECIMAL:
+        case TIMESTAMP:
+        case STRING:
+        case VARBINARY:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean referencesOnly(AbstractExpression expr, Set<String> tableAliases) {
+        if (expr.hasAnySubexpressionOfClass(AbstractSubqueryExpression.class)) {
+            return false;
+        }
+        List<TupleValueExpression> tves = ExpressionUtil.getTupleValueExpressions(expr);
+        if (tves.isEmpty()) {
+            return false;
+        }
+        for (TupleValueExpression tve : tves) {
+            if ( ! tableAliases.contains(tve.getTableAlias())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * A method to filter out single-TVE expressions.
      *
@@ -0,0 +1,190 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.plannodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.json_voltpatches.JSONException;
+import org.json_voltpatches.JSONObject;
+import org.json_voltpatches.JSONStringer;
+import org.voltdb.catalog.Database;
+import org.voltdb.compiler.DatabaseEstimates;
+import org.voltdb.compiler.ScalarValueHints;
+import org.voltdb.expressions.AbstractExpression;
+import org.voltdb.expressions.ExpressionUtil;
+import org.voltdb.expressions.TupleValueExpression;
+import org.voltdb.types.PlanNodeType;
+import org.voltdb.types.SortDirectionType;
+
+/**
+ * An equi-join that hashes its inner child once and probes the hash table
+ * with every outer tuple. The i-th outer hash expression only references the
+ * outer child and the i-th inner hash expression only the inner child; each
+ * pair comes from an equality conjunct of the join predicate, which is still
+ * evaluated in full on every pair of tuples that hash together.
+ */
+public class HashJoinPlanNode extends AbstractJoinPlanNode {
+
+    public enum Members {
+        OUTER_HASH_EXPRESSIONS,
+        INNER_HASH_EXPRESSIONS;
+    }
+
+    private final List<AbstractExpression> m_outerHashExpressions = new ArrayList<>();
+    private final List<AbstractExpression> m_innerHashExpressions = new ArrayList<>();
+
+    /** A large query may split both children into partitions that are joined
+     *  one at a time, which loses the order of the outer child. */
+    private boolean m_isLargeQuery = false;
+
+    public HashJoinPlanNode() {
+        super();
+    }
+
+    @Override
+    public PlanNodeType getPlanNodeType() {
+        return PlanNodeType.HASHJOIN;
+    }
+
+    /**
+     * Add a pair of hash keys, the expressions are copied.
+     * @param outerExpr the key expression over the outer child
+     * @param innerExpr the matching key expression over the inner child
+     */
+    public void addHashKey(AbstractExpression outerExpr, AbstractExpression innerExpr) {
+        assert(outerExpr.getValueType() == innerExpr.getValueType());
+        m_outerHashExpressions.add(outerExpr.clone());
+        m_innerHashExpressions.add(innerExpr.clone());
+    }
+
+    public void setIsLargeQuery(boolean isLargeQuery) {
+        m_isLargeQuery = isLargeQuery;
+    }
+
+    public List<AbstractExpression> getOuterHashExpressions() {
+        return Collections.unmodifiableList(m_outerHashExpressions);
+    }
+
+    public List<AbstractExpression> getInnerHashExpressions() {
+        return Collections.unmodifiableList(m_innerHashExpressions);
+    }
+
+    @Override
+    public boolean isOutputOrdered(List<AbstractExpression> sortExpressions, List<SortDirectionType> sortDirections) {
+        if (m_isLargeQuery) {
+            return false;
+        }
+        return super.isOutputOrdered(sortExpressions, sortDirections);
+    }
+
+    @Override
+    public void resolveSortDirection() {
+        if (m_isLargeQuery) {
+            m_sortDirection = SortDirectionType.INVALID;
+            return;
+        }
+        super.resolveSortDirection();
+    }
+
+    @Override
+    public void validate() throws Exception {
+        super.validate();
+
+        if (m_outerHashExpressions.isEmpty() ||
+                m_outerHashExpressions.size() != m_innerHashExpressions.size()) {
+            throw new Exception("ERROR: Hash join has " + m_outerHashExpressions.size() +
+                    " outer and " + m_innerHashExpressions.size() + " inner hash keys");
+        }
+        for (int ii = 0; ii < m_outerHashExpressions.size(); ii++) {
+            m_outerHashExpressions.get(ii).validate();
+            m_innerHashExpressions.get(ii).validate();
+        }
+    }
+
+    @Override
+    public void resolveColumnIndexes() {
+        super.resolveColumnIndexes();
+        // The executor evaluates each side's keys against that side's tuple alone
+        resolveHashExpressions(m_outerHashExpressions, m_children.get(0).getOutputSchema());
+        resolveHashExpressions(m_innerHashExpressions, m_children.get(1).getOutputSchema());
+    }
+
+    private static void resolveHashExpressions(List<AbstractExpression> exprs, NodeSchema schema) {
+        for (AbstractExpression expr : exprs) {
+            for (TupleValueExpression tve : ExpressionUtil.getTupleValueExpressions(expr)) {
+                int index = tve.setColumnIndexUsingSchema(schema);
+                if (index == -1) {
+                    throw new RuntimeException(
+                            "Unable to resolve column index for hash join key TVE: " + tve.toString());
+                }
+                tve.setTableIndex(0);
+            }
+        }
+    }
+
+    @Override
+    public void computeCostEstimates(long childOutputTupleCountEstimate,
+                                     DatabaseEstimates estimates,
+                                     ScalarValueHints[] paramHints)
+    {
+        m_estimatedOutputTupleCount = childOutputTupleCountEstimate;
+        // One pass over the inner child to build the table and one over the
+        // (discounted) outer child to probe it
+        assert(m_children.size() == 2);
+        m_estimatedProcessedTupleCount = discountEstimatedProcessedTupleCount(m_children.get(0)) +
+                m_children.get(1).m_estimatedProcessedTupleCount;
+    }
+
+    @Override
+    public void toJSONString(JSONStringer stringer) throws JSONException {
+        super.toJSONString(stringer);
+        stringer.key(Members.OUTER_HASH_EXPRESSIONS.name()).array(m_outerHashExpressions);
+        stringer.key(Members.INNER_HASH_EXPRESSIONS.name()).array(m_innerHashExpressions);
+    }
+
+    @Override
+    public void loadFromJSONObject(JSONObject jobj, Database db) throws JSONException {
+        super.loadFromJSONObject(jobj, db);
+        AbstractExpression.loadFromJSONArrayChild(m_outerHashExpressions, jobj,
+                Members.OUTER_HASH_EXPRESSIONS.name(), null);
+        AbstractExpression.loadFromJSONArrayChild(m_innerHashExpressions, jobj,
+                Members.INNER_HASH_EXPRESSIONS.name(), null);
+    }
+
+    @Override
+    public void findAllExpressionsOfClass(Class< ? extends AbstractExpression> aeClass, Set<AbstractExpression> collected) {
+        super.findAllExpressionsOfClass(aeClass, collected);
+        for (AbstractExpression expr : m_outerHashExpressions) {
+            collected.addAll(expr.findAllSubexpressionsOfClass(aeClass));
+        }
+        for (AbstractExpression expr : m_innerHashExpressions) {
+            collected.addAll(expr.findAllSubexpressionsOfClass(aeClass));
+        }
+    }
+
+    @Override
+    protected String explainPlanForNode(String indent) {
+        return "HASH " + this.m_joinType.toString() + " JOIN" +
+                (m_sortDirection == SortDirectionType.INVALID ? "" : " (" + m_sortDirection + ")") +
+                explainFilters(indent);
+    }
+
+}
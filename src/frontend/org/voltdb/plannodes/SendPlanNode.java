@@ -29,10 +29,26 @@ import org.voltdb.types.PlanNodeType;
 
 public class SendPlanNode extends AbstractPlanNode {
 
+    public enum Members {
+        STREAM_TO_CURSOR;
+    }
+
+    // The final result of a large query is kept on the server for a cursor
+    // (see @AdHocCursor) instead of being returned in one table.
+    private boolean m_streamToCursor = false;
+
     public SendPlanNode() {
         super();
     }
 
+    public boolean streamsToCursor() {
+        return m_streamToCursor;
+    }
+
+    public void setStreamToCursor(boolean streamToCursor) {
+        m_streamToCursor = streamToCursor;
+    }
+
     @Override
     public PlanNodeType getPlanNodeType() {
         return PlanNodeType.SEND;
@@ -78,6 +94,9 @@ public class SendPlanNode extends AbstractPlanNode {
     @Override
     public void toJSONString(JSONStringer stringer) throws JSONException {
         super.toJSONString(stringer);
+        if (m_streamToCursor) {
+            stringer.keySymbolValuePair(Members.STREAM_TO_CURSOR.name(), true);
+        }
     }
 
     @Override
@@ -94,6 +113,9 @@ public class SendPlanNode extends AbstractPlanNode {
     public void loadFromJSONObject(JSONObject jobj, Database db)
             throws JSONException {
         helpLoadFromJSONObject(jobj, db);
+        if (jobj.has(Members.STREAM_TO_CURSOR.name())) {
+            m_streamToCursor = jobj.getBoolean(Members.STREAM_TO_CURSOR.name());
+        }
     }
 
     @Override
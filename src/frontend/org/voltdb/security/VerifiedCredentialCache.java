@@ -0,0 +1,122 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.security;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.voltdb.client.ClientAuthScheme;
+
+/**
+ * Remembers, for a short while, which (user, hash scheme, password hash) triples
+ * were successfully verified against the shadow passwords of the catalog. A client
+ * fleet reconnecting after a failover presents the same credentials thousands of
+ * times in a few seconds, and re-running BCrypt for each of them is what keeps the
+ * CPU busy instead of serving the reconnected clients.
+ *
+ * Only successful verifications are cached, and only a digest of the presented hash
+ * is kept. A cache belongs to one {@link org.voltdb.AuthSystem}, so it is discarded
+ * with it whenever the catalog (and with it any user or password) changes.
+ */
+public class VerifiedCredentialCache {
+
+    /** How long a verification is trusted, 0 disables the cache */
+    public static final long DEFAULT_TTL_MS = Long.getLong("AUTH_CACHE_TTL_MS", 60000);
+
+    private static class Entry {
+        final byte[] m_digest;
+        final long m_expiresAtNanos;
+
+        Entry(byte[] digest, long expiresAtNanos) {
+            m_digest = digest;
+            m_expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> m_entries = new ConcurrentHashMap<>();
+    private final long m_ttlNanos;
+    private final LongSupplier m_clock;
+
+    public VerifiedCredentialCache() {
+        this(DEFAULT_TTL_MS, System::nanoTime);
+    }
+
+    /**
+     * @param ttlMillis  how long a verification is trusted, 0 disables the cache
+     * @param clock      source of monotonic nanoseconds
+     */
+    public VerifiedCredentialCache(long ttlMillis, LongSupplier clock) {
+        m_ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+        m_clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return m_ttlNanos > 0;
+    }
+
+    /**
+     * @return true if this exact password hash was verified for the user with the
+     *         same scheme and the verification has not expired yet
+     */
+    public boolean isVerified(String user, ClientAuthScheme scheme, byte[] password) {
+        if (!isEnabled()) {
+            return false;
+        }
+        final String key = key(user, scheme);
+        final Entry entry = m_entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (m_clock.getAsLong() - entry.m_expiresAtNanos >= 0) {
+            m_entries.remove(key, entry);
+            return false;
+        }
+        return MessageDigest.isEqual(entry.m_digest, digest(password));
+    }
+
+    /**
+     * Record a successful verification. A user only has one password, so this
+     * replaces whatever was remembered for the user and scheme.
+     */
+    public void verified(String user, ClientAuthScheme scheme, byte[] password) {
+        if (!isEnabled()) {
+            return;
+        }
+        m_entries.put(key(user, scheme), new Entry(digest(password), m_clock.getAsLong() + m_ttlNanos));
+    }
+
+    public int size() {
+        return m_entries.size();
+    }
+
+    private static String key(String user, ClientAuthScheme scheme) {
+        return scheme.name() + ':' + user;
+    }
+
+    private static byte[] digest(byte[] password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password);
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE is required to provide SHA-256
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.sysprocs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.voltdb.ClientInterface.ExplainMode;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.ParameterSet;
+import org.voltdb.VoltDB;
+import org.voltdb.VoltProcedure.VoltAbortException;
+import org.voltdb.VoltTable;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.largequery.CursorManager;
+
+/**
+ * Run a single ad hoc query through the large query path and keep its result
+ * on the server, so that the client can fetch it in pages with @CursorFetch.
+ *
+ * Parameters are the query, the fetch size and the parameters of the query.
+ * The response holds the first page of rows and a table with the id of the
+ * cursor and the number of rows still to fetch. When no rows are left, no
+ * cursor is kept and its id is 0. The cursor belongs to the calling user.
+ *
+ * The EE streams the result of a large query plan to a cursor on the host
+ * that ran the top fragment, chunk by chunk, and returns the id of that
+ * cursor instead of the rows. This procedure then claims the cursor for the
+ * user on that host. A query that is not planned in large query mode returns
+ * its rows, and the cursor is cut from them on this host.
+ */
+public class AdHocCursor extends AdHocNTBase {
+
+    public CompletableFuture<ClientResponse> run(ParameterSet params) {
+        if (params.size() < 2) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "@AdHocCursor requires the query and the fetch size.");
+        }
+
+        Object[] paramArray = params.toArray();
+        final int fetchSize;
+        try {
+            fetchSize = ((Number) paramArray[1]).intValue();
+        }
+        catch (ClassCastException e) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "@AdHocCursor fetch size must be an integer.");
+        }
+        if (fetchSize < 1) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "@AdHocCursor fetch size must be positive: " + fetchSize);
+        }
+
+        String sql = (String) paramArray[0];
+        Object[] userParams = null;
+        if (params.size() > 2) {
+            userParams = Arrays.copyOfRange(paramArray, 2, paramArray.length);
+        }
+
+        List<String> sqlStatements = new ArrayList<>();
+        AdHocSQLMix mix = processAdHocSQLStmtTypes(sql, sqlStatements);
+        if (mix == AdHocSQLMix.EMPTY) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "Failed to plan, no SQL statement provided.");
+        }
+        else if (mix != AdHocSQLMix.ALL_DML_OR_DQL) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "DDL is not supported in @AdHocCursor.");
+        }
+        if (sqlStatements.size() != 1) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                    "@AdHocCursor requires a single SELECT statement, got " + sqlStatements.size() + " statements.");
+        }
+
+        final String user = getUsername();
+        return runNonDDLAdHoc(VoltDB.instance().getCatalogContext(),
+                sqlStatements,
+                true,  // infer partitioning
+                null,  // no partition key
+                ExplainMode.NONE,
+                true,  // is a large query
+                false, // is not swap tables
+                true,  // keeps its result for a cursor
+                userParams).thenCompose(response -> {
+            if (response.getStatus() != ClientResponse.SUCCESS) {
+                return CompletableFuture.completedFuture(response);
+            }
+            VoltTable[] results = response.getResults();
+            if (results.length != 1) {
+                return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE,
+                        "@AdHocCursor requires a single SELECT statement, got " + results.length + " results.");
+            }
+            long cursorId = CursorManager.getStreamedCursorId(results[0]);
+            if (cursorId == 0) {
+                return openFromResult(user, results[0], fetchSize);
+            }
+            return claim(cursorId, user, fetchSize);
+        });
+    }
+
+    // The rows came back in the response, cut them into a cursor on this host.
+    private static CompletableFuture<ClientResponse> openFromResult(String user, VoltTable result, int fetchSize) {
+        int hostId = VoltDB.instance().getHostMessenger().getHostId();
+        try {
+            return CompletableFuture.completedFuture(new ClientResponseImpl(ClientResponse.SUCCESS,
+                    CursorManager.getInstance().open(hostId, user, result, fetchSize), null));
+        }
+        catch (IllegalStateException e) {
+            return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE, "@AdHocCursor failed: " + e.getMessage());
+        }
+    }
+
+    // The rows were streamed to a cursor on the host that ran the query, claim it there.
+    private CompletableFuture<ClientResponse> claim(long cursorId, String user, int fetchSize) {
+        int owner = CursorManager.getHostId(cursorId);
+        if (owner == VoltDB.instance().getHostMessenger().getHostId()) {
+            try {
+                return CompletableFuture.completedFuture(new ClientResponseImpl(ClientResponse.SUCCESS,
+                        CursorFetch.claimLocal(cursorId, user, fetchSize), null));
+            }
+            catch (VoltAbortException e) {
+                return makeQuickResponse(ClientResponse.GRACEFUL_FAILURE, "@AdHocCursor failed: " + e.getMessage());
+            }
+        }
+
+        // the other hosts run the call as the internal admin user, so pass the caller on
+        return callNTProcedureOnHost(owner, "@LocalCursorFetchNT", cursorId, user, (byte) 0, fetchSize)
+                .thenApply((Map<Integer, ClientResponse> responses) -> {
+            ClientResponse response = responses.get(owner);
+            if (response == null) {
+                return new ClientResponseImpl(ClientResponse.GRACEFUL_FAILURE, new VoltTable[0],
+                        "@AdHocCursor failed: host " + owner + " that holds the result is not running.");
+            }
+            return response;
+        });
+    }
+}
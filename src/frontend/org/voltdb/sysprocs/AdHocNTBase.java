@@ -56,6 +56,7 @@ import com.google_voltpatches.common.base.Charsets;
 public abstract class AdHocNTBase extends UpdateApplicationBase {
 
     protected static final VoltLogger adhocLog = new VoltLogger("ADHOC");
+    private static final VoltTrace.TracePoint TRACE_PLAN_ADHOC_END = VoltTrace.TracePoint.endAsync("planadhoc");
 
     public static final String AdHocErrorResponseMessage =
             "The @AdHoc stored procedure when called with more than one parameter "
@@ -183,6 +184,26 @@ public abstract class AdHocNTBase extends UpdateApplicationBase {
                                                         boolean isSwapTables,
                                                         Object[] userParamSet)
                                                                 throws AdHocPlanningException
+    {
+        return compileAdHocSQL(plannerTool, sqlStatement, inferPartitioning, userPartitionKey,
+                               explainMode, isLargeQuery, isSwapTables, false, userParamSet);
+    }
+
+    /**
+     * Compile a batch of one or more SQL statements into a set of plans.
+     * A cursor query keeps the result of its large query plan on the server
+     * for @AdHocCursor instead of returning it in one table.
+     */
+    public static AdHocPlannedStatement compileAdHocSQL(PlannerTool plannerTool,
+                                                        String sqlStatement,
+                                                        boolean inferPartitioning,
+                                                        Object userPartitionKey,
+                                                        ExplainMode explainMode,
+                                                        boolean isLargeQuery,
+                                                        boolean isSwapTables,
+                                                        boolean isCursorQuery,
+                                                        Object[] userParamSet)
+                                                                throws AdHocPlanningException
     {
         assert(plannerTool != null);
         assert(sqlStatement != null);
@@ -208,7 +229,8 @@ public abstract class AdHocNTBase extends UpdateApplicationBase {
                                  explainMode != ExplainMode.NONE,
                                  userParamSet,
                                  isSwapTables,
-                                 isLargeQuery);
+                                 isLargeQuery,
+                                 isCursorQuery);
         }
         catch (Exception e) {
             throw new AdHocPlanningException(e.getMessage());
@@ -261,6 +283,24 @@ public abstract class AdHocNTBase extends UpdateApplicationBase {
                                                                boolean isLargeQuery,
                                                                boolean isSwapTables,
                                                                Object[] userParamSet)
+    {
+        return runNonDDLAdHoc(context, sqlStatements, inferPartitioning, userPartitionKey,
+                              explainMode, isLargeQuery, isSwapTables, false, userParamSet);
+    }
+
+    /**
+     * Plan and execute a batch of DML/DQL sql, optionally keeping the result of
+     * a large query on the server for a cursor. Cursor queries must be read-only.
+     */
+    protected CompletableFuture<ClientResponse> runNonDDLAdHoc(CatalogContext context,
+                                                               List<String> sqlStatements,
+                                                               boolean inferPartitioning,
+                                                               Object userPartitionKey,
+                                                               ExplainMode explainMode,
+                                                               boolean isLargeQuery,
+                                                               boolean isSwapTables,
+                                                               boolean isCursorQuery,
+                                                               Object[] userParamSet)
     {
         // record the catalog version the query is planned against to
         // catch races vs. updateApplicationCatalog.
@@ -293,7 +333,11 @@ public abstract class AdHocNTBase extends UpdateApplicationBase {
                                                                explainMode,
                                                                isLargeQuery,
                                                                isSwapTables,
+                                                               isCursorQuery,
                                                                userParamSet);
+                if (isCursorQuery && !result.core.readOnly) {
+                    throw new AdHocPlanningException("A cursor can only be opened on a read-only query.");
+                }
                 // The planning tool may have optimized for the single partition case
                 // and generated a partition parameter.
                 if (inferSP) {
@@ -327,7 +371,7 @@ public abstract class AdHocNTBase extends UpdateApplicationBase {
 
         final VoltTrace.TraceEventBatch traceLog = VoltTrace.log(VoltTrace.Category.CI);
         if (traceLog != null) {
-            traceLog.add(() -> VoltTrace.endAsync("planadhoc", getClientHandle()));
+            traceLog.event(TRACE_PLAN_ADHOC_END).value(getClientHandle()).log();
         }
 
         if (explainMode == ExplainMode.EXPLAIN_ADHOC) {
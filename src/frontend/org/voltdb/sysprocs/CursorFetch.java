@@ -0,0 +1,118 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.sysprocs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.voltdb.VoltDB;
+import org.voltdb.VoltNTSystemProcedure;
+import org.voltdb.VoltProcedure.VoltAbortException;
+import org.voltdb.VoltTable;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.largequery.CursorManager;
+
+/**
+ * Fetch the next page of a cursor opened by @AdHocCursor, or close it.
+ *
+ * Parameters are the cursor id and a flag that closes the cursor instead of
+ * fetching from it. A fetch returns the page of rows and a table with the id
+ * of the cursor and the number of rows still to fetch. The cursor is closed
+ * after its last page, and its id is then 0.
+ *
+ * Only the user that opened a cursor can fetch from it or close it.
+ *
+ * Cursors live on the host that opened them. A call that reaches another host
+ * is passed on to the owner, whose id is in the cursor id. The forwarded call
+ * names the calling user, so it is kept to admin users.
+ */
+public class CursorFetch extends VoltNTSystemProcedure {
+
+    public static class LocalCursorFetchNT extends VoltNTSystemProcedure {
+
+        /**
+         * A positive fetch size claims a cursor that a query streamed its
+         * result to for the user, see @AdHocCursor.
+         */
+        public VoltTable[] run(long cursorId, String user, byte close, int fetchSize) {
+            if (CursorManager.getHostId(cursorId) != VoltDB.instance().getHostMessenger().getHostId()) {
+                return new VoltTable[0];
+            }
+            if (fetchSize > 0) {
+                return claimLocal(cursorId, user, fetchSize);
+            }
+            return fetchLocal(cursorId, user, close);
+        }
+    }
+
+    static VoltTable[] claimLocal(long cursorId, String user, int fetchSize) {
+        CursorManager cursors = CursorManager.getInstance();
+        VoltTable[] page;
+        try {
+            page = cursors.claim(cursorId, user, fetchSize);
+        }
+        catch (IOException e) {
+            cursors.close(cursorId, user);
+            throw new VoltAbortException(e);
+        }
+        if (page == null) {
+            throw new VoltAbortException("Cursor " + cursorId + " does not exist or has expired.");
+        }
+        return page;
+    }
+
+    static VoltTable[] fetchLocal(long cursorId, String user, byte close) {
+        CursorManager cursors = CursorManager.getInstance();
+        if (close != 0) {
+            cursors.close(cursorId, user);
+            return new VoltTable[0];
+        }
+
+        VoltTable[] page;
+        try {
+            page = cursors.fetch(cursorId, user);
+        }
+        catch (IOException e) {
+            cursors.close(cursorId, user);
+            throw new VoltAbortException(e);
+        }
+        if (page == null) {
+            throw new VoltAbortException("Cursor " + cursorId + " does not exist or has expired.");
+        }
+        return page;
+    }
+
+    public VoltTable[] run(long cursorId, byte close) throws InterruptedException, ExecutionException {
+        int owner = CursorManager.getHostId(cursorId);
+        if (owner == VoltDB.instance().getHostMessenger().getHostId()) {
+            return fetchLocal(cursorId, getUsername(), close);
+        }
+
+        // the other hosts run the call as the internal admin user, so pass the caller on
+        Map<Integer, ClientResponse> responses =
+                callNTProcedureOnHost(owner, "@LocalCursorFetchNT", cursorId, getUsername(), close, 0).get();
+        ClientResponse response = responses.get(owner);
+        if (response == null) {
+            throw new VoltAbortException("Cursor " + cursorId + " is gone, host " + owner + " is not running.");
+        }
+        if (response.getStatus() != ClientResponse.SUCCESS) {
+            throw new VoltAbortException(response.getStatusString());
+        }
+        return response.getResults();
+    }
+}
@@ -38,6 +38,7 @@ import org.voltcore.common.Constants;
 import org.voltcore.logging.VoltLogger;
 import org.voltcore.utils.CoreUtils;
 import org.voltcore.zk.CoreZK;
+import org.voltdb.CatalogReuseInfo;
 import org.voltdb.DependencyPair;
 import org.voltdb.ParameterSet;
 import org.voltdb.SystemProcedureExecutionContext;
@@ -439,6 +440,17 @@ public class SystemInformation extends VoltSystemProcedure
         vt.addRow(hostId, "LAST_UPDATECORE_DURATION",
                 Long.toString(VoltDB.instance().getCatalogContext().m_lastUpdateCoreDuration));
 
+        // what the last catalog update carried over instead of rebuilding, -1 if not known
+        CatalogReuseInfo reuse = VoltDB.instance().getCatalogContext().m_catalogInfo.m_reuse;
+        vt.addRow(hostId, "LAST_UPDATECORE_PROCEDURES_REUSED",
+                Integer.toString(reuse == null ? -1 : reuse.getProceduresReused()));
+        vt.addRow(hostId, "LAST_UPDATECORE_PROCEDURES_REBUILT",
+                Integer.toString(reuse == null ? -1 : reuse.getProceduresRebuilt()));
+        vt.addRow(hostId, "LAST_UPDATECORE_ADHOC_PLANS_CARRIED",
+                Integer.toString(reuse == null ? -1 : reuse.getAdHocPlansCarried()));
+        vt.addRow(hostId, "LAST_UPDATECORE_ADHOC_PLANS_DROPPED",
+                Integer.toString(reuse == null ? -1 : reuse.getAdHocPlansDropped()));
+
         SocketHubAppender hubAppender =
             (SocketHubAppender) Logger.getRootLogger().getAppender("hub");
         int port = 0;
@@ -62,10 +62,10 @@ class CSVFileReader implements Runnable {
     long m_parsingTime = 0;
     private static final Map<VoltType, String> m_blankStrings = new EnumMap<VoltType, String>(VoltType.class);
     private static final VoltLogger m_log = new VoltLogger("CSVLOADER");
-    private final CSVDataLoader m_loader;
-    private final BulkLoaderErrorHandler m_errHandler;
-    private final VoltType[] m_columnTypes;
-    private final int m_columnCount;
+    final CSVDataLoader m_loader;
+    final BulkLoaderErrorHandler m_errHandler;
+    final VoltType[] m_columnTypes;
+    final int m_columnCount;
     private int headerlen;
     private Integer[] order;
 
@@ -134,10 +134,9 @@ class CSVFileReader implements Runnable {
                     continue;
                 }
 
-                String[] lineValues = lineList.toArray(new String[0]);
                 String lineCheckResult;
                 String[] reorderValues = new String[m_columnCount];
-                if ((lineCheckResult = checkparams_trimspace_reorder(lineValues, reorderValues)) != null) {
+                if ((lineCheckResult = checkparams_trimspace_reorder(lineList, reorderValues)) != null) {
                     final RowWithMetaData metaData
                             = new RowWithMetaData(m_listReader.getUntokenizedRow(),
                                     m_totalLineCount.get() + 1);
@@ -169,7 +168,13 @@ class CSVFileReader implements Runnable {
             }
         }
 
-        //Now wait for processors to see endOfData and count down. After that drain to finish all callbacks
+        closeLoader();
+    }
+
+    /**
+     * Wait for processors to see endOfData and count down. After that drain to finish all callbacks
+     */
+    void closeLoader() {
         try {
             m_log.debug("Waiting for CSVDataLoader to finish.");
             m_loader.close();
@@ -182,56 +187,66 @@ class CSVFileReader implements Runnable {
 
     private boolean checkHeader() {
         try {
-            String[] firstline = m_listReader.getHeader(false);
-            Set<String> firstset = new HashSet<String>();
-            BiMap<Integer, String> colNames = HashBiMap.create(m_loader.getColumnNames());
-            headerlen = firstline.length;
-            // remove duplicate.
-            for (String name : firstline) {
-                if (name != null) {
-                    firstset.add(name.toUpperCase());
-                } else {
-                    return false;
-                }
-            }
-            // whether column num matches.
-            if (headerlen < m_columnCount) {
-                return false;
+            return checkHeader(m_listReader.getHeader(false));
+        } catch (IOException ex) {
+            m_log.error("Failed to read CSV line from file: " + ex);
+        }
+        return true;
+    }
+
+    /**
+     * Build the mapping from file columns to table columns out of the csv header.
+     *
+     * @param firstline the tokenized header line
+     * @return false if the header does not match the columns of the table
+     */
+    boolean checkHeader(String[] firstline) {
+        Set<String> firstset = new HashSet<String>();
+        BiMap<Integer, String> colNames = HashBiMap.create(m_loader.getColumnNames());
+        headerlen = firstline.length;
+        // remove duplicate.
+        for (String name : firstline) {
+            if (name != null) {
+                firstset.add(name.toUpperCase());
             } else {
-                // whether column name has according table column.
-                int matchColCount = 0;
-                for (String name : firstset) {
-                    if (colNames.containsValue(name.trim())) {
-                        matchColCount++;
-                    }
-                }
-                if (matchColCount != m_columnCount) {
-                    return false;
+                return false;
+            }
+        }
+        // whether column num matches.
+        if (headerlen < m_columnCount) {
+            return false;
+        } else {
+            // whether column name has according table column.
+            int matchColCount = 0;
+            for (String name : firstset) {
+                if (colNames.containsValue(name.trim())) {
+                    matchColCount++;
                 }
             }
-            // get the mapping from file column num to table column num.
-            order = new Integer[headerlen];
-            for (int fileCol = 0; fileCol < headerlen; fileCol++) {
-                String name = firstline[fileCol];
-                Integer tableCol = colNames.inverse().get(name.trim().toUpperCase());
-                order[fileCol] = tableCol;
+            if (matchColCount != m_columnCount) {
+                return false;
             }
-        } catch (IOException ex) {
-            m_log.error("Failed to read CSV line from file: " + ex);
+        }
+        // get the mapping from file column num to table column num.
+        order = new Integer[headerlen];
+        for (int fileCol = 0; fileCol < headerlen; fileCol++) {
+            String name = firstline[fileCol];
+            Integer tableCol = colNames.inverse().get(name.trim().toUpperCase());
+            order[fileCol] = tableCol;
         }
         return true;
     }
 
-    private String checkparams_trimspace_reorder(String[] lineValues, String[] reorderValues) {
-        if (lineValues.length != m_columnCount && !m_config.header) {
-            return String.format(COLUMN_COUNT_ERROR, lineValues.length, m_columnCount);
+    String checkparams_trimspace_reorder(List<String> lineValues, String[] reorderValues) {
+        if (lineValues.size() != m_columnCount && !m_config.header) {
+            return String.format(COLUMN_COUNT_ERROR, lineValues.size(), m_columnCount);
         }
 
-        if (lineValues.length != headerlen && m_config.header) {
-            return String.format(HEADER_COUNT_ERROR, lineValues.length, headerlen);
+        if (lineValues.size() != headerlen && m_config.header) {
+            return String.format(HEADER_COUNT_ERROR, lineValues.size(), headerlen);
         }
 
-        for (int fileCol = 0; fileCol<lineValues.length; fileCol++) {
+        for (int fileCol = 0; fileCol<lineValues.size(); fileCol++) {
             int i = fileCol;
             if (m_config.header) {
                 if (order[fileCol] != null) {
@@ -240,7 +255,7 @@ class CSVFileReader implements Runnable {
                     continue;
                 }
             }
-            reorderValues[i] = lineValues[fileCol];
+            reorderValues[i] = lineValues.get(fileCol);
             //supercsv read "" to null
             if (reorderValues[i] == null) {
                 if (m_config.blank.equalsIgnoreCase("error")) {
@@ -259,7 +274,7 @@ class CSVFileReader implements Runnable {
                 }
 
                 if(!m_config.customNullString.isEmpty()){
-                    if(lineValues[i].equals(m_config.customNullString)){
+                    if(lineValues.get(i).equals(m_config.customNullString)){
                         reorderValues[i] = null;
                     }
                 }
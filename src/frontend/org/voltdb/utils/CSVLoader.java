@@ -315,6 +315,9 @@ public class CSVLoader implements BulkLoaderErrorHandler {
         @Option(desc = "Batch Size for processing.")
         public int batch = 200;
 
+        @Option(desc = "number of threads parsing the input file in parallel, quoted values must not span lines (default: 1)")
+        int readers = 1;
+
         @Option(desc = "First line of csv file is column name.", hasArg = false)
         boolean header = DEFAULT_HEADER;
 
@@ -357,6 +360,15 @@ public class CSVLoader implements BulkLoaderErrorHandler {
             if (batch < 0) {
                 exitWithMessageAndUsage("batch size number must be >= 0");
             }
+            if (readers < 1) {
+                exitWithMessageAndUsage("readers must be >= 1");
+            }
+            if (readers > 1 && file.equals("")) {
+                exitWithMessageAndUsage("--readers requires an input file, it cannot be used with standard input");
+            }
+            if (readers > 1 && limitrows != Integer.MAX_VALUE) {
+                exitWithMessageAndUsage("--limitrows and --readers options are mutually exclusive.");
+            }
             if(!customNullString.isEmpty() && !blank.equals("error")){
                 blank = "empty";
             }
@@ -432,6 +444,11 @@ public class CSVLoader implements BulkLoaderErrorHandler {
                         config.strictquotes, config.escape, config.columnsizelimit,
                         config.skip, config.header);
                 listReader = new CsvListReader(tokenizer, csvPreference);
+            } else if (config.readers > 1) {
+                // The parallel reader maps the file itself
+                if (!new File(config.file).canRead()) {
+                    throw new FileNotFoundException(config.file);
+                }
             } else {
                 FileInputStream fis = new FileInputStream(config.file);
                 InputStreamReader isr = new InputStreamReader(fis, config.charset);
@@ -511,7 +528,12 @@ public class CSVLoader implements BulkLoaderErrorHandler {
 
             CSVFileReader.initializeReader(cfg, csvClient, listReader);
 
-            CSVFileReader csvReader = new CSVFileReader(dataLoader, errHandler);
+            CSVFileReader csvReader;
+            if (config.readers > 1) {
+                csvReader = new CSVParallelFileReader(dataLoader, errHandler, csvPreference, config.readers);
+            } else {
+                csvReader = new CSVFileReader(dataLoader, errHandler);
+            }
 
             Thread readerThread = new Thread(csvReader);
             readerThread.setName("CSVFileReader");
@@ -534,7 +556,9 @@ public class CSVLoader implements BulkLoaderErrorHandler {
 
             //Close the reader.
             try {
-               listReader.close();
+               if (listReader != null) {
+                   listReader.close();
+               }
             } catch (Exception ex) {
                 //Do nothing here.
             }
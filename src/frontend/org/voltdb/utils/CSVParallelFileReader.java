@@ -0,0 +1,349 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.voltdb.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.io.CsvListReader;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv_voltpatches.tokenizer.Tokenizer;
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.CoreUtils;
+
+/**
+ * Multi-threaded counterpart of {@link CSVFileReader}, used when csvloader is given
+ * more than one reader thread.
+ *
+ * The input file is split into line-aligned chunks which are memory-mapped and parsed
+ * concurrently. A first pass counts the lines of every chunk so that each parser knows
+ * which line of the file its chunk starts on, and errors are reported with the same line
+ * numbers the single threaded reader would produce. Parsed rows are handed straight to
+ * the CSVDataLoader from the parsing thread.
+ *
+ * Chunks are split on line breaks, so quoted values must not span several lines.
+ */
+class CSVParallelFileReader extends CSVFileReader {
+    private static final VoltLogger m_log = new VoltLogger("CSVLOADER");
+
+    /**
+     * Target size of a chunk, chunks end on the first line break at or after this size.
+     * Not final so that tests can split small files.
+     */
+    static int chunkSize = Integer.getInteger("CSVLOADER_CHUNK_SIZE", 64 * 1024 * 1024);
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final CsvPreference m_preference;
+    private final Charset m_charset;
+    private final int m_readerCount;
+    private final AtomicLong m_parsingNanos = new AtomicLong(0);
+    private volatile boolean m_stopped = false;
+
+    /**
+     * A line-aligned region of the input file.
+     */
+    static class Chunk {
+        final long m_offset;
+        final long m_length;
+        MappedByteBuffer m_buffer;
+        // number of lines in this chunk, including a trailing line without a line break
+        long m_lineCount;
+        // number of lines in the file before this chunk
+        long m_linesBefore;
+
+        Chunk(long offset, long length) {
+            m_offset = offset;
+            m_length = length;
+        }
+    }
+
+    public CSVParallelFileReader(CSVDataLoader loader, BulkLoaderErrorHandler errorHandler,
+            CsvPreference preference, int readerCount) {
+        super(loader, errorHandler);
+        m_preference = preference;
+        m_charset = Charset.forName(m_config.charset);
+        m_readerCount = readerCount;
+    }
+
+    @Override
+    public void run() {
+        ExecutorService es = CoreUtils.getListeningExecutorService("CSVFileReader", m_readerCount);
+        try (RandomAccessFile file = new RandomAccessFile(m_config.file, "r");
+             FileChannel channel = file.getChannel()) {
+            final long size = channel.size();
+            long dataStart = 0;
+            long linesBefore = 0;
+
+            //if header option is true, check whether csv first line is valid
+            if (m_config.header) {
+                dataStart = nextLineStart(channel, 0, size);
+                String headerLine = readLine(channel, 0, dataStart);
+                if (!checkHeader(tokenizeHeader(headerLine))) {
+                    m_log.error("In the CSV file " + m_config.file + ", the header "+ headerLine.trim() +" does not match "
+                            + "an existing column in the table " + m_config.table + ".");
+                    System.exit(-1);
+                }
+                linesBefore++;
+            }
+            for (long i = 0; i < m_config.skip && dataStart < size; i++) {
+                dataStart = nextLineStart(channel, dataStart, size);
+                linesBefore++;
+            }
+
+            final List<Chunk> chunks = planChunks(channel, dataStart, size);
+
+            // First pass, map every chunk and count its lines
+            List<Future<?>> counts = new ArrayList<>(chunks.size());
+            for (final Chunk chunk : chunks) {
+                counts.add(es.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        countLines(channel, chunk);
+                    }
+                }));
+            }
+            waitFor(counts);
+            for (Chunk chunk : chunks) {
+                chunk.m_linesBefore = linesBefore;
+                linesBefore += chunk.m_lineCount;
+            }
+
+            // Second pass, parse the chunks in parallel
+            List<Future<?>> parses = new ArrayList<>(chunks.size());
+            for (final Chunk chunk : chunks) {
+                parses.add(es.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        parseChunk(chunk);
+                    }
+                }));
+            }
+            waitFor(parses);
+            m_totalLineCount.set(linesBefore);
+        } catch (IOException ex) {
+            m_log.error("Failed to read CSV line from file: " + ex);
+        } catch (ExecutionException ex) {
+            m_log.error("Failed to read CSV line from file: " + ex.getCause());
+        } catch (InterruptedException e) {
+            m_log.error("CSVLoader interrupted: " + e);
+        } finally {
+            m_stopped = true;
+            es.shutdownNow();
+            m_parsingTime = m_parsingNanos.get();
+        }
+
+        closeLoader();
+    }
+
+    private String[] tokenizeHeader(String headerLine) throws IOException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader(headerLine), m_preference,
+                m_config.strictquotes, m_config.escape, m_config.columnsizelimit, 0, true);
+        try (CsvListReader reader = new CsvListReader(tokenizer, m_preference)) {
+            return reader.getHeader(false);
+        }
+    }
+
+    /**
+     * Split the data section of the file into chunks of roughly {@link #chunkSize} bytes,
+     * each ending right after a line break (or at the end of the file).
+     */
+    static List<Chunk> planChunks(FileChannel channel, long start, long size) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        while (start < size) {
+            long end = (size - start <= chunkSize) ? size : nextLineStart(channel, start + chunkSize - 1, size);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting at byte " + start + " is too long to be mapped");
+            }
+            chunks.add(new Chunk(start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the position right after the first line break at or after pos, or size if there is none
+     */
+    static long nextLineStart(FileChannel channel, long pos, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (pos < size) {
+            buf.clear();
+            int read = channel.read(buf, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private String readLine(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) (end - start));
+        while (buf.hasRemaining() && channel.read(buf, start + buf.position()) > 0) {}
+        buf.flip();
+        return m_charset.decode(buf).toString();
+    }
+
+    static void countLines(FileChannel channel, Chunk chunk) {
+        try {
+            chunk.m_buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.m_offset, chunk.m_length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        final MappedByteBuffer buf = chunk.m_buffer;
+        final int limit = buf.limit();
+        long lines = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (limit > 0 && buf.get(limit - 1) != '\n') {
+            lines++;
+        }
+        chunk.m_lineCount = lines;
+    }
+
+    private void parseChunk(Chunk chunk) {
+        // Reused for every line of the chunk, the tokenizer clears it before each line
+        final List<String> lineList = new ArrayList<String>(m_columnCount);
+        final Tokenizer tokenizer = new Tokenizer(
+                new InputStreamReader(new MappedChunkInputStream(chunk.m_buffer), m_charset),
+                m_preference, m_config.strictquotes, m_config.escape, m_config.columnsizelimit, 0);
+        long rowCount = 0;
+        long parsingTime = 0;
+        try {
+            while (!m_stopped) {
+                if (m_errHandler.hasReachedErrorLimit()) {
+                    m_stopped = true;
+                    break;
+                }
+
+                final int lineBefore = tokenizer.getLineNumber();
+                try {
+                    long st = System.nanoTime();
+                    boolean more = tokenizer.readColumns(lineList);
+                    parsingTime += (System.nanoTime() - st);
+                    if (!more) {
+                        break;
+                    }
+                    rowCount++;
+
+                    if (lineList.isEmpty()) {
+                        continue;
+                    }
+
+                    // The row has been read completely, so unlike the tokenizer errors below
+                    // its line number is known even if blank lines preceded it.
+                    String lineCheckResult;
+                    String[] reorderValues = new String[m_columnCount];
+                    if ((lineCheckResult = checkparams_trimspace_reorder(lineList, reorderValues)) != null) {
+                        final RowWithMetaData metaData
+                                = new RowWithMetaData(tokenizer.getUntokenizedRow(),
+                                        chunk.m_linesBefore + tokenizer.getLineNumber());
+                        if (m_errHandler.handleError(metaData, null, lineCheckResult)) {
+                            m_stopped = true;
+                            break;
+                        }
+                        continue;
+                    }
+
+                    RowWithMetaData lineData
+                            = new RowWithMetaData(tokenizer.getUntokenizedRow(),
+                                    chunk.m_linesBefore + tokenizer.getLineNumber());
+                    m_loader.insertRow(lineData, reorderValues);
+                } catch (SuperCsvException e) {
+                    //Catch rows that can not be read by the tokenizer.
+                    // e.g. items without quotes when strictquotes is enabled.
+                    final RowWithMetaData metaData
+                            = new RowWithMetaData(tokenizer.getUntokenizedRow(),
+                                    chunk.m_linesBefore + lineBefore + 1);
+                    if (m_errHandler.handleError(metaData, null, e.getMessage())) {
+                        m_stopped = true;
+                        break;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            m_log.error("Failed to read CSV line from file: " + ex);
+            m_stopped = true;
+        } catch (InterruptedException e) {
+            m_log.error("CSVLoader interrupted: " + e);
+            m_stopped = true;
+        } finally {
+            // Drop the mapping as soon as the chunk is done with
+            chunk.m_buffer = null;
+            m_totalRowCount.addAndGet(rowCount);
+            m_parsingNanos.addAndGet(parsingTime);
+        }
+    }
+
+    private static void waitFor(List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (Future<?> f : futures) {
+            f.get();
+        }
+    }
+
+    /**
+     * Reads a chunk through a duplicate of its mapping so every parser has its own position.
+     */
+    private static class MappedChunkInputStream extends InputStream {
+        private final ByteBuffer m_bb;
+
+        MappedChunkInputStream(MappedByteBuffer buffer) {
+            m_bb = buffer.duplicate();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return m_bb.hasRemaining() ? (m_bb.get() & 0xff) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (!m_bb.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, m_bb.remaining());
+            m_bb.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return m_bb.remaining();
+        }
+    }
+}
@@ -87,6 +87,7 @@ public class HTTPAdminListener {
     final SessionHandler m_sessionHandler = new SessionHandler();
 
     final HTTPClientInterface httpClientInterface = new HTTPClientInterface();
+    final MetricsCache m_metricsCache = new MetricsCache();
     boolean m_jsonEnabled;
 
     Map<String, String> m_htmlTemplates = new HashMap<>();
@@ -290,6 +291,7 @@ public class HTTPAdminListener {
             servlets.addServletWithMapping(DeploymentRequestServlet.class, "/deployment/*").setAsyncSupported(true);
             servlets.addServletWithMapping(UserProfileServlet.class, "/profile/*").setAsyncSupported(true);
             servlets.addServletWithMapping(LogoutServlet.class, "/logout/*").setAsyncSupported(true);
+            servlets.addServletWithMapping(MetricsServlet.class, "/metrics").setAsyncSupported(true);
 
             httpClientInterface.setTimeout(timeout);
             m_jsonEnabled = jsonEnabled;
@@ -328,6 +330,7 @@ public class HTTPAdminListener {
     public void start() throws Exception {
         try {
             m_server.start();
+            m_metricsCache.start();
         } catch (Exception e) {
             // double try to make sure the port doesn't get eaten
             try { m_server.stop(); } catch (Exception e2) {}
@@ -343,6 +346,7 @@ public class HTTPAdminListener {
         if (httpClientInterface != null) {
             httpClientInterface.stop();
         }
+        m_metricsCache.stop();
 
         try {
             m_server.stop();
@@ -0,0 +1,48 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+/**
+ * To store the result of SQLLexer.parameterizeLiterals(): a normalized form of a
+ * statement with its literals replaced by typed placeholders, and the literal values
+ * in the order they appear in the statement.
+ */
+public class LexicalParameterization {
+    private final String m_key;
+    private final String[] m_literals;
+
+    public LexicalParameterization(String key, String[] literals) {
+        m_key = key;
+        m_literals = literals;
+    }
+
+    /**
+     * Statements that only differ by the value of their literals, by whitespace,
+     * comments or the case of keywords and unquoted identifiers share the same key.
+     */
+    public String getKey() {
+        return m_key;
+    }
+
+    /**
+     * @return the literal values in statement order, strings unquoted and unescaped.
+     */
+    public String[] getLiterals() {
+        return m_literals;
+    }
+}
@@ -0,0 +1,242 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram_voltpatches.AbstractHistogram;
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.CompressionStrategySnappy;
+import org.voltcore.utils.CoreUtils;
+import org.voltdb.StatsAgent;
+import org.voltdb.StatsSelector;
+import org.voltdb.VoltDB;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+
+/**
+ * Periodically renders the statistics of this node in OpenMetrics text format
+ * for the /metrics endpoint.
+ *
+ * The rendering is done on a dedicated thread every {@link #REFRESH_INTERVAL_MS}
+ * from the values the local StatsAgent sources already hold, so a scrape only
+ * returns the last rendered text and never results in work on the sites.
+ *
+ * Every numeric column of a selector becomes a gauge named
+ * voltdb_&lt;selector&gt;_&lt;column&gt;, labeled with the string and id columns
+ * of its row. The all-time latency histogram is exported as an OpenMetrics histogram.
+ */
+public class MetricsCache {
+    private static final VoltLogger m_log = new VoltLogger("HOST");
+
+    public static final int REFRESH_INTERVAL_MS = Integer.getInteger("METRICS_REFRESH_INTERVAL_MS", 5000);
+
+    static final String PREFIX = "voltdb_";
+    static final String LATENCY_HISTOGRAM_NAME = PREFIX + "latency_microseconds";
+    // Upper bounds of the latency histogram buckets, in microseconds
+    static final long[] LATENCY_BUCKETS = {
+            100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 500000, 1000000 };
+
+    static final StatsSelector[] SELECTORS = {
+            StatsSelector.LATENCY,
+            StatsSelector.PROCEDURE,
+            StatsSelector.TABLE,
+            StatsSelector.INDEX,
+            StatsSelector.IOSTATS,
+            StatsSelector.QUEUE,
+            StatsSelector.INITIATOR,
+            StatsSelector.MEMORY,
+            StatsSelector.CPU,
+            StatsSelector.IMPORTER,
+            StatsSelector.COMMANDLOG };
+
+    private volatile String m_snapshot = "# EOF\n";
+    private ScheduledThreadPoolExecutor m_es = null;
+
+    public synchronized void start() {
+        if (m_es != null) {
+            return;
+        }
+        m_es = CoreUtils.getScheduledThreadPoolExecutor("Metrics Cache", 1, CoreUtils.SMALL_STACK_SIZE);
+        m_es.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        }, 0, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (m_es != null) {
+            m_es.shutdownNow();
+            m_es = null;
+        }
+    }
+
+    /**
+     * @return the metrics rendered by the last refresh
+     */
+    public String getSnapshot() {
+        return m_snapshot;
+    }
+
+    void refresh() {
+        try {
+            StatsAgent agent = VoltDB.instance().getStatsAgent();
+            if (agent == null) {
+                return;
+            }
+            final Long now = System.currentTimeMillis();
+            StringBuilder sb = new StringBuilder(64 * 1024);
+            for (StatsSelector selector : SELECTORS) {
+                // Never ask for interval stats, that would reset the intervals of @Statistics callers
+                VoltTable table = agent.getStatsAggregate(selector, false, now);
+                if (table != null) {
+                    renderTable(sb, selector, table);
+                }
+            }
+            VoltTable latency = agent.getStatsAggregate(StatsSelector.LATENCY_COMPRESSED, false, now);
+            if (latency != null && latency.advanceRow()) {
+                AbstractHistogram histogram = AbstractHistogram.fromCompressedBytes(
+                        latency.getVarbinary("HISTOGRAM"), CompressionStrategySnappy.INSTANCE);
+                renderHistogram(sb, LATENCY_HISTOGRAM_NAME, histogram);
+            }
+            sb.append("# EOF\n");
+            m_snapshot = sb.toString();
+        } catch (Throwable t) {
+            // keep serving the last good snapshot
+            m_log.warn("Failed to refresh the metrics snapshot", t);
+        }
+    }
+
+    private static boolean isLabel(VoltTable table, int column) {
+        if (table.getColumnType(column) == VoltType.STRING) {
+            return true;
+        }
+        String name = table.getColumnName(column);
+        return name.equals("ID") || name.endsWith("_ID");
+    }
+
+    private static boolean isNumeric(VoltType type) {
+        switch (type) {
+        case TINYINT:
+        case SMALLINT:
+        case INTEGER:
+        case BIGINT:
+        case FLOAT:
+        case DECIMAL:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Append one gauge family per numeric column of the table.
+     */
+    static void renderTable(StringBuilder sb, StatsSelector selector, VoltTable table) {
+        final int columnCount = table.getColumnCount();
+        List<Integer> labelColumns = new ArrayList<>();
+        List<Integer> valueColumns = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            if (isLabel(table, i)) {
+                labelColumns.add(i);
+            } else if (isNumeric(table.getColumnType(i)) && !table.getColumnName(i).equals("TIMESTAMP")) {
+                valueColumns.add(i);
+            }
+        }
+
+        // Labels are the same for every family, so build them once per row
+        String[] rowLabels = new String[table.getRowCount()];
+        table.resetRowPosition();
+        for (int row = 0; table.advanceRow(); row++) {
+            StringBuilder labels = new StringBuilder();
+            for (int column : labelColumns) {
+                Object value = table.get(column, table.getColumnType(column));
+                if (table.wasNull()) {
+                    continue;
+                }
+                labels.append(labels.length() == 0 ? "{" : ",");
+                labels.append(metricName(table.getColumnName(column))).append("=\"");
+                escapeLabelValue(labels, value.toString());
+                labels.append('"');
+            }
+            if (labels.length() > 0) {
+                labels.append('}');
+            }
+            rowLabels[row] = labels.toString();
+        }
+
+        final String familyPrefix = PREFIX + metricName(selector.name()) + "_";
+        for (int column : valueColumns) {
+            String family = familyPrefix + metricName(table.getColumnName(column));
+            sb.append("# TYPE ").append(family).append(" gauge\n");
+            table.resetRowPosition();
+            for (int row = 0; table.advanceRow(); row++) {
+                Object value = table.get(column, table.getColumnType(column));
+                if (table.wasNull()) {
+                    continue;
+                }
+                sb.append(family).append(rowLabels[row]).append(' ').append(value.toString()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Append the histogram as cumulative buckets over {@link #LATENCY_BUCKETS}.
+     */
+    static void renderHistogram(StringBuilder sb, String family, AbstractHistogram histogram) {
+        final long total = histogram.getTotalCount();
+        sb.append("# TYPE ").append(family).append(" histogram\n");
+        for (long bound : LATENCY_BUCKETS) {
+            sb.append(family).append("_bucket{le=\"").append(bound).append("\"} ")
+              .append(total == 0 ? 0 : histogram.getCountBetweenValues(0, bound)).append('\n');
+        }
+        sb.append(family).append("_bucket{le=\"+Inf\"} ").append(total).append('\n');
+        sb.append(family).append("_count ").append(total).append('\n');
+        sb.append(family).append("_sum ").append(total == 0 ? 0 : (long) (histogram.getMean() * total)).append('\n');
+    }
+
+    /**
+     * Turn a stats column or selector name into a valid metric or label name.
+     */
+    static String metricName(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            sb.append(((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_') ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    private static void escapeLabelValue(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
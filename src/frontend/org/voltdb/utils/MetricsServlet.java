@@ -0,0 +1,63 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.voltdb.AuthenticationResult;
+import org.voltdb.client.ClientResponse;
+
+/**
+ * Serves the statistics of this node in OpenMetrics text format for scrapers
+ * such as Prometheus. The content comes from the snapshot kept by {@link MetricsCache}.
+ */
+public class MetricsServlet extends VoltBaseServlet {
+
+    private static final long serialVersionUID = -2826430414125435386L;
+
+    static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Override
+    public void doGet(HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException, ServletException {
+
+        super.doGet(request, response);
+        AuthenticationResult authResult = authenticate(request);
+        if (!authResult.isAuthenticated()) {
+            response.getWriter().print(buildClientResponse(null, ClientResponse.UNEXPECTED_FAILURE, authResult.m_message));
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        // Older scrapers only understand the Prometheus text format, which accepts the same content
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains("application/openmetrics-text")) {
+            response.setContentType(OPENMETRICS_CONTENT_TYPE);
+        } else {
+            response.setContentType(PROMETHEUS_CONTENT_TYPE);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.getWriter().print(httpAdminListener.m_metricsCache.getSnapshot());
+    }
+}
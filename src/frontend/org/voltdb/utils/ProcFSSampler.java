@@ -0,0 +1,443 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Samples the resource usage of this process from procfs without forking and,
+ * once warmed up, without allocating. It reads /proc/self/stat and
+ * /proc/self/status for the process as a whole and /proc/self/task/[tid]/stat
+ * for every thread. The CPU time of each thread is charged to a {@link TaskGroup}
+ * picked from the thread name the kernel reports, which the JVM keeps in sync
+ * with the Java thread name (truncated to 15 characters).
+ *
+ * The files are opened once and re-read from offset 0 into a reusable buffer.
+ * The thread directory is only listed again when the thread count of the process
+ * changes or every {@link #RELIST_INTERVAL} samples, to catch threads that came
+ * and went in between. CPU time of threads that exited stays in the totals of
+ * their group.
+ *
+ * Only available on Linux, see {@link #isAvailable()}.
+ */
+public class ProcFSSampler {
+
+    /**
+     * Subsystems that CPU time is charged to, by thread name prefix
+     */
+    public enum TaskGroup {
+        SITE("SP ", "MP Site", "RO MP Site"),
+        NETWORK("Volt ", "Pico Network", "Reverse DNS"),
+        EXPORT("Export"),
+        SNAPSHOT("Snapshot", "Async snapshot", "Stream Snapshot", "Replicated Snap"),
+        // the VM thread runs the stop-the-world collections of the serial and parallel collectors
+        GC("GC ", "G1 ", "Gang worker", "Concurrent Mark", "VM Thread"),
+        COMPILER("C1 Compiler", "C2 Compiler", "Sweeper"),
+        OTHER();
+
+        private final byte[][] m_prefixes;
+
+        TaskGroup(String... prefixes) {
+            m_prefixes = new byte[prefixes.length][];
+            for (int ii = 0; ii < prefixes.length; ii++) {
+                m_prefixes[ii] = prefixes[ii].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        /**
+         * Find the group of the thread name held in buf[start, end)
+         */
+        static TaskGroup of(byte[] buf, int start, int end) {
+            for (TaskGroup group : s_groups) {
+                for (byte[] prefix : group.m_prefixes) {
+                    if (startsWith(buf, start, end, prefix)) {
+                        return group;
+                    }
+                }
+            }
+            return OTHER;
+        }
+
+        private static final TaskGroup[] s_groups = values();
+    }
+
+    static final int RELIST_INTERVAL = 12;
+
+    private static final String PROC_SELF = "/proc/self";
+    private static final int AT_PAGESZ = 6;
+    private static final int AT_CLKTCK = 17;
+    private static final byte[] VMRSS = "VmRSS:".getBytes(StandardCharsets.UTF_8);
+
+    /** One thread of the process */
+    private static class Task {
+        final int m_tid;
+        final RandomAccessFile m_stat;
+        long m_ticks;
+        boolean m_listed;
+
+        Task(int tid, RandomAccessFile stat) {
+            m_tid = tid;
+            m_stat = stat;
+        }
+    }
+
+    private final String m_procDir;
+    private final byte[] m_buf = new byte[8192];
+    private final RandomAccessFile m_stat;
+    private final RandomAccessFile m_status;
+    private final long m_ticksPerSecond;
+    private final long m_pageSize;
+
+    private final ArrayList<Task> m_tasks = new ArrayList<>();
+    private final Map<Integer, Task> m_tasksByTid = new HashMap<>();
+    private int m_samplesSinceListing = 0;
+
+    // CPU ticks charged to each group since the sampler started
+    private final long[] m_groupTicks = new long[TaskGroup.values().length];
+    // live threads of each group at the last sample
+    private final int[] m_groupThreads = new int[TaskGroup.values().length];
+
+    private long m_processUserTicks;
+    private long m_processSystemTicks;
+    private int m_processThreads;
+    private long m_rss;
+    private long m_sampleNanos;
+
+    /**
+     * @return true if this platform has a procfs the sampler understands
+     */
+    public static boolean isAvailable() {
+        return new File(PROC_SELF + "/stat").canRead() && new File(PROC_SELF + "/task").isDirectory();
+    }
+
+    public ProcFSSampler() throws IOException {
+        this(PROC_SELF);
+    }
+
+    ProcFSSampler(String procDir) throws IOException {
+        m_procDir = procDir;
+        m_stat = new RandomAccessFile(procDir + "/stat", "r");
+        m_status = new RandomAccessFile(procDir + "/status", "r");
+        long ticks = 100, pageSize = 4096;
+        try {
+            ticks = readAuxv(AT_CLKTCK, ticks);
+            pageSize = readAuxv(AT_PAGESZ, pageSize);
+        } catch (IOException e) {
+            // keep the defaults every Linux kernel uses for user space
+        }
+        m_ticksPerSecond = ticks;
+        m_pageSize = pageSize;
+        // The first sample is the baseline, CPU time used before it isn't charged
+        sample();
+        Arrays.fill(m_groupTicks, 0);
+    }
+
+    /**
+     * Read the process and thread counters.
+     */
+    public synchronized void sample() throws IOException {
+        sampleProcess();
+        if (m_processThreads != m_tasks.size() || ++m_samplesSinceListing >= RELIST_INTERVAL) {
+            listTasks();
+        }
+        sampleTasks();
+    }
+
+    /**
+     * Read the counters of the process as a whole only, which is all the memory
+     * statistics need.
+     */
+    public synchronized void sampleProcess() throws IOException {
+        m_sampleNanos = System.nanoTime();
+        int len = read(m_stat);
+        int pos = afterComm(len);
+        // the state is field 3, utime 14, stime 15, num_threads 20 and rss 24
+        pos = skipFields(pos, len, 11);
+        m_processUserTicks = parseLong(pos, len);
+        pos = skipFields(pos, len, 1);
+        m_processSystemTicks = parseLong(pos, len);
+        pos = skipFields(pos, len, 5);
+        m_processThreads = (int) parseLong(pos, len);
+        pos = skipFields(pos, len, 4);
+        m_rss = parseLong(pos, len) * m_pageSize;
+
+        len = read(m_status);
+        long rssKb = findStatusValue(len, VMRSS);
+        if (rssKb >= 0) {
+            m_rss = rssKb * 1024;
+        }
+    }
+
+    private void listTasks() {
+        m_samplesSinceListing = 0;
+        String[] tids = new File(m_procDir + "/task").list();
+        if (tids == null) {
+            return;
+        }
+        for (Task task : m_tasks) {
+            task.m_listed = false;
+        }
+        for (String name : tids) {
+            int tid;
+            try {
+                tid = Integer.parseInt(name);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            Task task = m_tasksByTid.get(tid);
+            if (task == null) {
+                try {
+                    task = new Task(tid, new RandomAccessFile(m_procDir + "/task/" + name + "/stat", "r"));
+                } catch (IOException e) {
+                    // exited since the listing
+                    continue;
+                }
+                m_tasksByTid.put(tid, task);
+                m_tasks.add(task);
+            }
+            task.m_listed = true;
+        }
+        for (int ii = m_tasks.size() - 1; ii >= 0; ii--) {
+            if (!m_tasks.get(ii).m_listed) {
+                removeTask(ii);
+            }
+        }
+    }
+
+    private void sampleTasks() {
+        for (int ii = 0; ii < m_groupThreads.length; ii++) {
+            m_groupThreads[ii] = 0;
+        }
+        for (int ii = m_tasks.size() - 1; ii >= 0; ii--) {
+            final Task task = m_tasks.get(ii);
+            int len;
+            try {
+                len = read(task.m_stat);
+            } catch (IOException e) {
+                len = 0;
+            }
+            if (len <= 0) {
+                // the thread exited, the time it used until the last sample stays charged
+                removeTask(ii);
+                continue;
+            }
+            final int commEnd = lastIndexOf(len, (byte) ')');
+            final int commStart = indexOf(len, (byte) '(') + 1;
+            if (commEnd < commStart) {
+                continue;
+            }
+            final TaskGroup group = TaskGroup.of(m_buf, commStart, commEnd);
+            int pos = skipFields(commEnd + 2, len, 11);
+            long ticks = parseLong(pos, len);
+            pos = skipFields(pos, len, 1);
+            ticks += parseLong(pos, len);
+
+            // A thread that renamed itself since the last sample is charged to its new group
+            m_groupTicks[group.ordinal()] += Math.max(0, ticks - task.m_ticks);
+            m_groupThreads[group.ordinal()]++;
+            task.m_ticks = ticks;
+        }
+    }
+
+    private void removeTask(int index) {
+        final Task task = m_tasks.get(index);
+        final int last = m_tasks.size() - 1;
+        m_tasks.set(index, m_tasks.get(last));
+        m_tasks.remove(last);
+        m_tasksByTid.remove(task.m_tid);
+        try {
+            task.m_stat.close();
+        } catch (IOException e) {
+        }
+    }
+
+    public synchronized void close() {
+        for (int ii = m_tasks.size() - 1; ii >= 0; ii--) {
+            removeTask(ii);
+        }
+        try {
+            m_stat.close();
+            m_status.close();
+        } catch (IOException e) {
+        }
+    }
+
+    /** Time of the last sample, from {@link System#nanoTime()} */
+    public synchronized long getSampleNanos() {
+        return m_sampleNanos;
+    }
+
+    /** CPU time charged to the group since the sampler started, in milliseconds */
+    public synchronized long getGroupCpuMillis(TaskGroup group) {
+        return ticksToMillis(m_groupTicks[group.ordinal()]);
+    }
+
+    /** Threads of the group alive at the last sample */
+    public synchronized int getGroupThreads(TaskGroup group) {
+        return m_groupThreads[group.ordinal()];
+    }
+
+    /** User CPU time of the whole process since it started, in milliseconds */
+    public synchronized long getProcessUserMillis() {
+        return ticksToMillis(m_processUserTicks);
+    }
+
+    /** System CPU time of the whole process since it started, in milliseconds */
+    public synchronized long getProcessSystemMillis() {
+        return ticksToMillis(m_processSystemTicks);
+    }
+
+    public synchronized int getProcessThreads() {
+        return m_processThreads;
+    }
+
+    /** Resident set size in bytes */
+    public synchronized long getRSS() {
+        return m_rss;
+    }
+
+    private long ticksToMillis(long ticks) {
+        return ticks * 1000 / m_ticksPerSecond;
+    }
+
+    private long readAuxv(int type, long dflt) throws IOException {
+        final boolean is64 = !"32".equals(System.getProperty("sun.arch.data.model"));
+        final int width = is64 ? 8 : 4;
+        try (RandomAccessFile auxv = new RandomAccessFile(m_procDir + "/auxv", "r")) {
+            final int len = read(auxv);
+            final ByteBuffer buf = ByteBuffer.wrap(m_buf, 0, len).order(ByteOrder.nativeOrder());
+            while (buf.remaining() >= 2 * width) {
+                final long key = is64 ? buf.getLong() : buf.getInt();
+                final long value = is64 ? buf.getLong() : buf.getInt();
+                if (key == 0) {
+                    break;
+                }
+                if (key == type && value > 0) {
+                    return value;
+                }
+            }
+        }
+        return dflt;
+    }
+
+    /**
+     * procfs regenerates a file on every read from offset 0
+     * @return the number of bytes read into the buffer
+     */
+    private int read(RandomAccessFile file) throws IOException {
+        file.seek(0);
+        int len = 0;
+        int read;
+        while (len < m_buf.length && (read = file.read(m_buf, len, m_buf.length - len)) > 0) {
+            len += read;
+        }
+        return len;
+    }
+
+    /**
+     * The second field of a stat file is the thread name in parentheses, which
+     * may itself hold spaces and parentheses. Fields resume after the last ')'.
+     */
+    private int afterComm(int len) throws IOException {
+        int end = lastIndexOf(len, (byte) ')');
+        if (end < 0) {
+            throw new IOException("Malformed " + m_procDir + "/stat");
+        }
+        return end + 2;
+    }
+
+    private int skipFields(int pos, int len, int count) {
+        while (count > 0 && pos < len) {
+            if (m_buf[pos++] == ' ') {
+                count--;
+            }
+        }
+        return pos;
+    }
+
+    private long parseLong(int pos, int len) {
+        long value = 0;
+        boolean negative = false;
+        if (pos < len && m_buf[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        while (pos < len && m_buf[pos] >= '0' && m_buf[pos] <= '9') {
+            value = value * 10 + (m_buf[pos++] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @return the number following the given key at the start of a line, -1 if absent
+     */
+    private long findStatusValue(int len, byte[] key) {
+        int pos = 0;
+        while (pos < len) {
+            if (startsWith(m_buf, pos, len, key)) {
+                pos += key.length;
+                while (pos < len && (m_buf[pos] == ' ' || m_buf[pos] == '\t')) {
+                    pos++;
+                }
+                return parseLong(pos, len);
+            }
+            while (pos < len && m_buf[pos++] != '\n') {
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(int len, byte b) {
+        for (int ii = 0; ii < len; ii++) {
+            if (m_buf[ii] == b) {
+                return ii;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(int len, byte b) {
+        for (int ii = len - 1; ii >= 0; ii--) {
+            if (m_buf[ii] == b) {
+                return ii;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] buf, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int ii = 0; ii < prefix.length; ii++) {
+            if (buf[start + ii] != prefix[ii]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
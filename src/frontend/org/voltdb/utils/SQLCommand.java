@@ -1250,6 +1250,9 @@ public class SQLCommand
                 ImmutableMap.<Integer, List<String>>builder().put( 0, new ArrayList<String>())
                                                              .put( 1, Arrays.asList("varchar"))
                                                              .put( 2, Arrays.asList("varchar", "varchar")).build());
+        Procedures.put("@StatisticsHistory",
+                ImmutableMap.<Integer, List<String>>builder().put( 3, Arrays.asList("varchar", "bigint", "bigint"))
+                                                             .put( 4, Arrays.asList("varchar", "bigint", "bigint", "integer")).build());
     }
 
     private static Client getClient(ClientConfig config, String[] servers, int port) throws Exception
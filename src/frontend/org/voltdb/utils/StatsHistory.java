@@ -0,0 +1,363 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.DBBPool;
+import org.voltcore.utils.DBBPool.BBContainer;
+import org.voltdb.StatsAgent;
+import org.voltdb.StatsSelector;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+
+/**
+ * A bounded history of the statistics of this node.
+ *
+ * Every {@link #INTERVAL_MS} the non-interval statistics of each recorded selector
+ * are appended to the newest {@link StatsHistoryBlock} of the selector. When the
+ * blocks of a selector outgrow its share of {@link #MEMORY_BYTES}, the oldest block
+ * is dropped, or spilled to a PersistentBinaryDeque in the voltdbroot if
+ * STATS_HISTORY_DISK_MB is set. Spilled blocks are dropped, oldest first, once the
+ * deque outgrows that size.
+ *
+ * THREADCPU is not recorded: its CORES_USED column is measured over the time since
+ * the previous call, which sampling it would take away from @Statistics callers.
+ *
+ * A query returns at most STATS_HISTORY_MAX_ROWS rows, in whole snapshots. It only
+ * holds the locks that sampling needs for one block at a time.
+ */
+public class StatsHistory {
+    private static final VoltLogger log = new VoltLogger("HOST");
+
+    public static final long INTERVAL_MS = Long.getLong("STATS_HISTORY_INTERVAL_MS", 10000);
+    static final long MEMORY_BYTES = Long.getLong("STATS_HISTORY_MEMORY_MB", 32) * 1024 * 1024;
+    static final long DISK_BYTES = Long.getLong("STATS_HISTORY_DISK_MB", 0) * 1024 * 1024;
+    static final int MAX_QUERY_ROWS = Integer.getInteger("STATS_HISTORY_MAX_ROWS", 100000);
+
+    public static final StatsSelector[] SELECTORS = {
+            StatsSelector.CPU,
+            StatsSelector.MEMORY,
+            StatsSelector.LATENCY,
+            StatsSelector.PROCEDURE,
+            StatsSelector.TABLE,
+            StatsSelector.INDEX,
+            StatsSelector.IOSTATS,
+            StatsSelector.QUEUE,
+            StatsSelector.COMMANDLOG };
+
+    private static final String SPILL_NONCE = "stats_history";
+    private static final String RETENTION_CURSOR = "retention";
+
+    private final Map<StatsSelector, ArrayDeque<StatsHistoryBlock>> m_blocks = new EnumMap<>(StatsSelector.class);
+    private final long m_memoryBytesPerSelector;
+    private final long m_diskBytes;
+    private final BinaryDeque m_spill;
+    private final AtomicLong m_queryCursors = new AtomicLong();
+
+    /**
+     * @param spillDir directory of the spilled blocks, null to never spill
+     */
+    public StatsHistory(StatsSelector[] selectors, long memoryBytes, File spillDir, long diskBytes) throws IOException {
+        for (StatsSelector selector : selectors) {
+            m_blocks.put(selector, new ArrayDeque<>());
+        }
+        m_memoryBytesPerSelector = memoryBytes / Math.max(1, selectors.length);
+        m_diskBytes = diskBytes;
+        if (spillDir != null && diskBytes > 0) {
+            if (!spillDir.exists() && !spillDir.mkdirs()) {
+                throw new IOException("Failed to create stats history directory " + spillDir);
+            }
+            m_spill = new PersistentBinaryDeque(SPILL_NONCE, spillDir, log);
+        } else {
+            m_spill = null;
+        }
+    }
+
+    /**
+     * Create the history of this node from the STATS_HISTORY_* properties, or
+     * return null if STATS_HISTORY_INTERVAL_MS is 0.
+     */
+    public static StatsHistory create(String voltDbRoot) {
+        if (INTERVAL_MS <= 0) {
+            return null;
+        }
+        try {
+            return new StatsHistory(SELECTORS, MEMORY_BYTES,
+                                    DISK_BYTES > 0 ? new VoltFile(voltDbRoot, SPILL_NONCE) : null, DISK_BYTES);
+        } catch (IOException e) {
+            log.warn("Unable to spill the statistics history to disk: " + e.getMessage());
+            try {
+                return new StatsHistory(SELECTORS, MEMORY_BYTES, null, 0);
+            } catch (IOException cannotHappen) {
+                return null;
+            }
+        }
+    }
+
+    public boolean isRecorded(StatsSelector selector) {
+        return m_blocks.containsKey(selector);
+    }
+
+    /**
+     * Append the current statistics of every recorded selector.
+     */
+    public void sample(StatsAgent agent) {
+        final Long now = System.currentTimeMillis();
+        for (StatsSelector selector : m_blocks.keySet()) {
+            try {
+                // Never ask for interval stats, that would reset the intervals of @Statistics callers
+                final VoltTable table = agent.getStatsAggregate(selector, false, now);
+                if (table != null) {
+                    record(selector, now, table);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to record the " + selector + " statistics history", e);
+            }
+        }
+    }
+
+    void record(StatsSelector selector, long timestamp, VoltTable table) throws IOException {
+        final ArrayDeque<StatsHistoryBlock> blocks = m_blocks.get(selector);
+        final List<StatsHistoryBlock> evicted = new ArrayList<>();
+        synchronized (blocks) {
+            StatsHistoryBlock block = blocks.peekLast();
+            if (block == null || block.isFull() || !block.hasSchemaOf(table)) {
+                if (block != null) {
+                    block.seal();
+                }
+                block = new StatsHistoryBlock(selector.name(), table);
+                blocks.addLast(block);
+            }
+            block.append(timestamp, table);
+
+            long bytes = 0;
+            for (StatsHistoryBlock b : blocks) {
+                bytes += b.sizeInBytes();
+            }
+            while (bytes > m_memoryBytesPerSelector && blocks.size() > 1) {
+                final StatsHistoryBlock oldest = blocks.removeFirst();
+                bytes -= oldest.sizeInBytes();
+                evicted.add(oldest);
+            }
+        }
+        for (StatsHistoryBlock block : evicted) {
+            spill(block);
+        }
+    }
+
+    private void spill(StatsHistoryBlock block) throws IOException {
+        if (m_spill == null) {
+            return;
+        }
+        synchronized (m_spill) {
+            m_spill.offer(DBBPool.wrapBB(ByteBuffer.wrap(block.serialize())));
+            final BinaryDeque.BinaryDequeReader retention = m_spill.openForRead(RETENTION_CURSOR);
+            while (m_spill.getBufferCountAndSize().getSecond() > m_diskBytes) {
+                final BBContainer cont = retention.poll(PersistentBinaryDeque.UNSAFE_CONTAINER_FACTORY);
+                if (cont == null) {
+                    break;
+                }
+                cont.discard();
+            }
+        }
+    }
+
+    /**
+     * Return the recorded statistics of the selector between the two times, in the
+     * columns of the newest snapshot. Columns that an older snapshot did not have are null.
+     * At most {@link #MAX_QUERY_ROWS} rows are returned, oldest first, and only whole
+     * snapshots. The rest can be asked for from just after the last TIMESTAMP returned.
+     *
+     * @param from          first time to return, in milliseconds since the epoch
+     * @param to            last time to return, in milliseconds since the epoch
+     * @param resolutionMs  return only the first snapshot of every period of this length, 0 for all
+     * @return the rows of the snapshots, or null if nothing of the selector was recorded
+     */
+    public VoltTable query(StatsSelector selector, long from, long to, long resolutionMs) throws IOException {
+        return query(selector, from, to, resolutionMs, MAX_QUERY_ROWS);
+    }
+
+    VoltTable query(StatsSelector selector, long from, long to, long resolutionMs, int maxRows) throws IOException {
+        final ArrayDeque<StatsHistoryBlock> blocks = m_blocks.get(selector);
+        if (blocks == null) {
+            return null;
+        }
+        final StatsHistoryBlock newest;
+        synchronized (blocks) {
+            newest = blocks.peekLast();
+        }
+        if (newest == null) {
+            return null;
+        }
+
+        final String[] names = newest.getColumnNames();
+        final VoltType[] types = newest.getColumnTypes();
+        final VoltTable.ColumnInfo[] columns = new VoltTable.ColumnInfo[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = new VoltTable.ColumnInfo(names[i], types[i]);
+        }
+        final VoltTable result = new VoltTable(columns);
+        final Sampler sampler = new Sampler(result, from, to, resolutionMs, maxRows);
+
+        if (m_spill != null) {
+            // Take the lock for one block at a time, so that sampling can spill in between
+            final String cursor = "query-" + m_queryCursors.incrementAndGet();
+            BinaryDeque.BinaryDequeReader reader;
+            synchronized (m_spill) {
+                reader = m_spill.openForRead(cursor);
+            }
+            try {
+                while (!sampler.isFull()) {
+                    final StatsHistoryBlock block;
+                    synchronized (m_spill) {
+                        final BBContainer cont = reader.poll(PersistentBinaryDeque.UNSAFE_CONTAINER_FACTORY);
+                        if (cont == null) {
+                            break;
+                        }
+                        try {
+                            block = StatsHistoryBlock.deserialize(cont.b());
+                        } finally {
+                            cont.discard();
+                        }
+                    }
+                    if (block.getSelector().equals(selector.name())) {
+                        sampler.decode(block);
+                    }
+                }
+            } finally {
+                synchronized (m_spill) {
+                    m_spill.closeCursor(cursor);
+                }
+            }
+        }
+
+        // Every block but the newest is sealed and no longer changes
+        final List<StatsHistoryBlock> inMemory;
+        synchronized (blocks) {
+            inMemory = new ArrayList<>(blocks);
+        }
+        for (int i = 0; i < inMemory.size() && !sampler.isFull(); i++) {
+            final StatsHistoryBlock block = inMemory.get(i);
+            if (i < inMemory.size() - 1) {
+                sampler.decode(block);
+            } else {
+                synchronized (blocks) {
+                    sampler.decode(block);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void shutdown() {
+        if (m_spill != null) {
+            synchronized (m_spill) {
+                try {
+                    m_spill.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close the statistics history spill", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks the snapshots in the time range and copies their rows into the result.
+     */
+    private static final class Sampler implements StatsHistoryBlock.SnapshotConsumer {
+        private final VoltTable m_result;
+        private final long m_from;
+        private final long m_to;
+        private final long m_resolution;
+        private final int m_maxRows;
+        private final Object[] m_row;
+        private long m_lastPeriod = Long.MIN_VALUE;
+        // column of the result for each column of the block being decoded, -1 if none
+        private int[] m_mapping;
+
+        Sampler(VoltTable result, long from, long to, long resolution, int maxRows) {
+            m_result = result;
+            m_from = from;
+            m_to = to;
+            m_resolution = resolution;
+            m_maxRows = maxRows;
+            m_row = new Object[result.getColumnCount()];
+        }
+
+        void decode(StatsHistoryBlock block) {
+            if (block.getLastTimestamp() < m_from || block.getFirstTimestamp() > m_to) {
+                return;
+            }
+            final String[] names = block.getColumnNames();
+            final VoltType[] types = block.getColumnTypes();
+            m_mapping = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                m_mapping[i] = -1;
+                for (int column = 0; column < m_row.length; column++) {
+                    if (m_result.getColumnName(column).equals(names[i]) && m_result.getColumnType(column) == types[i]) {
+                        m_mapping[i] = column;
+                        break;
+                    }
+                }
+            }
+            block.decode(this);
+        }
+
+        boolean isFull() {
+            return m_result.getRowCount() >= m_maxRows;
+        }
+
+        @Override
+        public boolean wants(long timestamp) {
+            if (timestamp < m_from || timestamp > m_to || isFull()) {
+                return false;
+            }
+            if (m_resolution > 0) {
+                final long period = timestamp / m_resolution;
+                if (period == m_lastPeriod) {
+                    return false;
+                }
+                m_lastPeriod = period;
+            }
+            return true;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            for (int i = 0; i < m_row.length; i++) {
+                m_row[i] = null;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (m_mapping[i] >= 0) {
+                    m_row[m_mapping[i]] = values[i];
+                }
+            }
+            m_result.addRow(m_row);
+        }
+    }
+}
@@ -0,0 +1,543 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+
+/**
+ * Consecutive snapshots of one statistics selector, stored column by column.
+ *
+ * Every column is a stream of its own. Integer columns store the zigzag varint
+ * of the change of the difference to the value in the same row of the previous
+ * snapshot, so a counter that did not move or moved at a steady rate costs one byte. FLOAT columns store the varint of the
+ * XOR with the previous value. STRING and DECIMAL columns store an index into a
+ * dictionary built inline in the stream. VARBINARY values are stored as they are.
+ * Column types that never appear in statistics are stored as nulls.
+ *
+ * A block is appended to until it holds {@link #MAX_SNAPSHOTS} snapshots or the
+ * schema of the selector changes. It can be decoded at any time, and serialized
+ * to spill it to disk.
+ */
+public class StatsHistoryBlock {
+    static final int MAX_SNAPSHOTS = Integer.getInteger("STATS_HISTORY_BLOCK_SNAPSHOTS", 60);
+
+    private static final short VERSION = 1;
+
+    /**
+     * Receives the decoded snapshots of a block, oldest first.
+     */
+    public interface SnapshotConsumer {
+        /**
+         * @return true if the rows of the snapshot taken at the given time are wanted
+         */
+        boolean wants(long timestamp);
+
+        /**
+         * A row of a wanted snapshot, in the column order of the block. The array is reused.
+         */
+        void row(Object[] values);
+    }
+
+    private final String m_selector;
+    private final String[] m_names;
+    private final VoltType[] m_types;
+    private final Stream m_timestamps;
+    private final Stream m_rowCounts;
+    private final Stream[] m_columns;
+    private int m_snapshots;
+    private long m_firstTimestamp;
+    private long m_lastTimestamp;
+
+    // Encoder state, null once the block was read back from its serialized form
+    private long[][] m_previous;
+    private long[][] m_previousDelta;
+    private List<Map<Object, Integer>> m_dictionaries;
+
+    public StatsHistoryBlock(String selector, VoltTable schema) {
+        m_selector = selector;
+        final int columnCount = schema.getColumnCount();
+        m_names = new String[columnCount];
+        m_types = new VoltType[columnCount];
+        m_columns = new Stream[columnCount];
+        m_previous = new long[columnCount][0];
+        m_previousDelta = new long[columnCount][0];
+        m_dictionaries = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            m_names[i] = schema.getColumnName(i);
+            m_types[i] = schema.getColumnType(i);
+            m_columns[i] = new Stream();
+            m_dictionaries.add(new HashMap<>());
+        }
+        m_timestamps = new Stream();
+        m_rowCounts = new Stream();
+    }
+
+    private StatsHistoryBlock(String selector, String[] names, VoltType[] types, int snapshots,
+                              long firstTimestamp, long lastTimestamp,
+                              Stream timestamps, Stream rowCounts, Stream[] columns) {
+        m_selector = selector;
+        m_names = names;
+        m_types = types;
+        m_snapshots = snapshots;
+        m_firstTimestamp = firstTimestamp;
+        m_lastTimestamp = lastTimestamp;
+        m_timestamps = timestamps;
+        m_rowCounts = rowCounts;
+        m_columns = columns;
+    }
+
+    public String getSelector() {
+        return m_selector;
+    }
+
+    public int getSnapshotCount() {
+        return m_snapshots;
+    }
+
+    public long getFirstTimestamp() {
+        return m_firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return m_lastTimestamp;
+    }
+
+    public String[] getColumnNames() {
+        return m_names;
+    }
+
+    public VoltType[] getColumnTypes() {
+        return m_types;
+    }
+
+    public boolean isFull() {
+        return m_previous == null || m_snapshots >= MAX_SNAPSHOTS;
+    }
+
+    /**
+     * @return true if the table has the columns of this block
+     */
+    public boolean hasSchemaOf(VoltTable table) {
+        if (table.getColumnCount() != m_names.length) {
+            return false;
+        }
+        for (int i = 0; i < m_names.length; i++) {
+            if (table.getColumnType(i) != m_types[i] || !table.getColumnName(i).equals(m_names[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encoded size of the snapshots in the block.
+     */
+    public int sizeInBytes() {
+        int size = m_timestamps.size() + m_rowCounts.size();
+        for (Stream column : m_columns) {
+            size += column.size();
+        }
+        return size;
+    }
+
+    /**
+     * Append a snapshot of the selector, which must have the schema of the block.
+     */
+    public void append(long timestamp, VoltTable table) {
+        if (m_previous == null) {
+            throw new IllegalStateException("Stats history block was sealed");
+        }
+        assert hasSchemaOf(table);
+
+        if (m_snapshots == 0) {
+            m_firstTimestamp = timestamp;
+            m_timestamps.writeSigned(timestamp);
+        } else {
+            m_timestamps.writeSigned(timestamp - m_lastTimestamp);
+        }
+        m_lastTimestamp = timestamp;
+        m_snapshots++;
+
+        final int rows = table.getRowCount();
+        m_rowCounts.writeUnsigned(rows);
+        for (int column = 0; column < m_types.length; column++) {
+            if (m_previous[column].length < rows) {
+                m_previous[column] = Arrays.copyOf(m_previous[column], rows);
+                m_previousDelta[column] = Arrays.copyOf(m_previousDelta[column], rows);
+            }
+        }
+
+        table.resetRowPosition();
+        for (int row = 0; table.advanceRow(); row++) {
+            for (int column = 0; column < m_types.length; column++) {
+                encode(table, row, column);
+            }
+        }
+    }
+
+    private void encode(VoltTable table, int row, int column) {
+        final Stream out = m_columns[column];
+        final VoltType type = m_types[column];
+        switch (type) {
+        case TINYINT:
+        case SMALLINT:
+        case INTEGER:
+        case BIGINT:
+        case TIMESTAMP: {
+            long value = type == VoltType.TIMESTAMP ? table.getTimestampAsLong(column) : table.getLong(column);
+            if (table.wasNull()) {
+                value = nullValue(type);
+            }
+            final long delta = value - m_previous[column][row];
+            out.writeSigned(delta - m_previousDelta[column][row]);
+            m_previous[column][row] = value;
+            m_previousDelta[column][row] = delta;
+            break;
+        }
+        case FLOAT: {
+            double value = table.getDouble(column);
+            if (table.wasNull()) {
+                value = VoltType.NULL_FLOAT;
+            }
+            final long bits = Double.doubleToRawLongBits(value);
+            out.writeUnsigned(bits ^ m_previous[column][row]);
+            m_previous[column][row] = bits;
+            break;
+        }
+        case STRING:
+        case DECIMAL: {
+            Object value = type == VoltType.STRING ? table.getString(column) : table.getDecimalAsBigDecimal(column);
+            if (table.wasNull()) {
+                value = null;
+            }
+            writeDictionary(out, m_dictionaries.get(column), value);
+            break;
+        }
+        case VARBINARY: {
+            final byte[] value = table.getVarbinary(column);
+            if (table.wasNull()) {
+                out.writeUnsigned(0);
+            } else {
+                out.writeUnsigned(value.length + 1);
+                out.write(value);
+            }
+            break;
+        }
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Index 0 is null, an index one past the end of the dictionary is followed by a new entry.
+     */
+    private static void writeDictionary(Stream out, Map<Object, Integer> dictionary, Object value) {
+        if (value == null) {
+            out.writeUnsigned(0);
+            return;
+        }
+        final Integer index = dictionary.get(value);
+        if (index != null) {
+            out.writeUnsigned(index);
+        } else {
+            final int newIndex = dictionary.size() + 1;
+            dictionary.put(value, newIndex);
+            out.writeUnsigned(newIndex);
+            final byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeUnsigned(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static long nullValue(VoltType type) {
+        switch (type) {
+        case TINYINT:
+            return VoltType.NULL_TINYINT;
+        case SMALLINT:
+            return VoltType.NULL_SMALLINT;
+        case INTEGER:
+            return VoltType.NULL_INTEGER;
+        default:
+            return VoltType.NULL_BIGINT;
+        }
+    }
+
+    /**
+     * Decode the snapshots of the block, handing the wanted ones to the consumer.
+     */
+    public void decode(SnapshotConsumer consumer) {
+        final int columnCount = m_types.length;
+        final ByteBuffer timestamps = m_timestamps.asBuffer();
+        final ByteBuffer rowCounts = m_rowCounts.asBuffer();
+        final ByteBuffer[] columns = new ByteBuffer[columnCount];
+        final long[][] previous = new long[columnCount][0];
+        final long[][] previousDelta = new long[columnCount][0];
+        final List<List<Object>> dictionaries = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = m_columns[i].asBuffer();
+            dictionaries.add(new ArrayList<>());
+        }
+
+        final Object[] values = new Object[columnCount];
+        long timestamp = 0;
+        for (int snapshot = 0; snapshot < m_snapshots; snapshot++) {
+            timestamp = snapshot == 0 ? readSigned(timestamps) : timestamp + readSigned(timestamps);
+            final int rows = (int) readUnsigned(rowCounts);
+            final boolean wanted = consumer.wants(timestamp);
+            for (int column = 0; column < columnCount; column++) {
+                if (previous[column].length < rows) {
+                    previous[column] = Arrays.copyOf(previous[column], rows);
+                    previousDelta[column] = Arrays.copyOf(previousDelta[column], rows);
+                }
+            }
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columnCount; column++) {
+                    values[column] = decode(columns[column], m_types[column], previous[column],
+                                            previousDelta[column], row, dictionaries.get(column));
+                }
+                if (wanted) {
+                    consumer.row(values);
+                }
+            }
+        }
+    }
+
+    private static Object decode(ByteBuffer in, VoltType type, long[] previous, long[] previousDelta, int row,
+                                 List<Object> dictionary) {
+        switch (type) {
+        case TINYINT:
+        case SMALLINT:
+        case INTEGER:
+        case BIGINT:
+        case TIMESTAMP: {
+            final long delta = previousDelta[row] + readSigned(in);
+            final long value = previous[row] + delta;
+            previous[row] = value;
+            previousDelta[row] = delta;
+            return value == nullValue(type) ? null : value;
+        }
+        case FLOAT: {
+            final long bits = previous[row] ^ readUnsigned(in);
+            previous[row] = bits;
+            final double value = Double.longBitsToDouble(bits);
+            return value == VoltType.NULL_FLOAT ? null : value;
+        }
+        case STRING:
+        case DECIMAL: {
+            final int index = (int) readUnsigned(in);
+            if (index == 0) {
+                return null;
+            }
+            if (index > dictionary.size()) {
+                final byte[] bytes = new byte[(int) readUnsigned(in)];
+                in.get(bytes);
+                final String s = new String(bytes, StandardCharsets.UTF_8);
+                dictionary.add(type == VoltType.STRING ? s : new BigDecimal(s));
+            }
+            return dictionary.get(index - 1);
+        }
+        case VARBINARY: {
+            final int length = (int) readUnsigned(in);
+            if (length == 0) {
+                return null;
+            }
+            final byte[] bytes = new byte[length - 1];
+            in.get(bytes);
+            return bytes;
+        }
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Stop appending to the block and release the encoder state and the slack of the streams.
+     */
+    public void seal() {
+        if (m_previous == null) {
+            return;
+        }
+        m_previous = null;
+        m_previousDelta = null;
+        m_dictionaries = null;
+        m_timestamps.trim();
+        m_rowCounts.trim();
+        for (Stream column : m_columns) {
+            column.trim();
+        }
+    }
+
+    /**
+     * Serialize the block. The block is sealed.
+     */
+    public byte[] serialize() {
+        seal();
+
+        final Stream out = new Stream();
+        out.writeUnsigned(VERSION);
+        writeString(out, m_selector);
+        out.writeUnsigned(m_names.length);
+        for (int i = 0; i < m_names.length; i++) {
+            writeString(out, m_names[i]);
+            out.write(new byte[] { m_types[i].getValue() });
+        }
+        out.writeUnsigned(m_snapshots);
+        out.writeSigned(m_firstTimestamp);
+        out.writeSigned(m_lastTimestamp);
+        writeStream(out, m_timestamps);
+        writeStream(out, m_rowCounts);
+        for (Stream column : m_columns) {
+            writeStream(out, column);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Read back a serialized block.
+     */
+    public static StatsHistoryBlock deserialize(ByteBuffer in) {
+        final long version = readUnsigned(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported stats history block version " + version);
+        }
+        final String selector = readString(in);
+        final int columnCount = (int) readUnsigned(in);
+        final String[] names = new String[columnCount];
+        final VoltType[] types = new VoltType[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = readString(in);
+            types[i] = VoltType.get(in.get());
+        }
+        final int snapshots = (int) readUnsigned(in);
+        final long firstTimestamp = readSigned(in);
+        final long lastTimestamp = readSigned(in);
+        final Stream timestamps = readStream(in);
+        final Stream rowCounts = readStream(in);
+        final Stream[] columns = new Stream[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = readStream(in);
+        }
+        return new StatsHistoryBlock(selector, names, types, snapshots, firstTimestamp, lastTimestamp,
+                                     timestamps, rowCounts, columns);
+    }
+
+    private static void writeString(Stream out, String s) {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeUnsigned(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final byte[] bytes = new byte[(int) readUnsigned(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStream(Stream out, Stream stream) {
+        out.writeUnsigned(stream.size());
+        out.write(stream.m_bytes, stream.m_size);
+    }
+
+    private static Stream readStream(ByteBuffer in) {
+        final Stream stream = new Stream();
+        final byte[] bytes = new byte[(int) readUnsigned(in)];
+        in.get(bytes);
+        stream.write(bytes);
+        return stream;
+    }
+
+    private static long readUnsigned(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long readSigned(ByteBuffer in) {
+        final long zigzag = readUnsigned(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * A growable byte array of varints.
+     */
+    private static final class Stream {
+        private byte[] m_bytes = new byte[64];
+        private int m_size = 0;
+
+        int size() {
+            return m_size;
+        }
+
+        void writeUnsigned(long value) {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                m_bytes[m_size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            m_bytes[m_size++] = (byte) value;
+        }
+
+        void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void write(byte[] bytes) {
+            write(bytes, bytes.length);
+        }
+
+        void write(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, m_bytes, m_size, length);
+            m_size += length;
+        }
+
+        private void ensure(int extra) {
+            if (m_size + extra > m_bytes.length) {
+                m_bytes = Arrays.copyOf(m_bytes, Math.max(m_bytes.length * 2, m_size + extra));
+            }
+        }
+
+        void trim() {
+            m_bytes = Arrays.copyOf(m_bytes, m_size);
+        }
+
+        ByteBuffer asBuffer() {
+            return ByteBuffer.wrap(m_bytes, 0, m_size).asReadOnlyBuffer();
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(m_bytes, m_size);
+        }
+    }
+}
@@ -17,10 +17,7 @@
 
 package org.voltdb.utils;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryUsage;
@@ -52,6 +49,7 @@ public class SystemStatsCollector {
     static boolean initialized = false;
     static GetRSSMode mode = GetRSSMode.PS;
     static Thread thread = null;
+    static ProcFSSampler procfs = null;
 
     final static ArrayDeque<Datum> historyL = new ArrayDeque<Datum>(); // every hour
     final static ArrayDeque<Datum> historyM = new ArrayDeque<Datum>(); // every minute
@@ -299,15 +297,23 @@ public class SystemStatsCollector {
         pid = Integer.valueOf(pidString);
         initialized = true;
 
-        // get the RSS and other stats from scraping "ps" from the command line
-        PSScraper.PSData psdata = PSScraper.getPSData(pid);
-        assert(psdata.rss > 0);
-
         // figure out how much memory this thing has
         memorysize = pp.ramInMegabytes;
         assert(memorysize > 0);
 
-        // now try to figure out the best way to get the rss size
+        // now try to figure out the best way to get the rss size, procfs first
+        // as it needs neither a fork nor the native library
+        if (ProcFSSampler.isAvailable()) {
+            try {
+                procfs = new ProcFSSampler();
+                if (procfs.getRSS() > 0) {
+                    mode = GetRSSMode.PROCFS;
+                    return;
+                }
+            } catch (IOException e) { }
+            procfs = null;
+        }
+
         long rss = -1;
 
         // try the mac method
@@ -321,10 +327,6 @@ public class SystemStatsCollector {
         catch (Throwable e) { }
         if (rss > 0) mode = GetRSSMode.MACOSX_NATIVE;
 
-        // try procfs
-        rss = getRSSFromProcFS();
-        if (rss > 0) mode = GetRSSMode.PROCFS;
-
         // notify users if stats collection might be slow
         if (mode == GetRSSMode.PS) {
             VoltLogger logger = new VoltLogger("HOST");
@@ -340,22 +342,22 @@ public class SystemStatsCollector {
      */
     private static long getRSSFromProcFS() {
         try {
-            File statFile = new File(String.format("/proc/%d/stat", pid));
-            FileInputStream fis = new FileInputStream(statFile);
-            try {
-                BufferedReader r = new BufferedReader(new InputStreamReader(fis));
-                String stats = r.readLine();
-                String[] parts = stats.split(" ");
-                return Long.parseLong(parts[23]) * 4 * 1024;
-            } finally {
-                fis.close();
-            }
+            procfs.sampleProcess();
+            return procfs.getRSS();
         }
-        catch (Exception e) {
+        catch (IOException e) {
             return -1;
         }
     }
 
+    /**
+     * @return the procfs sampler of this process, or null if there is no procfs to read
+     */
+    public static synchronized ProcFSSampler getProcFSSampler() {
+        if (!initialized) initialize();
+        return procfs;
+    }
+
     public static synchronized long getRSSMB() {
         Datum d = generateCurrentSample();
         return d.rss;
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.Iterator;
 import java.util.Queue;
 import java.util.zip.GZIPOutputStream;
 
@@ -29,19 +30,45 @@ import org.voltcore.logging.VoltLogger;
 
 
 /**
- * Reads trace events from VoltTrace queue and writes them to files.
+ * Writes trace events to files in the Chrome trace format, either from a queue of
+ * VoltTrace batches or from events read back from a trace snapshot.
  */
 public class TraceFileWriter implements Runnable {
     private static final VoltLogger s_logger = new VoltLogger("TRACER");
 
     private final File m_path;
     private final Queue<VoltTrace.TraceEventBatch> m_events;
+    private final Iterator<VoltTrace.TraceEvent> m_materialized;
+    private VoltTrace.TraceEventBatch m_currentBatch = null;
 
     public TraceFileWriter(File path, Queue<VoltTrace.TraceEventBatch> events) {
         m_events = events;
+        m_materialized = null;
         m_path = path;
     }
 
+    public TraceFileWriter(File path, Iterable<VoltTrace.TraceEvent> events) {
+        m_events = null;
+        m_materialized = events.iterator();
+        m_path = path;
+    }
+
+    private VoltTrace.TraceEvent nextEvent() {
+        if (m_materialized != null) {
+            return m_materialized.hasNext() ? m_materialized.next() : null;
+        }
+        while (true) {
+            if (m_currentBatch == null && (m_currentBatch = m_events.poll()) == null) {
+                return null;
+            }
+            final VoltTrace.TraceEvent event = m_currentBatch.nextEvent();
+            if (event != null) {
+                return event;
+            }
+            m_currentBatch = null;
+        }
+    }
+
     @Override
     public void run() {
         final ObjectMapper jsonMapper = new ObjectMapper();
@@ -50,25 +77,21 @@ public class TraceFileWriter implements Runnable {
         long count = 0;
 
         try {
-            VoltTrace.TraceEventBatch eventSupplier;
-            while ((eventSupplier = m_events.poll()) != null) {
-                VoltTrace.TraceEvent event;
-                while ((event = eventSupplier.nextEvent()) != null) {
-                    if (fileWriter == null) {
-                        fileWriter = startTraceFile(m_path);
-                        firstEventTime = event.getNanos();
-                    } else {
-                        fileWriter.write(",");
-                    }
-
-                    event.setSyncNanos(firstEventTime);
-                    String json = jsonMapper.writeValueAsString(event);
-                    fileWriter.newLine();
-                    fileWriter.write(json);
-                    fileWriter.flush();
-
-                    count++;
+            VoltTrace.TraceEvent event;
+            while ((event = nextEvent()) != null) {
+                if (fileWriter == null) {
+                    fileWriter = startTraceFile(m_path);
+                    firstEventTime = event.getNanos();
+                } else {
+                    fileWriter.write(",");
                 }
+
+                event.setSyncNanos(firstEventTime);
+                String json = jsonMapper.writeValueAsString(event);
+                fileWriter.newLine();
+                fileWriter.write(json);
+
+                count++;
             }
         } catch(IOException e) { // also catches JSON exceptions
             s_logger.info("Unexpected IO exception in trace file writer. Stopping trace file writer.", e);
@@ -0,0 +1,167 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with VoltDB.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.voltdb.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.voltdb.utils.VoltTrace.Category;
+import org.voltdb.utils.VoltTrace.TraceEvent;
+import org.voltdb.utils.VoltTrace.TraceEventType;
+
+/**
+ * The binary file VoltTrace dumps its rings to, and the offline conversion of it
+ * to a Chrome trace file (chrome://tracing or https://ui.perfetto.dev).
+ *
+ * The file is gzipped. After a header of the magic number, the format version,
+ * the process id and the number of events, each event is stored as its category,
+ * type, thread id, nanoTime, name, async id and arguments. Strings are a length
+ * followed by UTF-8 bytes, a length of -1 is null.
+ *
+ * Usage: java org.voltdb.utils.TraceSnapshot trace_1234.vtrace [more snapshots]
+ */
+public class TraceSnapshot {
+    public static final String EXTENSION = ".vtrace";
+
+    private static final int MAGIC = 0x56545243; // VTRC
+    private static final int VERSION = 1;
+
+    /**
+     * Write the events to a snapshot file, in the given order.
+     */
+    public static void write(File path, List<TraceEvent> events) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(path))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(events.isEmpty() ? 0 : events.get(0).getPid());
+            out.writeInt(events.size());
+            for (TraceEvent event : events) {
+                writeString(out, event.getCategory());
+                out.writeChar(event.getTypeChar());
+                out.writeLong(event.getTid());
+                out.writeLong(event.getNanos());
+                writeString(out, event.getName());
+                writeString(out, event.getId());
+                final Map<String, String> args = event.getArgs();
+                out.writeInt(args.size());
+                for (Map.Entry<String, String> e : args.entrySet()) {
+                    writeString(out, e.getKey());
+                    writeString(out, e.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the events of a snapshot file.
+     */
+    public static List<TraceEvent> read(File path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(path))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a trace snapshot");
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported trace snapshot version " + version + " in " + path);
+            }
+            final int pid = in.readInt();
+            final int count = in.readInt();
+            final List<TraceEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String category = readString(in);
+                final TraceEventType type = TraceEventType.fromTypeChar(in.readChar());
+                final long tid = in.readLong();
+                final long nanos = in.readLong();
+                final TraceEvent event = new TraceEvent(type, readString(in), readString(in));
+                final int argCount = in.readInt();
+                final Map<String, String> args = new HashMap<>();
+                for (int j = 0; j < argCount; j++) {
+                    args.put(readString(in), readString(in));
+                }
+                event.setArgs(args);
+                if (category != null) {
+                    event.setCategory(Category.valueOf(category));
+                }
+                event.setPid(pid);
+                event.setTid(tid);
+                event.setNanos(nanos);
+                events.add(event);
+            }
+            return events;
+        }
+    }
+
+    /**
+     * Convert a snapshot file to a gzipped Chrome trace file next to it.
+     * @return The Chrome trace file
+     */
+    public static File toChromeTrace(File snapshot) throws IOException {
+        String name = snapshot.getName();
+        if (name.endsWith(EXTENSION)) {
+            name = name.substring(0, name.length() - EXTENSION.length());
+        }
+        final File json = new File(snapshot.getAbsoluteFile().getParentFile(), name + ".json.gz");
+        new TraceFileWriter(json, read(snapshot)).run();
+        return json;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: TraceSnapshot <snapshot" + EXTENSION + ">...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            System.out.println(toChromeTrace(new File(arg)).getPath());
+        }
+    }
+}
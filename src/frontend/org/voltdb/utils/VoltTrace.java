@@ -19,6 +19,7 @@ package org.voltdb.utils;
 import java.io.File;
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -27,17 +28,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 
-import com.google_voltpatches.common.collect.EvictingQueue;
 import com.google_voltpatches.common.collect.ImmutableSet;
-import com.google_voltpatches.common.util.concurrent.ListenableFuture;
 import com.google_voltpatches.common.util.concurrent.ListeningExecutorService;
-import com.google_voltpatches.common.util.concurrent.SettableFuture;
 import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.annotate.JsonIgnore;
 import org.codehaus.jackson.annotate.JsonProperty;
@@ -45,17 +45,22 @@ import org.codehaus.jackson.map.JsonSerializer;
 import org.codehaus.jackson.map.SerializerProvider;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 import org.voltcore.logging.VoltLogger;
+import org.voltcore.utils.Bits;
 import org.voltcore.utils.CoreUtils;
 
 /**
  * Utility class to log Chrome Trace Event format trace messages into files.
- * Trace events are queued in a ring buffer. When the buffer is full, oldest
- * events will be removed to make room for new events. Events in the ring buffer
- * can be dumped to a file on user's request.
+ * Every thread logs into its own ring of preallocated slots of primitives. Call
+ * sites describe their events once with a {@link TracePoint} and log only numbers
+ * and texts, so logging costs a timestamp and a few stores, allocates nothing and
+ * tracing can be left on. When a ring is full, the oldest events of the thread are
+ * overwritten. On user's request the events are
+ * dumped to a binary snapshot file, {@link TraceSnapshot} turns it into a Chrome
+ * trace file offline.
  *
  * This class is thread-safe.
  */
-public class VoltTrace implements Runnable {
+public class VoltTrace {
     private static final VoltLogger s_logger = new VoltLogger("TRACER");
 
     // Current process id. Used by all trace events.
@@ -64,11 +69,13 @@ public class VoltTrace implements Runnable {
         s_pid = Integer.parseInt(CoreUtils.getPID());
     }
 
+    /** Ends the innermost duration event of the calling thread */
+    public static final TracePoint END_DURATION = TracePoint.endDuration();
+
     public enum Category {
         CI, MPI, MPSITE, SPI, SPSITE, EE, DRPRODUCER, DRCONSUMER
     }
 
-    private static Map<Character, TraceEventType> s_typeMap = new HashMap<>();
     public enum TraceEventType {
 
         ASYNC_BEGIN('b'),
@@ -93,11 +100,18 @@ public class VoltTrace implements Runnable {
         OBJECT_SNAPSHOT('O'),
         SAMPLE('P');
 
+        // Kept in the enum, trace points can be created before VoltTrace is initialized
+        private static final Map<Character, TraceEventType> s_typeMap = new HashMap<>();
+        static {
+            for (TraceEventType type : values()) {
+                s_typeMap.put(type.m_typeChar, type);
+            }
+        }
+
         private final char m_typeChar;
 
         TraceEventType(char typeChar) {
             m_typeChar = typeChar;
-            s_typeMap.put(typeChar, this);
         }
 
         public char getTypeChar() {
@@ -119,6 +133,7 @@ public class VoltTrace implements Runnable {
         private String m_name;
         private Category m_category;
         private String m_id;
+        private int m_pid = s_pid;
         private long m_tid;
         private long m_nanos;
         private double m_ts;
@@ -212,10 +227,11 @@ public class VoltTrace implements Runnable {
         }
 
         public int getPid() {
-            return s_pid;
+            return m_pid;
         }
 
         public void setPid(int pid) {
+            m_pid = pid;
         }
 
         public long getTid() {
@@ -285,36 +301,235 @@ public class VoltTrace implements Runnable {
         }
     }
 
+    /**
+     * A place in the code that logs trace events, declared once as a constant. It
+     * describes the event, its async id and its arguments, so the rings only keep
+     * the index of the trace point and the raw values. The event is put together
+     * when the rings are dumped.
+     *
+     * Values passed to {@link EventWriter#value(long)} fill the async id first and
+     * then the {@link #arg(String)} arguments, in declaration order. Texts passed to
+     * {@link EventWriter#text(String)} fill the {@link #text(String)} arguments.
+     */
+    public static final class TracePoint {
+        private static final CopyOnWriteArrayList<TracePoint> s_points = new CopyOnWriteArrayList<>();
+
+        private final int m_index;
+        private final TraceEventType m_type;
+        // null to take the name from the first text
+        private final String m_name;
+        private int m_idValues = 0;
+        private IdFormat m_idFormat = null;
+        private final List<String> m_argNames = new ArrayList<>();
+        private final List<LongFunction<String>> m_argFormats = new ArrayList<>();
+        private final List<String> m_textNames = new ArrayList<>();
+
+        private TracePoint(TraceEventType type, String name) {
+            m_type = type;
+            m_name = name;
+            synchronized (s_points) {
+                m_index = s_points.size();
+                s_points.add(this);
+            }
+        }
+
+        /**
+         * @param name The event name, or null to log the name as the first text.
+         */
+        public static TracePoint beginDuration(String name) {
+            return new TracePoint(TraceEventType.DURATION_BEGIN, name);
+        }
+
+        public static TracePoint endDuration() {
+            return new TracePoint(TraceEventType.DURATION_END, null);
+        }
+
+        public static TracePoint instant(String name) {
+            return new TracePoint(TraceEventType.INSTANT, name);
+        }
+
+        public static TracePoint beginAsync(String name) {
+            return new TracePoint(TraceEventType.ASYNC_BEGIN, name).id();
+        }
+
+        public static TracePoint endAsync(String name) {
+            return new TracePoint(TraceEventType.ASYNC_END, name).id();
+        }
+
+        public static TracePoint instantAsync(String name) {
+            return new TracePoint(TraceEventType.ASYNC_INSTANT, name).id();
+        }
+
+        /**
+         * The async id is the first value.
+         */
+        public TracePoint id() {
+            return id(1, values -> Long.toString(values[0]));
+        }
+
+        /**
+         * The async id is made of the first <code>values</code> values.
+         */
+        public TracePoint id(int values, IdFormat format) {
+            m_idValues = values;
+            m_idFormat = format;
+            return this;
+        }
+
+        /**
+         * An argument logged as a value and written as a number.
+         */
+        public TracePoint arg(String name) {
+            return arg(name, Long::toString);
+        }
+
+        /**
+         * An argument logged as a value and written with the given format.
+         */
+        public TracePoint arg(String name, LongFunction<String> format) {
+            m_argNames.add(name);
+            m_argFormats.add(format);
+            return this;
+        }
+
+        /**
+         * An argument logged as a value, non-zero is written as true.
+         */
+        public TracePoint flag(String name) {
+            return arg(name, value -> Boolean.toString(value != 0));
+        }
+
+        /**
+         * An argument logged as a text of at most TEXT_CHARS characters per event.
+         */
+        public TracePoint text(String name) {
+            m_textNames.add(name);
+            return this;
+        }
+
+        static TracePoint get(int index) {
+            return s_points.get(index);
+        }
+
+        TraceEvent materialize(long[] values, List<String> texts) {
+            int text = 0;
+            String name = m_name;
+            if (name == null && m_type != TraceEventType.DURATION_END && !texts.isEmpty()) {
+                name = texts.get(text++);
+            }
+            final String id = m_idFormat != null && values.length >= m_idValues ? m_idFormat.format(values) : null;
+            final List<Object> args = new ArrayList<>();
+            for (int i = 0; i < m_argNames.size() && m_idValues + i < values.length; i++) {
+                args.add(m_argNames.get(i));
+                args.add(m_argFormats.get(i).apply(values[m_idValues + i]));
+            }
+            for (int i = 0; i < m_textNames.size() && text < texts.size(); i++) {
+                args.add(m_textNames.get(i));
+                args.add(texts.get(text++));
+            }
+            return new TraceEvent(m_type, name, id, args.toArray());
+        }
+    }
+
+    /**
+     * Formats the async id of an event from its values.
+     */
+    @FunctionalInterface
+    public interface IdFormat {
+        String format(long[] values);
+    }
+
+    /**
+     * Writes one event. Get it from {@link TraceEventBatch#event(TracePoint)}, pass
+     * the values and texts the trace point declares and finish with {@link #log()}.
+     * Logging into a ring allocates nothing.
+     */
+    public interface EventWriter {
+        EventWriter value(long value);
+
+        default EventWriter value(boolean value) {
+            return value(value ? 1 : 0);
+        }
+
+        EventWriter text(String text);
+
+        void log();
+    }
+
     /**
      * Represents a batch of trace events that belong to the same category and thread.
+     * The batches handed out by {@link VoltTrace#log(Category)} write straight into
+     * the ring of the calling thread and are reused, batches created by the public
+     * constructor hold their events in a list.
      */
     public static class TraceEventBatch {
         private final Category m_cat;
         private final long m_tid;
+        private final VoltTrace m_tracer;
+        private final Ring m_ring;
 
-        private LinkedList<TraceEventWrapper> m_events = new LinkedList<>();
+        private final LinkedList<TraceEventWrapper> m_events;
 
         public TraceEventBatch(Category cat) {
             m_cat = cat;
             m_tid = Thread.currentThread().getId();
+            m_tracer = null;
+            m_ring = null;
+            m_events = new LinkedList<>();
+        }
+
+        private TraceEventBatch(Category cat, VoltTrace tracer, Ring ring) {
+            m_cat = cat;
+            m_tid = ring.m_tid;
+            m_tracer = tracer;
+            m_ring = ring;
+            m_events = null;
         }
 
         /**
-         * Add the event into the ring buffer. The event will stay in the buffer
-         * unless user instruct to write the queue to file. If the ring buffer is
-         * full, old events will be removed to make room for new events.
-         * @param s A supplier of the trace event. You can use Java 8's lambda
-         *          function to delay materializing the parameters in the event
-         *          because they could be expensive. If the event is never written
-         *          to file, the parameters will never be materialized.
+         * Start an event of the given trace point. The event will stay in the ring
+         * buffer unless user instruct to write the queue to file. If the ring
+         * buffer is full, old events will be removed to make room for new events.
+         */
+        public EventWriter event(TracePoint point) {
+            if (m_ring != null) {
+                // A batch that wandered off to another thread goes to that thread's ring
+                final Ring ring = m_ring.m_owner == Thread.currentThread() ? m_ring : m_tracer.m_ring.get();
+                return ring.begin(m_cat, point);
+            }
+            return new ListEventWriter(this, point);
+        }
+
+        /**
+         * Add an event to a batch made with the public constructor. The supplier
+         * is called when the batch is read. Batches returned by
+         * {@link VoltTrace#log(Category)} only take events through
+         * {@link #event(TracePoint)}.
          */
         public TraceEventBatch add(Supplier<TraceEvent> s) {
+            if (m_ring != null) {
+                throw new UnsupportedOperationException("Events are logged into the rings through trace points");
+            }
             m_events.add(new TraceEventWrapper(s));
             return this;
         }
 
+        /**
+         * Set the thread_sort_index metadata of the calling thread, written out when
+         * the rings are dumped.
+         */
+        public TraceEventBatch setThreadSortIndex(int index) {
+            if (m_ring != null) {
+                final Ring ring = m_ring.m_owner == Thread.currentThread() ? m_ring : m_tracer.m_ring.get();
+                if (ring.m_sortIndex != index) {
+                    ring.m_sortIndex = index;
+                }
+            }
+            return this;
+        }
+
         protected TraceEvent nextEvent() {
-            final TraceEventWrapper wrapper = m_events.poll();
+            final TraceEventWrapper wrapper = m_events == null ? null : m_events.poll();
             if (wrapper != null) {
                 return wrapper.get(m_cat, m_tid);
             } else {
@@ -323,6 +538,42 @@ public class VoltTrace implements Runnable {
         }
     }
 
+    /**
+     * Collects an event for a batch made with the public constructor.
+     */
+    private static final class ListEventWriter implements EventWriter {
+        private final TraceEventBatch m_batch;
+        private final TracePoint m_point;
+        private final long[] m_values = new long[MAX_VALUES];
+        private int m_valueCount = 0;
+        private final List<String> m_texts = new ArrayList<>();
+
+        ListEventWriter(TraceEventBatch batch, TracePoint point) {
+            m_batch = batch;
+            m_point = point;
+        }
+
+        @Override
+        public EventWriter value(long value) {
+            if (m_valueCount < MAX_VALUES) {
+                m_values[m_valueCount++] = value;
+            }
+            return this;
+        }
+
+        @Override
+        public EventWriter text(String text) {
+            m_texts.add(text);
+            return this;
+        }
+
+        @Override
+        public void log() {
+            final long[] values = Arrays.copyOf(m_values, m_valueCount);
+            m_batch.m_events.add(new TraceEventWrapper(() -> m_point.materialize(values, m_texts)));
+        }
+    }
+
     /**
      * Wraps around the event supplier so that we can capture timestamp
      * at the time of the log.
@@ -344,52 +595,278 @@ public class VoltTrace implements Runnable {
         }
     }
 
+    /**
+     * The events of one thread, in a ring of preallocated slots of primitives. Only
+     * the owning thread writes to it, without locks. A slot keeps the timestamp of
+     * an event, a header with its category, trace point and sizes, and its values
+     * next to each other, and its texts copied into a fixed char area, so logging
+     * an event only touches two arrays. A dump copies the slots without stopping
+     * the owner and discards the ones the owner overwrote while they were copied.
+     */
+    private static final class Ring implements EventWriter {
+        // length of a text, when the text was null
+        private static final char NULL_TEXT = '\uffff';
+        // longs in a slot: timestamp, header, values
+        private static final int SLOT_LONGS = 2 + MAX_VALUES;
+
+        private final Thread m_owner;
+        private final long m_tid;
+        private final int m_mask;
+        private final long[] m_slots;
+        // each text is its length followed by its characters
+        private final char[] m_texts;
+        private final TraceEventBatch[] m_batches;
+        // thread_sort_index of the owner, or -1
+        private volatile int m_sortIndex = -1;
+
+        // next sequence number, owner only
+        private long m_next = 0;
+        // the slot being written and how much of it is filled, owner only
+        private int m_slot;
+        private int m_cat;
+        private int m_point;
+        private int m_valueCount;
+        private int m_textLength;
+        // events written so far, published after their slot is filled
+        private final AtomicLong m_published = new AtomicLong(0);
+        // events up to this sequence number were dumped already, dump only
+        private long m_dumped = 0;
+
+        Ring(VoltTrace tracer, int size) {
+            m_owner = Thread.currentThread();
+            m_tid = m_owner.getId();
+            m_mask = size - 1;
+            m_slots = new long[size * SLOT_LONGS];
+            m_texts = new char[size * TEXT_CHARS];
+            m_batches = new TraceEventBatch[Category.values().length];
+            for (Category cat : Category.values()) {
+                m_batches[cat.ordinal()] = new TraceEventBatch(cat, tracer, this);
+            }
+        }
+
+        EventWriter begin(Category cat, TracePoint point) {
+            final long seq = m_next++;
+            final int slot = (int) seq & m_mask;
+            // Mark the slot as being written before any of its fields change,
+            // a dump that copied the old event then sees that it was lapped
+            m_published.lazySet(seq);
+            Bits.unsafe.storeFence();
+            m_slots[slot * SLOT_LONGS] = System.nanoTime();
+            m_slot = slot;
+            m_cat = cat.ordinal();
+            m_point = point.m_index;
+            m_valueCount = 0;
+            m_textLength = 0;
+            return this;
+        }
+
+        @Override
+        public EventWriter value(long value) {
+            if (m_valueCount < MAX_VALUES) {
+                m_slots[m_slot * SLOT_LONGS + 2 + m_valueCount++] = value;
+            }
+            return this;
+        }
+
+        @Override
+        public EventWriter text(String text) {
+            if (m_textLength >= TEXT_CHARS) {
+                return this;
+            }
+            final int at = m_slot * TEXT_CHARS + m_textLength;
+            if (text == null) {
+                m_texts[at] = NULL_TEXT;
+                m_textLength++;
+            } else {
+                final int length = Math.min(text.length(), TEXT_CHARS - m_textLength - 1);
+                m_texts[at] = (char) length;
+                text.getChars(0, length, m_texts, at + 1);
+                m_textLength += length + 1;
+            }
+            return this;
+        }
+
+        @Override
+        public void log() {
+            m_slots[m_slot * SLOT_LONGS + 1] =
+                    ((long) m_point << 32) | (m_cat << 24) | (m_valueCount << 16) | m_textLength;
+            m_published.lazySet(m_next);
+        }
+
+        /**
+         * Copy the events not dumped yet
+         */
+        void snapshot(List<RingEvent> out) {
+            final long end = m_published.get();
+            final long start = Math.max(m_dumped, end - QUEUE_SIZE);
+            final RingEvent[] copied = new RingEvent[(int) (end - start)];
+            for (long seq = start; seq < end; seq++) {
+                final int slot = (int) seq & m_mask;
+                final int at = slot * SLOT_LONGS;
+                final long header = m_slots[at + 1];
+                // A slot being overwritten may hold any header, it is discarded below
+                final int valueCount = Math.min((int) (header >>> 16) & 0xff, MAX_VALUES);
+                final int textLength = Math.min((int) header & 0xffff, TEXT_CHARS);
+                copied[(int) (seq - start)] = new RingEvent((byte) (header >>> 24), m_tid, m_slots[at],
+                        (int) (header >>> 32),
+                        Arrays.copyOfRange(m_slots, at + 2, at + 2 + valueCount),
+                        Arrays.copyOfRange(m_texts, slot * TEXT_CHARS, slot * TEXT_CHARS + textLength));
+            }
+            // The copies must be read before the sequence number that validates them,
+            // as in StampedLock.validate(). The owner may have lapped the oldest slots
+            // in the meantime, the slot of the event it is writing is the one of
+            // (published - size).
+            Bits.unsafe.loadFence();
+            final long valid = m_published.get() - m_mask;
+            for (long seq = Math.max(start, valid); seq < end; seq++) {
+                out.add(copied[(int) (seq - start)]);
+            }
+            m_dumped = end;
+        }
+
+        boolean isDone() {
+            return !m_owner.isAlive() && m_dumped == m_published.get();
+        }
+    }
+
+    /** An event copied out of a ring */
+    private static final class RingEvent {
+        final byte m_cat;
+        final long m_tid;
+        final long m_nanos;
+        final int m_point;
+        final long[] m_values;
+        final char[] m_texts;
+
+        RingEvent(byte cat, long tid, long nanos, int point, long[] values, char[] texts) {
+            m_cat = cat;
+            m_tid = tid;
+            m_nanos = nanos;
+            m_point = point;
+            m_values = values;
+            m_texts = texts;
+        }
+
+        TraceEvent materialize() {
+            final List<String> texts = new ArrayList<>();
+            for (int i = 0; i < m_texts.length; ) {
+                final char length = m_texts[i++];
+                if (length == Ring.NULL_TEXT) {
+                    texts.add(null);
+                } else {
+                    texts.add(new String(m_texts, i, length));
+                    i += length;
+                }
+            }
+            final TraceEvent event = TracePoint.get(m_point).materialize(m_values, texts);
+            event.setCategory(Category.values()[m_cat]);
+            event.setTid(m_tid);
+            event.setNanos(m_nanos);
+            return event;
+        }
+    }
+
+    /** The thread metadata of a ring that had events in a dump */
+    private static final class RingThread {
+        final Category m_cat;
+        final long m_tid;
+        final long m_nanos;
+        final String m_name;
+        final int m_sortIndex;
+
+        RingThread(Ring ring, RingEvent first) {
+            m_cat = Category.values()[first.m_cat];
+            m_tid = ring.m_tid;
+            m_nanos = first.m_nanos;
+            m_name = ring.m_owner.getName();
+            m_sortIndex = ring.m_sortIndex;
+        }
+
+        void materialize(List<TraceEvent> out, boolean withProcess) {
+            if (withProcess) {
+                out.add(metadata(meta("process_name", "name", CoreUtils.getHostnameOrAddress())));
+            }
+            out.add(metadata(meta("thread_name", "name", m_name)));
+            if (m_sortIndex >= 0) {
+                out.add(metadata(meta("thread_sort_index", "sort_index", Integer.toString(m_sortIndex))));
+            }
+        }
+
+        private TraceEvent metadata(TraceEvent event) {
+            event.setCategory(m_cat);
+            event.setTid(m_tid);
+            event.setNanos(m_nanos);
+            return event;
+        }
+    }
+
     static final int QUEUE_SIZE = Integer.getInteger("VOLTTRACE_QUEUE_SIZE", 4096);
+    // Slots in the ring of each thread, a power of two with at least one slot
+    // more than the events kept, for the one the owner may be overwriting
+    static final int RING_SIZE = Integer.highestOneBit(Math.max(1, QUEUE_SIZE) << 1);
+    // Values and text characters kept per event, longer texts are cut
+    static final int MAX_VALUES = 10;
+    static final int TEXT_CHARS = 48;
+    // Categories enabled when the server starts, comma separated
+    static final String STARTUP_CATEGORIES = System.getProperty("VOLTTRACE_CATEGORIES", "");
     private static volatile VoltTrace s_tracer;
 
-    // Events from trace producers are put into this queue.
-    // TraceFileWriter takes events from this queue and writes them to files.
-    private EvictingQueue<TraceEventBatch> m_traceEvents = EvictingQueue.create(QUEUE_SIZE);
-    private EvictingQueue<TraceEventBatch> m_emptyQueue = EvictingQueue.create(QUEUE_SIZE);
+    private final CopyOnWriteArrayList<Ring> m_rings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Ring> m_ring = new ThreadLocal<Ring>() {
+        @Override
+        protected Ring initialValue() {
+            final Ring ring = new Ring(VoltTrace.this, RING_SIZE);
+            m_rings.add(ring);
+            return ring;
+        }
+    };
     private final ListeningExecutorService m_writerThread = CoreUtils.getCachedSingleThreadExecutor("VoltTrace Writer", 1000);
-
-    private volatile boolean m_shutdown = false;
-    private volatile Runnable m_shutdownCallback = null;
+    private final AtomicBoolean m_writing = new AtomicBoolean(false);
 
     private volatile Set<Category> m_enabledCategories = ImmutableSet.of();
-    private final LinkedTransferQueue<Runnable> m_work = new LinkedTransferQueue<>();
+    // bit per enabled category, the cheap check for every log() call
+    private volatile int m_enabledMask = 0;
 
     private boolean isCategoryEnabled(Category cat) {
-        return m_enabledCategories.contains(cat);
+        return (m_enabledMask & (1 << cat.ordinal())) != 0;
     }
 
-    private void queueEvent(TraceEventBatch s) {
-        m_work.offer(() -> m_traceEvents.offer(s));
-        // If queue is full, drop oldest events
+    private void setEnabledCategories(ImmutableSet<Category> categories) {
+        int mask = 0;
+        for (Category cat : categories) {
+            mask |= 1 << cat.ordinal();
+        }
+        m_enabledCategories = categories;
+        m_enabledMask = mask;
     }
 
-    private ListenableFuture dumpEvents(File path) {
-        if (m_emptyQueue == null || m_traceEvents.isEmpty()) {
-            return null;
+    /**
+     * Copy the events of every thread that were not dumped yet, and the metadata
+     * of the threads that logged them.
+     */
+    private List<RingEvent> snapshot(List<RingThread> threads) {
+        final List<RingEvent> events = new ArrayList<>();
+        for (Ring ring : m_rings) {
+            final int first = events.size();
+            ring.snapshot(events);
+            if (events.size() > first) {
+                threads.add(new RingThread(ring, events.get(first)));
+            }
+            if (ring.isDone()) {
+                m_rings.remove(ring);
+            }
         }
-
-        final EvictingQueue<TraceEventBatch> writeQueue = m_traceEvents;
-        m_traceEvents = m_emptyQueue;
-        m_emptyQueue = null;
-
-        final ListenableFuture future = m_writerThread.submit(new TraceFileWriter(path, writeQueue));
-        future.addListener(() -> m_work.offer(() -> m_emptyQueue = writeQueue), CoreUtils.SAMETHREADEXECUTOR);
-        return future;
+        return events;
     }
 
     /**
-     * Write the events in the queue to file.
+     * Write the events in the rings to a binary snapshot file.
      * @param logDir The directory to write the file to.
      * @return The file path if successfully written, or null if the there is
-     * already a write in progress.
+     * already a write in progress or nothing to write.
      */
     private String write(String logDir) throws IOException, ExecutionException, InterruptedException {
-        final File file = new File(logDir, "trace_" + System.currentTimeMillis() + ".json.gz");
+        final File file = new File(logDir, "trace_" + System.currentTimeMillis() + TraceSnapshot.EXTENSION);
         if (file.exists()) {
             throw new IOException("Trace file " + file.getAbsolutePath() + " already exists");
         }
@@ -397,37 +874,34 @@ public class VoltTrace implements Runnable {
             throw new IOException("Trace file " + file.getAbsolutePath() + " is not writable");
         }
 
-        SettableFuture<Future> f = SettableFuture.create();
-        m_work.offer(() -> f.set(dumpEvents(file)));
-        final Future writeFuture = f.get();
-        if (writeFuture != null) {
-            writeFuture.get(); // Wait for the write to finish without blocking new events
-            return file.getAbsolutePath();
-        } else {
+        if (!m_writing.compareAndSet(false, true)) {
             // A write is already in progress, ignore this request
             return null;
         }
-    }
-
-    @Override
-    public void run() {
-        while (!m_shutdown) {
-            try {
-                final Runnable work = m_work.take();
-                if (work != null) {
-                    work.run();
+        try {
+            final List<RingThread> threads = new ArrayList<>();
+            final List<RingEvent> events = snapshot(threads);
+            if (events.isEmpty()) {
+                return null;
+            }
+            m_writerThread.submit(() -> {
+                final List<TraceEvent> materialized = new ArrayList<>(events.size() + threads.size() * 3);
+                for (int i = 0; i < threads.size(); i++) {
+                    threads.get(i).materialize(materialized, i == 0);
                 }
-            } catch (Throwable t) {}
-        }
-    }
-
-    private void shutdown() {
-        if (m_shutdownCallback != null) {
-            try {
-                m_shutdownCallback.run();
-            } catch (Throwable t) {}
+                for (RingEvent e : events) {
+                    materialized.add(e.materialize());
+                }
+                // stable, the metadata of a thread stays ahead of its first event
+                materialized.sort((a, b) -> Long.compare(a.getNanos(), b.getNanos()));
+                TraceSnapshot.write(file, materialized);
+                s_logger.info("Wrote " + materialized.size() + " trace events to " + file.getAbsolutePath());
+                return null;
+            }).get();
+            return file.getAbsolutePath();
+        } finally {
+            m_writing.set(false);
         }
-        m_shutdown = true;
     }
 
     /**
@@ -440,16 +914,15 @@ public class VoltTrace implements Runnable {
     public static TraceEventBatch log(Category cat) {
         final VoltTrace tracer = s_tracer;
         if (tracer != null && tracer.isCategoryEnabled(cat)) {
-            final TraceEventBatch batch = new TraceEventBatch(cat);
-            tracer.queueEvent(batch);
-            return batch;
+            return tracer.m_ring.get().m_batches[cat.ordinal()];
         } else {
             return null;
         }
     }
     /**
      * Creates a metadata trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent meta(String name, Object... args) {
         return new TraceEvent(TraceEventType.METADATA, name, null, args);
@@ -457,7 +930,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates an instant trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent instant(String name, Object... args) {
         return new TraceEvent(TraceEventType.INSTANT, name, null, args);
@@ -465,7 +939,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates a begin duration trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent beginDuration(String name, Object... args) {
         return new TraceEvent(TraceEventType.DURATION_BEGIN, name, null, args);
@@ -473,7 +948,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates an end duration trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent endDuration(Object... args) {
         return new TraceEvent(TraceEventType.DURATION_END, null, null, args);
@@ -481,7 +957,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates a begin async trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent beginAsync(String name, Object id, Object... args) {
         return new TraceEvent(TraceEventType.ASYNC_BEGIN, name, String.valueOf(id), args);
@@ -489,7 +966,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates an end async trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent endAsync(String name, Object id, Object... args) {
         return new TraceEvent(TraceEventType.ASYNC_END, name, String.valueOf(id), args);
@@ -497,7 +975,8 @@ public class VoltTrace implements Runnable {
 
     /**
      * Creates an async instant trace event. This method does not queue the
-     * event. Call {@link TraceEventBatch#add(Supplier)} to queue the event.
+     * event, it can go into a batch made with the public constructor of
+     * {@link TraceEventBatch}.
      */
     public static TraceEvent instantAsync(String name, Object id, Object... args) {
         return new TraceEvent(TraceEventType.ASYNC_INSTANT, name, String.valueOf(id), args);
@@ -528,7 +1007,7 @@ public class VoltTrace implements Runnable {
                 }
             }
 
-            tracer.shutdown();
+            tracer.m_rings.clear();
         }
 
         return path;
@@ -541,16 +1020,40 @@ public class VoltTrace implements Runnable {
      */
     private static synchronized void start() throws IOException {
         if (s_tracer == null) {
-            final VoltTrace tracer = new VoltTrace();
-            final Thread thread = new Thread(tracer);
-            thread.setDaemon(true);
-            thread.start();
-            s_tracer = tracer;
+            s_tracer = new VoltTrace();
+        }
+    }
+
+    /**
+     * Enable the categories listed in the VOLTTRACE_CATEGORIES system property,
+     * so tracing can be left on from the moment the server starts.
+     */
+    public static void enableStartupCategories() {
+        final List<Category> categories = new ArrayList<>();
+        for (String name : STARTUP_CATEGORIES.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                categories.add(Category.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                s_logger.warn("Ignoring unknown trace category " + name);
+            }
+        }
+        if (!categories.isEmpty()) {
+            try {
+                enableCategories(categories.toArray(new Category[0]));
+                s_logger.info("Tracing enabled for " + categories);
+            } catch (IOException e) {
+                s_logger.warn("Unable to enable tracing: " + e.getMessage());
+            }
         }
     }
 
     /**
-     * Write all trace events in the queue to file.
+     * Write the trace events not dumped yet to a binary snapshot file, which
+     * {@link TraceSnapshot} converts to the Chrome trace format offline.
      * @return The file path if written successfully, or null if a write is already in progress.
      */
     public static String dump(String logDir) throws IOException {
@@ -596,7 +1099,7 @@ public class VoltTrace implements Runnable {
         final ImmutableSet.Builder<Category> builder = ImmutableSet.builder();
         builder.addAll(tracer.m_enabledCategories);
         builder.addAll(Arrays.asList(categories));
-        tracer.m_enabledCategories = builder.build();
+        tracer.setEnabledCategories(builder.build());
     }
 
     /**
@@ -627,7 +1130,7 @@ public class VoltTrace implements Runnable {
                 closeAllAndShutdown(null, 0);
             } catch (IOException e) {}
         } else {
-            tracer.m_enabledCategories = enabledCategories;
+            tracer.setEnabledCategories(enabledCategories);
         }
     }
 
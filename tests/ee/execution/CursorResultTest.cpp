@@ -0,0 +1,238 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+#include <string>
+#include <vector>
+
+#include "harness.h"
+
+#include "test_utils/LargeTempTableTopend.hpp"
+#include "test_utils/Tools.hpp"
+#include "test_utils/UniqueEngine.hpp"
+#include "test_utils/UniqueTable.hpp"
+
+#include "common/SerializableEEException.h"
+#include "common/serializeio.h"
+#include "common/tabletuple.h"
+#include "common/types.h"
+#include "storage/LargeTempTable.h"
+#include "storage/tablefactory.h"
+
+using namespace voltdb;
+
+/**
+ * A topend that keeps each chunk of a cursor result in memory.
+ */
+class CursorTopend : public LargeTempTableTopend {
+public:
+    CursorTopend() : m_cursorId(42) { }
+
+    int64_t storeCursorChunk(int64_t cursorId, const char* data, int32_t length) {
+        if (m_cursorId == 0) {
+            return 0;
+        }
+        // Only the first chunk may open the cursor.
+        assert(cursorId == (m_chunks.empty() ? 0 : m_cursorId));
+        m_chunks.push_back(std::string(data, length));
+        return m_cursorId;
+    }
+
+    int64_t m_cursorId;
+    std::vector<std::string> m_chunks;
+};
+
+class CursorResultTest : public Test {
+public:
+    CursorResultTest()
+        : m_resultBuffer(new char[RESULT_BUFFER_SIZE])
+        , m_exceptionBuffer(new char[EXCEPTION_BUFFER_SIZE])
+    {
+    }
+
+    ~CursorResultTest() {
+        voltdb::globalDestroyOncePerProcess();
+    }
+
+protected:
+    UniqueEngine buildEngine() {
+        UniqueEngine engine = UniqueEngineBuilder()
+            .setTopend(std::unique_ptr<Topend>(new CursorTopend()))
+            .build();
+        engine->setBuffers(NULL, 0,
+                           NULL, 0,
+                           NULL, 0,
+                           NULL, 0,
+                           m_resultBuffer.get(), RESULT_BUFFER_SIZE,
+                           m_exceptionBuffer.get(), EXCEPTION_BUFFER_SIZE);
+        engine->resetReusedResultOutputBuffer();
+        return engine;
+    }
+
+    static CursorTopend* topend(UniqueEngine& engine) {
+        return dynamic_cast<CursorTopend*>(engine->getTopend());
+    }
+
+    // Read the header of a serialized table, and return its row count.
+    int32_t readTableHeader(ReferenceSerializeInputBE& in,
+                            size_t length,
+                            std::vector<std::string>* names) {
+        EXPECT_EQ(length - sizeof(int32_t), in.readInt());
+        in.readInt(); // header size
+        EXPECT_EQ(-128, in.readByte());
+        int16_t columnCount = in.readShort();
+        for (int i = 0; i < columnCount; ++i) {
+            in.readByte();
+        }
+        for (int i = 0; i < columnCount; ++i) {
+            std::string name = in.readTextString();
+            if (names != NULL) {
+                names->push_back(name);
+            }
+        }
+        return in.readInt();
+    }
+
+    // Check the one row table sent in place of the result.
+    void checkHandle(UniqueEngine& engine, int64_t cursorId, int64_t rowCount) {
+        ReferenceSerializeInputBE in(engine->getResultsBuffer(), engine->getResultsSize());
+        ASSERT_EQ(-1, in.readInt());
+        std::vector<std::string> names;
+        ASSERT_EQ(1, readTableHeader(in, engine->getResultsSize() - sizeof(int32_t), &names));
+        ASSERT_EQ(2, names.size());
+        ASSERT_EQ("STREAMED_CURSOR_ID", names[0]);
+        ASSERT_EQ("ROW_COUNT", names[1]);
+        ASSERT_EQ(2 * sizeof(int64_t), in.readInt());
+        ASSERT_EQ(cursorId, in.readLong());
+        ASSERT_EQ(rowCount, in.readLong());
+    }
+
+    UniqueTable<LargeTempTable> buildTable(int rowCount, int textLength) {
+        TupleSchema* schema = Tools::buildSchema(VALUE_TYPE_BIGINT,
+                                                 std::make_pair(VALUE_TYPE_VARCHAR, 4096));
+        std::vector<std::string> columnNames{ "id", "text" };
+        UniqueTable<LargeTempTable> ltt = makeUniqueTable(TableFactory::buildLargeTempTable(
+            "ltmp",
+            schema,
+            columnNames));
+        TableTuple tuple = ltt->tempTuple();
+        std::string text(textLength, 'x');
+        for (int i = 0; i < rowCount; ++i) {
+            Tools::setTupleValues(&tuple, int64_t(i), text);
+            ltt->insertTuple(tuple);
+        }
+        ltt->finishInserts();
+        return ltt;
+    }
+
+private:
+    static const int RESULT_BUFFER_SIZE = 1024 * 1024;
+    static const int EXCEPTION_BUFFER_SIZE = 4096;
+
+    std::unique_ptr<char[]> m_resultBuffer;
+    std::unique_ptr<char[]> m_exceptionBuffer;
+};
+
+TEST_F(CursorResultTest, SmallResult) {
+    UniqueEngine engine = buildEngine();
+    UniqueTable<LargeTempTable> ltt = buildTable(3, 10);
+
+    engine->sendToCursor(ltt.get());
+
+    CursorTopend* te = topend(engine);
+    ASSERT_EQ(1, te->m_chunks.size());
+    const std::string& chunk = te->m_chunks[0];
+    ReferenceSerializeInputBE in(chunk.data(), chunk.size());
+    std::vector<std::string> names;
+    ASSERT_EQ(3, readTableHeader(in, chunk.size(), &names));
+    ASSERT_EQ("id", names[0]);
+    ASSERT_EQ("text", names[1]);
+    for (int64_t i = 0; i < 3; ++i) {
+        in.readInt(); // row length
+        ASSERT_EQ(i, in.readLong());
+        ASSERT_EQ(std::string(10, 'x'), in.readTextString());
+    }
+
+    checkHandle(engine, 42, 3);
+}
+
+TEST_F(CursorResultTest, EmptyResult) {
+    UniqueEngine engine = buildEngine();
+    UniqueTable<LargeTempTable> ltt = buildTable(0, 0);
+
+    engine->sendToCursor(ltt.get());
+
+    // An empty result still opens a cursor.
+    CursorTopend* te = topend(engine);
+    ASSERT_EQ(1, te->m_chunks.size());
+    ReferenceSerializeInputBE in(te->m_chunks[0].data(), te->m_chunks[0].size());
+    ASSERT_EQ(0, readTableHeader(in, te->m_chunks[0].size(), NULL));
+
+    checkHandle(engine, 42, 0);
+}
+
+TEST_F(CursorResultTest, ManyChunks) {
+    UniqueEngine engine = buildEngine();
+    // About 20MB of rows, more than two large temp table blocks.
+    const int rowCount = 5000;
+    UniqueTable<LargeTempTable> ltt = buildTable(rowCount, 4000);
+
+    engine->sendToCursor(ltt.get());
+
+    CursorTopend* te = topend(engine);
+    ASSERT_TRUE(te->m_chunks.size() > 1);
+    int64_t nextId = 0;
+    BOOST_FOREACH(const std::string& chunk, te->m_chunks) {
+        // No chunk is much bigger than one block.
+        ASSERT_TRUE(chunk.size() < LargeTempTableBlock::BLOCK_SIZE_IN_BYTES + 8192);
+        ReferenceSerializeInputBE in(chunk.data(), chunk.size());
+        int32_t chunkRows = readTableHeader(in, chunk.size(), NULL);
+        for (int i = 0; i < chunkRows; ++i) {
+            in.readInt();
+            ASSERT_EQ(nextId, in.readLong());
+            in.readTextString();
+            ++nextId;
+        }
+    }
+    ASSERT_EQ(rowCount, nextId);
+
+    checkHandle(engine, 42, rowCount);
+}
+
+TEST_F(CursorResultTest, TopendFailure) {
+    UniqueEngine engine = buildEngine();
+    UniqueTable<LargeTempTable> ltt = buildTable(3, 10);
+    topend(engine)->m_cursorId = 0;
+
+    try {
+        engine->sendToCursor(ltt.get());
+        ASSERT_TRUE_WITH_MESSAGE(false, "Expected sendToCursor() to fail");
+    }
+    catch (const SerializableEEException& exc) {
+        ASSERT_NE(std::string::npos, exc.message().find("Unable to keep the query result for a cursor"));
+    }
+    ASSERT_EQ(0, engine->getResultsSize());
+}
+
+int main() {
+    return TestSuite::globalInstance()->runAll();
+}
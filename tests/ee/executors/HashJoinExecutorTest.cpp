@@ -0,0 +1,404 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+#include <algorithm>
+#include <sstream>
+#include <string>
+#include <utility>
+#include <vector>
+
+#include <boost/optional.hpp>
+
+#include "harness.h"
+
+#include "test_utils/LargeTempTableTopend.hpp"
+#include "test_utils/Tools.hpp"
+#include "test_utils/UniqueEngine.hpp"
+
+#include "common/executorcontext.hpp"
+#include "common/LargeTempTableBlockCache.h"
+#include "common/SynchronizedThreadLock.h"
+#include "execution/ExecutorVector.h"
+#include "storage/AbstractTempTable.hpp"
+#include "storage/table.h"
+#include "storage/tableiterator.h"
+
+using namespace voltdb;
+
+/**
+ * Catalog for a very simple database with just one table:
+ *  create table t (i           integer not null,
+ *                  inline_vc00 varchar(63 bytes),
+ *                  val         varchar(500000));
+ */
+static const std::string catalogPayload =
+    "add / clusters cluster\n"
+    "set /clusters#cluster localepoch 1199145600\n"
+    "set $PREV securityEnabled false\n"
+    "set $PREV httpdportno -1\n"
+    "set $PREV jsonapi true\n"
+    "set $PREV networkpartition false\n"
+    "set $PREV heartbeatTimeout 90\n"
+    "set $PREV useddlschema false\n"
+    "set $PREV drConsumerEnabled false\n"
+    "set $PREV drProducerEnabled true\n"
+    "set $PREV drRole \"master\"\n"
+    "set $PREV drClusterId 0\n"
+    "set $PREV drProducerPort 5555\n"
+    "set $PREV drMasterHost \"\"\n"
+    "set $PREV drFlushInterval 1000\n"
+    "set $PREV preferredSource 0\n"
+    "add /clusters#cluster databases database\n"
+    "set /clusters#cluster/databases#database schema \"sQFUNjM3MjY1NjE3NDY1MjA3NDYxNjI2QwkMLDIwMjg2OTIwNjk2RQEgNDY3NjU3MjIwNkU2Rjc0AQgcNzU2QzZDMkMJJHQ2QzY5NkU2NTVGNzY2MzMwMzAyMDc2NjE3MjYzNjgBCCwyODM2MzMyMDYyNzkBUgw3MzI5AT4BJgg2QzIFCDIuAAA1AUYwMzAzMDMwMjkyOTNCCg==\"\n"
+    "set $PREV isActiveActiveDRed false\n"
+    "set $PREV securityprovider \"hash\"\n"
+    "add /clusters#cluster/databases#database groups administrator\n"
+    "set /clusters#cluster/databases#database/groups#administrator admin true\n"
+    "set $PREV defaultproc true\n"
+    "set $PREV defaultprocread true\n"
+    "set $PREV sql true\n"
+    "set $PREV sqlread true\n"
+    "set $PREV allproc true\n"
+    "add /clusters#cluster/databases#database groups user\n"
+    "set /clusters#cluster/databases#database/groups#user admin false\n"
+    "set $PREV defaultproc true\n"
+    "set $PREV defaultprocread true\n"
+    "set $PREV sql true\n"
+    "set $PREV sqlread true\n"
+    "set $PREV allproc true\n"
+    "add /clusters#cluster/databases#database tables T\n"
+    "set /clusters#cluster/databases#database/tables#T isreplicated true\n"
+    "set $PREV partitioncolumn null\n"
+    "set $PREV estimatedtuplecount 0\n"
+    "set $PREV materializer null\n"
+    "set $PREV signature \"T|ivv\"\n"
+    "set $PREV tuplelimit 2147483647\n"
+    "set $PREV isDRed false\n"
+    "add /clusters#cluster/databases#database/tables#T columns I\n"
+    "set /clusters#cluster/databases#database/tables#T/columns#I index 0\n"
+    "set $PREV type 5\n"
+    "set $PREV size 4\n"
+    "set $PREV nullable false\n"
+    "set $PREV name \"I\"\n"
+    "set $PREV defaultvalue null\n"
+    "set $PREV defaulttype 0\n"
+    "set $PREV aggregatetype 0\n"
+    "set $PREV matviewsource null\n"
+    "set $PREV matview null\n"
+    "set $PREV inbytes false\n"
+    "add /clusters#cluster/databases#database/tables#T columns INLINE_VC00\n"
+    "set /clusters#cluster/databases#database/tables#T/columns#INLINE_VC00 index 1\n"
+    "set $PREV type 9\n"
+    "set $PREV size 63\n"
+    "set $PREV nullable true\n"
+    "set $PREV name \"INLINE_VC00\"\n"
+    "set $PREV defaultvalue null\n"
+    "set $PREV defaulttype 0\n"
+    "set $PREV aggregatetype 0\n"
+    "set $PREV matviewsource null\n"
+    "set $PREV matview null\n"
+    "set $PREV inbytes true\n"
+    "add /clusters#cluster/databases#database/tables#T columns VAL\n"
+    "set /clusters#cluster/databases#database/tables#T/columns#VAL index 2\n"
+    "set $PREV type 9\n"
+    "set $PREV size 500000\n"
+    "set $PREV nullable true\n"
+    "set $PREV name \"VAL\"\n"
+    "set $PREV defaultvalue null\n"
+    "set $PREV defaulttype 0\n"
+    "set $PREV aggregatetype 0\n"
+    "set $PREV matviewsource null\n"
+    "set $PREV matview null\n"
+    "set $PREV inbytes true\n"
+    "add /clusters#cluster/databases#database snapshotSchedule default\n"
+    "set /clusters#cluster/databases#database/snapshotSchedule#default enabled false\n"
+    "set $PREV frequencyUnit \"h\"\n"
+    "set $PREV frequencyValue 24\n"
+    "set $PREV retain 2\n"
+    "set $PREV prefix \"AUTOSNAP\"\n"
+    "add /clusters#cluster deployment deployment\n"
+    "set /clusters#cluster/deployment#deployment kfactor 0\n"
+    "add /clusters#cluster/deployment#deployment systemsettings systemsettings\n"
+    "set /clusters#cluster/deployment#deployment/systemsettings#systemsettings temptablemaxsize 100\n"
+    "set $PREV snapshotpriority 6\n"
+    "set $PREV elasticduration 50\n"
+    "set $PREV elasticthroughput 2\n"
+    "set $PREV querytimeout 300000\n"
+    "add /clusters#cluster logconfig log\n"
+    "set /clusters#cluster/logconfig#log enabled false\n"
+    "set $PREV synchronous false\n"
+    "set $PREV fsyncInterval 200\n"
+    "set $PREV maxTxns 2147483647\n"
+    "set $PREV logSize 1024";
+
+namespace {
+
+const std::string varcharColumn(int idx, int tableIdx = 0) {
+    std::ostringstream oss;
+    oss << "{\"TYPE\":32, \"VALUE_TYPE\":9, \"VALUE_SIZE\":63, \"IN_BYTES\":true, "
+        << "\"TABLE_IDX\":" << tableIdx << ", \"COLUMN_IDX\":" << idx << "}";
+    return oss.str();
+}
+
+const std::string integerColumn(int idx, int tableIdx = 0) {
+    std::ostringstream oss;
+    oss << "{\"TYPE\":32, \"VALUE_TYPE\":5, "
+        << "\"TABLE_IDX\":" << tableIdx << ", \"COLUMN_IDX\":" << idx << "}";
+    return oss.str();
+}
+
+const std::string valColumn(int idx) {
+    std::ostringstream oss;
+    oss << "{\"TYPE\":32, \"VALUE_TYPE\":9, \"VALUE_SIZE\":500000, \"IN_BYTES\":true, "
+        << "\"COLUMN_IDX\":" << idx << "}";
+    return oss.str();
+}
+
+/**
+ * A plan like the one the planner produces for
+ *     select * from (select i, inline_vc00 from t) as t1
+ *         <joinType> join t as t2 on t1.inline_vc00 = t2.inline_vc00
+ *         [where t1.i < maxOuterI]
+ * with the hash join at the top, so that its output is the result of
+ * the fragment.
+ */
+std::string hashJoinPlan(const std::string& joinType, bool isLargeQuery, int maxOuterI = -1) {
+    std::ostringstream oss;
+    oss << "{\"PLAN_NODES\":["
+        << "{\"ID\":1, \"PLAN_NODE_TYPE\":\"HASHJOIN\", \"CHILDREN_IDS\":[2, 4],"
+        << " \"OUTPUT_SCHEMA\":["
+        << "{\"COLUMN_NAME\":\"I\", \"EXPRESSION\":" << integerColumn(0) << "},"
+        << "{\"COLUMN_NAME\":\"INLINE_VC00\", \"EXPRESSION\":" << varcharColumn(1) << "},"
+        << "{\"COLUMN_NAME\":\"I\", \"EXPRESSION\":" << integerColumn(2) << "},"
+        << "{\"COLUMN_NAME\":\"INLINE_VC00\", \"EXPRESSION\":" << varcharColumn(3) << "},"
+        << "{\"COLUMN_NAME\":\"VAL\", \"EXPRESSION\":" << valColumn(4) << "}],"
+        << " \"JOIN_TYPE\":\"" << joinType << "\","
+        << " \"PRE_JOIN_PREDICATE\":null,"
+        << " \"JOIN_PREDICATE\":{\"TYPE\":10, \"VALUE_TYPE\":23,"
+        << " \"LEFT\":" << varcharColumn(1) << ", \"RIGHT\":" << varcharColumn(1, 1) << "},";
+    if (maxOuterI >= 0) {
+        oss << " \"WHERE_PREDICATE\":{\"TYPE\":12, \"VALUE_TYPE\":23,"
+            << " \"LEFT\":" << integerColumn(0) << ","
+            << " \"RIGHT\":{\"TYPE\":30, \"VALUE_TYPE\":5, \"ISNULL\":false, \"VALUE\":" << maxOuterI << "}},";
+    }
+    else {
+        oss << " \"WHERE_PREDICATE\":null,";
+    }
+    oss << " \"OUTER_HASH_EXPRESSIONS\":[" << varcharColumn(1) << "],"
+        << " \"INNER_HASH_EXPRESSIONS\":[" << varcharColumn(1) << "]},"
+        << "{\"ID\":2, \"PLAN_NODE_TYPE\":\"SEQSCAN\","
+        << " \"INLINE_NODES\":[{\"ID\":3, \"PLAN_NODE_TYPE\":\"PROJECTION\", \"OUTPUT_SCHEMA\":["
+        << "{\"COLUMN_NAME\":\"I\", \"EXPRESSION\":" << integerColumn(0) << "},"
+        << "{\"COLUMN_NAME\":\"INLINE_VC00\", \"EXPRESSION\":" << varcharColumn(1) << "}]}],"
+        << " \"TARGET_TABLE_NAME\":\"T\", \"TARGET_TABLE_ALIAS\":\"T1\"},"
+        << "{\"ID\":4, \"PLAN_NODE_TYPE\":\"SEQSCAN\","
+        << " \"INLINE_NODES\":[{\"ID\":5, \"PLAN_NODE_TYPE\":\"PROJECTION\", \"OUTPUT_SCHEMA\":["
+        << "{\"COLUMN_NAME\":\"I\", \"EXPRESSION\":" << integerColumn(0) << "},"
+        << "{\"COLUMN_NAME\":\"INLINE_VC00\", \"EXPRESSION\":" << varcharColumn(1) << "},"
+        << "{\"COLUMN_NAME\":\"VAL\", \"EXPRESSION\":" << valColumn(2) << "}]}],"
+        << " \"TARGET_TABLE_NAME\":\"T\", \"TARGET_TABLE_ALIAS\":\"T2\"}],"
+        << " \"EXECUTE_LIST\":[2, 4, 1],"
+        << " \"IS_LARGE_QUERY\":" << (isLargeQuery ? "true" : "false") << "}";
+    return oss.str();
+}
+
+// A joined row as (t1.i, t2.i), with -1 standing for a NULL padded side
+typedef std::pair<int32_t, int32_t> JoinedRow;
+
+}
+
+class HashJoinExecutorTest : public Test {
+public:
+    ~HashJoinExecutorTest() {
+        voltdb::globalDestroyOncePerProcess();
+    }
+
+protected:
+    /** Every tenth row has a NULL key, the others share it with one more row */
+    static boost::optional<std::string> keyOf(int i) {
+        if (i % 10 == 0) {
+            return boost::none;
+        }
+        std::ostringstream oss;
+        oss << "key " << (i / 2);
+        return oss.str();
+    }
+
+    static std::string valOf(int i, int valLength) {
+        std::ostringstream oss;
+        oss << "val " << i << " ";
+        std::string val = oss.str();
+        val.resize(std::max<int>(valLength, val.size()), 'x');
+        return val;
+    }
+
+    void populate(VoltDBEngine* engine, int rowCount, int valLength) {
+        m_rowCount = rowCount;
+        m_valLength = valLength;
+
+        Table* persTbl = engine->getTableByName("T");
+        StandAloneTupleStorage tupleWrapper(persTbl->schema());
+        TableTuple tuple = tupleWrapper.tuple();
+
+        SynchronizedThreadLock::debugSimulateSingleThreadMode(true);
+        SynchronizedThreadLock::assumeMpMemoryContext();
+        for (int i = 0; i < rowCount; ++i) {
+            Tools::setTupleValues(&tuple, i, keyOf(i), valOf(i, valLength));
+            persTbl->insertTuple(tuple);
+        }
+        SynchronizedThreadLock::assumeLowestSiteContext();
+        SynchronizedThreadLock::debugSimulateSingleThreadMode(false);
+    }
+
+    /** Join the rows the slow way */
+    std::vector<JoinedRow> expectedRows(JoinType joinType, int maxOuterI = -1) const {
+        std::vector<JoinedRow> rows;
+        std::vector<bool> innerMatched(m_rowCount, false);
+        for (int outer = 0; outer < m_rowCount; ++outer) {
+            bool outerMatched = false;
+            for (int inner = 0; inner < m_rowCount; ++inner) {
+                if (keyOf(outer) && keyOf(inner) && *keyOf(outer) == *keyOf(inner)) {
+                    outerMatched = true;
+                    innerMatched[inner] = true;
+                    rows.push_back(JoinedRow(outer, inner));
+                }
+            }
+            if ( ! outerMatched && joinType != JOIN_TYPE_INNER) {
+                rows.push_back(JoinedRow(outer, -1));
+            }
+        }
+        if (joinType == JOIN_TYPE_FULL) {
+            for (int inner = 0; inner < m_rowCount; ++inner) {
+                if ( ! innerMatched[inner]) {
+                    rows.push_back(JoinedRow(-1, inner));
+                }
+            }
+        }
+        if (maxOuterI >= 0) {
+            rows.erase(std::remove_if(rows.begin(), rows.end(),
+                                      [=](const JoinedRow& row) { return row.first < 0 || row.first >= maxOuterI; }),
+                       rows.end());
+        }
+        std::sort(rows.begin(), rows.end());
+        return rows;
+    }
+
+    /** Read the result back, checking the inner columns came with the right row */
+    std::vector<JoinedRow> actualRows(AbstractTempTable* result) {
+        std::vector<JoinedRow> rows;
+        TableTuple tuple(result->schema());
+        TableIterator iterator = result->iterator();
+        while (iterator.next(tuple)) {
+            int32_t outer = tuple.getNValue(0).isNull() ? -1 : ValuePeeker::peekInteger(tuple.getNValue(0));
+            int32_t inner = tuple.getNValue(2).isNull() ? -1 : ValuePeeker::peekInteger(tuple.getNValue(2));
+            if (inner >= 0) {
+                int32_t length;
+                const char* val = ValuePeeker::peekObject_withoutNull(tuple.getNValue(4), &length);
+                EXPECT_EQ(valOf(inner, m_valLength), std::string(val, length));
+            }
+            else {
+                EXPECT_TRUE(tuple.getNValue(4).isNull());
+            }
+            rows.push_back(JoinedRow(outer, inner));
+        }
+        std::sort(rows.begin(), rows.end());
+        return rows;
+    }
+
+    void verifyJoin(VoltDBEngine* engine, bool isLargeQuery, const std::string& joinTypeName,
+                    JoinType joinType, int maxOuterI = -1) {
+        auto ev = ExecutorVector::fromJsonPlan(engine, hashJoinPlan(joinTypeName, isLargeQuery, maxOuterI), 0);
+        UniqueTempTableResult result = engine->executePlanFragment(ev.get(), NULL);
+        ASSERT_NE(NULL, result.get());
+        ASSERT_EQ(isLargeQuery ? "LargeTempTable" : "TempTable", result->tableType());
+
+        std::vector<JoinedRow> expected = expectedRows(joinType, maxOuterI);
+        std::vector<JoinedRow> actual = actualRows(result.get());
+        ASSERT_EQ(expected.size(), actual.size());
+        for (int ii = 0; ii < expected.size(); ++ii) {
+            ASSERT_EQ(expected[ii].first, actual[ii].first);
+            ASSERT_EQ(expected[ii].second, actual[ii].second);
+        }
+    }
+
+    int m_rowCount;
+    int m_valLength;
+};
+
+TEST_F(HashJoinExecutorTest, InMemory) {
+    UniqueEngine engine = UniqueEngineBuilder().build();
+    ASSERT_TRUE(engine->loadCatalog(0, catalogPayload));
+    populate(engine.get(), 100, 10);
+
+    verifyJoin(engine.get(), false, "INNER", JOIN_TYPE_INNER);
+    verifyJoin(engine.get(), false, "LEFT", JOIN_TYPE_LEFT);
+    verifyJoin(engine.get(), false, "FULL", JOIN_TYPE_FULL);
+    verifyJoin(engine.get(), false, "FULL", JOIN_TYPE_FULL, 50);
+}
+
+TEST_F(HashJoinExecutorTest, LargeSinglePartition) {
+    std::unique_ptr<Topend> topend{new LargeTempTableTopend()};
+    UniqueEngine engine = UniqueEngineBuilder()
+        .setTopend(std::move(topend))
+        .build();
+    ASSERT_TRUE(engine->loadCatalog(0, catalogPayload));
+    populate(engine.get(), 100, 10);
+
+    verifyJoin(engine.get(), true, "INNER", JOIN_TYPE_INNER);
+    verifyJoin(engine.get(), true, "LEFT", JOIN_TYPE_LEFT);
+    verifyJoin(engine.get(), true, "FULL", JOIN_TYPE_FULL);
+    verifyJoin(engine.get(), true, "FULL", JOIN_TYPE_FULL, 50);
+
+    LargeTempTableBlockCache* lttBlockCache = ExecutorContext::getExecutorContext()->lttBlockCache();
+    ASSERT_EQ(0, lttBlockCache->allocatedMemory());
+}
+
+// The inner input is bigger than the whole temp table limit, which the
+// hash table is charged to, so the join only gets through if it splits
+// the inputs into partitions that are joined one at a time.
+TEST_F(HashJoinExecutorTest, LargeSpilled) {
+    std::unique_ptr<Topend> topend{new LargeTempTableTopend()};
+    LargeTempTableTopend* lttTopend = static_cast<LargeTempTableTopend*>(topend.get());
+
+    // A block cache of five blocks, and the same limit for the hash table
+    int64_t tempTableMemoryLimitInBytes = 40 * 1024 * 1024;
+    UniqueEngine engine = UniqueEngineBuilder()
+        .setTopend(std::move(topend))
+        .setTempTableMemoryLimit(tempTableMemoryLimitInBytes)
+        .build();
+    ASSERT_TRUE(engine->loadCatalog(0, catalogPayload));
+    // As many inner tuples as the limit can hold
+    populate(engine.get(), 80, 500000);
+
+    // Keep the output small, every outer tuple is still joined
+    verifyJoin(engine.get(), true, "INNER", JOIN_TYPE_INNER, 8);
+    verifyJoin(engine.get(), true, "FULL", JOIN_TYPE_FULL, 8);
+
+    LargeTempTableBlockCache* lttBlockCache = ExecutorContext::getExecutorContext()->lttBlockCache();
+    ASSERT_EQ(0, lttBlockCache->allocatedMemory());
+    ASSERT_EQ(0, lttTopend->storedBlockCount());
+}
+
+int main() {
+    return TestSuite::globalInstance()->runAll();
+}
@@ -0,0 +1,113 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltcore.messaging;
+
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
+
+/**
+ * Measures the round trip latency of HandoffQueue with each wait strategy.
+ */
+public class HandoffQueueMicrobench {
+
+    private interface Channel {
+        void offer(Integer i);
+        Integer take() throws InterruptedException;
+    }
+
+    private static Channel channel(final LinkedTransferQueue<Integer> queue) {
+        return new Channel() {
+            @Override
+            public void offer(Integer i) {
+                queue.offer(i);
+            }
+            @Override
+            public Integer take() throws InterruptedException {
+                return queue.take();
+            }
+        };
+    }
+
+    private static Channel channel(final HandoffQueue<Integer> queue) {
+        return new Channel() {
+            @Override
+            public void offer(Integer i) {
+                queue.offer(i);
+            }
+            @Override
+            public Integer take() throws InterruptedException {
+                return queue.take();
+            }
+        };
+    }
+
+    /**
+     * Ping-pong between two threads for up to a second.
+     * @return the average round trip in nanoseconds
+     */
+    private static long roundTrip(final Channel ping, final Channel pong) throws InterruptedException {
+        Thread echo = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Integer i;
+                    do {
+                        i = ping.take();
+                        pong.offer(i);
+                    } while (i >= 0);
+                } catch (InterruptedException e) {}
+            }
+        };
+        echo.start();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        final long start = System.nanoTime();
+        int rounds = 0;
+        while (rounds < 100000 && (rounds % 100 != 0 || System.nanoTime() < deadline)) {
+            ping.offer(rounds++);
+            pong.take();
+        }
+        long nanos = System.nanoTime() - start;
+        ping.offer(-1);
+        pong.take();
+        echo.join();
+        return nanos / rounds;
+    }
+
+    /**
+     * Round trip latency between two threads, compared with the
+     * LinkedTransferQueue the site queues used before. Spinning only pays
+     * off with a core per thread.
+     */
+    public static void main(String[] args) throws Exception {
+        StringBuilder results = new StringBuilder("Round trip ns: LinkedTransferQueue ");
+        results.append(roundTrip(channel(new LinkedTransferQueue<Integer>()), channel(new LinkedTransferQueue<Integer>())));
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            long nanos = roundTrip(channel(new HandoffQueue<Integer>(strategy)), channel(new HandoffQueue<Integer>(strategy)));
+            results.append(", HandoffQueue ").append(strategy).append(' ').append(nanos);
+        }
+        System.out.println(results);
+    }
+}
@@ -0,0 +1,180 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltcore.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
+
+public class TestHandoffQueue extends TestCase {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 200000;
+
+    public void testWaitStrategyFromProperty() {
+        System.setProperty("testHandoffWait", "spin");
+        assertEquals(WaitStrategy.SPIN, WaitStrategy.fromProperty("testHandoffWait", WaitStrategy.BLOCK));
+        System.setProperty("testHandoffWait", "bogus");
+        assertEquals(WaitStrategy.BLOCK, WaitStrategy.fromProperty("testHandoffWait", WaitStrategy.BLOCK));
+        System.clearProperty("testHandoffWait");
+        assertEquals(WaitStrategy.YIELD, WaitStrategy.fromProperty("testHandoffWait", WaitStrategy.YIELD));
+    }
+
+    public void testSingleThread() throws Exception {
+        HandoffQueue<Integer> queue = new HandoffQueue<Integer>(WaitStrategy.BLOCK);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+        // grow past the first chunk
+        for (int i = 0; i < 5000; i++) {
+            queue.offer(i);
+        }
+        assertEquals(5000, queue.size());
+        assertEquals(Integer.valueOf(0), queue.peek());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(Integer.valueOf(i), queue.take());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Every producer's elements arrive, in the order that producer offered them.
+     */
+    private void checkProducers(WaitStrategy strategy) throws Exception {
+        final HandoffQueue<long[]> queue = new HandoffQueue<long[]>(strategy);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final long producer = p;
+            Thread t = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (long i = 0; i < PER_PRODUCER; i++) {
+                        queue.offer(new long[] { producer, i });
+                        if (i % 10000 == 0) {
+                            // let the consumer drain and wait now and then
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            t.start();
+            producers.add(t);
+        }
+        start.countDown();
+        long[] next = new long[PRODUCERS];
+        for (int i = 0; i < PRODUCERS * PER_PRODUCER; i++) {
+            long[] element = queue.take();
+            assertEquals(next[(int) element[0]]++, element[1]);
+        }
+        for (Thread t : producers) {
+            t.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testBlockingProducers() throws Exception {
+        checkProducers(WaitStrategy.BLOCK);
+    }
+
+    public void testSpinningProducers() throws Exception {
+        checkProducers(WaitStrategy.SPIN);
+    }
+
+    public void testYieldingProducers() throws Exception {
+        checkProducers(WaitStrategy.YIELD);
+    }
+
+    public void testTakeWakesUp() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            final HandoffQueue<String> queue = new HandoffQueue<String>(strategy);
+            final AtomicReference<String> taken = new AtomicReference<String>();
+            Thread consumer = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        taken.set(queue.take());
+                    } catch (InterruptedException e) {}
+                }
+            };
+            consumer.start();
+            Thread.sleep(50);
+            queue.offer("work");
+            consumer.join(10000);
+            assertFalse(consumer.isAlive());
+            assertEquals("work", taken.get());
+        }
+    }
+
+    public void testInterrupt() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            final HandoffQueue<String> queue = new HandoffQueue<String>(strategy);
+            final AtomicReference<Throwable> thrown = new AtomicReference<Throwable>();
+            Thread consumer = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        queue.take();
+                    } catch (Throwable t) {
+                        thrown.set(t);
+                    }
+                }
+            };
+            consumer.start();
+            Thread.sleep(50);
+            consumer.interrupt();
+            consumer.join(10000);
+            assertFalse(consumer.isAlive());
+            assertTrue(thrown.get() instanceof InterruptedException);
+        }
+    }
+
+    public void testPollTimeout() throws Exception {
+        final HandoffQueue<String> queue = new HandoffQueue<String>(WaitStrategy.BLOCK);
+        long start = System.nanoTime();
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {}
+                queue.offer("late");
+            }
+        }.start();
+        assertEquals("late", queue.poll(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,127 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltcore.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures the bytes allocated per transaction by the in-flight tracking pattern (add the
+ * transaction, look it up on its response, remove it) for the boxed JDK maps and for
+ * LongObjectHashMap and LongPairSortedMap. Pass the number of transactions per round as the
+ * first argument.
+ */
+public class PrimitiveMapMicrobench {
+
+    private static class Key implements Comparable<Key> {
+        final long m_first;
+        final long m_second;
+
+        Key(long first, long second) {
+            m_first = first;
+            m_second = second;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int cmp = Long.compare(m_first, o.m_first);
+            return cmp != 0 ? cmp : Long.compare(m_second, o.m_second);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean s_bean;
+
+    private static long allocatedBytes() {
+        return s_bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static void main(String[] args) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("Thread allocation counters are not available on this JVM");
+            return;
+        }
+        s_bean = (com.sun.management.ThreadMXBean) bean;
+        final int txns = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final Object txnState = new Object();
+
+        Map<Long, Object> boxed = new HashMap<Long, Object>();
+        LongObjectHashMap<Object> primitive = new LongObjectHashMap<Object>();
+        TreeMap<Key, Object> tree = new TreeMap<Key, Object>();
+        LongPairSortedMap<Object> pairs = new LongPairSortedMap<Object>();
+        // the first rounds warm up
+        for (int round = 0; round < 3; round++) {
+            long start = allocatedBytes();
+            for (long i = 0; i < txns; i++) {
+                boxed.put(i, txnState);
+                if (i >= 100) {
+                    boxed.get(i - 100);
+                    boxed.remove(i - 100);
+                }
+            }
+            long boxedBytes = allocatedBytes() - start;
+            boxed.clear();
+
+            start = allocatedBytes();
+            for (long i = 0; i < txns; i++) {
+                primitive.put(i, txnState);
+                if (i >= 100) {
+                    primitive.get(i - 100);
+                    primitive.remove(i - 100);
+                }
+            }
+            long primitiveBytes = allocatedBytes() - start;
+            primitive.clear();
+
+            start = allocatedBytes();
+            for (long i = 0; i < txns; i++) {
+                tree.put(new Key(i, i + 1), txnState);
+                if (i >= 100) {
+                    tree.get(new Key(i - 100, i - 99));
+                    tree.remove(new Key(i - 100, i - 99));
+                }
+            }
+            long treeBytes = allocatedBytes() - start;
+            tree.clear();
+
+            start = allocatedBytes();
+            for (long i = 0; i < txns; i++) {
+                pairs.put(i, i + 1, txnState);
+                if (i >= 100) {
+                    pairs.get(i - 100, i - 99);
+                    pairs.remove(i - 100, i - 99);
+                }
+            }
+            long pairBytes = allocatedBytes() - start;
+            pairs.clear();
+
+            System.out.printf("Bytes per transaction: HashMap<Long, V> %.1f, LongObjectHashMap %.3f, " +
+                    "TreeMap<Key, V> %.1f, LongPairSortedMap %.3f%n",
+                    (double) boxedBytes / txns, (double) primitiveBytes / txns,
+                    (double) treeBytes / txns, (double) pairBytes / txns);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltcore.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class TestLongObjectHashMap extends TestCase {
+
+    // Transaction IDs keep the partition ID in the low 14 bits
+    private static long txnId(long sequence, int partitionId) {
+        return (sequence << 14) | partitionId;
+    }
+
+    public void testBasicOperations() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertNull(map.put(0, "zero"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals(3, map.size());
+        assertEquals("b", map.get(1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("zero", map.get(0));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(2));
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(2, map.size());
+
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertTrue(Arrays.equals(new long[] { Long.MIN_VALUE, 1 }, keys));
+        assertEquals(2, map.values().size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertEquals(0, map.keys().length);
+    }
+
+    public void testNullValueRejected() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<String>();
+        try {
+            map.put(1, null);
+            fail();
+        } catch (IllegalArgumentException expected) {}
+    }
+
+    public void testRemoveIf() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<Long>(4);
+        for (long i = 0; i < 1000; i++) {
+            map.put(txnId(i, 3), i);
+        }
+        assertEquals(500, map.removeIf((k, v) -> v % 2 == 0));
+        assertEquals(500, map.size());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : Long.valueOf(i), map.get(txnId(i, 3)));
+        }
+        final long[] sum = new long[1];
+        map.forEach((k, v) -> sum[0] += v);
+        assertEquals(250000, sum[0]);
+    }
+
+    /**
+     * Compare against HashMap under the insert/lookup/remove mix of in-flight
+     * transaction tracking, with keys sharing their low bits.
+     */
+    public void testMatchesHashMap() {
+        Random rand = new Random(42);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<Long>();
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        long next = 0;
+        for (int i = 0; i < 200000; i++) {
+            int op = rand.nextInt(10);
+            if (op < 4) {
+                long key = txnId(next++, 5);
+                assertEquals(expected.put(key, key), map.put(key, key));
+            }
+            else if (op < 7) {
+                long key = txnId(Math.max(0, next - 1 - rand.nextInt(64)), 5);
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            else {
+                long key = txnId(Math.max(0, next - rand.nextInt(128)), 5);
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Long> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+    }
+
+    /**
+     * The in-flight tracking pattern: add the new transaction, look it up when its
+     * response arrives, remove it, with a window of transactions in flight.
+     */
+    public void testSlidingWindow() {
+        final int window = 100;
+        final Object txnState = new Object();
+        LongObjectHashMap<Object> map = new LongObjectHashMap<Object>();
+        for (long i = 0; i < 100000; i++) {
+            assertNull(map.put(txnId(i, 7), txnState));
+            if (i >= window) {
+                long done = txnId(i - window, 7);
+                assertSame(txnState, map.get(done));
+                assertSame(txnState, map.remove(done));
+                assertFalse(map.containsKey(done));
+            }
+            assertEquals(Math.min(i + 1, window), map.size());
+        }
+        for (long i = 100000 - window; i < 100000; i++) {
+            assertSame(txnState, map.get(txnId(i, 7)));
+        }
+    }
+}
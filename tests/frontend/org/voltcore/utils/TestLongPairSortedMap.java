@@ -0,0 +1,205 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltcore.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import junit.framework.TestCase;
+
+public class TestLongPairSortedMap extends TestCase {
+
+    private static class Key implements Comparable<Key> {
+        final long m_first;
+        final long m_second;
+
+        Key(long first, long second) {
+            m_first = first;
+            m_second = second;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int cmp = Long.compare(m_first, o.m_first);
+            return cmp != 0 ? cmp : Long.compare(m_second, o.m_second);
+        }
+    }
+
+    private static void assertSameContents(TreeMap<Key, Long> expected, LongPairSortedMap<Long> map) {
+        assertEquals(expected.size(), map.size());
+        int i = 0;
+        for (Map.Entry<Key, Long> e : expected.entrySet()) {
+            assertEquals(e.getKey().m_first, map.firstKeyAt(i));
+            assertEquals(e.getKey().m_second, map.secondKeyAt(i));
+            assertEquals(e.getValue(), map.valueAt(i));
+            i++;
+        }
+    }
+
+    public void testBasicOperations() {
+        LongPairSortedMap<String> map = new LongPairSortedMap<String>();
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.floorIndex(1, 1));
+        assertEquals(-1, map.ceilingIndex(1, 1));
+        assertNull(map.put(10, 2, "b"));
+        assertNull(map.put(10, 1, "a"));
+        assertNull(map.put(20, 5, "c"));
+        assertNull(map.put(5, 9, "z"));
+        assertEquals("c", map.put(20, 5, "d"));
+        assertEquals(4, map.size());
+        assertEquals("a", map.get(10, 1));
+        assertNull(map.get(10, 3));
+        assertTrue(map.containsKey(5, 9));
+
+        assertEquals("{(5, 9)=z, (10, 1)=a, (10, 2)=b, (20, 5)=d}", map.toString());
+
+        // floor and ceiling match TreeMap.floorKey/ceilingKey
+        assertEquals(2, map.floorIndex(10, Long.MAX_VALUE));
+        assertEquals(1, map.ceilingIndex(10, 0));
+        assertEquals(1, map.floorIndex(10, 1));
+        assertEquals(-1, map.floorIndex(5, 8));
+        assertEquals(-1, map.ceilingIndex(20, 6));
+        assertEquals(3, map.ceilingIndex(11, 0));
+
+        assertEquals("z", map.remove(5, 9));
+        assertNull(map.remove(5, 9));
+        assertEquals("b", map.removeAt(1));
+        assertEquals("{(10, 1)=a, (20, 5)=d}", map.toString());
+        assertEquals(1, map.removeIf((first, second, value) -> first == 10));
+        assertEquals("{(20, 5)=d}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+
+        try {
+            map.valueAt(0);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {}
+        try {
+            map.put(1, 1, null);
+            fail();
+        } catch (IllegalArgumentException expected) {}
+    }
+
+    /**
+     * Compare against a TreeMap with mostly ascending keys leaving mostly in
+     * order, as duplicate counters do, with some out of order traffic.
+     */
+    public void testMatchesTreeMap() {
+        Random rand = new Random(7);
+        LongPairSortedMap<Long> map = new LongPairSortedMap<Long>(4);
+        TreeMap<Key, Long> expected = new TreeMap<Key, Long>();
+        long next = 1000;
+        for (int i = 0; i < 50000; i++) {
+            int op = rand.nextInt(10);
+            if (op < 4) {
+                // ascending transaction, sometimes with a few fragments
+                long txnId = next++;
+                int fragments = rand.nextInt(4) == 0 ? 3 : 1;
+                for (int f = 0; f < fragments; f++) {
+                    long spHandle = next++;
+                    assertEquals(expected.put(new Key(txnId, spHandle), spHandle), map.put(txnId, spHandle, spHandle));
+                }
+            }
+            else if (op < 5) {
+                // out of order key anywhere in the range
+                long txnId = next - rand.nextInt(2000);
+                long spHandle = rand.nextInt(2000);
+                assertEquals(expected.put(new Key(txnId, spHandle), spHandle), map.put(txnId, spHandle, spHandle));
+            }
+            else if (op < 8) {
+                if (!expected.isEmpty()) {
+                    // usually the oldest, sometimes a random one
+                    Key key = expected.firstKey();
+                    if (rand.nextBoolean()) {
+                        Key ceiling = expected.ceilingKey(new Key(next - rand.nextInt(500), 0));
+                        key = ceiling == null ? key : ceiling;
+                    }
+                    assertEquals(expected.remove(key), map.remove(key.m_first, key.m_second));
+                }
+            }
+            else {
+                long txnId = next - rand.nextInt(500);
+                Key floor = expected.floorKey(new Key(txnId, Long.MAX_VALUE));
+                int floorIndex = map.floorIndex(txnId, Long.MAX_VALUE);
+                if (floor == null) {
+                    assertEquals(-1, floorIndex);
+                }
+                else {
+                    assertEquals(floor.m_first, map.firstKeyAt(floorIndex));
+                    assertEquals(floor.m_second, map.secondKeyAt(floorIndex));
+                }
+                Key ceiling = expected.ceilingKey(new Key(txnId, 0));
+                int ceilingIndex = map.ceilingIndex(txnId, 0);
+                if (ceiling == null) {
+                    assertEquals(-1, ceilingIndex);
+                }
+                else {
+                    assertEquals(ceiling.m_first, map.firstKeyAt(ceilingIndex));
+                    assertEquals(ceiling.m_second, map.secondKeyAt(ceilingIndex));
+                }
+            }
+            if (i % 1000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+
+        assertTrue(map.removeIf((first, second, value) -> first % 3 == 0) > 0);
+        Iterator<Key> iter = expected.keySet().iterator();
+        while (iter.hasNext()) {
+            if (iter.next().m_first % 3 == 0) {
+                iter.remove();
+            }
+        }
+        assertSameContents(expected, map);
+
+        List<Long> values = new ArrayList<Long>();
+        map.forEach((first, second, value) -> values.add(value));
+        assertEquals(new ArrayList<Long>(expected.values()), values);
+    }
+
+    /**
+     * The duplicate counter pattern on a replicated partition: add the counter, look it
+     * up for each response, remove it, with a window of transactions in flight.
+     */
+    public void testSlidingWindow() {
+        final int window = 100;
+        final Object counter = new Object();
+        LongPairSortedMap<Object> map = new LongPairSortedMap<Object>();
+        for (long i = 0; i < 100000; i++) {
+            assertNull(map.put(i, i + 1, counter));
+            if (i >= window) {
+                assertSame(counter, map.get(i - window, i - window + 1));
+                assertSame(counter, map.remove(i - window, i - window + 1));
+                assertFalse(map.containsKey(i - window, i - window + 1));
+            }
+            assertEquals(Math.min(i + 1, window), map.size());
+            assertEquals(Math.max(0, i + 1 - window), map.firstKeyAt(0));
+        }
+    }
+}
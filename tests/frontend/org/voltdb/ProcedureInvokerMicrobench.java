@@ -0,0 +1,71 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times the reflective procedure call path against {@link ProcedureInvoker} on a
+ * five-parameter procedure. Pass the number of calls per round as the first argument.
+ */
+public class ProcedureInvokerMicrobench {
+
+    public static void main(String[] args) throws Throwable {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final Method method = TestProcedureInvoker.runMethod(TestProcedureInvoker.SumProc.class);
+        final Class<?>[] types = method.getParameterTypes();
+        final ProcedureInvoker invoker = new ProcedureInvoker(method);
+        final TestProcedureInvoker.SumProc proc = new TestProcedureInvoker.SumProc();
+        final byte[] bytes = new byte[] { 1 };
+
+        long reflectSum = 0, invokerSum = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Object[] params = { (long) i, 1, "a", 1.0, bytes };
+                for (int p = 0; p < params.length; p++) {
+                    params[p] = ParameterConverter.tryToMakeCompatible(types[p], params[p]);
+                }
+                reflectSum += (Long) method.invoke(proc, params);
+            }
+            long reflectNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Object[] params = { (long) i, 1, "a", 1.0, bytes };
+                for (int p = 0; p < params.length; p++) {
+                    params[p] = invoker.convertParameter(p, params[p]);
+                }
+                invokerSum += (Long) invoker.invoke(proc, params);
+            }
+            long invokerNanos = System.nanoTime() - start;
+
+            System.out.printf("%d calls: reflection %.1f ns/call, invoker %.1f ns/call%n", iterations,
+                    (double) reflectNanos / iterations, (double) invokerNanos / iterations);
+        }
+        if (reflectSum != invokerSum) {
+            throw new AssertionError("reflection and invoker results differ");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.voltdb.StatementStats.SingleCallStatsToken;
+
+/**
+ * Times ProcedureStatsCollector.endProcedure for an untimed call, for a call recorded
+ * into the procedure latency histogram and for a call whose statement is recorded too.
+ * The last case also reads the statement's time out of a per-fragment stats buffer as
+ * ExecutionEngineJNI.extractPerFragmentStats does. The EE's own cost of timing the
+ * fragment, two clock reads and a long written to that buffer, is not included.
+ * Pass the number of calls per round as the first argument.
+ */
+public class ProcedureLatencyStatsMicrobench {
+
+    public static void main(String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        ProcedureStatsCollector collector = new ProcedureStatsCollector(0, 0, "TestProc", true,
+                new ArrayList<String>(Arrays.asList("select")), true);
+        for (int round = 0; round < 5; round++) {
+            ByteBuffer perFragmentStats = ByteBuffer.allocateDirect(64).order(ByteOrder.BIG_ENDIAN);
+            perFragmentStats.put((byte) 1).putInt(1).putLong(2000);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                SingleCallStatsToken token = new SingleCallStatsToken(0, false, false, false, false);
+                token.recordStatementStats("select", false, false, 0, null, null);
+                collector.endProcedure(false, false, token);
+            }
+            long untimedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                SingleCallStatsToken token = new SingleCallStatsToken(System.nanoTime(), false, false, true, false);
+                token.recordStatementStats("select", false, false, 0, null, null);
+                collector.endProcedure(false, false, token);
+            }
+            long timedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                SingleCallStatsToken token = new SingleCallStatsToken(System.nanoTime(), false, false, true, true);
+                long[] executionTimes = new long[1];
+                perFragmentStats.clear();
+                perFragmentStats.get();
+                int succeededFragmentsCount = perFragmentStats.getInt();
+                for (int frag = 0; frag < succeededFragmentsCount; frag++) {
+                    executionTimes[frag] = perFragmentStats.getLong() + (i & 1023);
+                }
+                token.recordStatementStats("select", false, false, executionTimes[0], null, null);
+                collector.endProcedure(false, false, token);
+            }
+            long stmtTimedNanos = System.nanoTime() - start;
+
+            System.out.printf("endProcedure: untimed %.1f ns/call, with the procedure histogram %.1f ns/call, " +
+                    "with statement histograms %.1f ns/call (EE timing not included)%n",
+                    (double) untimedNanos / iterations, (double) timedNanos / iterations,
+                    (double) stmtTimedNanos / iterations);
+        }
+    }
+}
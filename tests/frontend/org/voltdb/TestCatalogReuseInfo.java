@@ -0,0 +1,187 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.voltdb.catalog.Catalog;
+import org.voltdb.catalog.Column;
+import org.voltdb.catalog.Database;
+import org.voltdb.catalog.Procedure;
+import org.voltdb.catalog.Statement;
+import org.voltdb.catalog.Table;
+import org.voltdb.planner.CorePlan;
+
+public class TestCatalogReuseInfo {
+
+    private static final byte[] HASH = new byte[20];
+
+    private Catalog m_catalog;
+    private Map<String, byte[]> m_jar;
+
+    @Before
+    public void setUp() {
+        m_catalog = new Catalog();
+        m_catalog.execute("add / clusters cluster");
+        m_catalog.execute("add /clusters#cluster databases database");
+        Database db = getDatabase(m_catalog);
+
+        addTable(db, "T1");
+        addTable(db, "T2");
+        addStmtProcedure(db, "READ_T1", "T1", "");
+        addStmtProcedure(db, "WRITE_T2", "T2", "T2");
+        addJavaProcedure(db, "JavaProc", "T1");
+
+        m_jar = new TreeMap<>();
+        m_jar.put("JavaProc.class", new byte[] { 1, 2, 3 });
+        m_jar.put("autogen-ddl.sql", new byte[] { 4 });
+    }
+
+    private static Database getDatabase(Catalog catalog) {
+        return catalog.getClusters().get("cluster").getDatabases().get("database");
+    }
+
+    private static void addTable(Database db, String name) {
+        Table table = db.getTables().add(name);
+        Column column = table.getColumns().add("C");
+        column.setType(VoltType.INTEGER.getValue());
+        column.setIndex(0);
+    }
+
+    private static Procedure addProcedure(Database db, String name, String tablesRead, String tablesUpdated) {
+        Procedure proc = db.getProcedures().add(name);
+        proc.setTransactional(true);
+        Statement stmt = proc.getStatements().add("sql0");
+        stmt.setTablesread(tablesRead);
+        stmt.setTablesupdated(tablesUpdated);
+        return proc;
+    }
+
+    private static void addStmtProcedure(Database db, String name, String tablesRead, String tablesUpdated) {
+        addProcedure(db, name, tablesRead, tablesUpdated).setHasjava(false);
+    }
+
+    private static void addJavaProcedure(Database db, String name, String tablesRead) {
+        Procedure proc = addProcedure(db, name, tablesRead, "");
+        proc.setHasjava(true);
+        proc.setClassname(name);
+    }
+
+    private CatalogReuseInfo diff(Catalog newCatalog, Map<String, byte[]> newJar) {
+        return CatalogReuseInfo.compute(HASH, getDatabase(m_catalog), m_jar, getDatabase(newCatalog), newJar);
+    }
+
+    @Test
+    public void testNothingChanged() {
+        CatalogReuseInfo reuse = diff(m_catalog.deepCopy(), new TreeMap<>(m_jar));
+        assertTrue(reuse.getChangedTables().isEmpty());
+        assertFalse(reuse.haveClassesChanged());
+        assertEquals(3, reuse.getProceduresReused());
+        assertEquals(0, reuse.getProceduresRebuilt());
+        assertTrue(reuse.isProcedureReusable("READ_T1"));
+        assertTrue(reuse.isProcedureReusable("WRITE_T2"));
+        assertTrue(reuse.isProcedureReusable("JavaProc"));
+    }
+
+    @Test
+    public void testTableChangeOnlyRebuildsItsProcedures() {
+        Catalog newCatalog = m_catalog.deepCopy();
+        Column added = getDatabase(newCatalog).getTables().get("T2").getColumns().add("D");
+        added.setType(VoltType.BIGINT.getValue());
+        added.setIndex(1);
+
+        // the DDL in the jar changes with the schema, the classes don't
+        Map<String, byte[]> newJar = new TreeMap<>(m_jar);
+        newJar.put("autogen-ddl.sql", new byte[] { 5 });
+
+        CatalogReuseInfo reuse = diff(newCatalog, newJar);
+        assertEquals(1, reuse.getChangedTables().size());
+        assertTrue(reuse.getChangedTables().contains("t2"));
+        assertFalse(reuse.haveClassesChanged());
+        assertTrue(reuse.isProcedureReusable("READ_T1"));
+        assertFalse(reuse.isProcedureReusable("WRITE_T2"));
+        assertTrue(reuse.isProcedureReusable("JavaProc"));
+        assertEquals(2, reuse.getProceduresReused());
+        assertEquals(1, reuse.getProceduresRebuilt());
+    }
+
+    @Test
+    public void testDroppedTableAndNewProcedure() {
+        Catalog newCatalog = m_catalog.deepCopy();
+        Database db = getDatabase(newCatalog);
+        db.getProcedures().delete("WRITE_T2");
+        db.getTables().delete("T2");
+        addStmtProcedure(db, "READ_T1_AGAIN", "T1", "");
+
+        CatalogReuseInfo reuse = diff(newCatalog, new TreeMap<>(m_jar));
+        assertTrue(reuse.getChangedTables().contains("T2"));
+        assertFalse(reuse.isProcedureReusable("WRITE_T2"));
+        assertFalse(reuse.isProcedureReusable("READ_T1_AGAIN"));
+        assertTrue(reuse.isProcedureReusable("READ_T1"));
+        assertEquals(2, reuse.getProceduresReused());
+        assertEquals(1, reuse.getProceduresRebuilt());
+    }
+
+    @Test
+    public void testClassChangeRebuildsJavaProcedures() {
+        Map<String, byte[]> newJar = new TreeMap<>(m_jar);
+        newJar.put("Helper.class", new byte[] { 9 });
+
+        CatalogReuseInfo reuse = diff(m_catalog.deepCopy(), newJar);
+        assertTrue(reuse.haveClassesChanged());
+        assertFalse(reuse.isProcedureReusable("JavaProc"));
+        assertTrue(reuse.isProcedureReusable("READ_T1"));
+        assertTrue(reuse.isProcedureReusable("WRITE_T2"));
+
+        newJar = new TreeMap<>(m_jar);
+        newJar.put("JavaProc.class", new byte[] { 1, 2, 4 });
+        assertFalse(diff(m_catalog.deepCopy(), newJar).isProcedureReusable("JavaProc"));
+    }
+
+    @Test
+    public void testChangedProcedureDefinition() {
+        Catalog newCatalog = m_catalog.deepCopy();
+        getDatabase(newCatalog).getProcedures().get("READ_T1").setReadonly(true);
+
+        CatalogReuseInfo reuse = diff(newCatalog, new TreeMap<>(m_jar));
+        assertFalse(reuse.isProcedureReusable("READ_T1"));
+        assertTrue(reuse.isProcedureReusable("WRITE_T2"));
+    }
+
+    @Test
+    public void testPlansWithoutTablesAreNotCarried() {
+        CatalogReuseInfo reuse = diff(m_catalog.deepCopy(), new TreeMap<>(m_jar));
+        // deserialized plans don't know which tables they use
+        CorePlan plan = new CorePlan(new byte[] { 0 }, null, new byte[20], null,
+                                     false, true, new VoltType[0], HASH);
+        assertFalse(reuse.isPlanReusable(plan));
+    }
+}
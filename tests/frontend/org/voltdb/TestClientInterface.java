@@ -24,6 +24,7 @@
 package org.voltdb;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -39,6 +40,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,10 +50,12 @@ import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -79,6 +83,7 @@ import org.voltdb.VoltDB.Configuration;
 import org.voltdb.VoltTable.ColumnInfo;
 import org.voltdb.catalog.Catalog;
 import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureInvocationType;
 import org.voltdb.compiler.VoltProjectBuilder;
 import org.voltdb.iv2.Cartographer;
 import org.voltdb.messaging.InitiateResponseMessage;
@@ -109,6 +114,8 @@ public class TestClientInterface {
     private ClientInputHandler m_handler;
     private Cartographer m_cartographer;
     private SimpleClientResponseAdapter m_cxn;
+    private volatile boolean m_cxnClosed;
+    private volatile int m_writesBeforeClose;
     private ZooKeeper m_zk;
     private ScheduledThreadPoolExecutor m_periodicWorkThread;
 
@@ -145,6 +152,8 @@ public class TestClientInterface {
         responsesDS = new LinkedTransferQueue<>();
         //m_cxn = mock(SimpleClientResponseAdapter.class);
         drStatsInvoked = 0;
+        m_cxnClosed = false;
+        m_writesBeforeClose = -1;
         m_cxn = new SimpleClientResponseAdapter(0, "foo") {
             @Override
             public void enqueue(ByteBuffer buf) {responses.offer(buf);}
@@ -154,6 +163,17 @@ public class TestClientInterface {
             public void enqueue(DeferredSerialization ds) {responsesDS.offer(ds);}
             @Override
             public void queueTask(Runnable r) {}
+            @Override
+            public Future<?> unregister() {
+                m_cxnClosed = true;
+                return null;
+            }
+            @Override
+            public void unregisterWhenDrained() {
+                // what was queued by now still reaches the client
+                m_writesBeforeClose = responses.size();
+                m_cxnClosed = true;
+            }
         };
 
 
@@ -312,6 +332,61 @@ public class TestClientInterface {
         assertEquals(1, invocation.getParameterAtIndex(0));
     }
 
+    /**
+     * Frame the messages the way a client that batches its calls does.
+     */
+    private static ByteBuffer createBatch(ByteBuffer... msgs) {
+        int size = 1 + 4;
+        for (ByteBuffer msg : msgs) {
+            size += 4 + msg.remaining();
+        }
+        ByteBuffer batch = ByteBuffer.allocate(size);
+        batch.put(ProcedureInvocationType.BATCH.getValue());
+        batch.putInt(msgs.length);
+        for (ByteBuffer msg : msgs) {
+            batch.putInt(msg.remaining());
+            batch.put(msg);
+        }
+        batch.flip();
+        return batch;
+    }
+
+    @Test
+    public void testBatchedInvocations() throws Exception {
+        ByteBuffer batch = createBatch(createMsg("hello", 1), createMsg("hello", 2));
+        List<ClientResponseImpl> errors = m_ci.handleBatchRead(batch, m_handler, m_cxn);
+        assertTrue(errors.isEmpty());
+        assertFalse(m_cxnClosed);
+
+        // dispatched in the order they were sent
+        ArgumentCaptor<Iv2InitiateTaskMessage> messageCaptor =
+                ArgumentCaptor.forClass(Iv2InitiateTaskMessage.class);
+        verify(m_messenger, times(2)).send(anyLong(), messageCaptor.capture());
+        List<Iv2InitiateTaskMessage> messages = messageCaptor.getAllValues();
+        assertEquals(1, messages.get(0).getStoredProcedureInvocation().getParameterAtIndex(0));
+        assertEquals(2, messages.get(1).getStoredProcedureInvocation().getParameterAtIndex(0));
+    }
+
+    @Test
+    public void testMalformedBatch() throws Exception {
+        ByteBuffer batch = createBatch(createMsg("hello", 1), createMsg("hello", 2));
+        // corrupt the length of the second invocation
+        batch.putInt(1 + 4 + 4 + batch.getInt(1 + 4), Integer.MAX_VALUE);
+        List<ClientResponseImpl> errors = m_ci.handleBatchRead(batch, m_handler, m_cxn);
+        // written before the connection is closed rather than returned
+        assertTrue(errors.isEmpty());
+        // the invocation before the corruption still went through
+        verify(m_messenger, times(1)).send(anyLong(), any(VoltMessage.class));
+        // the client can't be told which invocations were dropped
+        assertTrue(m_cxnClosed);
+        assertEquals(1, m_writesBeforeClose);
+        ByteBuffer b = responses.take();
+        ClientResponseImpl resp = new ClientResponseImpl();
+        b.position(4);
+        resp.initFromBuffer(b);
+        assertEquals(ClientResponse.UNEXPECTED_FAILURE, resp.getStatus());
+    }
+
     @Test
     public void testGC() throws Exception {
         ByteBuffer msg = createMsg("@GC");
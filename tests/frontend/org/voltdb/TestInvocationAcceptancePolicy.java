@@ -105,6 +105,34 @@ public class TestInvocationAcceptancePolicy {
         assertEquals(policy.shouldAccept(user, invocation, proc), PolicyResult.DENY);
     }
 
+    @Test
+    public void testCursorFetchPermission()
+    {
+        StoredProcedureInvocation invocation = new StoredProcedureInvocation();
+        invocation.setProcName("@CursorFetch");
+        invocation.setParams(1L, (byte) 0);
+
+        Procedure proc = SystemProcedureCatalog.listing.get("@CursorFetch").asCatalogProcedure();
+
+        // fetching from a cursor needs SQL read permission, not admin permission
+        InvocationPermissionPolicy sysprocPolicy = new InvocationSysprocPermissionPolicy();
+        InvocationPermissionPolicy sqlPolicy = new InvocationSqlPermissionPolicy();
+        AuthSystem.AuthUser user = createUser(false, false, false, null, true, true, false);
+        assertEquals(sysprocPolicy.shouldAccept(user, invocation, proc), PolicyResult.NOT_APPLICABLE);
+        assertEquals(sqlPolicy.shouldAccept(user, invocation, proc), PolicyResult.ALLOW);
+
+        user = createUser(false, false, false, null, true, false, false);
+        assertEquals(sqlPolicy.shouldAccept(user, invocation, proc), PolicyResult.DENY);
+
+        // the call forwarded between hosts names the cursor owner, so only admins may make it
+        invocation.setProcName("@LocalCursorFetchNT");
+        proc = SystemProcedureCatalog.listing.get("@LocalCursorFetchNT").asCatalogProcedure();
+        user = createUser(true, false, false, null, true, true, true);
+        assertEquals(sysprocPolicy.shouldAccept(user, invocation, proc), PolicyResult.DENY);
+        user = createUser(false, false, true, null, true, false, false);
+        assertEquals(sysprocPolicy.shouldAccept(user, invocation, proc), PolicyResult.ALLOW);
+    }
+
     @Test
     public void testUserDefinedProcPermission()
     {
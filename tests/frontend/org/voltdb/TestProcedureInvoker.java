@@ -0,0 +1,148 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+
+import org.voltdb.common.Constants;
+
+import junit.framework.TestCase;
+
+public class TestProcedureInvoker extends TestCase {
+
+    public static class SumProc {
+        public long run(long a, int b, String c, double d, byte[] e) {
+            return a + b + (c == null ? 0 : c.length()) + (long) d + (e == null ? 0 : e.length);
+        }
+    }
+
+    public static class ThrowingProc {
+        public long run(long a) {
+            throw new VoltProcedure.VoltAbortException("abort " + a);
+        }
+    }
+
+    public static class ErrorProc {
+        public long run(long a) {
+            throw new StackOverflowError("error " + a);
+        }
+    }
+
+    static Method runMethod(Class<?> clz) {
+        for (Method m : clz.getDeclaredMethods()) {
+            if (m.getName().equals("run")) {
+                return m;
+            }
+        }
+        throw new RuntimeException("no run method in " + clz.getName());
+    }
+
+    public void testConvertersMatchTryToMakeCompatible() throws Exception {
+        Class<?>[] types = { long.class, int.class, short.class, byte.class, double.class,
+                String.class, byte[].class, Long.class, BigDecimal.class, long[].class };
+        Object[] values = { 1L, 2, (short) 3, (byte) 4, 5.0, "6", Constants.CSV_NULL, null,
+                VoltType.NULL_BIGINT, VoltType.NULL_INTEGER, VoltType.NULL_FLOAT,
+                new byte[] { 7 }, "x08", new BigDecimal("9"), new long[] { 10 } };
+
+        for (Class<?> type : types) {
+            ParameterConverter.Converter converter = ParameterConverter.converterFor(type);
+            for (Object value : values) {
+                Object expected;
+                try {
+                    expected = ParameterConverter.tryToMakeCompatible(type, value);
+                } catch (Exception e) {
+                    try {
+                        converter.convert(value);
+                        fail("expected " + value + " to " + type.getName() + " to fail");
+                    } catch (Exception e2) {
+                        assertEquals(e.getClass(), e2.getClass());
+                    }
+                    continue;
+                }
+                Object actual = converter.convert(value);
+                if (expected == null) {
+                    assertNull(actual);
+                } else if (expected.getClass().isArray()) {
+                    assertEquals(expected.getClass(), actual.getClass());
+                } else {
+                    assertEquals(type.getName() + " from " + value, expected, actual);
+                }
+            }
+        }
+    }
+
+    public void testInvoke() throws Throwable {
+        ProcedureInvoker invoker = new ProcedureInvoker(runMethod(SumProc.class));
+        Object[] params = { 1, 2L, "abc", 4, "0102" };
+        for (int i = 0; i < params.length; i++) {
+            params[i] = invoker.convertParameter(i, params[i]);
+        }
+        assertEquals(12L, invoker.invoke(new SumProc(), params));
+    }
+
+    public void testExceptionIsNotWrapped() throws Throwable {
+        ProcedureInvoker invoker = new ProcedureInvoker(runMethod(ThrowingProc.class));
+        try {
+            invoker.invoke(new ThrowingProc(), new Object[] { 5L });
+            fail();
+        } catch (VoltProcedure.VoltAbortException e) {
+            assertEquals("abort 5", e.getMessage());
+        }
+
+        invoker = new ProcedureInvoker(runMethod(ErrorProc.class));
+        try {
+            invoker.invoke(new ErrorProc(), new Object[] { 5L });
+            fail();
+        } catch (StackOverflowError e) {
+            assertEquals("error 5", e.getMessage());
+        }
+    }
+
+    /**
+     * The invoker and the reflective path it replaced give the same results, converted
+     * parameters included.
+     */
+    public void testInvokeMatchesReflection() throws Throwable {
+        final Method method = runMethod(SumProc.class);
+        final Class<?>[] types = method.getParameterTypes();
+        final ProcedureInvoker invoker = new ProcedureInvoker(method);
+        final SumProc proc = new SumProc();
+
+        Object[][] calls = {
+                { 1L, 2, "abc", 4.0, new byte[] { 1, 2 } },
+                { 1, (short) 2, null, 4, "0102" },
+                { "7", (byte) 3, Constants.CSV_NULL, "2.5", null },
+                { VoltType.NULL_BIGINT, VoltType.NULL_INTEGER, "", VoltType.NULL_FLOAT, new byte[0] } };
+        for (Object[] call : calls) {
+            Object[] reflectParams = call.clone();
+            Object[] invokerParams = call.clone();
+            for (int p = 0; p < call.length; p++) {
+                reflectParams[p] = ParameterConverter.tryToMakeCompatible(types[p], reflectParams[p]);
+                invokerParams[p] = invoker.convertParameter(p, invokerParams[p]);
+            }
+            assertEquals(method.invoke(proc, reflectParams), invoker.invoke(proc, invokerParams));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.HdrHistogram_voltpatches.AbstractHistogram;
+import org.voltcore.utils.CompressionStrategySnappy;
+import org.voltdb.StatementStats.SingleCallStatsToken;
+
+import junit.framework.TestCase;
+
+public class TestProcedureLatencyStats extends TestCase {
+
+    private static ProcedureStatsCollector newCollector() {
+        return new ProcedureStatsCollector(0, 0, "TestProc", true,
+                new ArrayList<String>(Arrays.asList("select", "insert")), true);
+    }
+
+    private static void call(ProcedureStatsCollector collector, long selectNanos, long insertNanos) {
+        // as beginProcedure() does by default
+        SingleCallStatsToken token = new SingleCallStatsToken(System.nanoTime(), false, false, true, true);
+        token.recordStatementStats("select", false, false, selectNanos, null, null);
+        token.recordStatementStats("insert", false, false, insertNanos, null, null);
+        collector.endProcedure(false, false, token);
+    }
+
+    public void testEveryCallIsRecorded() {
+        ProcedureStatsCollector collector = newCollector();
+        for (int i = 1; i <= 1000; i++) {
+            call(collector, i * 1000L, 5000000L);
+        }
+
+        Map<String, AbstractHistogram> histograms = new HashMap<>();
+        collector.addLatencyHistograms(histograms, false);
+        assertEquals(1000, histograms.get(null).getTotalCount());
+        assertEquals(1000, histograms.get("select").getTotalCount());
+        assertEquals(1000, histograms.get("insert").getTotalCount());
+        // 2 significant digits
+        assertEquals(500000, histograms.get("select").getValueAtPercentile(50D), 5000);
+        assertEquals(5000000, histograms.get("insert").getValueAtPercentile(99D), 50000);
+
+        // a second site merges into the same histograms
+        ProcedureStatsCollector other = newCollector();
+        call(other, 1000L, 1000L);
+        other.addLatencyHistograms(histograms, false);
+        assertEquals(1001, histograms.get("select").getTotalCount());
+    }
+
+    public void testInterval() {
+        ProcedureStatsCollector collector = newCollector();
+        for (int i = 0; i < 10; i++) {
+            call(collector, 1000L, 1000L);
+        }
+        Map<String, AbstractHistogram> first = new HashMap<>();
+        collector.addLatencyHistograms(first, true);
+        assertEquals(10, first.get("select").getTotalCount());
+
+        for (int i = 0; i < 3; i++) {
+            call(collector, 1000000L, 1000L);
+        }
+        Map<String, AbstractHistogram> second = new HashMap<>();
+        collector.addLatencyHistograms(second, true);
+        assertEquals(3, second.get("select").getTotalCount());
+        assertEquals(1000000, second.get("select").getValueAtPercentile(50D), 10000);
+
+        Map<String, AbstractHistogram> total = new HashMap<>();
+        collector.addLatencyHistograms(total, false);
+        assertEquals(13, total.get("select").getTotalCount());
+    }
+
+    public void testCompressedRoundTrip() {
+        AbstractHistogram histogram = StatementStats.constructLatencyHistogram();
+        for (long v = 1000; v < 100000000L; v *= 3) {
+            histogram.recordValue(v);
+        }
+        byte[] bytes = histogram.toCompressedBytes(CompressionStrategySnappy.INSTANCE);
+        AbstractHistogram merged = StatementStats.constructLatencyHistogram();
+        merged.add(AbstractHistogram.fromCompressedBytes(bytes, CompressionStrategySnappy.INSTANCE));
+        merged.add(AbstractHistogram.fromCompressedBytes(bytes, CompressionStrategySnappy.INSTANCE));
+        assertEquals(2 * histogram.getTotalCount(), merged.getTotalCount());
+        assertEquals(histogram.getValueAtPercentile(100D), merged.getValueAtPercentile(100D));
+    }
+
+    public void testOnByDefault() {
+        if (System.getProperty("PROCEDURE_LATENCY_HISTOGRAMS") != null ||
+                System.getProperty("STATEMENT_LATENCY_HISTOGRAMS") != null) {
+            return;
+        }
+        assertTrue(ProcedureStatsCollector.LATENCY_HISTOGRAMS);
+        assertTrue(ProcedureStatsCollector.STATEMENT_LATENCY_HISTOGRAMS);
+        ProcedureStatsCollector collector = newCollector();
+        for (int i = 0; i < 100; i++) {
+            SingleCallStatsToken token = collector.beginProcedure();
+            assertTrue(token.recordingLatencies());
+            assertTrue(token.recordingStmtLatencies());
+            assertTrue(token.timingStmts());
+            token.recordStatementStats("select", false, false, 1000L, null, null);
+            collector.endProcedure(false, false, token);
+        }
+        Map<String, AbstractHistogram> histograms = new HashMap<>();
+        collector.addLatencyHistograms(histograms, false);
+        assertEquals(100, histograms.get(null).getTotalCount());
+        assertEquals(100, histograms.get("select").getTotalCount());
+        // a statement that never ran has nothing to report
+        assertNull(histograms.get("insert"));
+    }
+
+    /**
+     * Recording takes no lock, so a poll running at the same time as the calls
+     * must neither lose nor double count any of them.
+     */
+    public void testPollWhileRecording() throws Exception {
+        final ProcedureStatsCollector collector = newCollector();
+        final int threads = 4;
+        final int calls = 20000;
+        Thread[] callers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            callers[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < calls; i++) {
+                        call(collector, 1000L + i, 2000L);
+                    }
+                }
+            };
+            callers[t].start();
+        }
+
+        long polled = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread caller : callers) {
+                running |= caller.isAlive();
+            }
+            Map<String, AbstractHistogram> interval = new HashMap<>();
+            collector.addLatencyHistograms(interval, true);
+            if (interval.containsKey("select")) {
+                polled += interval.get("select").getTotalCount();
+            }
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        Map<String, AbstractHistogram> total = new HashMap<>();
+        collector.addLatencyHistograms(total, false);
+        assertEquals(threads * calls, polled);
+        assertEquals(threads * calls, total.get("select").getTotalCount());
+        assertEquals(threads * calls, total.get(null).getTotalCount());
+    }
+}
@@ -0,0 +1,204 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.voltdb.catalog.Catalog;
+import org.voltdb.catalog.Database;
+import org.voltdb.catalog.Table;
+import org.voltdb.common.Constants;
+
+public class TestResultCache {
+
+    private static final long SCAN_T1 = 1;
+    private static final long SCAN_T2 = 2;
+    private static final long JOIN_T1_T2 = 3;
+    private static final long INSERT_T1 = 4;
+    private static final long INSERT_T2 = 5;
+    private static final long SCAN_T1_NOW = 6;
+    private static final long SCAN_T3 = 7;
+    private static final long SCAN_V1 = 8;
+    private static final long BROKEN = 9;
+
+    private static final byte[] HASH_A = hash(1);
+    private static final byte[] HASH_B = hash(2);
+
+    private final Map<Long, String> m_plans = new HashMap<>();
+    private ResultCache m_cache;
+
+    private static byte[] hash(int value) {
+        byte[] hash = new byte[20];
+        hash[0] = (byte) value;
+        return hash;
+    }
+
+    private static String node(String type, String table) {
+        return "{\"ID\":1,\"PLAN_NODE_TYPE\":\"" + type + "\",\"TARGET_TABLE_NAME\":\"" + table + "\"}";
+    }
+
+    private static String plan(String... nodes) {
+        return "{\"PLAN_NODES\":[" + String.join(",", nodes) + "]}";
+    }
+
+    @Before
+    public void setUp() {
+        m_plans.put(SCAN_T1, plan(node("SEQSCAN", "T1")));
+        m_plans.put(SCAN_T2, plan(node("INDEXSCAN", "T2")));
+        m_plans.put(JOIN_T1_T2, plan("{\"ID\":1,\"PLAN_NODE_TYPE\":\"NESTLOOPINDEX\",\"INLINE_NODES\":["
+                + node("INDEXSCAN", "T2") + "]}", node("SEQSCAN", "T1")));
+        m_plans.put(INSERT_T1, plan(node("INSERT", "T1"), node("MATERIALIZE", "T1")));
+        m_plans.put(INSERT_T2, plan(node("INSERT", "T2")));
+        m_plans.put(SCAN_T1_NOW, plan("{\"ID\":1,\"PLAN_NODE_TYPE\":\"SEQSCAN\",\"TARGET_TABLE_NAME\":\"T1\","
+                + "\"PREDICATE\":{\"TYPE\":\"FUNCTION\",\"NAME\":\"current_timestamp\",\"FUNCTION_ID\":43}}"));
+        m_plans.put(SCAN_T3, plan(node("SEQSCAN", "T3")));
+        m_plans.put(SCAN_V1, plan(node("SEQSCAN", "V1")));
+        m_plans.put(BROKEN, "not a plan");
+
+        Catalog catalog = new Catalog();
+        catalog.execute("add / clusters cluster");
+        catalog.execute("add /clusters#cluster databases database");
+        Database db = catalog.getClusters().get("cluster").getDatabases().get("database");
+        Table t1 = db.getTables().add("T1");
+        db.getTables().add("T2");
+        db.getTables().add("T3");
+        Table v1 = db.getTables().add("V1");
+        t1.getViews().add("V1").setDest(v1);
+
+        m_cache = new ResultCache(id -> m_plans.get(id).getBytes(Constants.UTF8ENCODING));
+        m_cache.configure(1024 * 1024, Arrays.asList("t1", "T2", "V1"), db);
+    }
+
+    private static ParameterSet params(Object... args) {
+        return ParameterSet.fromArrayNoCopy(args);
+    }
+
+    private byte[] run(long fragmentId, byte[] planHash, ParameterSet params, byte[] result) {
+        byte[] cached = m_cache.get(fragmentId, planHash, params);
+        if (cached == null) {
+            m_cache.put(result, result.length);
+        }
+        return cached;
+    }
+
+    @Test
+    public void testHitOnSamePlanAndParameters() {
+        byte[] result = { 1, 2, 3 };
+        assertNull(run(SCAN_T1, HASH_A, params(1, "a"), result));
+        assertArrayEquals(result, run(SCAN_T1, HASH_A, params(1, "a"), new byte[0]));
+        assertNull(run(SCAN_T1, HASH_A, params(2, "a"), result));
+        assertNull(run(SCAN_T1, HASH_B, params(1, "a"), result));
+        assertEquals(1, m_cache.m_hits);
+        assertEquals(3, m_cache.m_misses);
+        assertEquals(3, m_cache.m_entryCount);
+
+        // callers get their own copy
+        m_cache.get(SCAN_T1, HASH_A, params(1, "a"))[0] = 9;
+        assertArrayEquals(result, m_cache.get(SCAN_T1, HASH_A, params(1, "a")));
+    }
+
+    @Test
+    public void testWriteInvalidatesReadersOfTheTable() {
+        run(SCAN_T1, HASH_A, params(), new byte[] { 1 });
+        run(SCAN_T2, HASH_B, params(), new byte[] { 2 });
+        run(JOIN_T1_T2, hash(3), params(), new byte[] { 3 });
+        run(SCAN_V1, hash(4), params(), new byte[] { 4 });
+
+        m_cache.fragmentsWriting(new long[] { INSERT_T2 }, 1);
+        assertArrayEquals(new byte[] { 1 }, m_cache.get(SCAN_T1, HASH_A, params()));
+        assertArrayEquals(new byte[] { 4 }, m_cache.get(SCAN_V1, hash(4), params()));
+        assertNull(m_cache.get(SCAN_T2, HASH_B, params()));
+        assertNull(m_cache.get(JOIN_T1_T2, hash(3), params()));
+        assertEquals(2, m_cache.m_invalidations);
+
+        // the view is maintained from T1
+        m_cache.fragmentsWriting(new long[] { INSERT_T1 }, 1);
+        assertNull(m_cache.get(SCAN_T1, HASH_A, params()));
+        assertNull(m_cache.get(SCAN_V1, hash(4), params()));
+
+        run(SCAN_T1, HASH_A, params(), new byte[] { 5 });
+        m_cache.tableWritten("t1");
+        assertNull(m_cache.get(SCAN_T1, HASH_A, params()));
+
+        run(SCAN_T1, HASH_A, params(), new byte[] { 6 });
+        m_cache.invalidateAll();
+        assertNull(m_cache.get(SCAN_T1, HASH_A, params()));
+    }
+
+    @Test
+    public void testUncacheableFragments() {
+        // reads a table that isn't opted in
+        assertNull(run(SCAN_T3, HASH_A, params(), new byte[] { 1 }));
+        assertNull(run(SCAN_T3, HASH_A, params(), new byte[] { 1 }));
+        // depends on the time of the transaction
+        assertNull(run(SCAN_T1_NOW, HASH_B, params(), new byte[] { 1 }));
+        assertNull(run(SCAN_T1_NOW, HASH_B, params(), new byte[] { 1 }));
+        assertFalse(m_cache.fragmentInfo(INSERT_T1).m_cacheable);
+        assertEquals(0, m_cache.m_misses);
+        assertEquals(0, m_cache.m_entryCount);
+
+        // nothing is known about what an unreadable plan writes
+        run(SCAN_T1, HASH_A, params(), new byte[] { 1 });
+        m_cache.fragmentsWriting(new long[] { BROKEN }, 1);
+        assertNull(m_cache.get(SCAN_T1, HASH_A, params()));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        byte[] result = new byte[64 * 1024];
+        for (int i = 0; i < 16; i++) {
+            run(SCAN_T1, HASH_A, params(i), result);
+            // keep the first entry warm
+            assertTrue(m_cache.get(SCAN_T1, HASH_A, params(0)) != null);
+        }
+        assertTrue(m_cache.m_memoryBytes <= 1024 * 1024);
+        assertTrue(m_cache.m_evictions > 0);
+        assertEquals(16 - m_cache.m_evictions, m_cache.m_entryCount);
+        assertTrue(m_cache.get(SCAN_T1, HASH_A, params(0)) != null);
+        assertNull(m_cache.get(SCAN_T1, HASH_A, params(1)));
+
+        // too large for a share of the cache
+        run(SCAN_T2, HASH_B, params(), new byte[256 * 1024]);
+        assertNull(m_cache.get(SCAN_T2, HASH_B, params()));
+    }
+
+    @Test
+    public void testDisabledWithoutTables() {
+        m_cache.configure(1024 * 1024, Arrays.asList(), null);
+        assertFalse(m_cache.isEnabled());
+        assertNull(run(SCAN_T1, HASH_A, params(), new byte[] { 1 }));
+        assertNull(run(SCAN_T1, HASH_A, params(), new byte[] { 1 }));
+        assertEquals(0, m_cache.m_entryCount);
+    }
+}
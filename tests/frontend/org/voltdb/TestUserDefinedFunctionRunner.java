@@ -0,0 +1,198 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb;
+
+import java.nio.ByteBuffer;
+
+import org.hsqldb_voltpatches.FunctionForVoltDB;
+import org.voltdb.UserDefinedFunctionManager.BatchResult;
+import org.voltdb.UserDefinedFunctionManager.UserDefinedFunctionRunner;
+import org.voltdb.utils.SerializationHelper;
+
+import junit.framework.TestCase;
+
+public class TestUserDefinedFunctionRunner extends TestCase {
+
+    public static class Doubler {
+        public Integer twice(Integer x) {
+            if (x < 0) {
+                throw new IllegalArgumentException("negative " + x);
+            }
+            return x * 2;
+        }
+    }
+
+    public static class Squarer {
+        int m_batchCalls = 0;
+
+        public long square(long x) {
+            if (x == 13) {
+                throw new IllegalStateException("unlucky");
+            }
+            return x * x;
+        }
+
+        public long[] square(long[] xs) {
+            m_batchCalls++;
+            long[] result = new long[xs.length];
+            for (int i = 0; i < xs.length; i++) {
+                if (xs[i] == 13) {
+                    throw new IllegalStateException("unlucky");
+                }
+                result[i] = xs[i] * xs[i];
+            }
+            return result;
+        }
+    }
+
+    public static class Reverser {
+        public byte[] reverse(byte[] bytes) {
+            byte[] result = new byte[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                result[i] = bytes[bytes.length - 1 - i];
+            }
+            return result;
+        }
+    }
+
+    // user-defined function ids start at 1000000
+    private static final int TWICE_ID = 1009001;
+    private static final int SQUARE_ID = TWICE_ID + 1;
+
+    @Override
+    public void tearDown() {
+        FunctionForVoltDB.deregisterUserDefinedFunction("test_twice");
+        FunctionForVoltDB.deregisterUserDefinedFunction("test_square");
+    }
+
+    private static ByteBuffer intRows(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 * values.length);
+        buffer.putInt(values.length);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer bigintRows(long... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * values.length);
+        buffer.putInt(values.length);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public void testFunctionMethodCalledOnEveryRow() throws Exception {
+        UserDefinedFunctionRunner runner = new UserDefinedFunctionRunner("test_twice", TWICE_ID, "twice", new Doubler());
+        BatchResult result = runner.call(intRows(1, 2, -3, 4));
+        assertEquals(4, result.getRowCount());
+        assertEquals(2, result.getValue(0));
+        assertEquals(4, result.getValue(1));
+        assertNull(result.getValue(2));
+        assertTrue(result.getError(2) instanceof IllegalArgumentException);
+        assertEquals(8, result.getValue(3));
+
+        assertEquals(4, runner.m_stats.m_invocations);
+        assertEquals(1, runner.m_stats.m_calls);
+        assertEquals(0, runner.m_stats.m_batchMethodCalls);
+        assertEquals(1, runner.m_stats.m_failures);
+    }
+
+    public void testBatchMethodCalledOnceForAllRows() throws Exception {
+        Squarer squarer = new Squarer();
+        UserDefinedFunctionRunner runner = new UserDefinedFunctionRunner("test_square", SQUARE_ID, "square", squarer);
+        assertEquals(VoltType.BIGINT, runner.getReturnType());
+
+        BatchResult result = runner.call(bigintRows(1, 2, 3));
+        assertEquals(1, squarer.m_batchCalls);
+        assertEquals(1L, result.getValue(0));
+        assertEquals(4L, result.getValue(1));
+        assertEquals(9L, result.getValue(2));
+
+        // A single row goes to the function method
+        result = runner.call(bigintRows(5));
+        assertEquals(1, squarer.m_batchCalls);
+        assertEquals(25L, result.getValue(0));
+
+        assertEquals(4, runner.m_stats.m_invocations);
+        assertEquals(2, runner.m_stats.m_calls);
+        assertEquals(1, runner.m_stats.m_batchMethodCalls);
+        assertEquals(0, runner.m_stats.m_failures);
+    }
+
+    public void testFailedBatchRunsRowByRow() throws Exception {
+        Squarer squarer = new Squarer();
+        UserDefinedFunctionRunner runner = new UserDefinedFunctionRunner("test_square", SQUARE_ID, "square", squarer);
+
+        // The array form fails because of one row, which the query might have skipped,
+        // so every row gets its own result or error from the function method
+        BatchResult result = runner.call(bigintRows(12, 13, 14));
+        assertEquals(1, squarer.m_batchCalls);
+        assertEquals(144L, result.getValue(0));
+        assertNull(result.getError(0));
+        assertNull(result.getValue(1));
+        assertTrue(result.getError(1) instanceof IllegalStateException);
+        assertEquals(196L, result.getValue(2));
+        assertNull(result.getError(2));
+
+        assertEquals(3, runner.m_stats.m_invocations);
+        assertEquals(1, runner.m_stats.m_calls);
+        assertEquals(0, runner.m_stats.m_batchMethodCalls);
+        assertEquals(1, runner.m_stats.m_failures);
+    }
+
+    public void testBatchForm() throws Exception {
+        assertTrue(UserDefinedFunctionManager.isBatchFormOf(
+                Squarer.class.getMethod("square", long[].class),
+                Squarer.class.getMethod("square", long.class)));
+        assertFalse(UserDefinedFunctionManager.isBatchFormOf(
+                Squarer.class.getMethod("square", long.class),
+                Squarer.class.getMethod("square", long[].class)));
+        // Taking and returning an array does not make a batch form
+        assertFalse(UserDefinedFunctionManager.isBatchFormOf(
+                Reverser.class.getMethod("reverse", byte[].class),
+                Reverser.class.getMethod("reverse", byte[].class)));
+    }
+
+    public void testResultsWrittenBackRowByRow() throws Exception {
+        UserDefinedFunctionRunner runner = new UserDefinedFunctionRunner("test_twice", TWICE_ID, "twice", new Doubler());
+        BatchResult result = runner.call(intRows(21, -1));
+
+        ByteBuffer buffer = ByteBuffer.allocate(result.getSerializedSize());
+        result.writeToBuffer(buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+
+        assertEquals(0, buffer.get());
+        assertEquals(VoltType.INTEGER.getValue(), buffer.get());
+        assertEquals(42, buffer.getInt());
+        assertEquals(1, buffer.get());
+        String error = new String(SerializationHelper.getVarbinary(buffer), "UTF-8");
+        assertTrue(error, error.contains("negative -1"));
+        assertFalse(buffer.hasRemaining());
+    }
+}
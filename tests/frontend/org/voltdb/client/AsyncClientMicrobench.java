@@ -0,0 +1,74 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.client;
+
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.VoltTable;
+
+/**
+ * Times a call through {@link AsyncClient} futures against a plain callback,
+ * both answered inline by the transport. Pass the number of calls per round as
+ * the first argument.
+ */
+public class AsyncClientMicrobench {
+
+    private static final ClientResponse SUCCESS =
+            new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[0], null);
+
+    public static void main(String[] args) throws Exception {
+        final int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        AsyncClient.Transport inline = (callback, timeout, procName, parameters) -> {
+            try {
+                callback.clientCallback(SUCCESS);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return true;
+        };
+        final long[] responses = new long[1];
+        ProcedureCallback callback = response -> responses[0]++;
+        AsyncClient client = new AsyncClient(null, inline, 100, Runnable::run);
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                inline.tryCall(callback, 0, "Proc", null);
+            }
+            long callbackNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                client.callProcedure("Proc").thenAccept(response -> responses[0]++);
+            }
+            long futureNanos = System.nanoTime() - start;
+
+            System.out.printf("%d calls: callback path %.1f ns/call, future path %.1f ns/call%n", calls,
+                    (double) callbackNanos / calls, (double) futureNanos / calls);
+        }
+        if (responses[0] != 10L * calls) {
+            throw new AssertionError("missing responses");
+        }
+    }
+}
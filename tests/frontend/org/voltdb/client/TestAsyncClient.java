@@ -0,0 +1,272 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.voltdb.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.voltcore.utils.CoreUtils;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.VoltTable;
+
+/**
+ * AsyncClient permits, queueing and backpressure against a transport that
+ * holds the calls until the test answers them.
+ */
+public class TestAsyncClient {
+
+    private static final ClientResponse SUCCESS =
+            new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[0], null);
+
+    static class FakeTransport implements AsyncClient.Transport {
+        final List<ProcedureCallback> m_callbacks = new ArrayList<>();
+        final List<String> m_procNames = new ArrayList<>();
+        boolean m_backpressure = false;
+        boolean m_noConnections = false;
+        // told about backpressure before a call is refused, as the Distributer does
+        AsyncClient m_client = null;
+        // run just after a call is refused
+        Runnable m_afterRefusal = null;
+
+        @Override
+        public synchronized boolean tryCall(ProcedureCallback callback, long clientTimeoutNanos,
+                String procName, Object[] parameters) throws NoConnectionsException {
+            if (m_noConnections) {
+                throw new NoConnectionsException("No connections.");
+            }
+            if (m_backpressure) {
+                m_client.backpressureStarted();
+                if (m_afterRefusal != null) {
+                    m_afterRefusal.run();
+                }
+                return false;
+            }
+            m_callbacks.add(callback);
+            m_procNames.add(procName);
+            return true;
+        }
+
+        void answer(int index) throws Exception {
+            ProcedureCallback callback;
+            synchronized (this) {
+                callback = m_callbacks.get(index);
+            }
+            callback.clientCallback(SUCCESS);
+        }
+
+        synchronized int sent() {
+            return m_callbacks.size();
+        }
+    }
+
+    private final FakeTransport m_transport = new FakeTransport();
+
+    private AsyncClient createClient(int permits) {
+        // a direct executor runs the completions and drains inline
+        AsyncClient client = new AsyncClient(null, m_transport, permits, Runnable::run);
+        m_transport.m_client = client;
+        return client;
+    }
+
+    @Test
+    public void testCompletesWithResponse() throws Exception {
+        AsyncClient client = createClient(2);
+        CompletableFuture<ClientResponse> future = client.callProcedure("Insert", 1);
+        assertEquals(1, m_transport.sent());
+        assertEquals(1, client.getAvailablePermits());
+        assertFalse(future.isDone());
+
+        m_transport.answer(0);
+        assertSame(SUCCESS, future.get());
+        assertEquals(2, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testQueuesWithoutPermits() throws Exception {
+        AsyncClient client = createClient(2);
+        List<CompletableFuture<ClientResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.callProcedure("Proc" + i));
+        }
+        assertEquals(2, m_transport.sent());
+        assertEquals(3, client.getQueuedCalls());
+        assertEquals(0, client.getAvailablePermits());
+
+        // every response lets one queued call go, in order
+        for (int i = 0; i < 5; i++) {
+            m_transport.answer(i);
+            assertTrue(futures.get(i).isDone());
+            assertEquals(Math.min(5, i + 3), m_transport.sent());
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Proc" + i, m_transport.m_procNames.get(i));
+        }
+        assertEquals(0, client.getQueuedCalls());
+        assertEquals(2, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testBackpressureQueuesWithoutBlocking() throws Exception {
+        AsyncClient client = createClient(10);
+        m_transport.m_backpressure = true;
+        CompletableFuture<ClientResponse> first = client.callProcedure("First");
+        CompletableFuture<ClientResponse> second = client.callProcedure("Second");
+        assertEquals(0, m_transport.sent());
+        assertEquals(2, client.getQueuedCalls());
+        // permits are only held by calls that were sent
+        assertEquals(0, client.getAvailablePermits());
+
+        m_transport.m_backpressure = false;
+        client.backpressureEnded();
+        assertEquals(2, m_transport.sent());
+        assertEquals("First", m_transport.m_procNames.get(0));
+        assertEquals(8, client.getAvailablePermits());
+        m_transport.answer(0);
+        m_transport.answer(1);
+        assertTrue(first.isDone() && second.isDone());
+        assertEquals(10, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testBackpressureEndingBeforeRequeue() throws Exception {
+        final AsyncClient client = createClient(10);
+        m_transport.m_backpressure = true;
+        // the end of the backpressure is reported while the refused call is
+        // on its way back to the queue, so that nothing is queued yet to drain
+        m_transport.m_afterRefusal = () -> {
+            m_transport.m_backpressure = false;
+            m_transport.m_afterRefusal = null;
+            client.backpressureEnded();
+        };
+        CompletableFuture<ClientResponse> future = client.callProcedure("Proc");
+        assertEquals(1, m_transport.sent());
+        assertEquals(0, client.getQueuedCalls());
+        m_transport.answer(0);
+        assertTrue(future.isDone());
+        assertEquals(10, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testNoConnectionsFailsTheFuture() throws Exception {
+        AsyncClient client = createClient(1);
+        m_transport.m_noConnections = true;
+        CompletableFuture<ClientResponse> future = client.callProcedure("Proc");
+        try {
+            future.get();
+            fail();
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoConnectionsException);
+        }
+        assertEquals(1, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testPermitsListener() throws Exception {
+        AsyncClient client = createClient(3);
+        List<Integer> granted = new ArrayList<>();
+        client.setPermitsListener(granted::add);
+        for (int i = 0; i < 4; i++) {
+            client.callProcedure("Proc");
+        }
+        // the queued call takes the first permit returned
+        m_transport.answer(0);
+        assertTrue(granted.isEmpty());
+        m_transport.answer(1);
+        m_transport.answer(2);
+        assertEquals(2, granted.size());
+        assertEquals(1, granted.get(0).intValue());
+        assertEquals(2, granted.get(1).intValue());
+    }
+
+    @Test
+    public void testCompletesOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(CoreUtils.getThreadFactory("AsyncClientTest"));
+        try {
+            AsyncClient client = new AsyncClient(null, m_transport, 4, executor);
+            m_transport.m_client = client;
+            CompletableFuture<String> thread = client.callProcedure("Proc")
+                    .thenApply(response -> Thread.currentThread().getName());
+            m_transport.answer(0);
+            assertTrue(thread.get(10, TimeUnit.SECONDS).startsWith("AsyncClientTest"));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Calls answered inline by the transport complete their futures in order
+     * and give every permit back, just as the same calls made with callbacks.
+     */
+    @Test
+    public void testInlineCompletions() throws Exception {
+        final int calls = 1000;
+        final List<ProcedureCallback> answered = new ArrayList<>();
+        AsyncClient.Transport inline = (callback, timeout, procName, parameters) -> {
+            answered.add(callback);
+            try {
+                callback.clientCallback(SUCCESS);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return true;
+        };
+        final List<Integer> completed = new ArrayList<>();
+        AsyncClient client = new AsyncClient(null, inline, 2, Runnable::run);
+        for (int i = 0; i < calls; i++) {
+            final int call = i;
+            CompletableFuture<ClientResponse> future =
+                    client.callProcedure("Proc").thenApply(response -> {
+                        completed.add(call);
+                        return response;
+                    });
+            assertSame(SUCCESS, future.getNow(null));
+        }
+        assertEquals(calls, answered.size());
+        assertEquals(calls, completed.size());
+        for (int i = 0; i < calls; i++) {
+            assertEquals(i, completed.get(i).intValue());
+        }
+        assertEquals(2, client.getAvailablePermits());
+
+        final int[] callbacks = new int[1];
+        for (int i = 0; i < calls; i++) {
+            assertTrue(inline.tryCall(response -> callbacks[0]++, 0, "Proc", null));
+        }
+        assertEquals(calls, callbacks[0]);
+    }
+}
@@ -60,6 +60,7 @@ public class TestDistributer extends TestCase {
         volatile Semaphore invokedSubscribe = new Semaphore(0);
         volatile Semaphore invokedTopology = new Semaphore(0);
         volatile Semaphore invokedSystemInformation = new Semaphore(0);
+        volatile VoltTable systemCatalog = null;
 
         @Override
         public int getMaxRead() {
@@ -68,6 +69,23 @@ public class TestDistributer extends TestCase {
 
         @Override
         public void handleMessage(ByteBuffer message, Connection c) {
+            if (message.get(message.position()) == ProcedureInvocationType.BATCH.getValue()) {
+                batchFrames.incrementAndGet();
+                message.get();
+                int count = message.getInt();
+                for (int i = 0; i < count; i++) {
+                    int length = message.getInt();
+                    ByteBuffer invocation = message.slice();
+                    invocation.limit(length);
+                    message.position(message.position() + length);
+                    handleInvocation(invocation, c);
+                }
+            } else {
+                handleInvocation(message, c);
+            }
+        }
+
+        private void handleInvocation(ByteBuffer message, Connection c) {
             try {
                 StoredProcedureInvocation spi = new StoredProcedureInvocation();
                 spi.initFromBuffer(message);
@@ -85,6 +103,9 @@ public class TestDistributer extends TestCase {
                     } else if (proc.equals("@Statistics")) {
                         invokedTopology.release();
                     } else if (proc.equals("@SystemCatalog")) {
+                        if (systemCatalog != null) {
+                            vt = new VoltTable[] { systemCatalog };
+                        }
                         invokedSystemInformation.release();
                     } else {
                         vt = new VoltTable[1];
@@ -140,6 +161,7 @@ public class TestDistributer extends TestCase {
 
         }
         AtomicInteger roundTrips = new AtomicInteger();
+        AtomicInteger batchFrames = new AtomicInteger();
 
         @Override
         public Runnable offBackPressure() {
@@ -170,6 +192,8 @@ public class TestDistributer extends TestCase {
     // A fake server.
     class MockVolt extends Thread {
         boolean handleConnection = true;
+        // procedures table for the handlers to answer @SystemCatalog with, if any
+        volatile VoltTable systemCatalog = null;
         MockVolt(int port) throws IOException {
             network = new VoltNetworkPool();
             network.start();
@@ -238,6 +262,7 @@ public class TestDistributer extends TestCase {
                         responseBuffer.putInt(0);
                         responseBuffer.flip();
                         handler = new MockInputHandler();
+                        handler.systemCatalog = systemCatalog;
                         client.write(responseBuffer);
 
                         client.configureBlocking(false);
@@ -528,6 +553,41 @@ public class TestDistributer extends TestCase {
         }
     }
 
+    @Test
+    public void testQueueBatched() throws Exception {
+        // TODO: write a mock server that can grock ssl
+        if (ClientConfig.ENABLE_SSL_FOR_TEST) return;
+
+        MockVolt volt = null;
+        try {
+            volt = new MockVolt(20000);
+            volt.start();
+
+            Distributer dist = new Distributer(false,
+                    ClientConfig.DEFAULT_PROCEDURE_TIMOUT_NANOS,
+                    ClientConfig.DEFAULT_CONNECTION_TIMOUT_MS,
+                    false, false, null /* subject */, null);
+            dist.setInvocationBatching(TimeUnit.MILLISECONDS.toNanos(50), 4);
+            dist.createConnection("localhost", "", "", 20000, ClientAuthScheme.HASH_SHA1);
+            assertTrue(volt.handler != null);
+
+            // the first four fill a frame, the last two go out when the window closes
+            for (int handle = 1; handle <= 6; handle++) {
+                dist.queue(new ProcedureInvocation(handle, "i1", new Integer(1)), new ProcCallback(),
+                        true, System.nanoTime(), 0);
+            }
+            dist.drain();
+
+            assertEquals(6, volt.handler.roundTrips.get());
+            assertEquals(2, volt.handler.batchFrames.get());
+        }
+        finally {
+            if (volt != null) {
+                volt.shutdown();
+            }
+        }
+    }
+
     @Test
     public void testQueueMixed() throws Exception {
         // TODO: write a mock server that can grock ssl
@@ -956,6 +1016,63 @@ public class TestDistributer extends TestCase {
         assertTrue(threwException);
     }
 
+    public void testResponseCacheHitsAreDispatchedOnNetworkThread() throws Exception {
+        // TODO: write a mock server that can grock ssl
+        if (ClientConfig.ENABLE_SSL_FOR_TEST) return;
+
+        MockVolt volt = new MockVolt(20000);
+        VoltTable procs = new VoltTable(
+                new VoltTable.ColumnInfo("PROCEDURE_CAT", VoltType.STRING),
+                new VoltTable.ColumnInfo("PROCEDURE_SCHEM", VoltType.STRING),
+                new VoltTable.ColumnInfo("PROCEDURE_NAME", VoltType.STRING),
+                new VoltTable.ColumnInfo("RESERVED1", VoltType.STRING),
+                new VoltTable.ColumnInfo("RESERVED2", VoltType.STRING),
+                new VoltTable.ColumnInfo("RESERVED3", VoltType.STRING),
+                new VoltTable.ColumnInfo("REMARKS", VoltType.STRING));
+        procs.addRow("", "", "Lookup", "", "", "", "{\"readOnly\":true,\"singlePartition\":false}");
+        procs.addRow("", "", "Update", "", "", "", "{\"readOnly\":false,\"singlePartition\":false}");
+        volt.systemCatalog = procs;
+        volt.start();
+
+        try {
+            ClientConfig config = new ClientConfig();
+            config.setResponseCacheTtl("Lookup", 1, TimeUnit.MINUTES);
+            config.setResponseCacheTtl("Update", 1, TimeUnit.MINUTES);
+            config.setResponseCacheTtl("Unknown", 1, TimeUnit.MINUTES);
+            final Client c = ClientFactory.createClient(config);
+            c.createConnection("localhost", 20000);
+            assertTrue(volt.handler.invokedSystemInformation.tryAcquire(10, TimeUnit.SECONDS));
+            // answered after the procedure info on the same connection
+            c.callProcedure("@Ping");
+
+            c.callProcedure("Lookup", 1);
+            final int roundTrips = volt.handler.roundTrips.get();
+            final CountDownLatch answered = new CountDownLatch(1);
+            final Thread[] callbackThread = new Thread[1];
+            assertTrue(c.callProcedure(new ProcedureCallback() {
+                @Override
+                public void clientCallback(ClientResponse clientResponse) throws Exception {
+                    assertEquals(1, clientResponse.getResults()[0].asScalarLong());
+                    callbackThread[0] = Thread.currentThread();
+                    answered.countDown();
+                }
+            }, "Lookup", 1));
+            assertTrue(answered.await(10, TimeUnit.SECONDS));
+            assertEquals(roundTrips, volt.handler.roundTrips.get());
+            assertNotSame(Thread.currentThread(), callbackThread[0]);
+
+            // neither read-write nor unknown procedures are cached
+            c.callProcedure("Update", 1);
+            c.callProcedure("Update", 1);
+            c.callProcedure("Unknown", 1);
+            c.callProcedure("Unknown", 1);
+            assertEquals(roundTrips + 4, volt.handler.roundTrips.get());
+            c.close();
+        } finally {
+            volt.shutdown();
+        }
+    }
+
     public void testSubscription() throws Exception {
         // TODO: write a mock server that can grock ssl
         if (ClientConfig.ENABLE_SSL_FOR_TEST) return;
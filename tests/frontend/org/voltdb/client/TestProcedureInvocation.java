@@ -26,6 +26,7 @@ package org.voltdb.client;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import junit.framework.TestCase;
 
@@ -225,4 +226,47 @@ public class TestProcedureInvocation extends TestCase{
 
         verifySpi(spi);
     }
+
+    /** A batch frame carries the invocations as they would be written on their own */
+    public void testFrameBatch() throws Exception {
+        ProcedureInvocation other = new ProcedureInvocation(11, "other", 5L);
+        ByteBuffer first = ByteBuffer.allocate(4 + pi.getSerializedSize());
+        first.putInt(pi.getSerializedSize());
+        pi.flattenToBuffer(first);
+        first.flip();
+        ByteBuffer second = ByteBuffer.allocate(4 + other.getSerializedSize());
+        second.putInt(other.getSerializedSize());
+        other.flattenToBuffer(second);
+        second.flip();
+
+        ByteBuffer frame = ProcedureInvocation.frameBatch(Arrays.asList(first, second));
+        // the invocations are left untouched
+        assertEquals(0, first.position());
+        assertEquals(frame.remaining() - 4, frame.getInt());
+        assertEquals(ProcedureInvocationType.BATCH.getValue(), frame.get());
+        assertEquals(2, frame.getInt());
+
+        StoredProcedureInvocation spi = new StoredProcedureInvocation();
+        int length = frame.getInt();
+        ByteBuffer invocation = frame.slice();
+        invocation.limit(length);
+        spi.initFromBuffer(invocation);
+        verifySpi(spi);
+        frame.position(frame.position() + length);
+
+        length = frame.getInt();
+        assertEquals(length, frame.remaining());
+        spi = new StoredProcedureInvocation();
+        spi.initFromBuffer(frame);
+        assertEquals("other", spi.getProcName());
+        assertEquals(11, spi.getClientHandle());
+
+        // a frame isn't an invocation
+        frame.rewind();
+        frame.getInt();
+        try {
+            new StoredProcedureInvocation().initFromBuffer(frame);
+            fail();
+        } catch (IOException expected) {}
+    }
 }
@@ -0,0 +1,203 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.voltdb.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltTable.ColumnInfo;
+import org.voltdb.VoltType;
+
+public class TestResponseCache {
+
+    private static final long TTL = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static ResponseCache createCache(int maxEntries, long maxBytes) {
+        Map<String, Long> ttls = new HashMap<>();
+        ttls.put("Lookup", TTL);
+        return new ResponseCache(ttls, maxEntries, maxBytes);
+    }
+
+    private static ClientResponseImpl response(long value) {
+        VoltTable t = new VoltTable(new ColumnInfo("V", VoltType.BIGINT));
+        t.addRow(value);
+        return new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[] { t }, null);
+    }
+
+    private static ResponseCache.Key key(ResponseCache cache, Object... params) throws Exception {
+        return cache.keyFor(new ProcedureInvocation(1, "Lookup", params));
+    }
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        ResponseCache cache = createCache(10, 1 << 20);
+        assertNull(cache.keyFor(new ProcedureInvocation(1, "Other", 1)));
+
+        ResponseCache.Key key = key(cache, 1, "a");
+        assertNull(cache.get(key, 0));
+        cache.put(key, 0, response(42), 0);
+
+        // equal parameters from a new invocation find the entry
+        ClientResponseImpl first = cache.get(key(cache, 1, "a"), 1);
+        assertNotNull(first);
+        assertEquals(42, first.getResults()[0].asScalarLong());
+        assertNull(cache.get(key(cache, 1, "b"), 1));
+
+        // every hit gets its own copy of the tables
+        ClientResponseImpl second = cache.get(key, 2);
+        assertNotSame(first.getResults()[0], second.getResults()[0]);
+        first.getResults()[0].addRow(7);
+        assertEquals(1, second.getResults()[0].getRowCount());
+
+        ClientStats stats = cache.getStatsSnapshot().get("Lookup");
+        assertEquals(ResponseCache.STATS_CONNECTION_ID, stats.getConnectionId());
+        assertEquals(2, stats.getCacheHits());
+        assertEquals(2, stats.getCacheMisses());
+        assertEquals(0, stats.getInvocationsCompleted());
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        ResponseCache cache = createCache(10, 1 << 20);
+        ResponseCache.Key key = key(cache, 1);
+        cache.put(key, 0, response(1), 0);
+        assertNotNull(cache.get(key, TTL - 1));
+        assertNull(cache.get(key, TTL));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+        assertEquals(1, cache.getStatsSnapshot().get("Lookup").getCacheExpirations());
+    }
+
+    @Test
+    public void testEntryLimitEvictsLeastRecentlyUsed() throws Exception {
+        ResponseCache cache = createCache(2, 1 << 20);
+        cache.put(key(cache, 1), 0, response(1), 0);
+        cache.put(key(cache, 2), 0, response(2), 0);
+        // touch 1 so that 2 is the eldest
+        assertNotNull(cache.get(key(cache, 1), 1));
+        cache.put(key(cache, 3), 0, response(3), 1);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(key(cache, 2), 2));
+        assertNotNull(cache.get(key(cache, 1), 2));
+        assertNotNull(cache.get(key(cache, 3), 2));
+        assertEquals(1, cache.getStatsSnapshot().get("Lookup").getCacheEvictions());
+    }
+
+    @Test
+    public void testByteLimit() throws Exception {
+        ClientResponseImpl r = response(1);
+        ResponseCache probe = createCache(10, 1 << 20);
+        ResponseCache.Key probeKey = key(probe, 1);
+        probe.put(probeKey, 0, r, 0);
+        long entryBytes = probe.getBytes();
+
+        ResponseCache cache = createCache(10, entryBytes * 2);
+        for (int i = 0; i < 5; i++) {
+            cache.put(key(cache, i), 0, response(i), 0);
+        }
+        assertEquals(2, cache.size());
+        assertEquals(entryBytes * 2, cache.getBytes());
+        assertEquals(3, cache.getStatsSnapshot().get("Lookup").getCacheEvictions());
+
+        // a response larger than the whole cache is never stored
+        ResponseCache tiny = createCache(10, entryBytes - 1);
+        tiny.put(key(tiny, 1), 0, r, 0);
+        assertEquals(0, tiny.size());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        ResponseCache cache = createCache(10, 1 << 20);
+        ResponseCache.Key key = key(cache, 1);
+        cache.put(key, 0, response(1), 0);
+        cache.invalidate();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(key, 1));
+
+        // a response to a call made before the catalog update is dropped
+        cache.put(key, 0, response(1), 2);
+        assertEquals(0, cache.size());
+        cache.put(key, 1, response(1), 2);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStatsSnapshot().get("Lookup").getCacheEvictions());
+    }
+
+    @Test
+    public void testCachingCallback() throws Exception {
+        ResponseCache cache = createCache(10, 1 << 20);
+        ResponseCache.Key key = key(cache, 1);
+        final ClientResponse[] delivered = new ClientResponse[1];
+        ProcedureCallback cb = cache.cachingCallback(key, new ProcedureCallback() {
+            @Override
+            public void clientCallback(ClientResponse clientResponse) {
+                delivered[0] = clientResponse;
+            }
+        });
+
+        ClientResponseImpl failure = new ClientResponseImpl(ClientResponse.USER_ABORT, new VoltTable[0], "abort");
+        cb.clientCallback(failure);
+        assertEquals(failure, delivered[0]);
+        assertEquals(0, cache.size());
+
+        ClientResponseImpl success = response(5);
+        cb.clientCallback(success);
+        assertEquals(success, delivered[0]);
+        assertEquals(5, cache.get(key, System.nanoTime()).getResults()[0].asScalarLong());
+    }
+
+    @Test
+    public void testConfigValidation() {
+        ClientConfig config = new ClientConfig();
+        config.setResponseCacheTtl("Lookup", 200, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), config.m_responseCacheTtlNanos.get("Lookup").longValue());
+        config.setResponseCacheTtl("Lookup", 0, TimeUnit.MILLISECONDS);
+        assertNull(config.m_responseCacheTtlNanos.get("Lookup"));
+        try {
+            config.setResponseCacheTtl("Lookup", -1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException expected) {}
+        try {
+            config.setResponseCacheLimits(0, 100);
+            fail();
+        } catch (IllegalArgumentException expected) {}
+
+        // the procedure info needed to tell read-only procedures comes with client affinity
+        config.setResponseCacheTtl("Lookup", 200, TimeUnit.MILLISECONDS);
+        config.setClientAffinity(false);
+        try {
+            ClientFactory.createClient(config);
+            fail();
+        } catch (IllegalArgumentException expected) {}
+    }
+}
@@ -0,0 +1,157 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.compiler;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.voltcore.messaging.HostMessenger;
+import org.voltdb.CatalogContext;
+import org.voltdb.catalog.Catalog;
+import org.voltdb.compiler.AdHocCompilerCache.LexicalBinding;
+import org.voltdb.parser.SQLLexer;
+import org.voltdb.settings.ClusterSettings;
+import org.voltdb.settings.DbSettings;
+import org.voltdb.settings.NodeSettings;
+import org.voltdb.utils.CatalogUtil;
+import org.voltdb.utils.MiscUtils;
+
+/**
+ * Statements reaching a parameterized plan through their lexical key
+ * must bind the same parameters the full parse would have.
+ */
+public class TestAdHocLexicalCache {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private PlannerTool m_pt;
+    private AdHocCompilerCache m_cache;
+
+    @Before
+    public void setUp() throws Exception {
+        VoltProjectBuilder builder = new VoltProjectBuilder();
+        builder.addLiteralSchema("CREATE TABLE T (ID INTEGER NOT NULL, A INTEGER, B VARCHAR(10), PRIMARY KEY(ID));" +
+                                 "CREATE INDEX T_ABS ON T(ABS(A - 5));");
+        String jarPath = new File(tmp.getRoot(), "lexical.jar").getPath();
+        builder.compile(jarPath);
+        byte[] bytes = MiscUtils.fileToBytes(new File(jarPath));
+        String serializedCatalog = CatalogUtil.getSerializedCatalogStringFromJar(
+                CatalogUtil.loadAndUpgradeCatalogFromJar(bytes, false).getFirst());
+        Catalog catalog = new Catalog();
+        catalog.execute(serializedCatalog);
+        DbSettings settings = new DbSettings(ClusterSettings.create().asSupplier(), NodeSettings.create());
+        CatalogContext context = new CatalogContext(catalog, settings, 0, 0, bytes, null, new byte[] {},
+                                                    mock(HostMessenger.class));
+        AdHocCompilerCache.clearHashCache();
+        m_pt = new PlannerTool(context.database, context.getCatalogHash());
+        m_cache = m_pt.getAdHocCache();
+    }
+
+    private AdHocPlannedStatement plan(String sql, boolean expectLexicalHit) {
+        long hits = m_cache.m_lexicalHits;
+        AdHocPlannedStatement stmt = m_pt.planSqlForTest(sql);
+        assertEquals(sql, expectLexicalHit ? hits + 1 : hits, m_cache.m_lexicalHits);
+        return stmt;
+    }
+
+    private LexicalBinding bindingFor(String sql) {
+        return m_cache.m_lexicalCache.get(SQLLexer.parameterizeLiterals(sql).getKey());
+    }
+
+    @Test
+    public void testReorderedLiterals() {
+        // The parser extracts the LIMIT before the WHERE clause
+        AdHocPlannedStatement first = plan("SELECT A FROM T WHERE ID > 2 ORDER BY A LIMIT 7;", false);
+        assertArrayEquals(new Object[] { 7L, 2 }, first.extractedParamArray());
+
+        AdHocPlannedStatement stmt = plan("select a from t where id > 4 order by a limit 9;", true);
+        assertSame(first.core, stmt.core);
+        assertArrayEquals(new Object[] { 9L, 4 }, stmt.extractedParamArray());
+
+        // and the HAVING clause before the WHERE clause
+        first = plan("SELECT B FROM T WHERE A = 4 GROUP BY B HAVING COUNT(*) > 9;", false);
+        assertArrayEquals(new Object[] { 9, 4 }, first.extractedParamArray());
+        stmt = plan("SELECT B FROM T WHERE A = 1 GROUP BY B HAVING COUNT(*) > 3;", true);
+        assertSame(first.core, stmt.core);
+        assertArrayEquals(new Object[] { 3, 1 }, stmt.extractedParamArray());
+    }
+
+    @Test
+    public void testRepeatedLiterals() {
+        // Repeated values can't be told apart, so no binding is recorded for them
+        AdHocPlannedStatement first = plan("SELECT A FROM T WHERE ID = 5 AND B = '5';", false);
+        assertNull(bindingFor("SELECT A FROM T WHERE ID = 5 AND B = '5';"));
+        assertArrayEquals(new Object[] { 5, "5" }, first.extractedParamArray());
+
+        first = plan("SELECT A FROM T WHERE ID = 6 AND B = 'x';", false);
+        assertArrayEquals(new Object[] { 6, "x" }, first.extractedParamArray());
+
+        // A binding recorded from distinct values applies to repeated ones
+        AdHocPlannedStatement stmt = plan("SELECT A FROM T WHERE ID = 7 AND B = '7';", true);
+        assertSame(first.core, stmt.core);
+        assertArrayEquals(new Object[] { 7, "7" }, stmt.extractedParamArray());
+
+        first = plan("SELECT A FROM T WHERE ID > 2 ORDER BY A LIMIT 7;", false);
+        stmt = plan("SELECT A FROM T WHERE ID > 3 ORDER BY A LIMIT 3;", true);
+        assertSame(first.core, stmt.core);
+        assertArrayEquals(new Object[] { 3L, 3 }, stmt.extractedParamArray());
+    }
+
+    @Test
+    public void testBoundConstantMismatchFallsBack() {
+        // The plan using T_ABS only applies when the first constant is 5
+        AdHocPlannedStatement indexed = plan("SELECT B FROM T WHERE ABS(A - 5) = 2;", false);
+        assertArrayEquals(new String[] { "5", null }, indexed.parameterBindings(null));
+
+        AdHocPlannedStatement stmt = plan("SELECT B FROM T WHERE ABS(A - 5) = 3;", true);
+        assertSame(indexed.core, stmt.core);
+        assertArrayEquals(new Object[] { 5L, 3 }, stmt.extractedParamArray());
+
+        // The key is found but its plan doesn't apply, so the statement is planned in full
+        AdHocPlannedStatement general = plan("SELECT B FROM T WHERE ABS(A - 6) = 2;", true);
+        LexicalBinding binding = bindingFor("SELECT B FROM T WHERE ABS(A - 6) = 2;");
+        assertEquals(2, m_cache.getWithParsedToken(binding.m_parsedToken).size());
+        assertNotSame(indexed.core, general.core);
+        assertNull(general.parameterBindings(null));
+        assertArrayEquals(new Object[] { 6L, 2 }, general.extractedParamArray());
+
+        // Then the key leads to either plan depending on the constant
+        stmt = plan("SELECT B FROM T WHERE ABS(A - 7) = 4;", true);
+        assertSame(general.core, stmt.core);
+        assertArrayEquals(new Object[] { 7L, 4 }, stmt.extractedParamArray());
+        stmt = plan("SELECT B FROM T WHERE ABS(A - 5) = 4;", true);
+        assertSame(indexed.core, stmt.core);
+    }
+}
@@ -0,0 +1,187 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.voltdb.ParameterSet;
+import org.voltdb.VoltType;
+import org.voltdb.common.Constants;
+import org.voltdb.compiler.AdHocCompilerCache.LexicalBinding;
+import org.voltdb.planner.BoundPlan;
+import org.voltdb.planner.CorePlan;
+
+public class TestAdHocPlanCacheStore {
+
+    private static final byte[] HASH = new byte[20];
+    private static final byte[] OTHER_HASH = new byte[20];
+    static {
+        Arrays.fill(HASH, (byte) 1);
+        Arrays.fill(OTHER_HASH, (byte) 2);
+    }
+
+    private static final String SQL = "SELECT A FROM T1 WHERE ID = 5;";
+    private static final String TOKEN = "parsed token";
+    private static final String LEXICAL_KEY = "SELECT A FROM T1 WHERE ID = ?I ;";
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private AdHocCompilerCache m_cache;
+
+    @Before
+    public void setUp() {
+        m_cache = new AdHocCompilerCache(10, 10);
+        CorePlan core = new CorePlan(new byte[] { 1, 2, 3 }, null,
+                                     new byte[20], null,
+                                     false, true,
+                                     new VoltType[] { VoltType.BIGINT },
+                                     HASH);
+        core.setPartitioningParamIndex(0);
+        Set<String> tables = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        tables.add("T1");
+        core.setTablesUsed(tables);
+        AdHocPlannedStatement stmt = new AdHocPlannedStatement(SQL.getBytes(Constants.UTF8ENCODING),
+                                                               core,
+                                                               ParameterSet.fromArrayNoCopy(5L),
+                                                               null);
+        m_cache.put(SQL, TOKEN, stmt, new String[] { "5" }, false, false);
+        m_cache.putLexicalKey(LEXICAL_KEY, new LexicalBinding(TOKEN, new int[] { 0 }));
+    }
+
+    private AdHocPlanCacheStore store(int hostId, String version) {
+        return new AdHocPlanCacheStore(tmp.getRoot(), hostId, version);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        AdHocPlanCacheStore store = store(0, "8.4");
+        store.save(m_cache, HASH);
+        assertTrue(store.fileFor(HASH).exists());
+
+        AdHocCompilerCache loaded = new AdHocCompilerCache(10, 10);
+        store.load(loaded, HASH);
+        assertEquals(1, loaded.getLiteralCacheSize());
+        assertEquals(1, loaded.getCoreCacheSize());
+        assertEquals(2, loaded.getWarmLoadedCount());
+
+        AdHocPlannedStatement stmt = loaded.getWithSQL(SQL);
+        assertNotNull(stmt);
+        assertEquals(m_cache.getWithSQL(SQL), stmt);
+        assertTrue(stmt.core.isWarmLoaded());
+        assertTrue(stmt.core.wasPlannedAgainstHash(HASH));
+        assertEquals(0, stmt.getPartitioningParameterIndex());
+        assertEquals(5L, stmt.getPartitioningParameterValue());
+        assertTrue(stmt.core.getTablesUsed().contains("t1"));
+
+        List<BoundPlan> variants = loaded.getWithParsedToken(TOKEN);
+        assertEquals(1, variants.size());
+        // the L1 and L2 entries still share their plan
+        assertSame(stmt.core, variants.get(0).m_core);
+
+        LexicalBinding binding = loaded.getWithLexicalKey(LEXICAL_KEY);
+        assertNotNull(binding);
+        assertEquals(TOKEN, binding.m_parsedToken);
+    }
+
+    @Test
+    public void testOnlyMatchingFilesAreLoaded() throws Exception {
+        store(0, "8.4").save(m_cache, HASH);
+
+        // another catalog
+        AdHocCompilerCache loaded = new AdHocCompilerCache(10, 10);
+        store(0, "8.4").load(loaded, OTHER_HASH);
+        assertEquals(0, loaded.getLiteralCacheSize());
+
+        // another version
+        store(0, "8.5").load(loaded, HASH);
+        assertEquals(0, loaded.getLiteralCacheSize());
+
+        // garbage is skipped
+        File other = store(1, "8.4").fileFor(HASH);
+        Files.write(other.toPath(), new byte[] { 1, 2, 3 });
+        store(0, "8.4").load(loaded, HASH);
+        assertEquals(1, loaded.getLiteralCacheSize());
+        assertNull(loaded.getWithSQL("SELECT * FROM T2;"));
+    }
+
+    @Test
+    public void testLoadInBackground() throws Exception {
+        AdHocPlanCacheStore store = store(0, "8.4");
+        store.save(m_cache, HASH);
+
+        AdHocCompilerCache loaded = new AdHocCompilerCache(10, 10);
+        Future<?> pending;
+        synchronized (store) {
+            // the load can't start while the store is held
+            pending = store.loadAsync(loaded, HASH);
+            assertEquals(0, loaded.getLiteralCacheSize());
+
+            // nor can the cache be saved over the file it is going to read
+            loaded.putLexicalKey("SELECT B FROM T1 ;", new LexicalBinding(TOKEN, new int[0]));
+            store.save(loaded, HASH);
+        }
+        pending.get();
+        assertEquals(1, loaded.getLiteralCacheSize());
+        assertNotNull(loaded.getWithSQL(SQL));
+
+        AdHocCompilerCache reloaded = new AdHocCompilerCache(10, 10);
+        store.load(reloaded, HASH);
+        assertEquals(1, reloaded.getLiteralCacheSize());
+    }
+
+    @Test
+    public void testPlansAreSharedBetweenHosts() throws Exception {
+        store(1, "8.4").save(m_cache, HASH);
+
+        // host 0 merges the plans host 1 saved into its own cache when it saves
+        AdHocCompilerCache local = new AdHocCompilerCache(10, 10);
+        AdHocPlanCacheStore store = store(0, "8.4");
+        store.save(local, HASH);
+        assertFalse(store.fileFor(HASH).exists());
+        assertEquals(1, local.getLiteralCacheSize());
+        assertEquals(2, local.getWarmLoadedCount());
+
+        // and does not merge the same file twice
+        store.save(local, HASH);
+        assertEquals(2, local.getWarmLoadedCount());
+    }
+}
@@ -0,0 +1,185 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.iv2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TestMpRoSitePoolSizer {
+
+    private static final long MS = 1000000L;
+    private static final long GROW = MpRoSitePoolSizer.GROW_INTERVAL_NANOS;
+    private static final long SHRINK = MpRoSitePoolSizer.SHRINK_AFTER_NANOS;
+
+    // Start work until the limit, then report it waiting
+    private static boolean fillAndWait(MpRoSitePoolSizer sizer, long now) {
+        int limit = sizer.getLimit();
+        sizer.workStarted(limit, limit, now);
+        return sizer.workWaiting(true, 1, now);
+    }
+
+    @Test
+    public void testGrowsWhileWorkWaits() {
+        long now = 0;
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(2, 4, now);
+        assertEquals(2, sizer.getLimit());
+
+        // a free site, nothing to do
+        sizer.workStarted(1, 2, now);
+        assertFalse(sizer.workWaiting(true, 1, now));
+        assertEquals(2, sizer.getLimit());
+
+        assertTrue(fillAndWait(sizer, now));
+        assertEquals(3, sizer.getLimit());
+        // not again right away
+        assertFalse(fillAndWait(sizer, now + 1));
+        assertEquals(3, sizer.getLimit());
+
+        now += GROW;
+        assertTrue(fillAndWait(sizer, now));
+        assertEquals(4, sizer.getLimit());
+        now += GROW;
+        assertFalse(fillAndWait(sizer, now));
+        assertEquals(4, sizer.getLimit());
+
+        MpRoSitePoolSizer.Counters c = sizer.getCounters(false, now);
+        assertEquals(2, c.m_grows);
+        assertEquals(5, c.m_waits);
+        assertEquals(4, c.m_maxBusy);
+    }
+
+    @Test
+    public void testStopsGrowingWhenLatencyRises() {
+        long now = 0;
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(1, 10, now);
+        sizer.workCompleted(MS, 0, 1, now);
+        assertTrue(fillAndWait(sizer, now));
+        assertEquals(2, sizer.getLimit());
+
+        // more concurrency made every transaction much slower
+        for (int i = 0; i < 20; i++) {
+            sizer.workCompleted(10 * MS, 1, 2, now);
+        }
+        now += GROW;
+        assertFalse(fillAndWait(sizer, now));
+        assertEquals(2, sizer.getLimit());
+
+        // the next adjustment takes the current latency as the baseline
+        assertFalse(sizer.adjust(now));
+        now += GROW;
+        assertTrue(fillAndWait(sizer, now));
+        assertEquals(3, sizer.getLimit());
+    }
+
+    @Test
+    public void testShrinksToRecentPeak() {
+        long now = 0;
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(2, 10, now);
+        for (int i = 0; i < 6; i++) {
+            now += GROW;
+            assertTrue(fillAndWait(sizer, now));
+        }
+        assertEquals(8, sizer.getLimit());
+
+        // the load drops to 3 concurrent transactions, the first window still saw 7
+        sizer.workCompleted(MS, 3, 8, now);
+        now += SHRINK;
+        assertTrue(sizer.adjust(now));
+        assertEquals(7, sizer.getLimit());
+        now += SHRINK;
+        assertTrue(sizer.adjust(now));
+        assertEquals(3, sizer.getLimit());
+
+        // never below the minimum
+        sizer.workCompleted(MS, 0, 3, now);
+        now += SHRINK;
+        sizer.adjust(now);
+        now += SHRINK;
+        assertTrue(sizer.adjust(now));
+        assertEquals(2, sizer.getLimit());
+        assertEquals(3, sizer.getCounters(false, now).m_shrinks);
+    }
+
+    @Test
+    public void testGrowsByWaitingWork() {
+        long now = 0;
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(1, 20, now);
+        // a burst of 8 reads finds the single site busy
+        sizer.workStarted(1, 1, now);
+        assertTrue(sizer.workWaiting(true, 8, now));
+        assertEquals(9, sizer.getLimit());
+
+        // never past the maximum
+        now += GROW;
+        sizer.workStarted(9, 9, now);
+        assertTrue(sizer.workWaiting(true, 50, now));
+        assertEquals(20, sizer.getLimit());
+        assertEquals(2, sizer.getCounters(false, now).m_grows);
+    }
+
+    @Test
+    public void testCountsEachWaitOnce() {
+        long now = 0;
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(1, 1, now);
+        sizer.workStarted(1, 1, now);
+        assertFalse(sizer.workWaiting(true, 1, now));
+        // the same work retrying isn't another wait
+        for (int i = 0; i < 10; i++) {
+            now += GROW;
+            assertFalse(sizer.workWaiting(false, 1, now));
+        }
+        assertEquals(1, sizer.getCounters(false, now).m_waits);
+    }
+
+    @Test
+    public void testConfigureMovesLimitInsideBounds() {
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(1, 20, 0);
+        sizer.configure(4, 8);
+        assertEquals(4, sizer.getLimit());
+        sizer.configure(1, 2);
+        assertEquals(2, sizer.getLimit());
+        assertEquals(1, sizer.getMinSize());
+        assertEquals(2, sizer.getMaxSize());
+    }
+
+    @Test
+    public void testUtilization() {
+        MpRoSitePoolSizer sizer = new MpRoSitePoolSizer(1, 4, 0);
+        sizer.sitesChanged(4, 0);
+        sizer.workStarted(1, 4, 0);
+        sizer.workCompleted(100 * MS, 0, 4, 100 * MS);
+        sizer.workStarted(3, 4, 100 * MS);
+        MpRoSitePoolSizer.Counters c = sizer.getCounters(true, 200 * MS);
+        // 1 of 4 sites busy for half the time, 3 of 4 the other half
+        assertEquals(0.5, (double) c.m_busyNanos / c.m_siteNanos, 0.0001);
+        assertEquals(1, c.m_work);
+        assertEquals(100 * MS, c.m_latencyNanos);
+        // the interval starts over
+        assertEquals(0, sizer.getCounters(true, 200 * MS).m_work);
+        assertEquals(1, sizer.getCounters(false, 200 * MS).m_work);
+    }
+}
@@ -24,6 +24,8 @@
 package org.voltdb.iv2;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -150,4 +152,62 @@ public class TestMpTransactionTaskQueue extends TestCase
         verify(m_MPpool).doWork(eq(readtxnid), any(TransactionTask.class));
         verify(m_MPpool).doWork(eq(readtxnid2), any(TransactionTask.class));
     }
+
+    // Reads waiting for a full pool go out when the pool makes room
+    @Test
+    public void testPoolGrowsForWaitingReads()
+    {
+        when(m_MPpool.canAcceptWork()).thenReturn(false);
+        TxnEgo txnId = TxnEgo.makeZero(MpInitiator.MP_INIT_PID).makeNext();
+        long waiting = txnId.getTxnId();
+        m_dut.offer(makeTransactionTask(waiting, true));
+        verify(m_MPpool).workWaiting(true, 1);
+        verify(m_MPpool, never()).doWork(eq(waiting), any(TransactionTask.class));
+
+        when(m_MPpool.workWaiting(anyBoolean(), anyInt())).thenReturn(true);
+        txnId = txnId.makeNext();
+        long next = txnId.getTxnId();
+        m_dut.offer(makeTransactionTask(next, true));
+        verify(m_MPpool).doWork(eq(waiting), any(TransactionTask.class));
+        verify(m_MPpool).doWork(eq(next), any(TransactionTask.class));
+    }
+
+    // A read waiting for a full pool is counted once, and the pool may grow by
+    // the number of reads waiting at the head of the backlog
+    @Test
+    public void testWaitingReadsCountedOnce()
+    {
+        when(m_MPpool.canAcceptWork()).thenReturn(false);
+        when(m_MPpool.getGrowthRoom()).thenReturn(10);
+        TxnEgo txnId = TxnEgo.makeZero(MpInitiator.MP_INIT_PID);
+        for (int i = 0; i < 3; i++) {
+            txnId = txnId.makeNext();
+            m_dut.offer(makeTransactionTask(txnId.getTxnId(), true));
+        }
+        verify(m_MPpool).workWaiting(true, 1);
+        verify(m_MPpool).workWaiting(false, 2);
+        verify(m_MPpool).workWaiting(false, 3);
+
+        // a write behind the reads doesn't count
+        txnId = txnId.makeNext();
+        m_dut.offer(makeTransactionTask(txnId.getTxnId(), false));
+        verify(m_MPpool, times(2)).workWaiting(false, 3);
+        verify(m_MPpool, times(1)).workWaiting(eq(true), anyInt());
+    }
+
+    // Reads that couldn't make the pool grow try again at the periodic adjustment
+    @Test
+    public void testAdjustRetriesWaitingReads()
+    {
+        when(m_MPpool.canAcceptWork()).thenReturn(false);
+        TxnEgo txnId = TxnEgo.makeZero(MpInitiator.MP_INIT_PID).makeNext();
+        long waiting = txnId.getTxnId();
+        m_dut.offer(makeTransactionTask(waiting, true));
+        verify(m_MPpool, never()).doWork(eq(waiting), any(TransactionTask.class));
+
+        when(m_MPpool.workWaiting(anyBoolean(), anyInt())).thenReturn(true);
+        m_dut.adjustSitePool();
+        verify(m_MPpool).adjust();
+        verify(m_MPpool).doWork(eq(waiting), any(TransactionTask.class));
+    }
 }
@@ -0,0 +1,172 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.iv2;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.voltcore.messaging.HandoffQueue.WaitStrategy;
+import org.voltdb.StarvationTracker;
+
+public class TestSiteTaskerQueue extends TestCase {
+
+    private static SiteTaskerQueue createQueue(WaitStrategy strategy) {
+        SiteTaskerQueue queue = new SiteTaskerQueue(0, strategy);
+        queue.setStarvationTracker(new StarvationTracker(0));
+        queue.setupQueueDepthTracker(0);
+        return queue;
+    }
+
+    private static SiteTasker task(final CountDownLatch ran) {
+        return new SiteTasker.SiteTaskerRunnable() {
+            @Override
+            void run() {
+                ran.countDown();
+            }
+        };
+    }
+
+    public void testHeadOfferTime() throws Exception {
+        SiteTaskerQueue queue = createQueue(WaitStrategy.BLOCK);
+        assertEquals(0, queue.getHeadOfferTime());
+        CountDownLatch ran = new CountDownLatch(3);
+        SiteTasker first = task(ran);
+        SiteTasker second = task(ran);
+        queue.offer(first);
+        assertEquals(first.getQueueOfferTime(), queue.getHeadOfferTime());
+        queue.offer(second);
+        assertEquals(first.getQueueOfferTime(), queue.getHeadOfferTime());
+        assertSame(first, queue.poll());
+        assertEquals(second.getQueueOfferTime(), queue.getHeadOfferTime());
+        assertSame(second, queue.take());
+        assertEquals(0, queue.getHeadOfferTime());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        // a task offered again is published again
+        queue.offer(first);
+        assertEquals(first.getQueueOfferTime(), queue.getHeadOfferTime());
+        assertSame(first, queue.poll());
+        assertEquals(0, queue.getHeadOfferTime());
+    }
+
+    public void testTakeFromOtherThreads() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            final SiteTaskerQueue queue = createQueue(strategy);
+            final CountDownLatch ran = new CountDownLatch(1000);
+            Thread site = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 1000; i++) {
+                            queue.take().run(null);
+                        }
+                    } catch (InterruptedException e) {}
+                }
+            };
+            site.start();
+            for (int i = 0; i < 1000; i++) {
+                queue.offer(task(ran));
+            }
+            assertTrue(ran.await(30, TimeUnit.SECONDS));
+            site.join();
+            assertEquals(0, queue.size());
+        }
+    }
+
+    /**
+     * Producers racing the site thread must never leave the head unpublished while
+     * tasks wait, nor leave a polled task published once the queue is empty.
+     */
+    public void testHeadOfferTimeUnderRaces() throws Exception {
+        final int producers = 4;
+        for (int round = 0; round < 50; round++) {
+            final SiteTaskerQueue queue = createQueue(WaitStrategy.BLOCK);
+            final CountDownLatch blocking = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final SiteTasker blocker = new SiteTasker.SiteTaskerRunnable() {
+                @Override
+                void run() {
+                    blocking.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {}
+                }
+            };
+            final CountDownLatch ran = new CountDownLatch(producers * 2000);
+            Thread site = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (;;) {
+                            SiteTasker task = queue.take();
+                            if (task == null) {
+                                return;
+                            }
+                            task.run(null);
+                        }
+                    } catch (InterruptedException e) {}
+                }
+            };
+            site.start();
+
+            // producers race the site thread draining, then keep offering while it is blocked
+            Thread[] threads = new Thread[producers];
+            for (int p = 0; p < producers; p++) {
+                threads[p] = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < 1000; i++) {
+                            queue.offer(task(ran));
+                        }
+                        try {
+                            blocking.await();
+                        } catch (InterruptedException e) {}
+                        for (int i = 0; i < 1000; i++) {
+                            queue.offer(task(ran));
+                        }
+                    }
+                };
+                threads[p].start();
+            }
+            queue.offer(blocker);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(queue.size() > 0);
+            assertTrue(queue.getHeadOfferTime() != 0);
+
+            release.countDown();
+            assertTrue(ran.await(30, TimeUnit.SECONDS));
+            // wait for the site thread to be done with the last task
+            while (queue.size() > 0) {
+                Thread.yield();
+            }
+            site.interrupt();
+            site.join();
+            assertEquals(0, queue.getHeadOfferTime());
+        }
+    }
+}
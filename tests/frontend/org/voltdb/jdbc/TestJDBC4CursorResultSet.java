@@ -0,0 +1,278 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureCallback;
+import org.voltdb.largequery.CursorManager;
+
+/**
+ * Reading result sets through server cursors, against a mocked client
+ * connection that keeps its cursors in a CursorManager.
+ */
+public class TestJDBC4CursorResultSet {
+
+    private static final String USER = "alice";
+
+    private JDBC4ClientConnection m_client;
+    private int m_rowCount = 0;
+    // parameters of the calls to the server, by procedure
+    private final List<Object[]> m_opens = new ArrayList<Object[]>();
+    private final List<Object[]> m_fetches = new ArrayList<Object[]>();
+    private final List<Object[]> m_closes = new ArrayList<Object[]>();
+    private int m_adHocs = 0;
+
+    private static Object[] params(InvocationOnMock invocation, int first) {
+        Object[] args = invocation.getArguments();
+        return Arrays.copyOfRange(args, first, args.length);
+    }
+
+    private VoltTable makeRows() {
+        VoltTable table = new VoltTable(new VoltTable.ColumnInfo("ID", VoltType.BIGINT));
+        for (int i = 0; i < m_rowCount; i++) {
+            table.addRow(i);
+        }
+        return table;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        m_client = mock(JDBC4ClientConnection.class);
+        doAnswer(new Answer<ClientResponse>() {
+            @Override
+            public ClientResponse answer(InvocationOnMock invocation) throws Throwable {
+                String procedure = (String) invocation.getArguments()[0];
+                Object[] params = params(invocation, 3);
+                if (procedure.equals("@AdHocCursor")) {
+                    m_opens.add(params);
+                    VoltTable[] opened = CursorManager.getInstance().open(0, USER, makeRows(), (Integer) params[1]);
+                    return new ClientResponseImpl(ClientResponse.SUCCESS, opened, null);
+                }
+                assertEquals("@AdHoc", procedure);
+                m_adHocs++;
+                return new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[] { makeRows() }, null);
+            }
+        }).when(m_client).execute(anyString(), anyLong(), any(TimeUnit.class), anyVararg());
+
+        doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                ProcedureCallback callback = (ProcedureCallback) invocation.getArguments()[0];
+                assertEquals("@CursorFetch", invocation.getArguments()[3]);
+                Object[] params = params(invocation, 4);
+                long cursorId = (Long) params[0];
+                if ((Byte) params[1] != 0) {
+                    m_closes.add(params);
+                    CursorManager.getInstance().close(cursorId, USER);
+                    callback.clientCallback(new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[0], null));
+                    return true;
+                }
+                m_fetches.add(params);
+                VoltTable[] page = CursorManager.getInstance().fetch(cursorId, USER);
+                if (page == null) {
+                    callback.clientCallback(new ClientResponseImpl(ClientResponse.GRACEFUL_FAILURE, new VoltTable[0],
+                            "Cursor " + cursorId + " does not exist or has expired."));
+                }
+                else {
+                    callback.clientCallback(new ClientResponseImpl(ClientResponse.SUCCESS, page, null));
+                }
+                return true;
+            }
+        }).when(m_client).executeAsync(any(ProcedureCallback.class), anyLong(), any(TimeUnit.class),
+                anyString(), anyVararg());
+    }
+
+    private JDBC4Connection connect() {
+        return new JDBC4Connection(m_client, new Properties());
+    }
+
+    private Statement createForwardOnly() throws SQLException {
+        return connect().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Test
+    public void testPagesInOrder() throws Exception {
+        m_rowCount = 1050;
+        int openCursors = CursorManager.getInstance().getCursorCount();
+        Statement stmt = createForwardOnly();
+        stmt.setFetchSize(100);
+        ResultSet rs = stmt.executeQuery("select id from t");
+        assertEquals(ResultSet.TYPE_FORWARD_ONLY, rs.getType());
+        assertEquals(100, rs.getFetchSize());
+        assertEquals(0, rs.getRow());
+
+        int next = 0;
+        while (rs.next()) {
+            assertEquals(next, rs.getLong(1));
+            assertEquals(next + 1, rs.getRow());
+            assertEquals(next == 1049, rs.isLast());
+            next++;
+        }
+        assertEquals(1050, next);
+        assertTrue(rs.isAfterLast());
+        assertFalse(rs.next());
+
+        assertEquals(1, m_opens.size());
+        assertArrayEquals(new Object[] { "select id from t;", 100 }, m_opens.get(0));
+        assertEquals(10, m_fetches.size());
+        assertEquals(0, m_adHocs);
+        rs.close();
+        // the cursor closed itself after its last page
+        assertEquals(0, m_closes.size());
+        assertEquals(openCursors, CursorManager.getInstance().getCursorCount());
+    }
+
+    @Test
+    public void testPreparedStatementParameters() throws Exception {
+        m_rowCount = 30;
+        PreparedStatement stmt = connect().prepareStatement("select id from t where id > ? and id < ?",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(10);
+        stmt.setInt(1, 5);
+        stmt.setInt(2, 50);
+        ResultSet rs = stmt.executeQuery();
+        int rows = 0;
+        while (rs.next()) {
+            rows++;
+        }
+        assertEquals(30, rows);
+        assertEquals(1, m_opens.size());
+        assertArrayEquals(new Object[] { "select id from t where id > ? and id < ?;", 10, 5, 50 }, m_opens.get(0));
+        assertEquals(2, m_fetches.size());
+    }
+
+    @Test
+    public void testNoFetchSizeReadsAllRows() throws Exception {
+        m_rowCount = 1050;
+        Statement stmt = connect().createStatement();
+        ResultSet rs = stmt.executeQuery("select id from t");
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+        assertTrue(rs.last());
+        assertEquals(1050, rs.getRow());
+        assertEquals(1, m_adHocs);
+        assertEquals(0, m_opens.size());
+    }
+
+    @Test
+    public void testScrollableIgnoresFetchSize() throws Exception {
+        m_rowCount = 1050;
+        Statement stmt = connect().createStatement();
+        stmt.setFetchSize(100);
+        ResultSet rs = stmt.executeQuery("select id from t");
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+        assertTrue(rs.last());
+        assertEquals(1050, rs.getRow());
+        assertTrue(rs.absolute(1));
+        assertEquals(1, m_adHocs);
+        assertEquals(0, m_opens.size());
+    }
+
+    @Test
+    public void testCloseReleasesCursor() throws Exception {
+        m_rowCount = 1000;
+        int openCursors = CursorManager.getInstance().getCursorCount();
+        Statement stmt = createForwardOnly();
+        stmt.setFetchSize(100);
+        ResultSet rs = stmt.executeQuery("select id from t");
+        for (int i = 0; i < 150; i++) {
+            assertTrue(rs.next());
+        }
+        assertEquals(openCursors + 1, CursorManager.getInstance().getCursorCount());
+        rs.close();
+        assertTrue(rs.isClosed());
+        assertEquals(1, m_closes.size());
+        assertEquals(openCursors, CursorManager.getInstance().getCursorCount());
+    }
+
+    @Test
+    public void testMaxRowsStopsFetching() throws Exception {
+        m_rowCount = 1000;
+        int openCursors = CursorManager.getInstance().getCursorCount();
+        Statement stmt = createForwardOnly();
+        stmt.setFetchSize(100);
+        stmt.setMaxRows(250);
+        ResultSet rs = stmt.executeQuery("select id from t");
+        int rows = 0;
+        while (rs.next()) {
+            rows++;
+        }
+        assertEquals(250, rows);
+        // the pages holding rows 100 to 299
+        assertEquals(2, m_fetches.size());
+        assertEquals(1, m_closes.size());
+        assertEquals(openCursors, CursorManager.getInstance().getCursorCount());
+    }
+
+    @Test
+    public void testForwardOnly() throws Exception {
+        m_rowCount = 300;
+        Statement stmt = createForwardOnly();
+        stmt.setFetchSize(100);
+        ResultSet rs = stmt.executeQuery("select id from t");
+        assertTrue(rs.next());
+        try {
+            rs.previous();
+            fail();
+        }
+        catch (SQLFeatureNotSupportedException e) {
+        }
+        try {
+            rs.absolute(1);
+            fail();
+        }
+        catch (SQLFeatureNotSupportedException e) {
+        }
+        rs.close();
+    }
+}
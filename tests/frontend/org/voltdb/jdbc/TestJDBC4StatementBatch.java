@@ -0,0 +1,296 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.voltdb.ClientResponseImpl;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+import org.voltdb.client.ClientResponse;
+import org.voltdb.client.ProcedureCallback;
+
+/**
+ * Pipelined executeBatch against a mocked client connection, which answers
+ * with the number of the statement as update count unless told to fail it.
+ */
+public class TestJDBC4StatementBatch {
+
+    private JDBC4ClientConnection m_client;
+    // callbacks of the statements sent and not yet answered
+    private final List<ProcedureCallback> m_pending = new ArrayList<ProcedureCallback>();
+    // how many statements were unanswered when each statement was sent
+    private final List<Integer> m_pendingAtSend = new ArrayList<Integer>();
+    private int m_sent = 0;
+    private int m_maxInFlight = 0;
+    private int m_failAt = -1;
+    private volatile boolean m_stopServer = false;
+
+    @Before
+    public void setUp() throws Exception {
+        m_client = mock(JDBC4ClientConnection.class);
+        doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                synchronized (TestJDBC4StatementBatch.this) {
+                    m_pendingAtSend.add(m_pending.size());
+                    m_pending.add((ProcedureCallback) invocation.getArguments()[0]);
+                    m_sent++;
+                    m_maxInFlight = Math.max(m_maxInFlight, m_pending.size());
+                    // answer the oldest once the server holds its window
+                    if (m_pending.size() == m_window) {
+                        answerOldest();
+                    }
+                }
+                return true;
+            }
+        }).when(m_client).executeAsync(any(ProcedureCallback.class), anyLong(), any(TimeUnit.class),
+                anyString(), anyVararg());
+    }
+
+    // how many statements the mocked server holds before answering
+    private int m_window = 1;
+    private int m_answered = 0;
+
+    private void answerOldest() throws Exception {
+        ProcedureCallback cb = m_pending.remove(0);
+        int index = m_answered++;
+        ClientResponse response;
+        if (index == m_failAt) {
+            response = new ClientResponseImpl(ClientResponse.GRACEFUL_FAILURE, new VoltTable[0], "constraint violation");
+        }
+        else {
+            VoltTable table = new VoltTable(new VoltTable.ColumnInfo("modified_tuples", VoltType.BIGINT));
+            table.addRow(index);
+            response = new ClientResponseImpl(ClientResponse.SUCCESS, new VoltTable[] { table }, null);
+        }
+        cb.clientCallback(response);
+    }
+
+    private JDBC4Connection connect(int inFlight, int serverWindow) {
+        Properties props = new Properties();
+        props.setProperty(JDBC4Connection.BATCH_INFLIGHT, String.valueOf(inFlight));
+        m_window = serverWindow;
+        return new JDBC4Connection(m_client, props);
+    }
+
+    private static int[] expectedCounts(int count) {
+        int[] counts = new int[count];
+        for (int i = 0; i < count; i++) {
+            counts[i] = i;
+        }
+        return counts;
+    }
+
+    @Test
+    public void testPipelinedCountsInOrder() throws Exception {
+        JDBC4Connection conn = connect(16, 8);
+        PreparedStatement stmt = conn.prepareStatement("insert into t values (?)");
+        for (int i = 0; i < 100; i++) {
+            stmt.setInt(1, i);
+            stmt.addBatch();
+        }
+        Thread server = startServer();
+        int[] counts = stmt.executeBatch();
+        stopServer(server);
+        assertArrayEquals(expectedCounts(100), counts);
+        assertEquals(100, m_sent);
+        assertTrue(m_maxInFlight >= 8 && m_maxInFlight <= 16);
+        assertEquals(99 * 100 / 2, stmt.getUpdateCount());
+    }
+
+    @Test
+    public void testWindowOfOneIsSequential() throws Exception {
+        JDBC4Connection conn = connect(1, 1);
+        PreparedStatement stmt = conn.prepareStatement("insert into t values (?)");
+        for (int i = 0; i < 10; i++) {
+            stmt.setInt(1, i);
+            stmt.addBatch();
+        }
+        assertArrayEquals(expectedCounts(10), stmt.executeBatch());
+        assertEquals(1, m_maxInFlight);
+    }
+
+    @Test
+    public void testDefaultIsSequential() throws Exception {
+        m_window = 1;
+        JDBC4Connection conn = new JDBC4Connection(m_client, new Properties());
+        PreparedStatement stmt = conn.prepareStatement("insert into t values (?)");
+        for (int i = 0; i < 100; i++) {
+            stmt.setInt(1, i);
+            stmt.addBatch();
+        }
+        assertArrayEquals(expectedCounts(100), stmt.executeBatch());
+        assertEquals(1, m_maxInFlight);
+    }
+
+    @Test
+    public void testDifferentStatementsRunInOrder() throws Exception {
+        JDBC4Connection conn = connect(16, 8);
+        Statement stmt = conn.createStatement();
+        for (int i = 0; i < 10; i++) {
+            stmt.addBatch("insert into t values (" + i + ")");
+            stmt.addBatch("delete from t where a = " + i);
+        }
+        Thread server = startServer();
+        assertArrayEquals(expectedCounts(20), stmt.executeBatch());
+        stopServer(server);
+        assertEquals(1, m_maxInFlight);
+    }
+
+    @Test
+    public void testStatementChangeWaitsForRun() throws Exception {
+        JDBC4Connection conn = connect(16, 4);
+        PreparedStatement stmt = conn.prepareStatement("insert into t values (?)");
+        for (int i = 0; i < 8; i++) {
+            stmt.setInt(1, i);
+            stmt.addBatch();
+        }
+        stmt.addBatch("delete from t");
+        Thread server = startServer();
+        assertArrayEquals(expectedCounts(9), stmt.executeBatch());
+        stopServer(server);
+        // the delete was only sent once all inserts were answered
+        assertEquals(9, m_sent);
+        assertEquals(0, (int) m_pendingAtSend.get(8));
+        assertTrue(m_maxInFlight >= 4 && m_maxInFlight <= 8);
+    }
+
+    @Test
+    public void testFailureStopsSending() throws Exception {
+        // sequential: the counts cover the statements before the failed one
+        JDBC4Connection conn = connect(1, 1);
+        m_failAt = 3;
+        Statement stmt = conn.createStatement();
+        for (int i = 0; i < 10; i++) {
+            stmt.addBatch("insert into t values (" + i + ")");
+        }
+        try {
+            stmt.executeBatch();
+            fail();
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new int[] { 0, 1, 2 }, e.getUpdateCounts());
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+        assertEquals(4, m_sent);
+        // the batch is cleared either way
+        assertEquals(0, stmt.executeBatch().length);
+    }
+
+    @Test
+    public void testFailureWithStatementsInFlight() throws Exception {
+        JDBC4Connection conn = connect(4, 4);
+        m_failAt = 5;
+        PreparedStatement stmt = conn.prepareStatement("insert into t values (?)");
+        for (int i = 0; i < 20; i++) {
+            stmt.setInt(1, i);
+            stmt.addBatch();
+        }
+        Thread server = startServer();
+        try {
+            stmt.executeBatch();
+            fail();
+        } catch (BatchUpdateException e) {
+            stopServer(server);
+            // the whole batch runs, and every statement reports its count
+            int[] counts = e.getUpdateCounts();
+            assertEquals(20, m_sent);
+            assertEquals(20, counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(i == 5 ? Statement.EXECUTE_FAILED : i, counts[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testEveryFailureIsReportedWhenPipelined() throws Exception {
+        JDBC4Connection conn = connect(4, 1);
+        m_failAt = 2;
+        Statement stmt = conn.createStatement();
+        // different statements run one at a time even when pipelined
+        for (int i = 0; i < 3; i++) {
+            stmt.addBatch("insert into t values (" + i + ")");
+            stmt.addBatch("delete from t where a = " + i);
+        }
+        try {
+            stmt.executeBatch();
+            fail();
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new int[] { 0, 1, Statement.EXECUTE_FAILED, 3, 4, 5 }, e.getUpdateCounts());
+        }
+        assertEquals(6, m_sent);
+        assertEquals(1, m_maxInFlight);
+    }
+
+    // Answers every pending statement, as the batch waits for the last ones
+    private Thread startServer() {
+        Thread server = new Thread() {
+            @Override
+            public void run() {
+                while (!m_stopServer) {
+                    try {
+                        synchronized (TestJDBC4StatementBatch.this) {
+                            while (!m_pending.isEmpty()) {
+                                answerOldest();
+                            }
+                        }
+                        Thread.sleep(1);
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            }
+        };
+        server.setDaemon(true);
+        server.start();
+        return server;
+    }
+
+    private void stopServer(Thread server) throws InterruptedException {
+        m_stopServer = true;
+        server.join();
+    }
+}
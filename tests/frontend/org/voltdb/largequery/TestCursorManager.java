@@ -0,0 +1,367 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.largequery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+import org.voltdb.utils.VoltFile;
+
+public class TestCursorManager {
+
+    private static final String USER = "alice";
+
+    private Path m_tempDir = null;
+
+    @After
+    public void tearDown() throws IOException {
+        if (m_tempDir != null) {
+            LargeBlockManager.shutdownForTest();
+            VoltFile.recursivelyDelete(m_tempDir.toFile());
+            m_tempDir = null;
+        }
+    }
+
+    private Path startLargeBlockManager() throws IOException {
+        m_tempDir = Files.createTempDirectory("TestCursorManager");
+        Path swapPath = m_tempDir.resolve("large_query_swap");
+        Files.createDirectory(swapPath);
+        LargeBlockManager.startup(swapPath);
+        return swapPath;
+    }
+
+    private static VoltTable makeRows(int count) {
+        return makeRows(0, count);
+    }
+
+    private static VoltTable makeRows(int first, int count) {
+        VoltTable table = new VoltTable(new VoltTable.ColumnInfo("ID", VoltType.BIGINT),
+                                        new VoltTable.ColumnInfo("NAME", VoltType.STRING));
+        for (int i = first; i < first + count; i++) {
+            table.addRow(i, "row " + i);
+        }
+        return table;
+    }
+
+    // Streams the rows to a new cursor the way the EE does, in chunks of the given sizes
+    private static long streamChunks(CursorManager cursors, int hostId, int... chunkSizes) {
+        long cursorId = 0;
+        int first = 0;
+        for (int chunkSize : chunkSizes) {
+            VoltTable rows = makeRows(first, chunkSize);
+            ByteBuffer buf = ByteBuffer.allocate(rows.getSerializedSize());
+            rows.flattenToBuffer(buf);
+            long id = cursors.addChunk(hostId, cursorId, buf);
+            if (cursorId != 0) {
+                assertEquals(cursorId, id);
+            }
+            cursorId = id;
+            first += chunkSize;
+        }
+        return cursorId;
+    }
+
+    private static long cursorId(VoltTable[] page) {
+        return page[1].fetchRow(0).getLong("CURSOR_ID");
+    }
+
+    private static long rowsRemaining(VoltTable[] page) {
+        return page[1].fetchRow(0).getLong("ROWS_REMAINING");
+    }
+
+    // Reads the cursor to its end, checking that the rows come back in order
+    private static void readAll(CursorManager cursors, VoltTable[] opened, int rowCount, int fetchSize)
+            throws IOException {
+        long cursorId = cursorId(opened);
+        int next = 0;
+        VoltTable[] page = opened;
+        while (true) {
+            VoltTable rows = page[0];
+            assertEquals(Math.min(fetchSize, rowCount - next), rows.getRowCount());
+            while (rows.advanceRow()) {
+                assertEquals(next, rows.getLong(0));
+                assertEquals("row " + next, rows.getString(1));
+                next++;
+            }
+            assertEquals(rowCount - next, rowsRemaining(page));
+            if (rowsRemaining(page) == 0) {
+                assertEquals(0, cursorId(page));
+                break;
+            }
+            page = cursors.fetch(cursorId, USER);
+        }
+        assertEquals(rowCount, next);
+        assertNull(cursors.fetch(cursorId, USER));
+    }
+
+    @Test
+    public void testSinglePageKeepsNoCursor() throws IOException {
+        CursorManager cursors = new CursorManager();
+        VoltTable[] opened = cursors.open(3, USER, makeRows(10), 10);
+        assertEquals(10, opened[0].getRowCount());
+        assertEquals(0, cursorId(opened));
+        assertEquals(0, rowsRemaining(opened));
+        assertEquals(0, cursors.getCursorCount());
+
+        opened = cursors.open(3, USER, makeRows(0), 10);
+        assertEquals(0, opened[0].getRowCount());
+        assertEquals(0, cursors.getCursorCount());
+    }
+
+    @Test
+    public void testPagesInMemory() throws IOException {
+        CursorManager cursors = new CursorManager();
+        VoltTable[] opened = cursors.open(3, USER, makeRows(1001), 100);
+        assertEquals(3, CursorManager.getHostId(cursorId(opened)));
+        assertEquals(1, cursors.getCursorCount());
+        readAll(cursors, opened, 1001, 100);
+        assertEquals(0, cursors.getCursorCount());
+    }
+
+    @Test
+    public void testPagesSpilled() throws IOException {
+        Path swapPath = startLargeBlockManager();
+        CursorManager cursors = new CursorManager();
+        VoltTable[] opened = cursors.open(0, USER, makeRows(1000), 100);
+        // every page but the first two is stored as a block
+        assertEquals(8, countFiles(swapPath));
+        readAll(cursors, opened, 1000, 100);
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, countFiles(swapPath));
+    }
+
+    @Test
+    public void testCloseReleasesBlocks() throws IOException {
+        Path swapPath = startLargeBlockManager();
+        CursorManager cursors = new CursorManager();
+        VoltTable[] opened = cursors.open(0, USER, makeRows(1000), 100);
+        long cursorId = cursorId(opened);
+        // leave the load of the next page running
+        cursors.fetch(cursorId, USER);
+        cursors.fetch(cursorId, USER);
+        assertTrue(cursors.close(cursorId, USER));
+        assertFalse(cursors.close(cursorId, USER));
+        assertNull(cursors.fetch(cursorId, USER));
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, countFiles(swapPath));
+    }
+
+    @Test
+    public void testOnlyOwnerCanFetchOrClose() throws IOException {
+        CursorManager cursors = new CursorManager();
+        VoltTable[] opened = cursors.open(0, USER, makeRows(300), 100);
+        long cursorId = cursorId(opened);
+        assertNull(cursors.fetch(cursorId, "mallory"));
+        assertNull(cursors.fetch(cursorId, null));
+        assertFalse(cursors.close(cursorId, "mallory"));
+        assertEquals(1, cursors.getCursorCount());
+        readAll(cursors, opened, 300, 100);
+    }
+
+    @Test
+    public void testIdsAreNotSequential() throws IOException {
+        CursorManager cursors = new CursorManager();
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        boolean sequential = true;
+        for (int i = 0; i < 20; i++) {
+            long cursorId = cursorId(cursors.open(5, USER, makeRows(20), 10));
+            assertEquals(5, CursorManager.getHostId(cursorId));
+            assertTrue(ids.add(cursorId));
+            if (i > 0 && cursorId != previous + 1) {
+                sequential = false;
+            }
+            previous = cursorId;
+        }
+        assertFalse(sequential);
+        // the id of a cursor doesn't lead to the next one
+        assertNull(cursors.fetch(previous + 1, USER));
+    }
+
+    @Test
+    public void testMemoryLimit() throws IOException {
+        VoltTable rows = makeRows(1000);
+        CursorManager cursors = new CursorManager(rows.getSerializedSize() * 3 / 2);
+        VoltTable[] opened = cursors.open(0, USER, rows, 100);
+        long held = cursors.getHeldBytes();
+        assertTrue(held > 0);
+        try {
+            cursors.open(0, USER, makeRows(1000), 100);
+            fail("Opened a cursor over the memory limit");
+        }
+        catch (IllegalStateException expected) {
+        }
+        assertEquals(1, cursors.getCursorCount());
+        assertEquals(held, cursors.getHeldBytes());
+
+        // closing the cursor gives its memory back
+        assertTrue(cursors.close(cursorId(opened), USER));
+        assertEquals(0, cursors.getHeldBytes());
+        readAll(cursors, cursors.open(0, USER, makeRows(1000), 100), 1000, 100);
+        assertEquals(0, cursors.getHeldBytes());
+    }
+
+    @Test
+    public void testFailedOpenGivesPagesBack() throws IOException {
+        VoltTable rows = makeRows(1000);
+        // room for a few pages only
+        CursorManager cursors = new CursorManager(rows.getSerializedSize() / 4);
+        try {
+            cursors.open(0, USER, rows, 100);
+            fail("Opened a cursor over the memory limit");
+        }
+        catch (IllegalStateException expected) {
+        }
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, cursors.getHeldBytes());
+    }
+
+    @Test
+    public void testSpilledCursorHoldsOnePage() throws IOException {
+        startLargeBlockManager();
+        VoltTable rows = makeRows(1000);
+        CursorManager cursors = new CursorManager(rows.getSerializedSize() / 5);
+        // only the page after the first one stays in memory
+        VoltTable[] opened = cursors.open(0, USER, rows, 100);
+        assertTrue(cursors.getHeldBytes() < rows.getSerializedSize() / 5);
+        readAll(cursors, opened, 1000, 100);
+        assertEquals(0, cursors.getHeldBytes());
+    }
+
+    @Test
+    public void testStreamedChunksArePagedAcrossChunks() throws IOException {
+        CursorManager cursors = new CursorManager();
+        long cursorId = streamChunks(cursors, 3, 250, 250, 7);
+        assertEquals(3, CursorManager.getHostId(cursorId));
+        assertEquals(1, cursors.getCursorCount());
+        readAll(cursors, cursors.claim(cursorId, USER, 100), 507, 100);
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, cursors.getHeldBytes());
+    }
+
+    @Test
+    public void testStreamedChunksOfOnePage() throws IOException {
+        CursorManager cursors = new CursorManager();
+        long cursorId = streamChunks(cursors, 3, 100, 100, 100);
+        readAll(cursors, cursors.claim(cursorId, USER, 100), 300, 100);
+    }
+
+    @Test
+    public void testStreamedChunksSpilled() throws IOException {
+        Path swapPath = startLargeBlockManager();
+        CursorManager cursors = new CursorManager();
+        long cursorId = streamChunks(cursors, 0, 300, 300, 300, 100);
+        // every chunk but the first is stored as a block
+        assertEquals(3, countFiles(swapPath));
+        readAll(cursors, cursors.claim(cursorId, USER, 70), 1000, 70);
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, countFiles(swapPath));
+    }
+
+    @Test
+    public void testStreamedEmptyResult() throws IOException {
+        CursorManager cursors = new CursorManager();
+        long cursorId = streamChunks(cursors, 0, 0);
+        VoltTable[] claimed = cursors.claim(cursorId, USER, 100);
+        assertEquals(0, claimed[0].getRowCount());
+        assertEquals(2, claimed[0].getColumnCount());
+        assertEquals(0, cursorId(claimed));
+        assertEquals(0, rowsRemaining(claimed));
+        assertEquals(0, cursors.getCursorCount());
+    }
+
+    @Test
+    public void testStreamedCursorIsClaimedOnce() throws IOException {
+        CursorManager cursors = new CursorManager();
+        long cursorId = streamChunks(cursors, 0, 300);
+        // nobody owns the cursor until it is claimed
+        assertNull(cursors.fetch(cursorId, USER));
+        assertFalse(cursors.close(cursorId, USER));
+        VoltTable[] claimed = cursors.claim(cursorId, USER, 100);
+        assertNull(cursors.claim(cursorId, "mallory", 100));
+        assertNull(cursors.fetch(cursorId, "mallory"));
+        readAll(cursors, claimed, 300, 100);
+    }
+
+    @Test
+    public void testStreamedMemoryLimit() throws IOException {
+        VoltTable rows = makeRows(1000);
+        CursorManager cursors = new CursorManager(rows.getSerializedSize() * 3 / 2);
+        try {
+            streamChunks(cursors, 0, 500, 500, 500, 500);
+            fail("Streamed a result over the memory limit");
+        }
+        catch (IllegalStateException expected) {
+        }
+        // the partial result is dropped
+        assertEquals(0, cursors.getCursorCount());
+        assertEquals(0, cursors.getHeldBytes());
+    }
+
+    @Test
+    public void testStreamedCursorId() {
+        VoltTable handle = new VoltTable(new VoltTable.ColumnInfo(CursorManager.STREAMED_CURSOR_ID_COLUMN, VoltType.BIGINT),
+                                         new VoltTable.ColumnInfo("ROW_COUNT", VoltType.BIGINT));
+        handle.addRow(1234L, 10L);
+        assertEquals(1234L, CursorManager.getStreamedCursorId(handle));
+        assertEquals(0, CursorManager.getStreamedCursorId(makeRows(1)));
+    }
+
+    // Releasing blocks is asynchronous, so wait for the block manager to get to it
+    private static int countFiles(Path dir) throws IOException {
+        try {
+            LargeBlockManager.getInstance().submitTask(new LargeBlockTask() {
+                @Override
+                public LargeBlockResponse call() {
+                    return new LargeBlockResponse();
+                }
+            }).get();
+        }
+        catch (Exception e) {
+            throw new IOException(e);
+        }
+        int count = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (@SuppressWarnings("unused") Path path : stream) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
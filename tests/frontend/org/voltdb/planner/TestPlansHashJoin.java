@@ -0,0 +1,168 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.planner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json_voltpatches.JSONObject;
+import org.voltdb.expressions.AbstractExpression;
+import org.voltdb.expressions.TupleValueExpression;
+import org.voltdb.plannodes.AbstractPlanNode;
+import org.voltdb.plannodes.HashJoinPlanNode;
+import org.voltdb.plannodes.PlanNodeTree;
+import org.voltdb.types.JoinType;
+import org.voltdb.types.PlanNodeType;
+import org.voltdb.types.SortDirectionType;
+
+public class TestPlansHashJoin extends PlannerTestCase {
+
+    private boolean m_hashJoinWasEnabled;
+
+    @Override
+    protected void setUp() throws Exception {
+        m_hashJoinWasEnabled = SelectSubPlanAssembler.isHashJoinEnabled();
+        SelectSubPlanAssembler.setHashJoinEnabled(true);
+        setupSchema(TestPlansHashJoin.class.getResource("testplans-subqueries-ddl.sql"), "ddl", false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        SelectSubPlanAssembler.setHashJoinEnabled(m_hashJoinWasEnabled);
+        super.tearDown();
+    }
+
+    private HashJoinPlanNode findHashJoin(AbstractPlanNode root) {
+        List<AbstractPlanNode> hashJoins = root.findAllNodesOfType(PlanNodeType.HASHJOIN);
+        assertEquals(1, hashJoins.size());
+        return (HashJoinPlanNode) hashJoins.get(0);
+    }
+
+    private void checkKey(AbstractExpression key, String tableAlias, String columnName) {
+        assertTrue(key instanceof TupleValueExpression);
+        TupleValueExpression tve = (TupleValueExpression) key;
+        assertEquals(tableAlias, tve.getTableAlias());
+        assertEquals(columnName, tve.getColumnName());
+        // Each side's keys are evaluated against that side's tuple
+        assertEquals(0, tve.getTableIndex());
+    }
+
+    public void testSubqueryOnInnerSide() {
+        AbstractPlanNode pn = compile("SELECT R1.A, T1.D FROM R1 JOIN (SELECT C, D FROM R2 LIMIT 10) T1 ON T1.C = R1.C");
+        HashJoinPlanNode hj = findHashJoin(pn);
+        assertEquals(JoinType.INNER, hj.getJoinType());
+        assertEquals(PlanNodeType.SEQSCAN, hj.getChild(1).getPlanNodeType());
+        assertEquals(1, hj.getOuterHashExpressions().size());
+        checkKey(hj.getOuterHashExpressions().get(0), "R1", "C");
+        checkKey(hj.getInnerHashExpressions().get(0), "T1", "C");
+        // The equality stays in the join predicate
+        assertNotNull(hj.getJoinPredicate());
+        assertTrue(pn.toExplainPlanString().contains("HASH INNER JOIN"));
+
+        // All the equalities between the two sides are keys
+        pn = compile("SELECT R1.A, T1.D FROM R1 LEFT JOIN (SELECT A, C, D FROM R2 LIMIT 10) T1 " +
+                     "ON T1.C = R1.C AND R1.A = T1.A AND T1.D > R1.D");
+        hj = findHashJoin(pn);
+        assertEquals(JoinType.LEFT, hj.getJoinType());
+        assertEquals(2, hj.getOuterHashExpressions().size());
+        checkKey(hj.getOuterHashExpressions().get(1), "R1", "A");
+        checkKey(hj.getInnerHashExpressions().get(1), "T1", "A");
+    }
+
+    public void testJoinOnInnerSide() {
+        // R3 LEFT JOIN (R1 JOIN R2)
+        AbstractPlanNode pn = compile("SELECT * FROM R1 JOIN R2 ON R1.D = R2.D RIGHT JOIN R3 ON R3.C = R1.C");
+        HashJoinPlanNode hj = findHashJoin(pn);
+        assertEquals(JoinType.LEFT, hj.getJoinType());
+        assertEquals(PlanNodeType.NESTLOOP, hj.getChild(1).getPlanNodeType());
+        checkKey(hj.getOuterHashExpressions().get(0), "R3", "C");
+        checkKey(hj.getInnerHashExpressions().get(0), "R1", "C");
+    }
+
+    public void testNestLoopKept() {
+        // A persistent table on the inner side is scanned in place
+        AbstractPlanNode pn = compile("SELECT * FROM R1 JOIN R3 ON R1.C = R3.C");
+        assertEquals(0, pn.findAllNodesOfType(PlanNodeType.HASHJOIN).size());
+
+        // No equality to hash on
+        pn = compile("SELECT R1.A FROM R1 JOIN (SELECT C FROM R2 LIMIT 10) T1 ON T1.C > R1.C");
+        assertEquals(0, pn.findAllNodesOfType(PlanNodeType.HASHJOIN).size());
+        assertEquals(1, pn.findAllNodesOfType(PlanNodeType.NESTLOOP).size());
+
+        // Floats that compare equal may not hash the same
+        pn = compile("SELECT SR4.ID FROM SR4 JOIN (SELECT RATIO FROM SR4 LIMIT 10) T1 ON T1.RATIO = SR4.RATIO");
+        assertEquals(0, pn.findAllNodesOfType(PlanNodeType.HASHJOIN).size());
+    }
+
+    public void testDisabled() {
+        SelectSubPlanAssembler.setHashJoinEnabled(false);
+        AbstractPlanNode pn = compile("SELECT R1.A, T1.D FROM R1 JOIN (SELECT C, D FROM R2 LIMIT 10) T1 ON T1.C = R1.C");
+        assertEquals(0, pn.findAllNodesOfType(PlanNodeType.HASHJOIN).size());
+        assertEquals(1, pn.findAllNodesOfType(PlanNodeType.NESTLOOP).size());
+    }
+
+    public void testSingleOuterRowKeepsNestLoop() {
+        // The outer side is a unique key lookup, so the inner side is scanned once either way
+        AbstractPlanNode pn = compile("SELECT R4.A, T1.D FROM R4 LEFT JOIN (SELECT C, D FROM R2 LIMIT 10) T1 " +
+                                      "ON T1.C = R4.C WHERE R4.A = ?");
+        assertEquals(0, pn.findAllNodesOfType(PlanNodeType.HASHJOIN).size());
+        assertEquals(1, pn.findAllNodesOfType(PlanNodeType.NESTLOOP).size());
+
+        // A range of outer rows is worth hashing the inner side for
+        pn = compile("SELECT R4.A, T1.D FROM R4 LEFT JOIN (SELECT C, D FROM R2 LIMIT 10) T1 " +
+                     "ON T1.C = R4.C WHERE R4.A > ?");
+        findHashJoin(pn);
+    }
+
+    public void testLargeQueryLosesOuterOrder() {
+        // A large query may join in partitions, one at a time
+        AbstractPlanNode pn = compile("SELECT R4.A, T1.D FROM R4 LEFT JOIN (SELECT C, D FROM R2 LIMIT 10) T1 " +
+                                      "ON T1.C = R4.C WHERE R4.A > ?");
+        HashJoinPlanNode hj = findHashJoin(pn);
+        hj.setIsLargeQuery(true);
+        hj.resolveSortDirection();
+        assertEquals(SortDirectionType.INVALID, hj.getSortDirection());
+        assertFalse(hj.isOutputOrdered(new ArrayList<AbstractExpression>(), new ArrayList<SortDirectionType>()));
+        assertFalse(hj.toExplainPlanString().contains("HASH LEFT JOIN ("));
+    }
+
+    public void testJSONRoundTrip() throws Exception {
+        AbstractPlanNode pn = compile("SELECT R1.A, T1.D FROM R1 JOIN (SELECT A, C, D FROM R2 LIMIT 10) T1 " +
+                                      "ON T1.C = R1.C AND T1.A = R1.A");
+        PlanNodeTree pnt = new PlanNodeTree(pn);
+        String json = pnt.toJSONString();
+        PlanNodeTree loaded = new PlanNodeTree();
+        loaded.loadFromJSONPlan(new JSONObject(json), getDatabase());
+        HashJoinPlanNode original = findHashJoin(pn);
+        HashJoinPlanNode hj = findHashJoin(loaded.getRootPlanNode());
+        assertEquals(2, hj.getOuterHashExpressions().size());
+        assertEquals(2, hj.getInnerHashExpressions().size());
+        for (int ii = 0; ii < 2; ii++) {
+            assertEquals(((TupleValueExpression) original.getOuterHashExpressions().get(ii)).getColumnIndex(),
+                         ((TupleValueExpression) hj.getOuterHashExpressions().get(ii)).getColumnIndex());
+            assertEquals(((TupleValueExpression) original.getInnerHashExpressions().get(ii)).getColumnIndex(),
+                         ((TupleValueExpression) hj.getInnerHashExpressions().get(ii)).getColumnIndex());
+        }
+    }
+}
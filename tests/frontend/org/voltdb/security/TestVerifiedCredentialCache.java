@@ -0,0 +1,78 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.voltdb.client.ClientAuthScheme;
+
+public class TestVerifiedCredentialCache {
+
+    private final AtomicLong m_now = new AtomicLong(0);
+    private final byte[] m_hash = new byte[] { 1, 2, 3, 4 };
+
+    @Test
+    public void testOnlyExactCredentialsHit() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(1000, m_now::get);
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+
+        cache.verified("alice", ClientAuthScheme.HASH_SHA256, m_hash);
+        assertTrue(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA1, m_hash));
+        assertFalse(cache.isVerified("bob", ClientAuthScheme.HASH_SHA256, m_hash));
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, new byte[] { 1, 2, 3, 5 }));
+
+        // a new password replaces the old one
+        cache.verified("alice", ClientAuthScheme.HASH_SHA256, new byte[] { 9 });
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testExpiry() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(1000, m_now::get);
+        cache.verified("alice", ClientAuthScheme.HASH_SHA256, m_hash);
+
+        m_now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertTrue(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+
+        m_now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(0, m_now::get);
+        assertFalse(cache.isEnabled());
+        cache.verified("alice", ClientAuthScheme.HASH_SHA256, m_hash);
+        assertFalse(cache.isVerified("alice", ClientAuthScheme.HASH_SHA256, m_hash));
+    }
+}
@@ -1792,6 +1792,66 @@ public class TestCSVLoader {
         test_Interface(myOptions, myData, invalidLineCnt, validLineCnt);
     }
 
+    @Test
+    public void testParallelReaders() throws Exception {
+        String []myOptions = {
+                "-f" + path_csv,
+                "--reportdir=" + reportDir,
+                "--maxerrors=50",
+                "--user=",
+                "--password=",
+                "--port=",
+                "--separator=,",
+                "--quotechar=\"",
+                "--escape=\\",
+                "--skip=1",
+                "--readers=4",
+                "BlAh"
+        };
+        String currentTime = new TimestampType().toString();
+        String []myData = {
+                "1 ,1,1,11111111,first,1.10,1.11,"+currentTime+",POINT(1 1),\"POLYGON((0 0, 1 0, 0 1, 0 0))\"",
+                "2,2,2,222222,second,3.30,NULL,"+currentTime+",POINT(2 2),\"POLYGON((0 0, 2 0, 0 2, 0 0))\"",
+                "3,3,3,333333, third ,NULL, 3.33,"+currentTime+",POINT(3 3),\"POLYGON((0 0, 3 0, 0 3, 0 0))\"",
+                "4,4,4,444444, NULL ,4.40 ,4.44,"+currentTime+",POINT(4 4),\"POLYGON((0 0, 4 0, 0 4, 0 0))\"",
+                "5,5,5,5555555,  \"abcde\"g, 5.50, 5.55,"+currentTime+",POINT(5 5),\"POLYGON((0 0, 5 0, 0 5, 0 0))\"",
+                "6,6,NULL,666666, sixth, 6.60, 6.66,"+currentTime+",POINT(6 6),\"POLYGON((0 0, 6 0, 0 6, 0 0))\"",
+                "7,NULL,7,7777777, seventh, 7.70, 7.77,"+currentTime+",POINT(7 7),\"POLYGON((0 0, 7 0, 0 7, 0 0))\"",
+                "11, 1,1,\"1,000\",first,1.10,1.11,"+currentTime+",POINT(1 1),\"POLYGON((0 0, 8 0, 0 8, 0 0))\"",
+                //empty line
+                "",
+                //invalid lines below
+                "8, 8",
+                "9, NLL,9,\"1,000\",nine,1.10,1.11,"+currentTime+",POINT(9 9),\"POLYGON((0 0, 9 0, 0 9, 0 0))\"",
+                "12,n ull,12,12121212,twelveth,12.12,12.12"
+        };
+        int invalidLineCnt = 3;
+        int validLineCnt = 7;
+        // Split the small file into several chunks, one or two lines each
+        int chunkSize = CSVParallelFileReader.chunkSize;
+        CSVParallelFileReader.chunkSize = 100;
+        try {
+            test_Interface(myOptions, myData, invalidLineCnt, validLineCnt);
+        } finally {
+            CSVParallelFileReader.chunkSize = chunkSize;
+        }
+
+        // errors are reported against the line they were found on
+        BufferedReader csvlog = new BufferedReader(new FileReader(CSVLoader.pathLogfile));
+        List<String> errorLines = new ArrayList<String>();
+        String line;
+        while ((line = csvlog.readLine()) != null) {
+            if (line.startsWith("Invalid input on line ")) {
+                errorLines.add(line.substring("Invalid input on line ".length(), line.indexOf('.')));
+            }
+        }
+        csvlog.close();
+        assertEquals(3, errorLines.size());
+        assertTrue(errorLines.contains("10"));
+        assertTrue(errorLines.contains("11"));
+        assertTrue(errorLines.contains("12"));
+    }
+
     private void createCSVFile(String encoding) {
         String FILENAME = encoding+"_encoded_text.csv";
         BufferedWriter bw = null;
@@ -0,0 +1,91 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.HdrHistogram_voltpatches.AbstractHistogram;
+import org.junit.Test;
+import org.voltdb.StatsSelector;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+import org.voltdb.dtxn.LatencyHistogramStats;
+
+public class TestMetricsCache {
+
+    @Test
+    public void testMetricName() throws Exception {
+        assertEquals("p99_9", MetricsCache.metricName("P99.9"));
+        assertEquals("tuple_count", MetricsCache.metricName("TUPLE_COUNT"));
+        assertEquals("latency_histogram", MetricsCache.metricName(StatsSelector.LATENCY_HISTOGRAM.name()));
+    }
+
+    @Test
+    public void testRenderTable() throws Exception {
+        VoltTable table = new VoltTable(
+                new VoltTable.ColumnInfo("TIMESTAMP", VoltType.BIGINT),
+                new VoltTable.ColumnInfo("HOST_ID", VoltType.INTEGER),
+                new VoltTable.ColumnInfo("PROCEDURE", VoltType.STRING),
+                new VoltTable.ColumnInfo("STATEMENT", VoltType.STRING),
+                new VoltTable.ColumnInfo("INVOCATIONS", VoltType.BIGINT),
+                new VoltTable.ColumnInfo("AVG_EXECUTION_TIME", VoltType.FLOAT));
+        table.addRow(12345L, 0, "Insert\"Proc", null, 10L, 1.5);
+        table.addRow(12345L, 1, "Select", "sql0", 20L, null);
+
+        StringBuilder sb = new StringBuilder();
+        MetricsCache.renderTable(sb, StatsSelector.PROCEDURE, table);
+        String text = sb.toString();
+
+        assertFalse(text.contains("timestamp"));
+        assertTrue(text.contains("# TYPE voltdb_procedure_invocations gauge\n"));
+        assertTrue(text.contains("voltdb_procedure_invocations{host_id=\"0\",procedure=\"Insert\\\"Proc\"} 10\n"));
+        assertTrue(text.contains("voltdb_procedure_invocations{host_id=\"1\",procedure=\"Select\",statement=\"sql0\"} 20\n"));
+        assertTrue(text.contains("voltdb_procedure_avg_execution_time{host_id=\"0\",procedure=\"Insert\\\"Proc\"} 1.5\n"));
+        // null values produce no sample
+        assertFalse(text.contains("voltdb_procedure_avg_execution_time{host_id=\"1\""));
+    }
+
+    @Test
+    public void testRenderHistogram() throws Exception {
+        AbstractHistogram histogram = LatencyHistogramStats.constructHistogram(false);
+        histogram.recordValue(50);
+        histogram.recordValue(700);
+        histogram.recordValue(700);
+        histogram.recordValue(2000000);
+
+        StringBuilder sb = new StringBuilder();
+        MetricsCache.renderHistogram(sb, "voltdb_latency_microseconds", histogram);
+        String text = sb.toString();
+
+        assertTrue(text.startsWith("# TYPE voltdb_latency_microseconds histogram\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_bucket{le=\"100\"} 1\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_bucket{le=\"500\"} 1\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_bucket{le=\"1000\"} 3\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_bucket{le=\"1000000\"} 3\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_bucket{le=\"+Inf\"} 4\n"));
+        assertTrue(text.contains("voltdb_latency_microseconds_count 4\n"));
+    }
+}
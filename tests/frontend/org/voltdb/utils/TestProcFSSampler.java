@@ -0,0 +1,137 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.voltdb.utils.ProcFSSampler.TaskGroup;
+
+public class TestProcFSSampler {
+
+    private File m_proc;
+
+    @Before
+    public void setUp() throws IOException {
+        m_proc = Files.createTempDirectory("procfs").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        VoltFile.recursivelyDelete(m_proc);
+    }
+
+    private void write(String path, String contents) throws IOException {
+        File file = new File(m_proc, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String stat(int pid, String comm, long utime, long stime, int threads, long rssPages) {
+        return String.format("%d (%s) S 1 %d %d 0 -1 4194560 100 0 0 0 %d %d 0 0 20 0 %d 0 100 1000000 %d 18446744073709551615\n",
+                pid, comm, pid, pid, utime, stime, threads, rssPages);
+    }
+
+    @Test
+    public void testParseAndCharge() throws IOException {
+        write("stat", stat(100, "java", 250, 50, 2, 500));
+        write("status", "Name:\tjava\nVmHWM:\t  4096 kB\nVmRSS:\t  2048 kB\n");
+        write("auxv", "");
+        write("task/100/stat", stat(100, "SP 1 Site - 0:", 10, 5, 2, 500));
+        write("task/101/stat", stat(101, "a (b) c", 7, 0, 2, 500));
+
+        ProcFSSampler sampler = new ProcFSSampler(m_proc.getPath());
+        assertEquals(2048 * 1024, sampler.getRSS());
+        assertEquals(2500, sampler.getProcessUserMillis());
+        assertEquals(500, sampler.getProcessSystemMillis());
+        assertEquals(2, sampler.getProcessThreads());
+        // time used before the sampler started is not charged
+        assertEquals(0, sampler.getGroupCpuMillis(TaskGroup.SITE));
+        assertEquals(1, sampler.getGroupThreads(TaskGroup.SITE));
+        assertEquals(1, sampler.getGroupThreads(TaskGroup.OTHER));
+
+        write("task/100/stat", stat(100, "SP 1 Site - 0:", 25, 10, 2, 500));
+        write("task/101/stat", stat(101, "a (b) c", 9, 1, 2, 500));
+        sampler.sample();
+        assertEquals(200, sampler.getGroupCpuMillis(TaskGroup.SITE));
+        assertEquals(30, sampler.getGroupCpuMillis(TaskGroup.OTHER));
+
+        // a thread that renames itself is charged to its new group from then on
+        write("task/101/stat", stat(101, "ExportDataSourc", 10, 1, 2, 500));
+        sampler.sample();
+        assertEquals(10, sampler.getGroupCpuMillis(TaskGroup.EXPORT));
+        assertEquals(1, sampler.getGroupThreads(TaskGroup.EXPORT));
+        assertEquals(0, sampler.getGroupThreads(TaskGroup.OTHER));
+
+        // the time of a thread that exited stays charged
+        VoltFile.recursivelyDelete(new File(m_proc, "task/101"));
+        write("stat", stat(100, "java", 300, 60, 1, 500));
+        sampler.sample();
+        assertEquals(0, sampler.getGroupThreads(TaskGroup.EXPORT));
+        assertEquals(10, sampler.getGroupCpuMillis(TaskGroup.EXPORT));
+        assertEquals(1, sampler.getGroupThreads(TaskGroup.SITE));
+        sampler.close();
+    }
+
+    @Test
+    public void testThisProcess() throws Exception {
+        Assume.assumeTrue(ProcFSSampler.isAvailable());
+        ProcFSSampler sampler = new ProcFSSampler();
+        final CountDownLatch spun = new CountDownLatch(1);
+        final CountDownLatch sampled = new CountDownLatch(1);
+        // only live threads are seen, keep this one around until it was sampled
+        Thread busy = new Thread("SP 99 Site - 0:0") {
+            @Override
+            public void run() {
+                long end = System.nanoTime() + 300000000L;
+                while (System.nanoTime() < end) {
+                }
+                spun.countDown();
+                try {
+                    sampled.await();
+                } catch (InterruptedException e) {
+                }
+            }
+        };
+        busy.start();
+        spun.await();
+        sampler.sample();
+        sampled.countDown();
+        busy.join();
+        assertTrue(sampler.getRSS() > 0);
+        assertTrue(sampler.getProcessThreads() > 1);
+        assertTrue(sampler.getGroupCpuMillis(TaskGroup.SITE) > 0);
+        sampler.close();
+    }
+}
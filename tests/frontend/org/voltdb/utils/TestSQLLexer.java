@@ -23,8 +23,10 @@
 
 package org.voltdb.utils;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.hsqldb_voltpatches.HSQLDDLInfo;
@@ -95,6 +97,47 @@ public class TestSQLLexer {
         checkDDL("set abc=123", "set");
     }
 
+    private void checkLexicalKey(String sql, String expectKey, String... expectLiterals)
+    {
+        LexicalParameterization lexed = SQLLexer.parameterizeLiterals(sql);
+        assertNotNull(sql, lexed);
+        assertEquals(expectKey, lexed.getKey());
+        assertArrayEquals(expectLiterals, lexed.getLiterals());
+    }
+
+    @Test
+    public void testParameterizeLiterals()
+    {
+        checkLexicalKey("select * from t where a = 5 and b = 'x'",
+                "SELECT * FROM T WHERE A = ?I AND B = ?S", "5", "x");
+        // whitespace, comments and case don't matter
+        checkLexicalKey("SELECT *\n  FROM t -- the table\n WHERE a=6 /* and */ AND b = 'y'",
+                "SELECT * FROM T WHERE A = ?I AND B = ?S", "6", "y");
+        // quoted identifiers and string contents keep their case
+        checkLexicalKey("select \"Col\" from t where c = 'It''s'",
+                "SELECT \"Col\" FROM T WHERE C = ?S", "It's");
+        // integer literals are typed by magnitude like the parser does
+        checkLexicalKey("select a from t1 where id in (1, 2147483648)",
+                "SELECT A FROM T1 WHERE ID IN ( ?I , ?L )", "1", "2147483648");
+        checkLexicalKey("select t.a from t where t.b <= 0 order by t.a",
+                "SELECT T . A FROM T WHERE T . B <= ?I ORDER BY T . A", "0");
+        checkLexicalKey("select count(*) from t", "SELECT COUNT (*) FROM T");
+
+        // anything the lexer can't be sure about goes to the parser
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = ?"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 1.5"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = .5"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 1e3"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 007"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 12345678901234567890"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = X'0A'"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = timestamp '2018-01-01'"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 'a\\'b'"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = 'open"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t /* open"));
+        assertNull(SQLLexer.parameterizeLiterals("select * from t where a = '\u00e9' and \u00e9 = 1"));
+    }
+
     @Test
     public void testCheckPermitted()
     {
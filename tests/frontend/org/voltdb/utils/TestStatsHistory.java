@@ -0,0 +1,240 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.voltdb.StatsSelector;
+import org.voltdb.VoltTable;
+import org.voltdb.VoltType;
+
+public class TestStatsHistory {
+
+    private static final long START = 1500000000000L;
+
+    private static VoltTable snapshot(long timestamp, int rows, boolean extraColumn) {
+        List<VoltTable.ColumnInfo> columns = new ArrayList<>();
+        columns.add(new VoltTable.ColumnInfo("TIMESTAMP", VoltType.BIGINT));
+        columns.add(new VoltTable.ColumnInfo("HOST_ID", VoltType.INTEGER));
+        columns.add(new VoltTable.ColumnInfo("NAME", VoltType.STRING));
+        columns.add(new VoltTable.ColumnInfo("INVOCATIONS", VoltType.BIGINT));
+        columns.add(new VoltTable.ColumnInfo("PERCENT", VoltType.TINYINT));
+        columns.add(new VoltTable.ColumnInfo("LOAD", VoltType.FLOAT));
+        columns.add(new VoltTable.ColumnInfo("BLOB", VoltType.VARBINARY));
+        if (extraColumn) {
+            columns.add(new VoltTable.ColumnInfo("EXTRA", VoltType.BIGINT));
+        }
+        VoltTable table = new VoltTable(columns.toArray(new VoltTable.ColumnInfo[0]));
+        for (int i = 0; i < rows; i++) {
+            List<Object> row = new ArrayList<>();
+            row.add(timestamp);
+            row.add(0);
+            row.add(i % 3 == 0 ? null : "proc" + i);
+            row.add((timestamp - START) * (i + 1));
+            row.add(i % 4 == 0 ? null : (byte) (i * 7 % 100));
+            row.add(i % 5 == 0 ? null : timestamp / 1000.0 / (i + 1));
+            row.add(i % 2 == 0 ? null : new byte[] { (byte) i, 1, 2 });
+            if (extraColumn) {
+                row.add(42L);
+            }
+            table.addRow(row.toArray());
+        }
+        return table;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        StatsHistory history = new StatsHistory(new StatsSelector[] { StatsSelector.PROCEDURE }, 1 << 20, null, 0);
+        assertNull(history.query(StatsSelector.PROCEDURE, 0, Long.MAX_VALUE, 0));
+
+        VoltTable expected = null;
+        int rawBytes = 0;
+        for (int i = 0; i < 150; i++) {
+            long now = START + i * 10000;
+            VoltTable table = snapshot(now, 10, false);
+            rawBytes += table.getSerializedSize();
+            history.record(StatsSelector.PROCEDURE, now, table);
+            if (expected == null) {
+                expected = table;
+            } else {
+                table.resetRowPosition();
+                while (table.advanceRow()) {
+                    expected.add(table);
+                }
+            }
+        }
+
+        VoltTable result = history.query(StatsSelector.PROCEDURE, 0, Long.MAX_VALUE, 0);
+        assertEquals(expected.getRowCount(), result.getRowCount());
+        expected.resetRowPosition();
+        result.resetRowPosition();
+        while (expected.advanceRow()) {
+            assertTrue(result.advanceRow());
+            for (int column = 0; column < expected.getColumnCount(); column++) {
+                Object e = expected.get(column, expected.getColumnType(column));
+                boolean eNull = expected.wasNull();
+                Object r = result.get(column, result.getColumnType(column));
+                assertEquals(eNull, result.wasNull());
+                if (e instanceof byte[]) {
+                    assertArrayEquals((byte[]) e, (byte[]) r);
+                } else if (!eNull) {
+                    assertEquals(e, r);
+                }
+            }
+        }
+
+        // The counters move by the same amount every snapshot, so the history is much smaller
+        StatsHistoryBlock block = new StatsHistoryBlock("PROCEDURE", snapshot(START, 10, false));
+        for (int i = 0; i < StatsHistoryBlock.MAX_SNAPSHOTS; i++) {
+            block.append(START + i * 10000, snapshot(START + i * 10000, 10, false));
+        }
+        assertTrue(block.sizeInBytes() * 4 < rawBytes * StatsHistoryBlock.MAX_SNAPSHOTS / 150);
+    }
+
+    @Test
+    public void testRangeAndResolution() throws Exception {
+        StatsHistory history = new StatsHistory(new StatsSelector[] { StatsSelector.CPU }, 1 << 20, null, 0);
+        for (int i = 0; i < 100; i++) {
+            history.record(StatsSelector.CPU, START + i * 10000, snapshot(START + i * 10000, 2, false));
+        }
+        // 20 snapshots of 2 rows between the two times
+        VoltTable result = history.query(StatsSelector.CPU, START + 100000, START + 290000, 0);
+        assertEquals(40, result.getRowCount());
+        assertTrue(result.advanceRow());
+        assertEquals(START + 100000, result.getLong("TIMESTAMP"));
+
+        // one snapshot per minute
+        result = history.query(StatsSelector.CPU, START, Long.MAX_VALUE, 60000);
+        long previous = -1;
+        int snapshots = 0;
+        while (result.advanceRow()) {
+            long ts = result.getLong("TIMESTAMP");
+            if (ts != previous) {
+                assertTrue(previous < 0 || ts / 60000 > previous / 60000);
+                previous = ts;
+                snapshots++;
+            }
+        }
+        assertTrue(snapshots >= 16 && snapshots <= 18);
+    }
+
+    @Test
+    public void testSchemaChangeAndEviction() throws Exception {
+        StatsHistory history = new StatsHistory(new StatsSelector[] { StatsSelector.TABLE }, 4096, null, 0);
+        int i = 0;
+        for (; i < 500; i++) {
+            history.record(StatsSelector.TABLE, START + i * 10000, snapshot(START + i * 10000, 5, false));
+        }
+        history.record(StatsSelector.TABLE, START + i * 10000, snapshot(START + i * 10000, 5, true));
+
+        VoltTable result = history.query(StatsSelector.TABLE, 0, Long.MAX_VALUE, 0);
+        // the old snapshots were dropped to stay in the budget
+        assertTrue(result.getRowCount() < 500 * 5);
+        assertEquals(8, result.getColumnCount());
+        int extras = 0;
+        while (result.advanceRow()) {
+            result.getLong("EXTRA");
+            if (!result.wasNull()) {
+                extras++;
+            }
+        }
+        assertEquals(5, extras);
+    }
+
+    @Test
+    public void testRowLimitPages() throws Exception {
+        StatsHistory history = new StatsHistory(new StatsSelector[] { StatsSelector.CPU }, 1 << 20, null, 0);
+        for (int i = 0; i < 1000; i++) {
+            history.record(StatsSelector.CPU, START + i * 10000, snapshot(START + i * 10000, 3, false));
+        }
+        // whole snapshots only, read page by page from after the last timestamp
+        long from = 0;
+        long expected = START;
+        int pages = 0;
+        while (true) {
+            VoltTable result = history.query(StatsSelector.CPU, from, Long.MAX_VALUE, 0, 100);
+            if (result.getRowCount() == 0) {
+                break;
+            }
+            assertTrue(result.getRowCount() <= 102);
+            assertEquals(0, result.getRowCount() % 3);
+            while (result.advanceRow()) {
+                long ts = result.getLong("TIMESTAMP");
+                assertTrue(ts == expected || ts == expected + 10000);
+                expected = ts;
+            }
+            expected += 10000;
+            from = result.fetchRow(result.getRowCount() - 1).getLong("TIMESTAMP") + 1;
+            pages++;
+        }
+        assertEquals(START + 1000 * 10000, expected);
+        assertEquals(30, pages);
+    }
+
+    @Test
+    public void testThreadCpuNotRecorded() {
+        // sampling THREADCPU would reset the CORES_USED window of @Statistics callers
+        assertFalse(Arrays.asList(StatsHistory.SELECTORS).contains(StatsSelector.THREADCPU));
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        StatsHistoryBlock block = new StatsHistoryBlock("IOSTATS", snapshot(START, 3, false));
+        for (int i = 0; i < 10; i++) {
+            block.append(START + i * 1000, snapshot(START + i * 1000, 3, false));
+        }
+        StatsHistoryBlock copy = StatsHistoryBlock.deserialize(ByteBuffer.wrap(block.serialize()));
+        assertEquals("IOSTATS", copy.getSelector());
+        assertEquals(10, copy.getSnapshotCount());
+        assertEquals(START, copy.getFirstTimestamp());
+        assertEquals(START + 9000, copy.getLastTimestamp());
+        assertEquals(block.sizeInBytes(), copy.sizeInBytes());
+        assertTrue(copy.isFull());
+
+        final int[] rows = new int[1];
+        copy.decode(new StatsHistoryBlock.SnapshotConsumer() {
+            @Override
+            public boolean wants(long timestamp) {
+                return true;
+            }
+
+            @Override
+            public void row(Object[] values) {
+                assertEquals(values[0], START + rows[0] / 3 * 1000);
+                rows[0]++;
+            }
+        });
+        assertEquals(30, rows[0]);
+    }
+}
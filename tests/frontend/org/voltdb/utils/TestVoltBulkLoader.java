@@ -1320,6 +1320,119 @@ public class TestVoltBulkLoader extends TestCase {
         return sameTable;
     }
 
+    public void testInsertColumns() throws Exception {
+        startServer("create table BLAH (clm_integer integer not null, clm_string varchar(20));",
+                false, "BLAH", "BLAH");
+
+        Client client = ClientFactory.createClient();
+        VoltBulkLoader bulkLoader = null;
+        try {
+            client.createConnection("localhost");
+            TestFailureCallback testCallback = new TestFailureCallback();
+            bulkLoader = client.getNewBulkLoader("BLAH", 50, testCallback);
+
+            int rowCount = 1000;
+            Integer[] rowHandles = new Integer[rowCount];
+            Object[][] columns = new Object[2][rowCount];
+            ArrayList<Integer> expectedFailures = new ArrayList<Integer>();
+            for (int i = 0; i < rowCount; i++) {
+                rowHandles[i] = i + 1;
+                columns[0][i] = i;
+                columns[1][i] = "row " + i;
+                if (i % 100 == 99) {
+                    // invalid integer
+                    columns[0][i] = "NaN";
+                    expectedFailures.add(i + 1);
+                }
+            }
+            // the arrays are not retained, reuse them for a second batch
+            bulkLoader.insertColumns(rowHandles, columns);
+            for (int i = 0; i < rowCount; i++) {
+                rowHandles[i] = rowCount + i + 1;
+                columns[0][i] = rowCount + i;
+            }
+            bulkLoader.insertColumns(rowHandles, columns);
+
+            bulkLoader.drain();
+            assertEquals(0, bulkLoader.getOutstandingRowCount());
+            assertEquals(2 * rowCount, bulkLoader.getCompletedRowCount());
+            assertTrue(testCallback.failureRowListMatches(expectedFailures));
+
+            VoltTable count = client.callProcedure("@AdHoc", "SELECT COUNT(*) FROM BLAH;").getResults()[0];
+            assertEquals(2 * rowCount - expectedFailures.size(), count.asScalarLong());
+        } finally {
+            if (bulkLoader != null) {
+                bulkLoader.close();
+            }
+            client.close();
+
+            if (localServer != null) {
+                localServer.shutdown();
+                localServer.join();
+            }
+            localServer = null;
+        }
+    }
+
+    // Rows buffered by threads that exited before the loader was flushed are still loaded
+    public void testInsertFromExitedThreads() throws Exception {
+        startServer("create table BLAH (clm_integer integer not null, clm_string varchar(20));",
+                false, "BLAH", "BLAH");
+
+        Client client = ClientFactory.createClient();
+        VoltBulkLoader bulkLoader = null;
+        try {
+            client.createConnection("localhost");
+            TestFailureCallback testCallback = new TestFailureCallback();
+            // batches larger than what each thread inserts, so rows stay buffered
+            final VoltBulkLoader loader = client.getNewBulkLoader("BLAH", 1000, testCallback);
+            bulkLoader = loader;
+
+            final int threadCount = 8;
+            final int rowsPerThread = 10;
+            for (int round = 0; round < 2; round++) {
+                final int base = round * threadCount * rowsPerThread;
+                Thread[] producers = new Thread[threadCount];
+                for (int t = 0; t < threadCount; t++) {
+                    final int first = base + t * rowsPerThread;
+                    producers[t] = new Thread() {
+                        @Override
+                        public void run() {
+                            try {
+                                for (int i = first; i < first + rowsPerThread; i++) {
+                                    loader.insertRow(i, i, "row " + i);
+                                }
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    };
+                    producers[t].start();
+                }
+                for (Thread producer : producers) {
+                    producer.join();
+                }
+                loader.drain();
+                assertEquals(0, loader.getOutstandingRowCount());
+                assertEquals((round + 1) * threadCount * rowsPerThread, loader.getCompletedRowCount());
+            }
+
+            VoltTable count = client.callProcedure("@AdHoc", "SELECT COUNT(*) FROM BLAH;").getResults()[0];
+            assertEquals(2 * threadCount * rowsPerThread, count.asScalarLong());
+        } finally {
+            if (bulkLoader != null) {
+                bulkLoader.close();
+            }
+            client.close();
+
+            if (localServer != null) {
+                localServer.shutdown();
+                localServer.join();
+            }
+            localServer = null;
+        }
+    }
+
     // ENG-11823
     public void testConcurrentLoaders() throws Exception {
         startServer("create table test1 (c1 int);", true, "test1", "test1");
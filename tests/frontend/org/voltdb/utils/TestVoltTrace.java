@@ -28,6 +28,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -35,6 +37,8 @@ import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 
 import com.google_voltpatches.common.collect.Sets;
@@ -45,6 +49,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public class TestVoltTrace {
 
@@ -127,11 +132,40 @@ public class TestVoltTrace {
     @Test
     public void testBasicTrace() throws Exception {
         VoltTrace.enableCategories(VoltTrace.Category.values());
+        VoltTrace.log(VoltTrace.Category.CI).setThreadSortIndex(7);
         final SenderRunnable sender = new SenderRunnable();
         sender.run();
         final String path = VoltTrace.closeAllAndShutdown(m_tempDir.getAbsolutePath(), 0);
 
-        verifyFileContents(sender.getSentList(), path);
+        final List<VoltTrace.TraceEvent> metadata = verifySnapshotContents(sender.getSentList(), path);
+        final VoltTrace.TraceEvent sortIndex = metadata.stream()
+                .filter(e -> e.getName().equals("thread_sort_index")).findFirst().get();
+        assertEquals("7", sortIndex.getArgs().get("sort_index"));
+    }
+
+    @Test
+    public void testDumpFromManyThreads() throws Exception {
+        VoltTrace.enableCategories(VoltTrace.Category.values());
+        final List<VoltTrace.TraceEvent> sent = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        final List<SenderRunnable> senders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final SenderRunnable sender = new SenderRunnable(100);
+            senders.add(sender);
+            threads.add(new Thread(sender));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+        senders.forEach(s -> sent.addAll(s.getSentList()));
+        verifySnapshotContents(sent, VoltTrace.dump(m_tempDir.getAbsolutePath()));
+
+        // A second dump only has the events logged since the first one
+        final SenderRunnable sender = new SenderRunnable(5);
+        sender.run();
+        verifySnapshotContents(sender.getSentList(), VoltTrace.dump(m_tempDir.getAbsolutePath()));
+        assertNull(VoltTrace.dump(m_tempDir.getAbsolutePath()));
     }
 
     @Test
@@ -139,15 +173,91 @@ public class TestVoltTrace {
         VoltTrace.enableCategories(VoltTrace.Category.values());
 
         // These events should be purged once the limit is reached
-        for (int i = 0; i < 10; i++) {
-            VoltTrace.log(VoltTrace.Category.CI).add(this::randomEvent);
-        }
+        final SenderRunnable purged = new SenderRunnable(10);
+        purged.run();
 
         // Fill the queue with exactly the limit number of events
         final SenderRunnable sender = new SenderRunnable(VoltTrace.QUEUE_SIZE);
         sender.run();
 
-        verifyFileContents(sender.getSentList(), VoltTrace.closeAllAndShutdown(m_tempDir.getAbsolutePath(), 0));
+        verifySnapshotContents(sender.getSentList(), VoltTrace.closeAllAndShutdown(m_tempDir.getAbsolutePath(), 0));
+    }
+
+    @Test
+    public void testLongTextsAreCut() throws Exception {
+        VoltTrace.enableCategories(VoltTrace.Category.CI);
+        final String longText = String.join("", Collections.nCopies(VoltTrace.TEXT_CHARS, "x"));
+        VoltTrace.log(VoltTrace.Category.CI).event(TWO_TEXTS).text("short").text(longText).log();
+        VoltTrace.log(VoltTrace.Category.CI).event(TWO_TEXTS).text(longText).text("dropped").log();
+
+        final List<VoltTrace.TraceEvent> sent = new ArrayList<>();
+        // Each text takes its length and its characters out of the slot
+        sent.add(expected(VoltTrace.Category.CI,
+                          VoltTrace.instant("texts", "first", "short",
+                                            "second", longText.substring(0, VoltTrace.TEXT_CHARS - 7))));
+        sent.add(expected(VoltTrace.Category.CI,
+                          VoltTrace.instant("texts", "first", longText.substring(0, VoltTrace.TEXT_CHARS - 1))));
+        verifySnapshotContents(sent, VoltTrace.dump(m_tempDir.getAbsolutePath()));
+    }
+
+    @Test
+    public void testRingTakesNoSupplier() throws Exception {
+        VoltTrace.enableCategories(VoltTrace.Category.CI);
+        try {
+            VoltTrace.log(VoltTrace.Category.CI).add(() -> VoltTrace.instant("supplied"));
+            fail("A ring batch must only take trace points");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void testLoggingAllocatesNothing() throws Exception {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        VoltTrace.enableCategories(VoltTrace.Category.SPI);
+        final long tid = Thread.currentThread().getId();
+        final String text = "text";
+        // Let the ring get created and the logging path compiled first
+        logEvents(100_000, text);
+        final long before = allocations.getThreadAllocatedBytes(tid);
+        logEvents(10_000, text);
+        final long allocated = allocations.getThreadAllocatedBytes(tid) - before;
+        // Leave some room for the allocation counter itself
+        assertTrue("Logging allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private static void logEvents(int count, String text) {
+        for (int i = 0; i < count; i++) {
+            final VoltTrace.TraceEventBatch log = VoltTrace.log(VoltTrace.Category.SPI);
+            if (log != null) {
+                log.event(POINTS[3]).value(i).value(i * 7).text(text).log();
+                log.event(VoltTrace.END_DURATION).log();
+            }
+        }
+    }
+
+    private static final VoltTrace.TracePoint TWO_TEXTS = VoltTrace.TracePoint.instant("texts")
+            .text("first").text("second");
+
+    // The trace points the senders log, see SenderRunnable.logRandom()
+    private static final VoltTrace.TracePoint[] POINTS = {
+            VoltTrace.TracePoint.beginDuration(null).arg("key1").text("name"),
+            VoltTrace.END_DURATION,
+            VoltTrace.TracePoint.instant("mark").flag("commit"),
+            VoltTrace.TracePoint.beginAsync("txn").arg("ciHandle").text("dest"),
+            VoltTrace.TracePoint.endAsync("txn").arg("txnid", v -> "txn" + v),
+            VoltTrace.TracePoint.instantAsync("pair").id(2, v -> v[0] + ":" + v[1]).text("keyn"),
+    };
+
+    private static VoltTrace.TraceEvent expected(VoltTrace.Category category, VoltTrace.TraceEvent event) {
+        event.setCategory(category);
+        event.setTid(Thread.currentThread().getId());
+        event.setNanos(System.nanoTime());
+        return event;
     }
 
     private ArrayList<VoltTrace.TraceEventType> m_allEventTypes = new ArrayList<>(EnumSet.allOf(VoltTrace.TraceEventType.class));
@@ -241,8 +351,34 @@ public class TestVoltTrace {
         return args;
     }
 
+    /**
+     * Compare the events of a snapshot with the expected ones and check that every
+     * thread that logged is named. Returns the metadata events of the snapshot.
+     */
+    private List<VoltTrace.TraceEvent> verifySnapshotContents(List<VoltTrace.TraceEvent> expectedList, String snapshot)
+        throws IOException {
+        assertNotNull(snapshot);
+        final List<VoltTrace.TraceEvent> readEvents =
+                readFile(TraceSnapshot.toChromeTrace(new File(snapshot)).getAbsolutePath());
+        final List<VoltTrace.TraceEvent> metadata = new ArrayList<>();
+        readEvents.removeIf(e -> e.getType() == VoltTrace.TraceEventType.METADATA && metadata.add(e));
+
+        assertEquals(1, metadata.stream().filter(e -> e.getName().equals("process_name")).count());
+        final Set<Long> named = metadata.stream().filter(e -> e.getName().equals("thread_name"))
+                .map(VoltTrace.TraceEvent::getTid).collect(Collectors.toSet());
+        final Set<Long> logged = expectedList.stream().map(VoltTrace.TraceEvent::getTid).collect(Collectors.toSet());
+        assertEquals(logged, named);
+
+        compareEvents(expectedList, readEvents);
+        return metadata;
+    }
+
     private void verifyFileContents(List<VoltTrace.TraceEvent> expectedList, String outfile)
         throws IOException {
+        compareEvents(expectedList, readFile(outfile));
+    }
+
+    private List<VoltTrace.TraceEvent> readFile(String outfile) throws IOException {
         List<VoltTrace.TraceEvent> readEvents = new ArrayList<>();
         BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(outfile))));
         String line;
@@ -258,10 +394,17 @@ public class TestVoltTrace {
             readEvents.add(m_mapper.readValue(line, VoltTrace.TraceEvent.class));
         }
         reader.close();
+        return readEvents;
+    }
+
+    private void compareEvents(List<VoltTrace.TraceEvent> expectedList, List<VoltTrace.TraceEvent> readEvents) {
         assertEquals(expectedList.size(), readEvents.size());
 
-        readEvents.sort(Comparator.comparingDouble(VoltTrace.TraceEvent::getTs));
-        expectedList.sort(Comparator.comparingDouble(VoltTrace.TraceEvent::getNanos));
+        // Events of different threads may be timestamped in a different order than they were created
+        readEvents.sort(Comparator.comparingLong(VoltTrace.TraceEvent::getTid)
+                                  .thenComparingDouble(VoltTrace.TraceEvent::getTs));
+        expectedList.sort(Comparator.comparingLong(VoltTrace.TraceEvent::getTid)
+                                    .thenComparingLong(VoltTrace.TraceEvent::getNanos));
         System.out.println("Expected");
         expectedList.forEach(System.out::println);
         System.out.println("Read");
@@ -300,57 +443,49 @@ public class TestVoltTrace {
                     final VoltTrace.Category category = VoltTrace.Category.values()[m_random.nextInt(VoltTrace.Category.values().length)];
                     final VoltTrace.TraceEventBatch log = VoltTrace.log(category);
                     assert log != null;
-
-                    VoltTrace.TraceEvent event = randomEvent();
-                    event.setCategory(category);
-
-                    String[] args = new String[event.getArgs().size()*2];
-                    int j=0;
-                    for (String key : event.getArgs().keySet()) {
-                        args[j++] = key;
-                        args[j++] = event.getArgs().get(key);
-                    }
-                    switch(event.getType()) {
-                    case ASYNC_BEGIN:
-                        log.add(() -> VoltTrace.beginAsync(event.getName(),
-                                                           event.getId(),
-                                                           (Object[]) args));
-                        break;
-                    case ASYNC_END:
-                        log.add(() -> VoltTrace.endAsync(event.getName(),
-                                                         event.getId(),
-                                                         (Object[]) args));
-                        break;
-                    case ASYNC_INSTANT:
-                        log.add(() -> VoltTrace.instantAsync(event.getName(),
-                                                             event.getId(),
-                                                             (Object[]) args));
-                        break;
-                    case DURATION_BEGIN:
-                        log.add(() -> VoltTrace.beginDuration(event.getName(),
-                                                              (Object[]) args));
-                        break;
-                    case DURATION_END:
-                        log.add(VoltTrace::endDuration);
-                        break;
-                    case INSTANT:
-                        log.add(() -> VoltTrace.instant(event.getName(),
-                                                        (Object[]) args));
-                        break;
-                    case METADATA:
-                        log.add(() -> VoltTrace.meta(event.getName(),
-                                                     (Object[]) args));
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported event type: " + event.getType());
-                    }
-                    m_sentList.add(event);
+                    m_sentList.add(expected(category, logRandom(log)));
                 }
             } catch(Throwable t) {
                 t.printStackTrace();
             }
         }
 
+        /**
+         * Log an event of a random trace point with random values and texts,
+         * returns the event it should come out as
+         */
+        private VoltTrace.TraceEvent logRandom(VoltTrace.TraceEventBatch log) {
+            final long value = m_random.nextLong();
+            final long other = m_random.nextLong();
+            final String text = randomText();
+            switch (m_random.nextInt(POINTS.length)) {
+            case 0:
+                final String name = "name" + m_random.nextInt(5);
+                log.event(POINTS[0]).value(value).text(name).text(text).log();
+                return VoltTrace.beginDuration(name, "key1", Long.toString(value), "name", text);
+            case 1:
+                log.event(POINTS[1]).log();
+                return VoltTrace.endDuration();
+            case 2:
+                final boolean commit = m_random.nextBoolean();
+                log.event(POINTS[2]).value(commit).log();
+                return VoltTrace.instant("mark", "commit", Boolean.toString(commit));
+            case 3:
+                log.event(POINTS[3]).value(value).value(other).text(text).log();
+                return VoltTrace.beginAsync("txn", value, "ciHandle", Long.toString(other), "dest", text);
+            case 4:
+                log.event(POINTS[4]).value(value).value(other).log();
+                return VoltTrace.endAsync("txn", value, "txnid", "txn" + other);
+            default:
+                log.event(POINTS[5]).value(value).value(other).text(text).log();
+                return VoltTrace.instantAsync("pair", value + ":" + other, "keyn", text);
+            }
+        }
+
+        private String randomText() {
+            return m_random.nextBoolean() ? "val-" + m_random.nextInt(1000) : null;
+        }
+
         public List<VoltTrace.TraceEvent> getSentList() {
             return m_sentList;
         }
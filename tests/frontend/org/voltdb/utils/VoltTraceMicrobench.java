@@ -0,0 +1,101 @@
+/* This file is part of VoltDB.
+ * Copyright (C) 2008-2018 VoltDB Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.voltdb.utils;
+
+import java.lang.management.ManagementFactory;
+
+import org.voltdb.utils.VoltTrace.Category;
+import org.voltdb.utils.VoltTrace.TraceEventBatch;
+import org.voltdb.utils.VoltTrace.TracePoint;
+
+/**
+ * Measures the cost of logging a trace event from a hot path, with tracing off,
+ * through a trace point into the ring of the thread, and through a supplier
+ * the way events were logged before trace points.
+ */
+public class VoltTraceMicrobench {
+
+    private static final TracePoint POINT = TracePoint.beginAsync("initsp")
+            .arg("ciHandle").text("txnId");
+
+    private static final com.sun.management.ThreadMXBean s_threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private interface Logger {
+        void log(long i, String text);
+    }
+
+    private static final Logger TRACE_POINT = (i, text) -> {
+        final TraceEventBatch log = VoltTrace.log(Category.SPI);
+        if (log != null) {
+            log.event(POINT).value(i).value(i * 7).text(text).log();
+        }
+    };
+
+    // The rings take no suppliers any more, the enabled check is kept and the
+    // suppliers go to a fresh batch every so often so the list stays short
+    private static TraceEventBatch s_batch = new TraceEventBatch(Category.SPI);
+    private static final Logger SUPPLIER = (i, text) -> {
+        if (VoltTrace.log(Category.SPI) != null) {
+            if (i % 1000 == 0) {
+                s_batch = new TraceEventBatch(Category.SPI);
+            }
+            final long handle = i * 7;
+            s_batch.add(() -> VoltTrace.beginAsync("initsp", i, "ciHandle", handle, "txnId", text));
+        }
+    };
+
+    /**
+     * @return the nanoseconds and bytes allocated per event
+     */
+    private static long[] measure(Logger logger, int events) {
+        final String text = "txn " + events;
+        for (int i = 0; i < events; i++) {
+            logger.log(i, text);
+        }
+        final long tid = Thread.currentThread().getId();
+        final long bytes = s_threads.getThreadAllocatedBytes(tid);
+        final long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            logger.log(i, text);
+        }
+        final long nanos = System.nanoTime() - start;
+        return new long[] { nanos / events, (s_threads.getThreadAllocatedBytes(tid) - bytes) / events };
+    }
+
+    private static void report(StringBuilder results, String name, long[] result) {
+        results.append(name).append(' ').append(result[0]).append(" ns ").append(result[1]).append(" B, ");
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int events = 5_000_000;
+        final StringBuilder results = new StringBuilder("Per event: ");
+        report(results, "disabled", measure(TRACE_POINT, events));
+        VoltTrace.enableCategories(Category.SPI);
+        report(results, "trace point", measure(TRACE_POINT, events));
+        report(results, "supplier", measure(SUPPLIER, events));
+        VoltTrace.closeAllAndShutdown(null, 0);
+        System.out.println(results.substring(0, results.length() - 2));
+    }
+}